@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
 import org.jscience.mathematics.structure.GroupAdditive;
 import org.jscience.mathematics.structure.GroupMultiplicative;
 import org.jscience.mathematics.structure.Ring;
@@ -390,6 +391,36 @@ public class Polynomial<R extends Ring<R>> extends Function<R, R> implements
         return sum;
     }
 
+    /**
+     * Evaluates this univariate polynomial at the specified points (bulk
+     * evaluation using Horner's scheme upon <code>double</code> values).
+     * The coefficients of this polynomial must be real
+     * {@link org.jscience.mathematics.number.Number numbers}.
+     *
+     * @param v the variable of this polynomial.
+     * @param points the values of the variable.
+     * @param values the array holding the polynomial values
+     *        (<code>values.length &gt;= points.length</code>).
+     * @throws FunctionException if this polynomial depends upon other
+     *         variables or if its coefficients are not real numbers.
+     */
+    public void evaluate(Variable<R> v, double[] points, double[] values) {
+        double[] coefficients = new double[getOrder(v) + 1];
+        for (Map.Entry<Term, R> entry : _termToCoef.entrySet()) {
+            Term term = entry.getKey();
+            R coef = entry.getValue();
+            if ((term.size() > 1)
+                    || ((term.size() == 1) && (term.getVariable(0) != v)))
+                throw new FunctionException(term + " is not a power of " + v);
+            if (!(coef instanceof org.jscience.mathematics.number.Number))
+                throw new FunctionException(coef + " is not a real number");
+            coefficients[term.getPower(v)] += ((org.jscience.mathematics.number.Number<?>) coef)
+                    .doubleValue();
+        }
+        Float64Kernel.polynomial(coefficients, points.length, points, 0,
+                values, 0);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (!(obj instanceof Polynomial))
@@ -0,0 +1,258 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.kernel;
+
+import javolution.context.ConcurrentContext;
+import javolution.lang.MathLib;
+
+/**
+ * <p> This class holds the complex matrix multiplication logic
+ *     (<code>C = C + op(A)·op(B)</code> where <code>op</code> is the
+ *     identity or the element-wise conjugation), see {@link GemmLogic}.
+ *     Matrices are held by interleaved arrays (real and imaginary parts);
+ *     offsets and strides are array indices, the conjugation is performed
+ *     while packing the blocks.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+final class ComplexGemmLogic implements Runnable {
+
+    // Register tile (complex elements).
+    static final int MR = 2, NR = 2;
+
+    // Cache blocks (same number of bytes as the 64 bits blocks).
+    static final int MC = GemmLogic.MC, KC = GemmLogic.KC / 2,
+            NC = GemmLogic.NC / 2;
+
+    private final int _from, _to; // Row blocks.
+
+    private final int _m, _kc, _nc, _pc, _jc;
+
+    private final double[] _a, _packedB, _c;
+
+    private final int _aOffset, _aRowStride, _aColumnStride;
+
+    private final double _aSign;
+
+    private final int _cOffset, _cRowStride;
+
+    private ComplexGemmLogic(int from, int to, int m, int kc, int nc,
+            int pc, int jc, double[] a, int aOffset, int aRowStride,
+            int aColumnStride, double aSign, double[] packedB, double[] c,
+            int cOffset, int cRowStride) {
+        _from = from;
+        _to = to;
+        _m = m;
+        _kc = kc;
+        _nc = nc;
+        _pc = pc;
+        _jc = jc;
+        _a = a;
+        _aOffset = aOffset;
+        _aRowStride = aRowStride;
+        _aColumnStride = aColumnStride;
+        _aSign = aSign;
+        _packedB = packedB;
+        _c = c;
+        _cOffset = cOffset;
+        _cRowStride = cRowStride;
+    }
+
+    /**
+     * Performs <code>C = C + op(A)·op(B)</code> (A is m-by-n, B is n-by-p).
+     */
+    static void multiply(int m, int n, int p, double[] a, int ao, int ars,
+            int acs, boolean conjugateA, double[] b, int bo, int brs,
+            int bcs, boolean conjugateB, double[] c, int co, int crs) {
+        final double aSign = conjugateA ? -1.0 : 1.0;
+        final double bSign = conjugateB ? -1.0 : 1.0;
+        if (4L * m * n * p < GemmLogic.SMALL) { // i-k-j
+            for (int i = 0; i < m; i++) {
+                final int ci = co + i * crs;
+                for (int k = 0; k < n; k++) {
+                    final int ik = ao + i * ars + k * acs;
+                    final double ar = a[ik], ai = aSign * a[ik + 1];
+                    final int bk = bo + k * brs;
+                    if ((bcs == 2) && !conjugateB) {
+                        ComplexKernel.axpy0(p, ar, ai, b, bk, c, ci);
+                    } else {
+                        for (int j = 0; j < p; j++) {
+                            final int kj = bk + j * bcs;
+                            final double br = b[kj], bi = bSign * b[kj + 1];
+                            c[ci + 2 * j] += ar * br - ai * bi;
+                            c[ci + 2 * j + 1] += ar * bi + ai * br;
+                        }
+                    }
+                }
+            }
+            return;
+        }
+        final int blocks = (m + MC - 1) / MC;
+        final double[] packedB = new double[2 * MathLib.min(KC, n)
+                * roundUp(MathLib.min(NC, p), NR)];
+        final boolean concurrent = (blocks > 1)
+                && (4L * m * n * p >= Float64Kernel.CONCURRENCY_THRESHOLD
+                        * (long) GemmLogic.KC)
+                && (ConcurrentContext.getConcurrency() > 0);
+        for (int jc = 0; jc < p; jc += NC) {
+            final int nc = MathLib.min(NC, p - jc);
+            for (int pc = 0; pc < n; pc += KC) {
+                final int kc = MathLib.min(KC, n - pc);
+                packB(b, bo + pc * brs + jc * bcs, brs, bcs, bSign, kc, nc,
+                        packedB);
+                if (concurrent) {
+                    final int concurrency = ConcurrentContext
+                            .getConcurrency() + 1;
+                    final int chunk = (blocks + concurrency - 1) / concurrency;
+                    ConcurrentContext.enter();
+                    try {
+                        for (int from = 0; from < blocks; from += chunk) {
+                            ConcurrentContext.execute(new ComplexGemmLogic(
+                                    from, MathLib.min(from + chunk, blocks),
+                                    m, kc, nc, pc, jc, a, ao, ars, acs,
+                                    aSign, packedB, c, co, crs));
+                        }
+                    } finally {
+                        ConcurrentContext.exit();
+                    }
+                } else {
+                    new ComplexGemmLogic(0, blocks, m, kc, nc, pc, jc, a, ao,
+                            ars, acs, aSign, packedB, c, co, crs).run();
+                }
+            }
+        }
+    }
+
+    public void run() {
+        final double[] packedA = new double[2 * MC * _kc];
+        final double[] tile = new double[2 * MR * NR];
+        for (int block = _from; block < _to; block++) {
+            final int ic = block * MC;
+            final int mc = MathLib.min(MC, _m - ic);
+            packA(_a, _aOffset + ic * _aRowStride + _pc * _aColumnStride,
+                    _aRowStride, _aColumnStride, _aSign, mc, _kc, packedA);
+            for (int jr = 0; jr < _nc; jr += NR) {
+                final int nr = MathLib.min(NR, _nc - jr);
+                final int bo = 2 * jr * _kc;
+                for (int ir = 0; ir < mc; ir += MR) {
+                    final int mr = MathLib.min(MR, mc - ir);
+                    kernel(_kc, packedA, 2 * ir * _kc, _packedB, bo, _c,
+                            _cOffset + (ic + ir) * _cRowStride + 2 * (_jc + jr),
+                            _cRowStride, mr, nr, tile);
+                }
+            }
+        }
+    }
+
+    // Packs a mc-by-kc block of A; strips of MR rows stored column by column
+    // (zero padded).
+    private static void packA(double[] a, int offset, int rowStride,
+            int columnStride, double sign, int mc, int kc, double[] packed) {
+        for (int ir = 0; ir < mc; ir += MR) {
+            final int base = 2 * ir * kc;
+            for (int r = 0; r < MR; r++) {
+                if (ir + r < mc) {
+                    final int row = offset + (ir + r) * rowStride;
+                    for (int k = 0; k < kc; k++) {
+                        final int x = row + k * columnStride;
+                        final int y = base + 2 * (k * MR + r);
+                        packed[y] = a[x];
+                        packed[y + 1] = sign * a[x + 1];
+                    }
+                } else {
+                    for (int k = 0; k < kc; k++) {
+                        final int y = base + 2 * (k * MR + r);
+                        packed[y] = 0.0;
+                        packed[y + 1] = 0.0;
+                    }
+                }
+            }
+        }
+    }
+
+    // Packs a kc-by-nc panel of B; strips of NR columns stored row by row
+    // (zero padded).
+    private static void packB(double[] b, int offset, int rowStride,
+            int columnStride, double sign, int kc, int nc, double[] packed) {
+        for (int k = 0; k < kc; k++) {
+            final int row = offset + k * rowStride;
+            for (int jr = 0; jr < nc; jr += NR) {
+                final int base = 2 * (jr * kc + k * NR);
+                final int nr = MathLib.min(NR, nc - jr);
+                for (int j = 0; j < nr; j++) {
+                    final int x = row + (jr + j) * columnStride;
+                    packed[base + 2 * j] = b[x];
+                    packed[base + 2 * j + 1] = sign * b[x + 1];
+                }
+                for (int j = nr; j < NR; j++) {
+                    packed[base + 2 * j] = 0.0;
+                    packed[base + 2 * j + 1] = 0.0;
+                }
+            }
+        }
+    }
+
+    // Updates the mr-by-nr tile of C starting at index ci.
+    private static void kernel(int kc, double[] a, int ao, double[] b,
+            int bo, double[] c, int ci, int crs, int mr, int nr,
+            double[] tile) {
+        double r00 = 0, i00 = 0, r01 = 0, i01 = 0;
+        double r10 = 0, i10 = 0, r11 = 0, i11 = 0;
+        for (int k = 0; k < kc; k++) {
+            final double br0 = b[bo], bi0 = b[bo + 1];
+            final double br1 = b[bo + 2], bi1 = b[bo + 3];
+            double ar = a[ao], ai = a[ao + 1];
+            r00 += ar * br0 - ai * bi0;
+            i00 += ar * bi0 + ai * br0;
+            r01 += ar * br1 - ai * bi1;
+            i01 += ar * bi1 + ai * br1;
+            ar = a[ao + 2];
+            ai = a[ao + 3];
+            r10 += ar * br0 - ai * bi0;
+            i10 += ar * bi0 + ai * br0;
+            r11 += ar * br1 - ai * bi1;
+            i11 += ar * bi1 + ai * br1;
+            ao += 2 * MR;
+            bo += 2 * NR;
+        }
+        if ((mr == MR) && (nr == NR)) {
+            int j = ci;
+            c[j] += r00;
+            c[j + 1] += i00;
+            c[j + 2] += r01;
+            c[j + 3] += i01;
+            j += crs;
+            c[j] += r10;
+            c[j + 1] += i10;
+            c[j + 2] += r11;
+            c[j + 3] += i11;
+            return;
+        }
+        // Edge tile.
+        tile[0] = r00;
+        tile[1] = i00;
+        tile[2] = r01;
+        tile[3] = i01;
+        tile[4] = r10;
+        tile[5] = i10;
+        tile[6] = r11;
+        tile[7] = i11;
+        for (int r = 0; r < mr; r++) {
+            final int row = ci + r * crs;
+            for (int s = 0; s < 2 * nr; s++) {
+                c[row + s] += tile[2 * r * NR + s];
+            }
+        }
+    }
+
+    private static int roundUp(int n, int multiple) {
+        return (n + multiple - 1) / multiple * multiple;
+    }
+}
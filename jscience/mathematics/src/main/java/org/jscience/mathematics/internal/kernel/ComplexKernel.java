@@ -0,0 +1,412 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.kernel;
+
+/**
+ * <p> This class holds bulk arithmetic kernels upon interleaved complex
+ *     arrays (<code>re<sub>0</sub>, im<sub>0</sub>, re<sub>1</sub>,
+ *     im<sub>1</sub>, ...</code>).</p>
+ *
+ * <p> The number of elements <code>n</code> is the number of complex
+ *     elements; offsets are array indices (of the real part of the first
+ *     element). Large arrays are processed concurrently, reductions are
+ *     performed per block of fixed size (see {@link Float64Kernel}).
+ *     Additions and subtractions can be performed using
+ *     {@link Float64Kernel} with <code>2·n</code> elements.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+public final class ComplexKernel {
+
+    /**
+     * Default constructor (private for utilities).
+     */
+    private ComplexKernel() {
+    }
+
+    /**
+     * Performs <code>y = a·x + y</code>.
+     *
+     * @param n the number of complex elements.
+     * @param aReal the real part of the scalar multiplier.
+     * @param aImaginary the imaginary part of the scalar multiplier.
+     * @param x the first array.
+     * @param xOffset the index of the first element of x.
+     * @param y the second array (updated).
+     * @param yOffset the index of the first element of y.
+     */
+    public static void axpy(int n, double aReal, double aImaginary,
+            double[] x, int xOffset, double[] y, int yOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            KernelLogic.execute(KernelLogic.C_AXPY, n, aReal, aImaginary, x,
+                    xOffset, null, 0, y, yOffset);
+        } else {
+            axpy0(n, aReal, aImaginary, x, xOffset, y, yOffset);
+        }
+    }
+
+    /**
+     * Performs <code>z = a·x</code>.
+     *
+     * @param n the number of complex elements.
+     * @param aReal the real part of the scalar multiplier.
+     * @param aImaginary the imaginary part of the scalar multiplier.
+     * @param x the input array.
+     * @param xOffset the index of the first element of x.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void scale(int n, double aReal, double aImaginary,
+            double[] x, int xOffset, double[] z, int zOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            KernelLogic.execute(KernelLogic.C_SCALE, n, aReal, aImaginary, x,
+                    xOffset, null, 0, z, zOffset);
+        } else {
+            scale0(n, aReal, aImaginary, x, xOffset, z, zOffset);
+        }
+    }
+
+    /**
+     * Performs <code>z = x · y</code> (element-wise).
+     *
+     * @param n the number of complex elements.
+     * @param x the first array.
+     * @param xOffset the index of the first element of x.
+     * @param y the second array.
+     * @param yOffset the index of the first element of y.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void multiply(int n, double[] x, int xOffset, double[] y,
+            int yOffset, double[] z, int zOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            KernelLogic.execute(KernelLogic.C_MULTIPLY, n, 0, 0, x, xOffset,
+                    y, yOffset, z, zOffset);
+        } else {
+            multiply0(n, x, xOffset, y, yOffset, z, zOffset);
+        }
+    }
+
+    /**
+     * Performs <code>z = x / y</code> (element-wise).
+     *
+     * @param n the number of complex elements.
+     * @param x the first array.
+     * @param xOffset the index of the first element of x.
+     * @param y the second array.
+     * @param yOffset the index of the first element of y.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void divide(int n, double[] x, int xOffset, double[] y,
+            int yOffset, double[] z, int zOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            KernelLogic.execute(KernelLogic.C_DIVIDE, n, 0, 0, x, xOffset, y,
+                    yOffset, z, zOffset);
+        } else {
+            divide0(n, x, xOffset, y, yOffset, z, zOffset);
+        }
+    }
+
+    /**
+     * Performs <code>z = conj(x)</code> (element-wise).
+     *
+     * @param n the number of complex elements.
+     * @param x the input array.
+     * @param xOffset the index of the first element of x.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void conjugate(int n, double[] x, int xOffset, double[] z,
+            int zOffset) {
+        map(KernelLogic.C_CONJUGATE, n, x, xOffset, z, zOffset);
+    }
+
+    /**
+     * Performs <code>z = exp(x)</code> (element-wise).
+     *
+     * @param n the number of complex elements.
+     * @param x the input array.
+     * @param xOffset the index of the first element of x.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void exp(int n, double[] x, int xOffset, double[] z,
+            int zOffset) {
+        map(KernelLogic.C_EXP, n, x, xOffset, z, zOffset);
+    }
+
+    /**
+     * Performs <code>z = log(x)</code> (element-wise principal value).
+     *
+     * @param n the number of complex elements.
+     * @param x the input array.
+     * @param xOffset the index of the first element of x.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void log(int n, double[] x, int xOffset, double[] z,
+            int zOffset) {
+        map(KernelLogic.C_LOG, n, x, xOffset, z, zOffset);
+    }
+
+    /**
+     * Performs <code>z = sqrt(x)</code> (element-wise principal value).
+     *
+     * @param n the number of complex elements.
+     * @param x the input array.
+     * @param xOffset the index of the first element of x.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void sqrt(int n, double[] x, int xOffset, double[] z,
+            int zOffset) {
+        map(KernelLogic.C_SQRT, n, x, xOffset, z, zOffset);
+    }
+
+    /**
+     * Calculates the sum of the specified elements.
+     *
+     * @param n the number of complex elements.
+     * @param x the array.
+     * @param xOffset the index of the first element of x.
+     * @param result the array holding the real and imaginary parts of
+     *        the sum (length 2).
+     */
+    public static void sum(int n, double[] x, int xOffset, double[] result) {
+        KernelLogic.reduce(KernelLogic.C_SUM, n, x, xOffset, null, 0, result);
+    }
+
+    /**
+     * Calculates the dot product of the specified arrays (no conjugation).
+     *
+     * @param n the number of complex elements.
+     * @param x the first array.
+     * @param xOffset the index of the first element of x.
+     * @param y the second array.
+     * @param yOffset the index of the first element of y.
+     * @param result the array holding the real and imaginary parts of
+     *        <code>sum(x<sub>i</sub>·y<sub>i</sub>)</code> (length 2).
+     */
+    public static void dot(int n, double[] x, int xOffset, double[] y,
+            int yOffset, double[] result) {
+        KernelLogic.reduce(KernelLogic.C_DOT, n, x, xOffset, y, yOffset,
+                result);
+    }
+
+    /**
+     * Calculates the hermitian dot product of the specified arrays.
+     *
+     * @param n the number of complex elements.
+     * @param x the first array (conjugated).
+     * @param xOffset the index of the first element of x.
+     * @param y the second array.
+     * @param yOffset the index of the first element of y.
+     * @param result the array holding the real and imaginary parts of
+     *        <code>sum(conj(x<sub>i</sub>)·y<sub>i</sub>)</code> (length 2).
+     */
+    public static void dotConjugate(int n, double[] x, int xOffset,
+            double[] y, int yOffset, double[] result) {
+        KernelLogic.reduce(KernelLogic.C_DOTC, n, x, xOffset, y, yOffset,
+                result);
+    }
+
+    /**
+     * Returns the euclidian norm of the specified elements.
+     *
+     * @param n the number of complex elements.
+     * @param x the array.
+     * @param xOffset the index of the first element of x.
+     * @return <code>sqrt(sum(|x<sub>i</sub>|²))</code>
+     */
+    public static double norm(int n, double[] x, int xOffset) {
+        return Float64Kernel.norm(2 * n, x, xOffset);
+    }
+
+    /**
+     * Performs <code>C = C + op(A)·op(B)</code> where A is a m-by-n matrix,
+     * B a n-by-p matrix and <code>op</code> the identity or the
+     * element-wise conjugation (cache-blocked, rows of C computed
+     * concurrently for large matrices). The real part of the element
+     * <code>(i, j)</code> of a matrix is at index
+     * <code>offset + i·rowStride + j·columnStride</code> (its imaginary
+     * part at the next index), C has contiguous rows and does not overlap
+     * A or B.
+     *
+     * @param m the number of rows of A and C.
+     * @param n the number of columns of A (rows of B).
+     * @param p the number of columns of B and C.
+     * @param a the elements of A.
+     * @param aOffset the index of the first element of A.
+     * @param aRowStride the row stride of A.
+     * @param aColumnStride the column stride of A.
+     * @param conjugateA indicates if the elements of A are conjugated.
+     * @param b the elements of B.
+     * @param bOffset the index of the first element of B.
+     * @param bRowStride the row stride of B.
+     * @param bColumnStride the column stride of B.
+     * @param conjugateB indicates if the elements of B are conjugated.
+     * @param c the elements of C (updated).
+     * @param cOffset the index of the first element of C.
+     * @param cRowStride the row stride of C.
+     */
+    public static void gemm(int m, int n, int p, double[] a, int aOffset,
+            int aRowStride, int aColumnStride, boolean conjugateA,
+            double[] b, int bOffset, int bRowStride, int bColumnStride,
+            boolean conjugateB, double[] c, int cOffset, int cRowStride) {
+        ComplexGemmLogic.multiply(m, n, p, a, aOffset, aRowStride,
+                aColumnStride, conjugateA, b, bOffset, bRowStride,
+                bColumnStride, conjugateB, c, cOffset, cRowStride);
+    }
+
+    ///////////////////////////
+    // Sequential primitives //
+    ///////////////////////////
+
+    private static void map(int op, int n, double[] x, int xOffset,
+            double[] z, int zOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            KernelLogic.execute(op, n, 0, 0, x, xOffset, null, 0, z, zOffset);
+        } else {
+            map0(op, n, x, xOffset, z, zOffset);
+        }
+    }
+
+    static void axpy0(int n, double ar, double ai, double[] x, int xOffset,
+            double[] y, int yOffset) {
+        for (int i = 0; i < 2 * n; i += 2) {
+            final double xr = x[xOffset + i], xi = x[xOffset + i + 1];
+            y[yOffset + i] += ar * xr - ai * xi;
+            y[yOffset + i + 1] += ar * xi + ai * xr;
+        }
+    }
+
+    static void scale0(int n, double ar, double ai, double[] x, int xOffset,
+            double[] z, int zOffset) {
+        for (int i = 0; i < 2 * n; i += 2) {
+            final double xr = x[xOffset + i], xi = x[xOffset + i + 1];
+            z[zOffset + i] = ar * xr - ai * xi;
+            z[zOffset + i + 1] = ar * xi + ai * xr;
+        }
+    }
+
+    static void multiply0(int n, double[] x, int xOffset, double[] y,
+            int yOffset, double[] z, int zOffset) {
+        for (int i = 0; i < 2 * n; i += 2) {
+            final double xr = x[xOffset + i], xi = x[xOffset + i + 1];
+            final double yr = y[yOffset + i], yi = y[yOffset + i + 1];
+            z[zOffset + i] = xr * yr - xi * yi;
+            z[zOffset + i + 1] = xr * yi + xi * yr;
+        }
+    }
+
+    // Smith's algorithm (avoids intermediate overflow).
+    static void divide0(int n, double[] x, int xOffset, double[] y,
+            int yOffset, double[] z, int zOffset) {
+        for (int i = 0; i < 2 * n; i += 2) {
+            final double xr = x[xOffset + i], xi = x[xOffset + i + 1];
+            final double yr = y[yOffset + i], yi = y[yOffset + i + 1];
+            if (Math.abs(yr) >= Math.abs(yi)) {
+                final double r = yi / yr, d = yr + yi * r;
+                z[zOffset + i] = (xr + xi * r) / d;
+                z[zOffset + i + 1] = (xi - xr * r) / d;
+            } else {
+                final double r = yr / yi, d = yr * r + yi;
+                z[zOffset + i] = (xr * r + xi) / d;
+                z[zOffset + i + 1] = (xi * r - xr) / d;
+            }
+        }
+    }
+
+    static void conjugate0(int n, double[] x, int xOffset, double[] z,
+            int zOffset) {
+        for (int i = 0; i < 2 * n; i += 2) {
+            z[zOffset + i] = x[xOffset + i];
+            z[zOffset + i + 1] = -x[xOffset + i + 1];
+        }
+    }
+
+    // Math (not MathLib) for the JIT intrinsics.
+    static void map0(int op, int n, double[] x, int xOffset, double[] z,
+            int zOffset) {
+        switch (op) {
+        case KernelLogic.C_CONJUGATE:
+            conjugate0(n, x, xOffset, z, zOffset);
+            break;
+        case KernelLogic.C_EXP:
+            for (int i = 0; i < 2 * n; i += 2) {
+                final double xr = x[xOffset + i], xi = x[xOffset + i + 1];
+                final double m = Math.exp(xr);
+                z[zOffset + i] = m * Math.cos(xi);
+                z[zOffset + i + 1] = m * Math.sin(xi);
+            }
+            break;
+        case KernelLogic.C_LOG:
+            for (int i = 0; i < 2 * n; i += 2) {
+                final double xr = x[xOffset + i], xi = x[xOffset + i + 1];
+                z[zOffset + i] = Math.log(Math.hypot(xr, xi));
+                z[zOffset + i + 1] = Math.atan2(xi, xr);
+            }
+            break;
+        default: // C_SQRT
+            for (int i = 0; i < 2 * n; i += 2) {
+                final double xr = x[xOffset + i], xi = x[xOffset + i + 1];
+                final double r = Math.hypot(xr, xi);
+                if (r == 0) {
+                    z[zOffset + i] = 0;
+                    z[zOffset + i + 1] = 0;
+                } else if (xr >= 0) {
+                    final double t = Math.sqrt(0.5 * (r + xr));
+                    z[zOffset + i] = t;
+                    z[zOffset + i + 1] = xi / (2 * t);
+                } else {
+                    final double t = Math.sqrt(0.5 * (r - xr));
+                    z[zOffset + i] = Math.abs(xi) / (2 * t);
+                    z[zOffset + i + 1] = (xi < 0) ? -t : t;
+                }
+            }
+        }
+    }
+
+    static void sum0(int n, double[] x, int xOffset, double[] result, int i) {
+        double r0 = 0, i0 = 0, r1 = 0, i1 = 0;
+        int j = xOffset;
+        for (final int end = xOffset + 2 * n - 2; j < end; j += 4) {
+            r0 += x[j];
+            i0 += x[j + 1];
+            r1 += x[j + 2];
+            i1 += x[j + 3];
+        }
+        for (final int end = xOffset + 2 * n; j < end; j += 2) {
+            r0 += x[j];
+            i0 += x[j + 1];
+        }
+        result[i] = r0 + r1;
+        result[i + 1] = i0 + i1;
+    }
+
+    static void dot0(int n, double[] x, int xOffset, double[] y, int yOffset,
+            boolean conjugate, double[] result, int i) {
+        final double sign = conjugate ? -1.0 : 1.0;
+        double rr = 0, ii = 0, ri = 0, ir = 0;
+        for (int j = 0; j < 2 * n; j += 2) {
+            final double xr = x[xOffset + j], xi = x[xOffset + j + 1];
+            final double yr = y[yOffset + j], yi = y[yOffset + j + 1];
+            rr += xr * yr;
+            ii += xi * yi;
+            ri += xr * yi;
+            ir += xi * yr;
+        }
+        // (xr + s·i·xi)(yr + i·yi)
+        result[i] = rr - sign * ii;
+        result[i + 1] = ri + sign * ir;
+    }
+
+}
@@ -0,0 +1,269 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.kernel;
+
+import javolution.context.ConcurrentContext;
+import javolution.lang.MathLib;
+
+/**
+ * <p> This class holds the 32 bits matrix multiplication logic
+ *     (<code>C = C + A·B</code>), see {@link GemmLogic}. The packed blocks
+ *     hold <code>float</code> elements (twice as many elements per cache
+ *     line), the micro-kernel accumulates the exact products of the
+ *     elements in double precision and rounds the tile of C once per
+ *     block of <code>KC</code> inner indices.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+final class Float32GemmLogic implements Runnable {
+
+    // Register tile.
+    static final int MR = GemmLogic.MR, NR = GemmLogic.NR;
+
+    // Cache blocks (same number of bytes as the 64 bits blocks for B).
+    static final int MC = GemmLogic.MC, KC = GemmLogic.KC,
+            NC = 2 * GemmLogic.NC;
+
+    private final int _from, _to; // Row blocks.
+
+    private final int _m, _kc, _nc, _pc, _jc;
+
+    private final float[] _a, _packedB, _c;
+
+    private final int _aOffset, _aRowStride, _aColumnStride;
+
+    private final int _cOffset, _cRowStride;
+
+    private Float32GemmLogic(int from, int to, int m, int kc, int nc, int pc,
+            int jc, float[] a, int aOffset, int aRowStride,
+            int aColumnStride, float[] packedB, float[] c, int cOffset,
+            int cRowStride) {
+        _from = from;
+        _to = to;
+        _m = m;
+        _kc = kc;
+        _nc = nc;
+        _pc = pc;
+        _jc = jc;
+        _a = a;
+        _aOffset = aOffset;
+        _aRowStride = aRowStride;
+        _aColumnStride = aColumnStride;
+        _packedB = packedB;
+        _c = c;
+        _cOffset = cOffset;
+        _cRowStride = cRowStride;
+    }
+
+    /**
+     * Performs <code>C = C + A·B</code> (A is m-by-n, B is n-by-p).
+     */
+    static void multiply(int m, int n, int p, float[] a, int ao, int ars,
+            int acs, float[] b, int bo, int brs, int bcs, float[] c,
+            int co, int crs) {
+        if ((long) m * n * p < GemmLogic.SMALL) { // i-k-j (row accumulator)
+            final double[] row = new double[p];
+            for (int i = 0; i < m; i++) {
+                final int ci = co + i * crs;
+                Float32Kernel.widen0(p, c, ci, row, 0);
+                for (int k = 0; k < n; k++) {
+                    final double aik = a[ao + i * ars + k * acs];
+                    final int bk = bo + k * brs;
+                    for (int j = 0; j < p; j++) {
+                        row[j] += aik * b[bk + j * bcs];
+                    }
+                }
+                Float32Kernel.narrow0(p, row, 0, c, ci);
+            }
+            return;
+        }
+        final int blocks = (m + MC - 1) / MC;
+        final float[] packedB = new float[MathLib.min(KC, n)
+                * roundUp(MathLib.min(NC, p), NR)];
+        final boolean concurrent = (blocks > 1)
+                && ((long) m * n * p >= Float64Kernel.CONCURRENCY_THRESHOLD
+                        * (long) KC)
+                && (ConcurrentContext.getConcurrency() > 0);
+        for (int jc = 0; jc < p; jc += NC) {
+            final int nc = MathLib.min(NC, p - jc);
+            for (int pc = 0; pc < n; pc += KC) {
+                final int kc = MathLib.min(KC, n - pc);
+                packB(b, bo + pc * brs + jc * bcs, brs, bcs, kc, nc,
+                        packedB);
+                if (concurrent) {
+                    final int concurrency = ConcurrentContext
+                            .getConcurrency() + 1;
+                    final int chunk = (blocks + concurrency - 1) / concurrency;
+                    ConcurrentContext.enter();
+                    try {
+                        for (int from = 0; from < blocks; from += chunk) {
+                            ConcurrentContext.execute(new Float32GemmLogic(
+                                    from, MathLib.min(from + chunk, blocks),
+                                    m, kc, nc, pc, jc, a, ao, ars, acs,
+                                    packedB, c, co, crs));
+                        }
+                    } finally {
+                        ConcurrentContext.exit();
+                    }
+                } else {
+                    new Float32GemmLogic(0, blocks, m, kc, nc, pc, jc, a, ao,
+                            ars, acs, packedB, c, co, crs).run();
+                }
+            }
+        }
+    }
+
+    public void run() {
+        final float[] packedA = new float[MC * _kc];
+        final double[] tile = new double[MR * NR];
+        for (int block = _from; block < _to; block++) {
+            final int ic = block * MC;
+            final int mc = MathLib.min(MC, _m - ic);
+            packA(_a, _aOffset + ic * _aRowStride + _pc * _aColumnStride,
+                    _aRowStride, _aColumnStride, mc, _kc, packedA);
+            for (int jr = 0; jr < _nc; jr += NR) {
+                final int nr = MathLib.min(NR, _nc - jr);
+                final int bo = jr * _kc;
+                for (int ir = 0; ir < mc; ir += MR) {
+                    final int mr = MathLib.min(MR, mc - ir);
+                    kernel(_kc, packedA, ir * _kc, _packedB, bo, _c, _cOffset
+                            + (ic + ir) * _cRowStride + _jc + jr, _cRowStride,
+                            mr, nr, tile);
+                }
+            }
+        }
+    }
+
+    // Packs a mc-by-kc block of A; strips of MR rows stored column by column
+    // (zero padded).
+    private static void packA(float[] a, int offset, int rowStride,
+            int columnStride, int mc, int kc, float[] packed) {
+        for (int ir = 0; ir < mc; ir += MR) {
+            final int base = ir * kc;
+            for (int r = 0; r < MR; r++) {
+                if (ir + r < mc) {
+                    final int row = offset + (ir + r) * rowStride;
+                    for (int k = 0; k < kc; k++) {
+                        packed[base + k * MR + r] = a[row + k * columnStride];
+                    }
+                } else {
+                    for (int k = 0; k < kc; k++) {
+                        packed[base + k * MR + r] = 0.0f;
+                    }
+                }
+            }
+        }
+    }
+
+    // Packs a kc-by-nc panel of B; strips of NR columns stored row by row
+    // (zero padded).
+    private static void packB(float[] b, int offset, int rowStride,
+            int columnStride, int kc, int nc, float[] packed) {
+        for (int k = 0; k < kc; k++) {
+            final int row = offset + k * rowStride;
+            for (int jr = 0; jr < nc; jr += NR) {
+                final int base = jr * kc + k * NR;
+                final int nr = MathLib.min(NR, nc - jr);
+                for (int j = 0; j < nr; j++) {
+                    packed[base + j] = b[row + (jr + j) * columnStride];
+                }
+                for (int j = nr; j < NR; j++) {
+                    packed[base + j] = 0.0f;
+                }
+            }
+        }
+    }
+
+    // Updates the mr-by-nr tile of C starting at index ci.
+    private static void kernel(int kc, float[] a, int ao, float[] b,
+            int bo, float[] c, int ci, int crs, int mr, int nr,
+            double[] tile) {
+        double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+        double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+        double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+        double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+        for (int k = 0; k < kc; k++) {
+            final double b0 = b[bo], b1 = b[bo + 1], b2 = b[bo + 2], b3 = b[bo
+                    + 3];
+            double ak = a[ao];
+            c00 += ak * b0;
+            c01 += ak * b1;
+            c02 += ak * b2;
+            c03 += ak * b3;
+            ak = a[ao + 1];
+            c10 += ak * b0;
+            c11 += ak * b1;
+            c12 += ak * b2;
+            c13 += ak * b3;
+            ak = a[ao + 2];
+            c20 += ak * b0;
+            c21 += ak * b1;
+            c22 += ak * b2;
+            c23 += ak * b3;
+            ak = a[ao + 3];
+            c30 += ak * b0;
+            c31 += ak * b1;
+            c32 += ak * b2;
+            c33 += ak * b3;
+            ao += MR;
+            bo += NR;
+        }
+        if ((mr == MR) && (nr == NR)) {
+            int j = ci;
+            c[j] = (float) (c[j] + c00);
+            c[j + 1] = (float) (c[j + 1] + c01);
+            c[j + 2] = (float) (c[j + 2] + c02);
+            c[j + 3] = (float) (c[j + 3] + c03);
+            j += crs;
+            c[j] = (float) (c[j] + c10);
+            c[j + 1] = (float) (c[j + 1] + c11);
+            c[j + 2] = (float) (c[j + 2] + c12);
+            c[j + 3] = (float) (c[j + 3] + c13);
+            j += crs;
+            c[j] = (float) (c[j] + c20);
+            c[j + 1] = (float) (c[j + 1] + c21);
+            c[j + 2] = (float) (c[j + 2] + c22);
+            c[j + 3] = (float) (c[j + 3] + c23);
+            j += crs;
+            c[j] = (float) (c[j] + c30);
+            c[j + 1] = (float) (c[j + 1] + c31);
+            c[j + 2] = (float) (c[j + 2] + c32);
+            c[j + 3] = (float) (c[j + 3] + c33);
+            return;
+        }
+        // Edge tile.
+        tile[0] = c00;
+        tile[1] = c01;
+        tile[2] = c02;
+        tile[3] = c03;
+        tile[4] = c10;
+        tile[5] = c11;
+        tile[6] = c12;
+        tile[7] = c13;
+        tile[8] = c20;
+        tile[9] = c21;
+        tile[10] = c22;
+        tile[11] = c23;
+        tile[12] = c30;
+        tile[13] = c31;
+        tile[14] = c32;
+        tile[15] = c33;
+        for (int r = 0; r < mr; r++) {
+            final int row = ci + r * crs;
+            for (int s = 0; s < nr; s++) {
+                c[row + s] = (float) (c[row + s] + tile[r * NR + s]);
+            }
+        }
+    }
+
+    private static int roundUp(int n, int multiple) {
+        return (n + multiple - 1) / multiple * multiple;
+    }
+}
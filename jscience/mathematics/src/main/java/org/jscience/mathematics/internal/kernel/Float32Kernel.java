@@ -0,0 +1,375 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.kernel;
+
+import javolution.lang.MathLib;
+
+/**
+ * <p> This class holds bulk arithmetic kernels upon <code>float</code>
+ *     arrays (32 bits floating point elements).</p>
+ *
+ * <p> Half the memory traffic of the {@link Float64Kernel 64 bits kernels}
+ *     for memory-bound operations. Scalars are <code>double</code> and each
+ *     element result is rounded once. Reductions (sums, dot products,
+ *     matrix-vector and matrix products) accumulate in double precision;
+ *     as for the 64 bits kernels they are performed per block of fixed
+ *     size and their result does not depend upon the number of concurrent
+ *     threads.</p>
+ *
+ * <p> Large arrays (see {@link Float64Kernel#CONCURRENCY_THRESHOLD}) are
+ *     processed concurrently using {@link javolution.context.ConcurrentContext
+ *     ConcurrentContext}. Unless specified otherwise, the output array may
+ *     be one of the input arrays (same offset).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+public final class Float32Kernel {
+
+    /**
+     * Default constructor (private for utilities).
+     */
+    private Float32Kernel() {
+    }
+
+    /**
+     * Performs <code>y = a·x + y</code>.
+     *
+     * @param n the number of elements.
+     * @param a the scalar multiplier.
+     * @param x the first array.
+     * @param xOffset the index of the first element of x.
+     * @param y the second array (updated).
+     * @param yOffset the index of the first element of y.
+     */
+    public static void axpy(int n, double a, float[] x, int xOffset,
+            float[] y, int yOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            Float32Logic.execute(Float32Logic.AXPY, n, a, x, xOffset, null,
+                    0, y, yOffset);
+        } else {
+            axpy0(n, a, x, xOffset, y, yOffset);
+        }
+    }
+
+    /**
+     * Performs <code>z = a·x</code>.
+     *
+     * @param n the number of elements.
+     * @param a the scalar multiplier.
+     * @param x the input array.
+     * @param xOffset the index of the first element of x.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void scale(int n, double a, float[] x, int xOffset,
+            float[] z, int zOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            Float32Logic.execute(Float32Logic.SCALE, n, a, x, xOffset, null,
+                    0, z, zOffset);
+        } else {
+            scale0(n, a, x, xOffset, z, zOffset);
+        }
+    }
+
+    /**
+     * Performs <code>z = x + y</code>.
+     *
+     * @param n the number of elements.
+     * @param x the first array.
+     * @param xOffset the index of the first element of x.
+     * @param y the second array.
+     * @param yOffset the index of the first element of y.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void add(int n, float[] x, int xOffset, float[] y,
+            int yOffset, float[] z, int zOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            Float32Logic.execute(Float32Logic.ADD, n, 0, x, xOffset, y,
+                    yOffset, z, zOffset);
+        } else {
+            add0(n, x, xOffset, y, yOffset, z, zOffset);
+        }
+    }
+
+    /**
+     * Performs <code>z = x - y</code>.
+     *
+     * @param n the number of elements.
+     * @param x the first array.
+     * @param xOffset the index of the first element of x.
+     * @param y the second array.
+     * @param yOffset the index of the first element of y.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void subtract(int n, float[] x, int xOffset, float[] y,
+            int yOffset, float[] z, int zOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            Float32Logic.execute(Float32Logic.SUBTRACT, n, 0, x, xOffset, y,
+                    yOffset, z, zOffset);
+        } else {
+            subtract0(n, x, xOffset, y, yOffset, z, zOffset);
+        }
+    }
+
+    /**
+     * Converts the specified 32 bits elements to 64 bits elements (exact).
+     *
+     * @param n the number of elements.
+     * @param x the input array.
+     * @param xOffset the index of the first element of x.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void widen(int n, float[] x, int xOffset, double[] z,
+            int zOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            Float32Logic.convert(true, n, x, xOffset, z, zOffset);
+        } else {
+            widen0(n, x, xOffset, z, zOffset);
+        }
+    }
+
+    /**
+     * Converts the specified 64 bits elements to 32 bits elements (rounded
+     * to nearest).
+     *
+     * @param n the number of elements.
+     * @param x the input array.
+     * @param xOffset the index of the first element of x.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void narrow(int n, double[] x, int xOffset, float[] z,
+            int zOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            Float32Logic.convert(false, n, z, zOffset, x, xOffset);
+        } else {
+            narrow0(n, x, xOffset, z, zOffset);
+        }
+    }
+
+    /**
+     * Returns the sum of the specified elements (double precision).
+     *
+     * @param n the number of elements.
+     * @param x the array.
+     * @param xOffset the index of the first element of x.
+     * @return <code>sum(x<sub>i</sub>)</code>
+     */
+    public static double sum(int n, float[] x, int xOffset) {
+        return Float32Logic.reduce(Float32Logic.SUM, n, x, xOffset, null, 0);
+    }
+
+    /**
+     * Returns the dot product of the specified arrays (double precision).
+     *
+     * @param n the number of elements.
+     * @param x the first array.
+     * @param xOffset the index of the first element of x.
+     * @param y the second array.
+     * @param yOffset the index of the first element of y.
+     * @return <code>sum(x<sub>i</sub>·y<sub>i</sub>)</code>
+     */
+    public static double dot(int n, float[] x, int xOffset, float[] y,
+            int yOffset) {
+        return Float32Logic.reduce(Float32Logic.DOT, n, x, xOffset, y,
+                yOffset);
+    }
+
+    /**
+     * Returns the euclidian norm of the specified elements (double
+     * precision, the squares of 32 bits elements cannot overflow).
+     *
+     * @param n the number of elements.
+     * @param x the array.
+     * @param xOffset the index of the first element of x.
+     * @return <code>sqrt(sum(x<sub>i</sub>²))</code>
+     */
+    public static double norm(int n, float[] x, int xOffset) {
+        return MathLib.sqrt(Float32Logic.reduce(Float32Logic.DOT, n, x,
+                xOffset, x, xOffset));
+    }
+
+    /**
+     * Performs <code>y = A·x</code> where A is a m-by-n matrix (dot
+     * products accumulated in double precision, rows computed concurrently
+     * for large matrices). The element <code>(i, j)</code> of A is at index
+     * <code>offset + i·rowStride + j·columnStride</code>, x and y are
+     * contiguous and do not overlap A.
+     *
+     * @param m the number of rows of A (elements of y).
+     * @param n the number of columns of A (elements of x).
+     * @param a the elements of A.
+     * @param aOffset the index of the first element of A.
+     * @param aRowStride the row stride of A.
+     * @param aColumnStride the column stride of A.
+     * @param x the vector multiplied.
+     * @param xOffset the index of the first element of x.
+     * @param y the product (must not overlap x).
+     * @param yOffset the index of the first element of y.
+     */
+    public static void gemv(int m, int n, float[] a, int aOffset,
+            int aRowStride, int aColumnStride, float[] x, int xOffset,
+            float[] y, int yOffset) {
+        if (KernelLogic.isConcurrent(m * n)) {
+            Float32Logic.gemv(m, n, a, aOffset, aRowStride, aColumnStride,
+                    x, xOffset, y, yOffset);
+        } else {
+            gemv0(0, m, n, a, aOffset, aRowStride, aColumnStride, x, xOffset,
+                    y, yOffset);
+        }
+    }
+
+    /**
+     * Performs <code>C = C + A·B</code> where A is a m-by-n matrix and B a
+     * n-by-p matrix (cache-blocked, rows of C computed concurrently for
+     * large matrices). Products are accumulated in double precision, C
+     * being rounded once per block of 256 inner indices. The element
+     * <code>(i, j)</code> of a matrix is at index
+     * <code>offset + i·rowStride + j·columnStride</code>, C has
+     * contiguous rows and does not overlap A or B.
+     *
+     * @param m the number of rows of A and C.
+     * @param n the number of columns of A (rows of B).
+     * @param p the number of columns of B and C.
+     * @param a the elements of A.
+     * @param aOffset the index of the first element of A.
+     * @param aRowStride the row stride of A.
+     * @param aColumnStride the column stride of A.
+     * @param b the elements of B.
+     * @param bOffset the index of the first element of B.
+     * @param bRowStride the row stride of B.
+     * @param bColumnStride the column stride of B.
+     * @param c the elements of C (updated).
+     * @param cOffset the index of the first element of C.
+     * @param cRowStride the row stride of C.
+     */
+    public static void gemm(int m, int n, int p, float[] a, int aOffset,
+            int aRowStride, int aColumnStride, float[] b, int bOffset,
+            int bRowStride, int bColumnStride, float[] c, int cOffset,
+            int cRowStride) {
+        Float32GemmLogic.multiply(m, n, p, a, aOffset, aRowStride,
+                aColumnStride, b, bOffset, bRowStride, bColumnStride, c,
+                cOffset, cRowStride);
+    }
+
+    ///////////////////////////
+    // Sequential primitives //
+    ///////////////////////////
+
+    static void axpy0(int n, double a, float[] x, int xOffset, float[] y,
+            int yOffset) {
+        for (int i = 0; i < n; i++) {
+            y[yOffset + i] = (float) (y[yOffset + i] + a * x[xOffset + i]);
+        }
+    }
+
+    static void scale0(int n, double a, float[] x, int xOffset, float[] z,
+            int zOffset) {
+        for (int i = 0; i < n; i++) {
+            z[zOffset + i] = (float) (a * x[xOffset + i]);
+        }
+    }
+
+    static void add0(int n, float[] x, int xOffset, float[] y, int yOffset,
+            float[] z, int zOffset) {
+        for (int i = 0; i < n; i++) {
+            z[zOffset + i] = x[xOffset + i] + y[yOffset + i];
+        }
+    }
+
+    static void subtract0(int n, float[] x, int xOffset, float[] y,
+            int yOffset, float[] z, int zOffset) {
+        for (int i = 0; i < n; i++) {
+            z[zOffset + i] = x[xOffset + i] - y[yOffset + i];
+        }
+    }
+
+    static void widen0(int n, float[] x, int xOffset, double[] z,
+            int zOffset) {
+        for (int i = 0; i < n; i++) {
+            z[zOffset + i] = x[xOffset + i];
+        }
+    }
+
+    static void narrow0(int n, double[] x, int xOffset, float[] z,
+            int zOffset) {
+        for (int i = 0; i < n; i++) {
+            z[zOffset + i] = (float) x[xOffset + i];
+        }
+    }
+
+    // Independent accumulators (see Float64Kernel.sum0).
+    static double sum0(int n, float[] x, int xOffset) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = xOffset;
+        for (final int end = xOffset + n - 3; i < end; i += 4) {
+            s0 += x[i];
+            s1 += x[i + 1];
+            s2 += x[i + 2];
+            s3 += x[i + 3];
+        }
+        for (final int end = xOffset + n; i < end; i++) {
+            s0 += x[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    // The product of two floats is exact in double precision.
+    static double dot0(int n, float[] x, int xOffset, float[] y,
+            int yOffset) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i < n - 3; i += 4) {
+            s0 += (double) x[xOffset + i] * y[yOffset + i];
+            s1 += (double) x[xOffset + i + 1] * y[yOffset + i + 1];
+            s2 += (double) x[xOffset + i + 2] * y[yOffset + i + 2];
+            s3 += (double) x[xOffset + i + 3] * y[yOffset + i + 3];
+        }
+        for (; i < n; i++) {
+            s0 += (double) x[xOffset + i] * y[yOffset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    // Rows [from, to) of y = A·x.
+    static void gemv0(int from, int to, int n, float[] a, int ao, int ars,
+            int acs, float[] x, int xo, float[] y, int yo) {
+        if (acs == 1) { // Contiguous rows.
+            for (int i = from; i < to; i++) {
+                y[yo + i] = (float) dot0(n, a, ao + i * ars, x, xo);
+            }
+            return;
+        }
+        if (ars == 1) { // Contiguous columns (e.g. transposed views).
+            final int m = to - from;
+            final double[] sum = new double[m];
+            for (int j = 0; j < n; j++) {
+                final double xj = x[xo + j];
+                final int column = ao + j * acs + from;
+                for (int i = 0; i < m; i++) {
+                    sum[i] += xj * a[column + i];
+                }
+            }
+            narrow0(m, sum, 0, y, yo + from);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            double sum = 0;
+            for (int j = 0, k = ao + i * ars; j < n; j++, k += acs) {
+                sum += (double) a[k] * x[xo + j];
+            }
+            y[yo + i] = (float) sum;
+        }
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.kernel;
+
+import javolution.context.ConcurrentContext;
+import javolution.lang.MathLib;
+
+/**
+ * <p> This class holds the concurrent execution logic of the
+ *     {@link Float32Kernel 32 bits kernels} (a range of elements, rows or
+ *     blocks per concurrent task).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+final class Float32Logic implements Runnable {
+
+    // Element-wise operations.
+    static final int AXPY = 0, SCALE = 1, ADD = 2, SUBTRACT = 3, WIDEN = 4,
+            NARROW = 5;
+
+    // Matrix-vector product (range of rows).
+    static final int GEMV = 10;
+
+    // Reductions (per block).
+    static final int SUM = 20, DOT = 21;
+
+    private final int _op;
+
+    private final int _from, _to; // Elements, rows or blocks (reductions).
+
+    private final int _n;
+
+    private final double _a;
+
+    private final float[] _x, _y, _z;
+
+    private final int _xOffset, _yOffset, _zOffset;
+
+    private final double[] _d; // Conversions and reductions.
+
+    private final int _dOffset;
+
+    private int _rowStride, _columnStride; // Matrix-vector product.
+
+    private Float32Logic(int op, int from, int to, int n, double a,
+            float[] x, int xOffset, float[] y, int yOffset, float[] z,
+            int zOffset, double[] d, int dOffset) {
+        _op = op;
+        _from = from;
+        _to = to;
+        _n = n;
+        _a = a;
+        _x = x;
+        _xOffset = xOffset;
+        _y = y;
+        _yOffset = yOffset;
+        _z = z;
+        _zOffset = zOffset;
+        _d = d;
+        _dOffset = dOffset;
+    }
+
+    /**
+     * Executes the specified element-wise operation concurrently.
+     */
+    static void execute(int op, int n, double a, float[] x, int xOffset,
+            float[] y, int yOffset, float[] z, int zOffset) {
+        final int concurrency = ConcurrentContext.getConcurrency() + 1;
+        final int chunk = (n + concurrency - 1) / concurrency;
+        ConcurrentContext.enter();
+        try {
+            for (int from = 0; from < n; from += chunk) {
+                ConcurrentContext.execute(new Float32Logic(op, from, MathLib
+                        .min(from + chunk, n), n, a, x, xOffset, y, yOffset,
+                        z, zOffset, null, 0));
+            }
+        } finally {
+            ConcurrentContext.exit();
+        }
+    }
+
+    /**
+     * Converts the specified elements concurrently (from float to double
+     * if <code>widen</code>, from double to float otherwise).
+     */
+    static void convert(boolean widen, int n, float[] f, int fOffset,
+            double[] d, int dOffset) {
+        final int concurrency = ConcurrentContext.getConcurrency() + 1;
+        final int chunk = (n + concurrency - 1) / concurrency;
+        ConcurrentContext.enter();
+        try {
+            for (int from = 0; from < n; from += chunk) {
+                ConcurrentContext.execute(new Float32Logic(widen ? WIDEN
+                        : NARROW, from, MathLib.min(from + chunk, n), n, 0,
+                        f, fOffset, null, 0, null, 0, d, dOffset));
+            }
+        } finally {
+            ConcurrentContext.exit();
+        }
+    }
+
+    /**
+     * Calculates the matrix-vector product concurrently (range of rows per
+     * task).
+     */
+    static void gemv(int m, int n, float[] a, int aOffset, int aRowStride,
+            int aColumnStride, float[] x, int xOffset, float[] y, int yOffset) {
+        final int concurrency = ConcurrentContext.getConcurrency() + 1;
+        final int chunk = (m + concurrency - 1) / concurrency;
+        ConcurrentContext.enter();
+        try {
+            for (int from = 0; from < m; from += chunk) {
+                Float32Logic logic = new Float32Logic(GEMV, from, MathLib
+                        .min(from + chunk, m), n, 0, a, aOffset, x, xOffset,
+                        y, yOffset, null, 0);
+                logic._rowStride = aRowStride;
+                logic._columnStride = aColumnStride;
+                ConcurrentContext.execute(logic);
+            }
+        } finally {
+            ConcurrentContext.exit();
+        }
+    }
+
+    /**
+     * Performs the specified reduction (blocks of fixed size, the result
+     * is independent from the concurrency).
+     */
+    static double reduce(int op, int n, float[] x, int xOffset, float[] y,
+            int yOffset) {
+        final int blocks = (n + Float64Kernel.BLOCK_SIZE - 1)
+                / Float64Kernel.BLOCK_SIZE;
+        if (blocks <= 1)
+            return (op == SUM) ? Float32Kernel.sum0(n, x, xOffset)
+                    : Float32Kernel.dot0(n, x, xOffset, y, yOffset);
+        double[] partials = new double[blocks];
+        if (KernelLogic.isConcurrent(n)) {
+            final int concurrency = ConcurrentContext.getConcurrency() + 1;
+            final int chunk = (blocks + concurrency - 1) / concurrency;
+            ConcurrentContext.enter();
+            try {
+                for (int from = 0; from < blocks; from += chunk) {
+                    ConcurrentContext.execute(new Float32Logic(op, from,
+                            MathLib.min(from + chunk, blocks), n, 0, x,
+                            xOffset, y, yOffset, null, 0, partials, 0));
+                }
+            } finally {
+                ConcurrentContext.exit();
+            }
+        } else {
+            new Float32Logic(op, 0, blocks, n, 0, x, xOffset, y, yOffset,
+                    null, 0, partials, 0).run();
+        }
+        double sum = partials[0];
+        for (int b = 1; b < blocks; b++) {
+            sum += partials[b];
+        }
+        return sum;
+    }
+
+    public void run() {
+        if (_op >= SUM) { // Blocks reduction.
+            final int size = Float64Kernel.BLOCK_SIZE;
+            for (int b = _from; b < _to; b++) {
+                final int start = b * size;
+                final int n = MathLib.min(size, _n - start);
+                _d[b] = (_op == SUM) ? Float32Kernel.sum0(n, _x, _xOffset
+                        + start) : Float32Kernel.dot0(n, _x, _xOffset + start,
+                        _y, _yOffset + start);
+            }
+            return;
+        }
+        if (_op == GEMV) { // x holds A, y holds x and z holds y.
+            Float32Kernel.gemv0(_from, _to, _n, _x, _xOffset, _rowStride,
+                    _columnStride, _y, _yOffset, _z, _zOffset);
+            return;
+        }
+        final int n = _to - _from;
+        final int xo = _xOffset + _from;
+        final int yo = _yOffset + _from;
+        final int zo = _zOffset + _from;
+        switch (_op) {
+        case AXPY:
+            Float32Kernel.axpy0(n, _a, _x, xo, _z, zo);
+            break;
+        case SCALE:
+            Float32Kernel.scale0(n, _a, _x, xo, _z, zo);
+            break;
+        case ADD:
+            Float32Kernel.add0(n, _x, xo, _y, yo, _z, zo);
+            break;
+        case SUBTRACT:
+            Float32Kernel.subtract0(n, _x, xo, _y, yo, _z, zo);
+            break;
+        case WIDEN:
+            Float32Kernel.widen0(n, _x, xo, _d, _dOffset + _from);
+            break;
+        default: // NARROW
+            Float32Kernel.narrow0(n, _d, _dOffset + _from, _x, xo);
+        }
+    }
+}
@@ -0,0 +1,541 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.kernel;
+
+import javolution.lang.MathLib;
+
+/**
+ * <p> This class holds bulk arithmetic kernels upon <code>double</code>
+ *     arrays (64 bits floating point elements).</p>
+ *
+ * <p> Loops are simple counted loops over contiguous elements without
+ *     calls or branches, which allows the JIT to unroll and vectorize them
+ *     (element-wise operations). Reductions use independent accumulators
+ *     and are performed per block of fixed size; their result does not
+ *     depend upon the number of concurrent threads.</p>
+ *
+ * <p> On Java 16 and later with the <code>jdk.incubator.vector</code>
+ *     module resolved, the sums, dot products, norms and <code>axpy</code>
+ *     (also used by the matrix-vector and matrix products) are explicitly
+ *     vectorized (see {@link SimdKernel}); the scalar loops are used
+ *     otherwise. The vectorized sums and dot products (hence the norms)
+ *     are reproducible for a given processor but may differ in the last
+ *     bits from the scalar loops and from one vector size to another.</p>
+ *
+ * <p> Large arrays (see {@link #CONCURRENCY_THRESHOLD}) are processed
+ *     concurrently using {@link javolution.context.ConcurrentContext
+ *     ConcurrentContext}. Unless specified otherwise, the output array may
+ *     be one of the input arrays (same offset).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+public final class Float64Kernel {
+
+    /**
+     * Holds the minimum number of elements for concurrent execution.
+     */
+    public static final int CONCURRENCY_THRESHOLD = 1 << 16;
+
+    /**
+     * Holds the number of elements of the blocks used for reductions.
+     */
+    static final int BLOCK_SIZE = 1 << 13;
+
+    /**
+     * Holds the vectorized primitives or <code>null</code> if not
+     * available.
+     */
+    private static final SimdKernel SIMD = SimdKernel.INSTANCE;
+
+    /**
+     * Default constructor (private for utilities).
+     */
+    private Float64Kernel() {
+    }
+
+    /**
+     * Performs <code>y = a·x + y</code>.
+     *
+     * @param n the number of elements.
+     * @param a the scalar multiplier.
+     * @param x the first array.
+     * @param xOffset the index of the first element of x.
+     * @param y the second array (updated).
+     * @param yOffset the index of the first element of y.
+     */
+    public static void axpy(int n, double a, double[] x, int xOffset,
+            double[] y, int yOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            KernelLogic.execute(KernelLogic.AXPY, n, a, 0, x, xOffset, null,
+                    0, y, yOffset);
+        } else {
+            axpy0(n, a, x, xOffset, y, yOffset);
+        }
+    }
+
+    /**
+     * Performs <code>z = a·x</code>.
+     *
+     * @param n the number of elements.
+     * @param a the scalar multiplier.
+     * @param x the input array.
+     * @param xOffset the index of the first element of x.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void scale(int n, double a, double[] x, int xOffset,
+            double[] z, int zOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            KernelLogic.execute(KernelLogic.SCALE, n, a, 0, x, xOffset, null,
+                    0, z, zOffset);
+        } else {
+            scale0(n, a, x, xOffset, z, zOffset);
+        }
+    }
+
+    /**
+     * Performs <code>z = x + y</code>.
+     *
+     * @param n the number of elements.
+     * @param x the first array.
+     * @param xOffset the index of the first element of x.
+     * @param y the second array.
+     * @param yOffset the index of the first element of y.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void add(int n, double[] x, int xOffset, double[] y,
+            int yOffset, double[] z, int zOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            KernelLogic.execute(KernelLogic.ADD, n, 0, 0, x, xOffset, y,
+                    yOffset, z, zOffset);
+        } else {
+            add0(n, x, xOffset, y, yOffset, z, zOffset);
+        }
+    }
+
+    /**
+     * Performs <code>z = x - y</code>.
+     *
+     * @param n the number of elements.
+     * @param x the first array.
+     * @param xOffset the index of the first element of x.
+     * @param y the second array.
+     * @param yOffset the index of the first element of y.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void subtract(int n, double[] x, int xOffset, double[] y,
+            int yOffset, double[] z, int zOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            KernelLogic.execute(KernelLogic.SUBTRACT, n, 0, 0, x, xOffset, y,
+                    yOffset, z, zOffset);
+        } else {
+            subtract0(n, x, xOffset, y, yOffset, z, zOffset);
+        }
+    }
+
+    /**
+     * Performs <code>z = x · y</code> (element-wise).
+     *
+     * @param n the number of elements.
+     * @param x the first array.
+     * @param xOffset the index of the first element of x.
+     * @param y the second array.
+     * @param yOffset the index of the first element of y.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void multiply(int n, double[] x, int xOffset, double[] y,
+            int yOffset, double[] z, int zOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            KernelLogic.execute(KernelLogic.MULTIPLY, n, 0, 0, x, xOffset, y,
+                    yOffset, z, zOffset);
+        } else {
+            multiply0(n, x, xOffset, y, yOffset, z, zOffset);
+        }
+    }
+
+    /**
+     * Performs <code>z = x / y</code> (element-wise).
+     *
+     * @param n the number of elements.
+     * @param x the first array.
+     * @param xOffset the index of the first element of x.
+     * @param y the second array.
+     * @param yOffset the index of the first element of y.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void divide(int n, double[] x, int xOffset, double[] y,
+            int yOffset, double[] z, int zOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            KernelLogic.execute(KernelLogic.DIVIDE, n, 0, 0, x, xOffset, y,
+                    yOffset, z, zOffset);
+        } else {
+            divide0(n, x, xOffset, y, yOffset, z, zOffset);
+        }
+    }
+
+    /**
+     * Performs <code>z = exp(x)</code> (element-wise).
+     *
+     * @param n the number of elements.
+     * @param x the input array.
+     * @param xOffset the index of the first element of x.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void exp(int n, double[] x, int xOffset, double[] z,
+            int zOffset) {
+        map(KernelLogic.EXP, n, x, xOffset, z, zOffset);
+    }
+
+    /**
+     * Performs <code>z = log(x)</code> (element-wise natural logarithm).
+     *
+     * @param n the number of elements.
+     * @param x the input array.
+     * @param xOffset the index of the first element of x.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void log(int n, double[] x, int xOffset, double[] z,
+            int zOffset) {
+        map(KernelLogic.LOG, n, x, xOffset, z, zOffset);
+    }
+
+    /**
+     * Performs <code>z = sqrt(x)</code> (element-wise).
+     *
+     * @param n the number of elements.
+     * @param x the input array.
+     * @param xOffset the index of the first element of x.
+     * @param z the output array.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void sqrt(int n, double[] x, int xOffset, double[] z,
+            int zOffset) {
+        map(KernelLogic.SQRT, n, x, xOffset, z, zOffset);
+    }
+
+    /**
+     * Evaluates the specified polynomial at each element (Horner scheme).
+     *
+     * @param coefficients the polynomial coefficients (constant first).
+     * @param n the number of elements.
+     * @param x the points.
+     * @param xOffset the index of the first element of x.
+     * @param z the polynomial values.
+     * @param zOffset the index of the first element of z.
+     */
+    public static void polynomial(double[] coefficients, int n, double[] x,
+            int xOffset, double[] z, int zOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            KernelLogic.execute(KernelLogic.POLYNOMIAL, n, 0, 0, x, xOffset,
+                    coefficients, 0, z, zOffset);
+        } else {
+            polynomial0(coefficients, n, x, xOffset, z, zOffset);
+        }
+    }
+
+    /**
+     * Returns the sum of the specified elements.
+     *
+     * @param n the number of elements.
+     * @param x the array.
+     * @param xOffset the index of the first element of x.
+     * @return <code>sum(x<sub>i</sub>)</code>
+     */
+    public static double sum(int n, double[] x, int xOffset) {
+        return KernelLogic.reduce(KernelLogic.SUM, n, x, xOffset, null, 0);
+    }
+
+    /**
+     * Returns the dot product of the specified arrays.
+     *
+     * @param n the number of elements.
+     * @param x the first array.
+     * @param xOffset the index of the first element of x.
+     * @param y the second array.
+     * @param yOffset the index of the first element of y.
+     * @return <code>sum(x<sub>i</sub>·y<sub>i</sub>)</code>
+     */
+    public static double dot(int n, double[] x, int xOffset, double[] y,
+            int yOffset) {
+        return KernelLogic.reduce(KernelLogic.DOT, n, x, xOffset, y, yOffset);
+    }
+
+    /**
+     * Returns the euclidian norm of the specified elements (without
+     * intermediate overflow or underflow).
+     *
+     * @param n the number of elements.
+     * @param x the array.
+     * @param xOffset the index of the first element of x.
+     * @return <code>sqrt(sum(x<sub>i</sub>²))</code>
+     */
+    public static double norm(int n, double[] x, int xOffset) {
+        double normSquared = KernelLogic.reduce(KernelLogic.DOT, n, x,
+                xOffset, x, xOffset);
+        if ((normSquared < Double.POSITIVE_INFINITY)
+                && (normSquared > 0x1.0p-900))
+            return MathLib.sqrt(normSquared);
+        if (normSquared != normSquared)
+            return normSquared; // NaN
+        // Overflow or underflow (or zero), scales values.
+        double max = KernelLogic.reduce(KernelLogic.MAX_ABS, n, x, xOffset,
+                null, 0);
+        if ((max == 0) || (max == Double.POSITIVE_INFINITY))
+            return max;
+        double sum = 0;
+        final double inv = 1.0 / max;
+        for (int i = xOffset, end = xOffset + n; i < end; i++) {
+            final double v = x[i] * inv;
+            sum += v * v;
+        }
+        return max * MathLib.sqrt(sum);
+    }
+
+    /**
+     * Performs <code>y = A·x</code> where A is a m-by-n matrix (rows
+     * computed concurrently for large matrices). The element
+     * <code>(i, j)</code> of A is at index
+     * <code>offset + i·rowStride + j·columnStride</code>, x and y are
+     * contiguous and do not overlap A.
+     *
+     * @param m the number of rows of A (elements of y).
+     * @param n the number of columns of A (elements of x).
+     * @param a the elements of A.
+     * @param aOffset the index of the first element of A.
+     * @param aRowStride the row stride of A.
+     * @param aColumnStride the column stride of A.
+     * @param x the vector multiplied.
+     * @param xOffset the index of the first element of x.
+     * @param y the product (must not overlap x).
+     * @param yOffset the index of the first element of y.
+     */
+    public static void gemv(int m, int n, double[] a, int aOffset,
+            int aRowStride, int aColumnStride, double[] x, int xOffset,
+            double[] y, int yOffset) {
+        if (KernelLogic.isConcurrent(m * n)) {
+            KernelLogic.gemv(m, n, a, aOffset, aRowStride, aColumnStride, x,
+                    xOffset, y, yOffset);
+        } else {
+            gemv0(0, m, n, a, aOffset, aRowStride, aColumnStride, x, xOffset,
+                    y, yOffset);
+        }
+    }
+
+    /**
+     * Performs <code>C = C + A·B</code> where A is a m-by-n matrix and B a
+     * n-by-p matrix (cache-blocked, rows of C computed concurrently for
+     * large matrices). The element <code>(i, j)</code> of a matrix is
+     * at index <code>offset + i·rowStride + j·columnStride</code>, C has
+     * contiguous rows and does not overlap A or B.
+     *
+     * @param m the number of rows of A and C.
+     * @param n the number of columns of A (rows of B).
+     * @param p the number of columns of B and C.
+     * @param a the elements of A.
+     * @param aOffset the index of the first element of A.
+     * @param aRowStride the row stride of A.
+     * @param aColumnStride the column stride of A.
+     * @param b the elements of B.
+     * @param bOffset the index of the first element of B.
+     * @param bRowStride the row stride of B.
+     * @param bColumnStride the column stride of B.
+     * @param c the elements of C (updated).
+     * @param cOffset the index of the first element of C.
+     * @param cRowStride the row stride of C.
+     */
+    public static void gemm(int m, int n, int p, double[] a, int aOffset,
+            int aRowStride, int aColumnStride, double[] b, int bOffset,
+            int bRowStride, int bColumnStride, double[] c, int cOffset,
+            int cRowStride) {
+        GemmLogic.multiply(m, n, p, a, aOffset, aRowStride, aColumnStride, b,
+                bOffset, bRowStride, bColumnStride, c, cOffset, cRowStride);
+    }
+
+    ///////////////////////////
+    // Sequential primitives //
+    ///////////////////////////
+
+    private static void map(int op, int n, double[] x, int xOffset,
+            double[] z, int zOffset) {
+        if (KernelLogic.isConcurrent(n)) {
+            KernelLogic.execute(op, n, 0, 0, x, xOffset, null, 0, z, zOffset);
+        } else {
+            map0(op, n, x, xOffset, z, zOffset);
+        }
+    }
+
+    static void axpy0(int n, double a, double[] x, int xOffset, double[] y,
+            int yOffset) {
+        if (SIMD != null) {
+            SIMD.axpy(n, a, x, xOffset, y, yOffset);
+            return;
+        }
+        for (int i = 0; i < n; i++) {
+            y[yOffset + i] += a * x[xOffset + i];
+        }
+    }
+
+    static void scale0(int n, double a, double[] x, int xOffset, double[] z,
+            int zOffset) {
+        for (int i = 0; i < n; i++) {
+            z[zOffset + i] = a * x[xOffset + i];
+        }
+    }
+
+    static void add0(int n, double[] x, int xOffset, double[] y, int yOffset,
+            double[] z, int zOffset) {
+        for (int i = 0; i < n; i++) {
+            z[zOffset + i] = x[xOffset + i] + y[yOffset + i];
+        }
+    }
+
+    static void subtract0(int n, double[] x, int xOffset, double[] y,
+            int yOffset, double[] z, int zOffset) {
+        for (int i = 0; i < n; i++) {
+            z[zOffset + i] = x[xOffset + i] - y[yOffset + i];
+        }
+    }
+
+    static void multiply0(int n, double[] x, int xOffset, double[] y,
+            int yOffset, double[] z, int zOffset) {
+        for (int i = 0; i < n; i++) {
+            z[zOffset + i] = x[xOffset + i] * y[yOffset + i];
+        }
+    }
+
+    static void divide0(int n, double[] x, int xOffset, double[] y,
+            int yOffset, double[] z, int zOffset) {
+        for (int i = 0; i < n; i++) {
+            z[zOffset + i] = x[xOffset + i] / y[yOffset + i];
+        }
+    }
+
+    // Math (not MathLib) for the JIT intrinsics.
+    static void map0(int op, int n, double[] x, int xOffset, double[] z,
+            int zOffset) {
+        switch (op) {
+        case KernelLogic.EXP:
+            for (int i = 0; i < n; i++) {
+                z[zOffset + i] = Math.exp(x[xOffset + i]);
+            }
+            break;
+        case KernelLogic.LOG:
+            for (int i = 0; i < n; i++) {
+                z[zOffset + i] = Math.log(x[xOffset + i]);
+            }
+            break;
+        default: // SQRT
+            for (int i = 0; i < n; i++) {
+                z[zOffset + i] = Math.sqrt(x[xOffset + i]);
+            }
+        }
+    }
+
+    static void polynomial0(double[] c, int n, double[] x, int xOffset,
+            double[] z, int zOffset) {
+        final int degree = c.length - 1;
+        final double leading = c[degree];
+        for (int i = 0; i < n; i++) {
+            z[zOffset + i] = leading;
+        }
+        for (int k = degree; --k >= 0;) { // z = z·x + c[k]
+            final double ck = c[k];
+            for (int i = 0; i < n; i++) {
+                z[zOffset + i] = z[zOffset + i] * x[xOffset + i] + ck;
+            }
+        }
+    }
+
+    // Independent accumulators (reductions are not vectorized by the JIT
+    // as floating point addition is not associative).
+    static double sum0(int n, double[] x, int xOffset) {
+        if (SIMD != null)
+            return SIMD.sum(n, x, xOffset);
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = xOffset;
+        for (final int end = xOffset + n - 3; i < end; i += 4) {
+            s0 += x[i];
+            s1 += x[i + 1];
+            s2 += x[i + 2];
+            s3 += x[i + 3];
+        }
+        for (final int end = xOffset + n; i < end; i++) {
+            s0 += x[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    static double dot0(int n, double[] x, int xOffset, double[] y,
+            int yOffset) {
+        if (SIMD != null)
+            return SIMD.dot(n, x, xOffset, y, yOffset);
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i < n - 3; i += 4) {
+            s0 += x[xOffset + i] * y[yOffset + i];
+            s1 += x[xOffset + i + 1] * y[yOffset + i + 1];
+            s2 += x[xOffset + i + 2] * y[yOffset + i + 2];
+            s3 += x[xOffset + i + 3] * y[yOffset + i + 3];
+        }
+        for (; i < n; i++) {
+            s0 += x[xOffset + i] * y[yOffset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    // Rows [from, to) of y = A·x.
+    static void gemv0(int from, int to, int n, double[] a, int ao, int ars,
+            int acs, double[] x, int xo, double[] y, int yo) {
+        if (acs == 1) { // Contiguous rows.
+            for (int i = from; i < to; i++) {
+                y[yo + i] = dot0(n, a, ao + i * ars, x, xo);
+            }
+            return;
+        }
+        if (ars == 1) { // Contiguous columns (e.g. transposed views).
+            final int m = to - from;
+            for (int i = 0; i < m; i++) {
+                y[yo + from + i] = 0.0;
+            }
+            for (int j = 0; j < n; j++) {
+                axpy0(m, x[xo + j], a, ao + j * acs + from, y, yo + from);
+            }
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            double sum = 0;
+            for (int j = 0, k = ao + i * ars; j < n; j++, k += acs) {
+                sum += a[k] * x[xo + j];
+            }
+            y[yo + i] = sum;
+        }
+    }
+
+    // NaN elements are ignored (norm returns before if there is any).
+    static double maxAbs0(int n, double[] x, int xOffset) {
+        if (SIMD != null)
+            return SIMD.maxAbs(n, x, xOffset);
+        double max = 0;
+        for (int i = xOffset, end = xOffset + n; i < end; i++) {
+            final double v = Math.abs(x[i]);
+            if (v > max) {
+                max = v;
+            }
+        }
+        return max;
+    }
+
+}
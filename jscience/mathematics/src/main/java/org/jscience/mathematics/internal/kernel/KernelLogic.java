@@ -0,0 +1,279 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.kernel;
+
+import javolution.context.ConcurrentContext;
+import javolution.lang.MathLib;
+
+/**
+ * <p> This class holds the concurrent execution logic of the bulk kernels
+ *     (a range of elements per concurrent task).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+final class KernelLogic implements Runnable {
+
+    // Element-wise operations (64 bits floating point).
+    static final int AXPY = 0, SCALE = 1, ADD = 2, SUBTRACT = 3,
+            MULTIPLY = 4, DIVIDE = 5, EXP = 6, LOG = 7, SQRT = 8,
+            POLYNOMIAL = 9;
+
+    // Element-wise operations (interleaved complex).
+    static final int C_AXPY = 10, C_SCALE = 11, C_MULTIPLY = 12,
+            C_DIVIDE = 13, C_CONJUGATE = 14, C_EXP = 15, C_LOG = 16,
+            C_SQRT = 17;
+
+    // Matrix-vector product (per range of rows).
+    static final int GEMV = 19;
+
+    // Reductions (per block).
+    static final int SUM = 20, DOT = 21, MAX_ABS = 22, C_SUM = 23,
+            C_DOT = 24, C_DOTC = 25;
+
+    private final int _op;
+
+    private final int _from, _to; // Elements or blocks (reductions).
+
+    private final int _n;
+
+    private final double _ar, _ai;
+
+    private final double[] _x, _y, _z;
+
+    private final int _xOffset, _yOffset, _zOffset;
+
+    private int _rowStride, _columnStride; // Matrix-vector product.
+
+    private KernelLogic(int op, int from, int to, int n, double ar,
+            double ai, double[] x, int xOffset, double[] y, int yOffset,
+            double[] z, int zOffset) {
+        _op = op;
+        _from = from;
+        _to = to;
+        _n = n;
+        _ar = ar;
+        _ai = ai;
+        _x = x;
+        _xOffset = xOffset;
+        _y = y;
+        _yOffset = yOffset;
+        _z = z;
+        _zOffset = zOffset;
+    }
+
+    /**
+     * Indicates if an operation upon n elements should be performed
+     * concurrently.
+     */
+    static boolean isConcurrent(int n) {
+        return (n >= Float64Kernel.CONCURRENCY_THRESHOLD)
+                && (ConcurrentContext.getConcurrency() > 0);
+    }
+
+    /**
+     * Executes the specified element-wise operation concurrently.
+     */
+    static void execute(int op, int n, double ar, double ai, double[] x,
+            int xOffset, double[] y, int yOffset, double[] z, int zOffset) {
+        final int concurrency = ConcurrentContext.getConcurrency() + 1;
+        final int chunk = (n + concurrency - 1) / concurrency;
+        ConcurrentContext.enter();
+        try {
+            for (int from = 0; from < n; from += chunk) {
+                ConcurrentContext.execute(new KernelLogic(op, from, MathLib
+                        .min(from + chunk, n), n, ar, ai, x, xOffset, y,
+                        yOffset, z, zOffset));
+            }
+        } finally {
+            ConcurrentContext.exit();
+        }
+    }
+
+    /**
+     * Performs <code>y = A·x</code> concurrently (per range of rows).
+     */
+    static void gemv(int m, int n, double[] a, int aOffset, int aRowStride,
+            int aColumnStride, double[] x, int xOffset, double[] y,
+            int yOffset) {
+        final int concurrency = ConcurrentContext.getConcurrency() + 1;
+        final int chunk = (m + concurrency - 1) / concurrency;
+        ConcurrentContext.enter();
+        try {
+            for (int from = 0; from < m; from += chunk) {
+                KernelLogic logic = new KernelLogic(GEMV, from, MathLib.min(
+                        from + chunk, m), n, 0, 0, a, aOffset, x, xOffset, y,
+                        yOffset);
+                logic._rowStride = aRowStride;
+                logic._columnStride = aColumnStride;
+                ConcurrentContext.execute(logic);
+            }
+        } finally {
+            ConcurrentContext.exit();
+        }
+    }
+
+    /**
+     * Performs the specified reduction (blocks of fixed size, the result
+     * is independent from the concurrency).
+     *
+     * @return the real part of the result (imaginary part in result[1] if
+     *         not null).
+     */
+    static double reduce(int op, int n, double[] x, int xOffset, double[] y,
+            int yOffset, double[] result) {
+        final int blocks = (n + Float64Kernel.BLOCK_SIZE - 1)
+                / Float64Kernel.BLOCK_SIZE;
+        if (blocks <= 1) {
+            double[] tmp = (result != null) ? result : new double[1];
+            if (n == 0) {
+                tmp[0] = 0;
+                if (result != null) {
+                    result[1] = 0;
+                }
+            } else {
+                reduce(op, n, x, xOffset, y, yOffset, tmp, 0);
+            }
+            return tmp[0];
+        }
+        double[] partials = new double[2 * blocks];
+        if (isConcurrent(n)) {
+            final int concurrency = ConcurrentContext.getConcurrency() + 1;
+            final int chunk = (blocks + concurrency - 1) / concurrency;
+            ConcurrentContext.enter();
+            try {
+                for (int from = 0; from < blocks; from += chunk) {
+                    ConcurrentContext.execute(new KernelLogic(op, from,
+                            MathLib.min(from + chunk, blocks), n, 0, 0, x,
+                            xOffset, y, yOffset, partials, 0));
+                }
+            } finally {
+                ConcurrentContext.exit();
+            }
+        } else {
+            new KernelLogic(op, 0, blocks, n, 0, 0, x, xOffset, y, yOffset,
+                    partials, 0).run();
+        }
+        double re = partials[0], im = partials[1];
+        for (int b = 1; b < blocks; b++) {
+            if (op == MAX_ABS) {
+                re = MathLib.max(re, partials[2 * b]);
+            } else {
+                re += partials[2 * b];
+                im += partials[2 * b + 1];
+            }
+        }
+        if (result != null) {
+            result[0] = re;
+            result[1] = im;
+        }
+        return re;
+    }
+
+    /**
+     * Performs the specified reduction (real result).
+     */
+    static double reduce(int op, int n, double[] x, int xOffset, double[] y,
+            int yOffset) {
+        return reduce(op, n, x, xOffset, y, yOffset, null);
+    }
+
+    // Reduction of n elements (single block), stores the result at index i.
+    private static void reduce(int op, int n, double[] x, int xOffset,
+            double[] y, int yOffset, double[] result, int i) {
+        switch (op) {
+        case SUM:
+            result[i] = Float64Kernel.sum0(n, x, xOffset);
+            break;
+        case DOT:
+            result[i] = Float64Kernel.dot0(n, x, xOffset, y, yOffset);
+            break;
+        case MAX_ABS:
+            result[i] = Float64Kernel.maxAbs0(n, x, xOffset);
+            break;
+        case C_SUM:
+            ComplexKernel.sum0(n, x, xOffset, result, i);
+            break;
+        case C_DOT:
+            ComplexKernel.dot0(n, x, xOffset, y, yOffset, false, result, i);
+            break;
+        default: // C_DOTC
+            ComplexKernel.dot0(n, x, xOffset, y, yOffset, true, result, i);
+        }
+    }
+
+    public void run() {
+        if (_op == GEMV) { // x holds A, y holds x and z holds y.
+            Float64Kernel.gemv0(_from, _to, _n, _x, _xOffset, _rowStride,
+                    _columnStride, _y, _yOffset, _z, _zOffset);
+            return;
+        }
+        final int width = ((_op >= C_AXPY) && (_op < SUM)) || (_op >= C_SUM) ? 2
+                : 1;
+        if (_op >= SUM) { // Blocks reduction.
+            final int size = Float64Kernel.BLOCK_SIZE;
+            for (int b = _from; b < _to; b++) {
+                final int start = b * size;
+                final int n = MathLib.min(size, _n - start);
+                reduce(_op, n, _x, _xOffset + width * start, _y, (_y == null) ? 0
+                        : _yOffset + width * start, _z, 2 * b);
+            }
+            return;
+        }
+        final int n = _to - _from;
+        final int xo = _xOffset + width * _from;
+        final int yo = _yOffset + width * _from;
+        final int zo = _zOffset + width * _from;
+        switch (_op) {
+        case AXPY:
+            Float64Kernel.axpy0(n, _ar, _x, xo, _z, zo);
+            break;
+        case SCALE:
+            Float64Kernel.scale0(n, _ar, _x, xo, _z, zo);
+            break;
+        case ADD:
+            Float64Kernel.add0(n, _x, xo, _y, yo, _z, zo);
+            break;
+        case SUBTRACT:
+            Float64Kernel.subtract0(n, _x, xo, _y, yo, _z, zo);
+            break;
+        case MULTIPLY:
+            Float64Kernel.multiply0(n, _x, xo, _y, yo, _z, zo);
+            break;
+        case DIVIDE:
+            Float64Kernel.divide0(n, _x, xo, _y, yo, _z, zo);
+            break;
+        case EXP:
+        case LOG:
+        case SQRT:
+            Float64Kernel.map0(_op, n, _x, xo, _z, zo);
+            break;
+        case POLYNOMIAL: // Coefficients held by y.
+            Float64Kernel.polynomial0(_y, n, _x, xo, _z, zo);
+            break;
+        case C_AXPY:
+            ComplexKernel.axpy0(n, _ar, _ai, _x, xo, _z, zo);
+            break;
+        case C_SCALE:
+            ComplexKernel.scale0(n, _ar, _ai, _x, xo, _z, zo);
+            break;
+        case C_MULTIPLY:
+            ComplexKernel.multiply0(n, _x, xo, _y, yo, _z, zo);
+            break;
+        case C_DIVIDE:
+            ComplexKernel.divide0(n, _x, xo, _y, yo, _z, zo);
+            break;
+        case C_CONJUGATE:
+            ComplexKernel.conjugate0(n, _x, xo, _z, zo);
+            break;
+        default: // C_EXP, C_LOG, C_SQRT
+            ComplexKernel.map0(_op, n, _x, xo, _z, zo);
+        }
+    }
+}
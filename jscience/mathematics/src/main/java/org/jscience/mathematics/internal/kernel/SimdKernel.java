@@ -0,0 +1,108 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.kernel;
+
+/**
+ * <p> This class represents the explicitly vectorized (SIMD) primitives
+ *     used by {@link Float64Kernel} when available.</p>
+ *
+ * <p> The implementation (<code>VectorSimdKernel</code>) is based upon
+ *     the <code>jdk.incubator.vector</code> API; it is compiled separately
+ *     (<code>src/main/java16</code>) into the
+ *     <code>META-INF/versions/16</code> directory of the multi-release
+ *     bundle. It is selected at run time if the running platform supports
+ *     it and the incubator module is resolved
+ *     (<code>--add-modules jdk.incubator.vector</code>); otherwise
+ *     {@link #INSTANCE} is <code>null</code> and the scalar loops of
+ *     {@link Float64Kernel} are used.</p>
+ *
+ * <p> The sums and dot products are accumulated per lane (fused
+ *     multiply-add for the dot products) then reduced across lanes; their
+ *     results may differ in the last bits from the scalar loops and depend
+ *     upon the vector size of the processor (they do not depend upon the
+ *     number of concurrent threads). <code>axpy</code> and
+ *     <code>maxAbs</code> return the same results as the scalar loops.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+abstract class SimdKernel {
+
+    /**
+     * Holds the vectorized kernel or <code>null</code> if not available.
+     */
+    static final SimdKernel INSTANCE = load();
+
+    /**
+     * Returns the sum of the specified elements.
+     *
+     * @param n the number of elements.
+     * @param x the array.
+     * @param xOffset the index of the first element of x.
+     * @return <code>sum(x<sub>i</sub>)</code>
+     */
+    abstract double sum(int n, double[] x, int xOffset);
+
+    /**
+     * Returns the dot product of the specified arrays.
+     *
+     * @param n the number of elements.
+     * @param x the first array.
+     * @param xOffset the index of the first element of x.
+     * @param y the second array.
+     * @param yOffset the index of the first element of y.
+     * @return <code>sum(x<sub>i</sub>·y<sub>i</sub>)</code>
+     */
+    abstract double dot(int n, double[] x, int xOffset, double[] y,
+            int yOffset);
+
+    /**
+     * Performs <code>y = a·x + y</code> (same rounding as the scalar
+     * loop).
+     *
+     * @param n the number of elements.
+     * @param a the scalar multiplier.
+     * @param x the first array.
+     * @param xOffset the index of the first element of x.
+     * @param y the second array (updated).
+     * @param yOffset the index of the first element of y.
+     */
+    abstract void axpy(int n, double a, double[] x, int xOffset,
+            double[] y, int yOffset);
+
+    /**
+     * Returns the largest absolute value of the specified elements
+     * (no element is <code>NaN</code>).
+     *
+     * @param n the number of elements.
+     * @param x the array.
+     * @param xOffset the index of the first element of x.
+     * @return <code>max(|x<sub>i</sub>|)</code> or <code>0</code> if
+     *         <code>n == 0</code>
+     */
+    abstract double maxAbs(int n, double[] x, int xOffset);
+
+    // Returns the vectorized kernel if it can be loaded and linked.
+    private static SimdKernel load() {
+        try {
+            Class<?> cls = Class.forName(
+                    "org.jscience.mathematics.internal.kernel.VectorSimdKernel");
+            SimdKernel kernel = (SimdKernel) cls.newInstance();
+            double[] x = { 1, 2, 3 };
+            double[] y = { 4, 5, 6 };
+            kernel.axpy(3, 2.0, x, 0, y, 0); // Links the Vector API.
+            return ((kernel.dot(3, x, 0, y, 0) == 60.0)
+                    && (kernel.sum(3, y, 0) == 27.0) && (kernel.maxAbs(3, y,
+                    0) == 12.0)) ? kernel : null;
+        } catch (Throwable error) { // Class, module or platform missing.
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,349 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import org.jscience.mathematics.number.LargeInteger;
+import org.jscience.mathematics.number.Rational;
+
+/**
+ * <p> This class represents the fraction-free (Bareiss) elimination of an
+ *     integer matrix; it is used to calculate exactly the
+ *     {@link #determinant determinant}, the {@link #rank rank} or to
+ *     {@link #solve solve} linear systems with integer or rational
+ *     coefficients.</p>
+ *
+ * <p> Unlike the {@link LUDecomposition LU decomposition} of a rational
+ *     matrix, no fraction (and no GCD) is ever calculated: at step
+ *     <code>k</code> the elements are updated as
+ *     <code>a<sub>ij</sub> = (a<sub>kk</sub>·a<sub>ij</sub> -
+ *     a<sub>ik</sub>·a<sub>kj</sub>) / p</code> where <code>p</code> is the
+ *     previous pivot (exact division). Every intermediate element is a minor
+ *     of the source matrix, its size is then bounded by Hadamard's bound.
+ *     [code]
+ *         LargeInteger[][] a = ...;
+ *         BareissDecomposition bareiss = BareissDecomposition.valueOf(a);
+ *         Rational det = bareiss.determinant(); // Integer value.
+ *         int rank = bareiss.rank();
+ *     [/code]</p>
+ *
+ * <p> Rational matrices are decomposed after scaling each row by the least
+ *     common multiple of its denominators.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/Bareiss_algorithm">
+ *      Wikipedia: Bareiss algorithm</a>
+ * @see NormalForm
+ */
+public final class BareissDecomposition {
+
+    /**
+     * Holds the number of rows.
+     */
+    private final int _m;
+
+    /**
+     * Holds the number of columns.
+     */
+    private final int _n;
+
+    /**
+     * Holds the eliminated rows (upper part) and the elimination
+     * multipliers (lower part).
+     */
+    private final LargeInteger[][] _elements;
+
+    /**
+     * Holds the rows scale factors (rational source).
+     */
+    private final LargeInteger[] _scales;
+
+    /**
+     * Holds the source row index of each row (row exchanges).
+     */
+    private final int[] _pivots;
+
+    /**
+     * Holds the rank.
+     */
+    private int _rank;
+
+    /**
+     * Holds the number of row exchanges.
+     */
+    private int _permutationCount;
+
+    /**
+     * Creates the decomposition of the specified elements (not copied).
+     */
+    private BareissDecomposition(LargeInteger[][] elements,
+            LargeInteger[] scales) {
+        _m = elements.length;
+        _n = (_m == 0) ? 0 : elements[0].length;
+        _elements = elements;
+        _scales = scales;
+        _pivots = new int[_m];
+        for (int i = 0; i < _m; i++) {
+            _pivots[i] = i;
+        }
+        eliminate();
+    }
+
+    /**
+     * Returns the fraction-free decomposition of the specified integer
+     * matrix.
+     *
+     * @param  elements the matrix elements (rows).
+     * @return the corresponding decomposition.
+     * @throws DimensionException if the rows do not have the same length.
+     */
+    public static BareissDecomposition valueOf(LargeInteger[][] elements) {
+        final int m = elements.length;
+        LargeInteger[][] a = new LargeInteger[m][];
+        for (int i = 0; i < m; i++) {
+            if (elements[i].length != elements[0].length)
+                throw new DimensionException();
+            a[i] = elements[i].clone();
+        }
+        return new BareissDecomposition(a, null);
+    }
+
+    /**
+     * Returns the fraction-free decomposition of the specified integer
+     * matrix (e.g. {@link org.jscience.mathematics.number.Integer64
+     * Integer64} elements). Intermediate values are large integers.
+     *
+     * @param  elements the matrix elements (rows).
+     * @return the corresponding decomposition.
+     * @throws DimensionException if the rows do not have the same length.
+     */
+    public static BareissDecomposition valueOf(long[][] elements) {
+        final int m = elements.length;
+        LargeInteger[][] a = new LargeInteger[m][];
+        for (int i = 0; i < m; i++) {
+            if (elements[i].length != elements[0].length)
+                throw new DimensionException();
+            a[i] = new LargeInteger[elements[i].length];
+            for (int j = 0; j < a[i].length; j++) {
+                a[i][j] = LargeInteger.valueOf(elements[i][j]);
+            }
+        }
+        return new BareissDecomposition(a, null);
+    }
+
+    /**
+     * Returns the fraction-free decomposition of the specified rational
+     * matrix (each row is scaled by the least common multiple of its
+     * denominators).
+     *
+     * @param  matrix the rational matrix.
+     * @return the corresponding decomposition.
+     */
+    public static BareissDecomposition valueOf(Matrix<Rational> matrix) {
+        final int m = matrix.getNumberOfRows();
+        final int n = matrix.getNumberOfColumns();
+        LargeInteger[][] a = new LargeInteger[m][n];
+        LargeInteger[] scales = new LargeInteger[m];
+        for (int i = 0; i < m; i++) {
+            LargeInteger lcm = LargeInteger.ONE;
+            for (int j = 0; j < n; j++) {
+                LargeInteger divisor = matrix.get(i, j).getDivisor();
+                if (!divisor.equals(LargeInteger.ONE)) {
+                    lcm = lcm.times(divisor.divide(lcm.gcd(divisor)));
+                }
+            }
+            for (int j = 0; j < n; j++) {
+                Rational e = matrix.get(i, j);
+                a[i][j] = e.getDividend().times(lcm.divide(e.getDivisor()));
+            }
+            scales[i] = lcm;
+        }
+        return new BareissDecomposition(a, scales);
+    }
+
+    /**
+     * Returns the rank of the source matrix.
+     *
+     * @return the number of linearly independent rows.
+     */
+    public int rank() {
+        return _rank;
+    }
+
+    /**
+     * Returns the determinant of the source matrix (integer value for
+     * integer matrices).
+     *
+     * @return the exact determinant.
+     * @throws DimensionException if the source matrix is not square.
+     */
+    public Rational determinant() {
+        if (_m != _n)
+            throw new DimensionException("Matrix is not square");
+        if (_n == 0)
+            return Rational.ONE;
+        if (_rank < _n)
+            return Rational.ZERO;
+        LargeInteger det = _elements[_n - 1][_n - 1];
+        if ((_permutationCount & 1) != 0) {
+            det = det.opposite();
+        }
+        return Rational.valueOf(det, scale());
+    }
+
+    /**
+     * Returns the solution <code>X</code> of the equation
+     * <code>A·X = Y</code> (fraction-free forward elimination and back
+     * substitution, the only divisions are those of the final result).
+     *
+     * @param  y the right-hand side.
+     * @return the exact solution.
+     * @throws DimensionException if the source matrix is not square or if
+     *         the dimensions do not match.
+     * @throws ArithmeticException if the source matrix is singular.
+     */
+    public DenseMatrix<Rational> solve(Matrix<Rational> y) {
+        if (_m != _n)
+            throw new DimensionException("Matrix is not square");
+        if (y.getNumberOfRows() != _n)
+            throw new DimensionException("Input has " + y.getNumberOfRows()
+                    + " rows instead of " + _n);
+        if (_rank < _n)
+            throw new ArithmeticException("Singular matrix");
+        final int n = _n;
+        final int p = y.getNumberOfColumns();
+
+        // Scales and permutes y, the common denominator is kept aside.
+        LargeInteger[] denominators = new LargeInteger[p];
+        for (int k = 0; k < p; k++) {
+            LargeInteger lcm = LargeInteger.ONE;
+            for (int i = 0; i < n; i++) {
+                LargeInteger divisor = y.get(i, k).getDivisor();
+                if (!divisor.equals(LargeInteger.ONE)) {
+                    lcm = lcm.times(divisor.divide(lcm.gcd(divisor)));
+                }
+            }
+            denominators[k] = lcm;
+        }
+        LargeInteger[][] b = new LargeInteger[n][p];
+        for (int i = 0; i < n; i++) {
+            final int row = _pivots[i];
+            LargeInteger scale = (_scales != null) ? _scales[row]
+                    : LargeInteger.ONE;
+            for (int k = 0; k < p; k++) {
+                Rational e = y.get(row, k);
+                b[i][k] = e.getDividend().times(
+                        denominators[k].divide(e.getDivisor())).times(scale);
+            }
+        }
+
+        // Forward elimination (same operations as the source).
+        LargeInteger previous = LargeInteger.ONE;
+        for (int r = 0; r < n; r++) {
+            final LargeInteger pivot = _elements[r][r];
+            for (int i = r + 1; i < n; i++) {
+                final LargeInteger multiplier = _elements[i][r];
+                for (int k = 0; k < p; k++) {
+                    b[i][k] = pivot.times(b[i][k]).minus(
+                            multiplier.times(b[r][k])).divide(previous);
+                }
+            }
+            previous = pivot;
+        }
+
+        // Back substitution, x = det·solution is integer.
+        final LargeInteger det = _elements[n - 1][n - 1];
+        Rational[][] x = new Rational[n][p];
+        for (int k = 0; k < p; k++) {
+            LargeInteger[] xk = new LargeInteger[n];
+            for (int i = n - 1; i >= 0; i--) {
+                LargeInteger sum = det.times(b[i][k]);
+                for (int j = i + 1; j < n; j++) {
+                    sum = sum.minus(_elements[i][j].times(xk[j]));
+                }
+                xk[i] = sum.divide(_elements[i][i]);
+            }
+            final LargeInteger divisor = det.times(denominators[k]);
+            for (int i = 0; i < n; i++) {
+                x[i][k] = Rational.valueOf(xk[i], divisor);
+            }
+        }
+        return DenseMatrix.valueOf(x);
+    }
+
+    /**
+     * Returns the absolute value of the determinant of the square matrix
+     * formed by the first rows after exchanges when the rank is equal to
+     * the number of columns (integer source).
+     */
+    LargeInteger leadingMinor() {
+        return (_n == 0) ? LargeInteger.ONE : _elements[_n - 1][_n - 1].abs();
+    }
+
+    /**
+     * Returns the source row index of the specified row after exchanges.
+     */
+    int getPivot(int i) {
+        return _pivots[i];
+    }
+
+    // Returns the product of the row scales.
+    private LargeInteger scale() {
+        LargeInteger product = LargeInteger.ONE;
+        if (_scales != null) {
+            for (int i = 0; i < _m; i++) {
+                product = product.times(_scales[i]);
+            }
+        }
+        return product;
+    }
+
+    // Echelon form elimination, the multipliers are kept in place.
+    private void eliminate() {
+        final LargeInteger[][] a = _elements;
+        LargeInteger previous = LargeInteger.ONE;
+        int r = 0;
+        for (int c = 0; (c < _n) && (r < _m); c++) {
+            // Selects the smallest non-zero pivot.
+            int pivot = -1;
+            for (int i = r; i < _m; i++) {
+                if (!a[i][c].isZero()
+                        && ((pivot < 0) || (a[i][c].bitLength() < a[pivot][c]
+                                .bitLength()))) {
+                    pivot = i;
+                }
+            }
+            if (pivot < 0)
+                continue; // Zero column.
+            if (pivot != r) { // Exchanges rows.
+                LargeInteger[] tmp = a[pivot];
+                a[pivot] = a[r];
+                a[r] = tmp;
+                int index = _pivots[pivot];
+                _pivots[pivot] = _pivots[r];
+                _pivots[r] = index;
+                _permutationCount++;
+            }
+            final LargeInteger[] ar = a[r];
+            final LargeInteger arc = ar[c];
+            for (int i = r + 1; i < _m; i++) {
+                final LargeInteger[] ai = a[i];
+                final LargeInteger aic = ai[c];
+                for (int j = c + 1; j < _n; j++) {
+                    ai[j] = arc.times(ai[j]).minus(aic.times(ar[j])).divide(
+                            previous);
+                }
+            }
+            previous = arc;
+            r++;
+        }
+        _rank = r;
+    }
+
+}
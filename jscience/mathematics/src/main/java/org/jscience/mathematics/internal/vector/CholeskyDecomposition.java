@@ -0,0 +1,199 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ObjectFactory;
+
+import org.jscience.mathematics.structure.Field;
+
+/**
+ * <p> This class represents the Cholesky decomposition of a symmetric
+ *     {@link Matrix matrix} of any {@link Field} elements in its square-root
+ *     free form: <code>A = L·D·Lᵀ</code> with <code>L</code> unit lower
+ *     triangular and <code>D</code> diagonal (fields have no square root).
+ *     Only the lower triangle of the matrix source is read.</p>
+ *
+ * <p> No pivoting is performed; the decomposition exists for positive
+ *     definite matrices (and more generally when the leading principal
+ *     minors are not zero). It requires half the operations of the
+ *     {@link LUDecomposition LU decomposition}. For 64 bits floating point
+ *     matrices the blocked {@link Float64CholeskyDecomposition} should be
+ *     used (or {@link Float64LDLDecomposition} for indefinite matrices).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/Cholesky_decomposition">
+ *      Wikipedia: Cholesky decomposition</a>
+ */
+public final class CholeskyDecomposition<F extends Field<F>> {
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<CholeskyDecomposition<?>> FACTORY = new ObjectFactory<CholeskyDecomposition<?>>() {
+        protected CholeskyDecomposition<?> create() {
+            return CholeskyDecomposition.newInstance();
+        }
+
+        @Override
+        protected void cleanup(CholeskyDecomposition<?> cholesky) {
+            cholesky._LD = null;
+        }
+    };
+
+    /**
+     * Holds the dimension of the square matrix source.
+     */
+    private int _n;
+
+    /**
+     * Holds L (strictly lower part) and D (diagonal).
+     */
+    private DenseMatrixImpl<F> _LD;
+
+    /**
+     * Default constructor.
+     */
+    private CholeskyDecomposition() {
+    }
+
+    // Returns a new instance (the factory instances are of any field type).
+    private static <F extends Field<F>> CholeskyDecomposition<F> newInstance() {
+        return new CholeskyDecomposition<F>();
+    }
+
+    /**
+     * Returns the Cholesky decomposition of the specified symmetric
+     * matrix.
+     *
+     * @param  source the matrix for which the decomposition is calculated.
+     * @return the Cholesky decomposition of the specified matrix.
+     * @throws DimensionException if the specified matrix is not square.
+     * @throws ArithmeticException if a leading principal minor is zero.
+     */
+    public static <F extends Field<F>> CholeskyDecomposition<F> valueOf(
+            Matrix<F> source) {
+        if (!source.isSquare())
+            throw new DimensionException("Matrix is not square");
+        @SuppressWarnings("unchecked")
+        CholeskyDecomposition<F> cholesky = (CholeskyDecomposition<F>) FACTORY.object();
+        cholesky._n = source.getNumberOfRows();
+        cholesky.construct(source);
+        return cholesky;
+    }
+
+    /**
+     * Constructs the decomposition column by column.
+     */
+    private void construct(Matrix<F> source) {
+        _LD = DenseMatrixImpl.valueOf(source).copy();
+        final int n = _n;
+        for (int j = 0; j < n; j++) {
+            for (int i = j; i < n; i++) {
+                F sum = _LD.get(i, j);
+                for (int k = 0; k < j; k++) {
+                    sum = sum.plus(_LD.get(i, k).times(_LD.get(j, k)).times(
+                            _LD.get(k, k)).opposite());
+                }
+                _LD.set(i, j, sum);
+            }
+            final F d = _LD.get(j, j);
+            if (d.equals(d.plus(d)))
+                throw new ArithmeticException("Zero leading principal minor");
+            final F dInv = d.inverse();
+            for (int i = j + 1; i < n; i++) {
+                _LD.set(i, j, _LD.get(i, j).times(dInv));
+            }
+        }
+    }
+
+    /**
+     * Returns the solution X of the equation: A * X = B  with
+     * <code>this = A.cholesky()</code> using forward and back substitutions.
+     *
+     * @param  B the input matrix.
+     * @return the solution X = (1 / A) * B.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public DenseMatrix<F> solve(Matrix<F> B) {
+        if (_n != B.getNumberOfRows())
+            throw new DimensionException("Input vector has "
+                    + B.getNumberOfRows() + " rows instead of " + _n);
+        final int n = _n;
+        final int p = B.getNumberOfColumns();
+        DenseMatrixImpl<F> X = DenseMatrixImpl.valueOf(B).copy();
+        for (int k = 0; k < n; k++) { // Solves L·Y = B
+            for (int i = k + 1; i < n; i++) {
+                F lik = _LD.get(i, k);
+                for (int j = 0; j < p; j++) {
+                    X.set(i, j, X.get(i, j).plus(
+                            lik.times(X.get(k, j)).opposite()));
+                }
+            }
+        }
+        for (int k = 0; k < n; k++) { // Solves D·Z = Y
+            F dInv = _LD.get(k, k).inverse();
+            for (int j = 0; j < p; j++) {
+                X.set(k, j, X.get(k, j).times(dInv));
+            }
+        }
+        for (int k = n - 1; k >= 0; k--) { // Solves Lᵀ·X = Z
+            for (int i = 0; i < k; i++) {
+                F lki = _LD.get(k, i);
+                for (int j = 0; j < p; j++) {
+                    X.set(i, j, X.get(i, j).plus(
+                            lki.times(X.get(k, j)).opposite()));
+                }
+            }
+        }
+        return X;
+    }
+
+    /**
+     * Returns the determinant of the {@link Matrix} having this
+     * decomposition.
+     *
+     * @return the product of the diagonal elements of D.
+     */
+    public F determinant() {
+        F product = _LD.get(0, 0);
+        for (int i = 1; i < _n; i++) {
+            product = product.times(_LD.get(i, i));
+        }
+        return product;
+    }
+
+    /**
+     * Returns the unit lower triangular factor (<code>L</code>).
+     *
+     * @param zero the additive identity for F.
+     * @param one the multiplicative identity for F.
+     * @return the lower matrix.
+     */
+    public DenseMatrix<F> getLower(F zero, F one) {
+        DenseMatrixImpl<F> L = _LD.copy();
+        for (int j = 0; j < _n; j++) {
+            for (int i = 0; i < j; i++) {
+                L.set(i, j, zero);
+            }
+            L.set(j, j, one);
+        }
+        return L;
+    }
+
+    /**
+     * Returns the diagonal factor (<code>D</code>).
+     *
+     * @return the diagonal matrix.
+     */
+    public DiagonalMatrix<F> getDiagonal() {
+        return DiagonalMatrix.valueOf(_LD.getDiagonal());
+    }
+
+}
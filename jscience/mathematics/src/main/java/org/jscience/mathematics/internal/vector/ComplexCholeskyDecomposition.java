@@ -0,0 +1,267 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+import org.jscience.mathematics.internal.kernel.ComplexKernel;
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+import org.jscience.mathematics.number.Complex;
+
+/**
+ * <p> This class represents the Cholesky decomposition
+ *     (<code>A = L·Lᴴ</code>) of a hermitian positive definite
+ *     {@link ComplexMatrix complex matrix} (covariance matrices of complex
+ *     signals, density matrices); only the lower triangle of the matrix
+ *     source is read.</p>
+ *
+ * <p> As for the {@link Float64CholeskyDecomposition}, the decomposition is
+ *     right-looking and blocked: the trailing matrix is updated column
+ *     block by column block (lower triangle only) through the
+ *     {@link ComplexKernel#gemm cache-blocked complex product} which is
+ *     performed concurrently for large matrices.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/Cholesky_decomposition">
+ *      Wikipedia: Cholesky decomposition</a>
+ */
+public final class ComplexCholeskyDecomposition {
+
+    /**
+     * Holds the number of columns per panel.
+     */
+    static final int NB = 32;
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<ComplexCholeskyDecomposition> FACTORY = new ObjectFactory<ComplexCholeskyDecomposition>() {
+        protected ComplexCholeskyDecomposition create() {
+            return new ComplexCholeskyDecomposition();
+        }
+
+        @Override
+        protected void cleanup(ComplexCholeskyDecomposition cholesky) {
+            cholesky._l = null;
+        }
+    };
+
+    /**
+     * Holds the dimension of the square matrix source.
+     */
+    private int _n;
+
+    /**
+     * Holds the lower triangular factor (row-major, interleaved, the upper
+     * part is not significant).
+     */
+    private double[] _l;
+
+    /**
+     * Default constructor.
+     */
+    private ComplexCholeskyDecomposition() {
+    }
+
+    /**
+     * Returns the Cholesky decomposition of the specified hermitian positive
+     * definite matrix.
+     *
+     * @param  source the matrix for which the decomposition is calculated.
+     * @return the Cholesky decomposition of the specified matrix.
+     * @throws DimensionException if the specified matrix is not square.
+     * @throws ArithmeticException if the specified matrix is not positive
+     *         definite.
+     */
+    public static ComplexCholeskyDecomposition valueOf(Matrix<Complex> source) {
+        if (!source.isSquare())
+            throw new DimensionException("Matrix is not square");
+        ComplexCholeskyDecomposition cholesky = FACTORY.object();
+        cholesky._n = source.getNumberOfRows();
+        cholesky._l = ComplexMatrix.valueOfMatrix(source).copy()._data;
+        cholesky.construct();
+        return cholesky;
+    }
+
+    // Right-looking blocked decomposition.
+    private void construct() {
+        final int n = _n;
+        final double[] a = _l;
+        final double[] dot = new double[2];
+        for (int k = 0; k < n; k += NB) {
+            final int kb = MathLib.min(k + NB, n);
+            final int nb = kb - k;
+            for (int j = k; j < kb; j++) { // Diagonal block.
+                final int rj = 2 * j * n;
+                final double d = a[rj + 2 * j]
+                        - Float64Kernel.dot(2 * (j - k), a, rj + 2 * k, a, rj
+                                + 2 * k);
+                if (!(d > 0))
+                    throw new ArithmeticException(
+                            "Matrix is not positive definite");
+                final double ljj = MathLib.sqrt(d);
+                a[rj + 2 * j] = ljj;
+                a[rj + 2 * j + 1] = 0.0;
+                for (int i = j + 1; i < kb; i++) {
+                    divide(a, i, j, k, ljj, dot);
+                }
+            }
+            if (kb == n)
+                break;
+            for (int i = kb; i < n; i++) { // L21 = A21·inv(L11)ᴴ
+                for (int j = k; j < kb; j++) {
+                    divide(a, i, j, k, a[2 * (j * n + j)], dot);
+                }
+            }
+            // A22 = A22 - L21·L21ᴴ (lower part, per blocks of columns).
+            double[] opposite = new double[2 * (n - kb) * nb];
+            for (int i = kb; i < n; i++) {
+                for (int t = 0; t < 2 * nb; t++) {
+                    opposite[2 * (i - kb) * nb + t] = -a[2 * (i * n + k) + t];
+                }
+            }
+            for (int j = kb; j < n; j += NB) {
+                final int jb = MathLib.min(j + NB, n);
+                ComplexKernel.gemm(n - j, nb, jb - j, opposite, 2 * (j - kb)
+                        * nb, 2 * nb, 2, false, a, 2 * (j * n + k), 2, 2 * n,
+                        true, a, 2 * (j * n + j), 2 * n);
+            }
+        }
+    }
+
+    // L(i, j) = (A(i, j) - sum(L(i, t)·conj(L(j, t)), k <= t < j)) / L(j, j)
+    private void divide(double[] a, int i, int j, int k, double ljj,
+            double[] dot) {
+        final int n = _n;
+        final int ij = 2 * (i * n + j);
+        ComplexKernel.dotConjugate(j - k, a, 2 * (j * n + k), a, 2 * (i * n
+                + k), dot);
+        a[ij] = (a[ij] - dot[0]) / ljj;
+        a[ij + 1] = (a[ij + 1] - dot[1]) / ljj;
+    }
+
+    /**
+     * Returns the solution X of the equation: A * X = B  with
+     * <code>this = A.cholesky()</code> using blocked forward and back
+     * substitutions.
+     *
+     * @param  B the input matrix.
+     * @return the solution X = (1 / A) * B.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public ComplexMatrix solve(Matrix<Complex> B) {
+        if (_n != B.getNumberOfRows())
+            throw new DimensionException("Input vector has "
+                    + B.getNumberOfRows() + " rows instead of " + _n);
+        ComplexMatrix X = ComplexMatrix.valueOfMatrix(B).copy();
+        substitute(X._data, X._n);
+        return X;
+    }
+
+    /**
+     * Returns the inverse of the matrix source.
+     *
+     * @return <code>this.solve(Identity)</code>
+     */
+    public ComplexMatrix inverse() {
+        ComplexMatrix X = ComplexMatrix.newInstance(_n, _n);
+        for (int i = 0; i < _n; i++) {
+            X._data[2 * (i * _n + i)] = 1.0;
+        }
+        substitute(X._data, _n);
+        return X;
+    }
+
+    /**
+     * Returns the determinant of the matrix source (real).
+     *
+     * @return the product of the square of the diagonal elements of L.
+     */
+    public Complex determinant() {
+        double product = 1.0;
+        for (int i = 0; i < _n; i++) {
+            final double lii = _l[2 * (i * _n + i)];
+            product *= lii * lii;
+        }
+        return Complex.valueOf(product, 0.0);
+    }
+
+    /**
+     * Returns the lower triangular factor L.
+     *
+     * @return L such as <code>A = L·Lᴴ</code>.
+     */
+    public ComplexMatrix getL() {
+        ComplexMatrix L = ComplexMatrix.newInstance(_n, _n);
+        for (int i = 0; i < _n; i++) {
+            System.arraycopy(_l, 2 * i * _n, L._data, 2 * i * _n,
+                    2 * (i + 1));
+        }
+        return L;
+    }
+
+    // Solves L·Lᴴ·X = Y in place (Y n-by-p with contiguous rows).
+    private void substitute(double[] x, int p) {
+        final int n = _n;
+        final double[] a = _l;
+        // Solves L·Z = Y
+        for (int k = 0; k < n; k += NB) {
+            final int kb = MathLib.min(k + NB, n);
+            for (int i = k; i < kb; i++) {
+                for (int t = k; t < i; t++) {
+                    final int it = 2 * (i * n + t);
+                    ComplexKernel.axpy(p, -a[it], -a[it + 1], x, 2 * t * p, x,
+                            2 * i * p);
+                }
+                ComplexKernel.scale(p, 1.0 / a[2 * (i * n + i)], 0.0, x, 2
+                        * i * p, x, 2 * i * p);
+            }
+            if (kb < n) {
+                multiplySubtract(n - kb, kb - k, p, a, 2 * (kb * n + k),
+                        2 * n, 2, false, x, 2 * k * p, 2 * p, x, 2 * kb * p,
+                        2 * p);
+            }
+        }
+        // Solves Lᴴ·X = Z
+        for (int k = (n - 1) / NB * NB; k >= 0; k -= NB) {
+            final int kb = MathLib.min(k + NB, n);
+            for (int i = kb - 1; i >= k; i--) {
+                for (int t = i + 1; t < kb; t++) { // conj(L(t, i))
+                    final int ti = 2 * (t * n + i);
+                    ComplexKernel.axpy(p, -a[ti], a[ti + 1], x, 2 * t * p, x,
+                            2 * i * p);
+                }
+                ComplexKernel.scale(p, 1.0 / a[2 * (i * n + i)], 0.0, x, 2
+                        * i * p, x, 2 * i * p);
+            }
+            if (k > 0) {
+                multiplySubtract(k, kb - k, p, a, 2 * k * n, 2, 2 * n, true,
+                        x, 2 * k * p, 2 * p, x, 0, 2 * p);
+            }
+        }
+    }
+
+    // Performs C = C - op(A)·B (B and C with contiguous rows).
+    private static void multiplySubtract(int m, int k, int p, double[] a,
+            int ao, int ars, int acs, boolean conjugate, double[] b, int bo,
+            int brs, double[] c, int co, int crs) {
+        final double sign = conjugate ? 1.0 : -1.0; // Imaginary parts.
+        double[] opposite = new double[2 * m * k];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < k; j++) {
+                final int x = ao + i * ars + j * acs;
+                opposite[2 * (i * k + j)] = -a[x];
+                opposite[2 * (i * k + j) + 1] = sign * a[x + 1];
+            }
+        }
+        ComplexKernel.gemm(m, k, p, opposite, 0, 2 * k, 2, false, b, bo, brs,
+                2, false, c, co, crs);
+    }
+}
@@ -0,0 +1,571 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+import org.jscience.mathematics.internal.kernel.ComplexKernel;
+import org.jscience.mathematics.number.Complex;
+
+/**
+ * <p> This class represents the eigen decomposition
+ *     <code>A·V = V·D</code> of a {@link ComplexMatrix complex} square
+ *     matrix.</p>
+ *
+ * <p> If the matrix is hermitian, it is reduced to a real symmetric
+ *     tridiagonal form by complex Householder similarities (followed by a
+ *     diagonal unitary scaling) and the eigenvalues are obtained by the
+ *     implicit QL algorithm of the {@link Float64EigenDecomposition}; the
+ *     eigenvalues are real (in ascending order) and <code>V</code> is
+ *     unitary (<code>A = V·D·Vᴴ</code>).
+ *     [code]
+ *         ComplexEigenDecomposition eigen = ComplexEigenDecomposition.valueOf(hamiltonian);
+ *         double[] energies = eigen.getRealEigenvalues(); // Ascending.
+ *         ComplexMatrix states = eigen.getV(); // Orthonormal columns.
+ *     [/code]</p>
+ *
+ * <p> Otherwise the matrix is reduced to Hessenberg form and then to the
+ *     complex (upper triangular) Schur form by the single shift QR
+ *     algorithm; the eigenvectors are obtained by back substitution and
+ *     have a unit norm.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/Eigendecomposition_of_a_matrix">
+ *      Wikipedia: Eigendecomposition of a matrix</a>
+ */
+public final class ComplexEigenDecomposition {
+
+    /**
+     * Holds the relative machine precision.
+     */
+    static final double EPSILON = Float64EigenDecomposition.EPSILON;
+
+    /**
+     * Holds the maximum number of QR iterations per eigenvalue.
+     */
+    static final int MAX_ITERATIONS = 30;
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<ComplexEigenDecomposition> FACTORY = new ObjectFactory<ComplexEigenDecomposition>() {
+        protected ComplexEigenDecomposition create() {
+            return new ComplexEigenDecomposition();
+        }
+
+        @Override
+        protected void cleanup(ComplexEigenDecomposition eigen) {
+            eigen._real = null;
+            eigen._imaginary = null;
+            eigen._v = null;
+        }
+    };
+
+    /**
+     * Holds the dimension of the square matrix source.
+     */
+    private int _n;
+
+    /**
+     * Holds the real parts of the eigenvalues.
+     */
+    private double[] _real;
+
+    /**
+     * Holds the imaginary parts of the eigenvalues.
+     */
+    private double[] _imaginary;
+
+    /**
+     * Holds the eigenvectors (row-major, interleaved).
+     */
+    private double[] _v;
+
+    /**
+     * Default constructor.
+     */
+    private ComplexEigenDecomposition() {
+    }
+
+    /**
+     * Returns the eigen decomposition of the specified square matrix.
+     *
+     * @param  source the matrix for which the decomposition is calculated.
+     * @return the eigen decomposition of the specified matrix.
+     * @throws DimensionException if the specified matrix is not square.
+     * @throws ArithmeticException if the QR algorithm does not converge.
+     */
+    public static ComplexEigenDecomposition valueOf(Matrix<Complex> source) {
+        if (!source.isSquare())
+            throw new DimensionException("Matrix is not square");
+        ComplexEigenDecomposition eigen = FACTORY.object();
+        final int n = source.getNumberOfRows();
+        eigen._n = n;
+        eigen._real = new double[n];
+        eigen._imaginary = new double[n];
+        double[] a = ComplexMatrix.valueOfMatrix(source).copy()._data;
+        if (isHermitian(a, n)) {
+            eigen.constructHermitian(a);
+        } else {
+            eigen.constructGeneral(a);
+        }
+        return eigen;
+    }
+
+    private static boolean isHermitian(double[] a, int n) {
+        for (int i = 0; i < n; i++) {
+            if (a[2 * (i * n + i) + 1] != 0)
+                return false;
+            for (int j = 0; j < i; j++) {
+                final int ij = 2 * (i * n + j), ji = 2 * (j * n + i);
+                if ((a[ij] != a[ji]) || (a[ij + 1] != -a[ji + 1]))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    // Tridiagonal reduction (row-major a) followed by implicit QL.
+    private void constructHermitian(double[] a) {
+        final int n = _n;
+        final double[] d = _real;
+        final double[] e = new double[n];
+        final double[] q = identity(n); // Row-major, interleaved.
+        final double[] u = new double[2 * n];
+        final double[] uc = new double[2 * n];
+        final double[] w = new double[2 * n];
+        final double[] wc = new double[2 * n];
+        final double[] dot = new double[2];
+        double phaseRe = 1.0, phaseIm = 0.0; // Diagonal scaling.
+        for (int k = 0; k < n - 1; k++) {
+            final int c = k + 1;
+            final int length = n - c;
+            d[k] = a[2 * (k * n + k)];
+            // Reflector H = I - tau·u·uᴴ such as H·x = -phase·alpha·e1
+            // where x = A[c:n, k].
+            for (int i = 0; i < length; i++) {
+                u[2 * i] = a[2 * ((c + i) * n + k)];
+                u[2 * i + 1] = a[2 * ((c + i) * n + k) + 1];
+            }
+            final double x1 = Float64EigenDecomposition.hypot(u[0], u[1]);
+            final double alpha = ComplexKernel.norm(length, u, 0);
+            double er = u[0], ei = u[1]; // Subdiagonal element.
+            if ((length > 1) && (alpha > x1)) {
+                final double pr = (x1 == 0) ? 1.0 : u[0] / x1;
+                final double pi = (x1 == 0) ? 0.0 : u[1] / x1;
+                u[0] += pr * alpha;
+                u[1] += pi * alpha;
+                er = -pr * alpha;
+                ei = -pi * alpha;
+                final double tau = 1.0 / (alpha * (alpha + x1));
+
+                // A22 = H·A22·H = A22 - u·wᴴ - w·uᴴ
+                for (int i = 0; i < length; i++) { // p = tau·A22·u
+                    ComplexKernel.dot(length, a, 2 * ((c + i) * n + c), u, 0,
+                            dot);
+                    w[2 * i] = tau * dot[0];
+                    w[2 * i + 1] = tau * dot[1];
+                }
+                ComplexKernel.dotConjugate(length, u, 0, w, 0, dot);
+                final double K = 0.5 * tau * dot[0]; // Real (hermitian).
+                ComplexKernel.axpy(length, -K, 0.0, u, 0, w, 0);
+                ComplexKernel.conjugate(length, u, 0, uc, 0);
+                ComplexKernel.conjugate(length, w, 0, wc, 0);
+                for (int i = 0; i < length; i++) {
+                    final int row = 2 * ((c + i) * n + c);
+                    ComplexKernel.axpy(length, -u[2 * i], -u[2 * i + 1], wc,
+                            0, a, row);
+                    ComplexKernel.axpy(length, -w[2 * i], -w[2 * i + 1], uc,
+                            0, a, row);
+                }
+
+                // Q = Q·H
+                for (int i = 0; i < n; i++) {
+                    final int row = 2 * (i * n + c);
+                    ComplexKernel.dot(length, q, row, u, 0, dot);
+                    ComplexKernel.axpy(length, -tau * dot[0], -tau * dot[1],
+                            uc, 0, q, row);
+                }
+            }
+            // Diagonal scaling such as the subdiagonal element is real
+            // (|e|), the column c of Q is multiplied by the phase.
+            e[k] = Float64EigenDecomposition.hypot(er, ei);
+            if (e[k] != 0) {
+                final double sr = er / e[k], si = ei / e[k];
+                final double tmp = phaseRe * sr - phaseIm * si;
+                phaseIm = phaseRe * si + phaseIm * sr;
+                phaseRe = tmp;
+            }
+            for (int i = 0; i < n; i++) {
+                final int ic = 2 * (i * n + c);
+                final double qr = q[ic], qi = q[ic + 1];
+                q[ic] = qr * phaseRe - qi * phaseIm;
+                q[ic + 1] = qr * phaseIm + qi * phaseRe;
+            }
+        }
+        if (n >= 1) {
+            d[n - 1] = a[2 * (n * n - 1)];
+        }
+
+        // T = W·D·Wᵀ then V = Q·W
+        final double[] v = new double[n * n]; // Column-major.
+        for (int i = 0; i < n; i++) {
+            v[i * n + i] = 1.0;
+        }
+        Float64EigenDecomposition.tql(n, d, e, v);
+        final double[] W = new double[2 * n * n]; // Row-major, interleaved.
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                W[2 * (i * n + j)] = v[j * n + i];
+            }
+        }
+        _v = new double[2 * n * n];
+        ComplexKernel.gemm(n, n, n, q, 0, 2 * n, 2, false, W, 0, 2 * n, 2,
+                false, _v, 0, 2 * n);
+    }
+
+    // Hessenberg reduction followed by the complex Schur form.
+    private void constructGeneral(double[] h) {
+        final int n = _n;
+        final double[] z = identity(n);
+        hessenberg(h, z);
+        schur(h, z);
+        for (int i = 0; i < n; i++) {
+            _real[i] = h[2 * (i * n + i)];
+            _imaginary[i] = h[2 * (i * n + i) + 1];
+        }
+        _v = eigenvectors(h, z);
+    }
+
+    // Householder reduction to Hessenberg form (Z accumulates the
+    // transformations).
+    private void hessenberg(double[] h, double[] z) {
+        final int n = _n;
+        final double[] u = new double[2 * n];
+        final double[] uc = new double[2 * n];
+        final double[] dot = new double[2];
+        for (int k = 0; k < n - 2; k++) {
+            final int c = k + 1;
+            final int length = n - c;
+            for (int i = 0; i < length; i++) {
+                u[2 * i] = h[2 * ((c + i) * n + k)];
+                u[2 * i + 1] = h[2 * ((c + i) * n + k) + 1];
+            }
+            final double x1 = Float64EigenDecomposition.hypot(u[0], u[1]);
+            final double alpha = ComplexKernel.norm(length, u, 0);
+            if (!(alpha > x1))
+                continue; // Already reduced.
+            final double pr = (x1 == 0) ? 1.0 : u[0] / x1;
+            final double pi = (x1 == 0) ? 0.0 : u[1] / x1;
+            u[0] += pr * alpha;
+            u[1] += pi * alpha;
+            final double tau = 1.0 / (alpha * (alpha + x1));
+            ComplexKernel.conjugate(length, u, 0, uc, 0);
+
+            // H = (I - tau·u·uᴴ)·H (rows c to n - 1, columns k to n - 1).
+            final double[] s = new double[2 * (n - k)]; // uᴴ·H
+            for (int i = 0; i < length; i++) {
+                ComplexKernel.axpy(n - k, uc[2 * i], uc[2 * i + 1], h, 2 * ((c
+                        + i) * n + k), s, 0);
+            }
+            for (int i = 0; i < length; i++) {
+                final double tr = tau * u[2 * i], ti = tau * u[2 * i + 1];
+                ComplexKernel.axpy(n - k, -tr, -ti, s, 0, h, 2 * ((c + i) * n
+                        + k));
+            }
+            for (int i = c + 1; i < n; i++) { // Exact zeros.
+                h[2 * (i * n + k)] = 0.0;
+                h[2 * (i * n + k) + 1] = 0.0;
+            }
+
+            // H = H·(I - tau·u·uᴴ) and Z = Z·(I - tau·u·uᴴ)
+            for (int i = 0; i < n; i++) {
+                reflectRow(h, 2 * (i * n + c), length, tau, u, uc, dot);
+                reflectRow(z, 2 * (i * n + c), length, tau, u, uc, dot);
+            }
+        }
+    }
+
+    // x = x - tau·(x·u)·uᴴ
+    private static void reflectRow(double[] x, int xo, int length,
+            double tau, double[] u, double[] uc, double[] dot) {
+        ComplexKernel.dot(length, x, xo, u, 0, dot);
+        ComplexKernel.axpy(length, -tau * dot[0], -tau * dot[1], uc, 0, x, xo);
+    }
+
+    // Reduces the Hessenberg matrix h to upper triangular form with
+    // Wilkinson shifts (Z accumulates the rotations).
+    private void schur(double[] h, double[] z) {
+        final int n = _n;
+        double norm = 0.0;
+        for (int i = 0; i < 2 * n * n; i++) {
+            norm = MathLib.max(norm, MathLib.abs(h[i]));
+        }
+        if (norm == 0)
+            return;
+        int hi = n - 1;
+        int iteration = 0;
+        while (hi > 0) {
+            int l = hi; // Looks for a single small subdiagonal element.
+            while (l > 0) {
+                double s = abs1(h, 2 * ((l - 1) * n + l - 1))
+                        + abs1(h, 2 * (l * n + l));
+                if (s == 0) {
+                    s = norm;
+                }
+                if (abs1(h, 2 * (l * n + l - 1)) <= EPSILON * s)
+                    break;
+                l--;
+            }
+            if (l > 0) {
+                h[2 * (l * n + l - 1)] = 0.0;
+                h[2 * (l * n + l - 1) + 1] = 0.0;
+            }
+            if (l == hi) { // One root found.
+                hi--;
+                iteration = 0;
+                continue;
+            }
+            if (++iteration > MAX_ITERATIONS * n)
+                throw new ArithmeticException(
+                        "QR algorithm does not converge");
+
+            // Shift (eigenvalue of the trailing 2x2 block the closest to
+            // its last element, exceptional shifts every 10 iterations).
+            final int dd = 2 * (hi * n + hi);
+            double mr = h[dd], mi = h[dd + 1];
+            final int ee = 2 * (hi * n + hi - 1);
+            if (iteration % 10 == 0) {
+                mr += MathLib.abs(h[ee]);
+                mi += MathLib.abs(h[ee + 1]);
+            } else {
+                final int aa = 2 * ((hi - 1) * n + hi - 1);
+                final int bb = 2 * ((hi - 1) * n + hi);
+                // x = (a - d) / 2, y = sqrt(x² + b·c), mu = d - b·c / (x ± y)
+                final double xr = 0.5 * (h[aa] - h[dd]);
+                final double xi = 0.5 * (h[aa + 1] - h[dd + 1]);
+                final double bcr = h[bb] * h[ee] - h[bb + 1] * h[ee + 1];
+                final double bci = h[bb] * h[ee + 1] + h[bb + 1] * h[ee];
+                final double[] y = sqrt(xr * xr - xi * xi + bcr, 2 * xr * xi
+                        + bci);
+                double sr = xr + y[0], si = xi + y[1];
+                if (xr * y[0] + xi * y[1] < 0) {
+                    sr = xr - y[0];
+                    si = xi - y[1];
+                }
+                final double s2 = sr * sr + si * si;
+                if (s2 != 0) { // mu = d - b·c / s
+                    mr -= (bcr * sr + bci * si) / s2;
+                    mi -= (bci * sr - bcr * si) / s2;
+                }
+            }
+
+            // QR sweep on rows/columns [l, hi].
+            double xr = h[2 * (l * n + l)] - mr;
+            double xi = h[2 * (l * n + l) + 1] - mi;
+            double yr = h[2 * ((l + 1) * n + l)];
+            double yi = h[2 * ((l + 1) * n + l) + 1];
+            for (int k = l; k < hi; k++) {
+                if (k > l) {
+                    xr = h[2 * (k * n + k - 1)];
+                    xi = h[2 * (k * n + k - 1) + 1];
+                    yr = h[2 * ((k + 1) * n + k - 1)];
+                    yi = h[2 * ((k + 1) * n + k - 1) + 1];
+                }
+                // G = [c, s; -conj(s), c] such as G·(x, y) = (r, 0)
+                final double absX = Float64EigenDecomposition.hypot(xr, xi);
+                final double rho = Float64EigenDecomposition.hypot(absX,
+                        Float64EigenDecomposition.hypot(yr, yi));
+                if (rho == 0)
+                    continue;
+                final double c, sr, si;
+                if (absX == 0) {
+                    c = 0.0;
+                    sr = 1.0;
+                    si = 0.0;
+                } else {
+                    c = absX / rho;
+                    final double pr = xr / absX, pi = xi / absX;
+                    sr = (pr * yr + pi * yi) / rho; // phase·conj(y) / rho
+                    si = (pi * yr - pr * yi) / rho;
+                }
+                // Rows k and k + 1: G·H
+                for (int j = (k > l) ? k - 1 : k; j < n; j++) {
+                    final int x = 2 * (k * n + j), y = x + 2 * n;
+                    final double ar = h[x], ai = h[x + 1];
+                    final double br = h[y], bi = h[y + 1];
+                    h[x] = c * ar + sr * br - si * bi;
+                    h[x + 1] = c * ai + sr * bi + si * br;
+                    h[y] = c * br - sr * ar - si * ai;
+                    h[y + 1] = c * bi - sr * ai + si * ar;
+                }
+                if (k > l) {
+                    h[2 * ((k + 1) * n + k - 1)] = 0.0;
+                    h[2 * ((k + 1) * n + k - 1) + 1] = 0.0;
+                }
+                // Columns k and k + 1: H·Gᴴ and Z·Gᴴ
+                rotateColumns(h, n, k, MathLib.min(k + 2, hi) + 1, c, sr, si);
+                rotateColumns(z, n, k, n, c, sr, si);
+            }
+        }
+    }
+
+    // Columns k and k + 1 of the rows [0, rows) multiplied by
+    // Gᴴ = [c, -s; conj(s), c].
+    private static void rotateColumns(double[] a, int n, int k, int rows,
+            double c, double sr, double si) {
+        for (int i = 0; i < rows; i++) {
+            final int x = 2 * (i * n + k), y = x + 2;
+            final double ar = a[x], ai = a[x + 1];
+            final double br = a[y], bi = a[y + 1];
+            a[x] = c * ar + sr * br + si * bi;
+            a[x + 1] = c * ai + sr * bi - si * br;
+            a[y] = c * br - sr * ar + si * ai;
+            a[y + 1] = c * bi - sr * ai - si * ar;
+        }
+    }
+
+    // Back substitution on the triangular matrix t then V = Z·Y (columns
+    // normalized).
+    private double[] eigenvectors(double[] t, double[] z) {
+        final int n = _n;
+        double norm = 0.0;
+        for (int i = 0; i < 2 * n * n; i++) {
+            norm = MathLib.max(norm, MathLib.abs(t[i]));
+        }
+        final double small = (norm == 0) ? EPSILON : EPSILON * norm;
+        final double[] y = new double[2 * n * n]; // Row-major, interleaved.
+        for (int k = n - 1; k >= 0; k--) {
+            final double lr = _real[k], li = _imaginary[k];
+            y[2 * (k * n + k)] = 1.0;
+            for (int i = k - 1; i >= 0; i--) {
+                double sr = 0.0, si = 0.0;
+                for (int j = i + 1; j <= k; j++) {
+                    final int ij = 2 * (i * n + j), jk = 2 * (j * n + k);
+                    sr += t[ij] * y[jk] - t[ij + 1] * y[jk + 1];
+                    si += t[ij] * y[jk + 1] + t[ij + 1] * y[jk];
+                }
+                double dr = t[2 * (i * n + i)] - lr;
+                double di = t[2 * (i * n + i) + 1] - li;
+                if (MathLib.abs(dr) + MathLib.abs(di) < small) {
+                    dr = small; // Perturbation (multiple eigenvalues).
+                    di = 0.0;
+                }
+                final double d2 = dr * dr + di * di;
+                y[2 * (i * n + k)] = -(sr * dr + si * di) / d2;
+                y[2 * (i * n + k) + 1] = -(si * dr - sr * di) / d2;
+            }
+        }
+        final double[] v = new double[2 * n * n];
+        ComplexKernel.gemm(n, n, n, z, 0, 2 * n, 2, false, y, 0, 2 * n, 2,
+                false, v, 0, 2 * n);
+        for (int j = 0; j < n; j++) {
+            double sum = 0.0;
+            for (int i = 0; i < n; i++) {
+                final int ij = 2 * (i * n + j);
+                sum += v[ij] * v[ij] + v[ij + 1] * v[ij + 1];
+            }
+            if (sum == 0)
+                continue;
+            final double scale = 1.0 / MathLib.sqrt(sum);
+            for (int i = 0; i < n; i++) {
+                v[2 * (i * n + j)] *= scale;
+                v[2 * (i * n + j) + 1] *= scale;
+            }
+        }
+        return v;
+    }
+
+    // Returns the identity matrix (row-major, interleaved).
+    private static double[] identity(int n) {
+        final double[] a = new double[2 * n * n];
+        for (int i = 0; i < n; i++) {
+            a[2 * (i * n + i)] = 1.0;
+        }
+        return a;
+    }
+
+    // Returns |re| + |im| of the element at index i.
+    private static double abs1(double[] a, int i) {
+        return MathLib.abs(a[i]) + MathLib.abs(a[i + 1]);
+    }
+
+    // Principal square root of re + i·im.
+    private static double[] sqrt(double re, double im) {
+        final double r = Float64EigenDecomposition.hypot(re, im);
+        if (r == 0)
+            return new double[] { 0.0, 0.0 };
+        final double t = MathLib.sqrt(0.5 * (r + MathLib.abs(re)));
+        if (re >= 0)
+            return new double[] { t, im / (2 * t) };
+        return new double[] { MathLib.abs(im) / (2 * t),
+                (im >= 0) ? t : -t };
+    }
+
+    /**
+     * Returns the real parts of the eigenvalues (ascending order if the
+     * matrix source is hermitian).
+     *
+     * @return the real parts of the eigenvalues.
+     */
+    public double[] getRealEigenvalues() {
+        return _real.clone();
+    }
+
+    /**
+     * Returns the imaginary parts of the eigenvalues (all zero if the
+     * matrix source is hermitian).
+     *
+     * @return the imaginary parts of the eigenvalues.
+     */
+    public double[] getImaginaryEigenvalues() {
+        return _imaginary.clone();
+    }
+
+    /**
+     * Returns the eigenvalues.
+     *
+     * @return the complex eigenvalues.
+     */
+    public Complex[] getEigenvalues() {
+        Complex[] eigenvalues = new Complex[_n];
+        for (int i = 0; i < _n; i++) {
+            eigenvalues[i] = Complex.valueOf(_real[i], _imaginary[i]);
+        }
+        return eigenvalues;
+    }
+
+    /**
+     * Returns the eigenvectors matrix (unitary if the matrix source is
+     * hermitian).
+     *
+     * @return V such as <code>A·V = V·D</code>.
+     */
+    public ComplexMatrix getV() {
+        ComplexMatrix V = ComplexMatrix.newInstance(_n, _n);
+        System.arraycopy(_v, 0, V._data, 0, _v.length);
+        return V;
+    }
+
+    /**
+     * Returns the diagonal eigenvalues matrix.
+     *
+     * @return D such as <code>A·V = V·D</code>.
+     */
+    public ComplexMatrix getD() {
+        final int n = _n;
+        ComplexMatrix D = ComplexMatrix.newInstance(n, n);
+        for (int i = 0; i < n; i++) {
+            D._data[2 * (i * n + i)] = _real[i];
+            D._data[2 * (i * n + i) + 1] = _imaginary[i];
+        }
+        return D;
+    }
+}
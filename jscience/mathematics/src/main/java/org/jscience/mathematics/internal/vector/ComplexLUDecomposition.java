@@ -0,0 +1,319 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+import org.jscience.mathematics.internal.kernel.ComplexKernel;
+import org.jscience.mathematics.number.Complex;
+
+/**
+ * <p> This class represents the LU decomposition (<code>P·A = L·U</code>)
+ *     of a {@link ComplexMatrix complex matrix} with partial pivoting (the
+ *     element of each column with the largest <code>|re| + |im|</code> is
+ *     selected).</p>
+ *
+ * <p> The elements are held by a single interleaved <code>double[]</code>
+ *     array (no boxing). As for the {@link Float64LUDecomposition}, the
+ *     decomposition is right-looking and blocked: a panel of
+ *     <code>NB</code> columns is factorized, then the trailing matrix is
+ *     updated through the {@link ComplexKernel#gemm cache-blocked complex
+ *     product} which is performed concurrently for large matrices.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/LU_decomposition">
+ *      Wikipedia: LU decomposition</a>
+ */
+public final class ComplexLUDecomposition {
+
+    /**
+     * Holds the number of columns per panel.
+     */
+    static final int NB = 32;
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<ComplexLUDecomposition> FACTORY = new ObjectFactory<ComplexLUDecomposition>() {
+        protected ComplexLUDecomposition create() {
+            return new ComplexLUDecomposition();
+        }
+
+        @Override
+        protected void cleanup(ComplexLUDecomposition lu) {
+            lu._lu = null;
+            lu._pivots = null;
+        }
+    };
+
+    /**
+     * Holds the dimension of the square matrix source.
+     */
+    private int _n;
+
+    /**
+     * Holds the LU elements (row-major, interleaved, unit diagonal of L not
+     * stored).
+     */
+    private double[] _lu;
+
+    /**
+     * Holds the source row index of each row.
+     */
+    private int[] _pivots;
+
+    /**
+     * Holds the number of permutation performed.
+     */
+    private int _permutationCount;
+
+    /**
+     * Default constructor.
+     */
+    private ComplexLUDecomposition() {
+    }
+
+    /**
+     * Returns the lower/upper decomposition of the specified matrix.
+     *
+     * @param  source the matrix for which the decomposition is calculated.
+     * @return the lower/upper decomposition of the specified matrix.
+     * @throws DimensionException if the specified matrix is not square.
+     */
+    public static ComplexLUDecomposition valueOf(Matrix<Complex> source) {
+        if (!source.isSquare())
+            throw new DimensionException("Matrix is not square");
+        ComplexLUDecomposition lu = FACTORY.object();
+        lu._n = source.getNumberOfRows();
+        lu._lu = ComplexMatrix.valueOfMatrix(source).copy()._data;
+        lu._pivots = new int[lu._n];
+        lu._permutationCount = 0;
+        lu.construct();
+        return lu;
+    }
+
+    // Right-looking blocked decomposition.
+    private void construct() {
+        final int n = _n;
+        final double[] a = _lu;
+        for (int i = 0; i < n; i++) {
+            _pivots[i] = i;
+        }
+        for (int k = 0; k < n; k += NB) {
+            final int kb = MathLib.min(k + NB, n);
+            factorizePanel(k, kb);
+            if (kb == n)
+                break;
+            // U12 = inv(L11)·A12
+            for (int i = k + 1; i < kb; i++) {
+                for (int t = k; t < i; t++) {
+                    final int it = 2 * (i * n + t);
+                    ComplexKernel.axpy(n - kb, -a[it], -a[it + 1], a, 2 * (t
+                            * n + kb), a, 2 * (i * n + kb));
+                }
+            }
+            // A22 = A22 - L21·U12
+            multiplySubtract(n - kb, kb - k, n - kb, a, 2 * (kb * n + k),
+                    2 * n, a, 2 * (k * n + kb), 2 * n, a, 2 * (kb * n + kb),
+                    2 * n);
+        }
+    }
+
+    // Unblocked decomposition of the columns [k, kb) (rows exchanges are
+    // applied to the whole rows).
+    private void factorizePanel(int k, int kb) {
+        final int n = _n;
+        final double[] a = _lu;
+        for (int j = k; j < kb; j++) {
+            int p = j;
+            double max = abs1(a, 2 * (j * n + j));
+            for (int i = j + 1; i < n; i++) {
+                final double abs = abs1(a, 2 * (i * n + j));
+                if (abs > max) {
+                    max = abs;
+                    p = i;
+                }
+            }
+            if (p != j) {
+                for (int c = 0, x = 2 * p * n, y = 2 * j * n; c < 2 * n; c++, x++, y++) {
+                    final double tmp = a[x];
+                    a[x] = a[y];
+                    a[y] = tmp;
+                }
+                final int tmp = _pivots[p];
+                _pivots[p] = _pivots[j];
+                _pivots[j] = tmp;
+                _permutationCount++;
+            }
+            if (max == 0)
+                continue; // Zero column.
+            final int rj = 2 * j * n;
+            final double ur = a[rj + 2 * j], ui = a[rj + 2 * j + 1];
+            final double d = ur * ur + ui * ui;
+            final double invr = ur / d, invi = -ui / d;
+            for (int i = j + 1; i < n; i++) {
+                final int ri = 2 * i * n;
+                final double xr = a[ri + 2 * j], xi = a[ri + 2 * j + 1];
+                final double lr = xr * invr - xi * invi;
+                final double li = xr * invi + xi * invr;
+                a[ri + 2 * j] = lr;
+                a[ri + 2 * j + 1] = li;
+                if ((lr != 0) || (li != 0)) {
+                    for (int c = 2 * (j + 1); c < 2 * kb; c += 2) {
+                        final double yr = a[rj + c], yi = a[rj + c + 1];
+                        a[ri + c] -= lr * yr - li * yi;
+                        a[ri + c + 1] -= lr * yi + li * yr;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the solution X of the equation: A * X = B  with
+     * <code>this = A.lu()</code> using blocked forward and back
+     * substitutions.
+     *
+     * @param  B the input matrix.
+     * @return the solution X = (1 / A) * B.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public ComplexMatrix solve(Matrix<Complex> B) {
+        if (_n != B.getNumberOfRows())
+            throw new DimensionException("Input vector has "
+                    + B.getNumberOfRows() + " rows instead of " + _n);
+        final int p = B.getNumberOfColumns();
+        ComplexMatrix Y = ComplexMatrix.valueOfMatrix(B);
+        ComplexMatrix X = ComplexMatrix.newInstance(_n, p);
+        for (int i = 0; i < _n; i++) { // Pivoting.
+            for (int j = 0; j < p; j++) {
+                X._data[2 * (i * p + j)] = Y.getReal(_pivots[i], j);
+                X._data[2 * (i * p + j) + 1] = Y.getImaginary(_pivots[i], j);
+            }
+        }
+        substitute(X._data, p);
+        return X;
+    }
+
+    /**
+     * Returns the solution X of the equation: A * X = Identity  with
+     * <code>this = A.lu()</code>.
+     *
+     * @return <code>this.solve(Identity)</code>
+     */
+    public ComplexMatrix inverse() {
+        ComplexMatrix X = ComplexMatrix.newInstance(_n, _n);
+        for (int i = 0; i < _n; i++) {
+            X._data[2 * (i * _n + _pivots[i])] = 1.0;
+        }
+        substitute(X._data, _n);
+        return X;
+    }
+
+    /**
+     * Returns the determinant of the {@link Matrix} having this
+     * decomposition.
+     *
+     * @return the determinant of the matrix source.
+     */
+    public Complex determinant() {
+        double re = 1.0, im = 0.0;
+        for (int i = 0; i < _n; i++) {
+            final int ii = 2 * (i * _n + i);
+            final double ur = _lu[ii], ui = _lu[ii + 1];
+            final double tmp = re * ur - im * ui;
+            im = re * ui + im * ur;
+            re = tmp;
+        }
+        return ((_permutationCount & 1) == 0) ? Complex.valueOf(re, im)
+                : Complex.valueOf(-re, -im);
+    }
+
+    /**
+     * Returns the lower/upper decomposition in one single matrix (the unit
+     * diagonal of the lower matrix is not included).
+     *
+     * @return the lower/upper matrix merged in a single matrix.
+     */
+    public ComplexMatrix getLU() {
+        ComplexMatrix LU = ComplexMatrix.newInstance(_n, _n);
+        System.arraycopy(_lu, 0, LU._data, 0, 2 * _n * _n);
+        return LU;
+    }
+
+    /**
+     * Returns the pivots elements of this decomposition.
+     *
+     * @return the source row indices after permutation.
+     */
+    public int[] getPivots() {
+        return _pivots.clone();
+    }
+
+    // Solves L·U·X = Y in place (Y n-by-p with contiguous rows).
+    private void substitute(double[] x, int p) {
+        final int n = _n;
+        final double[] a = _lu;
+        // Solves L·Z = Y
+        for (int k = 0; k < n; k += NB) {
+            final int kb = MathLib.min(k + NB, n);
+            for (int i = k + 1; i < kb; i++) {
+                for (int t = k; t < i; t++) {
+                    final int it = 2 * (i * n + t);
+                    ComplexKernel.axpy(p, -a[it], -a[it + 1], x, 2 * t * p, x,
+                            2 * i * p);
+                }
+            }
+            if (kb < n) {
+                multiplySubtract(n - kb, kb - k, p, a, 2 * (kb * n + k),
+                        2 * n, x, 2 * k * p, 2 * p, x, 2 * kb * p, 2 * p);
+            }
+        }
+        // Solves U·X = Z
+        for (int k = (n - 1) / NB * NB; k >= 0; k -= NB) {
+            final int kb = MathLib.min(k + NB, n);
+            for (int i = kb - 1; i >= k; i--) {
+                for (int t = i + 1; t < kb; t++) {
+                    final int it = 2 * (i * n + t);
+                    ComplexKernel.axpy(p, -a[it], -a[it + 1], x, 2 * t * p, x,
+                            2 * i * p);
+                }
+                final int ii = 2 * (i * n + i);
+                final double ur = a[ii], ui = a[ii + 1];
+                final double d = ur * ur + ui * ui;
+                ComplexKernel.scale(p, ur / d, -ui / d, x, 2 * i * p, x, 2
+                        * i * p);
+            }
+            if (k > 0) {
+                multiplySubtract(k, kb - k, p, a, 2 * k, 2 * n, x, 2 * k * p,
+                        2 * p, x, 0, 2 * p);
+            }
+        }
+    }
+
+    // Returns |re| + |im| of the element at index i.
+    private static double abs1(double[] a, int i) {
+        return MathLib.abs(a[i]) + MathLib.abs(a[i + 1]);
+    }
+
+    // Performs C = C - A·B (A m-by-k, contiguous columns for all matrices).
+    private static void multiplySubtract(int m, int k, int p, double[] a,
+            int ao, int ars, double[] b, int bo, int brs, double[] c, int co,
+            int crs) {
+        double[] opposite = new double[2 * m * k];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < 2 * k; j++) {
+                opposite[2 * i * k + j] = -a[ao + i * ars + j];
+            }
+        }
+        ComplexKernel.gemm(m, k, p, opposite, 0, 2 * k, 2, false, b, bo, brs,
+                2, false, c, co, crs);
+    }
+}
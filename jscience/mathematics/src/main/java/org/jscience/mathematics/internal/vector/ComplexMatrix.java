@@ -0,0 +1,593 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.util.Arrays;
+import java.util.List;
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+import javolution.util.Index;
+import org.jscience.mathematics.internal.kernel.ComplexKernel;
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+import org.jscience.mathematics.number.Complex;
+
+/**
+ * <p> This class represents a {@link Complex complex} dense matrix.</p>
+ *
+ * <p> Elements are held by a single <code>double[]</code> array
+ *     (interleaved real and imaginary parts), the real part of the element
+ *     <code>(i, j)</code> being at index
+ *     <code>offset + i·rowStride + j·columnStride</code>. Matrices are
+ *     immutable; the {@link #transpose transpose}, the
+ *     {@link #conjugate conjugate}, the {@link #conjugateTranspose
+ *     conjugate transpose} and the sub-matrices with evenly spaced indices
+ *     are views sharing the elements of this matrix (no copy). The rows,
+ *     the columns and the diagonal are views too unless the matrix is
+ *     conjugated.</p>
+ *
+ * <p> Products are calculated by the {@link ComplexKernel#gemm
+ *     cache-blocked complex kernel} (concurrently for large matrices, the
+ *     conjugation of the views being performed while packing); inverse,
+ *     determinant and solve through the
+ *     {@link ComplexLUDecomposition blocked LU decomposition}. Hermitian
+ *     matrices have their own decompositions (see
+ *     {@link ComplexCholeskyDecomposition} and
+ *     {@link ComplexEigenDecomposition}).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+public class ComplexMatrix extends DenseMatrix<Complex> {
+
+    /**
+     * Holds the object factory.
+     */
+    static ObjectFactory<ComplexMatrix> FACTORY = new ObjectFactory<ComplexMatrix>() {
+
+        @Override
+        protected ComplexMatrix create() {
+            return new ComplexMatrix();
+        }
+
+        @Override
+        protected void cleanup(ComplexMatrix matrix) {
+            matrix._data = null;
+        }
+    };
+
+    /**
+     * Holds the elements (possibly shared with other matrices).
+     */
+    double[] _data;
+
+    /**
+     * Holds the index of the real part of the first element.
+     */
+    int _offset;
+
+    /**
+     * Holds the number of rows.
+     */
+    int _m;
+
+    /**
+     * Holds the number of columns.
+     */
+    int _n;
+
+    /**
+     * Holds the distance between consecutive rows.
+     */
+    int _rowStride;
+
+    /**
+     * Holds the distance between consecutive columns.
+     */
+    int _columnStride;
+
+    /**
+     * Indicates if the elements are conjugated (views).
+     */
+    boolean _conjugate;
+
+    /**
+     * Returns a new m-by-n matrix (zero elements, contiguous rows).
+     */
+    static ComplexMatrix newInstance(int m, int n) {
+        ComplexMatrix M = FACTORY.object();
+        M._data = new double[2 * m * n];
+        M._offset = 0;
+        M._m = m;
+        M._n = n;
+        M._rowStride = 2 * n;
+        M._columnStride = 2;
+        M._conjugate = false;
+        return M;
+    }
+
+    // Returns a view sharing the elements of this matrix.
+    private ComplexMatrix viewOf(int offset, int m, int n, int rowStride,
+            int columnStride, boolean conjugate) {
+        ComplexMatrix M = FACTORY.object();
+        M._data = _data;
+        M._offset = offset;
+        M._m = m;
+        M._n = n;
+        M._rowStride = rowStride;
+        M._columnStride = columnStride;
+        M._conjugate = conjugate;
+        return M;
+    }
+
+    // See parent static method.
+    public static ComplexMatrix valueOfList(List<? extends Vector<Complex>> rows) {
+        final int m = rows.size();
+        final int n = rows.get(0).getDimension();
+        ComplexMatrix M = ComplexMatrix.newInstance(m, n);
+        for (int i = 0; i < m; i++) {
+            Vector<Complex> row = rows.get(i);
+            if (row.getDimension() != n)
+                throw new DimensionException();
+            M.setRow(i, ComplexVector.valueOfVector(row));
+        }
+        return M;
+    }
+
+    // See parent static method.
+    public static ComplexMatrix valueOfMatrix(Matrix<Complex> that) {
+        if (that instanceof ComplexMatrix)
+            return (ComplexMatrix) that;
+        final int m = that.getNumberOfRows();
+        final int n = that.getNumberOfColumns();
+        ComplexMatrix M = ComplexMatrix.newInstance(m, n);
+        for (int i = 0; i < m; i++) {
+            M.setRow(i, ComplexVector.valueOfVector(that.getRow(i)));
+        }
+        return M;
+    }
+
+    // See parent static method.
+    public static ComplexMatrix valueOf(Complex[][] elements) {
+        final int m = elements.length;
+        final int n = elements[0].length;
+        ComplexMatrix M = ComplexMatrix.newInstance(m, n);
+        for (int i = 0; i < m; i++) {
+            if (elements[i].length != n)
+                throw new DimensionException();
+            for (int j = 0, k = 2 * i * n; j < n; j++, k += 2) {
+                M._data[k] = elements[i][j].getReal();
+                M._data[k + 1] = elements[i][j].getImaginary();
+            }
+        }
+        return M;
+    }
+
+    /**
+     * Returns the matrix having the specified real and imaginary parts.
+     *
+     * @param real the real parts of the elements.
+     * @param imaginary the imaginary parts of the elements.
+     * @return the corresponding matrix.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public static ComplexMatrix valueOf(double[][] real, double[][] imaginary) {
+        final int m = real.length;
+        final int n = real[0].length;
+        if (imaginary.length != m)
+            throw new DimensionException();
+        ComplexMatrix M = ComplexMatrix.newInstance(m, n);
+        for (int i = 0; i < m; i++) {
+            if ((real[i].length != n) || (imaginary[i].length != n))
+                throw new DimensionException();
+            for (int j = 0, k = 2 * i * n; j < n; j++, k += 2) {
+                M._data[k] = real[i][j];
+                M._data[k + 1] = imaginary[i][j];
+            }
+        }
+        return M;
+    }
+
+    // See parent static method.
+    public static ComplexMatrix valueOfVector(Vector<Complex>[] rows) {
+        return ComplexMatrix.valueOfList(Arrays.asList(rows));
+    }
+
+    // Sets the row i of a new matrix with contiguous rows.
+    private void setRow(int i, ComplexVector row) {
+        ComplexVector V = row.contiguous();
+        System.arraycopy(V._values, V._offset, _data, 2 * i * _n, 2 * _n);
+    }
+
+    /**
+     * Returns the real part of an element from this matrix (fast).
+     *
+     * @param  i the row index.
+     * @param  j the column index.
+     * @return the real part of the element at <code>i,j</code>.
+     * @throws IndexOutOfBoundsException <code>
+     *         ((i &lt; 0) || (i &gt;= m)) || ((j &lt; 0) || (j &gt;= n))</code>
+     */
+    public double getReal(int i, int j) {
+        if ((i < 0) || (i >= _m) || (j < 0) || (j >= _n))
+            throw new IndexOutOfBoundsException();
+        return _data[_offset + i * _rowStride + j * _columnStride];
+    }
+
+    /**
+     * Returns the imaginary part of an element from this matrix (fast).
+     *
+     * @param  i the row index.
+     * @param  j the column index.
+     * @return the imaginary part of the element at <code>i,j</code>.
+     * @throws IndexOutOfBoundsException <code>
+     *         ((i &lt; 0) || (i &gt;= m)) || ((j &lt; 0) || (j &gt;= n))</code>
+     */
+    public double getImaginary(int i, int j) {
+        if ((i < 0) || (i >= _m) || (j < 0) || (j >= _n))
+            throw new IndexOutOfBoundsException();
+        final double im = _data[_offset + i * _rowStride + j * _columnStride
+                + 1];
+        return _conjugate ? -im : im;
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return _m;
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return _n;
+    }
+
+    @Override
+    public Complex get(int i, int j) {
+        return Complex.valueOf(getReal(i, j), getImaginary(i, j));
+    }
+
+    /**
+     * Returns the row i of this matrix (view unless this matrix is
+     * conjugated).
+     *
+     * @param i the row index.
+     * @return the vector holding the elements of the row i.
+     */
+    @Override
+    public ComplexVector getRow(int i) {
+        if ((i < 0) || (i >= _m))
+            throw new IndexOutOfBoundsException();
+        ComplexVector V = ComplexVector.viewOf(_data, _offset + i
+                * _rowStride, _columnStride, _n);
+        return _conjugate ? V.conjugate() : V;
+    }
+
+    /**
+     * Returns the column j of this matrix (view unless this matrix is
+     * conjugated).
+     *
+     * @param j the column index.
+     * @return the vector holding the elements of the column j.
+     */
+    @Override
+    public ComplexVector getColumn(int j) {
+        if ((j < 0) || (j >= _n))
+            throw new IndexOutOfBoundsException();
+        ComplexVector V = ComplexVector.viewOf(_data, _offset + j
+                * _columnStride, _rowStride, _m);
+        return _conjugate ? V.conjugate() : V;
+    }
+
+    /**
+     * Returns the diagonal of this matrix (view unless this matrix is
+     * conjugated).
+     *
+     * @return the vector holding the diagonal elements.
+     */
+    @Override
+    public ComplexVector getDiagonal() {
+        ComplexVector V = ComplexVector.viewOf(_data, _offset, _rowStride
+                + _columnStride, MathLib.min(_m, _n));
+        return _conjugate ? V.conjugate() : V;
+    }
+
+    /**
+     * Returns the sub-matrix formed by the elements from the specified
+     * rows and columns. If both the row indices and the column indices are
+     * evenly spaced (e.g. {@link Index#rangeOf ranges}) the sub-matrix
+     * returned is a view sharing the elements of this matrix.
+     *
+     * @return the corresponding sub-matrix.
+     * @throws IndexOutOfBoundsException if any of the indices is greater
+     *         than the associated dimension.
+     */
+    @Override
+    public ComplexMatrix getSubMatrix(List<Index> rows, List<Index> columns) {
+        final int m = rows.size();
+        final int n = columns.size();
+        final int rowStep = Float64Matrix.stepOf(rows, _m);
+        final int columnStep = Float64Matrix.stepOf(columns, _n);
+        if ((rowStep != Integer.MIN_VALUE) && (columnStep != Integer.MIN_VALUE))
+            return viewOf(_offset + rows.get(0).intValue() * _rowStride
+                    + columns.get(0).intValue() * _columnStride, m, n,
+                    rowStep * _rowStride, columnStep * _columnStride,
+                    _conjugate);
+        ComplexMatrix M = ComplexMatrix.newInstance(m, n);
+        for (int i = 0; i < m; i++) {
+            final int row = rows.get(i).intValue();
+            for (int j = 0; j < n; j++) {
+                final int column = columns.get(j).intValue();
+                M._data[2 * (i * n + j)] = getReal(row, column);
+                M._data[2 * (i * n + j) + 1] = getImaginary(row, column);
+            }
+        }
+        return M;
+    }
+
+    @Override
+    public ComplexMatrix opposite() {
+        return times(-1.0);
+    }
+
+    @Override
+    public ComplexMatrix plus(Matrix<Complex> that) {
+        ComplexMatrix A = compact();
+        ComplexMatrix T = A.sameLayout(ComplexMatrix.valueOfMatrix(that));
+        ComplexMatrix M = A.newCompact();
+        Float64Kernel.add(2 * _m * _n, A._data, A._offset, T._data,
+                T._offset, M._data, 0);
+        return M;
+    }
+
+    @Override
+    public ComplexMatrix minus(Matrix<Complex> that) {
+        ComplexMatrix A = compact();
+        ComplexMatrix T = A.sameLayout(ComplexMatrix.valueOfMatrix(that));
+        ComplexMatrix M = A.newCompact();
+        Float64Kernel.subtract(2 * _m * _n, A._data, A._offset, T._data,
+                T._offset, M._data, 0);
+        return M;
+    }
+
+    @Override
+    public ComplexMatrix times(Complex k) {
+        ComplexMatrix A = compact();
+        ComplexMatrix M = A.newCompact();
+        ComplexKernel.scale(_m * _n, k.getReal(), k.getImaginary(), A._data,
+                A._offset, M._data, 0);
+        return M;
+    }
+
+    /**
+     * Returns the product of this matrix with the specified real
+     * coefficient.
+     *
+     * @param k the coefficient.
+     * @return <code>this * k</code>
+     */
+    public ComplexMatrix times(double k) {
+        ComplexMatrix A = compact();
+        ComplexMatrix M = A.newCompact();
+        Float64Kernel.scale(2 * _m * _n, k, A._data, A._offset, M._data, 0);
+        return M;
+    }
+
+    /**
+     * Returns the product of this matrix with the specified vector (rows
+     * calculated concurrently for large matrices).
+     *
+     * @param v the vector.
+     * @return <code>this · v</code>
+     * @throws DimensionException if <code>
+     *         v.getDimension() != this.getNumberOfColumns()<code>
+     */
+    @Override
+    public ComplexVector times(Vector<Complex> v) {
+        final ComplexVector X = ComplexVector.valueOfVector(v).contiguous();
+        if (X._dimension != _n)
+            throw new DimensionException();
+        final ComplexVector V = ComplexVector.newInstance(_m);
+        if (_columnStride == 2) { // Contiguous rows (dot products).
+            new RowLogic() {
+                void rows(int from, int to) {
+                    double[] dot = new double[2];
+                    for (int i = from; i < to; i++) {
+                        final int row = _offset + i * _rowStride;
+                        if (_conjugate) {
+                            ComplexKernel.dotConjugate(_n, _data, row,
+                                    X._values, X._offset, dot);
+                        } else {
+                            ComplexKernel.dot(_n, _data, row, X._values,
+                                    X._offset, dot);
+                        }
+                        V._values[2 * i] = dot[0];
+                        V._values[2 * i + 1] = dot[1];
+                    }
+                }
+            }.execute(0, _m, 4L * _n);
+            return V;
+        }
+        // Linear combination of the columns; conj(A)·x = conj(A·conj(x))
+        ComplexMatrix A = (_rowStride == 2) ? this : copy();
+        Arrays.fill(V._values, 0, 2 * _m, 0.0);
+        final double sign = A._conjugate ? -1.0 : 1.0;
+        for (int j = 0; j < _n; j++) {
+            ComplexKernel.axpy(_m, X._values[X._offset + 2 * j], sign
+                    * X._values[X._offset + 2 * j + 1], A._data, A._offset
+                    + j * A._columnStride, V._values, 0);
+        }
+        return A._conjugate ? V.conjugate() : V;
+    }
+
+    @Override
+    public ComplexMatrix times(Matrix<Complex> that) {
+        //  This is a m-by-n matrix and that is a n-by-p matrix, the matrix result is mxp
+        final int m = _m;
+        final int n = _n;
+        final int p = that.getNumberOfColumns(); // Number of columns of that.
+        if (n != that.getNumberOfRows())
+            throw new DimensionException();
+        ComplexMatrix T = ComplexMatrix.valueOfMatrix(that);
+        ComplexMatrix M = ComplexMatrix.newInstance(m, p);
+        ComplexKernel.gemm(m, n, p, _data, _offset, _rowStride,
+                _columnStride, _conjugate, T._data, T._offset, T._rowStride,
+                T._columnStride, T._conjugate, M._data, 0, 2 * p);
+        return M;
+    }
+
+    /**
+     * Returns the inverse of this matrix (must be square) calculated
+     * through the {@link ComplexLUDecomposition blocked LU decomposition}.
+     *
+     * @return <code>1 / this</code>
+     * @throws DimensionException if this matrix is not square.
+     */
+    @Override
+    public ComplexMatrix inverse() {
+        return ComplexLUDecomposition.valueOf(this).inverse();
+    }
+
+    /**
+     * Returns the determinant of this matrix calculated through the
+     * {@link ComplexLUDecomposition blocked LU decomposition}.
+     *
+     * @return this matrix determinant.
+     * @throws DimensionException if this matrix is not square.
+     */
+    @Override
+    public Complex determinant() {
+        return ComplexLUDecomposition.valueOf(this).determinant();
+    }
+
+    /**
+     * Solves this matrix for the specified matrix through the
+     * {@link ComplexLUDecomposition blocked LU decomposition}.
+     *
+     * @param  y the matrix for which the solution is calculated.
+     * @return <code>ComplexLUDecomposition.valueOf(this).solve(y)</code>
+     * @throws DimensionException if this matrix is not square or dimensions
+     *         do not match.
+     */
+    @Override
+    public ComplexMatrix solve(Matrix<Complex> y) {
+        return ComplexLUDecomposition.valueOf(this).solve(y);
+    }
+
+    /**
+     * Returns the transpose of this matrix (view).
+     *
+     * @return the matrix sharing the elements of this matrix.
+     */
+    @Override
+    public ComplexMatrix transpose() {
+        return viewOf(_offset, _n, _m, _columnStride, _rowStride, _conjugate);
+    }
+
+    /**
+     * Returns the conjugate of this matrix (view).
+     *
+     * @return the matrix sharing the elements of this matrix.
+     */
+    public ComplexMatrix conjugate() {
+        return viewOf(_offset, _m, _n, _rowStride, _columnStride, !_conjugate);
+    }
+
+    /**
+     * Returns the conjugate transpose (or hermitian adjoint) of this
+     * matrix (view).
+     *
+     * @return the matrix sharing the elements of this matrix.
+     */
+    public ComplexMatrix conjugateTranspose() {
+        return viewOf(_offset, _n, _m, _columnStride, _rowStride, !_conjugate);
+    }
+
+    /**
+     * Indicates if this matrix is hermitian (equal to its conjugate
+     * transpose).
+     *
+     * @return <code>this.equals(this.conjugateTranspose())</code>
+     */
+    public boolean isHermitian() {
+        if (_m != _n)
+            return false;
+        for (int i = 0; i < _n; i++) {
+            for (int j = 0; j <= i; j++) {
+                if ((getReal(i, j) != getReal(j, i))
+                        || (getImaginary(i, j) != -getImaginary(j, i)))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a copy of this matrix with contiguous rows (not a view).
+     *
+     * @return a copy of this matrix.
+     */
+    @Override
+    public ComplexMatrix copy() {
+        ComplexMatrix M = ComplexMatrix.newInstance(_m, _n);
+        if (isRowMajor()) {
+            System.arraycopy(_data, _offset, M._data, 0, 2 * _m * _n);
+        } else {
+            for (int i = 0; i < _m; i++) {
+                int k = _offset + i * _rowStride;
+                for (int j = 0; j < 2 * _n; j += 2, k += _columnStride) {
+                    M._data[2 * i * _n + j] = _data[k];
+                    M._data[2 * i * _n + j + 1] = _data[k + 1];
+                }
+            }
+        }
+        if (_conjugate) {
+            ComplexKernel.conjugate(_m * _n, M._data, 0, M._data, 0);
+        }
+        return M;
+    }
+
+    // Indicates if the elements are contiguous, row by row.
+    private boolean isRowMajor() {
+        return (_columnStride == 2) && (_rowStride == 2 * _n);
+    }
+
+    // Indicates if the elements are contiguous, column by column.
+    private boolean isColumnMajor() {
+        return (_rowStride == 2) && (_columnStride == 2 * _m);
+    }
+
+    // Returns this matrix or a copy having contiguous (not conjugated)
+    // elements.
+    private ComplexMatrix compact() {
+        return ((isRowMajor() || isColumnMajor()) && !_conjugate) ? this
+                : copy();
+    }
+
+    // Returns a new matrix with the same layout as this compact matrix.
+    private ComplexMatrix newCompact() {
+        ComplexMatrix M = ComplexMatrix.newInstance(_m, _n);
+        M._rowStride = _rowStride;
+        M._columnStride = _columnStride;
+        return M;
+    }
+
+    // Returns the specified matrix or a copy having the layout of this
+    // compact matrix.
+    private ComplexMatrix sameLayout(ComplexMatrix that) {
+        if ((that._m != _m) || (that._n != _n))
+            throw new DimensionException();
+        if ((that._rowStride == _rowStride)
+                && (that._columnStride == _columnStride) && !that._conjugate)
+            return that;
+        return isRowMajor() ? that.copy() : that.transpose().copy()
+                .transpose();
+    }
+
+    private static final long serialVersionUID = 1L;
+
+}
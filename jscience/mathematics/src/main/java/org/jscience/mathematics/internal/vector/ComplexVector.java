@@ -0,0 +1,390 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.util.List;
+import javolution.context.ArrayFactory;
+
+import javolution.util.FastTable;
+import javolution.util.Index;
+import org.jscience.mathematics.internal.kernel.ComplexKernel;
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+import org.jscience.mathematics.number.Complex;
+import org.jscience.mathematics.structure.VectorSpaceNormed;
+
+/**
+ * <p> This class represents an optimized {@link DenseVector}
+ *     implementation for {@link Complex complex} elements.</p>
+ *
+ * <p> Elements are held by a single <code>double[]</code> array
+ *     (interleaved real and imaginary parts); the operations are performed
+ *     by the {@link ComplexKernel complex kernels} and do not allocate
+ *     intermediate {@link Complex} numbers.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+public class ComplexVector extends DenseVector<Complex> implements
+        VectorSpaceNormed<Vector<Complex>, Complex> {
+
+    /**
+     * Holds factory for vectors with variable size arrays.
+     */
+    static final ArrayFactory<ComplexVector> FACTORY = new ArrayFactory<ComplexVector>() {
+
+        @Override
+        protected ComplexVector create(int capacity) {
+            return new ComplexVector(capacity);
+        }
+    };
+
+    /**
+     * Holds the dimension.
+     */
+    int _dimension;
+
+    /**
+     * Holds the real and imaginary parts of the elements (interleaved).
+     */
+    final double[] _values;
+
+    /**
+     * Holds the index of the real part of the first element (views).
+     */
+    final int _offset;
+
+    /**
+     * Holds the distance between the real parts of consecutive elements
+     * (<code>2</code> if the elements are contiguous).
+     */
+    final int _stride;
+
+    /**
+     * Creates a vector of specified capacity.
+     */
+    private ComplexVector(int capacity) {
+        _values = new double[2 * capacity];
+        _offset = 0;
+        _stride = 2;
+    }
+
+    /**
+     * Creates a view sharing the specified values.
+     */
+    private ComplexVector(double[] values, int offset, int stride,
+            int dimension) {
+        _values = values;
+        _offset = offset;
+        _stride = stride;
+        _dimension = dimension;
+    }
+
+    /**
+     * Returns a vector view over the specified values (no copy).
+     * The real part of the element <code>i</code> of the view is
+     * <code>values[offset + i·stride]</code> (its imaginary part at the
+     * next index).
+     */
+    static ComplexVector viewOf(double[] values, int offset, int stride,
+            int dimension) {
+        return new ComplexVector(values, offset, stride, dimension);
+    }
+
+    /**
+     * Returns a new vector of specified dimension (elements not initialized).
+     */
+    static ComplexVector newInstance(int dimension) {
+        ComplexVector V = FACTORY.array(dimension);
+        V._dimension = dimension;
+        return V;
+    }
+
+    /**
+     * Returns a new vector holding the specified complex elements.
+     *
+     * @param elements the complex elements.
+     * @return the vector having the specified elements.
+     */
+    public static ComplexVector valueOf(Complex... elements) {
+        int n = elements.length;
+        ComplexVector V = newInstance(n);
+        for (int i = 0; i < n; i++) {
+            V._values[2 * i] = elements[i].getReal();
+            V._values[2 * i + 1] = elements[i].getImaginary();
+        }
+        return V;
+    }
+
+    /**
+     * Returns a new vector holding the specified real and imaginary parts.
+     *
+     * @param real the real parts.
+     * @param imaginary the imaginary parts.
+     * @return the corresponding vector.
+     * @throws DimensionException if the arrays do not have the same length.
+     */
+    public static ComplexVector valueOf(double[] real, double[] imaginary) {
+        int n = real.length;
+        if (imaginary.length != n)
+            throw new DimensionException();
+        ComplexVector V = newInstance(n);
+        for (int i = 0; i < n; i++) {
+            V._values[2 * i] = real[i];
+            V._values[2 * i + 1] = imaginary[i];
+        }
+        return V;
+    }
+
+    /**
+     * Returns a {@link ComplexVector} instance equivalent to the
+     * specified vector.
+     *
+     * @param that the vector to convert.
+     * @return <code>that</code> or new equivalent ComplexVector.
+     */
+    public static ComplexVector valueOfVector(Vector<Complex> that) {
+        if (that instanceof ComplexVector)
+            return (ComplexVector) that;
+        int n = that.getDimension();
+        ComplexVector V = newInstance(n);
+        for (int i = 0; i < n; i++) {
+            Complex element = that.get(i);
+            V._values[2 * i] = element.getReal();
+            V._values[2 * i + 1] = element.getImaginary();
+        }
+        return V;
+    }
+
+    /**
+     * Returns the real part of an element from this vector (fast).
+     *
+     * @param  i the element index.
+     * @return the real part of the element at <code>i</code>.
+     * @throws IndexOutOfBoundsException <code>(i &lt; 0) || (i &gt;= dimension())</code>
+     */
+    public double getReal(int i) {
+        if ((i < 0) || (i >= _dimension))
+            throw new IndexOutOfBoundsException();
+        return _values[_offset + i * _stride];
+    }
+
+    /**
+     * Returns the imaginary part of an element from this vector (fast).
+     *
+     * @param  i the element index.
+     * @return the imaginary part of the element at <code>i</code>.
+     * @throws IndexOutOfBoundsException <code>(i &lt; 0) || (i &gt;= dimension())</code>
+     */
+    public double getImaginary(int i) {
+        if ((i < 0) || (i >= _dimension))
+            throw new IndexOutOfBoundsException();
+        return _values[_offset + i * _stride + 1];
+    }
+
+    /**
+     * Returns the Euclidian norm of this vector (square root of the
+     * hermitian dot product of this vector and itself).
+     *
+     * @return <code>sqrt(conj(this) · this)</code>.
+     */
+    public Complex norm() {
+        return Complex.valueOf(normValue(), 0.0);
+    }
+
+    /**
+     * Returns the {@link #norm()} value of this vector.
+     *
+     * @return <code>this.norm().getReal()</code>.
+     */
+    public double normValue() {
+        ComplexVector X = contiguous();
+        return ComplexKernel.norm(_dimension, X._values, X._offset);
+    }
+
+    @Override
+    public List<Complex> asList() {
+        FastTable<Complex> list = FastTable.newInstance();
+        for (int i = 0; i < _dimension; i++) {
+            final int k = _offset + i * _stride;
+            list.add(Complex.valueOf(_values[k], _values[k + 1]));
+        }
+        return list.unmodifiable();
+    }
+
+    @Override
+    public int getDimension() {
+        return _dimension;
+    }
+
+    @Override
+    public Complex get(int i) {
+        if ((i < 0) || (i >= _dimension))
+            throw new IndexOutOfBoundsException();
+        final int k = _offset + i * _stride;
+        return Complex.valueOf(_values[k], _values[k + 1]);
+    }
+
+    @Override
+    public ComplexVector getSubVector(List<Index> indices) {
+        int dimension = indices.size();
+        ComplexVector V = newInstance(dimension);
+        for (int i = 0; i < dimension; i++) {
+            final int index = indices.get(i).intValue();
+            V._values[2 * i] = getReal(index);
+            V._values[2 * i + 1] = getImaginary(index);
+        }
+        return V;
+    }
+
+    @Override
+    public ComplexVector opposite() {
+        ComplexVector V = newInstance(_dimension);
+        ComplexVector X = contiguous();
+        Float64Kernel.scale(2 * _dimension, -1.0, X._values, X._offset,
+                V._values, 0);
+        return V;
+    }
+
+    /**
+     * Returns the conjugate of this vector.
+     *
+     * @return the vector whose elements are conjugated.
+     */
+    public ComplexVector conjugate() {
+        ComplexVector V = newInstance(_dimension);
+        ComplexVector X = contiguous();
+        ComplexKernel.conjugate(_dimension, X._values, X._offset, V._values,
+                0);
+        return V;
+    }
+
+    @Override
+    public ComplexVector plus(Vector<Complex> that) {
+        ComplexVector T = ComplexVector.valueOfVector(that).contiguous();
+        if (T._dimension != _dimension)
+            throw new DimensionException();
+        ComplexVector V = newInstance(_dimension);
+        ComplexVector X = contiguous();
+        Float64Kernel.add(2 * _dimension, X._values, X._offset, T._values,
+                T._offset, V._values, 0);
+        return V;
+    }
+
+    @Override
+    public ComplexVector minus(Vector<Complex> that) {
+        ComplexVector T = ComplexVector.valueOfVector(that).contiguous();
+        if (T._dimension != _dimension)
+            throw new DimensionException();
+        ComplexVector V = newInstance(_dimension);
+        ComplexVector X = contiguous();
+        Float64Kernel.subtract(2 * _dimension, X._values, X._offset,
+                T._values, T._offset, V._values, 0);
+        return V;
+    }
+
+    @Override
+    public ComplexVector times(Complex k) {
+        ComplexVector V = newInstance(_dimension);
+        ComplexVector X = contiguous();
+        ComplexKernel.scale(_dimension, k.getReal(), k.getImaginary(),
+                X._values, X._offset, V._values, 0);
+        return V;
+    }
+
+    /**
+     * Returns the product of this vector with the specified real
+     * coefficient.
+     *
+     * @param k the coefficient.
+     * @return <code>this * k</code>
+     */
+    public ComplexVector times(double k) {
+        ComplexVector V = newInstance(_dimension);
+        ComplexVector X = contiguous();
+        Float64Kernel.scale(2 * _dimension, k, X._values, X._offset,
+                V._values, 0);
+        return V;
+    }
+
+    /**
+     * Returns the dot product of this vector with the one specified
+     * (no conjugation, see {@link #timesConjugate}).
+     *
+     * @param that the vector multiplier.
+     * @return <code>sum(this<sub>i</sub>·that<sub>i</sub>)</code>
+     * @throws DimensionException if <code>this.dimension() != that.dimension()</code>
+     */
+    @Override
+    public Complex times(Vector<Complex> that) {
+        ComplexVector T = ComplexVector.valueOfVector(that).contiguous();
+        if (T._dimension != _dimension)
+            throw new DimensionException();
+        ComplexVector X = contiguous();
+        double[] result = new double[2];
+        ComplexKernel.dot(_dimension, X._values, X._offset, T._values,
+                T._offset, result);
+        return Complex.valueOf(result[0], result[1]);
+    }
+
+    /**
+     * Returns the hermitian dot product of this vector with the one
+     * specified (this vector being conjugated).
+     *
+     * @param that the vector multiplier.
+     * @return <code>sum(conj(this<sub>i</sub>)·that<sub>i</sub>)</code>
+     * @throws DimensionException if <code>this.dimension() != that.dimension()</code>
+     */
+    public Complex timesConjugate(Vector<Complex> that) {
+        ComplexVector T = ComplexVector.valueOfVector(that).contiguous();
+        if (T._dimension != _dimension)
+            throw new DimensionException();
+        ComplexVector X = contiguous();
+        double[] result = new double[2];
+        ComplexKernel.dotConjugate(_dimension, X._values, X._offset,
+                T._values, T._offset, result);
+        return Complex.valueOf(result[0], result[1]);
+    }
+
+    @Override
+    public ComplexVector cross(Vector<Complex> that) {
+        ComplexVector T = ComplexVector.valueOfVector(that);
+        if ((this._dimension != 3) || (T._dimension != 3))
+            throw new DimensionException(
+                    "The cross product of two vectors requires " + "3-dimensional vectors");
+        Complex a0 = get(0), a1 = get(1), a2 = get(2);
+        Complex b0 = T.get(0), b1 = T.get(1), b2 = T.get(2);
+        return ComplexVector.valueOf(a1.times(b2).minus(a2.times(b1)), a2
+                .times(b0).minus(a0.times(b2)), a0.times(b1).minus(
+                a1.times(b0)));
+    }
+
+    @Override
+    public ComplexVector copy() {
+        ComplexVector V = newInstance(_dimension);
+        if (_stride == 2) {
+            System.arraycopy(_values, _offset, V._values, 0, 2 * _dimension);
+        } else {
+            for (int i = 0, j = _offset; i < 2 * _dimension; i += 2, j += _stride) {
+                V._values[i] = _values[j];
+                V._values[i + 1] = _values[j + 1];
+            }
+        }
+        return V;
+    }
+
+    /**
+     * Returns this vector or a copy of this vector having contiguous
+     * elements (views with non-unit stride).
+     */
+    ComplexVector contiguous() {
+        return (_stride == 2) ? this : copy();
+    }
+    private static final long serialVersionUID = 1L;
+
+}
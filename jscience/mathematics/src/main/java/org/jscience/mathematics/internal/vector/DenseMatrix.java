@@ -129,6 +129,33 @@ public abstract class DenseMatrix<F extends Field<F>> extends Matrix<F> {
         return DenseMatrixImpl.valueOf(rows);
     }
 
+    /**
+     * Sets the {@link javolution.context.LocalContext local} dimension below
+     * which dense matrices are multiplied with the classic algorithm
+     * (Strassen-Winograd recursion above). Low values are appropriate when
+     * the multiplication of elements is much more expensive than their
+     * addition (e.g. {@link org.jscience.mathematics.number.Rational
+     * rationals}).
+     *
+     * @param threshold the minimum dimension for Strassen-Winograd
+     *        recursion.
+     * @throws IllegalArgumentException if <code>threshold &lt; 2</code>
+     */
+    public static void setStrassenThreshold(int threshold) {
+        StrassenLogic.setThreshold(threshold);
+    }
+
+    /**
+     * Returns the {@link javolution.context.LocalContext local} dimension
+     * below which dense matrices are multiplied with the classic algorithm
+     * (default <code>32</code>).
+     *
+     * @return the minimum dimension for Strassen-Winograd recursion.
+     */
+    public static int getStrassenThreshold() {
+        return StrassenLogic.getThreshold();
+    }
+
     /**
      * Default constructor.
      */
@@ -174,18 +201,6 @@ public abstract class DenseMatrix<F extends Field<F>> extends Matrix<F> {
         return LUDecomposition.valueOf(this).inverse();
     }
 
-    /**
-     * Returns the determinant of this matrix. The default implementation
-     * for {@link DenseMatrix} uses the LU decomposition.
-     *
-     * @return <code>LUDecomposition.valueOf(this).determinant()</code>
-     * @throws DimensionException if this matrix is not square.
-     */
-    @Override
-    public F determinant() {
-        return LUDecomposition.valueOf(this).determinant();
-    }
-
     /**
      * Solves this matrix for the specified matrix (returns <code>x</code>
      * such as <code>this · x = y</code>). The default implementation
@@ -18,6 +18,10 @@ import org.jscience.mathematics.structure.Field;
 /**
  * <p> This class represents the dense matrix default implementation.</p>
  *
+ * <p> Products are calculated with the {@link StrassenLogic
+ *     Strassen-Winograd} algorithm above the
+ *     {@link DenseMatrix#getStrassenThreshold threshold}.</p>
+ *
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
  * @version 5.0, December 12, 2007
  */
@@ -87,6 +91,22 @@ final class DenseMatrixImpl<F extends Field<F>> extends DenseMatrix<F> {
         return DenseMatrixImpl.valueOf(Arrays.asList(rows));
     }
 
+    // Returns the matrix having the specified rows (calculated concurrently).
+    static <F extends Field<F>> DenseMatrixImpl<F> newInstance(
+            DenseVectorImpl<F>[] rows) {
+        DenseMatrixImpl<F> M = FACTORY.object();
+        for (int i = 0; i < rows.length; i++) {
+            M._rows.add(rows[i]);
+        }
+        return M;
+    }
+
+    // Returns an array holding the specified number of rows.
+    @SuppressWarnings("unchecked")
+    static <F extends Field<F>> DenseVectorImpl<F>[] newRows(int m) {
+        return (DenseVectorImpl<F>[]) new DenseVectorImpl<?>[m];
+    }
+
     @Override
     public int getNumberOfRows() {
         return _rows.size();
@@ -128,32 +148,57 @@ final class DenseMatrixImpl<F extends Field<F>> extends DenseMatrix<F> {
 
     @Override
     public DenseMatrixImpl<F> opposite() {
-        DenseMatrixImpl<F> M = FACTORY.object();
-        for (int i = 0, m = _rows.size(); i < m; i++) {
-            M._rows.add(_rows.get(i).opposite());
-        }
-        return M;
+        final DenseVectorImpl<F>[] rows = newRows(_rows.size());
+        new RowLogic() {
+            void rows(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    rows[i] = _rows.get(i).opposite();
+                }
+            }
+        }.execute(0, rows.length, rowCost());
+        return newInstance(rows);
     }
 
     @Override
     public DenseMatrixImpl<F> plus(Matrix<F> that) {
-        DenseMatrixImpl<F> M = FACTORY.object();
         final int m = _rows.size();
         if (that.getNumberOfRows() != m)
             throw new DimensionException();
+        @SuppressWarnings("unchecked")
+        final Vector<F>[] others = (Vector<F>[]) new Vector<?>[m]; // Not necessarily thread-safe.
         for (int i = 0; i < m; i++) {
-            M._rows.add(_rows.get(i).plus(that.getRow(i)));
+            others[i] = that.getRow(i);
         }
-        return M;
+        final DenseVectorImpl<F>[] rows = newRows(m);
+        new RowLogic() {
+            void rows(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    rows[i] = _rows.get(i).plus(others[i]);
+                }
+            }
+        }.execute(0, m, rowCost());
+        return newInstance(rows);
     }
 
     @Override
-    public DenseMatrixImpl<F> times(F k) {
-        DenseMatrixImpl<F> M = FACTORY.object();
-        for (int i = 0, m = _rows.size(); i < m; i++) {
-            M._rows.add(_rows.get(i).times(k));
-        }
-        return M;
+    public DenseMatrixImpl<F> times(final F k) {
+        final DenseVectorImpl<F>[] rows = newRows(_rows.size());
+        new RowLogic() {
+            void rows(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    rows[i] = _rows.get(i).times(k);
+                }
+            }
+        }.execute(0, rows.length, rowCost());
+        return newInstance(rows);
+    }
+
+    // Returns the estimated cost of an element-wise operation upon a row.
+    private long rowCost() {
+        if (_rows.isEmpty() || (_rows.get(0).getDimension() == 0))
+            return 0;
+        DenseVectorImpl<F> row = _rows.get(0);
+        return row.getDimension() * RowLogic.weightOf(row.get(0));
     }
 
     @Override
@@ -164,12 +209,28 @@ final class DenseMatrixImpl<F extends Field<F>> extends DenseMatrix<F> {
         final int p = that.getNumberOfColumns(); // Number of columns of that.
         if (n != that.getNumberOfRows())
             throw new DimensionException();
+        Object[] a = new Object[m * n];
+        for (int i = 0; i < m; i++) {
+            DenseVectorImpl<F> row = _rows.get(i);
+            for (int k = 0; k < n; k++) {
+                a[i * n + k] = row.get(k);
+            }
+        }
+        Object[] b = new Object[n * p];
+        for (int k = 0; k < n; k++) {
+            Vector<F> row = that.getRow(k);
+            for (int j = 0; j < p; j++) {
+                b[k * p + j] = row.get(j);
+            }
+        }
+        Object[] c = StrassenLogic.multiply(a, b, m, n, p);
         DenseMatrixImpl<F> M = FACTORY.object();
         for (int i = 0; i < m; i++) {
             DenseVectorImpl<F> V = DenseVectorImpl.FACTORY.object();
             for (int j = 0; j < p; j++) {
-                F element = _rows.get(i).times(that.getColumn(j));
-                V._elements.add(element);
+                @SuppressWarnings("unchecked")
+                F cij = (F) c[i * p + j];
+                V._elements.add(cij);
             }
             M._rows.add(V);
         }
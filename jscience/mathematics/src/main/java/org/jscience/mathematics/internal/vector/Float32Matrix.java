@@ -0,0 +1,492 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.util.Arrays;
+import java.util.List;
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+import javolution.util.Index;
+import org.jscience.mathematics.internal.kernel.Float32Kernel;
+import org.jscience.mathematics.number.Float64;
+
+/**
+ * <p> This class represents a 32 bits floating point dense matrix (half
+ *     the memory of a {@link Float64Matrix}, for memory-bound workloads).</p>
+ *
+ * <p> Elements are held by a single <code>float[]</code> array with the
+ *     same layout as {@link Float64Matrix} (the {@link #transpose transpose},
+ *     the {@link #getRow rows}, the {@link #getColumn columns}, the
+ *     {@link #getDiagonal diagonal} and the sub-matrices with evenly spaced
+ *     indices are views). Elements are exposed as {@link Float64} numbers
+ *     (exact conversion), operands of other types are first
+ *     {@link #valueOfMatrix converted} to 32 bits matrices.</p>
+ *
+ * <p> The results of the operations are rounded to 32 bits; products are
+ *     accumulated in double precision (see {@link Float32Kernel}).
+ *     Decompositions based operations ({@link #inverse inverse},
+ *     {@link #determinant determinant}, {@link #solve solve}) are performed
+ *     upon the {@link #toFloat64 equivalent} 64 bits matrix.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+public class Float32Matrix extends DenseMatrix<Float64> {
+
+    /**
+     * Holds the object factory.
+     */
+    static ObjectFactory<Float32Matrix> FACTORY = new ObjectFactory<Float32Matrix>() {
+
+        @Override
+        protected Float32Matrix create() {
+            return new Float32Matrix();
+        }
+
+        @Override
+        protected void cleanup(Float32Matrix matrix) {
+            matrix._data = null;
+        }
+    };
+
+    /**
+     * Holds the elements (possibly shared with other matrices).
+     */
+    float[] _data;
+
+    /**
+     * Holds the index of the first element.
+     */
+    int _offset;
+
+    /**
+     * Holds the number of rows.
+     */
+    int _m;
+
+    /**
+     * Holds the number of columns.
+     */
+    int _n;
+
+    /**
+     * Holds the distance between consecutive rows.
+     */
+    int _rowStride;
+
+    /**
+     * Holds the distance between consecutive columns.
+     */
+    int _columnStride;
+
+    /**
+     * Returns a new m-by-n matrix (zero elements, contiguous rows).
+     */
+    static Float32Matrix newInstance(int m, int n) {
+        Float32Matrix M = FACTORY.object();
+        M._data = new float[m * n];
+        M._offset = 0;
+        M._m = m;
+        M._n = n;
+        M._rowStride = n;
+        M._columnStride = 1;
+        return M;
+    }
+
+    // Returns a view sharing the elements of this matrix.
+    private Float32Matrix viewOf(int offset, int m, int n, int rowStride,
+            int columnStride) {
+        Float32Matrix M = FACTORY.object();
+        M._data = _data;
+        M._offset = offset;
+        M._m = m;
+        M._n = n;
+        M._rowStride = rowStride;
+        M._columnStride = columnStride;
+        return M;
+    }
+
+    // See parent static method.
+    public static Float32Matrix valueOfList(List<? extends Vector<Float64>> rows) {
+        final int m = rows.size();
+        final int n = rows.get(0).getDimension();
+        Float32Matrix M = Float32Matrix.newInstance(m, n);
+        for (int i = 0; i < m; i++) {
+            Vector<Float64> row = rows.get(i);
+            if (row.getDimension() != n)
+                throw new DimensionException();
+            Float32Vector V = Float32Vector.valueOfVector(row).contiguous();
+            System.arraycopy(V._values, V._offset, M._data, i * n, n);
+        }
+        return M;
+    }
+
+    /**
+     * Returns a {@link Float32Matrix} instance equivalent to the
+     * specified matrix (elements rounded to 32 bits).
+     *
+     * @param that the matrix to convert.
+     * @return <code>that</code> or new equivalent Float32Matrix.
+     */
+    public static Float32Matrix valueOfMatrix(Matrix<Float64> that) {
+        if (that instanceof Float32Matrix)
+            return (Float32Matrix) that;
+        Float64Matrix T = Float64Matrix.valueOfMatrix(that);
+        final int m = T._m;
+        final int n = T._n;
+        Float32Matrix M = Float32Matrix.newInstance(m, n);
+        if ((T._columnStride == 1) && (T._rowStride == n)) {
+            Float32Kernel.narrow(m * n, T._data, T._offset, M._data, 0);
+        } else {
+            for (int i = 0; i < m; i++) {
+                int k = T._offset + i * T._rowStride;
+                for (int j = 0; j < n; j++, k += T._columnStride) {
+                    M._data[i * n + j] = (float) T._data[k];
+                }
+            }
+        }
+        return M;
+    }
+
+    /**
+     * Returns a matrix holding the specified <code>float</code> values.
+     *
+     * @param elements the matrix elements (row by row).
+     * @return the matrix having the specified elements.
+     * @throws DimensionException if the rows do not have the same length.
+     */
+    public static Float32Matrix valueOf(float[][] elements) {
+        final int m = elements.length;
+        final int n = elements[0].length;
+        Float32Matrix M = Float32Matrix.newInstance(m, n);
+        for (int i = 0; i < m; i++) {
+            if (elements[i].length != n)
+                throw new DimensionException();
+            System.arraycopy(elements[i], 0, M._data, i * n, n);
+        }
+        return M;
+    }
+
+    // See parent static method.
+    public static Float32Matrix valueOfVector(Vector<Float64>[] rows) {
+        return Float32Matrix.valueOfList(Arrays.asList(rows));
+    }
+
+    /**
+     * Returns the 64 bits floating point matrix equivalent to this matrix
+     * (exact, contiguous rows).
+     *
+     * @return the corresponding 64 bits matrix.
+     */
+    public Float64Matrix toFloat64() {
+        Float64Matrix M = Float64Matrix.newInstance(_m, _n);
+        if (isRowMajor()) {
+            Float32Kernel.widen(_m * _n, _data, _offset, M._data, 0);
+        } else {
+            for (int i = 0; i < _m; i++) {
+                int k = _offset + i * _rowStride;
+                for (int j = 0; j < _n; j++, k += _columnStride) {
+                    M._data[i * _n + j] = _data[k];
+                }
+            }
+        }
+        return M;
+    }
+
+    /**
+     * Returns the value of a floating point number from this matrix (fast).
+     *
+     * @param  i the floating point number first index.
+     * @param  j the floating point number second index.
+     * @return the value of the floating point number at <code>i,j</code>.
+     * @throws IndexOutOfBoundsException <code>
+     *         ((i &lt; 0) || (i &gt;= m)) || ((j &lt; 0) || (j &gt;= n))</code>
+     */
+    public float getValue(int i, int j) {
+        if ((i < 0) || (i >= _m) || (j < 0) || (j >= _n))
+            throw new IndexOutOfBoundsException();
+        return _data[_offset + i * _rowStride + j * _columnStride];
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return _m;
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return _n;
+    }
+
+    @Override
+    public Float64 get(int i, int j) {
+        return Float64.valueOf(getValue(i, j));
+    }
+
+    /**
+     * Returns the row i of this matrix (view).
+     *
+     * @param i the row index.
+     * @return the vector sharing the elements of the row i.
+     */
+    @Override
+    public Float32Vector getRow(int i) {
+        if ((i < 0) || (i >= _m))
+            throw new IndexOutOfBoundsException();
+        return Float32Vector.viewOf(_data, _offset + i * _rowStride,
+                _columnStride, _n);
+    }
+
+    /**
+     * Returns the column j of this matrix (view).
+     *
+     * @param j the column index.
+     * @return the vector sharing the elements of the column j.
+     */
+    @Override
+    public Float32Vector getColumn(int j) {
+        if ((j < 0) || (j >= _n))
+            throw new IndexOutOfBoundsException();
+        return Float32Vector.viewOf(_data, _offset + j * _columnStride,
+                _rowStride, _m);
+    }
+
+    /**
+     * Returns the diagonal of this matrix (view).
+     *
+     * @return the vector sharing the diagonal elements.
+     */
+    @Override
+    public Float32Vector getDiagonal() {
+        return Float32Vector.viewOf(_data, _offset, _rowStride
+                + _columnStride, MathLib.min(_m, _n));
+    }
+
+    /**
+     * Returns the sub-matrix formed by the elements from the specified
+     * rows and columns. If both the row indices and the column indices are
+     * evenly spaced (e.g. {@link Index#rangeOf ranges}) the sub-matrix
+     * returned is a view sharing the elements of this matrix.
+     *
+     * @return the corresponding sub-matrix.
+     * @throws IndexOutOfBoundsException if any of the indices is greater
+     *         than the associated dimension.
+     */
+    @Override
+    public Float32Matrix getSubMatrix(List<Index> rows, List<Index> columns) {
+        final int m = rows.size();
+        final int n = columns.size();
+        final int rowStep = Float64Matrix.stepOf(rows, _m);
+        final int columnStep = Float64Matrix.stepOf(columns, _n);
+        if ((rowStep != Integer.MIN_VALUE) && (columnStep != Integer.MIN_VALUE))
+            return viewOf(_offset + rows.get(0).intValue() * _rowStride
+                    + columns.get(0).intValue() * _columnStride, m, n,
+                    rowStep * _rowStride, columnStep * _columnStride);
+        Float32Matrix M = Float32Matrix.newInstance(m, n);
+        for (int i = 0; i < m; i++) {
+            final int row = rows.get(i).intValue();
+            for (int j = 0; j < n; j++) {
+                M._data[i * n + j] = getValue(row, columns.get(j).intValue());
+            }
+        }
+        return M;
+    }
+
+    @Override
+    public Float32Matrix opposite() {
+        Float32Matrix A = compact();
+        Float32Matrix M = A.newCompact();
+        Float32Kernel.scale(_m * _n, -1.0, A._data, A._offset, M._data, 0);
+        return M;
+    }
+
+    @Override
+    public Float32Matrix plus(Matrix<Float64> that) {
+        Float32Matrix A = compact();
+        Float32Matrix T = A.sameLayout(Float32Matrix.valueOfMatrix(that));
+        Float32Matrix M = A.newCompact();
+        Float32Kernel.add(_m * _n, A._data, A._offset, T._data, T._offset,
+                M._data, 0);
+        return M;
+    }
+
+    @Override
+    public Float32Matrix minus(Matrix<Float64> that) {
+        Float32Matrix A = compact();
+        Float32Matrix T = A.sameLayout(Float32Matrix.valueOfMatrix(that));
+        Float32Matrix M = A.newCompact();
+        Float32Kernel.subtract(_m * _n, A._data, A._offset, T._data,
+                T._offset, M._data, 0);
+        return M;
+    }
+
+    @Override
+    public Float32Matrix times(Float64 k) {
+        return times(k.doubleValue());
+    }
+
+    /**
+     * Equivalent to <code>this.times(Float64.valueOf(k))</code>
+     *
+     * @param k the coefficient.
+     * @return <code>this * k</code>
+     */
+    public Float32Matrix times(double k) {
+        Float32Matrix A = compact();
+        Float32Matrix M = A.newCompact();
+        Float32Kernel.scale(_m * _n, k, A._data, A._offset, M._data, 0);
+        return M;
+    }
+
+    /**
+     * Returns the product of this matrix with the specified vector
+     * (dot products accumulated in double precision).
+     *
+     * @param v the vector.
+     * @return <code>this · v</code>
+     * @throws DimensionException if <code>
+     *         v.getDimension() != this.getNumberOfColumns()<code>
+     */
+    @Override
+    public Float32Vector times(Vector<Float64> v) {
+        Float32Vector X = Float32Vector.valueOfVector(v).contiguous();
+        if (X._dimension != _n)
+            throw new DimensionException();
+        Float32Vector V = Float32Vector.newInstance(_m);
+        Float32Kernel.gemv(_m, _n, _data, _offset, _rowStride, _columnStride,
+                X._values, X._offset, V._values, 0);
+        return V;
+    }
+
+    @Override
+    public Float32Matrix times(Matrix<Float64> that) {
+        //  This is a m-by-n matrix and that is a n-by-p matrix, the matrix result is mxp
+        final int m = _m;
+        final int n = _n;
+        final int p = that.getNumberOfColumns(); // Number of columns of that.
+        if (n != that.getNumberOfRows())
+            throw new DimensionException();
+        Float32Matrix T = Float32Matrix.valueOfMatrix(that);
+        Float32Matrix M = Float32Matrix.newInstance(m, p);
+        Float32Kernel.gemm(m, n, p, _data, _offset, _rowStride,
+                _columnStride, T._data, T._offset, T._rowStride,
+                T._columnStride, M._data, 0, p);
+        return M;
+    }
+
+    /**
+     * Returns the inverse of this matrix (must be square) calculated
+     * in double precision through the {@link Float64LUDecomposition
+     * blocked LU decomposition}.
+     *
+     * @return <code>1 / this</code>
+     * @throws DimensionException if this matrix is not square.
+     */
+    @Override
+    public Float32Matrix inverse() {
+        return valueOfMatrix(Float64LUDecomposition.valueOf(toFloat64())
+                .inverse());
+    }
+
+    /**
+     * Returns the determinant of this matrix calculated in double precision
+     * through the {@link Float64LUDecomposition blocked LU decomposition}.
+     *
+     * @return this matrix determinant.
+     * @throws DimensionException if this matrix is not square.
+     */
+    @Override
+    public Float64 determinant() {
+        return Float64LUDecomposition.valueOf(toFloat64()).determinant();
+    }
+
+    /**
+     * Solves this matrix for the specified matrix in double precision
+     * through the {@link Float64LUDecomposition blocked LU decomposition}.
+     *
+     * @param  y the matrix for which the solution is calculated.
+     * @return the solution rounded to 32 bits.
+     * @throws DimensionException if this matrix is not square or dimensions
+     *         do not match.
+     */
+    @Override
+    public Float32Matrix solve(Matrix<Float64> y) {
+        return valueOfMatrix(Float64LUDecomposition.valueOf(toFloat64())
+                .solve(y));
+    }
+
+    /**
+     * Returns the transpose of this matrix (view).
+     *
+     * @return the matrix sharing the elements of this matrix.
+     */
+    @Override
+    public Float32Matrix transpose() {
+        return viewOf(_offset, _n, _m, _columnStride, _rowStride);
+    }
+
+    /**
+     * Returns a copy of this matrix with contiguous rows (not a view).
+     *
+     * @return a copy of this matrix.
+     */
+    @Override
+    public Float32Matrix copy() {
+        Float32Matrix M = Float32Matrix.newInstance(_m, _n);
+        if (isRowMajor()) {
+            System.arraycopy(_data, _offset, M._data, 0, _m * _n);
+        } else {
+            for (int i = 0; i < _m; i++) {
+                int k = _offset + i * _rowStride;
+                for (int j = 0; j < _n; j++, k += _columnStride) {
+                    M._data[i * _n + j] = _data[k];
+                }
+            }
+        }
+        return M;
+    }
+
+    // Indicates if the elements are contiguous, row by row.
+    private boolean isRowMajor() {
+        return (_columnStride == 1) && (_rowStride == _n);
+    }
+
+    // Indicates if the elements are contiguous, column by column.
+    private boolean isColumnMajor() {
+        return (_rowStride == 1) && (_columnStride == _m);
+    }
+
+    // Returns this matrix or a copy having contiguous elements.
+    private Float32Matrix compact() {
+        return (isRowMajor() || isColumnMajor()) ? this : copy();
+    }
+
+    // Returns a new matrix with the same layout as this compact matrix.
+    private Float32Matrix newCompact() {
+        Float32Matrix M = Float32Matrix.newInstance(_m, _n);
+        M._rowStride = _rowStride;
+        M._columnStride = _columnStride;
+        return M;
+    }
+
+    // Returns the specified matrix or a copy having the layout of this
+    // compact matrix.
+    private Float32Matrix sameLayout(Float32Matrix that) {
+        if ((that._m != _m) || (that._n != _n))
+            throw new DimensionException();
+        if ((that._rowStride == _rowStride)
+                && (that._columnStride == _columnStride))
+            return that;
+        return isRowMajor() ? that.copy() : that.transpose().copy()
+                .transpose();
+    }
+
+    private static final long serialVersionUID = 1L;
+
+}
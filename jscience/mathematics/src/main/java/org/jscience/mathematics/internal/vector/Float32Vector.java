@@ -0,0 +1,327 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.util.List;
+import javolution.context.ArrayFactory;
+
+import javolution.util.FastTable;
+import javolution.util.Index;
+import org.jscience.mathematics.internal.kernel.Float32Kernel;
+import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.structure.VectorSpaceNormed;
+
+/**
+ * <p> This class represents an optimized {@link DenseVector}
+ *     implementation for 32 bits floating point elements (half the memory
+ *     of a {@link Float64Vector}, for memory-bound workloads).</p>
+ *
+ * <p> Elements are held by a <code>float[]</code> array and exposed as
+ *     {@link Float64} numbers (exact conversion); the results of the
+ *     operations are rounded to 32 bits, dot products and norms are
+ *     accumulated in double precision. Operands of other types are first
+ *     {@link #valueOfVector converted} to 32 bits vectors.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+public class Float32Vector extends DenseVector<Float64> implements
+        VectorSpaceNormed<Vector<Float64>, Float64> {
+
+    /**
+     * Holds factory for vectors with variable size arrays.
+     */
+    static final ArrayFactory<Float32Vector> FACTORY = new ArrayFactory<Float32Vector>() {
+
+        @Override
+        protected Float32Vector create(int capacity) {
+            return new Float32Vector(capacity);
+        }
+    };
+
+    /**
+     * Holds the dimension.
+     */
+    int _dimension;
+
+    /**
+     * Holds the values.
+     */
+    final float[] _values;
+
+    /**
+     * Holds the index of the first element (views).
+     */
+    final int _offset;
+
+    /**
+     * Holds the distance between consecutive elements (views).
+     */
+    final int _stride;
+
+    /**
+     * Creates a vector of specified capacity.
+     */
+    private Float32Vector(int capacity) {
+        _values = new float[capacity];
+        _offset = 0;
+        _stride = 1;
+    }
+
+    /**
+     * Creates a view sharing the specified values.
+     */
+    private Float32Vector(float[] values, int offset, int stride,
+            int dimension) {
+        _values = values;
+        _offset = offset;
+        _stride = stride;
+        _dimension = dimension;
+    }
+
+    /**
+     * Returns a vector view over the specified values (no copy).
+     * The element <code>i</code> of the view is
+     * <code>values[offset + i·stride]</code>.
+     */
+    static Float32Vector viewOf(float[] values, int offset, int stride,
+            int dimension) {
+        return new Float32Vector(values, offset, stride, dimension);
+    }
+
+    /**
+     * Returns a new vector of specified dimension (elements not initialized).
+     */
+    static Float32Vector newInstance(int dimension) {
+        Float32Vector V = FACTORY.array(dimension);
+        V._dimension = dimension;
+        return V;
+    }
+
+    /**
+     * Returns a new vector holding the specified <code>float</code> values.
+     *
+     * @param values the vector values.
+     * @return the vector having the specified values.
+     */
+    public static Float32Vector valueOf(float... values) {
+        int n = values.length;
+        Float32Vector V = newInstance(n);
+        System.arraycopy(values, 0, V._values, 0, n);
+        return V;
+    }
+
+    /**
+     * Returns a {@link Float32Vector} instance equivalent to the
+     * specified vector (elements rounded to 32 bits).
+     *
+     * @param that the vector to convert.
+     * @return <code>that</code> or new equivalent Float32Vector.
+     */
+    public static Float32Vector valueOfVector(Vector<Float64> that) {
+        if (that instanceof Float32Vector)
+            return (Float32Vector) that;
+        int n = that.getDimension();
+        Float32Vector V = newInstance(n);
+        if (that instanceof Float64Vector) {
+            Float64Vector X = ((Float64Vector) that).contiguous();
+            Float32Kernel.narrow(n, X._values, X._offset, V._values, 0);
+            return V;
+        }
+        for (int i = 0; i < n; i++) {
+            V._values[i] = (float) that.get(i).doubleValue();
+        }
+        return V;
+    }
+
+    /**
+     * Returns the 64 bits floating point vector equivalent to this vector
+     * (exact).
+     *
+     * @return the corresponding 64 bits vector.
+     */
+    public Float64Vector toFloat64() {
+        Float32Vector X = contiguous();
+        Float64Vector V = Float64Vector.FACTORY.array(_dimension);
+        V._dimension = _dimension;
+        Float32Kernel.widen(_dimension, X._values, X._offset, V._values, 0);
+        return V;
+    }
+
+    /**
+     * Returns the value of a floating point number from this vector (fast).
+     *
+     * @param  i the floating point number index.
+     * @return the value of the floating point number at <code>i</code>.
+     * @throws IndexOutOfBoundsException <code>(i &lt; 0) || (i &gt;= dimension())</code>
+     */
+    public float getValue(int i) {
+        if ((i < 0) || (i >= _dimension))
+            throw new ArrayIndexOutOfBoundsException();
+        return _values[_offset + i * _stride];
+    }
+
+    /**
+     * Returns the Euclidian norm of this vector (square root of the
+     * dot product of this vector and itself).
+     *
+     * @return <code>sqrt(this · this)</code>.
+     */
+    public Float64 norm() {
+        return Float64.valueOf(normValue());
+    }
+
+    /**
+     * Returns the {@link #norm()} value of this vector (double precision).
+     *
+     * @return <code>this.norm().doubleValue()</code>.
+     */
+    public double normValue() {
+        Float32Vector X = contiguous();
+        return Float32Kernel.norm(_dimension, X._values, X._offset);
+    }
+
+    @Override
+    public List<Float64> asList() {
+        FastTable<Float64> list = FastTable.newInstance();
+        for (int i = 0; i < _dimension; i++) {
+            list.add(Float64.valueOf(_values[_offset + i * _stride]));
+        }
+        return list.unmodifiable();
+    }
+
+    @Override
+    public int getDimension() {
+        return _dimension;
+    }
+
+    @Override
+    public Float64 get(int i) {
+        if ((i < 0) || (i >= _dimension))
+            throw new IndexOutOfBoundsException();
+        return Float64.valueOf(_values[_offset + i * _stride]);
+    }
+
+    @Override
+    public Float32Vector getSubVector(List<Index> indices) {
+        int dimension = indices.size();
+        Float32Vector V = newInstance(dimension);
+        for (int i = 0; i < dimension; i++) {
+            V._values[i] = getValue(indices.get(i).intValue());
+        }
+        return V;
+    }
+
+    @Override
+    public Float32Vector opposite() {
+        Float32Vector V = newInstance(_dimension);
+        Float32Vector X = contiguous();
+        Float32Kernel.scale(_dimension, -1.0, X._values, X._offset,
+                V._values, 0);
+        return V;
+    }
+
+    @Override
+    public Float32Vector plus(Vector<Float64> that) {
+        Float32Vector T = Float32Vector.valueOfVector(that).contiguous();
+        if (T._dimension != _dimension)
+            throw new DimensionException();
+        Float32Vector V = newInstance(_dimension);
+        Float32Vector X = contiguous();
+        Float32Kernel.add(_dimension, X._values, X._offset, T._values,
+                T._offset, V._values, 0);
+        return V;
+    }
+
+    @Override
+    public Float32Vector minus(Vector<Float64> that) {
+        Float32Vector T = Float32Vector.valueOfVector(that).contiguous();
+        if (T._dimension != _dimension)
+            throw new DimensionException();
+        Float32Vector V = newInstance(_dimension);
+        Float32Vector X = contiguous();
+        Float32Kernel.subtract(_dimension, X._values, X._offset, T._values,
+                T._offset, V._values, 0);
+        return V;
+    }
+
+    @Override
+    public Float32Vector times(Float64 k) {
+        return times(k.doubleValue());
+    }
+
+    /**
+     * Equivalent to <code>this.times(Float64.valueOf(k))</code>
+     *
+     * @param k the coefficient.
+     * @return <code>this * k</code>
+     */
+    public Float32Vector times(double k) {
+        Float32Vector V = newInstance(_dimension);
+        Float32Vector X = contiguous();
+        Float32Kernel.scale(_dimension, k, X._values, X._offset, V._values,
+                0);
+        return V;
+    }
+
+    /**
+     * Returns the dot product of this vector with the one specified
+     * (accumulated in double precision).
+     *
+     * @param that the vector multiplier.
+     * @return <code>this · that</code>
+     * @throws DimensionException if <code>this.dimension() != that.dimension()</code>
+     */
+    @Override
+    public Float64 times(Vector<Float64> that) {
+        Float32Vector T = Float32Vector.valueOfVector(that).contiguous();
+        if (T._dimension != _dimension)
+            throw new DimensionException();
+        Float32Vector X = contiguous();
+        return Float64.valueOf(Float32Kernel.dot(_dimension, X._values,
+                X._offset, T._values, T._offset));
+    }
+
+    @Override
+    public Float32Vector cross(Vector<Float64> that) {
+        Float32Vector T = Float32Vector.valueOfVector(that);
+        if ((this._dimension != 3) || (T._dimension != 3))
+            throw new DimensionException(
+                    "The cross product of two vectors requires " + "3-dimensional vectors");
+        double a0 = getValue(0), a1 = getValue(1), a2 = getValue(2);
+        double b0 = T.getValue(0), b1 = T.getValue(1), b2 = T.getValue(2);
+        float x = (float) (a1 * b2 - a2 * b1);
+        float y = (float) (a2 * b0 - a0 * b2);
+        float z = (float) (a0 * b1 - a1 * b0);
+        return Float32Vector.valueOf(x, y, z);
+    }
+
+    @Override
+    public Float32Vector copy() {
+        Float32Vector V = newInstance(_dimension);
+        if (_stride == 1) {
+            System.arraycopy(_values, _offset, V._values, 0, _dimension);
+        } else {
+            for (int i = 0, j = _offset; i < _dimension; i++, j += _stride) {
+                V._values[i] = _values[j];
+            }
+        }
+        return V;
+    }
+
+    /**
+     * Returns this vector or a copy of this vector having contiguous
+     * elements (views with non-unit stride).
+     */
+    Float32Vector contiguous() {
+        return (_stride == 1) ? this : copy();
+    }
+    private static final long serialVersionUID = 1L;
+
+}
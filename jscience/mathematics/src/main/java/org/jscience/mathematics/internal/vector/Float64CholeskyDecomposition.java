@@ -0,0 +1,271 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+import org.jscience.mathematics.number.Float64;
+
+/**
+ * <p> This class represents the Cholesky decomposition
+ *     (<code>A = L·Lᵀ</code>) of a 64 bits floating point symmetric positive
+ *     definite matrix (covariance matrices, normal equations, stiffness
+ *     matrices); only the lower triangle of the matrix source is read.</p>
+ *
+ * <p> The decomposition requires half the operations of the
+ *     {@link Float64LUDecomposition LU decomposition} and no pivoting. It is
+ *     right-looking and blocked: the trailing matrix is updated column
+ *     block by column block (lower triangle only) through the
+ *     {@link Float64Kernel#gemm cache-blocked matrix product} which is
+ *     performed concurrently for large matrices.
+ *     [code]
+ *         Float64CholeskyDecomposition cholesky = Float64CholeskyDecomposition.valueOf(covariance);
+ *         Float64Matrix X = cholesky.solve(B);
+ *     [/code]</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see CholeskyDecomposition
+ * @see <a href="http://en.wikipedia.org/wiki/Cholesky_decomposition">
+ *      Wikipedia: Cholesky decomposition</a>
+ */
+public final class Float64CholeskyDecomposition {
+
+    /**
+     * Holds the number of columns per panel.
+     */
+    static final int NB = 64;
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<Float64CholeskyDecomposition> FACTORY = new ObjectFactory<Float64CholeskyDecomposition>() {
+        protected Float64CholeskyDecomposition create() {
+            return new Float64CholeskyDecomposition();
+        }
+
+        @Override
+        protected void cleanup(Float64CholeskyDecomposition cholesky) {
+            cholesky._l = null;
+        }
+    };
+
+    /**
+     * Holds the dimension of the square matrix source.
+     */
+    private int _n;
+
+    /**
+     * Holds the lower triangular factor (row-major, the upper part is
+     * not significant).
+     */
+    private double[] _l;
+
+    /**
+     * Default constructor.
+     */
+    private Float64CholeskyDecomposition() {
+    }
+
+    /**
+     * Returns the Cholesky decomposition of the specified symmetric positive
+     * definite matrix.
+     *
+     * @param  source the matrix for which the decomposition is calculated.
+     * @return the Cholesky decomposition of the specified matrix.
+     * @throws DimensionException if the specified matrix is not square.
+     * @throws ArithmeticException if the specified matrix is not positive
+     *         definite.
+     */
+    public static Float64CholeskyDecomposition valueOf(Matrix<Float64> source) {
+        if (!source.isSquare())
+            throw new DimensionException("Matrix is not square");
+        Float64CholeskyDecomposition cholesky = FACTORY.object();
+        cholesky._n = source.getNumberOfRows();
+        cholesky._l = (source instanceof Float64SymmetricMatrix) ? ((Float64SymmetricMatrix) source)
+                .toArray()
+                : Float64Matrix.valueOfMatrix(source).copy()._data;
+        cholesky.construct();
+        return cholesky;
+    }
+
+    // Right-looking blocked decomposition.
+    private void construct() {
+        final int n = _n;
+        final double[] a = _l;
+        for (int k = 0; k < n; k += NB) {
+            final int kb = MathLib.min(k + NB, n);
+            final int nb = kb - k;
+            for (int j = k; j < kb; j++) { // Diagonal block.
+                final int rj = j * n;
+                final double d = a[rj + j]
+                        - Float64Kernel.dot(j - k, a, rj + k, a, rj + k);
+                if (!(d > 0))
+                    throw new ArithmeticException(
+                            "Matrix is not positive definite");
+                final double ljj = MathLib.sqrt(d);
+                a[rj + j] = ljj;
+                for (int i = j + 1; i < kb; i++) {
+                    final int ri = i * n;
+                    a[ri + j] = (a[ri + j] - Float64Kernel.dot(j - k, a, ri
+                            + k, a, rj + k))
+                            / ljj;
+                }
+            }
+            if (kb == n)
+                break;
+            for (int i = kb; i < n; i++) { // L21 = A21·inv(L11)ᵀ
+                final int ri = i * n;
+                for (int j = k; j < kb; j++) {
+                    final int rj = j * n;
+                    a[ri + j] = (a[ri + j] - Float64Kernel.dot(j - k, a, ri
+                            + k, a, rj + k))
+                            / a[rj + j];
+                }
+            }
+            // A22 = A22 - L21·L21ᵀ (lower part, per blocks of columns).
+            double[] opposite = new double[(n - kb) * nb];
+            for (int i = kb; i < n; i++) {
+                Float64Kernel.scale(nb, -1.0, a, i * n + k, opposite, (i - kb)
+                        * nb);
+            }
+            for (int j = kb; j < n; j += NB) {
+                final int jb = MathLib.min(j + NB, n);
+                Float64Kernel.gemm(n - j, nb, jb - j, opposite, (j - kb) * nb,
+                        nb, 1, a, j * n + k, 1, n, a, j * n + j, n);
+            }
+        }
+    }
+
+    /**
+     * Returns the solution X of the equation: A * X = B  with
+     * <code>this = A.cholesky()</code> using blocked forward and back
+     * substitutions.
+     *
+     * @param  B the input matrix.
+     * @return the solution X = (1 / A) * B.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public Float64Matrix solve(Matrix<Float64> B) {
+        if (_n != B.getNumberOfRows())
+            throw new DimensionException("Input vector has "
+                    + B.getNumberOfRows() + " rows instead of " + _n);
+        Float64Matrix X = Float64Matrix.valueOfMatrix(B).copy();
+        substitute(X._data, X._n);
+        return X;
+    }
+
+    /**
+     * Returns the solution x of the equation: A * x = b (convenience
+     * method).
+     *
+     * @param  b the input elements.
+     * @return the solution elements.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public double[] solve(double[] b) {
+        if (_n != b.length)
+            throw new DimensionException("Input vector has " + b.length
+                    + " elements instead of " + _n);
+        double[] x = b.clone();
+        substitute(x, 1);
+        return x;
+    }
+
+    /**
+     * Returns the inverse of the matrix source.
+     *
+     * @return <code>this.solve(Identity)</code>
+     */
+    public Float64Matrix inverse() {
+        Float64Matrix X = Float64Matrix.newInstance(_n, _n);
+        for (int i = 0; i < _n; i++) {
+            X._data[i * _n + i] = 1.0;
+        }
+        substitute(X._data, _n);
+        return X;
+    }
+
+    /**
+     * Returns the determinant of the matrix source.
+     *
+     * @return the product of the square of the diagonal elements of L.
+     */
+    public Float64 determinant() {
+        double product = 1.0;
+        for (int i = 0; i < _n; i++) {
+            final double lii = _l[i * _n + i];
+            product *= lii * lii;
+        }
+        return Float64.valueOf(product);
+    }
+
+    /**
+     * Returns the lower triangular factor L.
+     *
+     * @return L such as <code>A = L·Lᵀ</code>.
+     */
+    public Float64Matrix getL() {
+        Float64Matrix L = Float64Matrix.newInstance(_n, _n);
+        for (int i = 0; i < _n; i++) {
+            System.arraycopy(_l, i * _n, L._data, i * _n, i + 1);
+        }
+        return L;
+    }
+
+    // Solves L·Lᵀ·X = Y in place (Y n-by-p with contiguous rows).
+    private void substitute(double[] x, int p) {
+        final int n = _n;
+        final double[] a = _l;
+        // Solves L·Z = Y
+        for (int k = 0; k < n; k += NB) {
+            final int kb = MathLib.min(k + NB, n);
+            for (int i = k; i < kb; i++) {
+                for (int t = k; t < i; t++) {
+                    Float64Kernel.axpy(p, -a[i * n + t], x, t * p, x, i * p);
+                }
+                Float64Kernel.scale(p, 1.0 / a[i * n + i], x, i * p, x, i * p);
+            }
+            if (kb < n) {
+                multiplySubtract(n - kb, kb - k, p, a, kb * n + k, n, 1, x,
+                        k * p, p, x, kb * p, p);
+            }
+        }
+        // Solves Lᵀ·X = Z
+        for (int k = (n - 1) / NB * NB; k >= 0; k -= NB) {
+            final int kb = MathLib.min(k + NB, n);
+            for (int i = kb - 1; i >= k; i--) {
+                for (int t = i + 1; t < kb; t++) {
+                    Float64Kernel.axpy(p, -a[t * n + i], x, t * p, x, i * p);
+                }
+                Float64Kernel.scale(p, 1.0 / a[i * n + i], x, i * p, x, i * p);
+            }
+            if (k > 0) {
+                multiplySubtract(k, kb - k, p, a, k * n, 1, n, x, k * p, p,
+                        x, 0, p);
+            }
+        }
+    }
+
+    // Performs C = C - A·B (B and C with contiguous rows).
+    private static void multiplySubtract(int m, int k, int p, double[] a,
+            int ao, int ars, int acs, double[] b, int bo, int brs,
+            double[] c, int co, int crs) {
+        double[] opposite = new double[m * k];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < k; j++) {
+                opposite[i * k + j] = -a[ao + i * ars + j * acs];
+            }
+        }
+        Float64Kernel.gemm(m, k, p, opposite, 0, k, 1, b, bo, brs, 1, c, co,
+                crs);
+    }
+}
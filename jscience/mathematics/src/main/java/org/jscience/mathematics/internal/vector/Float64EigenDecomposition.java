@@ -0,0 +1,782 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+import org.jscience.mathematics.number.Float64;
+
+/**
+ * <p> This class represents the eigen decomposition
+ *     <code>A·V = V·D</code> of a 64 bits floating point square matrix.</p>
+ *
+ * <p> If the matrix is symmetric (e.g. a {@link Float64SymmetricMatrix}),
+ *     it is reduced to tridiagonal form by Householder similarities (the
+ *     symmetric matrix-vector products and rank-2 updates are performed
+ *     concurrently per ranges of rows) and the eigenvalues are obtained by
+ *     the implicit QL algorithm; the eigenvalues are real (in ascending
+ *     order), <code>D</code> is diagonal and <code>V</code> orthogonal
+ *     (<code>A = V·D·Vᵀ</code>).
+ *     [code]
+ *         Float64EigenDecomposition pca = Float64EigenDecomposition.valueOf(covariance);
+ *         double[] variances = pca.getRealEigenvalues(); // Ascending.
+ *         Float64Matrix axes = pca.getV(); // Principal axes (columns).
+ *     [/code]</p>
+ *
+ * <p> Otherwise the matrix is reduced to Hessenberg form and then to the
+ *     real Schur form by the Francis double shift QR algorithm. Complex
+ *     eigenvalues come by conjugate pairs
+ *     <code>λ ± iμ</code>, <code>D</code> has the corresponding 2x2 blocks
+ *     <code>[λ, μ; -μ, λ]</code> and the columns of <code>V</code> hold the
+ *     real and imaginary parts of the eigenvectors (not normalized).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see Float64SingularValueDecomposition
+ * @see <a href="http://en.wikipedia.org/wiki/Eigendecomposition_of_a_matrix">
+ *      Wikipedia: Eigendecomposition of a matrix</a>
+ */
+public final class Float64EigenDecomposition {
+
+    /**
+     * Holds the relative machine precision.
+     */
+    static final double EPSILON = 0x1.0p-52;
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<Float64EigenDecomposition> FACTORY = new ObjectFactory<Float64EigenDecomposition>() {
+        protected Float64EigenDecomposition create() {
+            return new Float64EigenDecomposition();
+        }
+
+        @Override
+        protected void cleanup(Float64EigenDecomposition eigen) {
+            eigen._real = null;
+            eigen._imaginary = null;
+            eigen._v = null;
+        }
+    };
+
+    /**
+     * Holds the dimension of the square matrix source.
+     */
+    private int _n;
+
+    /**
+     * Holds the real parts of the eigenvalues.
+     */
+    private double[] _real;
+
+    /**
+     * Holds the imaginary parts of the eigenvalues.
+     */
+    private double[] _imaginary;
+
+    /**
+     * Holds the eigenvectors (column-major).
+     */
+    private double[] _v;
+
+    /**
+     * Default constructor.
+     */
+    private Float64EigenDecomposition() {
+    }
+
+    /**
+     * Returns the eigen decomposition of the specified square matrix.
+     *
+     * @param  source the matrix for which the decomposition is calculated.
+     * @return the eigen decomposition of the specified matrix.
+     * @throws DimensionException if the specified matrix is not square.
+     */
+    public static Float64EigenDecomposition valueOf(Matrix<Float64> source) {
+        if (!source.isSquare())
+            throw new DimensionException("Matrix is not square");
+        Float64EigenDecomposition eigen = FACTORY.object();
+        final int n = source.getNumberOfRows();
+        eigen._n = n;
+        eigen._real = new double[n];
+        eigen._imaginary = new double[n];
+        if (source instanceof Float64SymmetricMatrix) {
+            eigen.constructSymmetric(((Float64SymmetricMatrix) source)
+                    .toArray());
+            return eigen;
+        }
+        double[] a = Float64Matrix.valueOfMatrix(source).copy()._data;
+        if (isSymmetric(a, n)) {
+            eigen.constructSymmetric(a);
+        } else {
+            eigen.constructGeneral(a);
+        }
+        return eigen;
+    }
+
+    private static boolean isSymmetric(double[] a, int n) {
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                if (a[i * n + j] != a[j * n + i])
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    // Tridiagonal reduction (row-major a) followed by implicit QL.
+    private void constructSymmetric(double[] a) {
+        final int n = _n;
+        final double[] d = _real;
+        final double[] e = new double[n];
+        final double[] q = new double[n * n]; // Column-major.
+        final double[] tau = new double[n];
+        final double[] v = new double[n];
+        final double[] w = new double[n];
+        for (int k = 0; k < n - 2; k++) {
+            final int c = k + 1;
+            final int length = n - c;
+            final int x = k * n + c; // Row k, right of the diagonal.
+            final double alpha = a[x];
+            final double sigma = Float64Kernel.norm(length - 1, a, x + 1);
+            d[k] = a[k * n + k];
+            if (sigma == 0) {
+                e[k] = alpha;
+                continue;
+            }
+            final double norm = MathLib.sqrt(alpha * alpha + sigma * sigma);
+            final double beta = (alpha >= 0) ? -norm : norm;
+            final double t = (beta - alpha) / beta;
+            v[0] = 1.0;
+            Float64Kernel.scale(length - 1, 1.0 / (alpha - beta), a, x + 1,
+                    v, 1);
+            System.arraycopy(v, 1, q, c * n + c + 1, length - 1);
+            e[k] = beta;
+            tau[c] = t;
+
+            // A22 = H·A22·H = A22 - v·wᵀ - w·vᵀ
+            ReductionLogic.product(a, n, c, t, v, w); // p = tau·A22·v
+            final double K = -0.5 * t * Float64Kernel.dot(length, w, 0, v, 0);
+            Float64Kernel.axpy(length, K, v, 0, w, 0); // w = p + K·v
+            ReductionLogic.rank2(a, n, c, v, w);
+        }
+        if (n >= 2) {
+            d[n - 2] = a[(n - 2) * n + n - 2];
+            e[n - 2] = a[(n - 1) * n + n - 2];
+        }
+        if (n >= 1) {
+            d[n - 1] = a[(n - 1) * n + n - 1];
+            q[0] = 1.0;
+            q[n * n - 1] = 1.0;
+        }
+
+        // Q = H(0)·...·H(n-3) (backward accumulation, column-major).
+        for (int c = n - 2; c >= 1; c--) {
+            HouseholderLogic.apply(q, n, c, tau[c], c + 1, n);
+            final int cc = c * n + c;
+            q[cc] = 1.0 - tau[c];
+            Float64Kernel.scale(n - c - 1, -tau[c], q, cc + 1, q, cc + 1);
+        }
+        _v = q;
+        tql(n, d, e, q);
+    }
+
+    // Implicit QL of the symmetric tridiagonal matrix (d, e) with the
+    // rotations applied to the columns of v (column-major, e[i] holds the
+    // element between i and i + 1), eigenvalues in ascending order.
+    static void tql(int n, double[] d, double[] e, double[] v) {
+        double f = 0;
+        double tst1 = 0;
+        for (int l = 0; l < n; l++) {
+            tst1 = MathLib.max(tst1, MathLib.abs(d[l]) + MathLib.abs(e[l]));
+            int m = l;
+            while (m < n - 1) {
+                if (MathLib.abs(e[m]) <= EPSILON * tst1)
+                    break;
+                m++;
+            }
+            if (m > l) {
+                do {
+                    double g = d[l];
+                    double p = (d[l + 1] - g) / (2.0 * e[l]);
+                    double r = hypot(p, 1.0);
+                    if (p < 0) {
+                        r = -r;
+                    }
+                    d[l] = e[l] / (p + r);
+                    d[l + 1] = e[l] * (p + r);
+                    final double dl1 = d[l + 1];
+                    double h = g - d[l];
+                    for (int i = l + 2; i < n; i++) {
+                        d[i] -= h;
+                    }
+                    f += h;
+                    p = d[m];
+                    double c = 1.0, c2 = 1.0, c3 = 1.0;
+                    final double el1 = e[l + 1];
+                    double s = 0.0, s2 = 0.0;
+                    for (int i = m - 1; i >= l; i--) {
+                        c3 = c2;
+                        c2 = c;
+                        s2 = s;
+                        g = c * e[i];
+                        h = c * p;
+                        r = hypot(p, e[i]);
+                        e[i + 1] = s * r;
+                        s = e[i] / r;
+                        c = p / r;
+                        p = c * d[i] - s * g;
+                        d[i + 1] = h + s * (c * g + s * d[i]);
+                        final int vi = i * n;
+                        final int vj = vi + n;
+                        for (int k = 0; k < n; k++) {
+                            h = v[vj + k];
+                            v[vj + k] = s * v[vi + k] + c * h;
+                            v[vi + k] = c * v[vi + k] - s * h;
+                        }
+                    }
+                    p = -s * s2 * c3 * el1 * e[l] / dl1;
+                    e[l] = s * p;
+                    d[l] = c * p;
+                } while (MathLib.abs(e[l]) > EPSILON * tst1);
+            }
+            d[l] += f;
+            e[l] = 0;
+        }
+        for (int i = 0; i < n - 1; i++) { // Ascending order.
+            int k = i;
+            for (int j = i + 1; j < n; j++) {
+                if (d[j] < d[k]) {
+                    k = j;
+                }
+            }
+            if (k != i) {
+                final double tmp = d[k];
+                d[k] = d[i];
+                d[i] = tmp;
+                double[] column = new double[n];
+                System.arraycopy(v, i * n, column, 0, n);
+                System.arraycopy(v, k * n, v, i * n, n);
+                System.arraycopy(column, 0, v, k * n, n);
+            }
+        }
+    }
+
+    // Hessenberg reduction followed by the real Schur form.
+    private void constructGeneral(double[] a) {
+        final int n = _n;
+        double[][] H = new double[n][];
+        for (int i = 0; i < n; i++) {
+            H[i] = new double[n];
+            System.arraycopy(a, i * n, H[i], 0, n);
+        }
+        double[][] V = new double[n][n];
+        hessenberg(H, V);
+        schur(H, V);
+        _v = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                _v[j * n + i] = V[i][j];
+            }
+        }
+    }
+
+    // Householder reduction to Hessenberg form (V accumulates the
+    // transformations).
+    private void hessenberg(double[][] H, double[][] V) {
+        final int n = _n;
+        final int high = n - 1;
+        double[] ort = new double[n];
+        for (int m = 1; m <= high - 1; m++) {
+            double scale = 0.0;
+            for (int i = m; i <= high; i++) {
+                scale += MathLib.abs(H[i][m - 1]);
+            }
+            if (scale == 0.0)
+                continue;
+            double h = 0.0;
+            for (int i = high; i >= m; i--) {
+                ort[i] = H[i][m - 1] / scale;
+                h += ort[i] * ort[i];
+            }
+            double g = MathLib.sqrt(h);
+            if (ort[m] > 0) {
+                g = -g;
+            }
+            h -= ort[m] * g;
+            ort[m] -= g;
+
+            // H = (I - u·uᵀ/h)·H·(I - u·uᵀ/h)
+            double[] f = new double[n];
+            for (int i = m; i <= high; i++) { // f = uᵀ·H (rows m..high)
+                Float64Kernel.axpy(n - m, ort[i], H[i], m, f, m);
+            }
+            for (int i = m; i <= high; i++) {
+                Float64Kernel.axpy(n - m, -ort[i] / h, f, m, H[i], m);
+            }
+            for (int i = 0; i <= high; i++) {
+                final double s = Float64Kernel.dot(high - m + 1, ort, m,
+                        H[i], m) / h;
+                Float64Kernel.axpy(high - m + 1, -s, ort, m, H[i], m);
+            }
+            ort[m] *= scale;
+            H[m][m - 1] = scale * g;
+        }
+
+        // Accumulates the transformations.
+        for (int i = 0; i < n; i++) {
+            V[i][i] = 1.0;
+        }
+        for (int m = high - 1; m >= 1; m--) {
+            if (H[m][m - 1] == 0.0)
+                continue;
+            for (int i = m + 1; i <= high; i++) {
+                ort[i] = H[i][m - 1];
+            }
+            double[] g = new double[n];
+            for (int i = m; i <= high; i++) { // g = uᵀ·V (rows m..high)
+                Float64Kernel.axpy(high - m + 1, ort[i], V[i], m, g, m);
+            }
+            for (int j = m; j <= high; j++) { // Double division (underflow).
+                g[j] = (g[j] / ort[m]) / H[m][m - 1];
+            }
+            for (int i = m; i <= high; i++) {
+                Float64Kernel.axpy(high - m + 1, ort[i], g, m, V[i], m);
+            }
+        }
+        for (int i = 2; i < n; i++) { // Clears the reflectors.
+            for (int j = 0; j < i - 1; j++) {
+                H[i][j] = 0.0;
+            }
+        }
+    }
+
+    // Francis double shift QR iterations and back substitution
+    // (EISPACK hqr2).
+    private void schur(double[][] H, double[][] V) {
+        final int nn = _n;
+        final double[] d = _real;
+        final double[] e = _imaginary;
+        final double[] z2 = new double[2];
+        int n = nn - 1;
+        double exshift = 0.0;
+        double p = 0, q = 0, r = 0, s = 0, z = 0, t, w, x, y;
+
+        double norm = 0.0;
+        for (int i = 0; i < nn; i++) {
+            for (int j = MathLib.max(i - 1, 0); j < nn; j++) {
+                norm += MathLib.abs(H[i][j]);
+            }
+        }
+
+        int iter = 0;
+        while (n >= 0) {
+            int l = n; // Looks for a single small sub-diagonal element.
+            while (l > 0) {
+                s = MathLib.abs(H[l - 1][l - 1]) + MathLib.abs(H[l][l]);
+                if (s == 0.0) {
+                    s = norm;
+                }
+                if (MathLib.abs(H[l][l - 1]) < EPSILON * s)
+                    break;
+                l--;
+            }
+
+            if (l == n) { // One root found.
+                H[n][n] += exshift;
+                d[n] = H[n][n];
+                e[n] = 0.0;
+                n--;
+                iter = 0;
+            } else if (l == n - 1) { // Two roots found.
+                w = H[n][n - 1] * H[n - 1][n];
+                p = (H[n - 1][n - 1] - H[n][n]) / 2.0;
+                q = p * p + w;
+                z = MathLib.sqrt(MathLib.abs(q));
+                H[n][n] += exshift;
+                H[n - 1][n - 1] += exshift;
+                x = H[n][n];
+                if (q >= 0) { // Real pair.
+                    z = (p >= 0) ? p + z : p - z;
+                    d[n - 1] = x + z;
+                    d[n] = (z != 0.0) ? x - w / z : d[n - 1];
+                    e[n - 1] = 0.0;
+                    e[n] = 0.0;
+                    x = H[n][n - 1];
+                    s = MathLib.abs(x) + MathLib.abs(z);
+                    p = x / s;
+                    q = z / s;
+                    r = MathLib.sqrt(p * p + q * q);
+                    p /= r;
+                    q /= r;
+                    for (int j = n - 1; j < nn; j++) {
+                        z = H[n - 1][j];
+                        H[n - 1][j] = q * z + p * H[n][j];
+                        H[n][j] = q * H[n][j] - p * z;
+                    }
+                    for (int i = 0; i <= n; i++) {
+                        z = H[i][n - 1];
+                        H[i][n - 1] = q * z + p * H[i][n];
+                        H[i][n] = q * H[i][n] - p * z;
+                    }
+                    for (int i = 0; i < nn; i++) {
+                        z = V[i][n - 1];
+                        V[i][n - 1] = q * z + p * V[i][n];
+                        V[i][n] = q * V[i][n] - p * z;
+                    }
+                } else { // Complex pair.
+                    d[n - 1] = x + p;
+                    d[n] = x + p;
+                    e[n - 1] = z;
+                    e[n] = -z;
+                }
+                n -= 2;
+                iter = 0;
+            } else { // No convergence yet.
+                x = H[n][n];
+                y = 0.0;
+                w = 0.0;
+                if (l < n) {
+                    y = H[n - 1][n - 1];
+                    w = H[n][n - 1] * H[n - 1][n];
+                }
+                if (iter == 10) { // Exceptional shift (Wilkinson).
+                    exshift += x;
+                    for (int i = 0; i <= n; i++) {
+                        H[i][i] -= x;
+                    }
+                    s = MathLib.abs(H[n][n - 1]) + MathLib.abs(H[n - 1][n - 2]);
+                    x = y = 0.75 * s;
+                    w = -0.4375 * s * s;
+                }
+                if (iter == 30) { // Exceptional shift (second).
+                    s = (y - x) / 2.0;
+                    s = s * s + w;
+                    if (s > 0) {
+                        s = MathLib.sqrt(s);
+                        if (y < x) {
+                            s = -s;
+                        }
+                        s = x - w / ((y - x) / 2.0 + s);
+                        for (int i = 0; i <= n; i++) {
+                            H[i][i] -= s;
+                        }
+                        exshift += s;
+                        x = y = w = 0.964;
+                    }
+                }
+                iter++;
+
+                // Looks for two consecutive small sub-diagonal elements.
+                int m = n - 2;
+                while (m >= l) {
+                    z = H[m][m];
+                    r = x - z;
+                    s = y - z;
+                    p = (r * s - w) / H[m + 1][m] + H[m][m + 1];
+                    q = H[m + 1][m + 1] - z - r - s;
+                    r = H[m + 2][m + 1];
+                    s = MathLib.abs(p) + MathLib.abs(q) + MathLib.abs(r);
+                    p /= s;
+                    q /= s;
+                    r /= s;
+                    if (m == l)
+                        break;
+                    if (MathLib.abs(H[m][m - 1])
+                            * (MathLib.abs(q) + MathLib.abs(r)) < EPSILON
+                            * (MathLib.abs(p) * (MathLib.abs(H[m - 1][m - 1])
+                                    + MathLib.abs(z) + MathLib
+                                    .abs(H[m + 1][m + 1]))))
+                        break;
+                    m--;
+                }
+                for (int i = m + 2; i <= n; i++) {
+                    H[i][i - 2] = 0.0;
+                    if (i > m + 2) {
+                        H[i][i - 3] = 0.0;
+                    }
+                }
+
+                // Double QR step on rows l..n and columns m..n.
+                for (int k = m; k <= n - 1; k++) {
+                    final boolean notlast = (k != n - 1);
+                    if (k != m) {
+                        p = H[k][k - 1];
+                        q = H[k + 1][k - 1];
+                        r = notlast ? H[k + 2][k - 1] : 0.0;
+                        x = MathLib.abs(p) + MathLib.abs(q) + MathLib.abs(r);
+                        if (x == 0.0)
+                            continue;
+                        p /= x;
+                        q /= x;
+                        r /= x;
+                    }
+                    s = MathLib.sqrt(p * p + q * q + r * r);
+                    if (p < 0) {
+                        s = -s;
+                    }
+                    if (s == 0)
+                        continue;
+                    if (k != m) {
+                        H[k][k - 1] = -s * x;
+                    } else if (l != m) {
+                        H[k][k - 1] = -H[k][k - 1];
+                    }
+                    p += s;
+                    x = p / s;
+                    y = q / s;
+                    z = r / s;
+                    q /= p;
+                    r /= p;
+                    for (int j = k; j < nn; j++) { // Rows.
+                        p = H[k][j] + q * H[k + 1][j];
+                        if (notlast) {
+                            p += r * H[k + 2][j];
+                            H[k + 2][j] -= p * z;
+                        }
+                        H[k][j] -= p * x;
+                        H[k + 1][j] -= p * y;
+                    }
+                    for (int i = 0; i <= MathLib.min(n, k + 3); i++) { // Columns.
+                        p = x * H[i][k] + y * H[i][k + 1];
+                        if (notlast) {
+                            p += z * H[i][k + 2];
+                            H[i][k + 2] -= p * r;
+                        }
+                        H[i][k] -= p;
+                        H[i][k + 1] -= p * q;
+                    }
+                    for (int i = 0; i < nn; i++) { // Transformations.
+                        p = x * V[i][k] + y * V[i][k + 1];
+                        if (notlast) {
+                            p += z * V[i][k + 2];
+                            V[i][k + 2] -= p * r;
+                        }
+                        V[i][k] -= p;
+                        V[i][k + 1] -= p * q;
+                    }
+                }
+            }
+        }
+        if (norm == 0.0)
+            return;
+
+        // Back substitution (eigenvectors of the upper triangular form).
+        for (n = nn - 1; n >= 0; n--) {
+            p = d[n];
+            q = e[n];
+            if (q == 0) { // Real vector.
+                int l = n;
+                H[n][n] = 1.0;
+                for (int i = n - 1; i >= 0; i--) {
+                    w = H[i][i] - p;
+                    r = 0.0;
+                    for (int j = l; j <= n; j++) {
+                        r += H[i][j] * H[j][n];
+                    }
+                    if (e[i] < 0.0) {
+                        z = w;
+                        s = r;
+                        continue;
+                    }
+                    l = i;
+                    if (e[i] == 0.0) {
+                        H[i][n] = (w != 0.0) ? -r / w : -r / (EPSILON * norm);
+                    } else { // Solves real equations.
+                        x = H[i][i + 1];
+                        y = H[i + 1][i];
+                        q = (d[i] - p) * (d[i] - p) + e[i] * e[i];
+                        t = (x * s - z * r) / q;
+                        H[i][n] = t;
+                        H[i + 1][n] = (MathLib.abs(x) > MathLib.abs(z)) ? (-r - w
+                                * t)
+                                / x
+                                : (-s - y * t) / z;
+                    }
+                    t = MathLib.abs(H[i][n]); // Overflow control.
+                    if ((EPSILON * t) * t > 1) {
+                        for (int j = i; j <= n; j++) {
+                            H[j][n] /= t;
+                        }
+                    }
+                }
+            } else if (q < 0) { // Complex vector.
+                int l = n - 1;
+                if (MathLib.abs(H[n][n - 1]) > MathLib.abs(H[n - 1][n])) {
+                    H[n - 1][n - 1] = q / H[n][n - 1];
+                    H[n - 1][n] = -(H[n][n] - p) / H[n][n - 1];
+                } else {
+                    cdiv(0.0, -H[n - 1][n], H[n - 1][n - 1] - p, q, z2);
+                    H[n - 1][n - 1] = z2[0];
+                    H[n - 1][n] = z2[1];
+                }
+                H[n][n - 1] = 0.0;
+                H[n][n] = 1.0;
+                for (int i = n - 2; i >= 0; i--) {
+                    double ra = 0.0;
+                    double sa = 0.0;
+                    for (int j = l; j <= n; j++) {
+                        ra += H[i][j] * H[j][n - 1];
+                        sa += H[i][j] * H[j][n];
+                    }
+                    w = H[i][i] - p;
+                    if (e[i] < 0.0) {
+                        z = w;
+                        r = ra;
+                        s = sa;
+                        continue;
+                    }
+                    l = i;
+                    if (e[i] == 0) {
+                        cdiv(-ra, -sa, w, q, z2);
+                        H[i][n - 1] = z2[0];
+                        H[i][n] = z2[1];
+                    } else { // Solves complex equations.
+                        x = H[i][i + 1];
+                        y = H[i + 1][i];
+                        double vr = (d[i] - p) * (d[i] - p) + e[i] * e[i] - q
+                                * q;
+                        final double vi = (d[i] - p) * 2.0 * q;
+                        if ((vr == 0.0) && (vi == 0.0)) {
+                            vr = EPSILON
+                                    * norm
+                                    * (MathLib.abs(w) + MathLib.abs(q)
+                                            + MathLib.abs(x) + MathLib.abs(y) + MathLib
+                                            .abs(z));
+                        }
+                        cdiv(x * r - z * ra + q * sa, x * s - z * sa - q * ra,
+                                vr, vi, z2);
+                        H[i][n - 1] = z2[0];
+                        H[i][n] = z2[1];
+                        if (MathLib.abs(x) > (MathLib.abs(z) + MathLib.abs(q))) {
+                            H[i + 1][n - 1] = (-ra - w * H[i][n - 1] + q
+                                    * H[i][n])
+                                    / x;
+                            H[i + 1][n] = (-sa - w * H[i][n] - q * H[i][n - 1])
+                                    / x;
+                        } else {
+                            cdiv(-r - y * H[i][n - 1], -s - y * H[i][n], z, q,
+                                    z2);
+                            H[i + 1][n - 1] = z2[0];
+                            H[i + 1][n] = z2[1];
+                        }
+                    }
+                    t = MathLib.max(MathLib.abs(H[i][n - 1]), MathLib
+                            .abs(H[i][n])); // Overflow control.
+                    if ((EPSILON * t) * t > 1) {
+                        for (int j = i; j <= n; j++) {
+                            H[j][n - 1] /= t;
+                            H[j][n] /= t;
+                        }
+                    }
+                }
+            }
+        }
+
+        // Back transformation (eigenvectors of the matrix source).
+        double[] row = new double[nn];
+        for (int i = 0; i < nn; i++) {
+            final double[] vi = V[i];
+            for (int j = 0; j < nn; j++) {
+                double sum = 0.0;
+                for (int k = 0; k <= j; k++) {
+                    sum += vi[k] * H[k][j];
+                }
+                row[j] = sum;
+            }
+            System.arraycopy(row, 0, vi, 0, nn);
+        }
+    }
+
+    // Complex division (xr + i·xi) / (yr + i·yi).
+    private static void cdiv(double xr, double xi, double yr, double yi,
+            double[] z) {
+        if (MathLib.abs(yr) > MathLib.abs(yi)) {
+            final double r = yi / yr;
+            final double d = yr + r * yi;
+            z[0] = (xr + r * xi) / d;
+            z[1] = (xi - r * xr) / d;
+        } else {
+            final double r = yr / yi;
+            final double d = yi + r * yr;
+            z[0] = (r * xr + xi) / d;
+            z[1] = (r * xi - xr) / d;
+        }
+    }
+
+    // Returns sqrt(a² + b²) without intermediate overflow or underflow.
+    static double hypot(double a, double b) {
+        final double absA = MathLib.abs(a);
+        final double absB = MathLib.abs(b);
+        if (absA > absB) {
+            final double r = absB / absA;
+            return absA * MathLib.sqrt(1 + r * r);
+        }
+        if (absB == 0)
+            return 0.0;
+        final double r = absA / absB;
+        return absB * MathLib.sqrt(1 + r * r);
+    }
+
+    /**
+     * Returns the real parts of the eigenvalues (ascending order if the
+     * matrix source is symmetric).
+     *
+     * @return the real parts of the eigenvalues.
+     */
+    public double[] getRealEigenvalues() {
+        return _real.clone();
+    }
+
+    /**
+     * Returns the imaginary parts of the eigenvalues (all zero if the
+     * matrix source is symmetric).
+     *
+     * @return the imaginary parts of the eigenvalues.
+     */
+    public double[] getImaginaryEigenvalues() {
+        return _imaginary.clone();
+    }
+
+    /**
+     * Returns the eigenvectors matrix (orthogonal if the matrix source is
+     * symmetric).
+     *
+     * @return V such as <code>A·V = V·D</code>.
+     */
+    public Float64Matrix getV() {
+        Float64Matrix V = Float64Matrix.newInstance(_n, _n);
+        V._rowStride = 1; // Column-major.
+        V._columnStride = _n;
+        System.arraycopy(_v, 0, V._data, 0, _v.length);
+        return V;
+    }
+
+    /**
+     * Returns the block diagonal eigenvalues matrix (2x2 blocks for the
+     * complex conjugate pairs).
+     *
+     * @return D such as <code>A·V = V·D</code>.
+     */
+    public Float64Matrix getD() {
+        final int n = _n;
+        Float64Matrix D = Float64Matrix.newInstance(n, n);
+        for (int i = 0; i < n; i++) {
+            D._data[i * n + i] = _real[i];
+            if (_imaginary[i] > 0) {
+                D._data[i * n + i + 1] = _imaginary[i];
+            } else if (_imaginary[i] < 0) {
+                D._data[i * n + i - 1] = _imaginary[i];
+            }
+        }
+        return D;
+    }
+}
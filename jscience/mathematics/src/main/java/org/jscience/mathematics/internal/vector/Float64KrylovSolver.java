@@ -0,0 +1,630 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.util.Arrays;
+
+import javolution.lang.MathLib;
+
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+import org.jscience.mathematics.number.Float64;
+
+/**
+ * <p> This class represents an iterative (Krylov subspace) solver of
+ *     large linear systems <code>A·x = b</code> of 64 bits floating point
+ *     elements; the matrix <code>A</code> is only accessed through its
+ *     products with vectors ({@link LinearOperator matrix-free}), sparse
+ *     matrices are never converted to dense matrices.</p>
+ *
+ * <p> The following methods are provided:<ul>
+ *     <li> {@link #conjugateGradient Conjugate Gradient} for symmetric
+ *          positive definite matrices (e.g. discretized Poisson
+ *          equation).</li>
+ *     <li> {@link #minres MINRES} for symmetric indefinite matrices
+ *          (the preconditioner must be symmetric positive definite).</li>
+ *     <li> {@link #bicgstab BiCGSTAB} for general (non-symmetric)
+ *          matrices, short recurrences.</li>
+ *     <li> {@link #gmres Restarted GMRES(m)} for general matrices, the
+ *          residual norm is minimized over subspaces of dimension
+ *          <code>m</code> (memory <code>(m + 1)·n</code> elements).</li>
+ *     </ul>
+ *     The iterations stop when <code>|b - A·x| ≤ tolerance·|b|</code>
+ *     (for MINRES the norms are relative to the preconditioner),
+ *     the maximum number of iterations is reached or the
+ *     {@link Monitor monitor} stops them. Convergence is indicated by
+ *     {@link #hasConverged}, no exception is raised when the iterations
+ *     do not converge.</p>
+ *
+ * <p> The products with {@link Float64SparseMatrix sparse matrices}, the
+ *     dot products and the vector updates are performed concurrently for
+ *     large systems; the {@link Float64Preconditioner preconditioner}
+ *     usually determines the number of iterations.
+ *     [code]
+ *         Float64SparseMatrix A = Float64SparseMatrix.valueOf(n, n, rows, columns, values);
+ *         Float64KrylovSolver cg = Float64KrylovSolver.conjugateGradient();
+ *         cg.setTolerance(1e-8);
+ *         cg.setPreconditioner(Float64Preconditioner.incompleteCholesky(A));
+ *         Float64Vector x = cg.solve(A, b);
+ *         if (!cg.hasConverged()) ...
+ *     [/code]</p>
+ *
+ * <p> Solvers are not thread-safe (they hold the statistics of the last
+ *     resolution).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/Krylov_subspace">
+ *      Wikipedia: Krylov subspace</a>
+ */
+public final class Float64KrylovSolver {
+
+    /**
+     * This interface represents a monitor notified after each iteration
+     * (convergence callback).
+     */
+    public interface Monitor {
+
+        /**
+         * Notifies this monitor of the completion of an iteration.
+         *
+         * @param  iteration the number of iterations performed.
+         * @param  residual the current relative residual norm
+         *         <code>|b - A·x| / |b|</code>.
+         * @return <code>true</code> to continue the iterations;
+         *         <code>false</code> to stop them.
+         */
+        boolean iterate(int iteration, double residual);
+
+    }
+
+    // Methods.
+    private static final int CG = 0, MINRES = 1, BICGSTAB = 2, GMRES = 3;
+
+    private final int _method;
+
+    private final int _restart;
+
+    private double _tolerance = 1e-10;
+
+    private int _maximumIterations;
+
+    private Float64Preconditioner _preconditioner;
+
+    private Monitor _monitor;
+
+    private int _iterations;
+
+    private double _residual;
+
+    private boolean _converged;
+
+    private Float64KrylovSolver(int method, int restart) {
+        _method = method;
+        _restart = restart;
+    }
+
+    /**
+     * Returns a (preconditioned) conjugate gradient solver for symmetric
+     * positive definite systems.
+     *
+     * @return a new CG solver.
+     */
+    public static Float64KrylovSolver conjugateGradient() {
+        return new Float64KrylovSolver(CG, 0);
+    }
+
+    /**
+     * Returns a (preconditioned) minimum residual solver for symmetric
+     * (possibly indefinite) systems.
+     *
+     * @return a new MINRES solver.
+     */
+    public static Float64KrylovSolver minres() {
+        return new Float64KrylovSolver(MINRES, 0);
+    }
+
+    /**
+     * Returns a (right preconditioned) biconjugate gradient stabilized
+     * solver for general systems.
+     *
+     * @return a new BiCGSTAB solver.
+     */
+    public static Float64KrylovSolver bicgstab() {
+        return new Float64KrylovSolver(BICGSTAB, 0);
+    }
+
+    /**
+     * Returns a (right preconditioned) generalized minimal residual solver
+     * for general systems, restarted every <code>restart</code> iterations.
+     *
+     * @param  restart the dimension of the Krylov subspaces (e.g. 30).
+     * @return a new GMRES(restart) solver.
+     * @throws IllegalArgumentException if <code>restart &lt; 1</code>
+     */
+    public static Float64KrylovSolver gmres(int restart) {
+        if (restart < 1)
+            throw new IllegalArgumentException("Restart: " + restart
+                    + " should be positive");
+        return new Float64KrylovSolver(GMRES, restart);
+    }
+
+    /**
+     * Sets the relative tolerance on the residual norm (default
+     * <code>1e-10</code>).
+     *
+     * @param tolerance the relative tolerance.
+     * @throws IllegalArgumentException if <code>tolerance &lt; 0</code>
+     */
+    public void setTolerance(double tolerance) {
+        if (!(tolerance >= 0))
+            throw new IllegalArgumentException("Tolerance: " + tolerance
+                    + " should be positive");
+        _tolerance = tolerance;
+    }
+
+    /**
+     * Returns the relative tolerance on the residual norm.
+     *
+     * @return the relative tolerance.
+     */
+    public double getTolerance() {
+        return _tolerance;
+    }
+
+    /**
+     * Sets the maximum number of iterations (default <code>10·n</code>
+     * when zero).
+     *
+     * @param maximumIterations the maximum number of iterations or
+     *        <code>0</code> for the default.
+     * @throws IllegalArgumentException if <code>maximumIterations &lt; 0</code>
+     */
+    public void setMaximumIterations(int maximumIterations) {
+        if (maximumIterations < 0)
+            throw new IllegalArgumentException("Maximum iterations: "
+                    + maximumIterations + " should be positive");
+        _maximumIterations = maximumIterations;
+    }
+
+    /**
+     * Sets the preconditioner (default <code>null</code>, no
+     * preconditioning).
+     *
+     * @param preconditioner the preconditioner or <code>null</code>.
+     */
+    public void setPreconditioner(Float64Preconditioner preconditioner) {
+        _preconditioner = preconditioner;
+    }
+
+    /**
+     * Sets the monitor notified after each iteration (default
+     * <code>null</code>).
+     *
+     * @param monitor the monitor or <code>null</code>.
+     */
+    public void setMonitor(Monitor monitor) {
+        _monitor = monitor;
+    }
+
+    /**
+     * Solves the specified system starting from <code>x = 0</code>.
+     *
+     * @param  A the square operator.
+     * @param  b the right-hand side.
+     * @return the (approximate) solution <code>x</code> of
+     *         <code>A·x = b</code>
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public Float64Vector solve(LinearOperator<Float64> A, Vector<Float64> b) {
+        double[] x = new double[b.getDimension()];
+        solve(A, valuesOf(b), x);
+        return Float64Vector.viewOf(x, 0, 1, x.length);
+    }
+
+    /**
+     * Solves the specified system starting from the specified initial
+     * guess (e.g. solution of a previous time step).
+     *
+     * @param  A the square operator.
+     * @param  b the right-hand side.
+     * @param  x0 the initial guess.
+     * @return the (approximate) solution <code>x</code> of
+     *         <code>A·x = b</code>
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public Float64Vector solve(LinearOperator<Float64> A, Vector<Float64> b,
+            Vector<Float64> x0) {
+        if (x0.getDimension() != b.getDimension())
+            throw new DimensionException();
+        double[] x = valuesOf(x0);
+        solve(A, valuesOf(b), x);
+        return Float64Vector.viewOf(x, 0, 1, x.length);
+    }
+
+    /**
+     * Solves the specified system in place (convenience method).
+     *
+     * @param  A the square operator.
+     * @param  b the n elements of the right-hand side.
+     * @param  x the n elements of the initial guess, replaced by the
+     *         solution.
+     * @return <code>x</code>
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public double[] solve(LinearOperator<Float64> A, double[] b, double[] x) {
+        final int n = b.length;
+        if ((A.getNumberOfRows() != n) || (A.getNumberOfColumns() != n)
+                || (x.length != n))
+            throw new DimensionException();
+        _iterations = 0;
+        _converged = false;
+        final int maxIterations = (_maximumIterations != 0) ? _maximumIterations
+                : 10 * MathLib.max(n, 1);
+        final double bNorm = Float64Kernel.norm(n, b, 0);
+        if (bNorm == 0) { // Trivial solution.
+            Arrays.fill(x, 0.0);
+            _residual = 0;
+            _converged = true;
+            return x;
+        }
+        switch (_method) {
+        case CG:
+            cg(A, b, x, bNorm, maxIterations);
+            break;
+        case MINRES:
+            minres(A, b, x, maxIterations);
+            break;
+        case BICGSTAB:
+            bicgstab(A, b, x, bNorm, maxIterations);
+            break;
+        default:
+            gmres(A, b, x, bNorm, maxIterations);
+        }
+        double[] r = residual(A, b, x, new double[n]);
+        _residual = Float64Kernel.norm(n, r, 0) / bNorm;
+        return x;
+    }
+
+    /**
+     * Returns the number of iterations performed by the last resolution.
+     *
+     * @return the number of iterations.
+     */
+    public int getIterations() {
+        return _iterations;
+    }
+
+    /**
+     * Returns the relative residual norm <code>|b - A·x| / |b|</code> of
+     * the last solution (calculated explicitly).
+     *
+     * @return the relative residual norm.
+     */
+    public double getResidualNorm() {
+        return _residual;
+    }
+
+    /**
+     * Indicates if the last resolution has reached the tolerance.
+     *
+     * @return <code>true</code> if converged; <code>false</code> if the
+     *         iterations have been stopped before (maximum iterations,
+     *         monitor or breakdown).
+     */
+    public boolean hasConverged() {
+        return _converged;
+    }
+
+    // Preconditioned conjugate gradient.
+    private void cg(LinearOperator<Float64> A, double[] b, double[] x,
+            double bNorm, int maxIterations) {
+        final int n = b.length;
+        double[] r = residual(A, b, x, new double[n]);
+        if (Float64Kernel.norm(n, r, 0) <= _tolerance * bNorm) {
+            _converged = true;
+            return;
+        }
+        double[] z = precondition(r, (_preconditioner != null) ? new double[n]
+                : r);
+        double[] p = z.clone();
+        double[] q = new double[n];
+        double rz = Float64Kernel.dot(n, r, 0, z, 0);
+        while (_iterations < maxIterations) {
+            multiply(A, p, q);
+            final double pq = Float64Kernel.dot(n, p, 0, q, 0);
+            if (!(pq > 0))
+                return; // Breakdown (not positive definite).
+            final double alpha = rz / pq;
+            Float64Kernel.axpy(n, alpha, p, 0, x, 0);
+            Float64Kernel.axpy(n, -alpha, q, 0, r, 0);
+            if (iterate(Float64Kernel.norm(n, r, 0) / bNorm))
+                return;
+            precondition(r, z);
+            final double rzNext = Float64Kernel.dot(n, r, 0, z, 0);
+            final double beta = rzNext / rz;
+            rz = rzNext;
+            Float64Kernel.scale(n, beta, p, 0, p, 0);
+            Float64Kernel.add(n, z, 0, p, 0, p, 0);
+        }
+    }
+
+    // Preconditioned MINRES (Paige & Saunders).
+    private void minres(LinearOperator<Float64> A, double[] b, double[] x,
+            int maxIterations) {
+        final int n = b.length;
+        double[] y = new double[n];
+        apply(b, y);
+        final double bNorm = MathLib.sqrt(positive(Float64Kernel.dot(n, b, 0,
+                y, 0)));
+        double[] r1 = residual(A, b, x, new double[n]);
+        apply(r1, y);
+        final double beta1 = MathLib.sqrt(positive(Float64Kernel.dot(n, r1,
+                0, y, 0)));
+        if (beta1 <= _tolerance * bNorm) {
+            _converged = true;
+            return;
+        }
+        double[] r2 = r1.clone();
+        double[] v = new double[n];
+        double[] w = new double[n];
+        double[] w1 = new double[n];
+        double[] w2 = new double[n];
+        double oldb = 0, beta = beta1, dbar = 0, epsln = 0;
+        double phibar = beta1, cs = -1, sn = 0;
+        while (_iterations < maxIterations) {
+            Float64Kernel.scale(n, 1.0 / beta, y, 0, v, 0);
+            multiply(A, v, y);
+            if (oldb != 0) {
+                Float64Kernel.axpy(n, -beta / oldb, r1, 0, y, 0);
+            }
+            final double alpha = Float64Kernel.dot(n, v, 0, y, 0);
+            Float64Kernel.axpy(n, -alpha / beta, r2, 0, y, 0);
+            double[] tmp = r1;
+            r1 = r2;
+            r2 = y;
+            y = tmp;
+            apply(r2, y);
+            oldb = beta;
+            beta = MathLib.sqrt(positive(Float64Kernel.dot(n, r2, 0, y, 0)));
+            // Applies the previous rotation and calculates the next one.
+            final double oldeps = epsln;
+            final double delta = cs * dbar + sn * alpha;
+            final double gbar = sn * dbar - cs * alpha;
+            epsln = sn * beta;
+            dbar = -cs * beta;
+            final double gamma = MathLib.max(Float64EigenDecomposition.hypot(
+                    gbar, beta), Double.MIN_VALUE);
+            cs = gbar / gamma;
+            sn = beta / gamma;
+            final double phi = cs * phibar;
+            phibar *= sn;
+            // Updates the search direction and the solution.
+            tmp = w1;
+            w1 = w2;
+            w2 = w;
+            w = tmp;
+            Float64Kernel.scale(n, 1.0 / gamma, v, 0, w, 0);
+            Float64Kernel.axpy(n, -oldeps / gamma, w1, 0, w, 0);
+            Float64Kernel.axpy(n, -delta / gamma, w2, 0, w, 0);
+            Float64Kernel.axpy(n, phi, w, 0, x, 0);
+            if (iterate(phibar / bNorm) || (beta == 0))
+                return;
+        }
+    }
+
+    // Right preconditioned BiCGSTAB (van der Vorst).
+    private void bicgstab(LinearOperator<Float64> A, double[] b, double[] x,
+            double bNorm, int maxIterations) {
+        final int n = b.length;
+        final boolean preconditioned = _preconditioner != null;
+        double[] r = residual(A, b, x, new double[n]);
+        if (Float64Kernel.norm(n, r, 0) <= _tolerance * bNorm) {
+            _converged = true;
+            return;
+        }
+        double[] rHat = r.clone();
+        double[] p = new double[n];
+        double[] v = new double[n];
+        double[] s = new double[n];
+        double[] t = new double[n];
+        double[] pHat = preconditioned ? new double[n] : p;
+        double[] sHat = preconditioned ? new double[n] : s;
+        double rho = 1, alpha = 1, omega = 1;
+        while (_iterations < maxIterations) {
+            final double rhoNext = Float64Kernel.dot(n, rHat, 0, r, 0);
+            if (rhoNext == 0)
+                return; // Breakdown.
+            if (_iterations == 0) {
+                System.arraycopy(r, 0, p, 0, n);
+            } else { // p = r + β·(p - ω·v)
+                final double beta = (rhoNext / rho) * (alpha / omega);
+                Float64Kernel.axpy(n, -omega, v, 0, p, 0);
+                Float64Kernel.scale(n, beta, p, 0, p, 0);
+                Float64Kernel.add(n, r, 0, p, 0, p, 0);
+            }
+            rho = rhoNext;
+            precondition(p, pHat);
+            multiply(A, pHat, v);
+            final double rHatV = Float64Kernel.dot(n, rHat, 0, v, 0);
+            if (rHatV == 0)
+                return; // Breakdown.
+            alpha = rho / rHatV;
+            Float64Kernel.scale(n, -alpha, v, 0, s, 0);
+            Float64Kernel.add(n, r, 0, s, 0, s, 0);
+            final double sNorm = Float64Kernel.norm(n, s, 0);
+            if (sNorm <= _tolerance * bNorm) {
+                Float64Kernel.axpy(n, alpha, pHat, 0, x, 0);
+                iterate(sNorm / bNorm);
+                return;
+            }
+            precondition(s, sHat);
+            multiply(A, sHat, t);
+            final double tt = Float64Kernel.dot(n, t, 0, t, 0);
+            omega = (tt != 0) ? Float64Kernel.dot(n, t, 0, s, 0) / tt : 0;
+            Float64Kernel.axpy(n, alpha, pHat, 0, x, 0);
+            Float64Kernel.axpy(n, omega, sHat, 0, x, 0);
+            Float64Kernel.scale(n, -omega, t, 0, r, 0);
+            Float64Kernel.add(n, s, 0, r, 0, r, 0);
+            if (iterate(Float64Kernel.norm(n, r, 0) / bNorm) || (omega == 0))
+                return;
+        }
+    }
+
+    // Right preconditioned restarted GMRES (modified Gram-Schmidt).
+    private void gmres(LinearOperator<Float64> A, double[] b, double[] x,
+            double bNorm, int maxIterations) {
+        final int n = b.length;
+        final int m = MathLib.min(_restart, n);
+        double[][] V = new double[m + 1][];
+        double[][] H = new double[m + 1][m];
+        double[] cs = new double[m];
+        double[] sn = new double[m];
+        double[] g = new double[m + 1];
+        double[] z = new double[n];
+        V[0] = new double[n];
+        while (true) {
+            residual(A, b, x, V[0]);
+            final double beta = Float64Kernel.norm(n, V[0], 0);
+            if (beta <= _tolerance * bNorm) {
+                _converged = true;
+                return;
+            }
+            _converged = false;
+            if (_iterations >= maxIterations)
+                return;
+            Float64Kernel.scale(n, 1.0 / beta, V[0], 0, V[0], 0);
+            Arrays.fill(g, 0.0);
+            g[0] = beta;
+            int k = 0; // Dimension of the subspace.
+            boolean stop = false;
+            while ((k < m) && (_iterations < maxIterations) && !stop) {
+                final int j = k++;
+                if (V[j + 1] == null) {
+                    V[j + 1] = new double[n];
+                }
+                double[] w = V[j + 1];
+                multiply(A, precondition(V[j], z), w);
+                for (int i = 0; i <= j; i++) {
+                    final double h = Float64Kernel.dot(n, w, 0, V[i], 0);
+                    H[i][j] = h;
+                    Float64Kernel.axpy(n, -h, V[i], 0, w, 0);
+                }
+                final double h = Float64Kernel.norm(n, w, 0);
+                H[j + 1][j] = h;
+                if (h != 0) {
+                    Float64Kernel.scale(n, 1.0 / h, w, 0, w, 0);
+                }
+                for (int i = 0; i < j; i++) { // Previous rotations.
+                    final double t = cs[i] * H[i][j] + sn[i] * H[i + 1][j];
+                    H[i + 1][j] = -sn[i] * H[i][j] + cs[i] * H[i + 1][j];
+                    H[i][j] = t;
+                }
+                final double d = Float64EigenDecomposition.hypot(H[j][j], h);
+                cs[j] = (d != 0) ? H[j][j] / d : 1;
+                sn[j] = (d != 0) ? h / d : 0;
+                H[j][j] = d;
+                H[j + 1][j] = 0;
+                g[j + 1] = -sn[j] * g[j];
+                g[j] *= cs[j];
+                final double residual = MathLib.abs(g[j + 1]) / bNorm;
+                stop = iterate(residual) || (h == 0);
+            }
+            // Solves H·y = g (upper triangular) and updates x += M⁻¹·V·y
+            for (int i = k; --i >= 0;) {
+                double s = g[i];
+                for (int l = i + 1; l < k; l++) {
+                    s -= H[i][l] * g[l];
+                }
+                g[i] = (H[i][i] != 0) ? s / H[i][i] : 0;
+            }
+            double[] u = V[m]; // Not used anymore (z may be the same).
+            if (u == null) {
+                u = V[m] = new double[n];
+            }
+            Arrays.fill(u, 0.0);
+            for (int i = 0; i < k; i++) {
+                Float64Kernel.axpy(n, g[i], V[i], 0, u, 0);
+            }
+            Float64Kernel.add(n, precondition(u, z), 0, x, 0, x, 0);
+            if (stop && !_converged)
+                return; // Stopped by the monitor or breakdown.
+        }
+    }
+
+    // Counts an iteration and notifies the monitor; returns true to stop.
+    private boolean iterate(double residual) {
+        _iterations++;
+        _converged = residual <= _tolerance;
+        if ((_monitor != null) && !_monitor.iterate(_iterations, residual))
+            return true;
+        return _converged;
+    }
+
+    // Calculates z = M⁻¹·r (returns r if there is no preconditioner).
+    private double[] precondition(double[] r, double[] z) {
+        if (_preconditioner == null)
+            return r;
+        _preconditioner.solve(r, z);
+        return z;
+    }
+
+    // Calculates z = M⁻¹·r (copies r if there is no preconditioner).
+    private void apply(double[] r, double[] z) {
+        if (_preconditioner == null) {
+            System.arraycopy(r, 0, z, 0, r.length);
+        } else {
+            _preconditioner.solve(r, z);
+        }
+    }
+
+    // Checks that the preconditioner is positive definite.
+    private static double positive(double rz) {
+        if (rz < 0)
+            throw new ArithmeticException(
+                    "Preconditioner not positive definite");
+        return rz;
+    }
+
+    // Calculates r = b - A·x
+    private static double[] residual(LinearOperator<Float64> A, double[] b,
+            double[] x, double[] r) {
+        multiply(A, x, r);
+        Float64Kernel.subtract(b.length, b, 0, r, 0, r, 0);
+        return r;
+    }
+
+    /**
+     * Calculates <code>y = A·x</code>; compressed sparse and dense 64 bits
+     * matrices are multiplied in place, other operators through vectors.
+     */
+    static void multiply(LinearOperator<Float64> A, double[] x, double[] y) {
+        if (A instanceof Float64SparseMatrix) {
+            ((Float64SparseMatrix) A).multiply(x, 0, y, 0);
+        } else if (A instanceof Float64Matrix) {
+            Float64Matrix M = (Float64Matrix) A;
+            Arrays.fill(y, 0.0);
+            Float64Kernel.gemm(M._m, M._n, 1, M._data, M._offset,
+                    M._rowStride, M._columnStride, x, 0, 1, 1, y, 0, 1);
+        } else {
+            Vector<Float64> v = A.times(Float64Vector.valueOf(x));
+            if (v.getDimension() != y.length)
+                throw new DimensionException();
+            Float64Vector w = Float64Vector.valueOfVector(v).contiguous();
+            System.arraycopy(w._values, w._offset, y, 0, y.length);
+        }
+    }
+
+    // Returns a copy of the specified vector elements.
+    private static double[] valuesOf(Vector<Float64> v) {
+        Float64Vector w = Float64Vector.valueOfVector(v).contiguous();
+        double[] values = new double[w.getDimension()];
+        System.arraycopy(w._values, w._offset, values, 0, values.length);
+        return values;
+    }
+}
@@ -0,0 +1,410 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+import org.jscience.mathematics.number.Float64;
+
+/**
+ * <p> This class represents the decomposition <code>P·A·Pᵀ = L·D·Lᵀ</code>
+ *     of a 64 bits floating point symmetric (possibly indefinite) matrix;
+ *     <code>L</code> is unit lower triangular, <code>D</code> block diagonal
+ *     with blocks of size 1 or 2 and <code>P</code> a permutation matrix.
+ *     Only the lower triangle of the matrix source is read.</p>
+ *
+ * <p> The pivots are selected with the Bunch-Kaufman strategy (partial
+ *     pivoting, the growth of the elements is bounded); the decomposition
+ *     requires about half the operations of the
+ *     {@link Float64LUDecomposition LU decomposition} and preserves the
+ *     symmetry. The {@link #getInertia inertia} of the matrix (number of
+ *     positive, negative and zero eigenvalues) is given by the blocks of
+ *     <code>D</code>.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/Cholesky_decomposition#LDL_decomposition">
+ *      Wikipedia: LDL decomposition</a>
+ */
+public final class Float64LDLDecomposition {
+
+    /**
+     * Holds the Bunch-Kaufman pivot threshold (<code>(1 + √17) / 8</code>).
+     */
+    static final double ALPHA = (1.0 + MathLib.sqrt(17.0)) / 8.0;
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<Float64LDLDecomposition> FACTORY = new ObjectFactory<Float64LDLDecomposition>() {
+        protected Float64LDLDecomposition create() {
+            return new Float64LDLDecomposition();
+        }
+
+        @Override
+        protected void cleanup(Float64LDLDecomposition ldl) {
+            ldl._ld = null;
+            ldl._pivots = null;
+            ldl._blocks = null;
+        }
+    };
+
+    /**
+     * Holds the dimension of the square matrix source.
+     */
+    private int _n;
+
+    /**
+     * Holds L (strictly lower part) and D (diagonal and sub-diagonal
+     * of the 2x2 blocks), row-major.
+     */
+    private double[] _ld;
+
+    /**
+     * Holds the source row index of each row.
+     */
+    private int[] _pivots;
+
+    /**
+     * Holds the size of the block of D starting at each index
+     * (<code>0</code> for the second index of a 2x2 block).
+     */
+    private int[] _blocks;
+
+    /**
+     * Default constructor.
+     */
+    private Float64LDLDecomposition() {
+    }
+
+    /**
+     * Returns the LDLᵀ decomposition of the specified symmetric matrix.
+     *
+     * @param  source the matrix for which the decomposition is calculated.
+     * @return the LDLᵀ decomposition of the specified matrix.
+     * @throws DimensionException if the specified matrix is not square.
+     */
+    public static Float64LDLDecomposition valueOf(Matrix<Float64> source) {
+        if (!source.isSquare())
+            throw new DimensionException("Matrix is not square");
+        Float64LDLDecomposition ldl = FACTORY.object();
+        ldl._n = source.getNumberOfRows();
+        ldl._ld = (source instanceof Float64SymmetricMatrix) ? ((Float64SymmetricMatrix) source)
+                .toArray()
+                : Float64Matrix.valueOfMatrix(source).copy()._data;
+        ldl._pivots = new int[ldl._n];
+        ldl._blocks = new int[ldl._n];
+        ldl.construct();
+        return ldl;
+    }
+
+    // Bunch-Kaufman decomposition (lower triangle).
+    private void construct() {
+        final int n = _n;
+        final double[] a = _ld;
+        for (int i = 0; i < n; i++) {
+            _pivots[i] = i;
+        }
+        double[] w0 = new double[n];
+        double[] w1 = new double[n];
+        int k = 0;
+        while (k < n) {
+            final double absakk = MathLib.abs(a[k * n + k]);
+            int imax = k;
+            double colmax = 0;
+            for (int i = k + 1; i < n; i++) {
+                final double abs = MathLib.abs(a[i * n + k]);
+                if (abs > colmax) {
+                    colmax = abs;
+                    imax = i;
+                }
+            }
+            int kp = k;
+            int step = 1;
+            if ((absakk == 0) && (colmax == 0)) { // Zero column (singular).
+                _blocks[k++] = 1;
+                continue;
+            }
+            if (absakk < ALPHA * colmax) {
+                double rowmax = 0; // Off-diagonal maximum of row imax.
+                for (int j = k; j < imax; j++) {
+                    rowmax = MathLib.max(rowmax, MathLib.abs(a[imax * n + j]));
+                }
+                for (int i = imax + 1; i < n; i++) {
+                    rowmax = MathLib.max(rowmax, MathLib.abs(a[i * n + imax]));
+                }
+                if (absakk * rowmax >= ALPHA * colmax * colmax) {
+                    kp = k;
+                } else if (MathLib.abs(a[imax * n + imax]) >= ALPHA * rowmax) {
+                    kp = imax;
+                } else {
+                    kp = imax;
+                    step = 2;
+                }
+            }
+            final int kk = k + step - 1;
+            if (kp != kk) {
+                interchange(kk, kp);
+            }
+            if (step == 1) {
+                final double d = a[k * n + k];
+                for (int i = k + 1; i < n; i++) {
+                    w0[i] = a[i * n + k];
+                }
+                for (int i = k + 1; i < n; i++) {
+                    final int ri = i * n;
+                    final double l = w0[i] / d;
+                    if (l != 0) { // A22 = A22 - l·w0ᵀ (lower part).
+                        Float64Kernel.axpy(i - k, -l, w0, k + 1, a, ri + k
+                                + 1);
+                    }
+                    a[ri + k] = l;
+                }
+                _blocks[k] = 1;
+            } else {
+                final double d11 = a[k * n + k];
+                final double d21 = a[(k + 1) * n + k];
+                final double d22 = a[(k + 1) * n + k + 1];
+                final double det = d11 * d22 - d21 * d21;
+                for (int i = k + 2; i < n; i++) {
+                    w0[i] = a[i * n + k];
+                    w1[i] = a[i * n + k + 1];
+                }
+                for (int i = k + 2; i < n; i++) {
+                    final int ri = i * n;
+                    final double l0 = (w0[i] * d22 - w1[i] * d21) / det;
+                    final double l1 = (w1[i] * d11 - w0[i] * d21) / det;
+                    Float64Kernel.axpy(i - k - 1, -l0, w0, k + 2, a, ri + k
+                            + 2);
+                    Float64Kernel.axpy(i - k - 1, -l1, w1, k + 2, a, ri + k
+                            + 2);
+                    a[ri + k] = l0;
+                    a[ri + k + 1] = l1;
+                }
+                _blocks[k] = 2;
+                _blocks[k + 1] = 0;
+            }
+            k += step;
+        }
+    }
+
+    // Symmetric interchange of the rows and columns i < p (lower part,
+    // previous columns of L included).
+    private void interchange(int i, int p) {
+        final int n = _n;
+        final double[] a = _ld;
+        for (int j = 0; j < i; j++) {
+            swap(a, i * n + j, p * n + j);
+        }
+        swap(a, i * n + i, p * n + p);
+        for (int j = i + 1; j < p; j++) {
+            swap(a, j * n + i, p * n + j);
+        }
+        for (int r = p + 1; r < n; r++) {
+            swap(a, r * n + i, r * n + p);
+        }
+        final int tmp = _pivots[i];
+        _pivots[i] = _pivots[p];
+        _pivots[p] = tmp;
+    }
+
+    private static void swap(double[] a, int i, int j) {
+        final double tmp = a[i];
+        a[i] = a[j];
+        a[j] = tmp;
+    }
+
+    /**
+     * Returns the solution X of the equation: A * X = B.
+     *
+     * @param  B the input matrix.
+     * @return the solution X = (1 / A) * B.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public Float64Matrix solve(Matrix<Float64> B) {
+        if (_n != B.getNumberOfRows())
+            throw new DimensionException("Input vector has "
+                    + B.getNumberOfRows() + " rows instead of " + _n);
+        final int p = B.getNumberOfColumns();
+        Float64Matrix Y = Float64Matrix.valueOfMatrix(B);
+        Float64Matrix X = Float64Matrix.newInstance(_n, p);
+        double[] x = new double[_n];
+        for (int j = 0; j < p; j++) {
+            for (int i = 0; i < _n; i++) {
+                x[i] = Y._data[Y._offset + i * Y._rowStride + j
+                        * Y._columnStride];
+            }
+            x = solve(x);
+            for (int i = 0; i < _n; i++) {
+                X._data[i * p + j] = x[i];
+            }
+        }
+        return X;
+    }
+
+    /**
+     * Returns the solution x of the equation: A * x = b (convenience
+     * method).
+     *
+     * @param  b the input elements.
+     * @return the solution elements.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public double[] solve(double[] b) {
+        final int n = _n;
+        if (n != b.length)
+            throw new DimensionException("Input vector has " + b.length
+                    + " elements instead of " + n);
+        final double[] a = _ld;
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) { // L·y = P·b
+            int length = i;
+            if ((i > 0) && (_blocks[i] == 0)) {
+                length--; // L(i, i-1) = 0 inside 2x2 blocks.
+            }
+            y[i] = b[_pivots[i]] - Float64Kernel.dot(length, a, i * n, y, 0);
+        }
+        for (int i = 0; i < n; i++) { // D·z = y
+            final double dii = a[i * n + i];
+            if (_blocks[i] == 1) {
+                y[i] /= dii;
+            } else if (_blocks[i] == 2) {
+                final double d21 = a[(i + 1) * n + i];
+                final double d22 = a[(i + 1) * n + i + 1];
+                final double det = dii * d22 - d21 * d21;
+                final double y0 = y[i];
+                final double y1 = y[i + 1];
+                y[i] = (y0 * d22 - y1 * d21) / det;
+                y[i + 1] = (y1 * dii - y0 * d21) / det;
+            }
+        }
+        for (int i = n - 1; i > 0; i--) { // Lᵀ·w = z
+            int length = i;
+            if (_blocks[i] == 0) {
+                length--;
+            }
+            Float64Kernel.axpy(length, -y[i], a, i * n, y, 0);
+        }
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[_pivots[i]] = y[i];
+        }
+        return x;
+    }
+
+    /**
+     * Returns the inverse of the matrix source.
+     *
+     * @return <code>this.solve(Identity)</code>
+     */
+    public Float64Matrix inverse() {
+        final int n = _n;
+        Float64Matrix X = Float64Matrix.newInstance(n, n);
+        double[] e = new double[n];
+        for (int j = 0; j < n; j++) {
+            e[j] = 1.0;
+            double[] x = solve(e);
+            e[j] = 0.0;
+            for (int i = 0; i < n; i++) {
+                X._data[i * n + j] = x[i];
+            }
+        }
+        return X;
+    }
+
+    /**
+     * Returns the determinant of the matrix source (product of the
+     * determinants of the blocks of D).
+     *
+     * @return the determinant of the matrix source.
+     */
+    public Float64 determinant() {
+        final int n = _n;
+        final double[] a = _ld;
+        double product = 1.0;
+        for (int i = 0; i < n; i++) {
+            if (_blocks[i] == 1) {
+                product *= a[i * n + i];
+            } else if (_blocks[i] == 2) {
+                final double d21 = a[(i + 1) * n + i];
+                product *= a[i * n + i] * a[(i + 1) * n + i + 1] - d21 * d21;
+            }
+        }
+        return Float64.valueOf(product);
+    }
+
+    /**
+     * Returns the inertia of the matrix source (Sylvester's law of
+     * inertia).
+     *
+     * @return the numbers of positive, negative and zero eigenvalues.
+     */
+    public int[] getInertia() {
+        final int n = _n;
+        final double[] a = _ld;
+        int[] inertia = new int[3];
+        for (int i = 0; i < n; i++) {
+            if (_blocks[i] == 1) {
+                final double d = a[i * n + i];
+                inertia[(d > 0) ? 0 : (d < 0) ? 1 : 2]++;
+            } else if (_blocks[i] == 2) { // det < 0: one of each sign.
+                inertia[0]++;
+                inertia[1]++;
+            }
+        }
+        return inertia;
+    }
+
+    /**
+     * Returns the unit lower triangular factor L.
+     *
+     * @return L such as <code>P·A·Pᵀ = L·D·Lᵀ</code>.
+     */
+    public Float64Matrix getL() {
+        final int n = _n;
+        Float64Matrix L = Float64Matrix.newInstance(n, n);
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(_ld, i * n, L._data, i * n, i);
+            L._data[i * n + i] = 1.0;
+            if (_blocks[i] == 0) {
+                L._data[i * n + i - 1] = 0.0;
+            }
+        }
+        return L;
+    }
+
+    /**
+     * Returns the block diagonal factor D (blocks of size 1 or 2).
+     *
+     * @return D such as <code>P·A·Pᵀ = L·D·Lᵀ</code>.
+     */
+    public Float64SymmetricMatrix getD() {
+        final int n = _n;
+        Float64SymmetricMatrix D = Float64SymmetricMatrix.newInstance(n);
+        for (int i = 0; i < n; i++) {
+            final int k = i * (i + 1) / 2;
+            D._data[k + i] = _ld[i * n + i];
+            if (_blocks[i] == 0) {
+                D._data[k + i - 1] = _ld[i * n + i - 1];
+            }
+        }
+        return D;
+    }
+
+    /**
+     * Returns the pivots elements of this decomposition.
+     *
+     * @return the source row (and column) indices after permutation.
+     */
+    public int[] getPivots() {
+        return _pivots.clone();
+    }
+}
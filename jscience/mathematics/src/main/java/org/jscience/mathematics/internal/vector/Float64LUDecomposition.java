@@ -0,0 +1,426 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+import org.jscience.mathematics.number.Float64;
+
+/**
+ * <p> This class represents the LU decomposition (<code>P·A = L·U</code>)
+ *     of a 64 bits floating point matrix with partial pivoting (the
+ *     largest element of each column is selected).</p>
+ *
+ * <p> Unlike the generic {@link LUDecomposition}, the elements are held by
+ *     a single <code>double[]</code> array (no boxing). The decomposition
+ *     is right-looking and blocked: a panel of <code>NB</code> columns is
+ *     factorized, then the trailing matrix is updated through the
+ *     {@link Float64Kernel#gemm cache-blocked matrix product} which is
+ *     performed concurrently for large matrices. The forward and back
+ *     substitutions of {@link #solve solve} and {@link #inverse inverse}
+ *     are blocked the same way.
+ *     [code]
+ *         Float64Matrix A = Float64Matrix.valueOfRandom(4000, 4000, -1, 1,
+ *                 new RandomGenerator(seed));
+ *         Float64LUDecomposition lu = Float64LUDecomposition.valueOf(A);
+ *         Float64Matrix X = lu.solve(B);
+ *         double rcond = lu.rcond(); // Close to zero if A is ill-conditioned.
+ *     [/code]</p>
+ *
+ * <p> Singular matrices can be decomposed (their {@link #determinant
+ *     determinant} and their {@link #rcond reciprocal condition number} are
+ *     zero); solving singular systems results in infinite or
+ *     {@link Double#NaN NaN} elements.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/LU_decomposition">
+ *      Wikipedia: LU decomposition</a>
+ */
+public final class Float64LUDecomposition {
+
+    /**
+     * Holds the number of columns per panel.
+     */
+    static final int NB = 64;
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<Float64LUDecomposition> FACTORY = new ObjectFactory<Float64LUDecomposition>() {
+        protected Float64LUDecomposition create() {
+            return new Float64LUDecomposition();
+        }
+
+        @Override
+        protected void cleanup(Float64LUDecomposition lu) {
+            lu._lu = null;
+            lu._pivots = null;
+        }
+    };
+
+    /**
+     * Holds the dimension of the square matrix source.
+     */
+    private int _n;
+
+    /**
+     * Holds the LU elements (row-major, unit diagonal of L not stored).
+     */
+    private double[] _lu;
+
+    /**
+     * Holds the source row index of each row.
+     */
+    private int[] _pivots;
+
+    /**
+     * Holds the number of permutation performed.
+     */
+    private int _permutationCount;
+
+    /**
+     * Holds the 1-norm of the matrix source.
+     */
+    private double _norm1;
+
+    /**
+     * Default constructor.
+     */
+    private Float64LUDecomposition() {
+    }
+
+    /**
+     * Returns the lower/upper decomposition of the specified matrix.
+     *
+     * @param  source the matrix for which the decomposition is calculated.
+     * @return the lower/upper decomposition of the specified matrix.
+     * @throws DimensionException if the specified matrix is not square.
+     */
+    public static Float64LUDecomposition valueOf(Matrix<Float64> source) {
+        if (!source.isSquare())
+            throw new DimensionException("Matrix is not square");
+        Float64LUDecomposition lu = FACTORY.object();
+        lu._n = source.getNumberOfRows();
+        lu._lu = Float64Matrix.valueOfMatrix(source).copy()._data;
+        lu._pivots = new int[lu._n];
+        lu._permutationCount = 0;
+        lu.construct();
+        return lu;
+    }
+
+    // Right-looking blocked decomposition.
+    private void construct() {
+        final int n = _n;
+        final double[] a = _lu;
+        double[] sums = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0, k = i * n; j < n; j++, k++) {
+                sums[j] += MathLib.abs(a[k]);
+            }
+            _pivots[i] = i;
+        }
+        _norm1 = 0;
+        for (int j = 0; j < n; j++) {
+            _norm1 = MathLib.max(_norm1, sums[j]);
+        }
+        for (int k = 0; k < n; k += NB) {
+            final int kb = MathLib.min(k + NB, n);
+            factorizePanel(k, kb);
+            if (kb == n)
+                break;
+            // U12 = inv(L11)·A12
+            for (int i = k + 1; i < kb; i++) {
+                for (int t = k; t < i; t++) {
+                    Float64Kernel.axpy(n - kb, -a[i * n + t], a, t * n + kb,
+                            a, i * n + kb);
+                }
+            }
+            // A22 = A22 - L21·U12
+            multiplySubtract(n - kb, kb - k, n - kb, a, kb * n + k, n, a, k
+                    * n + kb, n, a, kb * n + kb, n);
+        }
+    }
+
+    // Unblocked decomposition of the columns [k, kb) (rows exchanges are
+    // applied to the whole rows).
+    private void factorizePanel(int k, int kb) {
+        final int n = _n;
+        final double[] a = _lu;
+        for (int j = k; j < kb; j++) {
+            int p = j;
+            double max = MathLib.abs(a[j * n + j]);
+            for (int i = j + 1; i < n; i++) {
+                final double abs = MathLib.abs(a[i * n + j]);
+                if (abs > max) {
+                    max = abs;
+                    p = i;
+                }
+            }
+            if (p != j) {
+                for (int c = 0, x = p * n, y = j * n; c < n; c++, x++, y++) {
+                    final double tmp = a[x];
+                    a[x] = a[y];
+                    a[y] = tmp;
+                }
+                final int tmp = _pivots[p];
+                _pivots[p] = _pivots[j];
+                _pivots[j] = tmp;
+                _permutationCount++;
+            }
+            if (max == 0)
+                continue; // Zero column.
+            final int rj = j * n;
+            final double inv = 1.0 / a[rj + j];
+            for (int i = j + 1; i < n; i++) {
+                final int ri = i * n;
+                final double l = a[ri + j] * inv;
+                a[ri + j] = l;
+                if (l != 0) {
+                    for (int c = j + 1; c < kb; c++) {
+                        a[ri + c] -= l * a[rj + c];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the solution X of the equation: A * X = B  with
+     * <code>this = A.lu()</code> using blocked forward and back
+     * substitutions.
+     *
+     * @param  B the input matrix.
+     * @return the solution X = (1 / A) * B.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public Float64Matrix solve(Matrix<Float64> B) {
+        if (_n != B.getNumberOfRows())
+            throw new DimensionException("Input vector has "
+                    + B.getNumberOfRows() + " rows instead of " + _n);
+        final int p = B.getNumberOfColumns();
+        Float64Matrix Y = Float64Matrix.valueOfMatrix(B);
+        Float64Matrix X = Float64Matrix.newInstance(_n, p);
+        for (int i = 0; i < _n; i++) { // Pivoting.
+            final int row = Y._offset + _pivots[i] * Y._rowStride;
+            for (int j = 0; j < p; j++) {
+                X._data[i * p + j] = Y._data[row + j * Y._columnStride];
+            }
+        }
+        substitute(X._data, p);
+        return X;
+    }
+
+    /**
+     * Returns the solution x of the equation: A * x = b (convenience
+     * method).
+     *
+     * @param  b the input elements.
+     * @return the solution elements.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public double[] solve(double[] b) {
+        if (_n != b.length)
+            throw new DimensionException("Input vector has " + b.length
+                    + " elements instead of " + _n);
+        double[] x = new double[_n];
+        for (int i = 0; i < _n; i++) {
+            x[i] = b[_pivots[i]];
+        }
+        substitute(x, 1);
+        return x;
+    }
+
+    /**
+     * Returns the solution X of the equation: A * X = Identity  with
+     * <code>this = A.lu()</code>.
+     *
+     * @return <code>this.solve(Identity)</code>
+     */
+    public Float64Matrix inverse() {
+        Float64Matrix X = Float64Matrix.newInstance(_n, _n);
+        for (int i = 0; i < _n; i++) {
+            X._data[i * _n + _pivots[i]] = 1.0;
+        }
+        substitute(X._data, _n);
+        return X;
+    }
+
+    /**
+     * Returns the determinant of the {@link Matrix} having this
+     * decomposition.
+     *
+     * @return the determinant of the matrix source.
+     */
+    public Float64 determinant() {
+        double product = 1.0;
+        for (int i = 0; i < _n; i++) {
+            product *= _lu[i * _n + i];
+        }
+        return Float64.valueOf(((_permutationCount & 1) == 0) ? product
+                : -product);
+    }
+
+    /**
+     * Returns an estimate of the reciprocal condition number of the matrix
+     * source in the 1-norm (<code>1 / (‖A‖₁·‖A⁻¹‖₁)</code>). The norm of the
+     * inverse is estimated (Hager-Higham) from a few solutions of
+     * <code>A·x = b</code> and <code>Aᵀ·x = b</code>, in
+     * <code>O(n²)</code>.
+     *
+     * @return the reciprocal condition number (<code>0</code> for
+     *         singular matrices, <code>1</code> for the identity).
+     * @see <a href="http://en.wikipedia.org/wiki/Condition_number">
+     *      Wikipedia: Condition number</a>
+     */
+    public double rcond() {
+        final int n = _n;
+        if (n == 0)
+            return 1.0;
+        for (int i = 0; i < n; i++) {
+            if (_lu[i * n + i] == 0)
+                return 0.0;
+        }
+        if (_norm1 == 0)
+            return 0.0;
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = 1.0 / n;
+        }
+        double estimate = 0;
+        for (int iteration = 0; iteration < 5; iteration++) {
+            double[] y = solve(x);
+            double norm = 0;
+            for (int i = 0; i < n; i++) {
+                norm += MathLib.abs(y[i]);
+            }
+            if ((iteration > 0) && (norm <= estimate))
+                break;
+            estimate = norm;
+            for (int i = 0; i < n; i++) {
+                y[i] = (y[i] >= 0) ? 1.0 : -1.0;
+            }
+            double[] z = solveTranspose(y);
+            int j = 0;
+            double zx = 0;
+            for (int i = 0; i < n; i++) {
+                if (MathLib.abs(z[i]) > MathLib.abs(z[j])) {
+                    j = i;
+                }
+                zx += z[i] * x[i];
+            }
+            if ((iteration > 0) && (MathLib.abs(z[j]) <= zx))
+                break;
+            for (int i = 0; i < n; i++) {
+                x[i] = 0;
+            }
+            x[j] = 1.0;
+        }
+        if (n > 1) { // Alternative estimate (Higham).
+            for (int i = 0; i < n; i++) {
+                final double v = 1.0 + (double) i / (n - 1);
+                x[i] = ((i & 1) == 0) ? v : -v;
+            }
+            double[] y = solve(x);
+            double norm = 0;
+            for (int i = 0; i < n; i++) {
+                norm += MathLib.abs(y[i]);
+            }
+            estimate = MathLib.max(estimate, 2 * norm / (3 * n));
+        }
+        return 1.0 / (_norm1 * estimate);
+    }
+
+    /**
+     * Returns the lower/upper decomposition in one single matrix (the unit
+     * diagonal of the lower matrix is not included).
+     *
+     * @return the lower/upper matrix merged in a single matrix.
+     */
+    public Float64Matrix getLU() {
+        Float64Matrix LU = Float64Matrix.newInstance(_n, _n);
+        System.arraycopy(_lu, 0, LU._data, 0, _n * _n);
+        return LU;
+    }
+
+    /**
+     * Returns the pivots elements of this decomposition.
+     *
+     * @return the source row indices after permutation.
+     */
+    public int[] getPivots() {
+        return _pivots.clone();
+    }
+
+    // Solves L·U·X = Y in place (Y n-by-p with contiguous rows).
+    private void substitute(double[] x, int p) {
+        final int n = _n;
+        final double[] a = _lu;
+        // Solves L·Z = Y
+        for (int k = 0; k < n; k += NB) {
+            final int kb = MathLib.min(k + NB, n);
+            for (int i = k + 1; i < kb; i++) {
+                for (int t = k; t < i; t++) {
+                    Float64Kernel.axpy(p, -a[i * n + t], x, t * p, x, i * p);
+                }
+            }
+            if (kb < n) {
+                multiplySubtract(n - kb, kb - k, p, a, kb * n + k, n, x, k
+                        * p, p, x, kb * p, p);
+            }
+        }
+        // Solves U·X = Z
+        for (int k = (n - 1) / NB * NB; k >= 0; k -= NB) {
+            final int kb = MathLib.min(k + NB, n);
+            for (int i = kb - 1; i >= k; i--) {
+                for (int t = i + 1; t < kb; t++) {
+                    Float64Kernel.axpy(p, -a[i * n + t], x, t * p, x, i * p);
+                }
+                Float64Kernel.scale(p, 1.0 / a[i * n + i], x, i * p, x, i * p);
+            }
+            if (k > 0) {
+                multiplySubtract(k, kb - k, p, a, k, n, x, k * p, p, x, 0, p);
+            }
+        }
+    }
+
+    // Returns the solution of Aᵀ·x = b (Uᵀ·Lᵀ·P·x = b).
+    private double[] solveTranspose(double[] b) {
+        final int n = _n;
+        final double[] a = _lu;
+        double[] w = b.clone();
+        for (int i = 0; i < n; i++) { // Uᵀ·w = b
+            final double wi = w[i] / a[i * n + i];
+            w[i] = wi;
+            Float64Kernel.axpy(n - i - 1, -wi, a, i * n + i + 1, w, i + 1);
+        }
+        for (int i = n - 1; i > 0; i--) { // Lᵀ·v = w
+            Float64Kernel.axpy(i, -w[i], a, i * n, w, 0);
+        }
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[_pivots[i]] = w[i];
+        }
+        return x;
+    }
+
+    // Performs C = C - A·B (A m-by-k, contiguous columns for all matrices).
+    private static void multiplySubtract(int m, int k, int p, double[] a,
+            int ao, int ars, double[] b, int bo, int brs, double[] c, int co,
+            int crs) {
+        double[] opposite = new double[m * k];
+        for (int i = 0; i < m; i++) {
+            Float64Kernel.scale(k, -1.0, a, ao + i * ars, opposite, i * k);
+        }
+        Float64Kernel.gemm(m, k, p, opposite, 0, k, 1, b, bo, brs, 1, c, co,
+                crs);
+    }
+}
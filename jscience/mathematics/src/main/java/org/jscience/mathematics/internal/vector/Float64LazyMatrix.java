@@ -0,0 +1,472 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.util.List;
+
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+import javolution.util.Index;
+
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+import org.jscience.mathematics.number.Float64;
+
+/**
+ * <p> This class represents a 64 bits floating point matrix expression
+ *     evaluated lazily. The operations {@link #plus plus},
+ *     {@link #minus minus}, {@link #times(Float64) times(k)},
+ *     {@link #opposite opposite}, {@link #transpose transpose} and
+ *     {@link #times(Matrix) times(Matrix)} do not calculate any element;
+ *     they return expressions held in the canonical form
+ *     <code>Σ αᵢ·Aᵢ + Σ βⱼ·Bⱼ·Cⱼ</code> (linear combination of matrices
+ *     and of products).
+ *     [code]
+ *         Float64LazyMatrix A = Float64LazyMatrix.valueOfMatrix(a);
+ *         Float64LazyMatrix B = Float64LazyMatrix.valueOfMatrix(b);
+ *         Float64LazyMatrix C = Float64LazyMatrix.valueOfMatrix(c);
+ *         Float64Matrix M = A.times(x).plus(B.times(y)).times(k).evaluate();
+ *             // Single pass: (k·x)·a + (k·y)·b
+ *         Float64Matrix G = A.times(B).times(alpha).plus(C.times(beta)).evaluate();
+ *             // β·c then α·a·b accumulated by the matrix product kernel.
+ *     [/code]</p>
+ *
+ * <p> An expression is evaluated (once, the result is kept) by
+ *     {@link #evaluate}, by the element access methods ({@link #get get},
+ *     {@link #getRow getRow}, ..., {@link #toText toText}) and by the
+ *     operations which are not lazy (e.g. {@link #inverse inverse}).
+ *     The evaluation calculates the linear combination of matrices in
+ *     a single pass (by blocks of rows, without intermediate matrices),
+ *     then accumulates each product with the
+ *     {@link Float64Kernel#gemm concurrent matrix product} (the
+ *     coefficient being applied to the smallest operand). Transposes are
+ *     views (no copy) and sub-expressions shared by several expressions
+ *     are evaluated only once.</p>
+ *
+ * <p> The products of an expression by a vector are calculated without
+ *     evaluating the expression (e.g. <code>(A·B)·v</code> is calculated
+ *     as <code>A·(B·v)</code>).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+public final class Float64LazyMatrix extends DenseMatrix<Float64> {
+
+    /**
+     * Holds the number of elements per block of rows evaluated in one pass.
+     */
+    private static final int BLOCK_SIZE = 4096;
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<Float64LazyMatrix> FACTORY = new ObjectFactory<Float64LazyMatrix>() {
+        protected Float64LazyMatrix create() {
+            return new Float64LazyMatrix();
+        }
+
+        @Override
+        protected void cleanup(Float64LazyMatrix matrix) {
+            matrix._terms = null;
+            matrix._value = null;
+        }
+    };
+
+    /**
+     * Holds the terms of the linear combination (possibly shared).
+     */
+    Term[] _terms;
+
+    /**
+     * Holds the number of rows.
+     */
+    int _m;
+
+    /**
+     * Holds the number of columns.
+     */
+    int _n;
+
+    /**
+     * Holds the value of this expression once evaluated.
+     */
+    private Float64Matrix _value;
+
+    /**
+     * Default constructor.
+     */
+    private Float64LazyMatrix() {
+    }
+
+    // Returns the expression having the specified terms.
+    private static Float64LazyMatrix newInstance(int m, int n, Term[] terms) {
+        Float64LazyMatrix E = FACTORY.object();
+        E._m = m;
+        E._n = n;
+        E._terms = terms;
+        return E;
+    }
+
+    /**
+     * Returns the expression having the specified matrix as value.
+     *
+     * @param  that the matrix.
+     * @return <code>that</code> or an expression whose value is
+     *         <code>that</code>.
+     */
+    public static Float64LazyMatrix valueOfMatrix(Matrix<Float64> that) {
+        if (that instanceof Float64LazyMatrix)
+            return (Float64LazyMatrix) that;
+        Float64Matrix M = Float64Matrix.valueOfMatrix(that);
+        Float64LazyMatrix E = newInstance(M._m, M._n,
+                new Term[] { new Term(1.0, M, null) });
+        E._value = M;
+        return E;
+    }
+
+    /**
+     * Returns the value of this expression (evaluated once).
+     *
+     * @return the matrix value of this expression.
+     */
+    public Float64Matrix evaluate() {
+        Float64Matrix value = _value;
+        if (value == null) {
+            value = evaluate(_m, _n, _terms);
+            _value = value; // Immutable (concurrent evaluations are equal).
+        }
+        return value;
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return _m;
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return _n;
+    }
+
+    @Override
+    public Float64 get(int i, int j) {
+        return evaluate().get(i, j);
+    }
+
+    /**
+     * Returns the value of the element <code>(i, j)</code> of this
+     * expression (evaluates this expression).
+     *
+     * @param  i the row index.
+     * @param  j the column index.
+     * @return the element value.
+     */
+    public double getValue(int i, int j) {
+        return evaluate().getValue(i, j);
+    }
+
+    @Override
+    public Float64Vector getRow(int i) {
+        return evaluate().getRow(i);
+    }
+
+    @Override
+    public Float64Vector getColumn(int j) {
+        return evaluate().getColumn(j);
+    }
+
+    @Override
+    public Float64Vector getDiagonal() {
+        return evaluate().getDiagonal();
+    }
+
+    @Override
+    public Float64Matrix getSubMatrix(List<Index> rows, List<Index> columns) {
+        return evaluate().getSubMatrix(rows, columns);
+    }
+
+    @Override
+    public Float64LazyMatrix opposite() {
+        return times(-1.0);
+    }
+
+    @Override
+    public Float64LazyMatrix plus(Matrix<Float64> that) {
+        return plus(that, 1.0);
+    }
+
+    @Override
+    public Float64LazyMatrix minus(Matrix<Float64> that) {
+        return plus(that, -1.0);
+    }
+
+    // Returns this + k·that
+    private Float64LazyMatrix plus(Matrix<Float64> that, double k) {
+        if ((that.getNumberOfRows() != _m)
+                || (that.getNumberOfColumns() != _n))
+            throw new DimensionException();
+        Term[] others = valueOfMatrix(that)._terms;
+        Term[] terms = new Term[_terms.length + others.length];
+        System.arraycopy(_terms, 0, terms, 0, _terms.length);
+        for (int i = 0; i < others.length; i++) {
+            terms[_terms.length + i] = others[i].times(k);
+        }
+        return newInstance(_m, _n, terms);
+    }
+
+    @Override
+    public Float64LazyMatrix times(Float64 k) {
+        return times(k.doubleValue());
+    }
+
+    /**
+     * Equivalent to <code>this.times(Float64.valueOf(k))</code>
+     *
+     * @param k the coefficient.
+     * @return <code>this * k</code> (not evaluated).
+     */
+    public Float64LazyMatrix times(double k) {
+        Term[] terms = new Term[_terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = _terms[i].times(k);
+        }
+        return newInstance(_m, _n, terms);
+    }
+
+    /**
+     * Returns the product of this expression with the one specified
+     * (not evaluated). The coefficients of single term expressions are
+     * factored out (e.g. <code>(α·A)·(β·B)</code> is held as
+     * <code>(αβ)·A·B</code>).
+     *
+     * @param  that the matrix multiplier.
+     * @return <code>this · that</code> (not evaluated).
+     * @throws DimensionException if <code>
+     *         this.getNumberOfColumns() != that.getNumberOfRows()</code>.
+     */
+    @Override
+    public Float64LazyMatrix times(Matrix<Float64> that) {
+        if (that.getNumberOfRows() != _n)
+            throw new DimensionException();
+        Float64LazyMatrix right = valueOfMatrix(that);
+        double k = 1.0;
+        Matrix<Float64> left = this, other = right;
+        if (_terms.length == 1) {
+            k *= _terms[0]._coefficient;
+            left = _terms[0].operand(_m, _n);
+        }
+        if (right._terms.length == 1) {
+            k *= right._terms[0]._coefficient;
+            other = right._terms[0].operand(right._m, right._n);
+        }
+        return newInstance(_m, right._n, new Term[] { new Term(k, left,
+                other) });
+    }
+
+    /**
+     * Returns the product of this expression by the specified vector
+     * (the products are associated from the right, this expression is
+     * not evaluated).
+     *
+     * @param  v the vector.
+     * @return <code>this · v</code>
+     * @throws DimensionException if <code>
+     *         v.getDimension() != this.getNumberOfColumns()<code>
+     */
+    @Override
+    public Float64Vector times(Vector<Float64> v) {
+        if (v.getDimension() != _n)
+            throw new DimensionException();
+        if (_value != null)
+            return times(_value, v);
+        Float64Vector x = Float64Vector.valueOfVector(v);
+        double[] y = new double[_m];
+        for (int i = 0; i < _terms.length; i++) {
+            Term term = _terms[i];
+            Float64Vector t = (term._right == null) ? times(
+                    (Float64Matrix) term._left, x) : times(term._left, times(
+                    term._right, x));
+            Float64Kernel.axpy(_m, term._coefficient, t._values, t._offset,
+                    y, 0);
+        }
+        return Float64Vector.viewOf(y, 0, 1, _m);
+    }
+
+    // Returns M·v (contiguous result).
+    private static Float64Vector times(Matrix<Float64> M, Vector<Float64> v) {
+        if (M instanceof Float64LazyMatrix)
+            return ((Float64LazyMatrix) M).times(v);
+        Float64Matrix A = (Float64Matrix) M;
+        Float64Vector x = Float64Vector.valueOfVector(v).contiguous();
+        double[] y = new double[A._m];
+        Float64Kernel.gemv(A._m, A._n, A._data, A._offset, A._rowStride,
+                A._columnStride, x._values, x._offset, y, 0);
+        return Float64Vector.viewOf(y, 0, 1, A._m);
+    }
+
+    @Override
+    public Float64Matrix inverse() {
+        return evaluate().inverse();
+    }
+
+    @Override
+    public Float64 determinant() {
+        return evaluate().determinant();
+    }
+
+    @Override
+    public Float64Matrix solve(Matrix<Float64> y) {
+        return evaluate().solve(y);
+    }
+
+    /**
+     * Returns the transpose of this expression (not evaluated, the
+     * transposes of matrices are views).
+     *
+     * @return <code>thisᵀ</code>
+     */
+    @Override
+    public Float64LazyMatrix transpose() {
+        Term[] terms = new Term[_terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = _terms[i].transpose();
+        }
+        Float64LazyMatrix E = newInstance(_n, _m, terms);
+        if (_value != null) {
+            E._value = _value.transpose();
+        }
+        return E;
+    }
+
+    /**
+     * Returns a copy of the value of this expression.
+     *
+     * @return <code>evaluate().copy()</code>
+     */
+    @Override
+    public Float64Matrix copy() {
+        return evaluate().copy();
+    }
+
+    // Evaluates the specified linear combination.
+    private static Float64Matrix evaluate(int m, int n, Term[] terms) {
+        int leaves = 0;
+        for (int i = 0; i < terms.length; i++) {
+            if (terms[i]._right == null) {
+                leaves++;
+            }
+        }
+        if ((terms.length == 1) && (leaves == 1)
+                && (terms[0]._coefficient == 1.0))
+            return (Float64Matrix) terms[0]._left;
+        Float64Matrix C = Float64Matrix.newInstance(m, n);
+        final double[] c = C._data;
+        if (leaves > 0) { // Single pass by blocks of rows.
+            final int rows = MathLib.max(1, BLOCK_SIZE / MathLib.max(n, 1));
+            for (int i0 = 0; i0 < m; i0 += rows) {
+                final int i1 = MathLib.min(i0 + rows, m);
+                for (int t = 0; t < terms.length; t++) {
+                    if (terms[t]._right == null) {
+                        accumulate(terms[t]._coefficient,
+                                (Float64Matrix) terms[t]._left, i0, i1, c);
+                    }
+                }
+            }
+        }
+        for (int t = 0; t < terms.length; t++) { // C += α·A·B
+            final Term term = terms[t];
+            if (term._right == null)
+                continue;
+            Float64Matrix A = operand(term._left);
+            Float64Matrix B = operand(term._right);
+            final double alpha = term._coefficient;
+            if (alpha != 1.0) { // Scales the smallest operand.
+                if ((long) A._m * A._n <= (long) B._m * B._n) {
+                    A = A.times(alpha);
+                } else {
+                    B = B.times(alpha);
+                }
+            }
+            Float64Kernel.gemm(m, A._n, n, A._data, A._offset, A._rowStride,
+                    A._columnStride, B._data, B._offset, B._rowStride,
+                    B._columnStride, c, 0, n);
+        }
+        return C;
+    }
+
+    // Accumulates the rows [i0, i1) of k·A into the row-major elements c.
+    private static void accumulate(double k, Float64Matrix A, int i0, int i1,
+            double[] c) {
+        final int n = A._n;
+        if ((A._columnStride == 1) && (A._rowStride == n)) { // Contiguous.
+            Float64Kernel.axpy((i1 - i0) * n, k, A._data, A._offset + i0 * n,
+                    c, i0 * n);
+            return;
+        }
+        for (int i = i0; i < i1; i++) {
+            if (A._columnStride == 1) {
+                Float64Kernel.axpy(n, k, A._data, A._offset + i
+                        * A._rowStride, c, i * n);
+            } else {
+                for (int j = 0, x = A._offset + i * A._rowStride, y = i * n; j < n; j++, x += A._columnStride, y++) {
+                    c[y] += k * A._data[x];
+                }
+            }
+        }
+    }
+
+    // Returns the value of the specified operand.
+    private static Float64Matrix operand(Matrix<Float64> M) {
+        return (M instanceof Float64LazyMatrix) ? ((Float64LazyMatrix) M)
+                .evaluate() : (Float64Matrix) M;
+    }
+
+    /**
+     * This class represents a term of a linear combination: a matrix
+     * (<code>_right == null</code>) or a product, times a coefficient.
+     * Terms are immutable and shared between expressions.
+     */
+    static final class Term {
+
+        final double _coefficient;
+
+        // Matrix (Float64Matrix) or left operand of the product.
+        final Matrix<Float64> _left;
+
+        // Right operand of the product or null.
+        final Matrix<Float64> _right;
+
+        Term(double coefficient, Matrix<Float64> left, Matrix<Float64> right) {
+            _coefficient = coefficient;
+            _left = left;
+            _right = right;
+        }
+
+        Term times(double k) {
+            return (k == 1.0) ? this : new Term(_coefficient * k, _left,
+                    _right);
+        }
+
+        Term transpose() {
+            if (_right == null)
+                return new Term(_coefficient, _left.transpose(), null);
+            return new Term(_coefficient, _right.transpose(), _left
+                    .transpose());
+        }
+
+        // Returns this term with a unit coefficient (m-by-n).
+        Matrix<Float64> operand(int m, int n) {
+            if (_right == null)
+                return _left;
+            return newInstance(m, n, new Term[] { new Term(1.0, _left, _right) });
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+}
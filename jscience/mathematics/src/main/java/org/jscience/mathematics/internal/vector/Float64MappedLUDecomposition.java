@@ -0,0 +1,381 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+import org.jscience.mathematics.number.Float64;
+
+/**
+ * <p> This class represents the LU decomposition (<code>P·A = L·U</code>)
+ *     with partial pivoting of a {@link Float64MappedMatrix mapped matrix}
+ *     (out-of-core).</p>
+ *
+ * <p> The decomposition is right-looking by tiles: the column of tiles
+ *     <code>K</code> is loaded in the heap as a panel (<code>n</code> rows
+ *     by <code>tileSize</code> columns) and factorized, the row exchanges
+ *     are applied to the other columns of tiles, then each tile of the
+ *     trailing matrix is updated with one {@link Float64Kernel#gemm
+ *     matrix product} (performed concurrently). Only the panel and a few
+ *     tiles are held in the heap; the factors are held by a mapped matrix
+ *     (a temporary file next to the source file or off-heap buffers).
+ *     [code]
+ *         Float64MappedMatrix A = Float64MappedMatrix.open(new File("system.tiles"), true);
+ *         Float64MappedLUDecomposition lu = Float64MappedLUDecomposition.valueOf(A);
+ *         Float64Matrix X = lu.solve(B);
+ *     [/code]</p>
+ *
+ * <p> Singular matrices can be decomposed (their {@link #determinant
+ *     determinant} is zero); solving singular systems results in infinite
+ *     or {@link Double#NaN NaN} elements.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see     Float64LUDecomposition
+ */
+public final class Float64MappedLUDecomposition {
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<Float64MappedLUDecomposition> FACTORY = new ObjectFactory<Float64MappedLUDecomposition>() {
+        protected Float64MappedLUDecomposition create() {
+            return new Float64MappedLUDecomposition();
+        }
+
+        @Override
+        protected void cleanup(Float64MappedLUDecomposition lu) {
+            lu._lu = null;
+            lu._pivots = null;
+        }
+    };
+
+    /**
+     * Holds the dimension of the square matrix source.
+     */
+    private int _n;
+
+    /**
+     * Holds the LU elements (unit diagonal of L not stored).
+     */
+    private Float64MappedMatrix _lu;
+
+    /**
+     * Holds the source row index of each row.
+     */
+    private int[] _pivots;
+
+    /**
+     * Holds the number of permutation performed.
+     */
+    private int _permutationCount;
+
+    /**
+     * Default constructor.
+     */
+    private Float64MappedLUDecomposition() {
+    }
+
+    /**
+     * Returns the lower/upper decomposition of the specified matrix (the
+     * source is not modified).
+     *
+     * @param  source the matrix for which the decomposition is calculated.
+     * @return the lower/upper decomposition of the specified matrix.
+     * @throws DimensionException if the specified matrix is not square.
+     */
+    public static Float64MappedLUDecomposition valueOf(
+            Float64MappedMatrix source) {
+        if (!source.isSquare())
+            throw new DimensionException("Matrix is not square");
+        Float64MappedLUDecomposition lu = FACTORY.object();
+        lu._n = source.getNumberOfRows();
+        lu._lu = source.copy();
+        lu._pivots = new int[lu._n];
+        for (int i = 0; i < lu._n; i++) {
+            lu._pivots[i] = i;
+        }
+        lu._permutationCount = 0;
+        lu.construct();
+        return lu;
+    }
+
+    // Right-looking decomposition by columns of tiles.
+    private void construct() {
+        final Float64MappedMatrix.Tiles tiles = _lu._tiles;
+        final int n = _n;
+        final int T = tiles._size;
+        final int NT = _lu.tileRows();
+        double[] tile = new double[T * T];
+        double[] u = new double[T * T];
+        for (int K = 0; K < NT; K++) {
+            final int k0 = K * T;
+            final int w = _lu.columnsOf(K);
+            final int rows = n - k0;
+            double[] panel = new double[rows * w];
+            for (int I = K; I < NT; I++) { // Loads the panel.
+                tiles.read(I, K, tile);
+                for (int i = 0, r = I * T - k0; i < _lu.rowsOf(I); i++, r++) {
+                    System.arraycopy(tile, i * T, panel, r * w, w);
+                }
+            }
+            int[] swaps = factorizePanel(panel, rows, w, k0);
+            for (int I = K; I < NT; I++) { // Stores the panel.
+                tiles.read(I, K, tile);
+                for (int i = 0, r = I * T - k0; i < _lu.rowsOf(I); i++, r++) {
+                    System.arraycopy(panel, r * w, tile, i * T, w);
+                }
+                tiles.write(I, K, tile);
+            }
+            for (int J = 0; J < NT; J++) { // Row exchanges.
+                if (J == K)
+                    continue;
+                for (int j = 0; j < w; j++) {
+                    if (swaps[j] != j) {
+                        tiles.swapRows(k0 + j, k0 + swaps[j], J, T);
+                    }
+                }
+            }
+            if (K == NT - 1)
+                break;
+            // -L21 (L11 being the first w rows of the panel).
+            double[] opposite = new double[(rows - w) * w];
+            Float64Kernel.scale(opposite.length, -1.0, panel, w * w,
+                    opposite, 0);
+            for (int J = K + 1; J < NT; J++) {
+                // U(K, J) = inv(L11)·A(K, J)
+                tiles.read(K, J, u);
+                for (int i = 1; i < w; i++) {
+                    for (int t = 0; t < i; t++) {
+                        Float64Kernel.axpy(T, -panel[i * w + t], u, t * T, u,
+                                i * T);
+                    }
+                }
+                tiles.write(K, J, u);
+                // A(I, J) = A(I, J) - L(I, K)·U(K, J)
+                for (int I = K + 1; I < NT; I++) {
+                    tiles.read(I, J, tile);
+                    Float64Kernel.gemm(_lu.rowsOf(I), w, T, opposite,
+                            (I * T - k0 - w) * w, w, 1, u, 0, T, 1, tile, 0,
+                            T);
+                    tiles.write(I, J, tile);
+                }
+            }
+        }
+    }
+
+    // Unblocked decomposition of the panel (rows-by-w, row-major); returns
+    // the row exchanged with each row of the first w rows.
+    private int[] factorizePanel(double[] a, int rows, int w, int k0) {
+        int[] swaps = new int[w];
+        for (int j = 0; j < w; j++) {
+            int p = j;
+            double max = MathLib.abs(a[j * w + j]);
+            for (int i = j + 1; i < rows; i++) {
+                final double abs = MathLib.abs(a[i * w + j]);
+                if (abs > max) {
+                    max = abs;
+                    p = i;
+                }
+            }
+            swaps[j] = p;
+            if (p != j) {
+                for (int c = 0, x = p * w, y = j * w; c < w; c++, x++, y++) {
+                    final double tmp = a[x];
+                    a[x] = a[y];
+                    a[y] = tmp;
+                }
+                final int tmp = _pivots[k0 + p];
+                _pivots[k0 + p] = _pivots[k0 + j];
+                _pivots[k0 + j] = tmp;
+                _permutationCount++;
+            }
+            if (max == 0)
+                continue; // Zero column.
+            final int rj = j * w;
+            final double inv = 1.0 / a[rj + j];
+            for (int i = j + 1; i < rows; i++) {
+                final int ri = i * w;
+                final double l = a[ri + j] * inv;
+                a[ri + j] = l;
+                if (l != 0) {
+                    for (int c = j + 1; c < w; c++) {
+                        a[ri + c] -= l * a[rj + c];
+                    }
+                }
+            }
+        }
+        return swaps;
+    }
+
+    /**
+     * Returns the solution X of the equation: A * X = B  with
+     * <code>this = A.lu()</code> using forward and back substitutions by
+     * tiles.
+     *
+     * @param  B the input matrix.
+     * @return the solution X = (1 / A) * B (heap matrix).
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public Float64Matrix solve(Matrix<Float64> B) {
+        if (_n != B.getNumberOfRows())
+            throw new DimensionException("Input vector has "
+                    + B.getNumberOfRows() + " rows instead of " + _n);
+        final int p = B.getNumberOfColumns();
+        Float64Matrix Y = Float64Matrix.valueOfMatrix(B);
+        Float64Matrix X = Float64Matrix.newInstance(_n, p);
+        for (int i = 0; i < _n; i++) { // Pivoting.
+            final int row = Y._offset + _pivots[i] * Y._rowStride;
+            for (int j = 0; j < p; j++) {
+                X._data[i * p + j] = Y._data[row + j * Y._columnStride];
+            }
+        }
+        substitute(X._data, p);
+        return X;
+    }
+
+    /**
+     * Returns the solution x of the equation: A * x = b (convenience
+     * method).
+     *
+     * @param  b the input elements.
+     * @return the solution elements.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public double[] solve(double[] b) {
+        if (_n != b.length)
+            throw new DimensionException("Input vector has " + b.length
+                    + " elements instead of " + _n);
+        double[] x = new double[_n];
+        for (int i = 0; i < _n; i++) {
+            x[i] = b[_pivots[i]];
+        }
+        substitute(x, 1);
+        return x;
+    }
+
+    /**
+     * Returns the solution X of the equation: A * X = Identity  with
+     * <code>this = A.lu()</code> (calculated by columns of tiles).
+     *
+     * @return <code>this.solve(Identity)</code> (mapped like the source).
+     */
+    public Float64MappedMatrix inverse() {
+        final int n = _n;
+        final int T = _lu._tiles._size;
+        final int NT = _lu.tileRows();
+        Float64MappedMatrix M = _lu.newResult(n, n);
+        double[] tile = new double[T * T];
+        for (int J = 0; J < NT; J++) {
+            final int j0 = J * T;
+            final int w = _lu.columnsOf(J);
+            double[] x = new double[n * w];
+            for (int i = 0; i < n; i++) {
+                final int column = _pivots[i] - j0;
+                if ((column >= 0) && (column < w)) {
+                    x[i * w + column] = 1.0;
+                }
+            }
+            substitute(x, w);
+            for (int I = 0; I < NT; I++) {
+                for (int k = 0; k < T * T; k++) {
+                    tile[k] = 0;
+                }
+                for (int i = 0, r = I * T; i < _lu.rowsOf(I); i++, r++) {
+                    System.arraycopy(x, r * w, tile, i * T, w);
+                }
+                M._tiles.write(I, J, tile);
+            }
+        }
+        return M;
+    }
+
+    /**
+     * Returns the determinant of the {@link Matrix} having this
+     * decomposition.
+     *
+     * @return the determinant of the matrix source.
+     */
+    public Float64 determinant() {
+        double product = 1.0;
+        for (int i = 0; i < _n; i++) {
+            product *= _lu.getValue(i, i);
+        }
+        return Float64.valueOf(((_permutationCount & 1) == 0) ? product
+                : -product);
+    }
+
+    /**
+     * Returns the lower/upper decomposition in one single matrix (the unit
+     * diagonal of the lower matrix is not included).
+     *
+     * @return the lower/upper matrix merged in a single mapped matrix
+     *         (not a copy).
+     */
+    public Float64MappedMatrix getLU() {
+        return _lu;
+    }
+
+    /**
+     * Returns the pivots elements of this decomposition.
+     *
+     * @return the source row indices after permutation.
+     */
+    public int[] getPivots() {
+        return _pivots.clone();
+    }
+
+    // Solves L·U·X = Y in place (Y n-by-p with contiguous rows).
+    private void substitute(double[] x, int p) {
+        final Float64MappedMatrix.Tiles tiles = _lu._tiles;
+        final int T = tiles._size;
+        final int NT = _lu.tileRows();
+        double[] a = new double[T * T];
+        // Solves L·Z = Y
+        for (int K = 0; K < NT; K++) {
+            final int k0 = K * T;
+            final int w = _lu.columnsOf(K);
+            tiles.read(K, K, a);
+            for (int i = 1; i < w; i++) {
+                for (int t = 0; t < i; t++) {
+                    Float64Kernel.axpy(p, -a[i * T + t], x, (k0 + t) * p, x,
+                            (k0 + i) * p);
+                }
+            }
+            for (int I = K + 1; I < NT; I++) {
+                tiles.read(I, K, a);
+                Float64Kernel.scale(T * T, -1.0, a, 0, a, 0);
+                Float64Kernel.gemm(_lu.rowsOf(I), w, p, a, 0, T, 1, x, k0 * p,
+                        p, 1, x, I * T * p, p);
+            }
+        }
+        // Solves U·X = Z
+        for (int K = NT - 1; K >= 0; K--) {
+            final int k0 = K * T;
+            final int w = _lu.columnsOf(K);
+            tiles.read(K, K, a);
+            for (int i = w - 1; i >= 0; i--) {
+                for (int t = i + 1; t < w; t++) {
+                    Float64Kernel.axpy(p, -a[i * T + t], x, (k0 + t) * p, x,
+                            (k0 + i) * p);
+                }
+                Float64Kernel.scale(p, 1.0 / a[i * T + i], x, (k0 + i) * p, x,
+                        (k0 + i) * p);
+            }
+            for (int I = 0; I < K; I++) {
+                tiles.read(I, K, a);
+                Float64Kernel.scale(T * T, -1.0, a, 0, a, 0);
+                Float64Kernel.gemm(T, w, p, a, 0, T, 1, x, k0 * p, p, 1, x, I
+                        * T * p, p);
+            }
+        }
+    }
+}
@@ -0,0 +1,905 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+import javolution.util.Index;
+
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+import org.jscience.mathematics.number.Float64;
+
+/**
+ * <p> This class represents a 64 bits floating point dense matrix whose
+ *     elements are held outside of the heap, in memory-mapped files or in
+ *     direct (off-heap) buffers; it is intended for matrices larger than
+ *     the heap (e.g. 50000x50000 covariance matrices).</p>
+ *
+ * <p> The elements are stored by square tiles (<code>tileSize</code> rows
+ *     and columns, the tiles of the last row/column being padded with
+ *     zeros); tiles are ordered row by row, the elements of a tile being
+ *     contiguous row by row. Files start with a self-describing header of
+ *     {@link #HEADER_SIZE} bytes (magic number, version, byte order,
+ *     shape, layout and tile size) and can be reopened instantly
+ *     (the tiles are mapped, not read).
+ *     [code]
+ *         Float64MappedMatrix C = Float64MappedMatrix.create(new File("covariance.tiles"), 50000, 50000);
+ *         for (...) C.setValue(i, j, value); // Or tile by tile.
+ *         C.flush();
+ *         ...
+ *         Float64MappedMatrix C = Float64MappedMatrix.open(new File("covariance.tiles"), true);
+ *         Float64Matrix X = C.solve(B); // Tiled LU decomposition.
+ *     [/code]</p>
+ *
+ * <p> The products, the element-wise operations and the
+ *     {@link Float64MappedLUDecomposition LU decomposition} are performed
+ *     tile by tile (only a few tiles or a panel of tiles are held in the
+ *     heap), the tiles products being performed by the
+ *     {@link Float64Kernel#gemm concurrent matrix product}. The matrices
+ *     resulting from operations on file-mapped matrices are mapped to
+ *     temporary files (deleted on exit) in the same directory; those
+ *     resulting from operations on off-heap matrices are off-heap.
+ *     Rows, columns and sub-matrices are returned as heap matrices
+ *     (copies).</p>
+ *
+ * <p> Unlike the other matrices, instances of this class are mutable
+ *     (see {@link #setValue}); the {@link #transpose transpose} is a view
+ *     sharing the same tiles.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+public final class Float64MappedMatrix extends DenseMatrix<Float64> {
+
+    /**
+     * Holds the default tile size (512 KB tiles).
+     */
+    public static final int DEFAULT_TILE_SIZE = 256;
+
+    /**
+     * Holds the size in bytes of the file header (the tiles start at this
+     * position, page aligned).
+     */
+    public static final int HEADER_SIZE = 4096;
+
+    // File identification (header bytes 0-7).
+    private static final byte[] MAGIC = { 'J', 'S', 'C', 'T', 'I', 'L',
+            'E', 'S' };
+
+    // Header version.
+    private static final int VERSION = 1;
+
+    // Layout of tiles (row by row) with elements row by row.
+    private static final int ROW_MAJOR_TILES = 0;
+
+    // Maximum size in bytes of a mapped segment.
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<Float64MappedMatrix> FACTORY = new ObjectFactory<Float64MappedMatrix>() {
+        protected Float64MappedMatrix create() {
+            return new Float64MappedMatrix();
+        }
+
+        @Override
+        protected void cleanup(Float64MappedMatrix matrix) {
+            matrix._tiles = null;
+        }
+    };
+
+    /**
+     * Holds the tiles (possibly shared with the transpose).
+     */
+    Tiles _tiles;
+
+    /**
+     * Indicates if this matrix is the transpose of the tiles.
+     */
+    boolean _transposed;
+
+    /**
+     * Holds the number of rows.
+     */
+    int _m;
+
+    /**
+     * Holds the number of columns.
+     */
+    int _n;
+
+    /**
+     * Default constructor.
+     */
+    private Float64MappedMatrix() {
+    }
+
+    // Returns a matrix view of the specified tiles.
+    private static Float64MappedMatrix viewOf(Tiles tiles, boolean transposed) {
+        Float64MappedMatrix M = FACTORY.object();
+        M._tiles = tiles;
+        M._transposed = transposed;
+        M._m = transposed ? tiles._columns : tiles._rows;
+        M._n = transposed ? tiles._rows : tiles._columns;
+        return M;
+    }
+
+    /**
+     * Creates a m-by-n matrix mapped to the specified file (zero elements,
+     * default tile size). The file is created or overwritten.
+     *
+     * @param  file the file holding the elements.
+     * @param  m the number of rows.
+     * @param  n the number of columns.
+     * @return the corresponding mapped matrix.
+     * @throws IOException if the file cannot be created or mapped.
+     */
+    public static Float64MappedMatrix create(File file, int m, int n)
+            throws IOException {
+        return create(file, m, n, DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * Creates a m-by-n matrix mapped to the specified file (zero elements)
+     * with the specified tile size. The file is created or overwritten.
+     *
+     * @param  file the file holding the elements.
+     * @param  m the number of rows.
+     * @param  n the number of columns.
+     * @param  tileSize the number of rows and columns of the tiles.
+     * @return the corresponding mapped matrix.
+     * @throws IOException if the file cannot be created or mapped.
+     * @throws IllegalArgumentException if a dimension is negative or the
+     *         tile size is not positive.
+     */
+    public static Float64MappedMatrix create(File file, int m, int n,
+            int tileSize) throws IOException {
+        check(m, n, tileSize);
+        final ByteOrder order = ByteOrder.nativeOrder();
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(0); // Zero elements.
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.put(MAGIC);
+            header.putInt(VERSION);
+            header.putInt((order == ByteOrder.BIG_ENDIAN) ? 0 : 1);
+            header.putInt(m);
+            header.putInt(n);
+            header.putInt(tileSize);
+            header.putInt(ROW_MAJOR_TILES);
+            header.putLong(HEADER_SIZE);
+            header.clear();
+            FileChannel channel = raf.getChannel();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            Tiles tiles = new Tiles(m, n, tileSize, order, file);
+            raf.setLength(HEADER_SIZE + tiles.byteSize());
+            tiles.map(channel, false);
+            return viewOf(tiles, false);
+        } finally {
+            raf.close(); // The mapping remains valid.
+        }
+    }
+
+    /**
+     * Opens the matrix mapped to the specified file (the header is
+     * validated, no element is read).
+     *
+     * @param  file the file created by {@link #create create}.
+     * @param  readOnly <code>true</code> if the matrix elements cannot be
+     *         modified; <code>false</code> otherwise.
+     * @return the corresponding mapped matrix.
+     * @throws IOException if the file cannot be read or is not a tiled
+     *         matrix file.
+     */
+    public static Float64MappedMatrix open(File file, boolean readOnly)
+            throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, readOnly ? "r"
+                : "rw");
+        try {
+            FileChannel channel = raf.getChannel();
+            ByteBuffer header = ByteBuffer.allocate(40);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0)
+                    throw new IOException("Truncated header: " + file);
+            }
+            header.flip();
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (header.get() != MAGIC[i])
+                    throw new IOException("Not a tiled matrix file: " + file);
+            }
+            final int version = header.getInt();
+            if (version != VERSION)
+                throw new IOException("Unsupported version: " + version);
+            final ByteOrder order = (header.getInt() == 0) ? ByteOrder.BIG_ENDIAN
+                    : ByteOrder.LITTLE_ENDIAN;
+            final int m = header.getInt();
+            final int n = header.getInt();
+            final int tileSize = header.getInt();
+            final int layout = header.getInt();
+            final long offset = header.getLong();
+            if ((layout != ROW_MAJOR_TILES) || (offset != HEADER_SIZE)
+                    || (m < 0) || (n < 0) || (tileSize <= 0))
+                throw new IOException("Invalid header: " + file);
+            Tiles tiles = new Tiles(m, n, tileSize, order, file);
+            if (channel.size() < HEADER_SIZE + tiles.byteSize())
+                throw new IOException("Truncated file: " + file);
+            tiles.map(channel, readOnly);
+            return viewOf(tiles, false);
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Returns a m-by-n matrix held by direct (off-heap) buffers (zero
+     * elements).
+     *
+     * @param  m the number of rows.
+     * @param  n the number of columns.
+     * @param  tileSize the number of rows and columns of the tiles.
+     * @return the corresponding off-heap matrix.
+     * @throws IllegalArgumentException if a dimension is negative or the
+     *         tile size is not positive.
+     */
+    public static Float64MappedMatrix allocate(int m, int n, int tileSize) {
+        check(m, n, tileSize);
+        Tiles tiles = new Tiles(m, n, tileSize, ByteOrder.nativeOrder(),
+                null);
+        tiles.allocate();
+        return viewOf(tiles, false);
+    }
+
+    /**
+     * Creates a matrix mapped to the specified file holding the same
+     * elements as the specified matrix (default tile size).
+     *
+     * @param  file the file holding the elements.
+     * @param  that the matrix to copy.
+     * @return the corresponding mapped matrix.
+     * @throws IOException if the file cannot be created or mapped.
+     */
+    public static Float64MappedMatrix valueOf(File file, Matrix<Float64> that)
+            throws IOException {
+        Float64MappedMatrix M = create(file, that.getNumberOfRows(), that
+                .getNumberOfColumns());
+        M.copyFrom(that);
+        return M;
+    }
+
+    private static void check(int m, int n, int tileSize) {
+        if ((m < 0) || (n < 0))
+            throw new IllegalArgumentException("Negative dimension");
+        if (tileSize <= 0)
+            throw new IllegalArgumentException("Tile size: " + tileSize
+                    + " is not positive");
+    }
+
+    /**
+     * Returns the file holding the elements of this matrix.
+     *
+     * @return the mapped file or <code>null</code> if this matrix is held
+     *         by off-heap buffers.
+     */
+    public File getFile() {
+        return _tiles._file;
+    }
+
+    /**
+     * Returns the number of rows and columns of the tiles.
+     *
+     * @return the tile size.
+     */
+    public int getTileSize() {
+        return _tiles._size;
+    }
+
+    /**
+     * Forces the modifications of the elements to be written to the
+     * mapped file (does nothing for off-heap matrices).
+     */
+    public void flush() {
+        _tiles.force();
+    }
+
+    /**
+     * Returns the value of a floating point number from this matrix (fast).
+     *
+     * @param  i the floating point number first index.
+     * @param  j the floating point number second index.
+     * @return the value of the floating point number at <code>i,j</code>.
+     * @throws IndexOutOfBoundsException <code>
+     *         ((i &lt; 0) || (i &gt;= m)) || ((j &lt; 0) || (j &gt;= n))</code>
+     */
+    public double getValue(int i, int j) {
+        if ((i < 0) || (i >= _m) || (j < 0) || (j >= _n))
+            throw new IndexOutOfBoundsException();
+        return _transposed ? _tiles.get(j, i) : _tiles.get(i, j);
+    }
+
+    /**
+     * Sets the value of the element <code>(i, j)</code> of this matrix
+     * (and of the matrices sharing its tiles).
+     *
+     * @param  i the row index.
+     * @param  j the column index.
+     * @param  value the new value.
+     * @throws IndexOutOfBoundsException <code>
+     *         ((i &lt; 0) || (i &gt;= m)) || ((j &lt; 0) || (j &gt;= n))</code>
+     * @throws java.nio.ReadOnlyBufferException if this matrix has been
+     *         opened read-only.
+     */
+    public void setValue(int i, int j, double value) {
+        if ((i < 0) || (i >= _m) || (j < 0) || (j >= _n))
+            throw new IndexOutOfBoundsException();
+        if (_transposed) {
+            _tiles.set(j, i, value);
+        } else {
+            _tiles.set(i, j, value);
+        }
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return _m;
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return _n;
+    }
+
+    @Override
+    public Float64 get(int i, int j) {
+        return Float64.valueOf(getValue(i, j));
+    }
+
+    /**
+     * Returns the row i of this matrix (copy).
+     *
+     * @param i the row index.
+     * @return the heap vector holding the elements of the row i.
+     */
+    @Override
+    public Float64Vector getRow(int i) {
+        if ((i < 0) || (i >= _m))
+            throw new IndexOutOfBoundsException();
+        double[] values = new double[_n];
+        readBlock(i, 0, 1, _n, values, _n);
+        return Float64Vector.viewOf(values, 0, 1, _n);
+    }
+
+    /**
+     * Returns the column j of this matrix (copy).
+     *
+     * @param j the column index.
+     * @return the heap vector holding the elements of the column j.
+     */
+    @Override
+    public Float64Vector getColumn(int j) {
+        if ((j < 0) || (j >= _n))
+            throw new IndexOutOfBoundsException();
+        double[] values = new double[_m];
+        readBlock(0, j, _m, 1, values, 1);
+        return Float64Vector.viewOf(values, 0, 1, _m);
+    }
+
+    /**
+     * Returns the sub-matrix formed by the elements from the specified
+     * rows and columns (copy).
+     *
+     * @return the corresponding heap sub-matrix.
+     * @throws IndexOutOfBoundsException if any of the indices is greater
+     *         than the associated dimension.
+     */
+    @Override
+    public Float64Matrix getSubMatrix(List<Index> rows, List<Index> columns) {
+        final int m = rows.size();
+        final int n = columns.size();
+        Float64Matrix M = Float64Matrix.newInstance(m, n);
+        for (int i = 0; i < m; i++) {
+            final int row = rows.get(i).intValue();
+            for (int j = 0; j < n; j++) {
+                M._data[i * n + j] = getValue(row, columns.get(j).intValue());
+            }
+        }
+        return M;
+    }
+
+    @Override
+    public Float64MappedMatrix opposite() {
+        return times(-1.0);
+    }
+
+    @Override
+    public Float64MappedMatrix plus(Matrix<Float64> that) {
+        return plusOrMinus(that, false);
+    }
+
+    @Override
+    public Float64MappedMatrix minus(Matrix<Float64> that) {
+        return plusOrMinus(that, true);
+    }
+
+    private Float64MappedMatrix plusOrMinus(Matrix<Float64> that,
+            boolean minus) {
+        if ((that.getNumberOfRows() != _m)
+                || (that.getNumberOfColumns() != _n))
+            throw new DimensionException();
+        final int T = _tiles._size;
+        Float64MappedMatrix M = newResult(_m, _n);
+        double[] a = new double[T * T], b = new double[T * T];
+        for (int I = 0; I < tileRows(); I++) {
+            for (int J = 0; J < tileColumns(); J++) {
+                readTile(I, J, a);
+                readBlock(that, I * T, J * T, rowsOf(I), columnsOf(J), b, T);
+                if (minus) {
+                    Float64Kernel.subtract(T * T, a, 0, b, 0, a, 0);
+                } else {
+                    Float64Kernel.add(T * T, a, 0, b, 0, a, 0);
+                }
+                M._tiles.write(I, J, a);
+            }
+        }
+        return M;
+    }
+
+    @Override
+    public Float64MappedMatrix times(Float64 k) {
+        return times(k.doubleValue());
+    }
+
+    /**
+     * Equivalent to <code>this.times(Float64.valueOf(k))</code>
+     *
+     * @param k the coefficient.
+     * @return <code>this * k</code>
+     */
+    public Float64MappedMatrix times(double k) {
+        final int T = _tiles._size;
+        Float64MappedMatrix M = newResult(_m, _n);
+        double[] a = new double[T * T];
+        for (int I = 0; I < tileRows(); I++) {
+            for (int J = 0; J < tileColumns(); J++) {
+                readTile(I, J, a);
+                Float64Kernel.scale(T * T, k, a, 0, a, 0);
+                M._tiles.write(I, J, a);
+            }
+        }
+        return M;
+    }
+
+    /**
+     * Returns the product of this matrix by the specified column vector
+     * (tile by tile).
+     *
+     * @param  v the column vector.
+     * @return <code>this · v</code> (heap vector).
+     * @throws DimensionException if <code>
+     *         v.getDimension() != this.getNumberOfColumns()<code>
+     */
+    @Override
+    public Float64Vector times(Vector<Float64> v) {
+        if (v.getDimension() != _n)
+            throw new DimensionException();
+        Float64Vector x = Float64Vector.valueOfVector(v).contiguous();
+        final int T = _tiles._size;
+        double[] y = new double[_m];
+        double[] a = new double[T * T];
+        for (int I = 0; I < tileRows(); I++) {
+            for (int J = 0; J < tileColumns(); J++) {
+                readTile(I, J, a);
+                Float64Kernel.gemm(rowsOf(I), columnsOf(J), 1, a, 0, T, 1,
+                        x._values, x._offset + J * T, 1, 1, y, I * T, 1);
+            }
+        }
+        return Float64Vector.viewOf(y, 0, 1, _m);
+    }
+
+    /**
+     * Returns the product of this matrix with the one specified (tile by
+     * tile, each tile of the result being accumulated in the heap).
+     *
+     * @param  that the matrix multiplier.
+     * @return <code>this · that</code> (mapped like this matrix).
+     * @throws DimensionException if <code>
+     *         this.getNumberOfColumns() != that.getNumberOfRows()</code>.
+     */
+    @Override
+    public Float64MappedMatrix times(Matrix<Float64> that) {
+        if (that.getNumberOfRows() != _n)
+            throw new DimensionException();
+        final int p = that.getNumberOfColumns();
+        final int T = _tiles._size;
+        Float64MappedMatrix M = newResult(_m, p);
+        double[] a = new double[T * T], b = new double[T * T], c = new double[T
+                * T];
+        for (int I = 0; I < tileRows(); I++) {
+            final int mb = rowsOf(I);
+            for (int J = 0; J < M.tileColumns(); J++) {
+                final int pb = M.columnsOf(J);
+                for (int k = 0; k < T * T; k++) {
+                    c[k] = 0;
+                }
+                for (int K = 0; K < tileColumns(); K++) {
+                    final int nb = columnsOf(K);
+                    readTile(I, K, a);
+                    if (that instanceof Float64Matrix) { // No copy.
+                        Float64Matrix B = (Float64Matrix) that;
+                        Float64Kernel.gemm(mb, nb, pb, a, 0, T, 1, B._data,
+                                B._offset + K * T * B._rowStride + J * T
+                                        * B._columnStride, B._rowStride,
+                                B._columnStride, c, 0, T);
+                    } else {
+                        readBlock(that, K * T, J * T, nb, pb, b, T);
+                        Float64Kernel.gemm(mb, nb, pb, a, 0, T, 1, b, 0, T,
+                                1, c, 0, T);
+                    }
+                }
+                M._tiles.write(I, J, c);
+            }
+        }
+        return M;
+    }
+
+    /**
+     * Returns the inverse of this matrix (must be square) calculated
+     * through the {@link Float64MappedLUDecomposition tiled LU
+     * decomposition}.
+     *
+     * @return <code>1 / this</code> (mapped like this matrix).
+     * @throws DimensionException if this matrix is not square.
+     */
+    @Override
+    public Float64MappedMatrix inverse() {
+        return Float64MappedLUDecomposition.valueOf(this).inverse();
+    }
+
+    /**
+     * Returns the determinant of this matrix calculated through the
+     * {@link Float64MappedLUDecomposition tiled LU decomposition}.
+     *
+     * @return this matrix determinant.
+     * @throws DimensionException if this matrix is not square.
+     */
+    @Override
+    public Float64 determinant() {
+        return Float64MappedLUDecomposition.valueOf(this).determinant();
+    }
+
+    /**
+     * Solves this matrix for the specified matrix through the
+     * {@link Float64MappedLUDecomposition tiled LU decomposition}.
+     *
+     * @param  y the matrix for which the solution is calculated.
+     * @return <code>Float64MappedLUDecomposition.valueOf(this).solve(y)</code>
+     * @throws DimensionException if this matrix is not square or dimensions
+     *         do not match.
+     */
+    @Override
+    public Float64Matrix solve(Matrix<Float64> y) {
+        return Float64MappedLUDecomposition.valueOf(this).solve(y);
+    }
+
+    /**
+     * Returns the transpose of this matrix (view).
+     *
+     * @return the matrix sharing the tiles of this matrix.
+     */
+    @Override
+    public Float64MappedMatrix transpose() {
+        return viewOf(_tiles, !_transposed);
+    }
+
+    /**
+     * Returns a copy of this matrix (mapped like this matrix, not a view).
+     *
+     * @return a copy of this matrix.
+     */
+    @Override
+    public Float64MappedMatrix copy() {
+        final int T = _tiles._size;
+        Float64MappedMatrix M = newResult(_m, _n);
+        double[] a = new double[T * T];
+        for (int I = 0; I < tileRows(); I++) {
+            for (int J = 0; J < tileColumns(); J++) {
+                readTile(I, J, a);
+                M._tiles.write(I, J, a);
+            }
+        }
+        return M;
+    }
+
+    // Returns a new matrix with the same backend and tile size.
+    Float64MappedMatrix newResult(int m, int n) {
+        final int T = _tiles._size;
+        final File file = _tiles._file;
+        if (file == null)
+            return allocate(m, n, T);
+        try {
+            File tmp = File.createTempFile("matrix", ".tiles", file
+                    .getAbsoluteFile().getParentFile());
+            tmp.deleteOnExit();
+            return create(tmp, m, n, T);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create the result file",
+                    e);
+        }
+    }
+
+    // Copies the elements of the specified matrix (same dimensions).
+    private void copyFrom(Matrix<Float64> that) {
+        final int T = _tiles._size;
+        double[] a = new double[T * T];
+        for (int I = 0; I < tileRows(); I++) {
+            for (int J = 0; J < tileColumns(); J++) {
+                readBlock(that, I * T, J * T, rowsOf(I), columnsOf(J), a, T);
+                _tiles.write(I, J, a);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tile rows of this matrix.
+     */
+    int tileRows() {
+        return (_m + _tiles._size - 1) / _tiles._size;
+    }
+
+    /**
+     * Returns the number of tile columns of this matrix.
+     */
+    int tileColumns() {
+        return (_n + _tiles._size - 1) / _tiles._size;
+    }
+
+    /**
+     * Returns the number of rows of the tiles of the tile row I.
+     */
+    int rowsOf(int I) {
+        return MathLib.min(_tiles._size, _m - I * _tiles._size);
+    }
+
+    /**
+     * Returns the number of columns of the tiles of the tile column J.
+     */
+    int columnsOf(int J) {
+        return MathLib.min(_tiles._size, _n - J * _tiles._size);
+    }
+
+    /**
+     * Reads the tile (I, J) of this matrix (row-major, padded with zeros).
+     */
+    void readTile(int I, int J, double[] tile) {
+        if (!_transposed) {
+            _tiles.read(I, J, tile);
+            return;
+        }
+        _tiles.read(J, I, tile);
+        final int T = _tiles._size;
+        for (int i = 1; i < T; i++) { // Square tile, transposed in place.
+            for (int j = 0; j < i; j++) {
+                final double tmp = tile[i * T + j];
+                tile[i * T + j] = tile[j * T + i];
+                tile[j * T + i] = tmp;
+            }
+        }
+    }
+
+    // Reads the block of this matrix (elements not read are left unchanged).
+    private void readBlock(int i0, int j0, int mb, int nb, double[] dst,
+            int ld) {
+        for (int i = 0; i < mb; i++) {
+            for (int j = 0; j < nb; j++) {
+                dst[i * ld + j] = _transposed ? _tiles.get(j0 + j, i0 + i)
+                        : _tiles.get(i0 + i, j0 + j);
+            }
+        }
+    }
+
+    // Reads the mb-by-nb block of the specified matrix at (i0, j0) into the
+    // row-major T-by-T tile (padded with zeros).
+    private void readBlock(Matrix<Float64> that, int i0, int j0, int mb,
+            int nb, double[] tile, int T) {
+        if ((that instanceof Float64MappedMatrix)
+                && (((Float64MappedMatrix) that)._tiles._size == T)
+                && (i0 % T == 0) && (j0 % T == 0)) {
+            ((Float64MappedMatrix) that).readTile(i0 / T, j0 / T, tile);
+            return;
+        }
+        for (int k = 0; k < T * T; k++) {
+            tile[k] = 0;
+        }
+        if (that instanceof Float64MappedMatrix) {
+            ((Float64MappedMatrix) that).readBlock(i0, j0, mb, nb, tile, T);
+        } else if (that instanceof Float64Matrix) {
+            Float64Matrix B = (Float64Matrix) that;
+            for (int i = 0; i < mb; i++) {
+                for (int j = 0; j < nb; j++) {
+                    tile[i * T + j] = B._data[B._offset + (i0 + i)
+                            * B._rowStride + (j0 + j) * B._columnStride];
+                }
+            }
+        } else {
+            for (int i = 0; i < mb; i++) {
+                for (int j = 0; j < nb; j++) {
+                    tile[i * T + j] = that.get(i0 + i, j0 + j).doubleValue();
+                }
+            }
+        }
+    }
+
+    /**
+     * This class represents the tiles of a matrix, held by mapped or direct
+     * buffers (segments of whole tiles).
+     */
+    static final class Tiles {
+
+        // Number of rows and columns of elements.
+        final int _rows, _columns;
+
+        // Number of rows (and columns) of each tile.
+        final int _size;
+
+        // Number of tile columns.
+        final int _tileColumns;
+
+        // Number of tiles.
+        final long _count;
+
+        // Number of tiles per segment.
+        final int _tilesPerSegment;
+
+        final ByteOrder _order;
+
+        final File _file;
+
+        // Segments (whole tiles).
+        DoubleBuffer[] _segments;
+
+        // Mapped buffers (null for direct buffers).
+        MappedByteBuffer[] _mapped;
+
+        Tiles(int rows, int columns, int size, ByteOrder order, File file) {
+            _rows = rows;
+            _columns = columns;
+            _size = size;
+            _tileColumns = (columns + size - 1) / size;
+            _count = (long) ((rows + size - 1) / size) * _tileColumns;
+            _tilesPerSegment = (int) MathLib.max(1, SEGMENT_SIZE
+                    / tileBytes());
+            _order = order;
+            _file = file;
+        }
+
+        // Returns the number of bytes of a tile.
+        long tileBytes() {
+            return 8L * _size * _size;
+        }
+
+        // Returns the number of bytes of all the tiles.
+        long byteSize() {
+            return _count * tileBytes();
+        }
+
+        // Returns the number of segments.
+        private int segmentCount() {
+            return (int) ((_count + _tilesPerSegment - 1) / _tilesPerSegment);
+        }
+
+        // Maps the segments of the specified file.
+        void map(FileChannel channel, boolean readOnly) throws IOException {
+            final int count = segmentCount();
+            _segments = new DoubleBuffer[count];
+            _mapped = new MappedByteBuffer[count];
+            for (int s = 0; s < count; s++) {
+                final long tiles = MathLib.min(_tilesPerSegment, _count - s
+                        * (long) _tilesPerSegment);
+                _mapped[s] = channel.map(readOnly ? FileChannel.MapMode.READ_ONLY
+                        : FileChannel.MapMode.READ_WRITE, HEADER_SIZE + s
+                        * _tilesPerSegment * tileBytes(), tiles * tileBytes());
+                _mapped[s].order(_order);
+                _segments[s] = _mapped[s].asDoubleBuffer();
+            }
+        }
+
+        // Allocates direct segments.
+        void allocate() {
+            final int count = segmentCount();
+            _segments = new DoubleBuffer[count];
+            for (int s = 0; s < count; s++) {
+                final long tiles = MathLib.min(_tilesPerSegment, _count - s
+                        * (long) _tilesPerSegment);
+                _segments[s] = ByteBuffer.allocateDirect(
+                        (int) (tiles * tileBytes())).order(_order)
+                        .asDoubleBuffer();
+            }
+        }
+
+        // Writes the modifications to the file.
+        void force() {
+            if (_mapped == null)
+                return;
+            for (int s = 0; s < _mapped.length; s++) {
+                if (!_mapped[s].isReadOnly()) {
+                    _mapped[s].force();
+                }
+            }
+        }
+
+        // Returns the segment holding the tile (I, J).
+        DoubleBuffer segment(int I, int J) {
+            return _segments[(int) (((long) I * _tileColumns + J) / _tilesPerSegment)];
+        }
+
+        // Returns the index of the first element of the tile (I, J) in its
+        // segment.
+        int base(int I, int J) {
+            return (int) (((long) I * _tileColumns + J) % _tilesPerSegment)
+                    * _size * _size;
+        }
+
+        double get(int i, int j) {
+            final int I = i / _size, J = j / _size;
+            return segment(I, J).get(
+                    base(I, J) + (i - I * _size) * _size + j - J * _size);
+        }
+
+        void set(int i, int j, double value) {
+            final int I = i / _size, J = j / _size;
+            segment(I, J).put(
+                    base(I, J) + (i - I * _size) * _size + j - J * _size,
+                    value);
+        }
+
+        // Reads the tile (I, J) (can be called concurrently).
+        void read(int I, int J, double[] tile) {
+            DoubleBuffer buffer = segment(I, J).duplicate();
+            buffer.position(base(I, J));
+            buffer.get(tile, 0, _size * _size);
+        }
+
+        // Writes the tile (I, J) (can be called concurrently for different
+        // tiles).
+        void write(int I, int J, double[] tile) {
+            DoubleBuffer buffer = segment(I, J).duplicate();
+            buffer.position(base(I, J));
+            buffer.put(tile, 0, _size * _size);
+        }
+
+        // Exchanges the rows r1 and r2 of the tile column J (the first
+        // count elements).
+        void swapRows(int r1, int r2, int J, int count) {
+            final int I1 = r1 / _size, I2 = r2 / _size;
+            final DoubleBuffer b1 = segment(I1, J), b2 = segment(I2, J);
+            final int k1 = base(I1, J) + (r1 - I1 * _size) * _size;
+            final int k2 = base(I2, J) + (r2 - I2 * _size) * _size;
+            for (int c = 0; c < count; c++) {
+                final double tmp = b1.get(k1 + c);
+                b1.put(k1 + c, b2.get(k2 + c));
+                b2.put(k2 + c, tmp);
+            }
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+}
@@ -2,25 +2,37 @@
  * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
  * Copyright (C) 2006 - JScience (http://jscience.org/)
  * All rights reserved.
- * 
+ *
  * Permission to use, copy, modify, and distribute this software is
  * freely granted, provided that this notice is preserved.
  */
 package org.jscience.mathematics.internal.vector;
 
-import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import javolution.context.ObjectFactory;
-import javolution.util.FastTable;
+import javolution.lang.MathLib;
 import javolution.util.Index;
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
 import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.RandomGenerator;
 
 /**
  * <p> This class represents a 64 bits floating point dense matrix.</p>
  *
+ * <p> Elements are held by a single <code>double[]</code> array, the
+ *     element <code>(i, j)</code> being at index
+ *     <code>offset + i·rowStride + j·columnStride</code>. Matrices are
+ *     immutable, the {@link #transpose transpose}, the {@link #getRow rows},
+ *     the {@link #getColumn columns}, the {@link #getDiagonal diagonal} and
+ *     the sub-matrices with evenly spaced indices are views sharing the
+ *     elements of this matrix (no copy).</p>
+ *
+ * <p> Matrices larger than the heap are represented by
+ *     {@link Float64MappedMatrix} (tiles held in mapped files).</p>
+ *
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
- * @version 5.0, December 12, 2007
+ * @version 5.0, October 18, 2026
  */
 public class Float64Matrix extends DenseMatrix<Float64> {
 
@@ -36,28 +48,77 @@ public class Float64Matrix extends DenseMatrix<Float64> {
 
         @Override
         protected void cleanup(Float64Matrix matrix) {
-            matrix._rows.reset();
+            matrix._data = null;
         }
     };
 
     /**
-     * Holds this matrix rows.
+     * Holds the elements (possibly shared with other matrices).
+     */
+    double[] _data;
+
+    /**
+     * Holds the index of the first element.
+     */
+    int _offset;
+
+    /**
+     * Holds the number of rows.
+     */
+    int _m;
+
+    /**
+     * Holds the number of columns.
+     */
+    int _n;
+
+    /**
+     * Holds the distance between consecutive rows.
      */
-    final FastTable<Float64Vector> _rows = new FastTable<Float64Vector>();
+    int _rowStride;
 
     /**
-     * Holds the transposed view of this matrix
+     * Holds the distance between consecutive columns.
      */
-    private final TransposedView _transposedView = new TransposedView();
+    int _columnStride;
+
+    /**
+     * Returns a new m-by-n matrix (zero elements, contiguous rows).
+     */
+    static Float64Matrix newInstance(int m, int n) {
+        Float64Matrix M = FACTORY.object();
+        M._data = new double[m * n];
+        M._offset = 0;
+        M._m = m;
+        M._n = n;
+        M._rowStride = n;
+        M._columnStride = 1;
+        return M;
+    }
+
+    // Returns a view sharing the elements of this matrix.
+    private Float64Matrix viewOf(int offset, int m, int n, int rowStride,
+            int columnStride) {
+        Float64Matrix M = FACTORY.object();
+        M._data = _data;
+        M._offset = offset;
+        M._m = m;
+        M._n = n;
+        M._rowStride = rowStride;
+        M._columnStride = columnStride;
+        return M;
+    }
 
     // See parent static method.
     public static Float64Matrix valueOfList(List<? extends Vector<Float64>> rows) {
-        Float64Matrix M = Float64Matrix.FACTORY.object();
+        final int m = rows.size();
         final int n = rows.get(0).getDimension();
-        for (Vector<Float64> row : rows) {
+        Float64Matrix M = Float64Matrix.newInstance(m, n);
+        for (int i = 0; i < m; i++) {
+            Vector<Float64> row = rows.get(i);
             if (row.getDimension() != n)
                 throw new DimensionException();
-            M._rows.add(Float64Vector.valueOfVector(row));
+            M.setRow(i, Float64Vector.valueOfVector(row));
         }
         return M;
     }
@@ -66,19 +127,30 @@ public class Float64Matrix extends DenseMatrix<Float64> {
     public static Float64Matrix valueOfMatrix(Matrix<Float64> that) {
         if (that instanceof Float64Matrix)
             return (Float64Matrix) that;
-        Float64Matrix M = Float64Matrix.FACTORY.object();
-        for (int i = 0, m = that.getNumberOfRows(); i < m; i++) {
-            M._rows.add(Float64Vector.valueOfVector(that.getRow(i)));
+        if (that instanceof Float64SymmetricMatrix)
+            return ((Float64SymmetricMatrix) that).toDense();
+        if (that instanceof Float64LazyMatrix)
+            return ((Float64LazyMatrix) that).evaluate();
+        if (that instanceof Float32Matrix)
+            return ((Float32Matrix) that).toFloat64();
+        final int m = that.getNumberOfRows();
+        final int n = that.getNumberOfColumns();
+        Float64Matrix M = Float64Matrix.newInstance(m, n);
+        for (int i = 0; i < m; i++) {
+            M.setRow(i, Float64Vector.valueOfVector(that.getRow(i)));
         }
         return M;
     }
 
     // See parent static method.
     public static Float64Matrix valueOf(double[][] elements) {
-        Float64Matrix M = Float64Matrix.FACTORY.object();
-        for (int i = 0, m = elements.length; i < m; i++) {
-            Float64Vector row = Float64Vector.valueOf(elements[i]);
-            M._rows.add(row);
+        final int m = elements.length;
+        final int n = elements[0].length;
+        Float64Matrix M = Float64Matrix.newInstance(m, n);
+        for (int i = 0; i < m; i++) {
+            if (elements[i].length != n)
+                throw new DimensionException();
+            System.arraycopy(elements[i], 0, M._data, i * n, n);
         }
         return M;
     }
@@ -88,6 +160,52 @@ public class Float64Matrix extends DenseMatrix<Float64> {
         return Float64Matrix.valueOfList(Arrays.asList(rows));
     }
 
+    /**
+     * Returns a matrix whose elements are uniformly distributed in range
+     * <code>[min, max[</code>. Large matrices are filled concurrently, the
+     * result depends only upon the generator state.
+     *
+     * @param m the number of rows.
+     * @param n the number of columns.
+     * @param min the inclusive lower bound.
+     * @param max the exclusive upper bound.
+     * @param random the random generator (advanced).
+     * @return the random matrix.
+     */
+    public static Float64Matrix valueOfRandom(int m, int n, double min,
+            double max, RandomGenerator random) {
+        Float64Matrix M = Float64Matrix.newInstance(m, n);
+        RandomFill.uniform(new double[][] { M._data }, m * n, min, max,
+                random);
+        return M;
+    }
+
+    /**
+     * Returns a matrix whose elements are normally distributed.
+     * Large matrices are filled concurrently, the result depends only upon
+     * the generator state.
+     *
+     * @param m the number of rows.
+     * @param n the number of columns.
+     * @param mean the mean of the distribution.
+     * @param standardDeviation the standard deviation of the distribution.
+     * @param random the random generator (advanced).
+     * @return the random matrix.
+     */
+    public static Float64Matrix valueOfGaussian(int m, int n, double mean,
+            double standardDeviation, RandomGenerator random) {
+        Float64Matrix M = Float64Matrix.newInstance(m, n);
+        RandomFill.gaussian(new double[][] { M._data }, m * n, mean,
+                standardDeviation, random);
+        return M;
+    }
+
+    // Sets the row i of a new matrix with contiguous rows.
+    private void setRow(int i, Float64Vector row) {
+        Float64Vector V = row.contiguous();
+        System.arraycopy(V._values, V._offset, _data, i * _n, _n);
+    }
+
   /**
      * Returns the value of a floating point number from this matrix (fast).
      *
@@ -98,80 +216,146 @@ public class Float64Matrix extends DenseMatrix<Float64> {
      *         ((i &lt; 0) || (i &gt;= m)) || ((j &lt; 0) || (j &gt;= n))</code>
      */
     public double getValue(int i, int j) {
-        return _rows.get(i).getValue(j);
+        if ((i < 0) || (i >= _m) || (j < 0) || (j >= _n))
+            throw new IndexOutOfBoundsException();
+        return _data[_offset + i * _rowStride + j * _columnStride];
     }
 
     @Override
     public int getNumberOfRows() {
-        return _rows.size();
+        return _m;
     }
 
     @Override
     public int getNumberOfColumns() {
-        return _rows.get(0).getDimension();
+        return _n;
     }
 
     @Override
     public Float64 get(int i, int j) {
-        return _rows.get(i).get(j);
+        return Float64.valueOf(getValue(i, j));
     }
 
+    /**
+     * Returns the row i of this matrix (view).
+     *
+     * @param i the row index.
+     * @return the vector sharing the elements of the row i.
+     */
     @Override
     public Float64Vector getRow(int i) {
-        return _rows.get(i);
+        if ((i < 0) || (i >= _m))
+            throw new IndexOutOfBoundsException();
+        return Float64Vector.viewOf(_data, _offset + i * _rowStride,
+                _columnStride, _n);
     }
 
+    /**
+     * Returns the column j of this matrix (view).
+     *
+     * @param j the column index.
+     * @return the vector sharing the elements of the column j.
+     */
     @Override
     public Float64Vector getColumn(int j) {
-        final int m = _rows.size();
-        Float64Vector V = Float64Vector.FACTORY.array(m);
-        V._dimension = m;
-        for (int i = 0; i < m; i++) {
-            V._values[i] = _rows.get(i)._values[j];
-        }
-        return V;
+        if ((j < 0) || (j >= _n))
+            throw new IndexOutOfBoundsException();
+        return Float64Vector.viewOf(_data, _offset + j * _columnStride,
+                _rowStride, _m);
     }
 
+    /**
+     * Returns the diagonal of this matrix (view).
+     *
+     * @return the vector sharing the diagonal elements.
+     */
+    @Override
+    public Float64Vector getDiagonal() {
+        return Float64Vector.viewOf(_data, _offset, _rowStride
+                + _columnStride, MathLib.min(_m, _n));
+    }
+
+    /**
+     * Returns the sub-matrix formed by the elements from the specified
+     * rows and columns. If both the row indices and the column indices are
+     * evenly spaced (e.g. {@link Index#rangeOf ranges}) the sub-matrix
+     * returned is a view sharing the elements of this matrix.
+     *
+     * @return the corresponding sub-matrix.
+     * @throws IndexOutOfBoundsException if any of the indices is greater
+     *         than the associated dimension.
+     */
     @Override
     public Float64Matrix getSubMatrix(List<Index> rows, List<Index> columns) {
-        Float64Matrix M = FACTORY.object();
-        for (int i = 0; i < rows.size(); i++) {
-            Float64Vector row = this.getRow(rows.get(i).intValue());
-            M._rows.add(row.getSubVector(columns));
+        final int m = rows.size();
+        final int n = columns.size();
+        final int rowStep = stepOf(rows, _m);
+        final int columnStep = stepOf(columns, _n);
+        if ((rowStep != Integer.MIN_VALUE) && (columnStep != Integer.MIN_VALUE))
+            return viewOf(_offset + rows.get(0).intValue() * _rowStride
+                    + columns.get(0).intValue() * _columnStride, m, n,
+                    rowStep * _rowStride, columnStep * _columnStride);
+        Float64Matrix M = Float64Matrix.newInstance(m, n);
+        for (int i = 0; i < m; i++) {
+            final int row = rows.get(i).intValue();
+            for (int j = 0; j < n; j++) {
+                M._data[i * n + j] = getValue(row, columns.get(j).intValue());
+            }
         }
         return M;
     }
 
+    // Returns the step between the specified indices (validated) or
+    // Integer.MIN_VALUE if the indices are not evenly spaced.
+    static int stepOf(List<Index> indices, int dimension) {
+        final int size = indices.size();
+        if (size == 0)
+            return Integer.MIN_VALUE;
+        final int first = indices.get(0).intValue();
+        final int step = (size == 1) ? 1 : indices.get(1).intValue() - first;
+        for (int i = 0; i < size; i++) {
+            final int index = indices.get(i).intValue();
+            if (index >= dimension)
+                throw new IndexOutOfBoundsException();
+            if (index != first + i * step)
+                return Integer.MIN_VALUE;
+        }
+        return step;
+    }
+
     @Override
     public Float64Matrix opposite() {
-        Float64Matrix M = FACTORY.object();
-        for (int i = 0, m = _rows.size(); i < m; i++) {
-            M._rows.add(_rows.get(i).opposite());
-        }
+        Float64Matrix A = compact();
+        Float64Matrix M = A.newCompact();
+        Float64Kernel.scale(_m * _n, -1.0, A._data, A._offset, M._data, 0);
         return M;
     }
 
     @Override
     public Float64Matrix plus(Matrix<Float64> that) {
-        Float64Matrix M = FACTORY.object();
-        final int m = _rows.size();
-        if (that.getNumberOfRows() != m)
-            throw new DimensionException();
-        for (int i = 0; i < m; i++) {
-            M._rows.add(_rows.get(i).plus(that.getRow(i)));
-        }
+        Float64Matrix A = compact();
+        Float64Matrix T = A.sameLayout(Float64Matrix.valueOfMatrix(that));
+        Float64Matrix M = A.newCompact();
+        Float64Kernel.add(_m * _n, A._data, A._offset, T._data, T._offset,
+                M._data, 0);
         return M;
     }
 
     @Override
-    public Float64Matrix times(Float64 k) {
-        Float64Matrix M = FACTORY.object();
-        for (int i = 0, m = _rows.size(); i < m; i++) {
-            M._rows.add(_rows.get(i).times(k));
-        }
+    public Float64Matrix minus(Matrix<Float64> that) {
+        Float64Matrix A = compact();
+        Float64Matrix T = A.sameLayout(Float64Matrix.valueOfMatrix(that));
+        Float64Matrix M = A.newCompact();
+        Float64Kernel.subtract(_m * _n, A._data, A._offset, T._data,
+                T._offset, M._data, 0);
         return M;
     }
 
+    @Override
+    public Float64Matrix times(Float64 k) {
+        return times(k.doubleValue());
+    }
+
     /**
      * Equivalent to <code>this.times(Float64.valueOf(k))</code>
      *
@@ -179,112 +363,167 @@ public class Float64Matrix extends DenseMatrix<Float64> {
      * @return <code>this * k</code>
      */
     public Float64Matrix times(double k) {
-        Float64Matrix M = FACTORY.object();
-        for (int i = 0, m = _rows.size(); i < m; i++) {
-            M._rows.add(_rows.get(i).times(k));
-        }
+        Float64Matrix A = compact();
+        Float64Matrix M = A.newCompact();
+        Float64Kernel.scale(_m * _n, k, A._data, A._offset, M._data, 0);
         return M;
     }
 
+    /**
+     * Returns the product of this matrix with the specified vector.
+     *
+     * @param v the vector.
+     * @return <code>this · v</code>
+     * @throws DimensionException if <code>
+     *         v.getDimension() != this.getNumberOfColumns()<code>
+     */
+    @Override
+    public Float64Vector times(Vector<Float64> v) {
+        Float64Vector X = Float64Vector.valueOfVector(v).contiguous();
+        if (X._dimension != _n)
+            throw new DimensionException();
+        Float64Vector V = Float64Vector.FACTORY.array(_m);
+        V._dimension = _m;
+        Float64Kernel.gemv(_m, _n, _data, _offset, _rowStride, _columnStride,
+                X._values, X._offset, V._values, 0);
+        return V;
+    }
+
     @Override
     public Float64Matrix times(Matrix<Float64> that) {
         //  This is a m-by-n matrix and that is a n-by-p matrix, the matrix result is mxp
-        final int m = _rows.size();
-        final int n = _rows.get(0).getDimension(); // Number of columns of this.
+        final int m = _m;
+        final int n = _n;
         final int p = that.getNumberOfColumns(); // Number of columns of that.
         if (n != that.getNumberOfRows())
             throw new DimensionException();
-        Float64Matrix M = FACTORY.object();
-        for (int i = 0; i < m; i++) {
-            Float64Vector V = Float64Vector.FACTORY.array(p);
-            V._dimension = p;
-            for (int j = 0; j < p; j++) {
-                Float64 element = _rows.get(i).times(that.getColumn(j));
-                V._values[j] = element.doubleValue();
-            }
-            M._rows.add(V);
-        }
+        Float64Matrix T = Float64Matrix.valueOfMatrix(that);
+        Float64Matrix M = Float64Matrix.newInstance(m, p);
+        Float64Kernel.gemm(m, n, p, _data, _offset, _rowStride,
+                _columnStride, T._data, T._offset, T._rowStride,
+                T._columnStride, M._data, 0, p);
         return M;
     }
 
+    /**
+     * Returns the inverse of this matrix (must be square) calculated
+     * through the {@link Float64LUDecomposition blocked LU decomposition}.
+     *
+     * @return <code>1 / this</code>
+     * @throws DimensionException if this matrix is not square.
+     */
     @Override
-    public DenseMatrix<Float64> transpose() {
-        return _transposedView;
+    public Float64Matrix inverse() {
+        return Float64LUDecomposition.valueOf(this).inverse();
     }
 
+    /**
+     * Returns the determinant of this matrix calculated through the
+     * {@link Float64LUDecomposition blocked LU decomposition}.
+     *
+     * @return this matrix determinant.
+     * @throws DimensionException if this matrix is not square.
+     */
     @Override
-    public Float64Matrix copy() {
-        Float64Matrix M = Float64Matrix.FACTORY.object();
-        for (int i = 0, m = _rows.size(); i < m; i++) {
-            M._rows.add(_rows.get(i).copy());
-        }
-        return M;
+    public Float64 determinant() {
+        return Float64LUDecomposition.valueOf(this).determinant();
     }
 
     /**
-     * Represents a transposed view of the outer matrix.
+     * Solves this matrix for the specified matrix through the
+     * {@link Float64LUDecomposition blocked LU decomposition}.
+     *
+     * @param  y the matrix for which the solution is calculated.
+     * @return <code>Float64LUDecomposition.valueOf(this).solve(y)</code>
+     * @throws DimensionException if this matrix is not square or dimensions
+     *         do not match.
      */
-    private class TransposedView extends DenseMatrix<Float64> {
-
-        @Override
-        public DenseVector<Float64> getRow(int i) {
-            return Float64Matrix.this.getColumn(i);
-        }
-
-        @Override
-        public DenseVector<Float64> getColumn(int j) {
-            return Float64Matrix.this.getRow(j);
-        }
-
-        @Override
-        public DenseMatrix<Float64> getSubMatrix(List<Index> rows, List<Index> columns) {
-            return Float64Matrix.this.getSubMatrix(columns, rows)._transposedView;
-        }
-
-        @Override
-        public DenseMatrix<Float64> opposite() {
-            return Float64Matrix.this.opposite()._transposedView;
-        }
+    @Override
+    public Float64Matrix solve(Matrix<Float64> y) {
+        return Float64LUDecomposition.valueOf(this).solve(y);
+    }
 
-        @Override
-        public DenseMatrix<Float64> plus(Matrix<Float64> that) {
-            return Float64Matrix.this.plus(that.transpose())._transposedView;
-        }
+    /**
+     * Returns the inverse or pseudo-inverse if this matrix if not square
+     * calculated through the {@link Float64QRDecomposition Householder QR
+     * decomposition}.
+     *
+     * @return the inverse or pseudo-inverse of this matrix (full rank).
+     */
+    @Override
+    public Float64Matrix pseudoInverse() {
+        if (isSquare())
+            return this.inverse();
+        if (_m > _n)
+            return Float64QRDecomposition.valueOf(this).pseudoInverse();
+        return Float64QRDecomposition.valueOf(this.transpose())
+                .pseudoInverse().transpose();
+    }
 
-        @Override
-        public DenseMatrix<Float64> times(Float64 k) {
-            return Float64Matrix.this.times(k)._transposedView;
-        }
+    /**
+     * Returns the transpose of this matrix (view).
+     *
+     * @return the matrix sharing the elements of this matrix.
+     */
+    @Override
+    public Float64Matrix transpose() {
+        return viewOf(_offset, _n, _m, _columnStride, _rowStride);
+    }
 
-        @Override
-        public DenseMatrix<Float64> times(Matrix<Float64> that) {
-            return Float64Matrix.valueOf(this).times(that);
+    /**
+     * Returns a copy of this matrix with contiguous rows (not a view).
+     *
+     * @return a copy of this matrix.
+     */
+    @Override
+    public Float64Matrix copy() {
+        Float64Matrix M = Float64Matrix.newInstance(_m, _n);
+        if (isRowMajor()) {
+            System.arraycopy(_data, _offset, M._data, 0, _m * _n);
+        } else {
+            for (int i = 0; i < _m; i++) {
+                int k = _offset + i * _rowStride;
+                for (int j = 0; j < _n; j++, k += _columnStride) {
+                    M._data[i * _n + j] = _data[k];
+                }
+            }
         }
+        return M;
+    }
 
-        @Override
-        public Float64Matrix transpose() {
-            return Float64Matrix.this;
-        }
+    // Indicates if the elements are contiguous, row by row.
+    private boolean isRowMajor() {
+        return (_columnStride == 1) && (_rowStride == _n);
+    }
 
-        @Override
-        public Float64Matrix copy() {
-            return Float64Matrix.valueOfMatrix(this).copy();
-        }
+    // Indicates if the elements are contiguous, column by column.
+    private boolean isColumnMajor() {
+        return (_rowStride == 1) && (_columnStride == _m);
+    }
 
-        @Override
-        public int getNumberOfRows() {
-            return Float64Matrix.this.getNumberOfColumns();
-        }
+    // Returns this matrix or a copy having contiguous elements.
+    private Float64Matrix compact() {
+        return (isRowMajor() || isColumnMajor()) ? this : copy();
+    }
 
-        @Override
-        public int getNumberOfColumns() {
-            return Float64Matrix.this.getNumberOfRows();
-        }
+    // Returns a new matrix with the same layout as this compact matrix.
+    private Float64Matrix newCompact() {
+        Float64Matrix M = Float64Matrix.newInstance(_m, _n);
+        M._rowStride = _rowStride;
+        M._columnStride = _columnStride;
+        return M;
+    }
 
-        @Override
-        public Float64 get(int i, int j) {
-            return Float64Matrix.this.get(j, i);
-        }
+    // Returns the specified matrix or a copy having the layout of this
+    // compact matrix.
+    private Float64Matrix sameLayout(Float64Matrix that) {
+        if ((that._m != _m) || (that._n != _n))
+            throw new DimensionException();
+        if ((that._rowStride == _rowStride)
+                && (that._columnStride == _columnStride))
+            return that;
+        return isRowMajor() ? that.copy() : that.transpose().copy()
+                .transpose();
     }
 
     private static final long serialVersionUID = 1L;
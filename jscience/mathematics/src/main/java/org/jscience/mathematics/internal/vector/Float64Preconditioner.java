@@ -0,0 +1,381 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.util.Arrays;
+
+import javolution.lang.MathLib;
+
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+
+/**
+ * <p> This class represents a preconditioner <code>M ≈ A</code> of the
+ *     {@link Float64KrylovSolver iterative solvers}; applying the
+ *     preconditioner solves <code>M·z = r</code>, which should be much
+ *     cheaper than solving <code>A·x = b</code>.</p>
+ *
+ * <p> The standard preconditioners are built from the
+ *     {@link Float64SparseMatrix compressed sparse rows} of the matrix
+ *     <code>A</code>:<ul>
+ *     <li> {@link #jacobi Jacobi}: <code>M = D</code> (diagonal of A),
+ *          applied concurrently.</li>
+ *     <li> {@link #ssor SSOR}: symmetric successive over-relaxation,
+ *          no factorization needed.</li>
+ *     <li> {@link #ilu ILU(0)}: incomplete LU factorization with the same
+ *          sparsity pattern as A (general matrices).</li>
+ *     <li> {@link #incompleteCholesky IC(0)}: incomplete Cholesky
+ *          factorization <code>L·Lᵀ</code> with the sparsity pattern of the
+ *          lower triangle of A (symmetric positive definite matrices).</li>
+ *     </ul>
+ *     The triangular solves of SSOR, ILU(0) and IC(0) are sequential.
+ *     Users may define their own preconditioner (e.g. multigrid cycle) by
+ *     overriding the {@link #solve solve} method.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/Preconditioner">
+ *      Wikipedia: Preconditioner</a>
+ */
+public abstract class Float64Preconditioner {
+
+    /**
+     * Default constructor.
+     */
+    protected Float64Preconditioner() {
+    }
+
+    /**
+     * Returns the Jacobi (diagonal) preconditioner of the specified matrix.
+     *
+     * @param  A the square matrix.
+     * @return the preconditioner <code>M = diag(A)</code>
+     * @throws DimensionException if the matrix is not square.
+     * @throws ArithmeticException if a diagonal element is zero.
+     */
+    public static Float64Preconditioner jacobi(Float64SparseMatrix A) {
+        Float64SparseMatrix csr = rowsOf(A);
+        final int n = csr._m;
+        int[] diagonal = diagonalOf(csr);
+        double[] inverse = new double[n];
+        for (int i = 0; i < n; i++) {
+            final double d = (diagonal[i] < 0) ? 0 : csr._values[diagonal[i]];
+            if (d == 0)
+                throw new ArithmeticException("Zero diagonal element at row "
+                        + i);
+            inverse[i] = 1.0 / d;
+        }
+        return new Jacobi(inverse);
+    }
+
+    /**
+     * Returns the symmetric successive over-relaxation preconditioner
+     * of the specified matrix:
+     * <code>M = (D/ω + L)·(D/ω)⁻¹·(D/ω + U)·ω/(2 - ω)</code>
+     * with <code>A = L + D + U</code>.
+     *
+     * @param  A the square matrix.
+     * @param  omega the relaxation factor in the range <code>]0, 2[</code>
+     *         (<code>1</code> for symmetric Gauss-Seidel).
+     * @return the SSOR preconditioner.
+     * @throws DimensionException if the matrix is not square.
+     * @throws IllegalArgumentException if <code>omega</code> is not in the
+     *         range <code>]0, 2[</code>
+     * @throws ArithmeticException if a diagonal element is zero.
+     */
+    public static Float64Preconditioner ssor(Float64SparseMatrix A,
+            double omega) {
+        if (!((omega > 0) && (omega < 2)))
+            throw new IllegalArgumentException("Relaxation factor " + omega
+                    + " not in range ]0, 2[");
+        Float64SparseMatrix csr = rowsOf(A);
+        int[] diagonal = diagonalOf(csr);
+        for (int i = 0; i < diagonal.length; i++) {
+            if ((diagonal[i] < 0) || (csr._values[diagonal[i]] == 0))
+                throw new ArithmeticException("Zero diagonal element at row "
+                        + i);
+        }
+        return new SSOR(csr._pointers, csr._indices, csr._values, diagonal,
+                omega);
+    }
+
+    /**
+     * Returns the incomplete LU factorization of the specified matrix
+     * without fill-in (ILU(0)): <code>L</code> and <code>U</code> have the
+     * sparsity pattern of <code>A</code> and <code>(L·U)ij = aij</code>
+     * for all non-zero elements of <code>A</code>.
+     *
+     * @param  A the square matrix.
+     * @return the ILU(0) preconditioner.
+     * @throws DimensionException if the matrix is not square.
+     * @throws ArithmeticException if a pivot is zero (or a diagonal element
+     *         is missing).
+     */
+    public static Float64Preconditioner ilu(Float64SparseMatrix A) {
+        Float64SparseMatrix csr = rowsOf(A);
+        final int n = csr._m;
+        final int[] pointers = csr._pointers;
+        final int[] indices = csr._indices;
+        final double[] lu = csr._values.clone();
+        int[] diagonal = diagonalOf(csr);
+        int[] position = new int[n]; // Column to element index (row i).
+        Arrays.fill(position, -1);
+        for (int i = 0; i < n; i++) {
+            final int start = pointers[i], end = pointers[i + 1];
+            for (int p = start; p < end; p++) {
+                position[indices[p]] = p;
+            }
+            for (int p = start; (p < end) && (indices[p] < i); p++) {
+                final int k = indices[p];
+                final double lik = lu[p] / lu[diagonal[k]];
+                lu[p] = lik;
+                for (int q = diagonal[k] + 1, qEnd = pointers[k + 1]; q < qEnd; q++) {
+                    final int w = position[indices[q]];
+                    if (w >= 0) {
+                        lu[w] -= lik * lu[q];
+                    }
+                }
+            }
+            if ((diagonal[i] < 0) || (lu[diagonal[i]] == 0))
+                throw new ArithmeticException("Zero pivot at row " + i);
+            for (int p = start; p < end; p++) {
+                position[indices[p]] = -1;
+            }
+        }
+        return new ILU(pointers, indices, lu, diagonal);
+    }
+
+    /**
+     * Returns the incomplete Cholesky factorization of the specified
+     * symmetric positive definite matrix without fill-in (IC(0)):
+     * <code>L</code> has the sparsity pattern of the lower triangle of
+     * <code>A</code> (only the lower triangle is read).
+     *
+     * @param  A the symmetric positive definite matrix.
+     * @return the IC(0) preconditioner <code>M = L·Lᵀ</code>
+     * @throws DimensionException if the matrix is not square.
+     * @throws ArithmeticException if a pivot is not positive (e.g. matrix
+     *         not positive definite or not diagonally dominant enough).
+     */
+    public static Float64Preconditioner incompleteCholesky(
+            Float64SparseMatrix A) {
+        Float64SparseMatrix csr = rowsOf(A);
+        final int n = csr._m;
+        // Extracts the lower triangle (diagonal last in each row).
+        int[] pointers = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            int count = 0;
+            for (int p = csr._pointers[i]; p < csr._pointers[i + 1]; p++) {
+                if (csr._indices[p] < i) {
+                    count++;
+                }
+            }
+            pointers[i + 1] = pointers[i] + count + 1;
+        }
+        int[] indices = new int[pointers[n]];
+        double[] l = new double[pointers[n]];
+        for (int i = 0; i < n; i++) {
+            int q = pointers[i];
+            double d = 0;
+            for (int p = csr._pointers[i]; p < csr._pointers[i + 1]; p++) {
+                final int j = csr._indices[p];
+                if (j < i) {
+                    indices[q] = j;
+                    l[q++] = csr._values[p];
+                } else if (j == i) {
+                    d = csr._values[p];
+                }
+            }
+            indices[q] = i;
+            l[q] = d;
+        }
+        // Row by row (up-looking) factorization.
+        int[] position = new int[n];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < n; i++) {
+            final int start = pointers[i], diag = pointers[i + 1] - 1;
+            for (int p = start; p < diag; p++) {
+                position[indices[p]] = p;
+            }
+            double sum = 0;
+            for (int p = start; p < diag; p++) {
+                final int k = indices[p];
+                double s = l[p];
+                for (int q = pointers[k], qEnd = pointers[k + 1] - 1; q < qEnd; q++) {
+                    final int w = position[indices[q]];
+                    if ((w >= 0) && (w < p)) {
+                        s -= l[w] * l[q];
+                    }
+                }
+                final double lik = s / l[pointers[k + 1] - 1];
+                l[p] = lik;
+                sum += lik * lik;
+            }
+            final double pivot = l[diag] - sum;
+            if (!(pivot > 0))
+                throw new ArithmeticException("Non positive pivot at row "
+                        + i);
+            l[diag] = MathLib.sqrt(pivot);
+            for (int p = start; p < diag; p++) {
+                position[indices[p]] = -1;
+            }
+        }
+        return new IC(pointers, indices, l);
+    }
+
+    /**
+     * Applies this preconditioner: solves <code>M·z = r</code>.
+     *
+     * @param r the n elements of the right-hand side (unchanged).
+     * @param z the n elements of the solution (output, distinct from
+     *        <code>r</code>).
+     */
+    public abstract void solve(double[] r, double[] z);
+
+    // Returns the specified square matrix compressed by rows.
+    private static Float64SparseMatrix rowsOf(Float64SparseMatrix A) {
+        if (A._m != A._n)
+            throw new DimensionException("Square matrix expected");
+        return A.compressRows();
+    }
+
+    // Returns the index of the diagonal element of each row (-1 if none).
+    private static int[] diagonalOf(Float64SparseMatrix csr) {
+        final int n = csr._m;
+        int[] diagonal = new int[n];
+        for (int i = 0; i < n; i++) {
+            final int k = Arrays.binarySearch(csr._indices, csr._pointers[i],
+                    csr._pointers[i + 1], i);
+            diagonal[i] = (k >= 0) ? k : -1;
+        }
+        return diagonal;
+    }
+
+    // M = D
+    private static final class Jacobi extends Float64Preconditioner {
+
+        private final double[] _inverse;
+
+        Jacobi(double[] inverse) {
+            _inverse = inverse;
+        }
+
+        public void solve(double[] r, double[] z) {
+            Float64Kernel.multiply(_inverse.length, r, 0, _inverse, 0, z, 0);
+        }
+    }
+
+    // M = (D/ω + L)·(D/ω)⁻¹·(D/ω + U)·ω/(2 - ω)
+    private static final class SSOR extends Float64Preconditioner {
+
+        private final int[] _pointers, _indices, _diagonal;
+
+        private final double[] _values;
+
+        private final double _omega;
+
+        SSOR(int[] pointers, int[] indices, double[] values, int[] diagonal,
+                double omega) {
+            _pointers = pointers;
+            _indices = indices;
+            _values = values;
+            _diagonal = diagonal;
+            _omega = omega;
+        }
+
+        public void solve(double[] r, double[] z) {
+            final int n = _diagonal.length;
+            final double omega = _omega;
+            final double scale = omega * (2 - omega);
+            for (int i = 0; i < n; i++) { // (D + ωL)·y = r
+                double s = r[i];
+                for (int p = _pointers[i], d = _diagonal[i]; p < d; p++) {
+                    s -= omega * _values[p] * z[_indices[p]];
+                }
+                z[i] = s / _values[_diagonal[i]];
+            }
+            for (int i = 0; i < n; i++) { // w = ω(2 - ω)·D·y
+                z[i] *= scale * _values[_diagonal[i]];
+            }
+            for (int i = n; --i >= 0;) { // (D + ωU)·z = w
+                double s = z[i];
+                for (int p = _diagonal[i] + 1, end = _pointers[i + 1]; p < end; p++) {
+                    s -= omega * _values[p] * z[_indices[p]];
+                }
+                z[i] = s / _values[_diagonal[i]];
+            }
+        }
+    }
+
+    // M = L·U (unit lower triangle L, both stored in A pattern).
+    private static final class ILU extends Float64Preconditioner {
+
+        private final int[] _pointers, _indices, _diagonal;
+
+        private final double[] _lu;
+
+        ILU(int[] pointers, int[] indices, double[] lu, int[] diagonal) {
+            _pointers = pointers;
+            _indices = indices;
+            _lu = lu;
+            _diagonal = diagonal;
+        }
+
+        public void solve(double[] r, double[] z) {
+            final int n = _diagonal.length;
+            for (int i = 0; i < n; i++) { // L·y = r
+                double s = r[i];
+                for (int p = _pointers[i], d = _diagonal[i]; p < d; p++) {
+                    s -= _lu[p] * z[_indices[p]];
+                }
+                z[i] = s;
+            }
+            for (int i = n; --i >= 0;) { // U·z = y
+                double s = z[i];
+                for (int p = _diagonal[i] + 1, end = _pointers[i + 1]; p < end; p++) {
+                    s -= _lu[p] * z[_indices[p]];
+                }
+                z[i] = s / _lu[_diagonal[i]];
+            }
+        }
+    }
+
+    // M = L·Lᵀ (L compressed by rows, diagonal last).
+    private static final class IC extends Float64Preconditioner {
+
+        private final int[] _pointers, _indices;
+
+        private final double[] _l;
+
+        IC(int[] pointers, int[] indices, double[] l) {
+            _pointers = pointers;
+            _indices = indices;
+            _l = l;
+        }
+
+        public void solve(double[] r, double[] z) {
+            final int n = _pointers.length - 1;
+            for (int i = 0; i < n; i++) { // L·y = r
+                double s = r[i];
+                final int diag = _pointers[i + 1] - 1;
+                for (int p = _pointers[i]; p < diag; p++) {
+                    s -= _l[p] * z[_indices[p]];
+                }
+                z[i] = s / _l[diag];
+            }
+            for (int i = n; --i >= 0;) { // Lᵀ·z = y (column oriented).
+                final int diag = _pointers[i + 1] - 1;
+                final double zi = z[i] / _l[diag];
+                z[i] = zi;
+                for (int p = _pointers[i]; p < diag; p++) {
+                    z[_indices[p]] -= _l[p] * zi;
+                }
+            }
+        }
+    }
+}
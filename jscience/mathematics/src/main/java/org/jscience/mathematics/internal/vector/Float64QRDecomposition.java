@@ -0,0 +1,456 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+import org.jscience.mathematics.number.Float64;
+
+/**
+ * <p> This class represents the QR decomposition (<code>A·P = Q·R</code>)
+ *     of a 64 bits floating point m-by-n matrix calculated with Householder
+ *     reflections; <code>Q</code> is orthogonal, <code>R</code> upper
+ *     triangular and <code>P</code> a permutation matrix.</p>
+ *
+ * <p> The elements are held column by column in a single
+ *     <code>double[]</code> array (tall matrices). Without pivoting the
+ *     decomposition is blocked: the reflections of a panel of
+ *     <code>NB</code> columns are accumulated (compact WY representation
+ *     <code>I - V·T·Vᵀ</code>) and applied to the trailing matrix through
+ *     the {@link Float64Kernel#gemm cache-blocked matrix product},
+ *     concurrently per ranges of rows. With column pivoting (rank
+ *     revealing) the column of largest remaining norm is selected at each
+ *     step.
+ *     [code]
+ *         Float64Matrix A = ...; // 1000000 x 200 design matrix.
+ *         Float64QRDecomposition qr = Float64QRDecomposition.valueOf(A);
+ *         Float64Matrix beta = qr.solve(y); // Minimizes |A·beta - y|.
+ *     [/code]</p>
+ *
+ * <p> The {@link #solve least-squares solutions} are obtained from
+ *     <code>R·x = Qᵀ·b</code>, the normal equations (<code>AᵀA</code>)
+ *     are never formed (the condition number is not squared). For rank
+ *     deficient matrices the basic solution is returned (the variables
+ *     of the columns beyond the {@link #rank rank} are set to zero).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see QRDecomposition
+ * @see <a href="http://en.wikipedia.org/wiki/QR_decomposition">
+ *      Wikipedia: QR decomposition</a>
+ */
+public final class Float64QRDecomposition {
+
+    /**
+     * Holds the number of columns per panel.
+     */
+    static final int NB = 32;
+
+    /**
+     * Holds the relative machine precision.
+     */
+    static final double EPSILON = 0x1.0p-52;
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<Float64QRDecomposition> FACTORY = new ObjectFactory<Float64QRDecomposition>() {
+        protected Float64QRDecomposition create() {
+            return new Float64QRDecomposition();
+        }
+
+        @Override
+        protected void cleanup(Float64QRDecomposition qr) {
+            qr._qr = null;
+            qr._tau = null;
+            qr._pivots = null;
+        }
+    };
+
+    /**
+     * Holds the number of rows.
+     */
+    private int _m;
+
+    /**
+     * Holds the number of columns.
+     */
+    private int _n;
+
+    /**
+     * Holds R (upper part) and the Householder vectors (lower part),
+     * column-major.
+     */
+    private double[] _qr;
+
+    /**
+     * Holds the Householder scalar factors.
+     */
+    private double[] _tau;
+
+    /**
+     * Holds the source column index of each column.
+     */
+    private int[] _pivots;
+
+    /**
+     * Holds the numerical rank.
+     */
+    private int _rank;
+
+    /**
+     * Default constructor.
+     */
+    private Float64QRDecomposition() {
+    }
+
+    /**
+     * Returns the blocked QR decomposition (no pivoting) of the specified
+     * matrix.
+     *
+     * @param  source the matrix for which the decomposition is calculated.
+     * @return <code>valueOf(source, false)</code>
+     */
+    public static Float64QRDecomposition valueOf(Matrix<Float64> source) {
+        return valueOf(source, false);
+    }
+
+    /**
+     * Returns the QR decomposition of the specified matrix with or without
+     * column pivoting.
+     *
+     * @param  source the matrix for which the decomposition is calculated.
+     * @param  pivoting <code>true</code> to select at each step the column
+     *         of largest norm (rank revealing); <code>false</code> for the
+     *         blocked decomposition.
+     * @return the QR decomposition of the specified matrix.
+     */
+    public static Float64QRDecomposition valueOf(Matrix<Float64> source,
+            boolean pivoting) {
+        Float64QRDecomposition qr = FACTORY.object();
+        Float64Matrix A = Float64Matrix.valueOfMatrix(source);
+        qr._m = A._m;
+        qr._n = A._n;
+        qr._qr = A.transpose().copy()._data; // Column-major.
+        qr._tau = new double[MathLib.min(qr._m, qr._n)];
+        qr._pivots = new int[qr._n];
+        for (int j = 0; j < qr._n; j++) {
+            qr._pivots[j] = j;
+        }
+        if (pivoting) {
+            qr.constructPivoting();
+        } else {
+            qr.construct();
+        }
+        qr._rank = qr.numericalRank();
+        return qr;
+    }
+
+    // Blocked decomposition.
+    private void construct() {
+        final int m = _m;
+        final int n = _n;
+        final int k = _tau.length;
+        double[] t = new double[NB * NB];
+        for (int j = 0; j < k; j += NB) {
+            final int jb = MathLib.min(j + NB, k);
+            for (int i = j; i < jb; i++) { // Panel.
+                householder(i);
+                HouseholderLogic.apply(_qr, m, i, _tau[i], i + 1, jb);
+            }
+            if (jb == n)
+                break;
+            if (jb - j == 1) {
+                HouseholderLogic.apply(_qr, m, j, _tau[j], jb, n);
+            } else {
+                formT(j, jb - j, t);
+                HouseholderLogic.applyBlock(_qr, m, j, jb - j, t, jb, n - jb);
+            }
+        }
+    }
+
+    // Decomposition with column pivoting (norms downdated).
+    private void constructPivoting() {
+        final int m = _m;
+        final int n = _n;
+        final double[] qr = _qr;
+        final double tol = MathLib.sqrt(EPSILON);
+        double[] norms = new double[n];
+        double[] initials = new double[n];
+        for (int j = 0; j < n; j++) {
+            norms[j] = Float64Kernel.norm(m, qr, j * m);
+            initials[j] = norms[j];
+        }
+        for (int i = 0; i < _tau.length; i++) {
+            int p = i;
+            for (int j = i + 1; j < n; j++) {
+                if (norms[j] > norms[p]) {
+                    p = j;
+                }
+            }
+            if (p != i) { // Exchanges columns.
+                for (int r = 0, x = p * m, y = i * m; r < m; r++, x++, y++) {
+                    final double tmp = qr[x];
+                    qr[x] = qr[y];
+                    qr[y] = tmp;
+                }
+                final int index = _pivots[p];
+                _pivots[p] = _pivots[i];
+                _pivots[i] = index;
+                norms[p] = norms[i];
+                initials[p] = initials[i];
+            }
+            householder(i);
+            HouseholderLogic.apply(qr, m, i, _tau[i], i + 1, n);
+            for (int j = i + 1; j < n; j++) { // Downdates norms.
+                if (norms[j] == 0)
+                    continue;
+                final double ratio = MathLib.abs(qr[j * m + i]) / norms[j];
+                final double tmp = MathLib.max(0, 1 - ratio * ratio);
+                final double check = norms[j] / initials[j];
+                if (tmp * check * check <= tol) { // Cancellation.
+                    norms[j] = Float64Kernel.norm(m - i - 1, qr, j * m + i
+                            + 1);
+                    initials[j] = norms[j];
+                } else {
+                    norms[j] *= MathLib.sqrt(tmp);
+                }
+            }
+        }
+    }
+
+    // Calculates the reflection zeroing column i below the diagonal.
+    private void householder(int i) {
+        final double[] qr = _qr;
+        final int d = i * _m + i;
+        final int length = _m - i - 1;
+        final double alpha = qr[d];
+        final double sigma = Float64Kernel.norm(length, qr, d + 1);
+        if (sigma == 0) {
+            _tau[i] = 0;
+            return;
+        }
+        final double norm = MathLib.sqrt(alpha * alpha + sigma * sigma);
+        final double beta = (alpha >= 0) ? -norm : norm;
+        _tau[i] = (beta - alpha) / beta;
+        Float64Kernel.scale(length, 1.0 / (alpha - beta), qr, d + 1, qr, d + 1);
+        qr[d] = beta;
+    }
+
+    // Forms the upper triangular T of the panel [j, j+nb) such as
+    // H(j)·...·H(j+nb-1) = I - V·T·Vᵀ (row-major, nb-by-nb).
+    private void formT(int j, int nb, double[] t) {
+        final double[] qr = _qr;
+        final int m = _m;
+        double[] s = new double[nb];
+        for (int i = 0; i < nb; i++) {
+            final double tau = _tau[j + i];
+            final int c = j + i;
+            for (int l = 0; l < i; l++) { // s = Vᵀ·v(i)
+                final int vl = (j + l) * m;
+                s[l] = qr[vl + c]
+                        + Float64Kernel.dot(m - c - 1, qr, vl + c + 1, qr, c
+                                * m + c + 1);
+            }
+            for (int l = 0; l < i; l++) { // T(0:i, i) = -tau·T(0:i, 0:i)·s
+                double sum = 0;
+                for (int r = l; r < i; r++) {
+                    sum += t[l * nb + r] * s[r];
+                }
+                t[l * nb + i] = -tau * sum;
+            }
+            t[i * nb + i] = tau;
+            for (int l = i + 1; l < nb; l++) {
+                t[l * nb + i] = 0;
+            }
+        }
+    }
+
+    // Rank from the diagonal of R.
+    private int numericalRank() {
+        final int k = _tau.length;
+        if (k == 0)
+            return 0;
+        double max = 0;
+        for (int i = 0; i < k; i++) {
+            max = MathLib.max(max, MathLib.abs(_qr[i * _m + i]));
+        }
+        final double tol = MathLib.max(_m, _n) * EPSILON * max;
+        int rank = 0;
+        while ((rank < k) && (MathLib.abs(_qr[rank * _m + rank]) > tol)) {
+            rank++;
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the numerical rank of the matrix source (number of diagonal
+     * elements of R larger than <code>max(m, n)·ε·max|R<sub>ii</sub>|</code>).
+     * This rank is reliable only for decompositions with column pivoting.
+     *
+     * @return the numerical rank.
+     */
+    public int rank() {
+        return _rank;
+    }
+
+    /**
+     * Returns the least-squares solution <code>X</code> minimizing
+     * <code>|A·X - B|</code> (basic solution if the matrix source is rank
+     * deficient).
+     *
+     * @param  B the right-hand side (m rows).
+     * @return the n-by-p least-squares solution.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public Float64Matrix solve(Matrix<Float64> B) {
+        if (_m != B.getNumberOfRows())
+            throw new DimensionException("Input has " + B.getNumberOfRows()
+                    + " rows instead of " + _m);
+        final int p = B.getNumberOfColumns();
+        double[] y = Float64Matrix.valueOfMatrix(B).transpose().copy()._data;
+        Float64Matrix X = Float64Matrix.newInstance(_n, p);
+        double[] x = new double[_n];
+        for (int j = 0; j < p; j++) {
+            solve(y, j * _m, x);
+            for (int i = 0; i < _n; i++) {
+                X._data[i * p + j] = x[i];
+            }
+        }
+        return X;
+    }
+
+    /**
+     * Returns the least-squares solution <code>x</code> minimizing
+     * <code>|A·x - b|</code> (convenience method).
+     *
+     * @param  b the right-hand side elements.
+     * @return the least-squares solution elements.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public double[] solve(double[] b) {
+        if (_m != b.length)
+            throw new DimensionException("Input has " + b.length
+                    + " elements instead of " + _m);
+        double[] x = new double[_n];
+        solve(b.clone(), 0, x);
+        return x;
+    }
+
+    // Solves for y starting at offset (overwritten by Qᵀ·y).
+    private void solve(double[] y, int offset, double[] x) {
+        final double[] qr = _qr;
+        final int m = _m;
+        for (int i = 0; i < _tau.length; i++) { // y = Qᵀ·y
+            if (_tau[i] == 0)
+                continue;
+            final int v = i * m + i + 1;
+            final int yi = offset + i;
+            final double s = y[yi] + Float64Kernel.dot(m - i - 1, qr, v, y, yi + 1);
+            final double a = -_tau[i] * s;
+            y[yi] += a;
+            Float64Kernel.axpy(m - i - 1, a, qr, v, y, yi + 1);
+        }
+        for (int i = 0; i < _n; i++) {
+            x[i] = 0;
+        }
+        for (int i = _rank - 1; i >= 0; i--) { // R11·z = y
+            double sum = y[offset + i];
+            for (int j = i + 1; j < _rank; j++) {
+                sum -= qr[j * m + i] * x[_pivots[j]];
+            }
+            x[_pivots[i]] = sum / qr[i * m + i];
+        }
+    }
+
+    /**
+     * Returns the pseudo-inverse of the matrix source
+     * (<code>P·R⁻¹·Qᵀ</code>, n-by-m) for matrices of full column rank.
+     *
+     * @return the matrix <code>X</code> such as <code>X·A = I</code>.
+     */
+    public Float64Matrix pseudoInverse() {
+        final int m = _m;
+        final int r = _rank;
+        Float64Matrix Q = getQ();
+        double[] q = Q._data; // Column i of Q is row i of Qᵀ.
+        for (int i = r - 1; i >= 0; i--) { // R11·Z = Qᵀ
+            final int zi = i * m;
+            for (int j = i + 1; j < r; j++) {
+                Float64Kernel.axpy(m, -_qr[j * m + i], q, j * m, q, zi);
+            }
+            Float64Kernel.scale(m, 1.0 / _qr[i * m + i], q, zi, q, zi);
+        }
+        Float64Matrix X = Float64Matrix.newInstance(_n, m);
+        for (int i = 0; i < r; i++) {
+            System.arraycopy(q, i * m, X._data, _pivots[i] * m, m);
+        }
+        return X;
+    }
+
+    /**
+     * Returns the orthogonal factor with orthonormal columns (m-by-k with
+     * <code>k = min(m, n)</code>).
+     *
+     * @return the first k columns of Q.
+     */
+    public Float64Matrix getQ() {
+        final int m = _m;
+        final int k = _tau.length;
+        Float64Matrix Q = Float64Matrix.newInstance(m, k);
+        Q._rowStride = 1; // Column-major.
+        Q._columnStride = m;
+        double[] q = Q._data;
+        for (int j = 0; j < k; j++) {
+            q[j * m + j] = 1.0;
+        }
+        for (int i = k - 1; i >= 0; i--) { // Q = H(0)·...·H(k-1)·I
+            if (_tau[i] == 0)
+                continue;
+            final int v = i * m + i + 1;
+            for (int j = i; j < k; j++) {
+                final int cj = j * m + i;
+                final double s = q[cj]
+                        + Float64Kernel.dot(m - i - 1, _qr, v, q, cj + 1);
+                final double a = -_tau[i] * s;
+                q[cj] += a;
+                Float64Kernel.axpy(m - i - 1, a, _qr, v, q, cj + 1);
+            }
+        }
+        return Q;
+    }
+
+    /**
+     * Returns the upper triangular factor (k-by-n with
+     * <code>k = min(m, n)</code>).
+     *
+     * @return R such as <code>A·P = Q·R</code>.
+     */
+    public Float64Matrix getR() {
+        final int k = _tau.length;
+        Float64Matrix R = Float64Matrix.newInstance(k, _n);
+        for (int i = 0; i < k; i++) {
+            for (int j = i; j < _n; j++) {
+                R._data[i * _n + j] = _qr[j * _m + i];
+            }
+        }
+        return R;
+    }
+
+    /**
+     * Returns the column pivots of this decomposition.
+     *
+     * @return the source column indices after permutation.
+     */
+    public int[] getPivots() {
+        return _pivots.clone();
+    }
+}
@@ -0,0 +1,508 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.RandomGenerator;
+
+/**
+ * <p> This class represents the singular value decomposition
+ *     <code>A = U·S·Vᵀ</code> of a 64 bits floating point m-by-n matrix;
+ *     <code>U</code> (m-by-r) and <code>V</code> (n-by-r) have orthonormal
+ *     columns and <code>S</code> is diagonal with the singular values in
+ *     descending order (<code>r = min(m, n)</code>).</p>
+ *
+ * <p> The matrix is reduced to bidiagonal form by Householder reflections
+ *     from both sides (the left reflections are applied concurrently per
+ *     ranges of columns, the right ones per ranges of rows) and the
+ *     bidiagonal matrix is diagonalized by the implicit shifted QR
+ *     algorithm (Golub-Kahan).</p>
+ *
+ * <p> For large matrices of which only the dominant components are needed
+ *     (principal component analysis, low rank approximations) the
+ *     {@link #valueOf(Matrix, int, RandomGenerator) truncated
+ *     decomposition} is calculated by random projection: the range of the
+ *     matrix is sampled by a few matrix products (the concurrent
+ *     {@link Float64Kernel#gemm gemm} kernel) and only a small matrix is
+ *     decomposed.
+ *     [code]
+ *         Float64SingularValueDecomposition top = Float64SingularValueDecomposition.valueOf(
+ *             data, 10, new RandomGenerator(seed));
+ *         Float64Matrix components = top.getV(); // n-by-10
+ *     [/code]</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see Float64EigenDecomposition
+ * @see <a href="http://en.wikipedia.org/wiki/Singular_value_decomposition">
+ *      Wikipedia: Singular value decomposition</a>
+ */
+public final class Float64SingularValueDecomposition {
+
+    /**
+     * Holds the relative machine precision.
+     */
+    static final double EPSILON = 0x1.0p-52;
+
+    /**
+     * Holds the smallest significant value (QR iterations).
+     */
+    static final double TINY = 0x1.0p-966;
+
+    /**
+     * Holds the number of additional samples of the truncated
+     * decomposition.
+     */
+    static final int OVERSAMPLING = 10;
+
+    /**
+     * Holds the number of power iterations of the truncated decomposition.
+     */
+    static final int POWER_ITERATIONS = 2;
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<Float64SingularValueDecomposition> FACTORY = new ObjectFactory<Float64SingularValueDecomposition>() {
+        protected Float64SingularValueDecomposition create() {
+            return new Float64SingularValueDecomposition();
+        }
+
+        @Override
+        protected void cleanup(Float64SingularValueDecomposition svd) {
+            svd._s = null;
+            svd._u = null;
+            svd._v = null;
+        }
+    };
+
+    /**
+     * Holds the number of rows of the matrix source.
+     */
+    private int _m;
+
+    /**
+     * Holds the number of columns of the matrix source.
+     */
+    private int _n;
+
+    /**
+     * Holds the singular values (descending order).
+     */
+    private double[] _s;
+
+    /**
+     * Holds the left singular vectors (column-major, m-by-r).
+     */
+    private double[] _u;
+
+    /**
+     * Holds the right singular vectors (column-major, n-by-r).
+     */
+    private double[] _v;
+
+    /**
+     * Default constructor.
+     */
+    private Float64SingularValueDecomposition() {
+    }
+
+    /**
+     * Returns the singular value decomposition of the specified matrix.
+     *
+     * @param  source the matrix for which the decomposition is calculated.
+     * @return the singular value decomposition of the specified matrix.
+     */
+    public static Float64SingularValueDecomposition valueOf(
+            Matrix<Float64> source) {
+        Float64SingularValueDecomposition svd = FACTORY.object();
+        Float64Matrix A = Float64Matrix.valueOfMatrix(source);
+        final int m = A._m;
+        final int n = A._n;
+        svd._m = m;
+        svd._n = n;
+        if (m >= n) { // Column-major elements of A.
+            svd.construct(A.transpose().copy()._data, m, n);
+        } else { // A = (U'·S·V'ᵀ)ᵀ with U'·S·V'ᵀ = Aᵀ
+            svd.construct(A.copy()._data, n, m);
+            double[] tmp = svd._u;
+            svd._u = svd._v;
+            svd._v = tmp;
+        }
+        return svd;
+    }
+
+    /**
+     * Returns the truncated singular value decomposition (the
+     * <code>k</code> largest singular values and their singular vectors) of
+     * the specified matrix calculated by randomized range finding
+     * (Halko-Martinsson-Tropp). The accuracy is driven by the decay of the
+     * singular values; it is improved by oversampling and power iterations.
+     *
+     * @param  source the matrix for which the decomposition is calculated.
+     * @param  k the number of singular values.
+     * @param  random the random generator of the projections.
+     * @return the truncated singular value decomposition.
+     * @throws IllegalArgumentException if <code>k &lt;= 0</code> or
+     *         <code>k &gt; min(m, n)</code>
+     */
+    public static Float64SingularValueDecomposition valueOf(
+            Matrix<Float64> source, int k, RandomGenerator random) {
+        Float64Matrix A = Float64Matrix.valueOfMatrix(source);
+        final int m = A._m;
+        final int n = A._n;
+        final int r = MathLib.min(m, n);
+        if ((k <= 0) || (k > r))
+            throw new IllegalArgumentException("Invalid number of singular values: "
+                    + k);
+        final int l = MathLib.min(k + OVERSAMPLING, r);
+
+        // Orthonormal basis of the range of A (power iterations).
+        Float64Matrix Omega = Float64Matrix.valueOfGaussian(n, l, 0, 1, random);
+        Float64Matrix Q = Float64QRDecomposition.valueOf(A.times(Omega))
+                .getQ();
+        for (int i = 0; i < POWER_ITERATIONS; i++) {
+            Float64Matrix Z = Float64QRDecomposition.valueOf(
+                    A.transpose().times(Q)).getQ();
+            Q = Float64QRDecomposition.valueOf(A.times(Z)).getQ();
+        }
+
+        // A ≈ Q·B with B = Qᵀ·A (l-by-n).
+        Float64SingularValueDecomposition small = valueOf(Q.transpose()
+                .times(A));
+        Float64Matrix U = Q.times(small.getU()); // m-by-l
+        Float64SingularValueDecomposition svd = FACTORY.object();
+        svd._m = m;
+        svd._n = n;
+        svd._s = new double[k];
+        System.arraycopy(small._s, 0, svd._s, 0, k);
+        svd._u = new double[m * k]; // First k columns (column-major).
+        System.arraycopy(U.transpose().copy()._data, 0, svd._u, 0, m * k);
+        svd._v = new double[n * k];
+        System.arraycopy(small._v, 0, svd._v, 0, n * k);
+        return svd;
+    }
+
+    // Bidiagonalization and QR iterations (column-major a, m >= n).
+    private void construct(double[] a, int m, int n) {
+        final double[] d = new double[n];
+        final double[] e = new double[n];
+        final double[] tauL = new double[n];
+        final double[] tauR = new double[n]; // Right reflector k at k + 1.
+        for (int k = 0; k < n; k++) {
+            // Left reflection (column k, rows k and below).
+            final int kk = k * m + k;
+            final double alpha = a[kk];
+            final double sigma = Float64Kernel.norm(m - k - 1, a, kk + 1);
+            if (sigma != 0) {
+                final double norm = MathLib.sqrt(alpha * alpha + sigma
+                        * sigma);
+                final double beta = (alpha >= 0) ? -norm : norm;
+                tauL[k] = (beta - alpha) / beta;
+                Float64Kernel.scale(m - k - 1, 1.0 / (alpha - beta), a,
+                        kk + 1, a, kk + 1);
+                a[kk] = beta;
+                HouseholderLogic.apply(a, m, k, tauL[k], k + 1, n);
+            }
+            d[k] = a[kk];
+            if (k >= n - 1)
+                break;
+
+            // Right reflection (row k, columns k + 1 and beyond).
+            final int length = n - k - 1;
+            double[] u = new double[length];
+            for (int j = 0; j < length; j++) {
+                u[j] = a[(k + 1 + j) * m + k];
+            }
+            final double x = u[0];
+            final double s = Float64Kernel.norm(length - 1, u, 1);
+            if (s == 0) {
+                e[k] = x;
+                continue;
+            }
+            final double norm = MathLib.sqrt(x * x + s * s);
+            final double beta = (x >= 0) ? -norm : norm;
+            final double tau = (beta - x) / beta;
+            u[0] = 1.0;
+            Float64Kernel.scale(length - 1, 1.0 / (x - beta), u, 1, u, 1);
+            for (int j = 1; j < length; j++) { // Stores the reflector.
+                a[(k + 1 + j) * m + k] = u[j];
+            }
+            e[k] = beta;
+            tauR[k + 1] = tau;
+            ReductionLogic.reflect(a, m, k + 1, k + 1, tau, u);
+        }
+
+        // V = G(0)·...·G(n-3) (backward accumulation, column-major).
+        final double[] v = new double[n * n];
+        for (int c = 1; c < n; c++) {
+            for (int i = c + 1; i < n; i++) {
+                v[c * n + i] = a[i * m + c - 1];
+            }
+        }
+        accumulate(v, n, n, tauR, 1);
+
+        // U = H(0)·...·H(n-1) (backward accumulation, column-major).
+        final double[] u = new double[m * n];
+        for (int c = 0; c < n; c++) {
+            System.arraycopy(a, c * m + c + 1, u, c * m + c + 1, m - c - 1);
+        }
+        accumulate(u, m, n, tauL, 0);
+
+        _s = d;
+        _u = u;
+        _v = v;
+        diagonalize(e, m, n);
+    }
+
+    // Forms in place the product of the reflectors held by the columns
+    // [first, n) below their diagonal (the other elements are zero).
+    private static void accumulate(double[] q, int m, int n, double[] tau,
+            int first) {
+        for (int c = 0; c < first; c++) {
+            q[c * m + c] = 1.0;
+        }
+        for (int c = n - 1; c >= first; c--) {
+            HouseholderLogic.apply(q, m, c, tau[c], c + 1, n);
+            final int cc = c * m + c;
+            q[cc] = 1.0 - tau[c];
+            Float64Kernel.scale(m - c - 1, -tau[c], q, cc + 1, q, cc + 1);
+        }
+    }
+
+    // Implicit shifted QR on the bidiagonal matrix (diagonal _s,
+    // superdiagonal e), rotations applied to the columns of _u and _v.
+    private void diagonalize(double[] e, int m, int n) {
+        final double[] s = _s;
+        final double[] u = _u;
+        final double[] v = _v;
+        final int pp = n - 1;
+        int p = n;
+        while (p > 0) {
+            int k, kase;
+            for (k = p - 2; k >= 0; k--) { // Negligible e(k).
+                if (MathLib.abs(e[k]) <= TINY + EPSILON
+                        * (MathLib.abs(s[k]) + MathLib.abs(s[k + 1]))) {
+                    e[k] = 0.0;
+                    break;
+                }
+            }
+            if (k == p - 2) {
+                kase = 4; // Convergence of s(p-1).
+            } else {
+                int ks;
+                for (ks = p - 1; ks > k; ks--) { // Negligible s(ks).
+                    final double t = ((ks != p) ? MathLib.abs(e[ks]) : 0.0)
+                            + ((ks != k + 1) ? MathLib.abs(e[ks - 1]) : 0.0);
+                    if (MathLib.abs(s[ks]) <= TINY + EPSILON * t) {
+                        s[ks] = 0.0;
+                        break;
+                    }
+                }
+                if (ks == k) {
+                    kase = 3; // QR step.
+                } else if (ks == p - 1) {
+                    kase = 1; // Deflates negligible s(p-1).
+                } else {
+                    kase = 2; // Splits at negligible s(ks).
+                    k = ks;
+                }
+            }
+            k++;
+
+            switch (kase) {
+            case 1: {
+                double f = e[p - 2];
+                e[p - 2] = 0.0;
+                for (int j = p - 2; j >= k; j--) {
+                    final double t = Float64EigenDecomposition.hypot(s[j], f);
+                    final double cs = s[j] / t;
+                    final double sn = f / t;
+                    s[j] = t;
+                    if (j != k) {
+                        f = -sn * e[j - 1];
+                        e[j - 1] = cs * e[j - 1];
+                    }
+                    rotate(v, n, j, p - 1, cs, sn);
+                }
+            }
+                break;
+            case 2: {
+                double f = e[k - 1];
+                e[k - 1] = 0.0;
+                for (int j = k; j < p; j++) {
+                    final double t = Float64EigenDecomposition.hypot(s[j], f);
+                    final double cs = s[j] / t;
+                    final double sn = f / t;
+                    s[j] = t;
+                    f = -sn * e[j];
+                    e[j] = cs * e[j];
+                    rotate(u, m, j, k - 1, cs, sn);
+                }
+            }
+                break;
+            case 3: {
+                final double scale = MathLib.max(MathLib.max(MathLib.max(
+                        MathLib.max(MathLib.abs(s[p - 1]), MathLib
+                                .abs(s[p - 2])), MathLib.abs(e[p - 2])),
+                        MathLib.abs(s[k])), MathLib.abs(e[k]));
+                final double sp = s[p - 1] / scale;
+                final double spm1 = s[p - 2] / scale;
+                final double epm1 = e[p - 2] / scale;
+                final double sk = s[k] / scale;
+                final double ek = e[k] / scale;
+                final double b = ((spm1 + sp) * (spm1 - sp) + epm1 * epm1) / 2.0;
+                final double c = (sp * epm1) * (sp * epm1);
+                double shift = 0.0;
+                if ((b != 0.0) || (c != 0.0)) {
+                    shift = MathLib.sqrt(b * b + c);
+                    if (b < 0.0) {
+                        shift = -shift;
+                    }
+                    shift = c / (b + shift);
+                }
+                double f = (sk + sp) * (sk - sp) + shift;
+                double g = sk * ek;
+                for (int j = k; j < p - 1; j++) { // Chases the bulge.
+                    double t = Float64EigenDecomposition.hypot(f, g);
+                    double cs = f / t;
+                    double sn = g / t;
+                    if (j != k) {
+                        e[j - 1] = t;
+                    }
+                    f = cs * s[j] + sn * e[j];
+                    e[j] = cs * e[j] - sn * s[j];
+                    g = sn * s[j + 1];
+                    s[j + 1] = cs * s[j + 1];
+                    rotate(v, n, j, j + 1, cs, sn);
+                    t = Float64EigenDecomposition.hypot(f, g);
+                    cs = f / t;
+                    sn = g / t;
+                    s[j] = t;
+                    f = cs * e[j] + sn * s[j + 1];
+                    s[j + 1] = -sn * e[j] + cs * s[j + 1];
+                    g = sn * e[j + 1];
+                    e[j + 1] = cs * e[j + 1];
+                    rotate(u, m, j, j + 1, cs, sn);
+                }
+                e[p - 2] = f;
+            }
+                break;
+            default: { // Positive singular values in descending order.
+                if (s[k] <= 0.0) {
+                    s[k] = (s[k] < 0.0) ? -s[k] : 0.0;
+                    Float64Kernel.scale(n, -1.0, v, k * n, v, k * n);
+                }
+                while (k < pp) {
+                    if (s[k] >= s[k + 1])
+                        break;
+                    final double t = s[k];
+                    s[k] = s[k + 1];
+                    s[k + 1] = t;
+                    swap(v, n, k, k + 1);
+                    swap(u, m, k, k + 1);
+                    k++;
+                }
+                p--;
+            }
+            }
+        }
+    }
+
+    // Applies a plane rotation to the columns i and j (column-major, m rows).
+    private static void rotate(double[] a, int m, int i, int j, double cs,
+            double sn) {
+        final int ci = i * m;
+        final int cj = j * m;
+        for (int r = 0; r < m; r++) {
+            final double t = cs * a[ci + r] + sn * a[cj + r];
+            a[cj + r] = -sn * a[ci + r] + cs * a[cj + r];
+            a[ci + r] = t;
+        }
+    }
+
+    // Exchanges the columns i and j (column-major, m rows).
+    private static void swap(double[] a, int m, int i, int j) {
+        for (int r = 0, ci = i * m, cj = j * m; r < m; r++) {
+            final double t = a[ci + r];
+            a[ci + r] = a[cj + r];
+            a[cj + r] = t;
+        }
+    }
+
+    /**
+     * Returns the singular values in descending order.
+     *
+     * @return the diagonal of S.
+     */
+    public double[] getSingularValues() {
+        return _s.clone();
+    }
+
+    /**
+     * Returns the left singular vectors (m-by-r).
+     *
+     * @return U such as <code>A = U·S·Vᵀ</code>.
+     */
+    public Float64Matrix getU() {
+        return columnMajor(_u, _m, _s.length);
+    }
+
+    /**
+     * Returns the right singular vectors (n-by-r).
+     *
+     * @return V such as <code>A = U·S·Vᵀ</code>.
+     */
+    public Float64Matrix getV() {
+        return columnMajor(_v, _n, _s.length);
+    }
+
+    /**
+     * Returns the diagonal matrix of the singular values (r-by-r).
+     *
+     * @return S such as <code>A = U·S·Vᵀ</code>.
+     */
+    public Float64Matrix getS() {
+        final int r = _s.length;
+        Float64Matrix S = Float64Matrix.newInstance(r, r);
+        for (int i = 0; i < r; i++) {
+            S._data[i * r + i] = _s[i];
+        }
+        return S;
+    }
+
+    /**
+     * Returns the numerical rank of the matrix source (number of singular
+     * values larger than <code>max(m, n)·ε·s<sub>0</sub></code>).
+     *
+     * @return the numerical rank.
+     */
+    public int rank() {
+        if (_s.length == 0)
+            return 0;
+        final double tol = MathLib.max(_m, _n) * EPSILON * _s[0];
+        int rank = 0;
+        while ((rank < _s.length) && (_s[rank] > tol)) {
+            rank++;
+        }
+        return rank;
+    }
+
+    private static Float64Matrix columnMajor(double[] data, int m, int n) {
+        Float64Matrix M = Float64Matrix.newInstance(m, n);
+        M._rowStride = 1;
+        M._columnStride = m;
+        System.arraycopy(data, 0, M._data, 0, m * n);
+        return M;
+    }
+}
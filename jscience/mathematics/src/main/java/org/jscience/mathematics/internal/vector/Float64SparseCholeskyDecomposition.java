@@ -0,0 +1,703 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.util.Arrays;
+
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+
+import org.jscience.mathematics.number.Float64;
+
+/**
+ * <p> This class represents the sparse Cholesky decomposition
+ *     (<code>P·A·Pᵀ = L·Lᵀ</code>) of a 64 bits floating point symmetric
+ *     positive definite {@link Float64SparseMatrix sparse matrix}; only the
+ *     lower triangle of the matrix source is read and the matrix is never
+ *     converted to a dense matrix.</p>
+ *
+ * <p> The decomposition is performed in two steps:<ul>
+ *     <li> The {@link #analyze symbolic analysis} calculates the
+ *          {@link SparseOrdering#amd fill-reducing ordering}
+ *          <code>P</code>, the elimination tree, the pattern of
+ *          <code>L</code> and its supernodes (sets of contiguous columns
+ *          with the same pattern). It depends only upon the sparsity
+ *          pattern and can be reused for all the matrices having the same
+ *          pattern (e.g. time steps, Newton iterations).</li>
+ *     <li> The numeric factorization is supernodal and left-looking: each
+ *          supernode is updated by its descendants through
+ *          {@link org.jscience.mathematics.internal.kernel.Float64Kernel#gemm
+ *          dense matrix products}, then factorized. The independent
+ *          supernodes (same level of the elimination tree) are
+ *          factorized concurrently.</li>
+ *     </ul>
+ *     [code]
+ *         Float64SparseCholeskyDecomposition.Symbolic symbolic = Float64SparseCholeskyDecomposition.analyze(A);
+ *         for (...) { // Same pattern, different values.
+ *             Float64SparseCholeskyDecomposition cholesky = Float64SparseCholeskyDecomposition.valueOf(symbolic, A);
+ *             double[] x = cholesky.solve(b);
+ *         }
+ *     [/code]</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see Float64CholeskyDecomposition
+ * @see <a href="http://en.wikipedia.org/wiki/Cholesky_decomposition">
+ *      Wikipedia: Cholesky decomposition</a>
+ */
+public final class Float64SparseCholeskyDecomposition {
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<Float64SparseCholeskyDecomposition> FACTORY = new ObjectFactory<Float64SparseCholeskyDecomposition>() {
+        protected Float64SparseCholeskyDecomposition create() {
+            return new Float64SparseCholeskyDecomposition();
+        }
+
+        @Override
+        protected void cleanup(Float64SparseCholeskyDecomposition cholesky) {
+            cholesky._symbolic = null;
+            cholesky._blocks = null;
+        }
+    };
+
+    /**
+     * Holds the symbolic analysis.
+     */
+    private Symbolic _symbolic;
+
+    /**
+     * Holds the elements of each supernode of L (column-major, one row per
+     * element of the supernode row pattern).
+     */
+    private double[][] _blocks;
+
+    /**
+     * Default constructor.
+     */
+    private Float64SparseCholeskyDecomposition() {
+    }
+
+    /**
+     * Returns the symbolic analysis of the specified symmetric matrix
+     * using the approximate minimum degree ordering.
+     *
+     * @param  A the symmetric matrix (only the lower triangle is read).
+     * @return the corresponding symbolic analysis.
+     * @throws DimensionException if the matrix is not square.
+     */
+    public static Symbolic analyze(Float64SparseMatrix A) {
+        return analyze(A, SparseOrdering.amd(A));
+    }
+
+    /**
+     * Returns the symbolic analysis of the specified symmetric matrix
+     * using the specified ordering.
+     *
+     * @param  A the symmetric matrix (only the lower triangle is read).
+     * @param  permutation the ordering <code>P</code>
+     *         (<code>permutation[k]</code> is the index of the
+     *         k<sup>th</sup> row/column of <code>P·A·Pᵀ</code>).
+     * @return the corresponding symbolic analysis.
+     * @throws DimensionException if the matrix is not square or the
+     *         permutation length is not <code>n</code>.
+     * @throws IllegalArgumentException if the permutation is not valid.
+     */
+    public static Symbolic analyze(Float64SparseMatrix A, int[] permutation) {
+        if (A._m != A._n)
+            throw new DimensionException("Square matrix expected");
+        if (permutation.length != A._n)
+            throw new DimensionException();
+        return new Symbolic(A, permutation.clone());
+    }
+
+    /**
+     * Returns the Cholesky decomposition of the specified symmetric positive
+     * definite matrix (convenience method).
+     *
+     * @param  A the symmetric matrix (only the lower triangle is read).
+     * @return <code>valueOf(analyze(A), A)</code>
+     * @throws DimensionException if the matrix is not square.
+     * @throws ArithmeticException if the matrix is not positive definite.
+     */
+    public static Float64SparseCholeskyDecomposition valueOf(
+            Float64SparseMatrix A) {
+        return valueOf(analyze(A), A);
+    }
+
+    /**
+     * Returns the Cholesky decomposition of the specified symmetric positive
+     * definite matrix using the specified symbolic analysis.
+     *
+     * @param  symbolic the analysis of a matrix with the same pattern.
+     * @param  A the symmetric matrix (only the lower triangle is read).
+     * @return the Cholesky decomposition of the specified matrix.
+     * @throws IllegalArgumentException if the matrix pattern is not the
+     *         pattern analyzed.
+     * @throws ArithmeticException if the matrix is not positive definite.
+     */
+    public static Float64SparseCholeskyDecomposition valueOf(
+            Symbolic symbolic, Float64SparseMatrix A) {
+        if (!symbolic.matches(A))
+            throw new IllegalArgumentException(
+                    "Matrix pattern differs from the pattern analyzed");
+        double[] lower = new double[symbolic._lowerIndices.length];
+        final int[] map = symbolic._map;
+        final double[] values = A._values;
+        for (int k = 0; k < map.length; k++) {
+            if (map[k] >= 0) {
+                lower[map[k]] = values[k];
+            }
+        }
+        Float64SparseCholeskyDecomposition cholesky = FACTORY.object();
+        cholesky._symbolic = symbolic;
+        cholesky._blocks = new double[symbolic._supernodes][];
+        SupernodalLogic.factorize(symbolic, lower, cholesky._blocks);
+        return cholesky;
+    }
+
+    /**
+     * Returns the solution x of the equation: A * x = b.
+     *
+     * @param  b the right-hand side.
+     * @return the solution x = (1 / A) * b.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public Float64Vector solve(Vector<Float64> b) {
+        Float64Vector v = Float64Vector.valueOfVector(b).contiguous();
+        if (v.getDimension() != _symbolic._n)
+            throw new DimensionException();
+        double[] x = new double[_symbolic._n];
+        System.arraycopy(v._values, v._offset, x, 0, x.length);
+        return Float64Vector.viewOf(solve(x), 0, 1, x.length);
+    }
+
+    /**
+     * Returns the solution X of the equation: A * X = B (column by column).
+     *
+     * @param  B the input matrix.
+     * @return the solution X = (1 / A) * B.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public Float64Matrix solve(Matrix<Float64> B) {
+        final int n = _symbolic._n;
+        if (B.getNumberOfRows() != n)
+            throw new DimensionException("Input vector has "
+                    + B.getNumberOfRows() + " rows instead of " + n);
+        Float64Matrix Y = Float64Matrix.valueOfMatrix(B);
+        final int p = Y._n;
+        Float64Matrix X = Float64Matrix.newInstance(n, p);
+        double[] x = new double[n];
+        for (int j = 0; j < p; j++) {
+            for (int i = 0; i < n; i++) {
+                x[i] = Y.getValue(i, j);
+            }
+            solve(x);
+            for (int i = 0; i < n; i++) {
+                X._data[i * p + j] = x[i];
+            }
+        }
+        return X;
+    }
+
+    /**
+     * Returns the solution of the equation: A * x = b in place (fast).
+     *
+     * @param  b the n elements of the right-hand side, replaced by the
+     *         solution.
+     * @return <code>b</code>
+     * @throws DimensionException if <code>b.length != n</code>
+     */
+    public double[] solve(double[] b) {
+        final Symbolic s = _symbolic;
+        final int n = s._n;
+        if (b.length != n)
+            throw new DimensionException();
+        double[] y = new double[n];
+        for (int k = 0; k < n; k++) { // y = P·b
+            y[k] = b[s._permutation[k]];
+        }
+        for (int J = 0; J < s._supernodes; J++) { // L·z = y
+            final int f = s._first[J];
+            final int w = s._first[J + 1] - f;
+            final int r0 = s._rowPointers[J];
+            final int ld = s._rowPointers[J + 1] - r0;
+            final double[] l = _blocks[J];
+            for (int c = 0; c < w; c++) {
+                final double yc = y[f + c] / l[c * ld + c];
+                y[f + c] = yc;
+                for (int t = c + 1; t < ld; t++) {
+                    y[s._rows[r0 + t]] -= l[c * ld + t] * yc;
+                }
+            }
+        }
+        for (int J = s._supernodes; --J >= 0;) { // Lᵀ·x = z
+            final int f = s._first[J];
+            final int w = s._first[J + 1] - f;
+            final int r0 = s._rowPointers[J];
+            final int ld = s._rowPointers[J + 1] - r0;
+            final double[] l = _blocks[J];
+            for (int c = w; --c >= 0;) {
+                double yc = y[f + c];
+                for (int t = c + 1; t < ld; t++) {
+                    yc -= l[c * ld + t] * y[s._rows[r0 + t]];
+                }
+                y[f + c] = yc / l[c * ld + c];
+            }
+        }
+        for (int k = 0; k < n; k++) { // x = Pᵀ·y
+            b[s._permutation[k]] = y[k];
+        }
+        return b;
+    }
+
+    /**
+     * Returns the determinant of the matrix source.
+     *
+     * @return the product of the square of the diagonal elements of L.
+     */
+    public Float64 determinant() {
+        double product = 1.0;
+        for (int J = 0; J < _symbolic._supernodes; J++) {
+            final int w = _symbolic._first[J + 1] - _symbolic._first[J];
+            final int ld = _symbolic._rowPointers[J + 1]
+                    - _symbolic._rowPointers[J];
+            for (int c = 0; c < w; c++) {
+                final double lcc = _blocks[J][c * ld + c];
+                product *= lcc * lcc;
+            }
+        }
+        return Float64.valueOf(product);
+    }
+
+    /**
+     * Returns the lower triangular factor L (compressed sparse columns).
+     *
+     * @return L such as <code>P·A·Pᵀ = L·Lᵀ</code>.
+     */
+    public Float64SparseMatrix getL() {
+        final Symbolic s = _symbolic;
+        final int n = s._n;
+        int[] pointers = new int[n + 1];
+        for (int J = 0; J < s._supernodes; J++) {
+            final int f = s._first[J];
+            final int ld = s._rowPointers[J + 1] - s._rowPointers[J];
+            for (int j = f; j < s._first[J + 1]; j++) {
+                pointers[j + 1] = pointers[j] + ld - (j - f);
+            }
+        }
+        int[] indices = new int[pointers[n]];
+        double[] values = new double[pointers[n]];
+        for (int J = 0; J < s._supernodes; J++) {
+            final int f = s._first[J];
+            final int r0 = s._rowPointers[J];
+            final int ld = s._rowPointers[J + 1] - r0;
+            for (int c = 0; c < s._first[J + 1] - f; c++) {
+                final int length = ld - c;
+                System.arraycopy(s._rows, r0 + c, indices, pointers[f + c],
+                        length);
+                System.arraycopy(_blocks[J], c * ld + c, values, pointers[f
+                        + c], length);
+            }
+        }
+        return Float64SparseMatrix.newInstance(n, n, true, pointers,
+                indices, values);
+    }
+
+    /**
+     * Returns the fill-reducing ordering of this decomposition.
+     *
+     * @return the permutation <code>P</code>.
+     */
+    public int[] getPermutation() {
+        return _symbolic._permutation.clone();
+    }
+
+    /**
+     * Returns the symbolic analysis of this decomposition (can be used to
+     * decompose matrices having the same pattern).
+     *
+     * @return the symbolic analysis.
+     */
+    public Symbolic getSymbolic() {
+        return _symbolic;
+    }
+
+    /**
+     * This class represents the symbolic analysis of a sparse Cholesky
+     * decomposition (ordering, elimination tree, supernodes and pattern of
+     * the factor L). Instances are immutable and can be shared.
+     */
+    public static final class Symbolic {
+
+        // Dimension.
+        final int _n;
+
+        // Ordering and its inverse.
+        final int[] _permutation, _inverse;
+
+        // Pattern of the source matrix.
+        private final boolean _columnMajor;
+
+        private final int[] _sourcePointers, _sourceIndices;
+
+        // Position of the source elements in the lower triangle of P·A·Pᵀ
+        // (-1 for the upper elements).
+        final int[] _map;
+
+        // Lower triangle of P·A·Pᵀ (compressed columns).
+        final int[] _lowerPointers, _lowerIndices;
+
+        // Elimination tree.
+        final int[] _parent;
+
+        // Number of supernodes.
+        final int _supernodes;
+
+        // First column of each supernode (followed by n).
+        final int[] _first;
+
+        // Row pattern of each supernode (sorted).
+        final int[] _rowPointers, _rows;
+
+        // Descendants updating each supernode.
+        final int[] _updatePointers, _updates;
+
+        // Supernodes per level of the supernodal elimination tree.
+        final int[] _levelPointers, _schedule;
+
+        // Estimated cost of each supernode.
+        final long[] _cost;
+
+        Symbolic(Float64SparseMatrix A, int[] permutation) {
+            final int n = A._n;
+            _n = n;
+            _permutation = permutation;
+            _inverse = new int[n];
+            Arrays.fill(_inverse, -1);
+            for (int k = 0; k < n; k++) {
+                final int i = permutation[k];
+                if ((i < 0) || (i >= n) || (_inverse[i] >= 0))
+                    throw new IllegalArgumentException("Invalid permutation");
+                _inverse[i] = k;
+            }
+            _columnMajor = A._columnMajor;
+            _sourcePointers = A._pointers;
+            _sourceIndices = A._indices;
+
+            // Lower triangle of P·A·Pᵀ (compressed columns).
+            final int outer = A._columnMajor ? A._n : A._m;
+            final int nnz = A._pointers[outer];
+            _map = new int[nnz];
+            int[] counts = new int[n + 1];
+            for (int o = 0; o < outer; o++) {
+                for (int p = A._pointers[o]; p < A._pointers[o + 1]; p++) {
+                    final int r = A._columnMajor ? A._indices[p] : o;
+                    final int c = A._columnMajor ? o : A._indices[p];
+                    if (r >= c) {
+                        counts[MathLib.min(_inverse[r], _inverse[c]) + 1]++;
+                    }
+                }
+            }
+            _lowerPointers = new int[n + 1];
+            for (int j = 0; j < n; j++) {
+                _lowerPointers[j + 1] = _lowerPointers[j] + counts[j + 1];
+            }
+            _lowerIndices = new int[_lowerPointers[n]];
+            int[] next = Arrays.copyOf(_lowerPointers, n);
+            for (int o = 0; o < outer; o++) {
+                for (int p = A._pointers[o]; p < A._pointers[o + 1]; p++) {
+                    final int r = A._columnMajor ? A._indices[p] : o;
+                    final int c = A._columnMajor ? o : A._indices[p];
+                    if (r >= c) {
+                        final int i = MathLib.max(_inverse[r], _inverse[c]);
+                        final int j = MathLib.min(_inverse[r], _inverse[c]);
+                        final int q = next[j]++;
+                        _lowerIndices[q] = i;
+                        _map[p] = q;
+                    } else {
+                        _map[p] = -1;
+                    }
+                }
+            }
+            // Upper triangle (transpose of the lower triangle).
+            int[] upperPointers = new int[n + 1];
+            for (int q = 0; q < _lowerIndices.length; q++) {
+                upperPointers[_lowerIndices[q] + 1]++;
+            }
+            for (int i = 0; i < n; i++) {
+                upperPointers[i + 1] += upperPointers[i];
+            }
+            int[] upperIndices = new int[_lowerIndices.length];
+            next = Arrays.copyOf(upperPointers, n);
+            for (int j = 0; j < n; j++) {
+                for (int q = _lowerPointers[j]; q < _lowerPointers[j + 1]; q++) {
+                    upperIndices[next[_lowerIndices[q]]++] = j;
+                }
+            }
+
+            // Elimination tree and column counts (row subtrees).
+            _parent = SparseOrdering.eliminationTree(n, upperPointers,
+                    upperIndices);
+            int[] columnCounts = new int[n];
+            int[] mark = new int[n];
+            Arrays.fill(mark, -1);
+            for (int k = 0; k < n; k++) {
+                mark[k] = k;
+                columnCounts[k]++; // Diagonal.
+                for (int q = upperPointers[k]; q < upperPointers[k + 1]; q++) {
+                    for (int j = upperIndices[q]; mark[j] != k; j = _parent[j]) {
+                        mark[j] = k;
+                        columnCounts[j]++;
+                    }
+                }
+            }
+
+            // Fundamental supernodes (columns j, j + 1, ... with parent
+            // j + 1, single child and nested patterns).
+            int[] children = new int[n];
+            for (int j = 0; j < n; j++) {
+                if (_parent[j] >= 0) {
+                    children[_parent[j]]++;
+                }
+            }
+            int[] fundamental = new int[n + 1];
+            int count = 0;
+            for (int j = 0; j < n; j++) {
+                if ((j == 0) || (_parent[j - 1] != j)
+                        || (columnCounts[j - 1] != columnCounts[j] + 1)
+                        || (children[j] != 1)) {
+                    fundamental[count++] = j;
+                }
+            }
+            fundamental[count] = n;
+
+            // Relaxed supernodes: merges a supernode with its parent when
+            // contiguous and when the explicit zeros introduced are few.
+            int[] first = new int[count + 1];
+            int merged = 0;
+            int start = 0; // First column of the current supernode.
+            long zeros = 0;
+            for (int J = 0; J < count; J++) {
+                final int l = fundamental[J + 1];
+                if ((l < n) && (_parent[l - 1] >= l)
+                        && (_parent[l - 1] < fundamental[J + 2])) {
+                    final int end = fundamental[J + 2];
+                    final long width = end - start;
+                    final long ld = width + columnCounts[end - 1] - 1;
+                    final long previous = (l - start) + columnCounts[l - 1]
+                            - 1;
+                    final long extra = zeros + (l - start) * (ld - previous);
+                    final long size = width * ld - width * (width - 1) / 2;
+                    if ((width <= 4) || ((width <= 16) && (extra * 2 < size))
+                            || ((width <= 64) && (extra * 10 < size))) {
+                        zeros = extra;
+                        continue;
+                    }
+                }
+                first[merged++] = start;
+                start = l;
+                zeros = 0;
+            }
+            first[merged] = n;
+            count = merged;
+            _supernodes = count;
+            _first = Arrays.copyOf(first, count + 1);
+            int[] supernodeOf = new int[n];
+            for (int J = 0; J < count; J++) {
+                for (int j = _first[J]; j < _first[J + 1]; j++) {
+                    supernodeOf[j] = J;
+                }
+            }
+
+            // Supernodal tree.
+            int[] superParent = new int[count];
+            int[] head = new int[count];
+            int[] sibling = new int[count];
+            Arrays.fill(head, -1);
+            for (int J = 0; J < count; J++) {
+                final int p = _parent[_first[J + 1] - 1];
+                superParent[J] = (p >= 0) ? supernodeOf[p] : -1;
+                if (p >= 0) {
+                    sibling[J] = head[superParent[J]];
+                    head[superParent[J]] = J;
+                }
+            }
+
+            // Row patterns (children patterns are known, J > children); the
+            // pattern of a supernode is its columns followed by the pattern
+            // below its last column.
+            _rowPointers = new int[count + 1];
+            long total = 0;
+            for (int J = 0; J < count; J++) {
+                final int l = _first[J + 1];
+                total += (l - _first[J]) + columnCounts[l - 1] - 1;
+                if (total > Integer.MAX_VALUE)
+                    throw new ArithmeticException("Factor too large");
+                _rowPointers[J + 1] = (int) total;
+            }
+            _rows = new int[(int) total];
+            Arrays.fill(mark, -1);
+            for (int J = 0; J < count; J++) {
+                final int f = _first[J], l = _first[J + 1];
+                int r = _rowPointers[J];
+                for (int j = f; j < l; j++) {
+                    _rows[r++] = j;
+                    mark[j] = J;
+                }
+                final int below = r;
+                for (int j = f; j < l; j++) {
+                    for (int q = _lowerPointers[j]; q < _lowerPointers[j + 1]; q++) {
+                        final int i = _lowerIndices[q];
+                        if (mark[i] != J) {
+                            mark[i] = J;
+                            _rows[r++] = i;
+                        }
+                    }
+                }
+                for (int C = head[J]; C >= 0; C = sibling[C]) {
+                    for (int q = _rowPointers[C]; q < _rowPointers[C + 1]; q++) {
+                        final int i = _rows[q];
+                        if ((i >= f) && (mark[i] != J)) {
+                            mark[i] = J;
+                            _rows[r++] = i;
+                        }
+                    }
+                }
+                Arrays.sort(_rows, below, r);
+            }
+
+            // Update lists (descendants K with rows in supernode J).
+            int[] updateCounts = new int[count + 1];
+            for (int K = 0; K < count; K++) {
+                int previous = -1;
+                final int w = _first[K + 1] - _first[K];
+                for (int q = _rowPointers[K] + w; q < _rowPointers[K + 1]; q++) {
+                    final int J = supernodeOf[_rows[q]];
+                    if (J != previous) {
+                        updateCounts[J + 1]++;
+                        previous = J;
+                    }
+                }
+            }
+            _updatePointers = new int[count + 1];
+            for (int J = 0; J < count; J++) {
+                _updatePointers[J + 1] = _updatePointers[J]
+                        + updateCounts[J + 1];
+            }
+            _updates = new int[_updatePointers[count]];
+            next = Arrays.copyOf(_updatePointers, count);
+            for (int K = 0; K < count; K++) {
+                int previous = -1;
+                final int w = _first[K + 1] - _first[K];
+                for (int q = _rowPointers[K] + w; q < _rowPointers[K + 1]; q++) {
+                    final int J = supernodeOf[_rows[q]];
+                    if (J != previous) {
+                        _updates[next[J]++] = K;
+                        previous = J;
+                    }
+                }
+            }
+
+            // Levels (leaves first) and costs.
+            int[] level = new int[count];
+            int levels = 0;
+            _cost = new long[count];
+            for (int J = 0; J < count; J++) {
+                if (superParent[J] >= 0) {
+                    level[superParent[J]] = MathLib.max(level[superParent[J]],
+                            level[J] + 1);
+                }
+                levels = MathLib.max(levels, level[J] + 1);
+                final long w = _first[J + 1] - _first[J];
+                final long ld = _rowPointers[J + 1] - _rowPointers[J];
+                _cost[J] = ld * w * w + ld * w;
+            }
+            _levelPointers = new int[levels + 1];
+            for (int J = 0; J < count; J++) {
+                _levelPointers[level[J] + 1]++;
+            }
+            for (int v = 0; v < levels; v++) {
+                _levelPointers[v + 1] += _levelPointers[v];
+            }
+            _schedule = new int[count];
+            next = Arrays.copyOf(_levelPointers, levels);
+            for (int J = 0; J < count; J++) {
+                _schedule[next[level[J]]++] = J;
+            }
+        }
+
+        /**
+         * Returns the fill-reducing ordering.
+         *
+         * @return the permutation <code>P</code>.
+         */
+        public int[] getPermutation() {
+            return _permutation.clone();
+        }
+
+        /**
+         * Returns the number of elements stored for the factor L (including
+         * the explicit zeros of the relaxed supernodes).
+         *
+         * @return the number of elements of L.
+         */
+        public int getNumberOfNonZeros() {
+            long nnz = 0;
+            for (int J = 0; J < _supernodes; J++) {
+                final long w = _first[J + 1] - _first[J];
+                final long ld = _rowPointers[J + 1] - _rowPointers[J];
+                nnz += ld * w - w * (w - 1) / 2;
+            }
+            return (int) nnz;
+        }
+
+        /**
+         * Returns the number of supernodes of the factor L.
+         *
+         * @return the number of supernodes.
+         */
+        public int getNumberOfSupernodes() {
+            return _supernodes;
+        }
+
+        /**
+         * Returns the elimination tree of <code>P·A·Pᵀ</code>.
+         *
+         * @return the parent of each column (<code>-1</code> for roots).
+         */
+        public int[] getEliminationTree() {
+            return _parent.clone();
+        }
+
+        // Indicates if the specified matrix has the pattern analyzed.
+        boolean matches(Float64SparseMatrix A) {
+            if ((A._m != _n) || (A._n != _n)
+                    || (A._columnMajor != _columnMajor))
+                return false;
+            if ((A._pointers == _sourcePointers)
+                    && (A._indices == _sourceIndices))
+                return true;
+            final int nnz = _sourcePointers[_n];
+            if (A._pointers[_n] != nnz)
+                return false;
+            return Arrays.equals(A._pointers, _sourcePointers)
+                    && rangeEquals(A._indices, _sourceIndices, nnz);
+        }
+
+        private static boolean rangeEquals(int[] a, int[] b, int length) {
+            for (int i = 0; i < length; i++) {
+                if (a[i] != b[i])
+                    return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,612 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.util.Arrays;
+
+import javolution.context.LocalContext;
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+
+import org.jscience.mathematics.number.Float64;
+
+/**
+ * <p> This class represents the sparse LU decomposition
+ *     (<code>P·A·Q = L·U</code>) of a 64 bits floating point square
+ *     {@link Float64SparseMatrix sparse matrix}; the matrix is never
+ *     converted to a dense matrix.</p>
+ *
+ * <p> The column ordering <code>Q</code> is calculated by the
+ *     {@link #analyze symbolic analysis} to reduce the fill-in
+ *     (see {@link SparseOrdering#colamd}); it depends only upon the
+ *     sparsity pattern and can be reused for all the matrices having the
+ *     same pattern. The numeric factorization is left-looking
+ *     (Gilbert-Peierls): each column of <code>L</code> and <code>U</code>
+ *     is obtained by a sparse triangular solve whose cost is proportional
+ *     to the number of floating point operations. The row ordering
+ *     <code>P</code> results from threshold partial pivoting: the diagonal
+ *     element is selected if its magnitude is at least the
+ *     {@link #setPivotThreshold pivot threshold} times the largest magnitude
+ *     of its column, otherwise the largest element is selected.
+ *     [code]
+ *         Float64SparseLUDecomposition.Symbolic symbolic = Float64SparseLUDecomposition.analyze(A);
+ *         for (...) { // Same pattern, different values.
+ *             Float64SparseLUDecomposition lu = Float64SparseLUDecomposition.valueOf(symbolic, A);
+ *             double[] x = lu.solve(b);
+ *         }
+ *     [/code]</p>
+ *
+ * <p> Unlike the {@link Float64SparseCholeskyDecomposition supernodal
+ *     Cholesky decomposition}, the columns are factorized one after the
+ *     other (the pivot rows of a column depend upon all the previous
+ *     columns).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see Float64LUDecomposition
+ * @see <a href="http://en.wikipedia.org/wiki/LU_decomposition">
+ *      Wikipedia: LU decomposition</a>
+ */
+public final class Float64SparseLUDecomposition {
+
+    /**
+     * Holds the local pivot threshold.
+     */
+    private static final LocalContext.Reference<Double> PIVOT_THRESHOLD = new LocalContext.Reference<Double>(
+            1.0);
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<Float64SparseLUDecomposition> FACTORY = new ObjectFactory<Float64SparseLUDecomposition>() {
+        protected Float64SparseLUDecomposition create() {
+            return new Float64SparseLUDecomposition();
+        }
+
+        @Override
+        protected void cleanup(Float64SparseLUDecomposition lu) {
+            lu._symbolic = null;
+            lu._pinv = null;
+            lu._lowerPointers = null;
+            lu._lowerIndices = null;
+            lu._lowerValues = null;
+            lu._upperPointers = null;
+            lu._upperIndices = null;
+            lu._upperValues = null;
+        }
+    };
+
+    /**
+     * Holds the symbolic analysis.
+     */
+    private Symbolic _symbolic;
+
+    /**
+     * Holds the row permutation (<code>_pinv[i]</code> is the row of
+     * <code>P·A·Q</code> holding the row i of A).
+     */
+    private int[] _pinv;
+
+    /**
+     * Holds the unit lower triangular factor L (compressed columns,
+     * diagonal first).
+     */
+    private int[] _lowerPointers, _lowerIndices;
+
+    private double[] _lowerValues;
+
+    /**
+     * Holds the upper triangular factor U (compressed columns, diagonal
+     * last).
+     */
+    private int[] _upperPointers, _upperIndices;
+
+    private double[] _upperValues;
+
+    /**
+     * Default constructor.
+     */
+    private Float64SparseLUDecomposition() {
+    }
+
+    /**
+     * Returns the symbolic analysis of the specified matrix using the
+     * {@link SparseOrdering#colamd column ordering} of its pattern.
+     *
+     * @param  A the square matrix.
+     * @return the corresponding symbolic analysis.
+     * @throws DimensionException if the matrix is not square.
+     */
+    public static Symbolic analyze(Float64SparseMatrix A) {
+        if (A._m != A._n)
+            throw new DimensionException("Square matrix expected");
+        return new Symbolic(A, SparseOrdering.colamd(A));
+    }
+
+    /**
+     * Returns the symbolic analysis of the specified matrix using the
+     * specified column ordering.
+     *
+     * @param  A the square matrix.
+     * @param  permutation the column ordering <code>Q</code>
+     *         (<code>permutation[k]</code> is the index of the
+     *         k<sup>th</sup> column of <code>A·Q</code>).
+     * @return the corresponding symbolic analysis.
+     * @throws DimensionException if the matrix is not square or the
+     *         permutation length is not <code>n</code>.
+     * @throws IllegalArgumentException if the permutation is not valid.
+     */
+    public static Symbolic analyze(Float64SparseMatrix A, int[] permutation) {
+        if (A._m != A._n)
+            throw new DimensionException("Square matrix expected");
+        if (permutation.length != A._n)
+            throw new DimensionException();
+        boolean[] found = new boolean[A._n];
+        for (int k = 0; k < permutation.length; k++) {
+            final int j = permutation[k];
+            if ((j < 0) || (j >= A._n) || found[j])
+                throw new IllegalArgumentException("Invalid permutation");
+            found[j] = true;
+        }
+        return new Symbolic(A, permutation.clone());
+    }
+
+    /**
+     * Returns the LU decomposition of the specified matrix (convenience
+     * method).
+     *
+     * @param  A the square matrix.
+     * @return <code>valueOf(analyze(A), A)</code>
+     * @throws DimensionException if the matrix is not square.
+     * @throws ArithmeticException if the matrix is singular.
+     */
+    public static Float64SparseLUDecomposition valueOf(Float64SparseMatrix A) {
+        return valueOf(analyze(A), A);
+    }
+
+    /**
+     * Returns the LU decomposition of the specified matrix using the
+     * specified symbolic analysis.
+     *
+     * @param  symbolic the analysis of a matrix with the same pattern.
+     * @param  A the square matrix.
+     * @return the LU decomposition of the specified matrix.
+     * @throws DimensionException if the matrix dimension is not the
+     *         dimension analyzed.
+     * @throws ArithmeticException if the matrix is singular.
+     */
+    public static Float64SparseLUDecomposition valueOf(Symbolic symbolic,
+            Float64SparseMatrix A) {
+        if ((A._m != symbolic._n) || (A._n != symbolic._n))
+            throw new DimensionException();
+        Float64SparseLUDecomposition lu = FACTORY.object();
+        lu._symbolic = symbolic;
+        lu.factorize(A.compressColumns(), getPivotThreshold());
+        return lu;
+    }
+
+    /**
+     * Sets the {@link javolution.context.LocalContext local} pivot
+     * threshold. The diagonal element is selected as pivot if its magnitude
+     * is greater or equal to the threshold times the largest magnitude of
+     * the candidate pivots (<code>1.0</code> for partial pivoting, small
+     * values preserve the sparsity and the symmetry of the pattern).
+     *
+     * @param  threshold the pivot threshold in the range ]0, 1].
+     * @throws IllegalArgumentException if the threshold is not in the
+     *         range ]0, 1].
+     */
+    public static void setPivotThreshold(double threshold) {
+        if (!((threshold > 0) && (threshold <= 1)))
+            throw new IllegalArgumentException("Pivot threshold: "
+                    + threshold + " is not in the range ]0, 1]");
+        PIVOT_THRESHOLD.set(threshold);
+    }
+
+    /**
+     * Returns the {@link javolution.context.LocalContext local} pivot
+     * threshold (default <code>1.0</code>, partial pivoting).
+     *
+     * @return the pivot threshold.
+     */
+    public static double getPivotThreshold() {
+        return PIVOT_THRESHOLD.get();
+    }
+
+    // Left-looking factorization of A·Q (compressed columns).
+    private void factorize(Float64SparseMatrix A, double threshold) {
+        final int n = _symbolic._n;
+        final int[] q = _symbolic._permutation;
+        int capacity = _symbolic._estimate;
+        int[] Lp = new int[n + 1], Li = new int[capacity];
+        double[] Lx = new double[capacity];
+        int[] Up = new int[n + 1], Ui = new int[capacity];
+        double[] Ux = new double[capacity];
+        int[] pinv = new int[n];
+        Arrays.fill(pinv, -1);
+        double[] x = new double[n];
+        int[] xi = new int[2 * n]; // Reach (top) and depth-first stack.
+        int[] positions = new int[n];
+        int[] mark = new int[n];
+        Arrays.fill(mark, -1);
+        int lnz = 0, unz = 0;
+        for (int k = 0; k < n; k++) {
+            Lp[k] = lnz;
+            Up[k] = unz;
+            if (lnz + n > Li.length) {
+                Li = Arrays.copyOf(Li, 2 * Li.length + n);
+                Lx = Arrays.copyOf(Lx, Li.length);
+            }
+            if (unz + n > Ui.length) {
+                Ui = Arrays.copyOf(Ui, 2 * Ui.length + n);
+                Ux = Arrays.copyOf(Ux, Ui.length);
+            }
+            final int column = q[k];
+
+            // Solves L·x = A(:, column) (sparse right-hand side).
+            int top = n;
+            for (int p = A._pointers[column]; p < A._pointers[column + 1]; p++) {
+                final int i = A._indices[p];
+                if (mark[i] != k) {
+                    top = depthFirst(i, k, Lp, Li, pinv, top, xi, positions,
+                            mark);
+                }
+            }
+            for (int p = A._pointers[column]; p < A._pointers[column + 1]; p++) {
+                x[A._indices[p]] = A._values[p];
+            }
+            for (int p = top; p < n; p++) { // Topological order.
+                final int j = xi[p];
+                final int J = pinv[j];
+                if (J < 0)
+                    continue; // Not yet pivotal.
+                final double xj = x[j]; // L has unit diagonal (first).
+                for (int r = Lp[J] + 1; r < Lp[J + 1]; r++) {
+                    x[Li[r]] -= Lx[r] * xj;
+                }
+            }
+
+            // Selects the pivot (threshold partial pivoting).
+            int pivotRow = -1;
+            double max = -1;
+            for (int p = top; p < n; p++) {
+                final int i = xi[p];
+                if (pinv[i] < 0) {
+                    final double t = MathLib.abs(x[i]);
+                    if (t > max) {
+                        max = t;
+                        pivotRow = i;
+                    }
+                } else {
+                    Ui[unz] = pinv[i];
+                    Ux[unz++] = x[i];
+                }
+            }
+            if (!(max > 0))
+                throw new ArithmeticException("Matrix is singular");
+            if ((pinv[column] < 0) && (mark[column] == k)
+                    && (MathLib.abs(x[column]) >= max * threshold)) {
+                pivotRow = column; // Diagonal preferred.
+            }
+            final double pivot = x[pivotRow];
+            Ui[unz] = k;
+            Ux[unz++] = pivot;
+            pinv[pivotRow] = k;
+            Li[lnz] = pivotRow;
+            Lx[lnz++] = 1.0;
+            for (int p = top; p < n; p++) {
+                final int i = xi[p];
+                if (pinv[i] < 0) {
+                    Li[lnz] = i;
+                    Lx[lnz++] = x[i] / pivot;
+                }
+                x[i] = 0;
+            }
+        }
+        Lp[n] = lnz;
+        Up[n] = unz;
+        for (int p = 0; p < lnz; p++) { // Rows of P·A·Q.
+            Li[p] = pinv[Li[p]];
+        }
+        _pinv = pinv;
+
+        // Sorts the row indices (double transposition); the diagonal is
+        // then first in each column of L and last in each column of U.
+        int[][] pointers = { Lp, null };
+        int[][] indices = { Li, null };
+        double[][] values = { Lx, null };
+        transpose(n, pointers, indices, values);
+        transpose(n, pointers, indices, values);
+        _lowerPointers = pointers[0];
+        _lowerIndices = indices[0];
+        _lowerValues = values[0];
+        pointers[0] = Up;
+        indices[0] = Ui;
+        values[0] = Ux;
+        transpose(n, pointers, indices, values);
+        transpose(n, pointers, indices, values);
+        _upperPointers = pointers[0];
+        _upperIndices = indices[0];
+        _upperValues = values[0];
+    }
+
+    // Non-recursive depth-first search of the graph of L from the row j,
+    // the rows reached are pushed on the top of xi (xi[n:] holds the stack
+    // of rows and positions the next edge of each row of the stack);
+    // returns the new top.
+    private static int depthFirst(int j, int k, int[] Lp, int[] Li,
+            int[] pinv, int top, int[] xi, int[] positions, int[] mark) {
+        final int n = pinv.length;
+        int head = 0;
+        xi[n] = j;
+        while (head >= 0) {
+            j = xi[n + head];
+            final int J = pinv[j];
+            if (mark[j] != k) {
+                mark[j] = k;
+                positions[head] = (J < 0) ? 0 : Lp[J] + 1;
+            }
+            boolean done = true;
+            final int end = (J < 0) ? 0 : Lp[J + 1];
+            for (int p = positions[head]; p < end; p++) {
+                final int i = Li[p];
+                if (mark[i] == k)
+                    continue;
+                positions[head] = p + 1;
+                xi[n + ++head] = i;
+                done = false;
+                break;
+            }
+            if (done) {
+                head--;
+                xi[--top] = j;
+            }
+        }
+        return top;
+    }
+
+    // Transposes the compressed matrix {pointers[0], indices[0], values[0]}
+    // (in place of the arrays, the inner indices are sorted).
+    private static void transpose(int n, int[][] pointers, int[][] indices,
+            double[][] values) {
+        final int[] Ap = pointers[0], Ai = indices[0];
+        final double[] Ax = values[0];
+        final int nnz = Ap[n];
+        int[] Cp = new int[n + 1];
+        for (int p = 0; p < nnz; p++) {
+            Cp[Ai[p] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            Cp[i + 1] += Cp[i];
+        }
+        int[] Ci = new int[nnz];
+        double[] Cx = new double[nnz];
+        int[] next = Arrays.copyOf(Cp, n);
+        for (int j = 0; j < n; j++) {
+            for (int p = Ap[j]; p < Ap[j + 1]; p++) {
+                final int r = next[Ai[p]]++;
+                Ci[r] = j;
+                Cx[r] = Ax[p];
+            }
+        }
+        pointers[0] = Cp;
+        indices[0] = Ci;
+        values[0] = Cx;
+    }
+
+    /**
+     * Returns the solution x of the equation: A * x = b.
+     *
+     * @param  b the right-hand side.
+     * @return the solution x = (1 / A) * b.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public Float64Vector solve(Vector<Float64> b) {
+        Float64Vector v = Float64Vector.valueOfVector(b).contiguous();
+        if (v.getDimension() != _symbolic._n)
+            throw new DimensionException();
+        double[] x = new double[_symbolic._n];
+        System.arraycopy(v._values, v._offset, x, 0, x.length);
+        return Float64Vector.viewOf(solve(x), 0, 1, x.length);
+    }
+
+    /**
+     * Returns the solution X of the equation: A * X = B (column by column).
+     *
+     * @param  B the input matrix.
+     * @return the solution X = (1 / A) * B.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public Float64Matrix solve(Matrix<Float64> B) {
+        final int n = _symbolic._n;
+        if (B.getNumberOfRows() != n)
+            throw new DimensionException("Input vector has "
+                    + B.getNumberOfRows() + " rows instead of " + n);
+        Float64Matrix Y = Float64Matrix.valueOfMatrix(B);
+        final int p = Y._n;
+        Float64Matrix X = Float64Matrix.newInstance(n, p);
+        double[] x = new double[n];
+        for (int j = 0; j < p; j++) {
+            for (int i = 0; i < n; i++) {
+                x[i] = Y.getValue(i, j);
+            }
+            solve(x);
+            for (int i = 0; i < n; i++) {
+                X._data[i * p + j] = x[i];
+            }
+        }
+        return X;
+    }
+
+    /**
+     * Returns the solution of the equation: A * x = b in place (fast).
+     *
+     * @param  b the n elements of the right-hand side, replaced by the
+     *         solution.
+     * @return <code>b</code>
+     * @throws DimensionException if <code>b.length != n</code>
+     */
+    public double[] solve(double[] b) {
+        final int n = _symbolic._n;
+        if (b.length != n)
+            throw new DimensionException();
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) { // y = P·b
+            y[_pinv[i]] = b[i];
+        }
+        for (int j = 0; j < n; j++) { // L·z = y (unit diagonal first).
+            final double yj = y[j];
+            if (yj == 0)
+                continue;
+            for (int p = _lowerPointers[j] + 1; p < _lowerPointers[j + 1]; p++) {
+                y[_lowerIndices[p]] -= _lowerValues[p] * yj;
+            }
+        }
+        for (int j = n; --j >= 0;) { // U·w = z (diagonal last).
+            final int last = _upperPointers[j + 1] - 1;
+            final double yj = y[j] / _upperValues[last];
+            y[j] = yj;
+            if (yj == 0)
+                continue;
+            for (int p = _upperPointers[j]; p < last; p++) {
+                y[_upperIndices[p]] -= _upperValues[p] * yj;
+            }
+        }
+        final int[] q = _symbolic._permutation;
+        for (int k = 0; k < n; k++) { // x = Q·w
+            b[q[k]] = y[k];
+        }
+        return b;
+    }
+
+    /**
+     * Returns the determinant of the matrix source.
+     *
+     * @return the product of the diagonal elements of U (sign adjusted for
+     *         the row and column permutations).
+     */
+    public Float64 determinant() {
+        final int n = _symbolic._n;
+        double product = 1.0;
+        for (int j = 0; j < n; j++) {
+            product *= _upperValues[_upperPointers[j + 1] - 1];
+        }
+        final boolean odd = isOdd(_pinv) ^ isOdd(_symbolic._permutation);
+        return Float64.valueOf(odd ? -product : product);
+    }
+
+    // Indicates if the specified permutation is odd (cycles decomposition).
+    private static boolean isOdd(int[] permutation) {
+        boolean[] visited = new boolean[permutation.length];
+        boolean odd = false;
+        for (int i = 0; i < permutation.length; i++) {
+            if (visited[i])
+                continue;
+            for (int j = permutation[i]; j != i; j = permutation[j]) {
+                visited[j] = true;
+                odd = !odd;
+            }
+            visited[i] = true;
+        }
+        return odd;
+    }
+
+    /**
+     * Returns the unit lower triangular factor L (compressed sparse
+     * columns).
+     *
+     * @return L such as <code>P·A·Q = L·U</code>.
+     */
+    public Float64SparseMatrix getLower() {
+        final int n = _symbolic._n;
+        final int nnz = _lowerPointers[n];
+        return Float64SparseMatrix.newInstance(n, n, true, _lowerPointers
+                .clone(), Arrays.copyOf(_lowerIndices, nnz), Arrays.copyOf(
+                _lowerValues, nnz));
+    }
+
+    /**
+     * Returns the upper triangular factor U (compressed sparse columns).
+     *
+     * @return U such as <code>P·A·Q = L·U</code>.
+     */
+    public Float64SparseMatrix getUpper() {
+        final int n = _symbolic._n;
+        final int nnz = _upperPointers[n];
+        return Float64SparseMatrix.newInstance(n, n, true, _upperPointers
+                .clone(), Arrays.copyOf(_upperIndices, nnz), Arrays.copyOf(
+                _upperValues, nnz));
+    }
+
+    /**
+     * Returns the pivots (row permutation) of this decomposition.
+     *
+     * @return the row ordering <code>P</code> (<code>pivots[k]</code> is
+     *         the index of the k<sup>th</sup> row of <code>P·A·Q</code>).
+     */
+    public int[] getPivots() {
+        int[] pivots = new int[_pinv.length];
+        for (int i = 0; i < _pinv.length; i++) {
+            pivots[_pinv[i]] = i;
+        }
+        return pivots;
+    }
+
+    /**
+     * Returns the column ordering of this decomposition.
+     *
+     * @return the permutation <code>Q</code>.
+     */
+    public int[] getColumnPermutation() {
+        return _symbolic._permutation.clone();
+    }
+
+    /**
+     * Returns the symbolic analysis of this decomposition (can be used to
+     * decompose matrices having the same pattern).
+     *
+     * @return the symbolic analysis.
+     */
+    public Symbolic getSymbolic() {
+        return _symbolic;
+    }
+
+    /**
+     * This class represents the symbolic analysis of a sparse LU
+     * decomposition (column ordering and size estimates of the factors).
+     * Instances are immutable and can be shared.
+     */
+    public static final class Symbolic {
+
+        // Dimension.
+        final int _n;
+
+        // Column ordering.
+        final int[] _permutation;
+
+        // Initial capacity of the factors.
+        final int _estimate;
+
+        Symbolic(Float64SparseMatrix A, int[] permutation) {
+            _n = A._n;
+            _permutation = permutation;
+            final long estimate = 4L * A.getNumberOfNonZeros() + _n;
+            _estimate = (int) MathLib.min(estimate, Integer.MAX_VALUE - 8);
+        }
+
+        /**
+         * Returns the column ordering.
+         *
+         * @return the permutation <code>Q</code>.
+         */
+        public int[] getPermutation() {
+            return _permutation.clone();
+        }
+    }
+}
@@ -0,0 +1,743 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
+import javolution.util.FastMap;
+import javolution.util.FastTable;
+import javolution.util.Index;
+
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+import org.jscience.mathematics.number.Float64;
+
+/**
+ * <p> This class represents a 64 bits floating point sparse matrix in
+ *     compressed form: compressed sparse rows (CSR) or compressed sparse
+ *     columns (CSC). The non-zero elements are held by three arrays
+ *     (<code>int[]</code> pointers, <code>int[]</code> indices and
+ *     <code>double[]</code> values), about 12 bytes per non-zero element;
+ *     within each row (CSR) or column (CSC) the indices are sorted.</p>
+ *
+ * <p> Instances are created from coordinate triplets (duplicates are
+ *     summed) or from any matrix; the {@link #transpose transpose} is a
+ *     view (CSR of <code>A</code> is CSC of <code>Aᵀ</code>) and
+ *     {@link #compressRows} / {@link #compressColumns} convert between both
+ *     forms in linear time. The products with dense vectors are performed
+ *     concurrently for large matrices, the rows (or columns) are
+ *     partitioned by number of non-zero elements. Large sparse systems
+ *     are solved iteratively by {@link Float64KrylovSolver} or directly
+ *     by the {@link Float64SparseCholeskyDecomposition sparse Cholesky}
+ *     and {@link Float64SparseLUDecomposition sparse LU} decompositions.
+ *     Matrix Market files are read and written by
+ *     {@link MatrixMarketFormat}.
+ *     [code]
+ *         Float64SparseMatrix A = Float64SparseMatrix.valueOf(m, n, rows, columns, values);
+ *         Float64Vector y = A.times(x); // Sparse matrix-vector product.
+ *         Float64Vector z = A.transpose().times(x); // Transposed product (no copy).
+ *         Float64Matrix Y = A.times(X); // Product with all the columns of X in one pass.
+ *         Float64SparseMatrix C = A.times(B); // Sparse matrix-matrix product (Gustavson).
+ *         SparseMatrix<Float64> S = SparseMatrix.valueOf(A); // Row maps form.
+ *     [/code]</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/Sparse_matrix">
+ *      Wikipedia: Sparse matrix</a>
+ */
+public final class Float64SparseMatrix extends SparseMatrix<Float64> {
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<Float64SparseMatrix> FACTORY = new ObjectFactory<Float64SparseMatrix>() {
+
+        @Override
+        protected Float64SparseMatrix create() {
+            return new Float64SparseMatrix();
+        }
+
+        @Override
+        protected void cleanup(Float64SparseMatrix matrix) {
+            matrix._pointers = null;
+            matrix._indices = null;
+            matrix._values = null;
+        }
+    };
+
+    /**
+     * Holds the number of rows.
+     */
+    int _m;
+
+    /**
+     * Holds the number of columns.
+     */
+    int _n;
+
+    /**
+     * Indicates if the elements are compressed by columns (CSC).
+     */
+    boolean _columnMajor;
+
+    /**
+     * Holds the position of the first element of each row (CSR) or column
+     * (CSC), followed by the number of non-zero elements.
+     */
+    int[] _pointers;
+
+    /**
+     * Holds the column (CSR) or row (CSC) index of each element.
+     */
+    int[] _indices;
+
+    /**
+     * Holds the value of each element.
+     */
+    double[] _values;
+
+    /**
+     * Returns a new sparse matrix sharing the specified arrays.
+     */
+    static Float64SparseMatrix newInstance(int m, int n, boolean columnMajor,
+            int[] pointers, int[] indices, double[] values) {
+        Float64SparseMatrix M = FACTORY.object();
+        M._m = m;
+        M._n = n;
+        M._columnMajor = columnMajor;
+        M._pointers = pointers;
+        M._indices = indices;
+        M._values = values;
+        return M;
+    }
+
+    /**
+     * Returns the sparse matrix (CSR) having the specified coordinate
+     * triplets; the values of duplicate coordinates are summed.
+     *
+     * @param  m the number of rows.
+     * @param  n the number of columns.
+     * @param  rows the row index of each element.
+     * @param  columns the column index of each element.
+     * @param  values the value of each element.
+     * @return the corresponding compressed sparse row matrix.
+     * @throws DimensionException if the triplets arrays do not have the
+     *         same length.
+     * @throws IndexOutOfBoundsException if an index is out of range.
+     */
+    public static Float64SparseMatrix valueOf(int m, int n, int[] rows,
+            int[] columns, double[] values) {
+        final int nnz = values.length;
+        if ((rows.length != nnz) || (columns.length != nnz))
+            throw new DimensionException("Triplets of different lengths");
+        for (int k = 0; k < nnz; k++) {
+            if ((rows[k] < 0) || (rows[k] >= m) || (columns[k] < 0)
+                    || (columns[k] >= n))
+                throw new IndexOutOfBoundsException("(" + rows[k] + ", "
+                        + columns[k] + ") for a " + m + "x" + n + " matrix");
+        }
+        // Compresses by columns then by rows (sorted indices).
+        Float64SparseMatrix csc = compress(n, m, columns, rows, values, true);
+        Float64SparseMatrix csr = csc.compressRows();
+        csr.sumDuplicates();
+        return csr;
+    }
+
+    /**
+     * Returns the sparse matrix (CSR) having the non-zero elements of the
+     * specified matrix.
+     *
+     * @param  that the matrix to convert.
+     * @return <code>that</code> or its compressed sparse row form.
+     */
+    public static Float64SparseMatrix valueOfMatrix(Matrix<Float64> that) {
+        if (that instanceof Float64SparseMatrix)
+            return (Float64SparseMatrix) that;
+        final int m = that.getNumberOfRows();
+        final int n = that.getNumberOfColumns();
+        int[] pointers = new int[m + 1];
+        if (that instanceof SparseMatrix) { // Row maps.
+            FastTable<SparseVectorImpl<Float64>> rows = FastTable.newInstance();
+            for (int i = 0; i < m; i++) {
+                rows.add(SparseVectorImpl.valueOf(that.getRow(i)));
+                pointers[i + 1] = pointers[i] + rows.get(i)._elements.size();
+            }
+            int[] indices = new int[pointers[m]];
+            double[] values = new double[pointers[m]];
+            for (int i = 0; i < m; i++) {
+                int k = pointers[i];
+                final FastMap<Index, Float64> elements = rows.get(i)._elements;
+                for (FastMap.Entry<Index, Float64> e = elements.head(), end = elements
+                        .tail(); (e = e.getNext()) != end; k++) {
+                    indices[k] = e.getKey().intValue();
+                }
+                Arrays.sort(indices, pointers[i], k);
+                for (int l = pointers[i]; l < k; l++) {
+                    values[l] = elements.get(Index.valueOf(indices[l]))
+                            .doubleValue();
+                }
+            }
+            return newInstance(m, n, false, pointers, indices, values);
+        }
+        Float64Matrix A = Float64Matrix.valueOfMatrix(that);
+        for (int i = 0; i < m; i++) {
+            int count = 0;
+            for (int j = 0; j < n; j++) {
+                if (A.getValue(i, j) != 0) {
+                    count++;
+                }
+            }
+            pointers[i + 1] = pointers[i] + count;
+        }
+        int[] indices = new int[pointers[m]];
+        double[] values = new double[pointers[m]];
+        for (int i = 0, k = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                final double value = A.getValue(i, j);
+                if (value != 0) {
+                    indices[k] = j;
+                    values[k++] = value;
+                }
+            }
+        }
+        return newInstance(m, n, false, pointers, indices, values);
+    }
+
+    // Compresses the specified triplets by outer index (outer-by-inner
+    // dimension), the inner indices keep the order of the triplets.
+    private static Float64SparseMatrix compress(int outer, int inner,
+            int[] outers, int[] inners, double[] values, boolean columnMajor) {
+        final int nnz = values.length;
+        int[] pointers = new int[outer + 1];
+        for (int k = 0; k < nnz; k++) {
+            pointers[outers[k] + 1]++;
+        }
+        for (int i = 0; i < outer; i++) {
+            pointers[i + 1] += pointers[i];
+        }
+        int[] next = new int[outer];
+        System.arraycopy(pointers, 0, next, 0, outer);
+        int[] indices = new int[nnz];
+        double[] compressed = new double[nnz];
+        for (int k = 0; k < nnz; k++) {
+            final int p = next[outers[k]]++;
+            indices[p] = inners[k];
+            compressed[p] = values[k];
+        }
+        return columnMajor ? newInstance(inner, outer, true, pointers,
+                indices, compressed) : newInstance(outer, inner, false,
+                pointers, indices, compressed);
+    }
+
+    // Sums in place the consecutive elements with the same index.
+    private void sumDuplicates() {
+        final int outer = _columnMajor ? _n : _m;
+        int k = 0;
+        int start = 0;
+        for (int i = 0; i < outer; i++) {
+            final int end = _pointers[i + 1];
+            final int first = k;
+            for (int p = start; p < end; p++) {
+                if ((k > first) && (_indices[k - 1] == _indices[p])) {
+                    _values[k - 1] += _values[p];
+                } else {
+                    _indices[k] = _indices[p];
+                    _values[k++] = _values[p];
+                }
+            }
+            start = end;
+            _pointers[i + 1] = k;
+        }
+        if (k != _indices.length) {
+            _indices = Arrays.copyOf(_indices, k);
+            _values = Arrays.copyOf(_values, k);
+        }
+    }
+
+    /**
+     * Returns this matrix in compressed sparse row form (CSR).
+     *
+     * @return <code>this</code> or the same matrix compressed by rows.
+     */
+    public Float64SparseMatrix compressRows() {
+        return _columnMajor ? convert() : this;
+    }
+
+    /**
+     * Returns this matrix in compressed sparse column form (CSC).
+     *
+     * @return <code>this</code> or the same matrix compressed by columns.
+     */
+    public Float64SparseMatrix compressColumns() {
+        return _columnMajor ? this : convert();
+    }
+
+    /**
+     * Indicates if this matrix is compressed by columns (CSC).
+     *
+     * @return <code>true</code> if compressed by columns;
+     *         <code>false</code> if compressed by rows.
+     */
+    public boolean isColumnMajor() {
+        return _columnMajor;
+    }
+
+    /**
+     * Returns the number of elements held by this matrix.
+     *
+     * @return the number of non-zero elements.
+     */
+    public int getNumberOfNonZeros() {
+        return _pointers[_columnMajor ? _n : _m];
+    }
+
+    // Converts between CSR and CSC (the inner indices remain sorted).
+    private Float64SparseMatrix convert() {
+        final int outer = _columnMajor ? _n : _m;
+        final int inner = _columnMajor ? _m : _n;
+        final int nnz = _pointers[outer];
+        int[] pointers = new int[inner + 1];
+        for (int k = 0; k < nnz; k++) {
+            pointers[_indices[k] + 1]++;
+        }
+        for (int i = 0; i < inner; i++) {
+            pointers[i + 1] += pointers[i];
+        }
+        int[] next = new int[inner];
+        System.arraycopy(pointers, 0, next, 0, inner);
+        int[] indices = new int[nnz];
+        double[] values = new double[nnz];
+        for (int i = 0; i < outer; i++) {
+            for (int k = _pointers[i], end = _pointers[i + 1]; k < end; k++) {
+                final int p = next[_indices[k]]++;
+                indices[p] = i;
+                values[p] = _values[k];
+            }
+        }
+        return newInstance(_m, _n, !_columnMajor, pointers, indices, values);
+    }
+
+    /**
+     * Returns the value of the element at the specified position (fast).
+     *
+     * @param  i the row index.
+     * @param  j the column index.
+     * @return the value of the element at <code>i,j</code>.
+     * @throws IndexOutOfBoundsException <code>
+     *         ((i &lt; 0) || (i &gt;= m)) || ((j &lt; 0) || (j &gt;= n))</code>
+     */
+    public double getValue(int i, int j) {
+        if ((i < 0) || (i >= _m) || (j < 0) || (j >= _n))
+            throw new IndexOutOfBoundsException();
+        final int outer = _columnMajor ? j : i;
+        final int inner = _columnMajor ? i : j;
+        final int k = Arrays.binarySearch(_indices, _pointers[outer],
+                _pointers[outer + 1], inner);
+        return (k >= 0) ? _values[k] : 0.0;
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return _m;
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return _n;
+    }
+
+    @Override
+    public Float64 get(int i, int j) {
+        return Float64.valueOf(getValue(i, j));
+    }
+
+    @Override
+    public SparseVector<Float64> getRow(int i) {
+        if ((i < 0) || (i >= _m))
+            throw new IndexOutOfBoundsException();
+        return _columnMajor ? cross(i, _n) : outer(i, _n);
+    }
+
+    @Override
+    public SparseVector<Float64> getColumn(int j) {
+        if ((j < 0) || (j >= _n))
+            throw new IndexOutOfBoundsException();
+        return _columnMajor ? outer(j, _m) : cross(j, _m);
+    }
+
+    // Returns the compressed row (CSR) or column (CSC).
+    private SparseVectorImpl<Float64> outer(int i, int dimension) {
+        SparseVectorImpl<Float64> V = newVector(dimension);
+        for (int k = _pointers[i], end = _pointers[i + 1]; k < end; k++) {
+            V._elements.put(Index.valueOf(_indices[k]), Float64
+                    .valueOf(_values[k]));
+        }
+        return V;
+    }
+
+    // Returns the elements of inner index i (binary search per outer index).
+    private SparseVectorImpl<Float64> cross(int i, int dimension) {
+        SparseVectorImpl<Float64> V = newVector(dimension);
+        for (int j = 0; j < dimension; j++) {
+            final int k = Arrays.binarySearch(_indices, _pointers[j],
+                    _pointers[j + 1], i);
+            if (k >= 0) {
+                V._elements.put(Index.valueOf(j), Float64.valueOf(_values[k]));
+            }
+        }
+        return V;
+    }
+
+    // Returns an empty sparse vector of the specified dimension.
+    @SuppressWarnings("unchecked")
+    private static SparseVectorImpl<Float64> newVector(int dimension) {
+        SparseVectorImpl<Float64> V = SparseVectorImpl.FACTORY.object();
+        V._dimension = dimension;
+        V._zero = Float64.ZERO;
+        return V;
+    }
+
+    @Override
+    public Float64SparseMatrix getSubMatrix(List<Index> rows,
+            List<Index> columns) {
+        Float64SparseMatrix A = compressRows();
+        final int p = columns.size();
+        int[] first = new int[_n]; // New positions of each column.
+        int[] next = new int[p];
+        Arrays.fill(first, -1);
+        for (int j = p - 1; j >= 0; j--) {
+            final int column = columns.get(j).intValue();
+            next[j] = first[column];
+            first[column] = j;
+        }
+        final int m = rows.size();
+        int[] pointers = new int[m + 1];
+        int[] indices = new int[16];
+        double[] values = new double[16];
+        int nnz = 0;
+        for (int i = 0; i < m; i++) {
+            final int row = rows.get(i).intValue();
+            final int start = nnz;
+            for (int k = A._pointers[row], end = A._pointers[row + 1]; k < end; k++) {
+                for (int j = first[A._indices[k]]; j >= 0; j = next[j]) {
+                    if (nnz == indices.length) {
+                        indices = Arrays.copyOf(indices, 2 * nnz);
+                        values = Arrays.copyOf(values, 2 * nnz);
+                    }
+                    indices[nnz] = j;
+                    values[nnz++] = A._values[k];
+                }
+            }
+            sort(indices, values, start, nnz);
+            pointers[i + 1] = nnz;
+        }
+        return newInstance(m, p, false, pointers, Arrays
+                .copyOf(indices, nnz), Arrays.copyOf(values, nnz));
+    }
+
+    @Override
+    public Float64SparseMatrix opposite() {
+        return times(-1.0);
+    }
+
+    @Override
+    public Matrix<Float64> plus(Matrix<Float64> that) {
+        if (that instanceof Float64SparseMatrix)
+            return plus((Float64SparseMatrix) that);
+        return toDense().plus(that);
+    }
+
+    private Float64SparseMatrix plus(Float64SparseMatrix that) {
+        if ((that._m != _m) || (that._n != _n))
+            throw new DimensionException();
+        Float64SparseMatrix A = this.compressRows();
+        Float64SparseMatrix B = that.compressRows();
+        int[] pointers = new int[_m + 1];
+        int[] indices = new int[A.getNumberOfNonZeros()
+                + B.getNumberOfNonZeros()];
+        double[] values = new double[indices.length];
+        int nnz = 0;
+        for (int i = 0; i < _m; i++) { // Merges sorted rows.
+            int ka = A._pointers[i], kb = B._pointers[i];
+            final int ea = A._pointers[i + 1], eb = B._pointers[i + 1];
+            while ((ka < ea) || (kb < eb)) {
+                final int ja = (ka < ea) ? A._indices[ka] : _n;
+                final int jb = (kb < eb) ? B._indices[kb] : _n;
+                if (ja < jb) {
+                    indices[nnz] = ja;
+                    values[nnz++] = A._values[ka++];
+                } else if (jb < ja) {
+                    indices[nnz] = jb;
+                    values[nnz++] = B._values[kb++];
+                } else {
+                    indices[nnz] = ja;
+                    values[nnz++] = A._values[ka++] + B._values[kb++];
+                }
+            }
+            pointers[i + 1] = nnz;
+        }
+        return newInstance(_m, _n, false, pointers, Arrays.copyOf(indices,
+                nnz), Arrays.copyOf(values, nnz));
+    }
+
+    @Override
+    public Float64SparseMatrix times(Float64 k) {
+        return times(k.doubleValue());
+    }
+
+    /**
+     * Equivalent to <code>this.times(Float64.valueOf(k))</code>
+     *
+     * @param k the coefficient.
+     * @return <code>this * k</code>
+     */
+    public Float64SparseMatrix times(double k) {
+        final int nnz = getNumberOfNonZeros();
+        double[] values = new double[nnz];
+        Float64Kernel.scale(nnz, k, _values, 0, values, 0);
+        return newInstance(_m, _n, _columnMajor, _pointers, _indices, values);
+    }
+
+    /**
+     * Returns the product of this matrix with the specified vector
+     * (sparse matrix-vector product).
+     *
+     * @param  v the vector.
+     * @return <code>this · v</code>
+     * @throws DimensionException if <code>v.getDimension() != n</code>
+     */
+    @Override
+    public Float64Vector times(Vector<Float64> v) {
+        if (v.getDimension() != _n)
+            throw new DimensionException();
+        Float64Vector x = Float64Vector.valueOfVector(v).contiguous();
+        double[] y = new double[_m];
+        multiply(x._values, x._offset, y, 0);
+        return Float64Vector.viewOf(y, 0, 1, _m);
+    }
+
+    /**
+     * Returns the product of this matrix with the specified elements
+     * (convenience method).
+     *
+     * @param  x the n elements.
+     * @return the m elements <code>this · x</code>.
+     * @throws DimensionException if <code>x.length != n</code>
+     */
+    public double[] times(double[] x) {
+        if (x.length != _n)
+            throw new DimensionException();
+        double[] y = new double[_m];
+        multiply(x, 0, y, 0);
+        return y;
+    }
+
+    // Calculates y = this · x
+    void multiply(double[] x, int xOffset, double[] y, int yOffset) {
+        multiply(x, xOffset, y, yOffset, 1);
+    }
+
+    // Calculates Y = this · X (p interleaved vectors).
+    void multiply(double[] x, int xOffset, double[] y, int yOffset, int p) {
+        if (_columnMajor) {
+            SparseLogic.scatter(_n, _m, _pointers, _indices, _values, x,
+                    xOffset, y, yOffset, p);
+        } else {
+            SparseLogic.gather(_m, _pointers, _indices, _values, x, xOffset,
+                    y, yOffset, p);
+        }
+    }
+
+    /**
+     * Returns the product of this matrix with the specified matrix;
+     * the product of two sparse matrices is sparse (Gustavson's row by row
+     * algorithm), otherwise the product is dense and all the columns of
+     * <code>that</code> are multiplied in a single pass over the non-zero
+     * elements of this matrix (batched sparse matrix-vector products).
+     *
+     * @param  that the matrix multiplier.
+     * @return <code>this · that</code>
+     * @throws DimensionException if the dimensions do not match.
+     */
+    @Override
+    public Matrix<Float64> times(Matrix<Float64> that) {
+        if (that.getNumberOfRows() != _n)
+            throw new DimensionException();
+        if (that instanceof Float64SparseMatrix)
+            return times((Float64SparseMatrix) that);
+        if (that instanceof SparseMatrix)
+            return times(Float64SparseMatrix.valueOfMatrix(that));
+        Float64Matrix X = Float64Matrix.valueOfMatrix(that).copy();
+        Float64Matrix Y = Float64Matrix.newInstance(_m, X._n);
+        multiply(X._data, 0, Y._data, 0, X._n); // Single pass.
+        return Y;
+    }
+
+    /**
+     * Returns the product of this matrix with the specified sparse matrix
+     * (Gustavson's algorithm, the operands are compressed by rows).
+     *
+     * @param  that the sparse matrix multiplier.
+     * @return <code>this · that</code> compressed by rows.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public Float64SparseMatrix times(Float64SparseMatrix that) {
+        if (that._m != _n)
+            throw new DimensionException();
+        Float64SparseMatrix A = this.compressRows();
+        Float64SparseMatrix B = that.compressRows();
+        final int m = _m;
+        final int p = that._n;
+        int[] marker = new int[p];
+        Arrays.fill(marker, -1);
+        double[] accumulator = new double[p];
+        int[] pointers = new int[m + 1];
+        int capacity = MathLib.max(16, A.getNumberOfNonZeros()
+                + B.getNumberOfNonZeros());
+        int[] indices = new int[capacity];
+        double[] values = new double[capacity];
+        int nnz = 0;
+        for (int i = 0; i < m; i++) {
+            final int start = nnz;
+            for (int ka = A._pointers[i], ea = A._pointers[i + 1]; ka < ea; ka++) {
+                final int k = A._indices[ka];
+                final double aik = A._values[ka];
+                for (int kb = B._pointers[k], eb = B._pointers[k + 1]; kb < eb; kb++) {
+                    final int j = B._indices[kb];
+                    if (marker[j] != i) {
+                        marker[j] = i;
+                        accumulator[j] = aik * B._values[kb];
+                        if (nnz == indices.length) {
+                            indices = Arrays.copyOf(indices, 2 * nnz);
+                        }
+                        indices[nnz++] = j;
+                    } else {
+                        accumulator[j] += aik * B._values[kb];
+                    }
+                }
+            }
+            Arrays.sort(indices, start, nnz);
+            if (nnz > values.length) {
+                values = Arrays.copyOf(values, indices.length);
+            }
+            for (int k = start; k < nnz; k++) {
+                values[k] = accumulator[indices[k]];
+            }
+            pointers[i + 1] = nnz;
+        }
+        return newInstance(m, p, false, pointers, Arrays.copyOf(indices, nnz),
+                Arrays.copyOf(values, nnz));
+    }
+
+    /**
+     * Returns the transpose of this matrix (view, CSR and CSC are
+     * exchanged).
+     *
+     * @return the matrix sharing the elements of this matrix.
+     */
+    @Override
+    public Float64SparseMatrix transpose() {
+        return newInstance(_n, _m, !_columnMajor, _pointers, _indices,
+                _values);
+    }
+
+    /**
+     * Returns the determinant of this matrix calculated through the
+     * {@link Float64SparseLUDecomposition sparse LU decomposition}.
+     *
+     * @return this matrix determinant.
+     * @throws DimensionException if this matrix is not square.
+     */
+    @Override
+    public Float64 determinant() {
+        try {
+            return Float64SparseLUDecomposition.valueOf(this).determinant();
+        } catch (ArithmeticException e) { // Singular.
+            return Float64.ZERO;
+        }
+    }
+
+    /**
+     * Solves this matrix for the specified vector through the
+     * {@link Float64SparseLUDecomposition sparse LU decomposition}.
+     *
+     * @param  y the vector for which the solution is calculated.
+     * @return <code>Float64SparseLUDecomposition.valueOf(this).solve(y)</code>
+     * @throws DimensionException if this matrix is not square or dimensions
+     *         do not match.
+     * @throws ArithmeticException if this matrix is singular.
+     */
+    @Override
+    public Float64Vector solve(Vector<Float64> y) {
+        return Float64SparseLUDecomposition.valueOf(this).solve(y);
+    }
+
+    /**
+     * Solves this matrix for the specified matrix through the
+     * {@link Float64SparseLUDecomposition sparse LU decomposition}.
+     *
+     * @param  y the matrix for which the solution is calculated.
+     * @return <code>Float64SparseLUDecomposition.valueOf(this).solve(y)</code>
+     * @throws DimensionException if this matrix is not square or dimensions
+     *         do not match.
+     * @throws ArithmeticException if this matrix is singular.
+     */
+    @Override
+    public Float64Matrix solve(Matrix<Float64> y) {
+        return Float64SparseLUDecomposition.valueOf(this).solve(y);
+    }
+
+    /**
+     * Returns the dense matrix having the same elements as this matrix.
+     *
+     * @return the corresponding dense matrix.
+     */
+    public Float64Matrix toDense() {
+        Float64Matrix M = Float64Matrix.newInstance(_m, _n);
+        final int outer = _columnMajor ? _n : _m;
+        final int rowStride = _columnMajor ? 1 : _n;
+        final int columnStride = _columnMajor ? _n : 1;
+        for (int i = 0; i < outer; i++) {
+            for (int k = _pointers[i], end = _pointers[i + 1]; k < end; k++) {
+                M._data[i * rowStride + _indices[k] * columnStride] = _values[k];
+            }
+        }
+        return M;
+    }
+
+    @Override
+    public Float64SparseMatrix copy() {
+        final int nnz = getNumberOfNonZeros();
+        return newInstance(_m, _n, _columnMajor, _pointers.clone(), Arrays
+                .copyOf(_indices, nnz), Arrays.copyOf(_values, nnz));
+    }
+
+    // Sorts the indices (and their values) in the range [from, to).
+    private static void sort(int[] indices, double[] values, int from,
+            int to) {
+        for (int i = from + 1; i < to; i++) { // Insertion (short rows).
+            final int index = indices[i];
+            final double value = values[i];
+            int j = i - 1;
+            while ((j >= from) && (indices[j] > index)) {
+                indices[j + 1] = indices[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            indices[j + 1] = index;
+            values[j + 1] = value;
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+}
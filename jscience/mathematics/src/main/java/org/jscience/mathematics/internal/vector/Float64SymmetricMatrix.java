@@ -0,0 +1,341 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.util.List;
+
+import javolution.context.ObjectFactory;
+import javolution.util.Index;
+
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+import org.jscience.mathematics.number.Float64;
+
+/**
+ * <p> This class represents a 64 bits floating point symmetric matrix
+ *     (<code>A = Aᵀ</code>). Only the lower triangle is stored, row by row
+ *     in a single <code>double[]</code> array (packed storage of
+ *     <code>n·(n+1)/2</code> elements), the memory footprint is half the
+ *     one of a {@link Float64Matrix dense matrix}.
+ *     [code]
+ *         Float64SymmetricMatrix C = Float64SymmetricMatrix.valueOf(covariance);
+ *         Vector<Float64> x = C.solve(y); // Bunch-Kaufman LDLᵀ.
+ *     [/code]</p>
+ *
+ * <p> Linear systems are solved through the {@link Float64LDLDecomposition
+ *     LDLᵀ decomposition} (symmetric indefinite matrices); if the matrix is
+ *     known to be positive definite the {@link Float64CholeskyDecomposition
+ *     Cholesky decomposition} is about twice faster.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/Symmetric_matrix">
+ *      Wikipedia: Symmetric matrix</a>
+ */
+public final class Float64SymmetricMatrix extends Matrix<Float64> {
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<Float64SymmetricMatrix> FACTORY = new ObjectFactory<Float64SymmetricMatrix>() {
+
+        @Override
+        protected Float64SymmetricMatrix create() {
+            return new Float64SymmetricMatrix();
+        }
+
+        @Override
+        protected void cleanup(Float64SymmetricMatrix matrix) {
+            matrix._data = null;
+        }
+    };
+
+    /**
+     * Holds the lower triangle elements (row by row).
+     */
+    double[] _data;
+
+    /**
+     * Holds the dimension.
+     */
+    int _n;
+
+    /**
+     * Returns a new symmetric matrix of specified dimension (zero elements).
+     */
+    static Float64SymmetricMatrix newInstance(int n) {
+        Float64SymmetricMatrix M = FACTORY.object();
+        M._data = new double[n * (n + 1) / 2];
+        M._n = n;
+        return M;
+    }
+
+    /**
+     * Returns the symmetric matrix having the lower triangle of the
+     * specified square matrix (the upper triangle is ignored).
+     *
+     * @param  that the square matrix.
+     * @return <code>that</code> or the corresponding symmetric matrix.
+     * @throws DimensionException if the specified matrix is not square.
+     */
+    public static Float64SymmetricMatrix valueOf(Matrix<Float64> that) {
+        if (that instanceof Float64SymmetricMatrix)
+            return (Float64SymmetricMatrix) that;
+        if (!that.isSquare())
+            throw new DimensionException("Matrix is not square");
+        final int n = that.getNumberOfRows();
+        Float64SymmetricMatrix M = Float64SymmetricMatrix.newInstance(n);
+        if (that instanceof Float64Matrix) {
+            Float64Matrix A = (Float64Matrix) that;
+            for (int i = 0, k = 0; i < n; i++) {
+                for (int j = 0; j <= i; j++) {
+                    M._data[k++] = A._data[A._offset + i * A._rowStride + j
+                            * A._columnStride];
+                }
+            }
+        } else {
+            for (int i = 0, k = 0; i < n; i++) {
+                for (int j = 0; j <= i; j++) {
+                    M._data[k++] = that.get(i, j).doubleValue();
+                }
+            }
+        }
+        return M;
+    }
+
+    /**
+     * Returns the symmetric matrix having the lower triangle of the
+     * specified elements (the upper triangle is ignored).
+     *
+     * @param  elements the square matrix elements.
+     * @return the corresponding symmetric matrix.
+     * @throws DimensionException if the elements are not square.
+     */
+    public static Float64SymmetricMatrix valueOf(double[][] elements) {
+        final int n = elements.length;
+        Float64SymmetricMatrix M = Float64SymmetricMatrix.newInstance(n);
+        for (int i = 0, k = 0; i < n; i++) {
+            if (elements[i].length != n)
+                throw new DimensionException();
+            System.arraycopy(elements[i], 0, M._data, k, i + 1);
+            k += i + 1;
+        }
+        return M;
+    }
+
+    /**
+     * Returns the value of a floating point number from this matrix (fast).
+     *
+     * @param  i the floating point number first index.
+     * @param  j the floating point number second index.
+     * @return the value of the floating point number at <code>i,j</code>.
+     * @throws IndexOutOfBoundsException <code>
+     *         ((i &lt; 0) || (i &gt;= n)) || ((j &lt; 0) || (j &gt;= n))</code>
+     */
+    public double getValue(int i, int j) {
+        if ((i < 0) || (i >= _n) || (j < 0) || (j >= _n))
+            throw new IndexOutOfBoundsException();
+        return (i >= j) ? _data[i * (i + 1) / 2 + j]
+                : _data[j * (j + 1) / 2 + i];
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return _n;
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return _n;
+    }
+
+    @Override
+    public Float64 get(int i, int j) {
+        return Float64.valueOf(getValue(i, j));
+    }
+
+    @Override
+    public Float64Vector getRow(int i) {
+        if ((i < 0) || (i >= _n))
+            throw new IndexOutOfBoundsException();
+        double[] values = new double[_n];
+        System.arraycopy(_data, i * (i + 1) / 2, values, 0, i + 1);
+        for (int j = i + 1; j < _n; j++) {
+            values[j] = _data[j * (j + 1) / 2 + i];
+        }
+        return Float64Vector.valueOf(values);
+    }
+
+    @Override
+    public Float64Vector getColumn(int j) {
+        return getRow(j); // Same row and column.
+    }
+
+    @Override
+    public Float64Matrix getSubMatrix(List<Index> rows, List<Index> columns) {
+        return toDense().getSubMatrix(rows, columns);
+    }
+
+    @Override
+    public Float64SymmetricMatrix opposite() {
+        return times(-1.0);
+    }
+
+    @Override
+    public Matrix<Float64> plus(Matrix<Float64> that) {
+        if (that instanceof Float64SymmetricMatrix)
+            return plus((Float64SymmetricMatrix) that);
+        return toDense().plus(that);
+    }
+
+    private Float64SymmetricMatrix plus(Float64SymmetricMatrix that) {
+        if (that._n != _n)
+            throw new DimensionException();
+        Float64SymmetricMatrix M = Float64SymmetricMatrix.newInstance(_n);
+        Float64Kernel.add(_data.length, _data, 0, that._data, 0, M._data, 0);
+        return M;
+    }
+
+    @Override
+    public Float64SymmetricMatrix times(Float64 k) {
+        return times(k.doubleValue());
+    }
+
+    /**
+     * Equivalent to <code>this.times(Float64.valueOf(k))</code>
+     *
+     * @param k the coefficient.
+     * @return <code>this * k</code>
+     */
+    public Float64SymmetricMatrix times(double k) {
+        Float64SymmetricMatrix M = Float64SymmetricMatrix.newInstance(_n);
+        Float64Kernel.scale(_data.length, k, _data, 0, M._data, 0);
+        return M;
+    }
+
+    /**
+     * Returns the product of this matrix with the specified vector
+     * (the packed elements are read once).
+     *
+     * @param  v the vector.
+     * @return <code>this · v</code>
+     * @throws DimensionException if <code>v.getDimension() != n</code>
+     */
+    @Override
+    public Float64Vector times(Vector<Float64> v) {
+        if (v.getDimension() != _n)
+            throw new DimensionException();
+        Float64Vector x = Float64Vector.valueOfVector(v).contiguous();
+        final double[] xv = x._values;
+        final int xo = x._offset;
+        double[] y = new double[_n];
+        for (int i = 0, k = 0; i < _n; i++, k += i) {
+            final double xi = xv[xo + i];
+            double sum = 0;
+            for (int j = 0; j < i; j++) {
+                final double aij = _data[k + j];
+                sum += aij * xv[xo + j];
+                y[j] += aij * xi;
+            }
+            y[i] += sum + _data[k + i] * xi;
+        }
+        return Float64Vector.valueOf(y);
+    }
+
+    @Override
+    public Float64Matrix times(Matrix<Float64> that) {
+        return toDense().times(that);
+    }
+
+    /**
+     * Returns the inverse of this matrix calculated through the
+     * {@link Float64LDLDecomposition LDLᵀ decomposition}.
+     *
+     * @return <code>1 / this</code>
+     */
+    @Override
+    public Float64SymmetricMatrix inverse() {
+        return Float64SymmetricMatrix.valueOf(Float64LDLDecomposition
+                .valueOf(this).inverse());
+    }
+
+    /**
+     * Returns the determinant of this matrix calculated through the
+     * {@link Float64LDLDecomposition LDLᵀ decomposition}.
+     *
+     * @return this matrix determinant.
+     */
+    @Override
+    public Float64 determinant() {
+        return Float64LDLDecomposition.valueOf(this).determinant();
+    }
+
+    /**
+     * Solves this matrix for the specified matrix through the
+     * {@link Float64LDLDecomposition LDLᵀ decomposition}.
+     *
+     * @param  y the matrix for which the solution is calculated.
+     * @return <code>Float64LDLDecomposition.valueOf(this).solve(y)</code>
+     * @throws DimensionException if the dimensions do not match.
+     */
+    @Override
+    public Float64Matrix solve(Matrix<Float64> y) {
+        return Float64LDLDecomposition.valueOf(this).solve(y);
+    }
+
+    /**
+     * Returns this matrix (symmetric).
+     *
+     * @return <code>this</code>
+     */
+    @Override
+    public Float64SymmetricMatrix transpose() {
+        return this;
+    }
+
+    /**
+     * Returns the dense matrix having the same elements as this matrix.
+     *
+     * @return the corresponding dense matrix (contiguous rows).
+     */
+    public Float64Matrix toDense() {
+        Float64Matrix M = Float64Matrix.newInstance(_n, _n);
+        fill(M._data);
+        return M;
+    }
+
+    @Override
+    public Float64SymmetricMatrix copy() {
+        Float64SymmetricMatrix M = Float64SymmetricMatrix.newInstance(_n);
+        System.arraycopy(_data, 0, M._data, 0, _data.length);
+        return M;
+    }
+
+    /**
+     * Returns the elements of this matrix row by row (both triangles).
+     */
+    double[] toArray() {
+        double[] a = new double[_n * _n];
+        fill(a);
+        return a;
+    }
+
+    // Sets the n-by-n elements (row by row).
+    private void fill(double[] a) {
+        final int n = _n;
+        for (int i = 0, k = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++, k++) {
+                a[i * n + j] = _data[k];
+                a[j * n + i] = _data[k];
+            }
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+}
@@ -11,14 +11,15 @@ package org.jscience.mathematics.internal.vector;
 import java.io.IOException;
 import java.util.List;
 import javolution.context.ArrayFactory;
-import javolution.lang.MathLib;
 
 import javolution.text.CharSet;
 import javolution.text.Cursor;
 import javolution.text.TextFormat;
 import javolution.util.FastTable;
 import javolution.util.Index;
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
 import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.RandomGenerator;
 import org.jscience.mathematics.structure.VectorSpaceNormed;
 
 /**
@@ -52,11 +53,44 @@ public class Float64Vector extends DenseVector<Float64> implements
      */
     final double[] _values;
 
+    /**
+     * Holds the index of the first element (views).
+     */
+    final int _offset;
+
+    /**
+     * Holds the distance between consecutive elements (views).
+     */
+    final int _stride;
+
     /**
      * Creates a vector of specified capacity.
      */
     private Float64Vector(int capacity) {
         _values = new double[capacity];
+        _offset = 0;
+        _stride = 1;
+    }
+
+    /**
+     * Creates a view sharing the specified values.
+     */
+    private Float64Vector(double[] values, int offset, int stride,
+            int dimension) {
+        _values = values;
+        _offset = offset;
+        _stride = stride;
+        _dimension = dimension;
+    }
+
+    /**
+     * Returns a vector view over the specified values (no copy).
+     * The element <code>i</code> of the view is
+     * <code>values[offset + i·stride]</code>.
+     */
+    static Float64Vector viewOf(double[] values, int offset, int stride,
+            int dimension) {
+        return new Float64Vector(values, offset, stride, dimension);
     }
 
     /**
@@ -98,6 +132,8 @@ public class Float64Vector extends DenseVector<Float64> implements
     public static Float64Vector valueOfVector(Vector<Float64> that) {
         if (that instanceof Float64Vector)
             return (Float64Vector) that;
+        if (that instanceof Float32Vector)
+            return ((Float32Vector) that).toFloat64();
         int n = that.getDimension();
         Float64Vector V = FACTORY.array(n);
         V._dimension = n;
@@ -124,6 +160,46 @@ public class Float64Vector extends DenseVector<Float64> implements
         return V;
     }
     
+    /**
+     * Returns a vector whose elements are uniformly distributed in range
+     * <code>[min, max[</code>. Large vectors are filled concurrently,
+     * the result depends only upon the generator state.
+     *
+     * @param dimension the vector dimension.
+     * @param min the inclusive lower bound.
+     * @param max the exclusive upper bound.
+     * @param random the random generator (advanced).
+     * @return the random vector.
+     */
+    public static Float64Vector valueOfRandom(int dimension, double min,
+            double max, RandomGenerator random) {
+        Float64Vector V = FACTORY.array(dimension);
+        V._dimension = dimension;
+        RandomFill.uniform(new double[][] { V._values }, dimension, min, max,
+                random);
+        return V;
+    }
+
+    /**
+     * Returns a vector whose elements are normally distributed.
+     * Large vectors are filled concurrently, the result depends only upon
+     * the generator state.
+     *
+     * @param dimension the vector dimension.
+     * @param mean the mean of the distribution.
+     * @param standardDeviation the standard deviation of the distribution.
+     * @param random the random generator (advanced).
+     * @return the random vector.
+     */
+    public static Float64Vector valueOfGaussian(int dimension, double mean,
+            double standardDeviation, RandomGenerator random) {
+        Float64Vector V = FACTORY.array(dimension);
+        V._dimension = dimension;
+        RandomFill.gaussian(new double[][] { V._values }, dimension, mean,
+                standardDeviation, random);
+        return V;
+    }
+
     /**
      * Returns the 64 bits floating point vector for the specified character
      * sequence.
@@ -143,9 +219,9 @@ public class Float64Vector extends DenseVector<Float64> implements
      * @throws IndexOutOfBoundsException <code>(i &lt; 0) || (i &gt;= dimension())</code>
      */
     public double getValue(int i) {
-        if (i >= _dimension)
+        if ((i < 0) || (i >= _dimension))
             throw new ArrayIndexOutOfBoundsException();
-        return _values[i];
+        return _values[_offset + i * _stride];
     }
 
     /**
@@ -164,19 +240,15 @@ public class Float64Vector extends DenseVector<Float64> implements
      * @return <code>this.norm().doubleValue()</code>.
      */
     public double normValue() {
-        double normSquared = 0;
-        for (int i = _dimension; --i >= 0;) {
-            double values = _values[i];
-            normSquared += values * values;
-        }
-        return MathLib.sqrt(normSquared);
+        Float64Vector X = contiguous();
+        return Float64Kernel.norm(_dimension, X._values, X._offset);
     }
 
     @Override
     public List<Float64> asList() {
         FastTable<Float64> list = FastTable.newInstance();
         for (int i=0; i < _dimension; i++) {
-            list.add(Float64.valueOf(_values[i]));
+            list.add(Float64.valueOf(_values[_offset + i * _stride]));
         }
         return list.unmodifiable();
     }
@@ -188,9 +260,9 @@ public class Float64Vector extends DenseVector<Float64> implements
 
     @Override
     public Float64 get(int i) {
-        if (i >= _dimension)
+        if ((i < 0) || (i >= _dimension))
             throw new IndexOutOfBoundsException();
-        return Float64.valueOf(_values[i]);
+        return Float64.valueOf(_values[_offset + i * _stride]);
     }
 
     @Override
@@ -199,7 +271,7 @@ public class Float64Vector extends DenseVector<Float64> implements
         Float64Vector V = FACTORY.array(dimension);
         V._dimension = dimension;
         for (int i = 0; i < dimension; i++) {
-            V._values[i] = _values[indices.get(i).intValue()];
+            V._values[i] = getValue(indices.get(i).intValue());
         }
         return V;
     }
@@ -208,35 +280,35 @@ public class Float64Vector extends DenseVector<Float64> implements
     public Float64Vector opposite() {
         Float64Vector V = FACTORY.array(_dimension);
         V._dimension = _dimension;
-        for (int i = 0; i < _dimension; i++) {
-            V._values[i] = -_values[i];
-        }
+        Float64Vector X = contiguous();
+        Float64Kernel.scale(_dimension, -1.0, X._values, X._offset,
+                V._values, 0);
         return V;
     }
 
     @Override
     public Float64Vector plus(Vector<Float64> that) {
-        Float64Vector T = Float64Vector.valueOfVector(that);
+        Float64Vector T = Float64Vector.valueOfVector(that).contiguous();
         if (T._dimension != _dimension)
             throw new DimensionException();
         Float64Vector V = FACTORY.array(_dimension);
         V._dimension = _dimension;
-        for (int i = 0; i < _dimension; i++) {
-            V._values[i] = _values[i] + T._values[i];
-        }
+        Float64Vector X = contiguous();
+        Float64Kernel.add(_dimension, X._values, X._offset, T._values,
+                T._offset, V._values, 0);
         return V;
     }
 
     @Override
     public Float64Vector minus(Vector<Float64> that) {
-        Float64Vector T = Float64Vector.valueOfVector(that);
+        Float64Vector T = Float64Vector.valueOfVector(that).contiguous();
         if (T._dimension != _dimension)
             throw new DimensionException();
         Float64Vector V = FACTORY.array(_dimension);
         V._dimension = _dimension;
-        for (int i = 0; i < _dimension; i++) {
-            V._values[i] = _values[i] - T._values[i];
-        }
+        Float64Vector X = contiguous();
+        Float64Kernel.subtract(_dimension, X._values, X._offset, T._values,
+                T._offset, V._values, 0);
         return V;
     }
 
@@ -244,10 +316,9 @@ public class Float64Vector extends DenseVector<Float64> implements
     public Float64Vector times(Float64 k) {
         Float64Vector V = FACTORY.array(_dimension);
         V._dimension = _dimension;
-        double d = k.doubleValue();
-        for (int i = 0; i < _dimension; i++) {
-            V._values[i] = _values[i] * d;
-        }
+        Float64Vector X = contiguous();
+        Float64Kernel.scale(_dimension, k.doubleValue(), X._values,
+                X._offset, V._values, 0);
         return V;
     }
 
@@ -260,23 +331,20 @@ public class Float64Vector extends DenseVector<Float64> implements
     public Float64Vector times(double k) {
         Float64Vector V = FACTORY.array(_dimension);
         V._dimension = _dimension;
-        for (int i = 0; i < _dimension; i++) {
-            V._values[i] = _values[i] * k;
-        }
+        Float64Vector X = contiguous();
+        Float64Kernel.scale(_dimension, k, X._values, X._offset, V._values,
+                0);
         return V;
     }
 
     @Override
     public Float64 times(Vector<Float64> that) {
-        Float64Vector T = Float64Vector.valueOfVector(that);
+        Float64Vector T = Float64Vector.valueOfVector(that).contiguous();
         if (T._dimension != _dimension)
             throw new DimensionException();
-        double[] T_values = T._values;
-        double sum = _values[0] * T_values[0];
-        for (int i = 1; i < _dimension; i++) {
-            sum += _values[i] * T_values[i];
-        }
-        return Float64.valueOf(sum);
+        Float64Vector X = contiguous();
+        return Float64.valueOf(Float64Kernel.dot(_dimension, X._values,
+                X._offset, T._values, T._offset));
     }
 
     @Override
@@ -285,9 +353,11 @@ public class Float64Vector extends DenseVector<Float64> implements
         if ((this._dimension != 3) || (T._dimension != 3))
             throw new DimensionException(
                     "The cross product of two vectors requires " + "3-dimensional vectors");
-        double x = _values[1] * T._values[2] - _values[2] * T._values[1];
-        double y = _values[2] * T._values[0] - _values[0] * T._values[2];
-        double z = _values[0] * T._values[1] - _values[1] * T._values[0];
+        double a0 = getValue(0), a1 = getValue(1), a2 = getValue(2);
+        double b0 = T.getValue(0), b1 = T.getValue(1), b2 = T.getValue(2);
+        double x = a1 * b2 - a2 * b1;
+        double y = a2 * b0 - a0 * b2;
+        double z = a0 * b1 - a1 * b0;
         return Float64Vector.valueOf(x, y, z);
     }
 
@@ -295,11 +365,23 @@ public class Float64Vector extends DenseVector<Float64> implements
     public Float64Vector copy() {
         Float64Vector V = FACTORY.array(_dimension);
         V._dimension = _dimension;
-        for (int i = 0; i < _dimension; i++) {
-            V._values[i] = _values[i];
+        if (_stride == 1) {
+            System.arraycopy(_values, _offset, V._values, 0, _dimension);
+        } else {
+            for (int i = 0, j = _offset; i < _dimension; i++, j += _stride) {
+                V._values[i] = _values[j];
+            }
         }
         return V;
     }
+
+    /**
+     * Returns this vector or a copy of this vector having contiguous
+     * elements (views with non-unit stride).
+     */
+    Float64Vector contiguous() {
+        return (_stride == 1) ? this : copy();
+    }
     private static final long serialVersionUID = 1L;
 
 }
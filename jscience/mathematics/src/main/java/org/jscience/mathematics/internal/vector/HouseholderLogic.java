@@ -0,0 +1,209 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ConcurrentContext;
+import javolution.lang.MathLib;
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+
+/**
+ * <p> This class holds the concurrent logic of the Householder
+ *     reflections applied to column-major <code>double[]</code> matrices
+ *     (<code>m</code> rows, element <code>(i, j)</code> at index
+ *     <code>j·m + i</code>).</p>
+ *
+ * <p> A single reflection is applied to ranges of columns, the blocked
+ *     (WY) updates are performed per ranges of rows: tall matrices are
+ *     then processed concurrently even when they have few columns.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+final class HouseholderLogic implements Runnable {
+
+    // Operations.
+    private static final int APPLY = 0, PRODUCT = 1, UPDATE = 2;
+
+    private final int _op;
+
+    private final int _from, _to; // Columns (APPLY) or rows.
+
+    private final double[] _qr;
+
+    private final int _m, _k, _nb, _c, _nc;
+
+    private final double _tau;
+
+    private final double[] _w; // Product (PRODUCT) or factor (UPDATE).
+
+    private HouseholderLogic(int op, int from, int to, double[] qr, int m,
+            int k, int nb, int c, int nc, double tau, double[] w) {
+        _op = op;
+        _from = from;
+        _to = to;
+        _qr = qr;
+        _m = m;
+        _k = k;
+        _nb = nb;
+        _c = c;
+        _nc = nc;
+        _tau = tau;
+        _w = w;
+    }
+
+    /**
+     * Applies the reflection <code>I - tau·v·vᵀ</code> (<code>v</code>
+     * held by column k below the diagonal, unit element implicit) to the
+     * columns [from, to).
+     */
+    static void apply(double[] qr, int m, int k, double tau, int from,
+            int to) {
+        if ((tau == 0) || (from >= to))
+            return;
+        final int n = to - from;
+        if (((long) (m - k) * n < Float64Kernel.CONCURRENCY_THRESHOLD)
+                || (n < 2) || (ConcurrentContext.getConcurrency() == 0)) {
+            new HouseholderLogic(APPLY, from, to, qr, m, k, 0, 0, 0, tau,
+                    null).run();
+            return;
+        }
+        final int concurrency = ConcurrentContext.getConcurrency() + 1;
+        final int chunk = (n + concurrency - 1) / concurrency;
+        ConcurrentContext.enter();
+        try {
+            for (int j = from; j < to; j += chunk) {
+                ConcurrentContext.execute(new HouseholderLogic(APPLY, j,
+                        MathLib.min(j + chunk, to), qr, m, k, 0, 0, 0, tau,
+                        null));
+            }
+        } finally {
+            ConcurrentContext.exit();
+        }
+    }
+
+    /**
+     * Applies the block reflection <code>I - V·Tᵀ·Vᵀ</code> (transpose of
+     * <code>H(k)·...·H(k+nb-1)</code>) to the columns <code>[c, c+nc)</code>
+     * (rows <code>k</code> and below). The reflectors are held by the
+     * columns <code>[k, k+nb)</code>, T is upper triangular (row-major).
+     */
+    static void applyBlock(double[] qr, int m, int k, int nb, double[] t,
+            int c, int nc) {
+        final int kb = k + nb;
+        final int rows = m - kb;
+
+        // W = Vᵀ·C (V2ᵀ·C2 per ranges of rows, then V1ᵀ·C1).
+        double[] w = new double[nb * nc];
+        final int concurrency = ConcurrentContext.getConcurrency() + 1;
+        final boolean concurrent = (concurrency > 1)
+                && (rows >= 2 * concurrency)
+                && ((long) rows * nb * nc >= Float64Kernel.CONCURRENCY_THRESHOLD
+                        * 256L);
+        if (concurrent) {
+            final int chunk = (rows + concurrency - 1) / concurrency;
+            final int count = (rows + chunk - 1) / chunk;
+            double[][] partials = new double[count][];
+            ConcurrentContext.enter();
+            try {
+                for (int i = 0; i < count; i++) {
+                    partials[i] = new double[nb * nc];
+                    final int from = kb + i * chunk;
+                    ConcurrentContext.execute(new HouseholderLogic(PRODUCT,
+                            from, MathLib.min(from + chunk, m), qr, m, k, nb,
+                            c, nc, 0, partials[i]));
+                }
+            } finally {
+                ConcurrentContext.exit();
+            }
+            for (int i = 0; i < count; i++) {
+                Float64Kernel.add(nb * nc, w, 0, partials[i], 0, w, 0);
+            }
+        } else if (rows > 0) {
+            new HouseholderLogic(PRODUCT, kb, m, qr, m, k, nb, c, nc, 0, w)
+                    .run();
+        }
+        for (int l = 0; l < nb; l++) { // V1 unit lower triangular.
+            final int vl = (k + l) * m + k;
+            for (int j = 0; j < nc; j++) {
+                final int cj = (c + j) * m + k;
+                double sum = qr[cj + l];
+                for (int r = l + 1; r < nb; r++) {
+                    sum += qr[vl + r] * qr[cj + r];
+                }
+                w[l * nc + j] += sum;
+            }
+        }
+
+        // W = -Tᵀ·W (in place, from the last row).
+        for (int l = nb - 1; l >= 0; l--) {
+            for (int j = 0; j < nc; j++) {
+                double sum = 0;
+                for (int r = 0; r <= l; r++) {
+                    sum += t[r * nb + l] * w[r * nc + j];
+                }
+                w[l * nc + j] = -sum;
+            }
+        }
+
+        // C = C + V·W (C1 then C2 per ranges of rows).
+        for (int j = 0; j < nc; j++) {
+            final int cj = (c + j) * m + k;
+            for (int r = 0; r < nb; r++) {
+                double sum = w[r * nc + j];
+                for (int l = 0; l < r; l++) {
+                    sum += qr[(k + l) * m + k + r] * w[l * nc + j];
+                }
+                qr[cj + r] += sum;
+            }
+        }
+        if (concurrent) {
+            final int chunk = (rows + concurrency - 1) / concurrency;
+            ConcurrentContext.enter();
+            try {
+                for (int from = kb; from < m; from += chunk) {
+                    ConcurrentContext.execute(new HouseholderLogic(UPDATE,
+                            from, MathLib.min(from + chunk, m), qr, m, k, nb,
+                            c, nc, 0, w));
+                }
+            } finally {
+                ConcurrentContext.exit();
+            }
+        } else if (rows > 0) {
+            new HouseholderLogic(UPDATE, kb, m, qr, m, k, nb, c, nc, 0, w)
+                    .run();
+        }
+    }
+
+    public void run() {
+        final double[] qr = _qr;
+        final int m = _m;
+        final int rows = _to - _from;
+        switch (_op) {
+        case APPLY:
+            final int k = _k;
+            final int v = k * m + k + 1;
+            for (int j = _from; j < _to; j++) {
+                final int cj = j * m + k;
+                final double s = qr[cj]
+                        + Float64Kernel.dot(m - k - 1, qr, v, qr, cj + 1);
+                final double a = -_tau * s;
+                qr[cj] += a;
+                Float64Kernel.axpy(m - k - 1, a, qr, v, qr, cj + 1);
+            }
+            break;
+        case PRODUCT: // W = V2ᵀ·C2 (rows [from, to))
+            Float64Kernel.gemm(_nb, rows, _nc, qr, _k * m + _from, m, 1, qr,
+                    _c * m + _from, 1, m, _w, 0, _nc);
+            break;
+        default: // UPDATE: C2ᵀ = C2ᵀ + Wᵀ·V2ᵀ (rows [from, to))
+            Float64Kernel.gemm(_nc, _nb, rows, _w, 0, 1, _nc, qr, _k * m
+                    + _from, m, 1, qr, _c * m + _from, m);
+        }
+    }
+}
@@ -11,7 +11,9 @@ package org.jscience.mathematics.internal.vector;
 import java.util.Comparator;
 
 import org.jscience.mathematics.structure.Field;
+import org.jscience.mathematics.number.ModuloInteger;
 import org.jscience.mathematics.number.Number;
+import org.jscience.mathematics.number.Rational;
 
 import javolution.context.LocalContext;
 import javolution.context.ObjectFactory;
@@ -33,14 +35,21 @@ import javolution.util.Index;
  *     {@link Field} elements are {@link Number numbers}
  *     For others elements types, numerical stability can be ensured by setting
  *     the {@link javolution.context.LocalContext context-local} pivot 
- *     comparator (see {@link #setPivotComparator}).</p>
+ *     comparator (see {@link #setPivotComparator}). With the default
+ *     comparator the pivot selection depends upon the elements type:
+ *     elements calculated exactly ({@link Rational}, {@link ModuloInteger})
+ *     are not subject to rounding errors, the first non-zero element is
+ *     then selected ({@link #EXACT_COMPARATOR}).</p>
+ *     
+ * <p> Singular matrices can be decomposed (their {@link #determinant
+ *     determinant} is zero), zero columns are not eliminated.</p>
  *     
  * <p> Pivoting can be disabled by setting the {@link #setPivotComparator 
  *     pivot comparator} to <code>null</code> ({@link #getPermutation P} 
  *     is then the matrix identity).</p>
  *     
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
- * @version 3.3, January 2, 2007
+ * @version 5.0, October 18, 2026
  * @see <a href="http://en.wikipedia.org/wiki/LU_decomposition">
  *      Wikipedia: LU decomposition</a>
  */
@@ -63,6 +72,20 @@ public final class LUDecomposition<F extends Field<F>>  {
         }
     };
 
+    /**
+     * Holds the comparator for elements calculated exactly, only zero
+     * elements are excluded (the first non-zero element is selected).
+     */
+    public static final Comparator<Field<?>> EXACT_COMPARATOR = new Comparator<Field<?>>() {
+
+        @SuppressWarnings("unchecked")
+        public int compare(Field left, Field right) {
+            if (right.equals(right.plus(right))) // Zero
+                return left.equals(left.plus(left)) ? 0 : 1;
+            return -1;
+        }
+    };
+
     /**
      * Holds the local comparator.
      */
@@ -147,6 +170,12 @@ public final class LUDecomposition<F extends Field<F>>  {
 
         // Main loop.
         Comparator<Field<?>> cmp = LUDecomposition.getPivotComparator();
+        if ((cmp == NUMERIC_COMPARATOR) && (_n > 0)) { // Per type.
+            F e = _LU.get(0, 0);
+            if ((e instanceof Rational) || (e instanceof ModuloInteger)) {
+                cmp = EXACT_COMPARATOR;
+            }
+        }
         final int n = _n;
         for (int k = 0; k < _n; k++) {
 
@@ -174,17 +203,44 @@ public final class LUDecomposition<F extends Field<F>>  {
             }
 
             // Computes multipliers and eliminate k-th column.
-            F lukkInv = _LU.get(k, k).inverse();
-            for (int i = k + 1; i < n; i++) {
-                // Multiplicative order is important
-                // for non-commutative elements.
-                _LU.set(i, k, _LU.get(i, k).times(lukkInv));
-                for (int j = k + 1; j < n; j++) {
-                    _LU.set(i, j, _LU.get(i, j).plus(
-                            _LU.get(i, k).times(_LU.get(k, j).opposite())));
+            F lukk = _LU.get(k, k);
+            if (isZero(lukk) && isZeroBelow(k))
+                continue; // Singular, nothing to eliminate.
+            eliminate(k, lukk.inverse());
+        }
+    }
+
+    // Computes the multipliers and eliminates the column k (rows updated
+    // concurrently).
+    private void eliminate(final int k, final F lukkInv) {
+        final int n = _n;
+        final DenseMatrixImpl<F> LU = _LU;
+        new RowLogic() {
+            void rows(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    // Multiplicative order is important
+                    // for non-commutative elements.
+                    LU.set(i, k, LU.get(i, k).times(lukkInv));
+                    for (int j = k + 1; j < n; j++) {
+                        LU.set(i, j, LU.get(i, j).plus(
+                                LU.get(i, k).times(LU.get(k, j).opposite())));
+                    }
                 }
             }
+        }.execute(k + 1, n, (n - k) * RowLogic.weightOf(lukkInv));
+    }
+
+    // Indicates if the elements of column k below the diagonal are zero.
+    private boolean isZeroBelow(int k) {
+        for (int i = k + 1; i < _n; i++) {
+            if (!isZero(_LU.get(i, k)))
+                return false;
         }
+        return true;
+    }
+
+    private static <F extends Field<F>> boolean isZero(F e) {
+        return e.equals(e.plus(e));
     }
 
     /**
@@ -0,0 +1,58 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import org.jscience.mathematics.structure.Field;
+
+/**
+ * <p> This interface represents a linear mapping between vector spaces
+ *     known only through its action upon vectors (matrix-free form).
+ *     All {@link Matrix matrices} (dense or sparse) are linear operators;
+ *     users may also define operators whose elements are never stored
+ *     (e.g. stencils, products or sums of matrices).
+ *     [code]
+ *         LinearOperator<Float64> laplacian = new LinearOperator<Float64>() {
+ *             public int getNumberOfRows() { return n; }
+ *             public int getNumberOfColumns() { return n; }
+ *             public Vector<Float64> times(Vector<Float64> v) { ... }
+ *         };
+ *         Float64Vector x = Float64KrylovSolver.conjugateGradient().solve(laplacian, b);
+ *     [/code]</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see Float64KrylovSolver
+ */
+public interface LinearOperator<F extends Field<F>> {
+
+    /**
+     * Returns the dimension of the operator range (number of rows).
+     *
+     * @return the number of rows.
+     */
+    int getNumberOfRows();
+
+    /**
+     * Returns the dimension of the operator domain (number of columns).
+     *
+     * @return the number of columns.
+     */
+    int getNumberOfColumns();
+
+    /**
+     * Returns the image of the specified vector by this operator.
+     *
+     * @param  v the vector.
+     * @return <code>this · v</code>
+     * @throws DimensionException if <code>v.getDimension() !=
+     *         getNumberOfColumns()</code>
+     */
+    Vector<F> times(Vector<F> v);
+
+}
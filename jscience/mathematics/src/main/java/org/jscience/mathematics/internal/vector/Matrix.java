@@ -80,7 +80,8 @@ import org.jscience.mathematics.structure.VectorSpace;
  *      Wikipedia: Matrix (mathematics)</a>
  */
 public abstract class Matrix<F extends Field<F>>
-         implements VectorSpace<Matrix<F>, F>, Ring<Matrix<F>>, ValueType, Realtime {
+         implements VectorSpace<Matrix<F>, F>, Ring<Matrix<F>>, LinearOperator<F>,
+         ValueType, Realtime {
 
     /**
      * Defines the default text format for matrices (formatting only).
@@ -268,18 +269,13 @@ public abstract class Matrix<F extends Field<F>>
     /**
      * Returns the inverse of this matrix (must be square).
      * The default implementation returns
-     * <code>determinant.inverse().times(this.adjoint())</code>
+     * <code>LUDecomposition.valueOf(this).inverse()</code>
      *
      * @return <code>1 / this</code>
      * @throws DimensionException if this matrix is not square.
      */
     public Matrix<F> inverse() {
-        if (!isSquare())
-            throw new DimensionException("Matrix not square");
-        // F product might not be commutative.
-        DiagonalMatrix<F> detInv = DiagonalMatrix.valueOf(this.getNumberOfRows(),
-                this.determinant().inverse());
-        return detInv.times(this.adjoint());
+        return LUDecomposition.valueOf(this).inverse();
     }
 
     /**
@@ -296,38 +292,55 @@ public abstract class Matrix<F extends Field<F>>
 
     /**
      * Returns the inverse or pseudo-inverse if this matrix if not square.
+     * The default implementation uses the {@link QRDecomposition QR
+     * decomposition} of this matrix (or of its transpose if this matrix has
+     * more columns than rows), <code>AᵀA</code> is not formed.
      *
-     * @return the inverse or pseudo-inverse of this matrix.
+     * @return the inverse or pseudo-inverse of this matrix (full rank).
      */
     public Matrix<F> pseudoInverse() {
         if (isSquare())
             return this.inverse();
-        Matrix<F> thisTranspose = this.transpose();
-        return (thisTranspose.times(this)).inverse().times(thisTranspose);
+        if (getNumberOfRows() > getNumberOfColumns())
+            return QRDecomposition.valueOf(this).pseudoInverse();
+        return QRDecomposition.valueOf(this.transpose()).pseudoInverse()
+                .transpose();
     }
 
     /**
      * Returns the determinant of this matrix. The default implementation
-     * uses an expansion by minors (also known as Laplacian).
-     * This algorithm is division free but too slow for {@link DenseMatrix}
-     * which uses the LU decomposition.
+     * uses the LU decomposition (<code>O(n³)</code>).
      *
-     * @return this matrix determinant.
+     * @return <code>LUDecomposition.valueOf(this).determinant()</code>
      * @throws DimensionException if this matrix is not square.
+     * @see #laplaceExpansion()
      */
     public F determinant() {
+        return LUDecomposition.valueOf(this).determinant();
+    }
+
+    /**
+     * Returns the determinant of this matrix calculated using an expansion
+     * by minors along the first row (also known as Laplacian).
+     * This algorithm is division free (elements of non-commutative or 
+     * non-invertible types) but its complexity is <code>O(n!)</code>;
+     * it should only be used for very small matrices.
+     *
+     * @return this matrix determinant.
+     * @throws DimensionException if this matrix is not square.
+     */
+    public F laplaceExpansion() {
         if (!isSquare())
             throw new DimensionException("Matrix not square");
         if (this.getNumberOfRows() == 1)
             return this.get(0, 0);
-        // This algorithm is division free but too slow for dense matrix.
         Vector<F> row0 = this.getRow(0);
         F det = null;
         for (int i = 0; i < row0.getDimension(); i++) {
             F e = row0.get(i);
             if (e.equals(e.opposite()))
                 continue; // Optimization.
-            F d = e.times(cofactor(0, i));
+            F d = e.times(minor(0, i).laplaceExpansion());
             if (i % 2 != 0) {
                 d = d.opposite();
             }
@@ -355,6 +368,14 @@ public abstract class Matrix<F extends Field<F>>
      *         is less than 2.
      */
     public F cofactor(int i, int j) {
+        return minor(i, j).determinant();
+    }
+
+    /**
+     * Returns the sub-matrix formed by the elements not in the specified
+     * row or column.
+     */
+    private Matrix<F> minor(int i, int j) {
         FastTable<Index> rows = FastTable.newInstance();
         FastTable<Index> columns = FastTable.newInstance();
         try {
@@ -368,7 +389,7 @@ public abstract class Matrix<F extends Field<F>>
                     continue; // Don't include column j.
                 columns.add(Index.valueOf(jj));
             }
-            return this.getSubMatrix(rows, columns).determinant();
+            return this.getSubMatrix(rows, columns);
         } finally {
             FastTable.recycle(rows);
             FastTable.recycle(columns);
@@ -379,16 +400,21 @@ public abstract class Matrix<F extends Field<F>>
      * Returns the adjoint of this matrix. It is obtained by replacing each
      * element in this matrix with its cofactor and applying a + or - sign
      * according (-1)**(i+j), and then finding the transpose of the resulting
-     * matrix.
+     * matrix. For non-singular matrices the adjoint is calculated from the
+     * LU decomposition (<code>det(A)·A<sup>-1</sup></code>).
      *
      * @return the adjoint of this matrix.
      * @throws DimensionException if this matrix is not square or if
      *         its dimension is less than 2.
      */
     public Matrix<F> adjoint() {
-        DenseMatrixImpl<F> M = DenseMatrixImpl.FACTORY.object();
         final int m = this.getNumberOfRows();
         final int n = this.getNumberOfColumns();
+        LUDecomposition<F> lu = LUDecomposition.valueOf(this);
+        F det = lu.determinant();
+        if (!det.equals(det.plus(det))) // Non-singular.
+            return DiagonalMatrix.valueOf(n, det).times(lu.inverse());
+        DenseMatrixImpl<F> M = DenseMatrixImpl.FACTORY.object();
         for (int i = 0; i < m; i++) {
             DenseVectorImpl<F> V = DenseVectorImpl.FACTORY.object();
             for (int j = 0; j < n; j++) {
@@ -426,15 +452,15 @@ public abstract class Matrix<F extends Field<F>>
     /**
      * Solves this matrix for the specified matrix (returns <code>x</code>
      * such as <code>this · x = y</code>). The default implementation
-     * returns <code>this.inverse().times(y)</code>
+     * uses the LU decomposition (forward and back substitutions).
      * 
      * @param  y the matrix for which the solution is calculated.
-     * @return <code>x</code> such as <code>this · x = y</code>
+     * @return <code>LUDecomposition.valueOf(this).solve(y)</code>
      * @throws DimensionException if that matrix is not square or dimensions 
      *         do not match.
      */
     public Matrix<F> solve(Matrix<F> y) {
-        return this.inverse().times(y); // Default implementation.
+        return LUDecomposition.valueOf(this).solve(y);
     }
 
     /**
@@ -497,20 +523,26 @@ public abstract class Matrix<F extends Field<F>>
         final int n = this.getNumberOfColumns();
         final int p = that.getNumberOfRows();
         final int q = that.getNumberOfColumns();
-        DenseMatrixImpl M = DenseMatrixImpl.FACTORY.object();
-        for (int i0 = 0; i0 < m; i0++) {
-            for (int i1 = 0; i1 < p; i1++) {
-                DenseVectorImpl V = DenseVectorImpl.FACTORY.object();
-                for (int j0 = 0; j0 < n; j0++) {
-                    for (int j1 = 0; j1 < q; j1++) {
-                        F e = this.get(i0, j0).times(that.get(i1, j1));
-                        V._elements.add(e);
+        final DenseMatrixImpl<F> A = DenseMatrixImpl.valueOf(this);
+        final DenseMatrixImpl<F> B = DenseMatrixImpl.valueOf(that);
+        final DenseVectorImpl<F>[] rows = DenseMatrixImpl.newRows(m * p);
+        new RowLogic() { // Row i0·p + i1 (concurrently).
+            void rows(int from, int to) {
+                for (int r = from; r < to; r++) {
+                    final int i0 = r / p, i1 = r % p;
+                    DenseVectorImpl<F> V = DenseVectorImpl.FACTORY.object();
+                    for (int j0 = 0; j0 < n; j0++) {
+                        final F e0 = A.get(i0, j0);
+                        for (int j1 = 0; j1 < q; j1++) {
+                            V._elements.add(e0.times(B.get(i1, j1)));
+                        }
                     }
+                    rows[r] = V;
                 }
-                M._rows.add(V);
             }
-        }
-        return M;
+        }.execute(0, m * p, (long) n * q
+                * RowLogic.weightOf(((m > 0) && (n > 0)) ? A.get(0, 0) : null));
+        return DenseMatrixImpl.newInstance(rows);
     }
 
     /**
@@ -0,0 +1,519 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import javolution.context.ConcurrentContext;
+import javolution.lang.MathLib;
+
+/**
+ * <p> This class represents the
+ *     <a href="http://math.nist.gov/MatrixMarket/formats.html">Matrix
+ *     Market</a> exchange format (<code>.mtx</code> files) for 64 bits
+ *     floating point matrices: coordinate format for
+ *     {@link Float64SparseMatrix sparse matrices} and array format for
+ *     {@link Float64Matrix dense matrices}.</p>
+ *
+ * <p> Unlike {@link Matrix#DEFAULT_MATRIX_FORMAT}, the text is never held
+ *     in memory: the elements are parsed by blocks from the channel
+ *     directly into the compressed (or dense) storage, and written by
+ *     blocks to the channel. Real, integer and pattern fields are supported
+ *     with general, symmetric or skew-symmetric symmetry (symmetric
+ *     matrices are expanded). Large files read from a
+ *     {@link FileChannel} are split into ranges of lines parsed
+ *     concurrently.
+ *     [code]
+ *         MatrixMarketFormat format = new MatrixMarketFormat();
+ *         format.setMonitor(new MatrixMarketFormat.Monitor() {
+ *             public boolean progress(long position, long size) {
+ *                 System.out.println(100 * position / size + "%");
+ *                 return true; // Continues.
+ *             }
+ *         });
+ *         FileChannel in = new FileInputStream("bcsstk14.mtx").getChannel();
+ *         Float64SparseMatrix A = format.readSparse(in);
+ *         in.close();
+ *     [/code]</p>
+ *
+ * <p> Instances of this class are not thread-safe (the progress of the
+ *     current read or write is held by the instance).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+public final class MatrixMarketFormat {
+
+    /**
+     * This interface represents the monitor of the reads and writes.
+     */
+    public interface Monitor {
+
+        /**
+         * Notifies this monitor of the number of bytes read or written so
+         * far (reads and writes are performed by blocks).
+         *
+         * @param  position the number of bytes read or written.
+         * @param  size the total number of bytes or <code>-1</code> if
+         *         unknown (writes and channels other than file channels).
+         * @return <code>true</code> to continue; <code>false</code> to
+         *         stop (an {@link InterruptedIOException} is then raised).
+         */
+        boolean progress(long position, long size);
+
+    }
+
+    // Fields.
+    static final int REAL = 0, INTEGER = 1, PATTERN = 2;
+
+    // Symmetries.
+    static final int GENERAL = 0, SYMMETRIC = 1, SKEW_SYMMETRIC = 2;
+
+    // Minimum number of bytes parsed per concurrent task.
+    private static final long RANGE_SIZE = 1 << 22;
+
+    // Size of the write blocks.
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    private Monitor _monitor;
+
+    private long _done, _size;
+
+    private volatile boolean _cancelled;
+
+    /**
+     * Creates a Matrix Market format (no monitor).
+     */
+    public MatrixMarketFormat() {
+    }
+
+    /**
+     * Sets the monitor notified of the progress of the reads and writes.
+     *
+     * @param monitor the monitor or <code>null</code> for none.
+     */
+    public void setMonitor(Monitor monitor) {
+        _monitor = monitor;
+    }
+
+    /**
+     * Reads a sparse matrix (coordinate or array format, only the non-zero
+     * elements of the array format are retained). The channel is read up
+     * to its end; duplicate coordinates are summed.
+     *
+     * @param  in the channel to read.
+     * @return the corresponding compressed sparse row matrix.
+     * @throws IOException if an I/O error occurs or if the content is not
+     *         a real Matrix Market matrix.
+     */
+    public Float64SparseMatrix readSparse(ReadableByteChannel in)
+            throws IOException {
+        Header header = new Header();
+        MatrixMarketLogic[] ranges = read(in, header);
+        final int m = header._m, n = header._n;
+        int nnz = 0;
+        for (int k = 0; k < ranges.length; k++) {
+            nnz += ranges[k]._count;
+        }
+        if (header._coordinate) {
+            if (ranges.length == 1) {
+                MatrixMarketLogic range = ranges[0];
+                if (range._count == range._values.length)
+                    return Float64SparseMatrix.valueOf(m, n, range._rows,
+                            range._columns, range._values);
+            }
+            int[] rows = new int[nnz], columns = new int[nnz];
+            double[] values = new double[nnz];
+            for (int k = 0, offset = 0; k < ranges.length; k++) {
+                MatrixMarketLogic range = ranges[k];
+                System.arraycopy(range._rows, 0, rows, offset, range._count);
+                System.arraycopy(range._columns, 0, columns, offset,
+                        range._count);
+                System.arraycopy(range._values, 0, values, offset,
+                        range._count);
+                offset += range._count;
+            }
+            return Float64SparseMatrix.valueOf(m, n, rows, columns, values);
+        }
+        // Array format (non-zero elements only).
+        int count = 0;
+        ArrayIterator it = new ArrayIterator(header, ranges);
+        while (it.next()) {
+            if (it._value != 0) {
+                count += ((it._i != it._j)
+                        && (header._symmetry != GENERAL)) ? 2 : 1;
+            }
+        }
+        int[] rows = new int[count], columns = new int[count];
+        double[] values = new double[count];
+        int k = 0;
+        it = new ArrayIterator(header, ranges);
+        while (it.next()) {
+            if (it._value == 0)
+                continue;
+            rows[k] = it._i;
+            columns[k] = it._j;
+            values[k++] = it._value;
+            if ((it._i != it._j) && (header._symmetry != GENERAL)) {
+                rows[k] = it._j;
+                columns[k] = it._i;
+                values[k++] = (header._symmetry == SKEW_SYMMETRIC) ? -it._value
+                        : it._value;
+            }
+        }
+        return Float64SparseMatrix.valueOf(m, n, rows, columns, values);
+    }
+
+    /**
+     * Reads a dense matrix (array or coordinate format). The channel is
+     * read up to its end; duplicate coordinates are summed.
+     *
+     * @param  in the channel to read.
+     * @return the corresponding dense matrix.
+     * @throws IOException if an I/O error occurs or if the content is not
+     *         a real Matrix Market matrix.
+     */
+    public Float64Matrix readDense(ReadableByteChannel in) throws IOException {
+        Header header = new Header();
+        MatrixMarketLogic[] ranges = read(in, header);
+        final int m = header._m, n = header._n;
+        if ((long) m * n > Integer.MAX_VALUE)
+            throw new ArithmeticException("Matrix too large: " + m + "x" + n);
+        Float64Matrix M = Float64Matrix.newInstance(m, n);
+        final double[] data = M._data;
+        if (header._coordinate) {
+            for (int k = 0; k < ranges.length; k++) {
+                MatrixMarketLogic range = ranges[k];
+                for (int p = 0; p < range._count; p++) {
+                    data[range._rows[p] * n + range._columns[p]] += range._values[p];
+                }
+            }
+            return M;
+        }
+        ArrayIterator it = new ArrayIterator(header, ranges);
+        while (it.next()) {
+            data[it._i * n + it._j] = it._value;
+            if ((it._i != it._j) && (header._symmetry != GENERAL)) {
+                data[it._j * n + it._i] = (header._symmetry == SKEW_SYMMETRIC) ? -it._value
+                        : it._value;
+            }
+        }
+        return M;
+    }
+
+    /**
+     * Writes the specified sparse matrix (coordinate real general format,
+     * one-based indices in storage order).
+     *
+     * @param  A the matrix to write.
+     * @param  out the channel to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void write(Float64SparseMatrix A, WritableByteChannel out)
+            throws IOException {
+        start(-1);
+        Writer writer = new Writer(out);
+        writer.write("%%MatrixMarket matrix coordinate real general\n");
+        writer.write(A._m).write(' ').write(A._n).write(' ').write(
+                A.getNumberOfNonZeros()).write('\n');
+        final int outer = A._columnMajor ? A._n : A._m;
+        for (int o = 0; o < outer; o++) {
+            for (int p = A._pointers[o]; p < A._pointers[o + 1]; p++) {
+                final int i = A._columnMajor ? A._indices[p] : o;
+                final int j = A._columnMajor ? o : A._indices[p];
+                writer.write(i + 1).write(' ').write(j + 1).write(' ').write(
+                        A._values[p]).write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes the specified dense matrix (array real general format, column
+     * by column).
+     *
+     * @param  A the matrix to write.
+     * @param  out the channel to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void write(Float64Matrix A, WritableByteChannel out)
+            throws IOException {
+        start(-1);
+        Writer writer = new Writer(out);
+        writer.write("%%MatrixMarket matrix array real general\n");
+        writer.write(A._m).write(' ').write(A._n).write('\n');
+        for (int j = 0; j < A._n; j++) {
+            for (int i = 0; i < A._m; i++) {
+                writer.write(A._data[A._offset + i * A._rowStride + j
+                        * A._columnStride]).write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    // Reads the header and the data lines (concurrently for large files).
+    private MatrixMarketLogic[] read(ReadableByteChannel in, Header header)
+            throws IOException {
+        final FileChannel file = (in instanceof FileChannel) ? (FileChannel) in
+                : null;
+        final long start = (file != null) ? file.position() : 0;
+        final long end = (file != null) ? file.size() : Long.MAX_VALUE;
+        start((file != null) ? end - start : -1);
+        MatrixMarketParser parser = (file != null) ? new MatrixMarketParser(
+                this, file, start) : new MatrixMarketParser(this, in, start);
+        readHeader(parser, header);
+        final long entries = header._entries * ((header._coordinate
+                && (header._symmetry != GENERAL)) ? 2 : 1);
+        if (entries > Integer.MAX_VALUE - 8)
+            throw new ArithmeticException("Too many elements: " + entries);
+        final long from = parser.position();
+        final int concurrency = ConcurrentContext.getConcurrency() + 1;
+        final int count = (file == null) ? 1 : (int) MathLib.max(1, MathLib
+                .min(concurrency, (end - from) / RANGE_SIZE));
+        MatrixMarketLogic[] ranges = new MatrixMarketLogic[count];
+        if (count == 1) {
+            ranges[0] = new MatrixMarketLogic(header, parser, end,
+                    (int) entries);
+            ranges[0].run();
+        } else {
+            final long length = end - from;
+            for (int k = 0; k < count; k++) {
+                final long low = from + length * k / count;
+                final long high = from + length * (k + 1) / count;
+                if (k > 0) { // Starts at the first line beginning in range.
+                    parser = new MatrixMarketParser(this, file, low - 1);
+                    parser.skipLine();
+                }
+                ranges[k] = new MatrixMarketLogic(header, parser, high,
+                        (int) ((double) entries * (high - low) / length) + 16);
+            }
+            ConcurrentContext.enter();
+            try {
+                for (int k = 0; k < count; k++) {
+                    ConcurrentContext.execute(ranges[k]);
+                }
+            } finally {
+                ConcurrentContext.exit();
+            }
+        }
+        if (file != null) {
+            file.position(end);
+        }
+        long lines = 0;
+        for (int k = 0; k < count; k++) {
+            if (ranges[k]._error != null)
+                throw ranges[k]._error;
+            lines += ranges[k]._lines;
+        }
+        if (lines != header._entries)
+            throw new IOException(header._entries + " elements expected, "
+                    + lines + " elements read");
+        return ranges;
+    }
+
+    // Reads the banner, the comments and the size line.
+    private static void readHeader(MatrixMarketParser parser, Header header)
+            throws IOException {
+        final String banner = parser.readLine();
+        if (banner == null)
+            throw new IOException("Empty Matrix Market content");
+        final String[] words = banner.trim().toLowerCase().split("[ \t]+");
+        if ((words.length != 5) || !words[0].equals("%%matrixmarket")
+                || !words[1].equals("matrix"))
+            throw new IOException("Invalid Matrix Market banner: " + banner);
+        if (words[2].equals("coordinate")) {
+            header._coordinate = true;
+        } else if (!words[2].equals("array"))
+            throw new IOException("Unknown format: " + words[2]);
+        if (words[3].equals("real") || words[3].equals("double")) {
+            header._field = REAL;
+        } else if (words[3].equals("integer")) {
+            header._field = INTEGER;
+        } else if (words[3].equals("pattern") && header._coordinate) {
+            header._field = PATTERN;
+        } else
+            throw new IOException("Unsupported field: " + words[3]);
+        if (words[4].equals("general")) {
+            header._symmetry = GENERAL;
+        } else if (words[4].equals("symmetric")) {
+            header._symmetry = SYMMETRIC;
+        } else if (words[4].equals("skew-symmetric")) {
+            header._symmetry = SKEW_SYMMETRIC;
+        } else
+            throw new IOException("Unsupported symmetry: " + words[4]);
+        if (!parser.nextLine(Long.MAX_VALUE))
+            throw parser.error("Size line expected");
+        header._m = parser.nextInt();
+        header._n = parser.nextInt();
+        if ((header._symmetry != GENERAL) && (header._m != header._n))
+            throw parser.error("Symmetric matrix not square");
+        if (header._coordinate) {
+            header._entries = parser.nextLong();
+        } else {
+            final long n = header._n;
+            header._entries = (header._symmetry == GENERAL) ? header._m * n
+                    : (header._symmetry == SYMMETRIC) ? n * (n + 1) / 2
+                            : n * (n - 1) / 2;
+        }
+        parser.endLine();
+    }
+
+    // Resets the progress.
+    private void start(long size) {
+        _done = 0;
+        _size = size;
+        _cancelled = false;
+    }
+
+    /**
+     * Notifies the monitor of the specified number of bytes read or written
+     * (can be called concurrently).
+     */
+    synchronized void progress(int bytes) {
+        _done += bytes;
+        if ((_monitor != null)
+                && !_monitor.progress((_size < 0) ? _done : MathLib.min(
+                        _done, _size), _size)) {
+            _cancelled = true;
+        }
+    }
+
+    /**
+     * Indicates if the monitor has stopped the current read or write.
+     */
+    boolean isCancelled() {
+        return _cancelled;
+    }
+
+    /**
+     * This class holds the header of a Matrix Market file.
+     */
+    static final class Header {
+
+        boolean _coordinate;
+
+        int _field, _symmetry;
+
+        int _m, _n;
+
+        long _entries; // Number of data lines.
+
+    }
+
+    // Iterates over the values of the array format (column-major, lower
+    // triangle for symmetric matrices).
+    private static final class ArrayIterator {
+
+        private final Header _header;
+
+        private final MatrixMarketLogic[] _ranges;
+
+        private int _range, _index;
+
+        int _i, _j = 0;
+
+        double _value;
+
+        ArrayIterator(Header header, MatrixMarketLogic[] ranges) {
+            _header = header;
+            _ranges = ranges;
+            _i = first(0) - 1;
+        }
+
+        // First row of the specified column.
+        private int first(int j) {
+            return (_header._symmetry == GENERAL) ? 0
+                    : (_header._symmetry == SYMMETRIC) ? j : j + 1;
+        }
+
+        boolean next() {
+            while (_index == _ranges[_range]._count) {
+                if (++_range == _ranges.length)
+                    return false;
+                _index = 0;
+            }
+            _value = _ranges[_range]._values[_index++];
+            if (++_i == _header._m) {
+                _i = first(++_j);
+            }
+            return true;
+        }
+    }
+
+    // Writes text by blocks.
+    private final class Writer {
+
+        private final WritableByteChannel _out;
+
+        private final ByteBuffer _buffer = ByteBuffer.allocate(BLOCK_SIZE);
+
+        private final byte[] _digits = new byte[20];
+
+        Writer(WritableByteChannel out) {
+            _out = out;
+        }
+
+        Writer write(char c) throws IOException {
+            if (!_buffer.hasRemaining()) {
+                flush();
+            }
+            _buffer.put((byte) c);
+            return this;
+        }
+
+        Writer write(String s) throws IOException {
+            for (int i = 0; i < s.length(); i++) {
+                write(s.charAt(i));
+            }
+            return this;
+        }
+
+        Writer write(long l) throws IOException {
+            if (l < 0) {
+                write('-');
+                l = -l;
+            }
+            int k = _digits.length;
+            do {
+                _digits[--k] = (byte) ('0' + l % 10);
+                l /= 10;
+            } while (l != 0);
+            if (_buffer.remaining() < _digits.length - k) {
+                flush();
+            }
+            _buffer.put(_digits, k, _digits.length - k);
+            return this;
+        }
+
+        Writer write(double d) throws IOException {
+            final long l = (long) d;
+            if ((l == d) && (MathLib.abs(l) < (1L << 53))
+                    && ((l != 0) || (1 / d > 0)))
+                return write(l); // Exact integer (not -0.0).
+            return write(Double.toString(d)); // Exact when read back.
+        }
+
+        void flush() throws IOException {
+            _buffer.flip();
+            final int length = _buffer.remaining();
+            while (_buffer.hasRemaining()) {
+                _out.write(_buffer);
+            }
+            _buffer.clear();
+            progress(length);
+            if (_cancelled)
+                throw new InterruptedIOException("Writing stopped by monitor");
+        }
+    }
+}
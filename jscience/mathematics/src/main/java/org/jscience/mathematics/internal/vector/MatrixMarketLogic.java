@@ -0,0 +1,133 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import javolution.lang.MathLib;
+
+/**
+ * <p> This class holds the concurrent logic of the
+ *     {@link MatrixMarketFormat Matrix Market} readers: each task parses
+ *     the data lines starting in a range of the file into its own arrays
+ *     (the ranges are concatenated in order once parsed).</p>
+ *
+ * <p> For the coordinate format, the off-diagonal elements of symmetric
+ *     (respectively skew-symmetric) matrices are mirrored (respectively
+ *     mirrored and negated). For the array format, only the values are
+ *     held (their indices depend upon the preceding ranges).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+final class MatrixMarketLogic implements Runnable {
+
+    private final MatrixMarketFormat.Header _header;
+
+    private final MatrixMarketParser _parser;
+
+    private final long _limit;
+
+    // Elements parsed.
+    int[] _rows, _columns;
+
+    double[] _values;
+
+    int _count;
+
+    // Data lines parsed.
+    long _lines;
+
+    // Error raised while parsing.
+    IOException _error;
+
+    /**
+     * Creates the logic parsing the lines starting before the specified
+     * limit.
+     *
+     * @param header the header of the file.
+     * @param parser the parser positioned at the beginning of a line.
+     * @param limit the position after which lines are not parsed.
+     * @param capacity the estimated number of elements.
+     */
+    MatrixMarketLogic(MatrixMarketFormat.Header header,
+            MatrixMarketParser parser, long limit, int capacity) {
+        _header = header;
+        _parser = parser;
+        _limit = limit;
+        capacity = MathLib.max(capacity, 16);
+        if (header._coordinate) {
+            _rows = new int[capacity];
+            _columns = new int[capacity];
+        }
+        _values = new double[capacity];
+    }
+
+    public void run() {
+        try {
+            if (_header._coordinate) {
+                parseCoordinates();
+            } else {
+                parseArray();
+            }
+        } catch (IOException e) {
+            _error = e;
+        }
+    }
+
+    // Parses "i j [value]" lines (one-based indices).
+    private void parseCoordinates() throws IOException {
+        final MatrixMarketParser parser = _parser;
+        final int m = _header._m, n = _header._n;
+        final boolean pattern = _header._field == MatrixMarketFormat.PATTERN;
+        final int symmetry = _header._symmetry;
+        while (parser.nextLine(_limit)) {
+            final int i = parser.nextInt() - 1;
+            final int j = parser.nextInt() - 1;
+            if ((i < 0) || (i >= m) || (j < 0) || (j >= n))
+                throw parser.error("Index (" + (i + 1) + ", " + (j + 1)
+                        + ") out of range");
+            final double value = pattern ? 1.0 : parser.nextDouble();
+            parser.endLine();
+            _lines++;
+            add(i, j, value);
+            if ((symmetry != MatrixMarketFormat.GENERAL) && (i != j)) {
+                add(j, i, (symmetry == MatrixMarketFormat.SKEW_SYMMETRIC)
+                        ? -value : value);
+            }
+        }
+    }
+
+    // Parses "value" lines (column-major order).
+    private void parseArray() throws IOException {
+        final MatrixMarketParser parser = _parser;
+        while (parser.nextLine(_limit)) {
+            final double value = parser.nextDouble();
+            parser.endLine();
+            _lines++;
+            if (_count == _values.length) {
+                _values = Arrays.copyOf(_values, 2 * _count);
+            }
+            _values[_count++] = value;
+        }
+    }
+
+    private void add(int i, int j, double value) {
+        if (_count == _values.length) {
+            final int capacity = 2 * _count;
+            _rows = Arrays.copyOf(_rows, capacity);
+            _columns = Arrays.copyOf(_columns, capacity);
+            _values = Arrays.copyOf(_values, capacity);
+        }
+        _rows[_count] = i;
+        _columns[_count] = j;
+        _values[_count++] = value;
+    }
+}
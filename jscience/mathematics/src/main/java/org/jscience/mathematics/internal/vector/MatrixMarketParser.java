@@ -0,0 +1,367 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * <p> This class represents the lexer of the
+ *     {@link MatrixMarketFormat Matrix Market} files. The bytes are read
+ *     by blocks into a direct buffer (sequentially from a channel or from
+ *     a position of a file channel) and the numbers are converted without
+ *     intermediate strings (decimal numbers of up to 15 significant digits
+ *     and exponents of up to 22 are converted exactly, other numbers are
+ *     delegated to {@link Double#parseDouble}).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+final class MatrixMarketParser {
+
+    // Size of the read blocks.
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    // Minimum number of bytes available when a token is parsed.
+    private static final int TOKEN_SIZE = 256;
+
+    // Powers of ten represented exactly by a double.
+    private static final double[] POW10 = new double[23];
+    static {
+        POW10[0] = 1.0;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    private final MatrixMarketFormat _format;
+
+    private final ReadableByteChannel _channel;
+
+    private final FileChannel _file;
+
+    private final ByteBuffer _buffer = ByteBuffer.allocateDirect(BLOCK_SIZE);
+
+    private final byte[] _bytes = new byte[BLOCK_SIZE];
+
+    private int _index, _length; // Bytes available in [_index, _length).
+
+    private long _position; // Position of _bytes[0].
+
+    private boolean _eof;
+
+    /**
+     * Creates a parser reading sequentially the specified channel.
+     *
+     * @param format the format notified of the progress.
+     * @param channel the channel to read.
+     * @param position the current position of the channel.
+     */
+    MatrixMarketParser(MatrixMarketFormat format, ReadableByteChannel channel,
+            long position) {
+        _format = format;
+        _channel = channel;
+        _file = null;
+        _position = position;
+    }
+
+    /**
+     * Creates a parser reading the specified file from the specified
+     * position (positional reads, the file position is not modified).
+     *
+     * @param format the format notified of the progress.
+     * @param file the file to read.
+     * @param position the position of the first byte to read.
+     */
+    MatrixMarketParser(MatrixMarketFormat format, FileChannel file,
+            long position) {
+        _format = format;
+        _channel = null;
+        _file = file;
+        _position = position;
+    }
+
+    /**
+     * Returns the position of the next byte.
+     */
+    long position() {
+        return _position + _index;
+    }
+
+    // Ensures that at least the specified number of bytes are available
+    // (unless the end of the stream is reached); returns the number of
+    // bytes available.
+    private int fill(int count) throws IOException {
+        while ((_length - _index < count) && !_eof) {
+            if (_format.isCancelled())
+                throw new InterruptedIOException("Reading stopped by monitor");
+            System.arraycopy(_bytes, _index, _bytes, 0, _length - _index);
+            _position += _index;
+            _length -= _index;
+            _index = 0;
+            _buffer.clear();
+            _buffer.limit(BLOCK_SIZE - _length);
+            final int read = (_file != null) ? _file.read(_buffer, _position
+                    + _length) : _channel.read(_buffer);
+            if (read < 0) {
+                _eof = true;
+            } else if (read > 0) {
+                _buffer.flip();
+                _buffer.get(_bytes, _length, read);
+                _length += read;
+                _format.progress(read);
+            }
+        }
+        return _length - _index;
+    }
+
+    /**
+     * Reads the current line (the line terminator is consumed but not
+     * returned).
+     *
+     * @return the line or <code>null</code> if the end of the stream is
+     *         reached.
+     */
+    String readLine() throws IOException {
+        if (fill(1) == 0)
+            return null;
+        StringBuilder line = new StringBuilder();
+        while (fill(1) > 0) {
+            final byte b = _bytes[_index++];
+            if (b == '\n')
+                break;
+            if (b != '\r') {
+                line.append((char) (b & 0xFF));
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Skips the bytes up to the end of the current line (included).
+     */
+    void skipLine() throws IOException {
+        while (fill(1) > 0) {
+            if (_bytes[_index++] == '\n')
+                return;
+        }
+    }
+
+    /**
+     * Moves to the first token of the next data line (blank lines and
+     * comment lines are skipped).
+     *
+     * @param  limit the position after which lines are not read.
+     * @return <code>true</code> if a line starting before the limit has
+     *         been found; <code>false</code> otherwise.
+     */
+    boolean nextLine(long limit) throws IOException {
+        while (true) {
+            if (position() >= limit)
+                return false;
+            skipBlanks();
+            if (fill(1) == 0)
+                return false;
+            final byte b = _bytes[_index];
+            if (b == '\n') {
+                _index++;
+            } else if (b == '%') {
+                skipLine();
+            } else {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Skips the blanks and the line terminator of the current line.
+     *
+     * @throws IOException if the line has more tokens.
+     */
+    void endLine() throws IOException {
+        skipBlanks();
+        if (fill(1) == 0)
+            return;
+        if (_bytes[_index] != '\n')
+            throw error("End of line expected");
+        _index++;
+    }
+
+    // Skips spaces, tabulations and carriage returns.
+    private void skipBlanks() throws IOException {
+        while (fill(1) > 0) {
+            final byte b = _bytes[_index];
+            if ((b != ' ') && (b != '\t') && (b != '\r'))
+                return;
+            _index++;
+        }
+    }
+
+    /**
+     * Parses the next token of the current line as a non-negative
+     * <code>long</code>.
+     *
+     * @return the integer value.
+     */
+    long nextLong() throws IOException {
+        skipBlanks();
+        fill(TOKEN_SIZE);
+        final byte[] bytes = _bytes;
+        int i = _index;
+        if ((i < _length) && (bytes[i] == '+')) {
+            i++;
+        }
+        final int start = i;
+        long value = 0;
+        while ((i < _length) && (bytes[i] >= '0') && (bytes[i] <= '9')) {
+            if (value > (Long.MAX_VALUE - 9) / 10)
+                throw error("Integer overflow");
+            value = value * 10 + (bytes[i++] - '0');
+        }
+        if (i == start)
+            throw error("Integer expected");
+        if ((i == _length) && !_eof)
+            throw error("Integer too long");
+        if ((i < _length) && (bytes[i] > ' '))
+            throw error("Invalid integer");
+        _index = i;
+        return value;
+    }
+
+    /**
+     * Parses the next token of the current line as a non-negative
+     * <code>int</code>.
+     *
+     * @return the integer value.
+     */
+    int nextInt() throws IOException {
+        final long value = nextLong();
+        if (value > Integer.MAX_VALUE)
+            throw error("Integer overflow");
+        return (int) value;
+    }
+
+    /**
+     * Parses the next token of the current line as a <code>double</code>.
+     *
+     * @return the floating point value.
+     */
+    double nextDouble() throws IOException {
+        skipBlanks();
+        fill(TOKEN_SIZE);
+        final byte[] bytes = _bytes;
+        final int start = _index, end = _length;
+        int i = start;
+        boolean negative = false;
+        if ((i < end) && ((bytes[i] == '-') || (bytes[i] == '+'))) {
+            negative = bytes[i++] == '-';
+        }
+        long mantissa = 0;
+        int digits = 0; // Significant digits in mantissa.
+        int exponent = 0;
+        boolean exact = true, found = false;
+        for (; (i < end) && (bytes[i] >= '0') && (bytes[i] <= '9'); i++) {
+            found = true;
+            if (digits < 18) {
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+            } else {
+                exponent++;
+                exact &= bytes[i] == '0';
+            }
+        }
+        if ((i < end) && (bytes[i] == '.')) {
+            for (i++; (i < end) && (bytes[i] >= '0') && (bytes[i] <= '9'); i++) {
+                found = true;
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (bytes[i] - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                    exponent--;
+                } else {
+                    exact &= bytes[i] == '0';
+                }
+            }
+        }
+        if (found && (i < end)
+                && ((bytes[i] == 'e') || (bytes[i] == 'E')
+                        || (bytes[i] == 'd') || (bytes[i] == 'D'))) {
+            i++;
+            boolean negativeExponent = false;
+            if ((i < end) && ((bytes[i] == '-') || (bytes[i] == '+'))) {
+                negativeExponent = bytes[i++] == '-';
+            }
+            int e = 0;
+            final int first = i;
+            for (; (i < end) && (bytes[i] >= '0') && (bytes[i] <= '9'); i++) {
+                if (e < 100000) {
+                    e = e * 10 + (bytes[i] - '0');
+                }
+            }
+            if (i == first)
+                throw error("Invalid number");
+            exponent += negativeExponent ? -e : e;
+        }
+        if (!found) // Infinity, NaN...
+            return parseDouble(start);
+        if ((i == end) && !_eof)
+            throw error("Number too long");
+        if ((i < end) && (bytes[i] > ' '))
+            throw error("Invalid number");
+        _index = i;
+        if (mantissa == 0)
+            return negative ? -0.0 : 0.0;
+        if (exact && (mantissa < (1L << 53)) && (exponent >= -22)
+                && (exponent <= 22)) {
+            // Both the mantissa and the power of ten are exact.
+            final double value = (exponent >= 0) ? mantissa * POW10[exponent]
+                    : mantissa / POW10[-exponent];
+            return negative ? -value : value;
+        }
+        return parseDouble(start);
+    }
+
+    // Parses the token starting at the specified index (slow path).
+    private double parseDouble(int start) throws IOException {
+        int i = start;
+        while ((i < _length) && (_bytes[i] > ' ')) {
+            i++;
+        }
+        if ((i == _length) && !_eof)
+            throw error("Number too long");
+        final String token = new String(_bytes, start, i - start, "US-ASCII");
+        try {
+            final double value = Double.parseDouble(token.replace('d', 'e')
+                    .replace('D', 'e'));
+            _index = i;
+            return value;
+        } catch (NumberFormatException e) {
+            throw error("Invalid number: " + token);
+        }
+    }
+
+    /**
+     * Returns the exception for a syntax error at the current position.
+     *
+     * @param  message the error message.
+     * @return the corresponding exception.
+     */
+    IOException error(String message) {
+        if (_index >= _length)
+            return new EOFException(message + " at position " + position());
+        return new IOException(message + " at position " + position());
+    }
+}
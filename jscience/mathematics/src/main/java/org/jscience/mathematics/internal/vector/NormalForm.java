@@ -0,0 +1,294 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import org.jscience.mathematics.number.LargeInteger;
+
+/**
+ * <p> This class provides the Hermite and Smith normal forms of integer
+ *     matrices (matrices over the integral domain of
+ *     {@link LargeInteger large integers}).</p>
+ *
+ * <p> The {@link #hermite Hermite normal form} is calculated through
+ *     unimodular row operations (extended GCD); when the matrix has full
+ *     column rank all the calculations are performed modulo the determinant
+ *     of a maximal minor (obtained by
+ *     {@link BareissDecomposition fraction-free elimination}), the size of
+ *     the intermediate values is then bounded.
+ *     [code]
+ *         LargeInteger[][] a = ...;
+ *         LargeInteger[][] h = NormalForm.hermite(a);
+ *         LargeInteger[] d = NormalForm.smith(a); // Invariant factors.
+ *     [/code]</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/Hermite_normal_form">
+ *      Wikipedia: Hermite normal form</a>
+ * @see <a href="http://en.wikipedia.org/wiki/Smith_normal_form">
+ *      Wikipedia: Smith normal form</a>
+ */
+public final class NormalForm {
+
+    /**
+     * Default constructor (private for utility class).
+     */
+    private NormalForm() {
+    }
+
+    /**
+     * Returns the (row) Hermite normal form of the specified integer matrix.
+     * The result <code>H = U·A</code> (<code>U</code> unimodular) is upper
+     * triangular: the pivot of each non-zero row is positive and located
+     * to the right of the pivot of the previous row, the elements above
+     * a pivot are non-negative and less than the pivot, the zero rows are
+     * last.
+     *
+     * @param  a the matrix elements (rows, not modified).
+     * @return the Hermite normal form of <code>a</code>.
+     * @throws DimensionException if the rows do not have the same length.
+     */
+    public static LargeInteger[][] hermite(LargeInteger[][] a) {
+        final int m = a.length;
+        final int n = (m == 0) ? 0 : a[0].length;
+        LargeInteger[][] h = new LargeInteger[m][];
+        for (int i = 0; i < m; i++) {
+            if (a[i].length != n)
+                throw new DimensionException();
+            h[i] = a[i].clone();
+        }
+        if ((n == 0) || (m < n))
+            return hermitePlain(h);
+        BareissDecomposition bareiss = BareissDecomposition.valueOf(h);
+        if (bareiss.rank() < n)
+            return hermitePlain(h);
+        return hermiteModular(h, bareiss.leadingMinor());
+    }
+
+    /**
+     * Returns the invariant factors of the specified integer matrix
+     * (diagonal of its Smith normal form). Each factor divides the next one,
+     * the zero factors are last.
+     *
+     * @param  a the matrix elements (rows, not modified).
+     * @return the <code>min(m, n)</code> invariant factors of
+     *         <code>a</code>.
+     * @throws DimensionException if the rows do not have the same length.
+     */
+    public static LargeInteger[] smith(LargeInteger[][] a) {
+        // Alternates row and column Hermite forms until diagonal.
+        LargeInteger[][] d = hermite(a);
+        while (!isDiagonal(d)) {
+            d = hermite(transpose(d));
+        }
+        final int k = Math.min(d.length, (d.length == 0) ? 0 : d[0].length);
+        LargeInteger[] factors = new LargeInteger[k];
+        for (int i = 0; i < k; i++) {
+            factors[i] = d[i][i].abs();
+        }
+        // Enforces divisibility (gcd/lcm exchanges).
+        for (int i = 0; i < k; i++) {
+            for (int j = i + 1; j < k; j++) {
+                LargeInteger x = factors[i];
+                LargeInteger y = factors[j];
+                if (x.isZero()) {
+                    factors[i] = y;
+                    factors[j] = x;
+                } else if (!y.isZero()) {
+                    LargeInteger g = gcd(x, y);
+                    factors[i] = g;
+                    factors[j] = x.divide(g).times(y);
+                }
+            }
+        }
+        return factors;
+    }
+
+    // Hermite normal form (in place) with reduction after each pivot.
+    private static LargeInteger[][] hermitePlain(LargeInteger[][] h) {
+        final int m = h.length;
+        final int n = (m == 0) ? 0 : h[0].length;
+        LargeInteger[] gst = new LargeInteger[3];
+        int r = 0;
+        for (int c = 0; (c < n) && (r < m); c++) {
+            for (int i = r + 1; i < m; i++) {
+                if (h[i][c].isZero())
+                    continue;
+                if (h[r][c].isZero()) {
+                    LargeInteger[] tmp = h[r];
+                    h[r] = h[i];
+                    h[i] = tmp;
+                    continue;
+                }
+                combine(h[r], h[i], c, n, null, gst);
+            }
+            if (h[r][c].isZero())
+                continue; // Zero column.
+            if (h[r][c].isNegative()) {
+                for (int j = c; j < n; j++) {
+                    h[r][j] = h[r][j].opposite();
+                }
+            }
+            for (int i = 0; i < r; i++) {
+                reduce(h[i], h[r], c, n);
+            }
+            r++;
+        }
+        return h;
+    }
+
+    // Hermite normal form of a full column rank matrix, calculations are
+    // performed modulo the determinant of a maximal minor (Cohen 2.4.8).
+    private static LargeInteger[][] hermiteModular(LargeInteger[][] h,
+            LargeInteger det) {
+        final int m = h.length;
+        final int n = h[0].length;
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                h[i][j] = mod(h[i][j], det);
+            }
+        }
+        LargeInteger[][] w = new LargeInteger[m][n];
+        LargeInteger[] gst = new LargeInteger[3];
+        LargeInteger r = det;
+        for (int c = 0; c < n; c++) {
+            if (h[c][c].isZero()) { // r·e_c belongs to the lattice.
+                h[c][c] = r;
+            }
+            for (int i = c + 1; i < m; i++) {
+                if (!h[i][c].isZero()) {
+                    combine(h[c], h[i], c, n, r, gst);
+                }
+            }
+            extendedGcd(h[c][c], r, gst);
+            final LargeInteger g = gst[0];
+            final LargeInteger s = gst[1];
+            LargeInteger[] wc = w[c];
+            for (int j = 0; j < c; j++) {
+                wc[j] = LargeInteger.ZERO;
+            }
+            wc[c] = g;
+            for (int j = c + 1; j < n; j++) {
+                wc[j] = mod(s.times(h[c][j]), r);
+            }
+            for (int i = 0; i < c; i++) {
+                reduce(w[i], wc, c, n);
+            }
+            r = r.divide(g);
+        }
+        for (int i = n; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                w[i][j] = LargeInteger.ZERO;
+            }
+        }
+        return w;
+    }
+
+    // Unimodular combination of rows x and y (from column c) such that
+    // y[c] becomes zero and x[c] the gcd of x[c] and y[c], optionally
+    // modulo r.
+    private static void combine(LargeInteger[] x, LargeInteger[] y, int c,
+            int n, LargeInteger r, LargeInteger[] gst) {
+        extendedGcd(x[c], y[c], gst);
+        final LargeInteger g = gst[0];
+        final LargeInteger s = gst[1];
+        final LargeInteger t = gst[2];
+        final LargeInteger u = x[c].divide(g);
+        final LargeInteger v = y[c].divide(g);
+        x[c] = g;
+        y[c] = LargeInteger.ZERO;
+        for (int j = c + 1; j < n; j++) {
+            LargeInteger xj = s.times(x[j]).plus(t.times(y[j]));
+            LargeInteger yj = u.times(y[j]).minus(v.times(x[j]));
+            x[j] = (r == null) ? xj : mod(xj, r);
+            y[j] = (r == null) ? yj : mod(yj, r);
+        }
+    }
+
+    // Reduces x[c] in [0, pivot[c]) by subtracting a multiple of the pivot
+    // row.
+    private static void reduce(LargeInteger[] x, LargeInteger[] pivot,
+            int c, int n) {
+        final LargeInteger q = floorDivide(x[c], pivot[c]);
+        if (q.isZero())
+            return;
+        for (int j = c; j < n; j++) {
+            x[j] = x[j].minus(q.times(pivot[j]));
+        }
+    }
+
+    // Sets gst to (g, s, t) with s·a + t·b = g = gcd(a, b) >= 0.
+    private static void extendedGcd(LargeInteger a, LargeInteger b,
+            LargeInteger[] gst) {
+        LargeInteger r0 = a, r1 = b;
+        LargeInteger s0 = LargeInteger.ONE, s1 = LargeInteger.ZERO;
+        LargeInteger t0 = LargeInteger.ZERO, t1 = LargeInteger.ONE;
+        while (!r1.isZero()) {
+            LargeInteger q = r0.divide(r1);
+            LargeInteger tmp = r0.minus(q.times(r1));
+            r0 = r1;
+            r1 = tmp;
+            tmp = s0.minus(q.times(s1));
+            s0 = s1;
+            s1 = tmp;
+            tmp = t0.minus(q.times(t1));
+            t0 = t1;
+            t1 = tmp;
+        }
+        if (r0.isNegative()) {
+            r0 = r0.opposite();
+            s0 = s0.opposite();
+            t0 = t0.opposite();
+        }
+        gst[0] = r0;
+        gst[1] = s0;
+        gst[2] = t0;
+    }
+
+    // Returns floor(a / b) for b > 0.
+    private static LargeInteger floorDivide(LargeInteger a, LargeInteger b) {
+        LargeInteger q = a.divide(b); // Truncated toward zero.
+        if (a.isNegative() && !a.equals(q.times(b))) {
+            q = q.minus(1);
+        }
+        return q;
+    }
+
+    // Returns a mod b in [0, b) for b > 0.
+    private static LargeInteger mod(LargeInteger a, LargeInteger b) {
+        return a.minus(floorDivide(a, b).times(b));
+    }
+
+    // Returns the positive gcd of non-zero a and b.
+    private static LargeInteger gcd(LargeInteger a, LargeInteger b) {
+        return a.abs().gcd(b.abs());
+    }
+
+    private static boolean isDiagonal(LargeInteger[][] a) {
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[i].length; j++) {
+                if ((i != j) && !a[i][j].isZero())
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private static LargeInteger[][] transpose(LargeInteger[][] a) {
+        final int m = a.length;
+        final int n = (m == 0) ? 0 : a[0].length;
+        LargeInteger[][] t = new LargeInteger[n][m];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                t[j][i] = a[i][j];
+            }
+        }
+        return t;
+    }
+}
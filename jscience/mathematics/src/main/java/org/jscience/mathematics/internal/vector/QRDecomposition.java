@@ -0,0 +1,332 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ObjectFactory;
+import javolution.util.FastTable;
+import javolution.util.Index;
+
+import org.jscience.mathematics.number.Number;
+import org.jscience.mathematics.structure.Field;
+
+/**
+ * <p> This class represents the orthogonal decomposition of a
+ *     {@link Matrix matrix} <code>A</code> of any {@link Field} elements:
+ *     <code>A·P = Q·R</code> with <code>Q</code> having orthogonal columns
+ *     (<code>Qᵀ·Q</code> diagonal), <code>R</code> unit upper triangular
+ *     and <code>P</code> a permutation matrix.</p>
+ *
+ * <p> Fields have no square root, the columns of <code>Q</code> are then
+ *     not normalized (square-root free modified Gram-Schmidt); the
+ *     decomposition is exact for exact elements ({@link
+ *     org.jscience.mathematics.number.Rational Rational}). At each step the
+ *     remaining column of largest norm is selected if the elements are
+ *     {@link Number numbers} (the first non-zero column otherwise); the
+ *     dependent columns are last and the {@link #rank rank} is revealed.
+ *     For 64 bits floating point matrices the Householder
+ *     {@link Float64QRDecomposition} should be used.</p>
+ *
+ * <p> The {@link #solve least-squares solutions} are obtained from
+ *     <code>R·x = (Qᵀ·Q)⁻¹·Qᵀ·b</code>, the normal equations
+ *     (<code>AᵀA</code>) are never formed.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/QR_decomposition">
+ *      Wikipedia: QR decomposition</a>
+ */
+public final class QRDecomposition<F extends Field<F>> {
+
+    /**
+     * Holds the object factory.
+     */
+    static final ObjectFactory<QRDecomposition<?>> FACTORY = new ObjectFactory<QRDecomposition<?>>() {
+        protected QRDecomposition<?> create() {
+            return QRDecomposition.newInstance();
+        }
+
+        @Override
+        protected void cleanup(QRDecomposition<?> qr) {
+            qr._q.clear();
+            qr._inverses.clear();
+            qr._r.clear();
+            qr._zero = null;
+            qr._one = null;
+        }
+    };
+
+    /**
+     * Holds the number of rows.
+     */
+    private int _m;
+
+    /**
+     * Holds the number of columns.
+     */
+    private int _n;
+
+    /**
+     * Holds the orthogonal columns.
+     */
+    private final FastTable<DenseVector<F>> _q = new FastTable<DenseVector<F>>();
+
+    /**
+     * Holds the inverse of the square norm of the orthogonal columns.
+     */
+    private final FastTable<F> _inverses = new FastTable<F>();
+
+    /**
+     * Holds the rows of R.
+     */
+    private final FastTable<FastTable<F>> _r = new FastTable<FastTable<F>>();
+
+    /**
+     * Holds the columns pivots indexes.
+     */
+    private final FastTable<Index> _pivots = new FastTable<Index>();
+
+    /**
+     * Holds the additive and multiplicative identities.
+     */
+    private F _zero, _one;
+
+    /**
+     * Default constructor.
+     */
+    private QRDecomposition() {
+    }
+
+    // Returns a new instance (the factory instances are of any field type).
+    private static <F extends Field<F>> QRDecomposition<F> newInstance() {
+        return new QRDecomposition<F>();
+    }
+
+    /**
+     * Returns the orthogonal decomposition of the specified matrix.
+     *
+     * @param  source the matrix for which the decomposition is calculated.
+     * @return the QR decomposition of the specified matrix.
+     */
+    public static <F extends Field<F>> QRDecomposition<F> valueOf(
+            Matrix<F> source) {
+        @SuppressWarnings("unchecked")
+        QRDecomposition<F> qr = (QRDecomposition<F>) FACTORY.object();
+        qr._m = source.getNumberOfRows();
+        qr._n = source.getNumberOfColumns();
+        qr.construct(source);
+        return qr;
+    }
+
+    /**
+     * Constructs the decomposition (modified Gram-Schmidt with column
+     * pivoting).
+     */
+    @SuppressWarnings("unchecked")
+    private void construct(Matrix<F> source) {
+        final int n = _n;
+        FastTable<DenseVector<F>> columns = FastTable.newInstance();
+        FastTable<F> norms = FastTable.newInstance();
+        _pivots.clear();
+        for (int j = 0; j < n; j++) {
+            columns.add(DenseVector.valueOf(source.getColumn(j)));
+            norms.add(null);
+            _pivots.add(Index.valueOf(j));
+        }
+        if ((_m > 0) && (n > 0)) {
+            F e = source.get(0, 0);
+            _zero = e.plus(e.opposite());
+        }
+        for (int k = 0; k < Math.min(_m, n); k++) {
+            int p = -1;
+            for (int j = k; j < n; j++) {
+                F d = columns.get(j).times(columns.get(j));
+                norms.set(j, d);
+                if (isZero(d))
+                    continue;
+                if (p < 0) {
+                    p = j;
+                    if (!(d instanceof Number))
+                        break; // First non-zero column.
+                } else if (((Number) d).isLargerThan((Number) norms.get(p))) {
+                    p = j;
+                }
+            }
+            if (p < 0)
+                break; // Remaining columns are zero.
+            if (p != k) { // Exchanges columns.
+                swap(columns, p, k);
+                swap(norms, p, k);
+                swap(_pivots, p, k);
+                for (int i = 0; i < k; i++) {
+                    swap(_r.get(i), p, k);
+                }
+            }
+            final DenseVector<F> q = columns.get(k);
+            final F inverse = norms.get(k).inverse();
+            if (_one == null) {
+                _one = norms.get(k).times(inverse);
+            }
+            FastTable<F> row = new FastTable<F>();
+            for (int j = 0; j < k; j++) {
+                row.add(_zero);
+            }
+            row.add(_one);
+            for (int j = k + 1; j < n; j++) {
+                F r = q.times(columns.get(j)).times(inverse);
+                row.add(r);
+                columns.set(j, columns.get(j).minus(q.times(r)));
+            }
+            _q.add(q);
+            _inverses.add(inverse);
+            _r.add(row);
+        }
+        FastTable.recycle(columns);
+        FastTable.recycle(norms);
+    }
+
+    private static <T> void swap(FastTable<T> table, int i, int j) {
+        T tmp = table.get(i);
+        table.set(i, table.get(j));
+        table.set(j, tmp);
+    }
+
+    private static <F extends Field<F>> boolean isZero(F e) {
+        return e.equals(e.plus(e));
+    }
+
+    /**
+     * Returns the rank of the matrix source (number of independent
+     * columns).
+     *
+     * @return the rank.
+     */
+    public int rank() {
+        return _q.size();
+    }
+
+    /**
+     * Returns the least-squares solution <code>X</code> minimizing
+     * <code>|A·X - B|</code> (basic solution if the matrix source is rank
+     * deficient).
+     *
+     * @param  B the right-hand side (m rows).
+     * @return the n-by-p least-squares solution.
+     * @throws DimensionException if the dimensions do not match.
+     */
+    public DenseMatrix<F> solve(Matrix<F> B) {
+        if (_m != B.getNumberOfRows())
+            throw new DimensionException("Input has " + B.getNumberOfRows()
+                    + " rows instead of " + _m);
+        final int p = B.getNumberOfColumns();
+        final int r = rank();
+        DenseMatrixImpl<F> X = createNullDenseMatrix(_n, p);
+        FastTable<F> z = FastTable.newInstance();
+        for (int c = 0; c < p; c++) {
+            Vector<F> b = B.getColumn(c);
+            z.clear();
+            for (int k = 0; k < r; k++) { // z = (QᵀQ)⁻¹·Qᵀ·b
+                F y = _q.get(k).times(b).times(_inverses.get(k));
+                z.add(y);
+                b = b.minus(_q.get(k).times(y));
+            }
+            for (int k = r - 1; k >= 0; k--) { // R11·x = z
+                F sum = z.get(k);
+                FastTable<F> row = _r.get(k);
+                for (int j = k + 1; j < r; j++) {
+                    sum = sum.plus(row.get(j).times(z.get(j)).opposite());
+                }
+                z.set(k, sum);
+            }
+            for (int k = 0; k < _n; k++) {
+                X.set(_pivots.get(k).intValue(), c, (k < r) ? z.get(k)
+                        : _zero);
+            }
+        }
+        FastTable.recycle(z);
+        return X;
+    }
+
+    /**
+     * Returns the pseudo-inverse of the matrix source
+     * (<code>P·R⁻¹·(Qᵀ·Q)⁻¹·Qᵀ</code>, n-by-m) for matrices of full column
+     * rank.
+     *
+     * @return the matrix <code>X</code> such as <code>X·A = I</code>.
+     */
+    public DenseMatrix<F> pseudoInverse() {
+        final int r = rank();
+        FastTable<DenseVector<F>> z = FastTable.newInstance();
+        for (int k = 0; k < r; k++) {
+            z.add(_q.get(k).times(_inverses.get(k)));
+        }
+        for (int k = r - 1; k >= 0; k--) {
+            FastTable<F> row = _r.get(k);
+            for (int j = k + 1; j < r; j++) {
+                z.set(k, z.get(k).minus(z.get(j).times(row.get(j))));
+            }
+        }
+        DenseMatrixImpl<F> X = createNullDenseMatrix(_n, _m);
+        for (int k = 0; k < _n; k++) {
+            final int i = _pivots.get(k).intValue();
+            for (int j = 0; j < _m; j++) {
+                X.set(i, j, (k < r) ? z.get(k).get(j) : _zero);
+            }
+        }
+        FastTable.recycle(z);
+        return X;
+    }
+
+    /**
+     * Returns the orthogonal columns (m-by-rank, <code>Qᵀ·Q</code>
+     * diagonal).
+     *
+     * @return Q such as <code>A·P = Q·R</code>.
+     */
+    public DenseMatrix<F> getQ() {
+        return DenseMatrix.valueOf(_q).transpose();
+    }
+
+    /**
+     * Returns the unit upper triangular factor (rank-by-n).
+     *
+     * @return R such as <code>A·P = Q·R</code>.
+     */
+    public DenseMatrix<F> getR() {
+        FastTable<DenseVector<F>> rows = FastTable.newInstance();
+        for (int k = 0; k < rank(); k++) {
+            rows.add(DenseVector.valueOf(_r.get(k)));
+        }
+        DenseMatrix<F> R = DenseMatrix.valueOf(rows);
+        FastTable.recycle(rows);
+        return R;
+    }
+
+    /**
+     * Returns the column pivots of this decomposition.
+     *
+     * @return the source column indices after permutation.
+     */
+    public FastTable<Index> getPivots() {
+        return _pivots;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F extends Field<F>> DenseMatrixImpl<F> createNullDenseMatrix(
+            int m, int n) {
+        DenseMatrixImpl<F> M = DenseMatrixImpl.FACTORY.object();
+        for (int i = 0; i < m; i++) {
+            DenseVectorImpl<F> V = DenseVectorImpl.FACTORY.object();
+            for (int j = 0; j < n; j++) {
+                V._elements.add(null);
+            }
+            M._rows.add(V);
+        }
+        return M;
+    }
+}
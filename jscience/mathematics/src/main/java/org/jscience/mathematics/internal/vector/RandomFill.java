@@ -0,0 +1,119 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ConcurrentContext;
+import javolution.lang.MathLib;
+import org.jscience.mathematics.number.RandomGenerator;
+
+/**
+ * <p> This class holds the concurrent logic to fill <code>double</code>
+ *     arrays with random values.</p>
+ *
+ * <p> Arrays are cut in blocks of fixed size, each block being filled by
+ *     its own {@link RandomGenerator#split split} generator; the values
+ *     generated depend only upon the seed and the arrays lengths (not upon
+ *     the number of concurrent threads).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+final class RandomFill implements Runnable {
+
+    /**
+     * Holds the number of values generated by the same split generator.
+     */
+    static final int BLOCK_SIZE = 4096;
+
+    private final double[][] _arrays;
+
+    private final int _length;
+
+    private final int _blocksPerArray;
+
+    private final RandomGenerator[] _generators;
+
+    private final boolean _isGaussian;
+
+    private final double _a, _b;
+
+    private final int _start, _end;
+
+    private RandomFill(double[][] arrays, int length, int blocksPerArray,
+            RandomGenerator[] generators, boolean isGaussian, double a,
+            double b, int start, int end) {
+        _arrays = arrays;
+        _length = length;
+        _blocksPerArray = blocksPerArray;
+        _generators = generators;
+        _isGaussian = isGaussian;
+        _a = a;
+        _b = b;
+        _start = start;
+        _end = end;
+    }
+
+    /**
+     * Fills the first <code>length</code> elements of the specified arrays
+     * with uniform values in range <code>[min, max[</code>.
+     */
+    static void uniform(double[][] arrays, int length, double min,
+            double max, RandomGenerator random) {
+        fill(arrays, length, false, min, max, random);
+    }
+
+    /**
+     * Fills the first <code>length</code> elements of the specified arrays
+     * with normally distributed values.
+     */
+    static void gaussian(double[][] arrays, int length, double mean,
+            double standardDeviation, RandomGenerator random) {
+        fill(arrays, length, true, mean, standardDeviation, random);
+    }
+
+    private static void fill(double[][] arrays, int length,
+            boolean isGaussian, double a, double b, RandomGenerator random) {
+        final int blocksPerArray = (length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        final int n = arrays.length * blocksPerArray;
+        final RandomGenerator[] generators = new RandomGenerator[n];
+        for (int k = 0; k < n; k++) { // Deterministic split order.
+            generators[k] = random.split();
+        }
+        final int concurrency = ConcurrentContext.getConcurrency() + 1;
+        if ((n <= 1) || (concurrency <= 1)) {
+            new RandomFill(arrays, length, blocksPerArray, generators,
+                    isGaussian, a, b, 0, n).run();
+            return;
+        }
+        final int blocks = (n + concurrency - 1) / concurrency;
+        ConcurrentContext.enter();
+        try {
+            for (int start = 0; start < n; start += blocks) {
+                ConcurrentContext.execute(new RandomFill(arrays, length,
+                        blocksPerArray, generators, isGaussian, a, b, start,
+                        MathLib.min(start + blocks, n)));
+            }
+        } finally {
+            ConcurrentContext.exit(); // Waits for completion.
+        }
+    }
+
+    public void run() {
+        for (int k = _start; k < _end; k++) {
+            final double[] values = _arrays[k / _blocksPerArray];
+            final int offset = (k % _blocksPerArray) * BLOCK_SIZE;
+            final int length = MathLib.min(BLOCK_SIZE, _length - offset);
+            if (_isGaussian) {
+                _generators[k].nextGaussians(values, offset, length, _a, _b);
+            } else {
+                _generators[k].nextDoubles(values, offset, length, _a, _b);
+            }
+        }
+    }
+}
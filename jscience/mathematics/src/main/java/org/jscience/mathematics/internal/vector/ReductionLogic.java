@@ -0,0 +1,142 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ConcurrentContext;
+import javolution.lang.MathLib;
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+
+/**
+ * <p> This class holds the concurrent logic of the two-sided Householder
+ *     reductions (tridiagonal and bidiagonal forms) used by the
+ *     {@link Float64EigenDecomposition eigen} and
+ *     {@link Float64SingularValueDecomposition singular value}
+ *     decompositions.</p>
+ *
+ * <p> Every operation is independent per row; large matrices are then
+ *     processed concurrently per ranges of rows.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+final class ReductionLogic implements Runnable {
+
+    // Operations.
+    private static final int PRODUCT = 0, RANK2 = 1, REFLECT = 2;
+
+    private final int _op;
+
+    private final int _from, _to; // Rows.
+
+    private final double[] _a;
+
+    private final int _n, _c, _length;
+
+    private final double _tau;
+
+    private final double[] _v, _w;
+
+    private ReductionLogic(int op, int from, int to, double[] a, int n,
+            int c, int length, double tau, double[] v, double[] w) {
+        _op = op;
+        _from = from;
+        _to = to;
+        _a = a;
+        _n = n;
+        _c = c;
+        _length = length;
+        _tau = tau;
+        _v = v;
+        _w = w;
+    }
+
+    /**
+     * Calculates <code>p = tau·A₂₂·v</code> with <code>A₂₂</code> the
+     * trailing submatrix starting at <code>(c, c)</code> of the row-major
+     * n-by-n matrix <code>a</code>.
+     */
+    static void product(double[] a, int n, int c, double tau, double[] v,
+            double[] p) {
+        execute(PRODUCT, c, n, a, n, c, n - c, tau, v, p);
+    }
+
+    /**
+     * Performs the symmetric rank-2 update
+     * <code>A₂₂ = A₂₂ - v·wᵀ - w·vᵀ</code> of the trailing submatrix starting
+     * at <code>(c, c)</code> of the row-major n-by-n matrix <code>a</code>.
+     */
+    static void rank2(double[] a, int n, int c, double[] v, double[] w) {
+        execute(RANK2, c, n, a, n, c, n - c, 0, v, w);
+    }
+
+    /**
+     * Applies the reflection <code>I - tau·u·uᵀ</code> from the right to the
+     * columns <code>[c, c + u.length)</code> and the rows <code>[from,
+     * m)</code> of the column-major matrix <code>a</code> (m rows).
+     */
+    static void reflect(double[] a, int m, int from, int c, double tau,
+            double[] u) {
+        if (tau == 0)
+            return;
+        execute(REFLECT, from, m, a, m, c, u.length, tau, u, null);
+    }
+
+    private static void execute(int op, int from, int to, double[] a,
+            int n, int c, int length, double tau, double[] v, double[] w) {
+        final int rows = to - from;
+        final int concurrency = ConcurrentContext.getConcurrency() + 1;
+        if ((concurrency == 1) || (rows < 2 * concurrency)
+                || ((long) rows * length < Float64Kernel.CONCURRENCY_THRESHOLD)) {
+            new ReductionLogic(op, from, to, a, n, c, length, tau, v, w)
+                    .run();
+            return;
+        }
+        final int chunk = (rows + concurrency - 1) / concurrency;
+        ConcurrentContext.enter();
+        try {
+            for (int i = from; i < to; i += chunk) {
+                ConcurrentContext.execute(new ReductionLogic(op, i, MathLib
+                        .min(i + chunk, to), a, n, c, length, tau, v, w));
+            }
+        } finally {
+            ConcurrentContext.exit();
+        }
+    }
+
+    public void run() {
+        final double[] a = _a;
+        final int n = _n;
+        final int c = _c;
+        switch (_op) {
+        case PRODUCT:
+            for (int i = _from; i < _to; i++) {
+                _w[i - c] = _tau
+                        * Float64Kernel.dot(_length, a, i * n + c, _v, 0);
+            }
+            break;
+        case RANK2:
+            for (int i = _from; i < _to; i++) {
+                final int ri = i * n + c;
+                Float64Kernel.axpy(_length, -_v[i - c], _w, 0, a, ri);
+                Float64Kernel.axpy(_length, -_w[i - c], _v, 0, a, ri);
+            }
+            break;
+        default: // REFLECT: s = C·u, C = C - tau·s·uᵀ (column-major).
+            final int rows = _to - _from;
+            double[] s = new double[rows];
+            for (int j = 0; j < _length; j++) {
+                Float64Kernel.axpy(rows, _v[j], a, (c + j) * n + _from, s, 0);
+            }
+            for (int j = 0; j < _length; j++) {
+                Float64Kernel.axpy(rows, -_tau * _v[j], s, 0, a, (c + j) * n
+                        + _from);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ConcurrentContext;
+import javolution.lang.MathLib;
+import org.jscience.mathematics.number.Complex;
+import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.Integer64;
+
+/**
+ * <p> This class holds the concurrent logic of the generic (any
+ *     {@link org.jscience.mathematics.structure.Field Field} elements)
+ *     dense matrix operations whose rows are calculated independently
+ *     (element-wise operations, products, tensor products, Gaussian
+ *     eliminations).</p>
+ *
+ * <p> The cost of the elements operations varies greatly with the elements
+ *     type (e.g. a {@link org.jscience.mathematics.number.Rational
+ *     Rational} product can be thousand times slower than a
+ *     {@link org.jscience.mathematics.number.Float64 Float64} product).
+ *     The cost of the rows is then estimated from the number of elements
+ *     operations per row {@link #weightOf weighted} by the elements type;
+ *     only if that cost is greater than {@link #CONCURRENCY_THRESHOLD}
+ *     the rows are split among the concurrent threads. The estimate does
+ *     not depend upon timing, the same call is always executed the same
+ *     way.</p>
+ *
+ * <p> Implementations must only write to the rows they calculate; shared
+ *     tables (e.g. the rows of the resulting matrix) are updated by the
+ *     current thread once all the rows have been calculated. The objects
+ *     allocated by the concurrent threads come from their own
+ *     (thread-local) factories within the
+ *     {@link javolution.context.AllocatorContext allocator context} of the
+ *     current thread ({@link javolution.context.StackContext StackContext}
+ *     included).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+abstract class RowLogic implements Runnable {
+
+    /**
+     * Holds the estimated cost (weighted elements operations) above which
+     * rows are calculated concurrently.
+     */
+    static final long CONCURRENCY_THRESHOLD = 1 << 18;
+
+    // Rows calculated by this logic when run concurrently.
+    private int _from, _to;
+
+    /**
+     * Calculates the rows <code>[from, to)</code>.
+     *
+     * @param from the first row.
+     * @param to the row after the last row.
+     */
+    abstract void rows(int from, int to);
+
+    /**
+     * Returns the relative cost of an operation (e.g. multiply-add) upon
+     * the specified element: <code>1</code> for primitive
+     * <code>double</code>, <code>4</code> for {@link Float64} and
+     * {@link Integer64}, <code>16</code> for {@link Complex} and
+     * <code>64</code> for arbitrary precision elements (e.g.
+     * {@link org.jscience.mathematics.number.Rational Rational}).
+     *
+     * @param element a sample element (<code>null</code> for primitive
+     *        <code>double</code>).
+     * @return the relative cost of an operation upon the element.
+     */
+    static long weightOf(Object element) {
+        if (element == null)
+            return 1;
+        if ((element instanceof Float64) || (element instanceof Integer64))
+            return 4;
+        if (element instanceof Complex)
+            return 16;
+        return 64;
+    }
+
+    /**
+     * Calculates the rows <code>[from, to)</code>, concurrently if their
+     * estimated cost is large enough.
+     *
+     * @param from the first row.
+     * @param to the row after the last row.
+     * @param rowCost the estimated cost of a row (number of elements
+     *        operations times their {@link #weightOf weight}).
+     */
+    final void execute(int from, int to, long rowCost) {
+        final int concurrency = ConcurrentContext.getConcurrency() + 1;
+        final int count = to - from;
+        final long cost = rowCost * count;
+        if ((concurrency == 1) || (count < 2)
+                || (cost < CONCURRENCY_THRESHOLD)) {
+            rows(from, to);
+            return;
+        }
+        final int chunks = (int) MathLib.min(MathLib.min(concurrency, count),
+                cost / (CONCURRENCY_THRESHOLD / 2));
+        final int chunk = (count + chunks - 1) / chunks;
+        ConcurrentContext.enter();
+        try {
+            for (int i = from; i < to; i += chunk) {
+                RowLogic logic = new Range(this);
+                logic._from = i;
+                logic._to = MathLib.min(i + chunk, to);
+                ConcurrentContext.execute(logic);
+            }
+        } finally {
+            ConcurrentContext.exit();
+        }
+    }
+
+    public final void run() {
+        rows(_from, _to);
+    }
+
+    // Range of rows of a shared logic.
+    private static final class Range extends RowLogic {
+
+        private final RowLogic _logic;
+
+        Range(RowLogic logic) {
+            _logic = logic;
+        }
+
+        void rows(int from, int to) {
+            _logic.rows(from, to);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.util.Arrays;
+
+import javolution.context.ConcurrentContext;
+
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+
+/**
+ * <p> This class holds the concurrent logic of the compressed sparse
+ *     matrix products <code>Y = A·X</code> (<code>X</code> and
+ *     <code>Y</code> hold <code>p</code> interleaved vectors, element
+ *     <code>(i, v)</code> at index <code>i·p + v</code>).</p>
+ *
+ * <p> The outer ranges (rows of CSR, columns of CSC) are partitioned by
+ *     number of non-zero elements (not by number of rows) for load
+ *     balancing. Gathers (<code>yi = row(i)·x</code>) write disjoint
+ *     results; scatters (<code>y += xi·row(i)</code>, CSC products and
+ *     transposed CSR products) accumulate into buffers owned by each task
+ *     of the product (the first task accumulates directly into the
+ *     result) and summed at the end.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+final class SparseLogic implements Runnable {
+
+    // Operations.
+    private static final int GATHER = 0, SCATTER = 1;
+
+    private final int _op;
+
+    private final int _from, _to; // Outer indices.
+
+    private final int[] _pointers, _indices;
+
+    private final double[] _values, _x, _y;
+
+    private final int _xOffset, _yOffset, _p;
+
+    private SparseLogic(int op, int from, int to, int[] pointers,
+            int[] indices, double[] values, double[] x, int xOffset,
+            double[] y, int yOffset, int p) {
+        _op = op;
+        _from = from;
+        _to = to;
+        _pointers = pointers;
+        _indices = indices;
+        _values = values;
+        _x = x;
+        _xOffset = xOffset;
+        _y = y;
+        _yOffset = yOffset;
+        _p = p;
+    }
+
+    /**
+     * Calculates <code>Y(i) = Σ a(i, k)·X(k)</code> for all outer indices
+     * <code>i</code> (CSR product).
+     */
+    static void gather(int outer, int[] pointers, int[] indices,
+            double[] values, double[] x, int xOffset, double[] y,
+            int yOffset, int p) {
+        final int concurrency = ConcurrentContext.getConcurrency() + 1;
+        final int nnz = pointers[outer];
+        if ((concurrency == 1) || (outer < 2 * concurrency)
+                || ((long) nnz * p < Float64Kernel.CONCURRENCY_THRESHOLD)) {
+            new SparseLogic(GATHER, 0, outer, pointers, indices, values, x,
+                    xOffset, y, yOffset, p).run();
+            return;
+        }
+        int[] bounds = partition(outer, pointers, concurrency);
+        ConcurrentContext.enter();
+        try {
+            for (int t = 0; t < concurrency; t++) {
+                if (bounds[t] < bounds[t + 1]) {
+                    ConcurrentContext.execute(new SparseLogic(GATHER,
+                            bounds[t], bounds[t + 1], pointers, indices,
+                            values, x, xOffset, y, yOffset, p));
+                }
+            }
+        } finally {
+            ConcurrentContext.exit();
+        }
+    }
+
+    /**
+     * Calculates <code>Y(k) = Σ a(i, k)·X(i)</code> for all inner indices
+     * <code>k</code> (CSC product or transposed CSR product).
+     */
+    static void scatter(int outer, int inner, int[] pointers, int[] indices,
+            double[] values, double[] x, int xOffset, double[] y,
+            int yOffset, int p) {
+        final int length = inner * p;
+        Arrays.fill(y, yOffset, yOffset + length, 0.0);
+        final int concurrency = ConcurrentContext.getConcurrency() + 1;
+        final int nnz = pointers[outer];
+        if ((concurrency == 1) || (outer < 2 * concurrency)
+                || ((long) nnz * p < Float64Kernel.CONCURRENCY_THRESHOLD)) {
+            new SparseLogic(SCATTER, 0, outer, pointers, indices, values, x,
+                    xOffset, y, yOffset, p).run();
+            return;
+        }
+        int[] bounds = partition(outer, pointers, concurrency);
+        double[][] partials = new double[concurrency][]; // Of this product.
+        ConcurrentContext.enter();
+        try {
+            for (int t = 0; t < concurrency; t++) {
+                if (bounds[t] < bounds[t + 1]) {
+                    if (t > 0) { // The first task accumulates into y.
+                        partials[t] = new double[length];
+                    }
+                    ConcurrentContext.execute(new SparseLogic(SCATTER,
+                            bounds[t], bounds[t + 1], pointers, indices,
+                            values, x, xOffset, (t == 0) ? y : partials[t],
+                            (t == 0) ? yOffset : 0, p));
+                }
+            }
+        } finally {
+            ConcurrentContext.exit();
+        }
+        for (int t = 1; t < concurrency; t++) {
+            if (partials[t] != null) {
+                Float64Kernel.add(length, y, yOffset, partials[t], 0, y,
+                        yOffset);
+            }
+        }
+    }
+
+    // Returns the outer bounds of each task (same number of non-zeros).
+    private static int[] partition(int outer, int[] pointers, int parts) {
+        final long nnz = pointers[outer];
+        int[] bounds = new int[parts + 1];
+        bounds[parts] = outer;
+        for (int t = 1; t < parts; t++) {
+            final int target = (int) (nnz * t / parts);
+            int i = Arrays.binarySearch(pointers, 0, outer + 1, target);
+            if (i < 0) {
+                i = -i - 1;
+            }
+            while ((i > 0) && (pointers[i - 1] == target)) { // First.
+                i--;
+            }
+            bounds[t] = Math.max(bounds[t - 1], Math.min(i, outer));
+        }
+        return bounds;
+    }
+
+    public void run() {
+        final int[] pointers = _pointers;
+        final int[] indices = _indices;
+        final double[] values = _values;
+        final double[] x = _x;
+        final int p = _p;
+        if (_op == GATHER) {
+            final double[] y = _y;
+            for (int i = _from; i < _to; i++) {
+                final int start = pointers[i], end = pointers[i + 1];
+                if (p == 1) {
+                    double sum = 0;
+                    for (int k = start; k < end; k++) {
+                        sum += values[k] * x[_xOffset + indices[k]];
+                    }
+                    y[_yOffset + i] = sum;
+                } else {
+                    final int yi = _yOffset + i * p;
+                    Arrays.fill(y, yi, yi + p, 0.0);
+                    for (int k = start; k < end; k++) {
+                        final double a = values[k];
+                        final int xk = _xOffset + indices[k] * p;
+                        for (int v = 0; v < p; v++) {
+                            y[yi + v] += a * x[xk + v];
+                        }
+                    }
+                }
+            }
+            return;
+        }
+        final double[] y = _y;
+        final int yOffset = _yOffset;
+        for (int i = _from; i < _to; i++) {
+            final int xi = _xOffset + i * p;
+            for (int k = pointers[i], end = pointers[i + 1]; k < end; k++) {
+                final double a = values[k];
+                final int yk = yOffset + indices[k] * p;
+                for (int v = 0; v < p; v++) {
+                    y[yk + v] += a * x[xi + v];
+                }
+            }
+        }
+    }
+}
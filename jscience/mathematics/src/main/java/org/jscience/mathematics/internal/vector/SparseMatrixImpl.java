@@ -11,6 +11,7 @@ package org.jscience.mathematics.internal.vector;
 import java.util.Arrays;
 import java.util.List;
 import javolution.context.ObjectFactory;
+import javolution.util.FastMap;
 import javolution.util.FastTable;
 import javolution.util.Index;
 import org.jscience.mathematics.structure.Field;
@@ -174,19 +175,42 @@ final class SparseMatrixImpl<F extends Field<F>> extends SparseMatrix<F> {
         final int p = that.getNumberOfColumns(); // Number of columns of that.
         if (n != that.getNumberOfRows())
             throw new DimensionException();
+        FastTable<SparseVectorImpl<F>> thatRows = FastTable.newInstance();
+        for (int k = 0; k < n; k++) { // Rows of the transposed view are built once.
+            thatRows.add(SparseVectorImpl.valueOf(that.getRow(k)));
+        }
+        FastTable<Index> zeros = FastTable.newInstance();
         SparseMatrixImpl<F> M = FACTORY.object();
-        for (int i = 0; i < m; i++) {
+        for (int i = 0; i < m; i++) { // Row i = Σ aik·row(k) (Gustavson)
+            final SparseVectorImpl<F> row = _rows.get(i);
             SparseVectorImpl<F> V = SparseVectorImpl.FACTORY.object();
             V._dimension = p;
-            V._zero = this._rows.get(i)._zero;
-            for (int j = 0; j < p; j++) {
-                F e = _rows.get(i).times(that.getColumn(j));
-                if (!e.equals(V._zero)) {
-                    V._elements.put(Index.valueOf(j), e);
+            V._zero = row._zero;
+            for (FastMap.Entry<Index, F> e = row._elements.head(), end = row._elements.tail();
+                    (e = e.getNext()) != end;) {
+                final F aik = e.getValue();
+                final FastMap<Index, F> rowK = thatRows.get(e.getKey().intValue())._elements;
+                for (FastMap.Entry<Index, F> f = rowK.head(), endK = rowK.tail();
+                        (f = f.getNext()) != endK;) {
+                    F product = aik.times(f.getValue());
+                    F sum = V._elements.get(f.getKey());
+                    V._elements.put(f.getKey(), (sum == null) ? product : sum.plus(product));
                 }
             }
+            for (FastMap.Entry<Index, F> e = V._elements.head(), end = V._elements.tail();
+                    (e = e.getNext()) != end;) {
+                if (e.getValue().equals(V._zero)) {
+                    zeros.add(e.getKey());
+                }
+            }
+            for (int j = 0; j < zeros.size(); j++) {
+                V._elements.remove(zeros.get(j));
+            }
+            zeros.clear();
             M._rows.add(V);
         }
+        FastTable.recycle(zeros);
+        FastTable.recycle(thatRows);
         return M;
     }
 
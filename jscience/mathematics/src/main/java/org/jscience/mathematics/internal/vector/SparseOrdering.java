@@ -0,0 +1,545 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.util.Arrays;
+
+import javolution.lang.MathLib;
+
+/**
+ * <p> This class holds the fill-reducing orderings and the elimination
+ *     trees of the sparse direct decompositions
+ *     ({@link Float64SparseCholeskyDecomposition} and
+ *     {@link Float64SparseLUDecomposition}); only the sparsity pattern of
+ *     the matrices is considered.</p>
+ *
+ * <p> The approximate minimum degree ordering (AMD) operates upon the
+ *     quotient graph of the elimination with element absorption, mass
+ *     elimination, indistinguishable nodes detection (supernodes) and
+ *     aggressive absorption; dense rows/columns are ordered last. The
+ *     resulting ordering is postordered (the columns of the same subtree
+ *     of the elimination tree are contiguous).
+ *     [code]
+ *         int[] p = SparseOrdering.amd(A); // For symmetric matrices (pattern of A + Aᵀ).
+ *         int[] q = SparseOrdering.colamd(A); // Column ordering for LU (pattern of Aᵀ·A).
+ *     [/code]</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/Minimum_degree_algorithm">
+ *      Wikipedia: Minimum degree algorithm</a>
+ */
+public final class SparseOrdering {
+
+    /**
+     * Default constructor (private for utilities).
+     */
+    private SparseOrdering() {
+    }
+
+    /**
+     * Returns the approximate minimum degree ordering of the specified
+     * square matrix (pattern of <code>A + Aᵀ</code>). The permuted matrix
+     * <code>A(p, p)</code> has a sparser Cholesky or LU factorization
+     * (without pivoting) than <code>A</code>.
+     *
+     * @param  A the square matrix.
+     * @return the permutation <code>p</code> (<code>p[k]</code> is the
+     *         index of the k<sup>th</sup> row/column of the permuted matrix).
+     * @throws DimensionException if the matrix is not square.
+     */
+    public static int[] amd(Float64SparseMatrix A) {
+        if (A._m != A._n)
+            throw new DimensionException("Square matrix expected");
+        final int n = A._n;
+        final int[] pointers = A._pointers;
+        final int[] indices = A._indices;
+        // Pattern of A + Aᵀ without diagonal (duplicates removed).
+        int[] degrees = new int[n];
+        for (int j = 0; j < n; j++) {
+            for (int p = pointers[j]; p < pointers[j + 1]; p++) {
+                final int i = indices[p];
+                if (i != j) {
+                    degrees[i]++;
+                    degrees[j]++;
+                }
+            }
+        }
+        int[] Cp = new int[n + 1];
+        for (int j = 0; j < n; j++) {
+            Cp[j + 1] = Cp[j] + degrees[j];
+        }
+        int[] Ci = new int[Cp[n]];
+        int[] next = Arrays.copyOf(Cp, n);
+        for (int j = 0; j < n; j++) {
+            for (int p = pointers[j]; p < pointers[j + 1]; p++) {
+                final int i = indices[p];
+                if (i != j) {
+                    Ci[next[i]++] = j;
+                    Ci[next[j]++] = i;
+                }
+            }
+        }
+        return amd(n, compact(n, Cp, Ci, next));
+    }
+
+    /**
+     * Returns the approximate minimum degree column ordering of the
+     * specified matrix for its LU decomposition with partial pivoting; the
+     * ordering is calculated upon the pattern of <code>Aᵀ·A</code> (upper
+     * bound of the fill-in whatever the row pivots), dense rows being
+     * ignored.
+     *
+     * @param  A the matrix.
+     * @return the column permutation <code>q</code> (<code>q[k]</code> is
+     *         the index of the k<sup>th</sup> column of the permuted
+     *         matrix).
+     */
+    public static int[] colamd(Float64SparseMatrix A) {
+        final int n = A._n;
+        Float64SparseMatrix rows = A.compressRows();
+        Float64SparseMatrix columns = A.compressColumns();
+        final int dense = MathLib.min(n - 2, MathLib.max(16,
+                (int) (10 * MathLib.sqrt(n))));
+        // Pattern of Aᵀ·A without diagonal, dense rows of A removed.
+        int[] mark = new int[n];
+        Arrays.fill(mark, -1);
+        int[] Cp = new int[n + 1];
+        int[] Ci = new int[MathLib.max(16, 2 * columns.getNumberOfNonZeros())];
+        int cnz = 0;
+        for (int j = 0; j < n; j++) {
+            Cp[j] = cnz;
+            mark[j] = j;
+            for (int p = columns._pointers[j]; p < columns._pointers[j + 1]; p++) {
+                final int i = columns._indices[p];
+                final int start = rows._pointers[i], end = rows._pointers[i + 1];
+                if (end - start > dense)
+                    continue; // Dense row.
+                for (int q = start; q < end; q++) {
+                    final int k = rows._indices[q];
+                    if (mark[k] == j)
+                        continue;
+                    mark[k] = j;
+                    if (cnz == Ci.length) {
+                        Ci = Arrays.copyOf(Ci, 2 * cnz);
+                    }
+                    Ci[cnz++] = k;
+                }
+            }
+        }
+        Cp[n] = cnz;
+        int[] ends = new int[n];
+        System.arraycopy(Cp, 1, ends, 0, n);
+        return amd(n, compact(n, Cp, Ci, ends));
+    }
+
+    // Removes the duplicate entries (in place), adds elbow room and returns
+    // {Cp, Ci}.
+    private static int[][] compact(int n, int[] Cp, int[] Ci, int[] ends) {
+        int[] mark = new int[n];
+        Arrays.fill(mark, -1);
+        int cnz = 0;
+        for (int j = 0; j < n; j++) {
+            final int start = Cp[j];
+            Cp[j] = cnz;
+            for (int p = start; p < ends[j]; p++) {
+                final int i = Ci[p];
+                if (mark[i] != j) {
+                    mark[i] = j;
+                    Ci[cnz++] = i;
+                }
+            }
+        }
+        Cp[n] = cnz;
+        return new int[][] { Cp, Arrays.copyOf(Ci, cnz + cnz / 5 + 2 * n) };
+    }
+
+    // Approximate minimum degree ordering of the symmetric pattern C
+    // (columns without diagonal, Ci with elbow room).
+    private static int[] amd(final int n, int[][] C) {
+        int[] Cp = C[0];
+        int[] Ci = C[1];
+        final int nzmax = Ci.length;
+        int cnz = Cp[n];
+        int dense = MathLib.max(16, (int) (10 * MathLib.sqrt(n)));
+        dense = MathLib.min(n - 2, dense);
+        int[] P = new int[n + 1];
+        int[] len = new int[n + 1];
+        int[] nv = new int[n + 1];
+        int[] next = new int[n + 1];
+        int[] head = new int[n + 1];
+        int[] elen = new int[n + 1];
+        int[] degree = new int[n + 1];
+        int[] w = new int[n + 1];
+        int[] hhead = new int[n + 1];
+        int[] last = P; // Used as workspace.
+        // Initializes the quotient graph.
+        for (int k = 0; k < n; k++) {
+            len[k] = Cp[k + 1] - Cp[k];
+        }
+        len[n] = 0;
+        for (int i = 0; i <= n; i++) {
+            head[i] = -1;
+            last[i] = -1;
+            next[i] = -1;
+            hhead[i] = -1;
+            nv[i] = 1;
+            w[i] = 1;
+            elen[i] = 0;
+            degree[i] = len[i];
+        }
+        int lemax = 0;
+        int mark = clear(0, 0, w, n);
+        elen[n] = -2; // n is a dead element (root of dense nodes).
+        Cp[n] = -1;
+        w[n] = 0;
+        // Initializes the degree lists.
+        int nel = 0;
+        for (int i = 0; i < n; i++) {
+            final int d = degree[i];
+            if (d == 0) { // Empty node.
+                elen[i] = -2;
+                nel++;
+                Cp[i] = -1;
+                w[i] = 0;
+            } else if (d > dense) { // Dense node, absorbed into n.
+                nv[i] = 0;
+                elen[i] = -1;
+                nel++;
+                Cp[i] = flip(n);
+                nv[n]++;
+            } else {
+                if (head[d] != -1) {
+                    last[head[d]] = i;
+                }
+                next[i] = head[d];
+                head[d] = i;
+            }
+        }
+        int mindeg = 0;
+        while (nel < n) {
+            // Selects the node of minimum approximate degree.
+            int k = -1;
+            for (; (mindeg < n) && ((k = head[mindeg]) == -1); mindeg++) {
+            }
+            if (next[k] != -1) {
+                last[next[k]] = -1;
+            }
+            head[mindeg] = next[k];
+            final int elenk = elen[k];
+            int nvk = nv[k];
+            nel += nvk;
+            // Garbage collection.
+            if ((elenk > 0) && (cnz + mindeg >= nzmax)) {
+                for (int j = 0; j < n; j++) {
+                    final int p = Cp[j];
+                    if (p >= 0) {
+                        Cp[j] = Ci[p];
+                        Ci[p] = flip(j);
+                    }
+                }
+                int q = 0;
+                for (int p = 0; p < cnz;) {
+                    final int j = flip(Ci[p++]);
+                    if (j >= 0) {
+                        Ci[q] = Cp[j];
+                        Cp[j] = q++;
+                        for (int k3 = 0; k3 < len[j] - 1; k3++) {
+                            Ci[q++] = Ci[p++];
+                        }
+                    }
+                }
+                cnz = q;
+            }
+            // Constructs the new element.
+            int dk = 0;
+            nv[k] = -nvk;
+            int p = Cp[k];
+            final int pk1 = (elenk == 0) ? p : cnz;
+            int pk2 = pk1;
+            for (int k1 = 1; k1 <= elenk + 1; k1++) {
+                final int e;
+                int pj;
+                final int ln;
+                if (k1 > elenk) {
+                    e = k;
+                    pj = p;
+                    ln = len[k] - elenk;
+                } else {
+                    e = Ci[p++];
+                    pj = Cp[e];
+                    ln = len[e];
+                }
+                for (int k2 = 1; k2 <= ln; k2++) {
+                    final int i = Ci[pj++];
+                    final int nvi = nv[i];
+                    if (nvi <= 0)
+                        continue; // Dead or already in Lk.
+                    dk += nvi;
+                    nv[i] = -nvi;
+                    Ci[pk2++] = i;
+                    if (next[i] != -1) {
+                        last[next[i]] = last[i];
+                    }
+                    if (last[i] != -1) {
+                        next[last[i]] = next[i];
+                    } else {
+                        head[degree[i]] = next[i];
+                    }
+                }
+                if (e != k) { // Absorbs e into k.
+                    Cp[e] = flip(k);
+                    w[e] = 0;
+                }
+            }
+            if (elenk != 0) {
+                cnz = pk2;
+            }
+            degree[k] = dk;
+            Cp[k] = pk1;
+            len[k] = pk2 - pk1;
+            elen[k] = -2;
+            // Finds the set differences |Le \ Lk|.
+            mark = clear(mark, lemax, w, n);
+            for (int pk = pk1; pk < pk2; pk++) {
+                final int i = Ci[pk];
+                final int eln = elen[i];
+                if (eln <= 0)
+                    continue;
+                final int nvi = -nv[i];
+                final int wnvi = mark - nvi;
+                for (p = Cp[i]; p <= Cp[i] + eln - 1; p++) {
+                    final int e = Ci[p];
+                    if (w[e] >= mark) {
+                        w[e] -= nvi;
+                    } else if (w[e] != 0) {
+                        w[e] = degree[e] + wnvi;
+                    }
+                }
+            }
+            // Updates the degrees.
+            for (int pk = pk1; pk < pk2; pk++) {
+                final int i = Ci[pk];
+                final int p1 = Cp[i];
+                final int p2 = p1 + elen[i] - 1;
+                int pn = p1;
+                long h = 0;
+                int d = 0;
+                for (p = p1; p <= p2; p++) {
+                    final int e = Ci[p];
+                    if (w[e] != 0) {
+                        final int dext = w[e] - mark;
+                        if (dext > 0) {
+                            d += dext;
+                            Ci[pn++] = e;
+                            h += e;
+                        } else { // Aggressive absorption.
+                            Cp[e] = flip(k);
+                            w[e] = 0;
+                        }
+                    }
+                }
+                elen[i] = pn - p1 + 1;
+                final int p3 = pn;
+                final int p4 = p1 + len[i];
+                for (p = p2 + 1; p < p4; p++) { // Prunes edges.
+                    final int j = Ci[p];
+                    final int nvj = nv[j];
+                    if (nvj <= 0)
+                        continue;
+                    d += nvj;
+                    Ci[pn++] = j;
+                    h += j;
+                }
+                if (d == 0) { // Mass elimination.
+                    Cp[i] = flip(k);
+                    final int nvi = -nv[i];
+                    dk -= nvi;
+                    nvk += nvi;
+                    nel += nvi;
+                    nv[i] = 0;
+                    elen[i] = -1;
+                } else {
+                    degree[i] = MathLib.min(degree[i], d);
+                    Ci[pn] = Ci[p3];
+                    Ci[p3] = Ci[p1];
+                    Ci[p1] = k;
+                    len[i] = pn - p1 + 1;
+                    final int hash = (int) (((h < 0) ? -h : h) % n);
+                    next[i] = hhead[hash];
+                    hhead[hash] = i;
+                    last[i] = hash;
+                }
+            }
+            degree[k] = dk;
+            lemax = MathLib.max(lemax, dk);
+            mark = clear(mark + lemax, lemax, w, n);
+            // Detects the supernodes (indistinguishable nodes).
+            for (int pk = pk1; pk < pk2; pk++) {
+                int i = Ci[pk];
+                if (nv[i] >= 0)
+                    continue;
+                final int hash = last[i];
+                i = hhead[hash];
+                hhead[hash] = -1;
+                for (; (i != -1) && (next[i] != -1); i = next[i], mark++) {
+                    final int ln = len[i];
+                    final int eln = elen[i];
+                    for (p = Cp[i] + 1; p <= Cp[i] + ln - 1; p++) {
+                        w[Ci[p]] = mark;
+                    }
+                    int jlast = i;
+                    for (int j = next[i]; j != -1;) {
+                        boolean ok = (len[j] == ln) && (elen[j] == eln);
+                        for (p = Cp[j] + 1; ok && (p <= Cp[j] + ln - 1); p++) {
+                            if (w[Ci[p]] != mark) {
+                                ok = false;
+                            }
+                        }
+                        if (ok) { // Absorbs j into i.
+                            Cp[j] = flip(i);
+                            nv[i] += nv[j];
+                            nv[j] = 0;
+                            elen[j] = -1;
+                            j = next[j];
+                            next[jlast] = j;
+                        } else {
+                            jlast = j;
+                            j = next[j];
+                        }
+                    }
+                }
+            }
+            // Finalizes the new element.
+            p = pk1;
+            for (int pk = pk1; pk < pk2; pk++) {
+                final int i = Ci[pk];
+                final int nvi = -nv[i];
+                if (nvi <= 0)
+                    continue;
+                nv[i] = nvi;
+                int d = degree[i] + dk - nvi;
+                d = MathLib.min(d, n - nel - nvi);
+                if (head[d] != -1) {
+                    last[head[d]] = i;
+                }
+                next[i] = head[d];
+                last[i] = -1;
+                head[d] = i;
+                mindeg = MathLib.min(mindeg, d);
+                degree[i] = d;
+                Ci[p++] = i;
+            }
+            nv[k] = nvk;
+            if ((len[k] = p - pk1) == 0) { // Root of the assembly tree.
+                Cp[k] = -1;
+                w[k] = 0;
+            }
+            if (elenk != 0) {
+                cnz = p;
+            }
+        }
+        // Postorders the assembly tree.
+        for (int i = 0; i < n; i++) {
+            Cp[i] = flip(Cp[i]);
+        }
+        for (int j = 0; j <= n; j++) {
+            head[j] = -1;
+        }
+        for (int j = n; j >= 0; j--) { // Nodes in the lists of their parent.
+            if (nv[j] > 0)
+                continue;
+            next[j] = head[Cp[j]];
+            head[Cp[j]] = j;
+        }
+        for (int e = n; e >= 0; e--) { // Elements in the lists of their parent.
+            if (nv[e] <= 0)
+                continue;
+            if (Cp[e] != -1) {
+                next[e] = head[Cp[e]];
+                head[Cp[e]] = e;
+            }
+        }
+        for (int k = 0, i = 0; i <= n; i++) {
+            if (Cp[i] == -1) {
+                k = depthFirst(i, k, head, next, P, w);
+            }
+        }
+        return Arrays.copyOf(P, n); // P[n] = n (dummy root).
+    }
+
+    // Clears w if mark overflows.
+    private static int clear(int mark, int lemax, int[] w, int n) {
+        if ((mark < 2) || (mark + lemax < 0)) {
+            for (int k = 0; k < n; k++) {
+                if (w[k] != 0) {
+                    w[k] = 1;
+                }
+            }
+            mark = 2;
+        }
+        return mark;
+    }
+
+    private static int flip(int i) {
+        return -i - 2;
+    }
+
+    // Depth-first search and postorder of the tree rooted at j.
+    private static int depthFirst(int j, int k, int[] head, int[] next,
+            int[] post, int[] stack) {
+        int top = 0;
+        stack[0] = j;
+        while (top >= 0) {
+            final int p = stack[top];
+            final int i = head[p];
+            if (i == -1) {
+                top--;
+                post[k++] = p;
+            } else {
+                head[p] = next[i];
+                stack[++top] = i;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Returns the elimination tree of the symmetric matrix whose upper
+     * triangle is held by the specified compressed columns (the parent of
+     * the column <code>j</code> is the row index of the first
+     * off-diagonal non-zero element in the column <code>j</code> of the
+     * Cholesky factor <code>L</code>).
+     *
+     * @param  n the dimension.
+     * @param  pointers the column pointers of the upper triangle.
+     * @param  indices the row indices of the upper triangle.
+     * @return the parent of each column (<code>-1</code> for roots).
+     */
+    static int[] eliminationTree(int n, int[] pointers, int[] indices) {
+        int[] parent = new int[n];
+        int[] ancestor = new int[n];
+        for (int k = 0; k < n; k++) {
+            parent[k] = -1;
+            ancestor[k] = -1;
+            for (int p = pointers[k]; p < pointers[k + 1]; p++) {
+                int i = indices[p];
+                while ((i != -1) && (i < k)) { // Path compression.
+                    final int inext = ancestor[i];
+                    ancestor[i] = k;
+                    if (inext == -1) {
+                        parent[i] = k;
+                    }
+                    i = inext;
+                }
+            }
+        }
+        return parent;
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import javolution.context.ConcurrentContext;
+import javolution.context.LocalContext;
+
+import org.jscience.mathematics.structure.Field;
+
+/**
+ * <p> This class holds the Strassen-Winograd multiplication of
+ *     {@link DenseMatrixImpl generic dense matrices} (7 products of
+ *     half-size blocks and 15 additions per level instead of 8 products).
+ *     It pays off when the multiplication of elements is much more
+ *     expensive than their addition (e.g. large integers, rationals or
+ *     real numbers).</p>
+ *
+ * <p> Odd dimensions are handled by dynamic peeling (the last row, column
+ *     or inner index are calculated separately); no padding element is
+ *     required. Blocks smaller than the {@link #getThreshold threshold}
+ *     are multiplied with the classic kernel (rows calculated
+ *     concurrently, see {@link RowLogic}). The 7 sub-products of each
+ *     level are calculated concurrently. The order of the factors
+ *     is preserved (non-commutative fields are supported).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/Strassen_algorithm">
+ *      Wikipedia: Strassen algorithm</a>
+ */
+final class StrassenLogic<F extends Field<F>> implements Runnable {
+
+    /**
+     * Holds the dimension below which the classic kernel is used.
+     */
+    private static final LocalContext.Reference<Integer> THRESHOLD = new LocalContext.Reference<Integer>(
+            32);
+
+    private final Object[] _a, _b;
+
+    private final int _ao, _ars, _bo, _brs;
+
+    private final int _m, _n, _p, _threshold;
+
+    // Product (m-by-p, row-major).
+    Object[] _c;
+
+    private StrassenLogic(Object[] a, int ao, int ars, Object[] b, int bo,
+            int brs, int m, int n, int p, int threshold) {
+        _a = a;
+        _ao = ao;
+        _ars = ars;
+        _b = b;
+        _bo = bo;
+        _brs = brs;
+        _m = m;
+        _n = n;
+        _p = p;
+        _threshold = threshold;
+    }
+
+    /**
+     * Sets the {@link LocalContext local} dimension below which the classic
+     * multiplication is used.
+     *
+     * @param threshold the minimum dimension for Strassen-Winograd
+     *        recursion.
+     * @throws IllegalArgumentException if <code>threshold &lt; 2</code>
+     */
+    static void setThreshold(int threshold) {
+        if (threshold < 2)
+            throw new IllegalArgumentException("Threshold: " + threshold
+                    + " is less than 2");
+        THRESHOLD.set(threshold);
+    }
+
+    /**
+     * Returns the {@link LocalContext local} dimension below which the
+     * classic multiplication is used (default <code>32</code>).
+     *
+     * @return the minimum dimension for Strassen-Winograd recursion.
+     */
+    static int getThreshold() {
+        return THRESHOLD.get();
+    }
+
+    /**
+     * Returns the product of the m-by-n matrix a with the n-by-p matrix b
+     * (elements row-major).
+     *
+     * @return the elements of the m-by-p product (row-major).
+     */
+    static <F extends Field<F>> Object[] multiply(Object[] a, Object[] b,
+            int m, int n, int p) {
+        StrassenLogic<F> logic = new StrassenLogic<F>(a, 0, n, b, 0, p, m,
+                n, p, getThreshold());
+        logic.run();
+        return logic._c;
+    }
+
+    public void run() {
+        final int m = _m, n = _n, p = _p;
+        final Object[] c = new Object[m * p];
+        _c = c;
+        if ((m < _threshold) || (n < _threshold) || (p < _threshold)) {
+            classic(0, m, 0, n, 0, p, c);
+            return;
+        }
+        final int m2 = m >> 1, n2 = n >> 1, p2 = p >> 1;
+        winograd(m2, n2, p2, c);
+        if ((n & 1) != 0) { // C11 += a(:, n-1)·b(n-1, :)
+            final int k = n - 1;
+            for (int i = 0; i < 2 * m2; i++) {
+                final F aik = a(i, k);
+                for (int j = 0; j < 2 * p2; j++) {
+                    c[i * p + j] = plus(c[i * p + j], aik.times(b(k, j)));
+                }
+            }
+        }
+        if ((p & 1) != 0) { // Last column.
+            classic(0, 2 * m2, 0, n, p - 1, p, c);
+        }
+        if ((m & 1) != 0) { // Last row.
+            classic(m - 1, m, 0, n, 0, p, c);
+        }
+    }
+
+    // Calculates the top left 2·m2-by-2·p2 block of the product of the
+    // 2·m2-by-2·n2 and 2·n2-by-2·p2 top left blocks of a and b.
+    private void winograd(int m2, int n2, int p2, Object[] c) {
+        final Object[] a = _a, b = _b;
+        final int ars = _ars, brs = _brs;
+        final int a11 = _ao, a12 = _ao + n2, a21 = _ao + m2 * ars, a22 = a21
+                + n2;
+        final int b11 = _bo, b12 = _bo + p2, b21 = _bo + n2 * brs, b22 = b21
+                + p2;
+        // Sums (m2-by-n2 for a, n2-by-p2 for b, row-major).
+        Object[] s1 = sum(m2, n2, a, a21, ars, a, a22, ars, false);
+        Object[] s2 = sum(m2, n2, s1, 0, n2, a, a11, ars, true);
+        Object[] s3 = sum(m2, n2, a, a11, ars, a, a21, ars, true);
+        Object[] s4 = sum(m2, n2, a, a12, ars, s2, 0, n2, true);
+        Object[] t1 = sum(n2, p2, b, b12, brs, b, b11, brs, true);
+        Object[] t2 = sum(n2, p2, b, b22, brs, t1, 0, p2, true);
+        Object[] t3 = sum(n2, p2, b, b22, brs, b, b12, brs, true);
+        Object[] t4 = sum(n2, p2, t2, 0, p2, b, b21, brs, true);
+        final int threshold = _threshold;
+        final StrassenLogic<?>[] products = new StrassenLogic<?>[] {
+                new StrassenLogic<F>(a, a11, ars, b, b11, brs, m2, n2, p2,
+                        threshold),
+                new StrassenLogic<F>(a, a12, ars, b, b21, brs, m2, n2, p2,
+                        threshold),
+                new StrassenLogic<F>(s4, 0, n2, b, b22, brs, m2, n2, p2,
+                        threshold),
+                new StrassenLogic<F>(a, a22, ars, t4, 0, p2, m2, n2, p2,
+                        threshold),
+                new StrassenLogic<F>(s1, 0, n2, t1, 0, p2, m2, n2, p2,
+                        threshold),
+                new StrassenLogic<F>(s2, 0, n2, t2, 0, p2, m2, n2, p2,
+                        threshold),
+                new StrassenLogic<F>(s3, 0, n2, t3, 0, p2, m2, n2, p2,
+                        threshold) };
+        if (ConcurrentContext.getConcurrency() > 0) {
+            ConcurrentContext.enter();
+            try {
+                for (int i = 0; i < 7; i++) {
+                    ConcurrentContext.execute(products[i]);
+                }
+            } finally {
+                ConcurrentContext.exit();
+            }
+        } else {
+            for (int i = 0; i < 7; i++) {
+                products[i].run();
+            }
+        }
+        final Object[] P1 = products[0]._c, P2 = products[1]._c;
+        final Object[] P3 = products[2]._c, P4 = products[3]._c;
+        final Object[] P5 = products[4]._c, P6 = products[5]._c;
+        final Object[] P7 = products[6]._c;
+        final int p = _p;
+        for (int i = 0; i < m2; i++) {
+            for (int j = 0; j < p2; j++) {
+                final int k = i * p2 + j;
+                final Object u2 = plus(P1[k], P6[k]);
+                final Object u3 = plus(u2, P7[k]);
+                final Object u4 = plus(u2, P5[k]);
+                c[i * p + j] = plus(P1[k], P2[k]); // C11 = U1
+                c[i * p + j + p2] = plus(u4, P3[k]); // C12 = U5
+                c[(i + m2) * p + j] = minus(u3, P4[k]); // C21 = U6
+                c[(i + m2) * p + j + p2] = plus(u3, P5[k]); // C22 = U7
+            }
+        }
+    }
+
+    // Classic product of the rows [i0, i1) with the columns [j0, j1) for the
+    // inner indices [k0, k1) (rows calculated concurrently).
+    private void classic(int i0, int i1, final int k0, final int k1,
+            final int j0, final int j1, final Object[] c) {
+        final int p = _p;
+        new RowLogic() {
+            void rows(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    for (int j = j0; j < j1; j++) {
+                        F sum = a(i, k0).times(b(k0, j));
+                        for (int k = k0 + 1; k < k1; k++) {
+                            sum = sum.plus(a(i, k).times(b(k, j)));
+                        }
+                        c[i * p + j] = sum;
+                    }
+                }
+            }
+        }.execute(i0, i1, (long) (j1 - j0) * (k1 - k0)
+                * RowLogic.weightOf((i0 < i1) && (k0 < k1) ? a(i0, k0) : null));
+    }
+
+    // Returns x ± y (m-by-n blocks).
+    private static Object[] sum(int m, int n, Object[] x, int xo, int xrs,
+            Object[] y, int yo, int yrs, boolean minus) {
+        Object[] z = new Object[m * n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                final Object xij = x[xo + i * xrs + j];
+                final Object yij = y[yo + i * yrs + j];
+                z[i * n + j] = minus ? minus(xij, yij) : plus(xij, yij);
+            }
+        }
+        return z;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object plus(Object x, Object y) {
+        return ((Field) x).plus(y);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object minus(Object x, Object y) {
+        return ((Field) x).plus(((Field) y).opposite());
+    }
+
+    @SuppressWarnings("unchecked")
+    private F a(int i, int k) {
+        return (F) _a[_ao + i * _ars + k];
+    }
+
+    @SuppressWarnings("unchecked")
+    private F b(int k, int j) {
+        return (F) _b[_bo + k * _brs + j];
+    }
+}
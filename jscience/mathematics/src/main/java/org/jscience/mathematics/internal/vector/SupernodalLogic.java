@@ -0,0 +1,213 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.vector;
+
+import java.util.Arrays;
+
+import javolution.context.ConcurrentContext;
+import javolution.lang.MathLib;
+
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+
+/**
+ * <p> This class holds the concurrent logic of the
+ *     {@link Float64SparseCholeskyDecomposition supernodal Cholesky
+ *     decomposition}.</p>
+ *
+ * <p> The supernodes are factorized level by level of the supernodal
+ *     elimination tree (leaves first); the supernodes of the same level
+ *     have no dependency between them and are factorized concurrently,
+ *     each task processing supernodes of about the same total cost.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+final class SupernodalLogic implements Runnable {
+
+    // Maximum number of multiplications of the updates performed directly
+    // (without dense matrix product).
+    private static final int SMALL_UPDATE = 1 << 15;
+
+    private final Float64SparseCholeskyDecomposition.Symbolic _symbolic;
+
+    private final double[] _lower;
+
+    private final double[][] _blocks;
+
+    private final int _from, _to; // Schedule indices.
+
+    // Task buffers (update products and relative row positions).
+    private double[] _buffer = new double[0];
+
+    private int[] _positions = new int[0];
+
+    private SupernodalLogic(Float64SparseCholeskyDecomposition.Symbolic symbolic,
+            double[] lower, double[][] blocks, int from, int to) {
+        _symbolic = symbolic;
+        _lower = lower;
+        _blocks = blocks;
+        _from = from;
+        _to = to;
+    }
+
+    /**
+     * Factorizes all the supernodes.
+     *
+     * @param symbolic the symbolic analysis.
+     * @param lower the values of the lower triangle of <code>P·A·Pᵀ</code>.
+     * @param blocks the supernodes elements (output).
+     */
+    static void factorize(Float64SparseCholeskyDecomposition.Symbolic symbolic,
+            double[] lower, double[][] blocks) {
+        final int concurrency = ConcurrentContext.getConcurrency() + 1;
+        final int[] levels = symbolic._levelPointers;
+        final int[] schedule = symbolic._schedule;
+        for (int v = 0; v < levels.length - 1; v++) {
+            final int from = levels[v], to = levels[v + 1];
+            long cost = 0;
+            for (int s = from; s < to; s++) {
+                cost += symbolic._cost[schedule[s]];
+            }
+            if ((concurrency == 1) || (to - from < 2)
+                    || (cost < Float64Kernel.CONCURRENCY_THRESHOLD)) {
+                new SupernodalLogic(symbolic, lower, blocks, from, to).run();
+                continue;
+            }
+            final long part = (cost + concurrency - 1) / concurrency;
+            ConcurrentContext.enter();
+            try {
+                int start = from;
+                long sum = 0;
+                for (int s = from; s < to; s++) {
+                    sum += symbolic._cost[schedule[s]];
+                    if ((sum >= part) || (s == to - 1)) {
+                        ConcurrentContext.execute(new SupernodalLogic(
+                                symbolic, lower, blocks, start, s + 1));
+                        start = s + 1;
+                        sum = 0;
+                    }
+                }
+            } finally {
+                ConcurrentContext.exit();
+            }
+        }
+    }
+
+    public void run() {
+        for (int s = _from; s < _to; s++) {
+            factorize(_symbolic._schedule[s]);
+        }
+    }
+
+    // Factorizes the supernode J.
+    private void factorize(int J) {
+        final Float64SparseCholeskyDecomposition.Symbolic sym = _symbolic;
+        final int[] rows = sym._rows;
+        final int f = sym._first[J], l = sym._first[J + 1];
+        final int w = l - f;
+        final int r0 = sym._rowPointers[J];
+        final int ld = sym._rowPointers[J + 1] - r0;
+        final double[] F = new double[ld * w];
+
+        // Assembles the columns of A.
+        for (int j = f; j < l; j++) {
+            final int column = (j - f) * ld;
+            for (int q = sym._lowerPointers[j]; q < sym._lowerPointers[j + 1]; q++) {
+                final int t = Arrays.binarySearch(rows, r0, r0 + ld,
+                        sym._lowerIndices[q]) - r0;
+                F[column + t] += _lower[q];
+            }
+        }
+
+        // Updates from the descendants: F -= L_K(p1:, :)·L_K(p1:p2, :)ᵀ
+        for (int u = sym._updatePointers[J]; u < sym._updatePointers[J + 1]; u++) {
+            final int K = sym._updates[u];
+            final int k0 = sym._rowPointers[K];
+            final int ldK = sym._rowPointers[K + 1] - k0;
+            final int wK = sym._first[K + 1] - sym._first[K];
+            int p1 = Arrays.binarySearch(rows, k0 + wK, k0 + ldK, f);
+            p1 = ((p1 < 0) ? -p1 - 1 : p1) - k0;
+            int p2 = Arrays.binarySearch(rows, k0 + p1, k0 + ldK, l);
+            p2 = ((p2 < 0) ? -p2 - 1 : p2) - k0;
+            final int m = ldK - p1; // Rows updated.
+            final int c = p2 - p1; // Columns updated.
+            if (_positions.length < m) {
+                _positions = new int[ldK];
+            }
+            final int[] positions = _positions; // Rows in J.
+            for (int i = 0; i < c; i++) { // Columns of J.
+                positions[i] = rows[k0 + p1 + i] - f;
+            }
+            if ((m - c) * 8 < ld - w) { // Few rows, binary search.
+                for (int i = c; i < m; i++) {
+                    positions[i] = Arrays.binarySearch(rows, r0 + w, r0 + ld,
+                            rows[k0 + p1 + i]) - r0;
+                }
+            } else { // Merge walk (both patterns are sorted).
+                for (int i = c, t = w; i < m; i++) {
+                    final int row = rows[k0 + p1 + i];
+                    while (rows[r0 + t] != row) {
+                        t++;
+                    }
+                    positions[i] = t;
+                }
+            }
+            final double[] LK = _blocks[K];
+            if ((long) m * c * wK < SMALL_UPDATE) { // Direct update.
+                for (int s = 0; s < c; s++) {
+                    final int column = (rows[k0 + p1 + s] - f) * ld;
+                    for (int k = 0; k < wK; k++) {
+                        final int ck = k * ldK + p1;
+                        final double a = LK[ck + s];
+                        if (a == 0)
+                            continue;
+                        for (int i = s; i < m; i++) {
+                            F[column + positions[i]] -= LK[ck + i] * a;
+                        }
+                    }
+                }
+                continue;
+            }
+            final int size = m * c;
+            if (_buffer.length < size) {
+                _buffer = new double[size];
+            } else {
+                Arrays.fill(_buffer, 0, size, 0.0);
+            }
+            final double[] buffer = _buffer;
+            Float64Kernel.gemm(m, wK, c, LK, p1, 1, ldK, LK, p1, ldK, 1,
+                    buffer, 0, c);
+            for (int i = 0; i < m; i++) { // Scatters the lower part.
+                final int t = positions[i];
+                final int count = MathLib.min(i + 1, c);
+                for (int s = 0; s < count; s++) {
+                    F[(rows[k0 + p1 + s] - f) * ld + t] -= buffer[i * c + s];
+                }
+            }
+        }
+
+        // Dense factorization of the supernode columns.
+        for (int j = 0; j < w; j++) {
+            final int cj = j * ld;
+            final double d = F[cj + j];
+            if (!(d > 0))
+                throw new ArithmeticException(
+                        "Matrix is not positive definite");
+            final double ljj = MathLib.sqrt(d);
+            F[cj + j] = ljj;
+            Float64Kernel.scale(ld - j - 1, 1.0 / ljj, F, cj + j + 1, F, cj
+                    + j + 1);
+            for (int k = j + 1; k < w; k++) {
+                Float64Kernel.axpy(ld - k, -F[cj + k], F, cj + k, F, k * ld
+                        + k);
+            }
+        }
+        _blocks[J] = F;
+    }
+}
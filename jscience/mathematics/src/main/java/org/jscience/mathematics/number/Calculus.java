@@ -9,6 +9,7 @@
 package org.jscience.mathematics.number;
 
 import javolution.context.ObjectFactory;
+import javolution.lang.MathLib;
 
 /**
  * <p> This class holds utilities upon arrays of positive <code>long</code>.</p>
@@ -263,6 +264,170 @@ final class Calculus {
         return r;
     }
 
+    /**
+     * Bitwise operations identifiers.
+     */
+    static final int AND = 0, OR = 1, XOR = 2, AND_NOT = 3;
+
+    /**
+     * x op y (single word)
+     * @return the result of the bitwise operation.
+     */
+    static long bitwise(int op, long x, long y) {
+        switch (op) {
+        case AND:
+            return x & y;
+        case OR:
+            return x | y;
+        case XOR:
+            return x ^ y;
+        default:
+            return x & ~y & MASK_63;
+        }
+    }
+
+    /**
+     * x op y (signs)
+     * @return the sign (true if negative) of the bitwise operation result.
+     */
+    static boolean bitwise(int op, boolean x, boolean y) {
+        switch (op) {
+        case AND:
+            return x && y;
+        case OR:
+            return x || y;
+        case XOR:
+            return x != y;
+        default:
+            return x && !y;
+        }
+    }
+
+    /**
+     * Word at index i of the two's-complement representation of
+     * (xNegative ? -x : x), sign extension included.
+     * Preconditions: xLow is the index of the lowest non-zero word of x
+     *                (if xNegative).
+     * @return the two's-complement word (63 bits).
+     */
+    static long twosComplement(long[] x, int xSize, boolean xNegative,
+            int xLow, int i) {
+        if (!xNegative)
+            return (i < xSize) ? x[i] : 0L;
+        if (i < xLow)
+            return 0L; // ~(x - 1) with borrow propagating.
+        if (i == xLow)
+            return (-x[i]) & MASK_63;
+        return (i < xSize) ? ~x[i] & MASK_63 : MASK_63;
+    }
+
+    /**
+     * Index of the lowest non-zero word of x.
+     * Preconditions: x != 0
+     * @return the index of the first non-zero word.
+     */
+    static int lowestWord(long[] x) {
+        int i = 0;
+        while (x[i] == 0) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * z = x op y (two's-complement semantic, operands and result in
+     * sign-magnitude form).
+     * Preconditions: z.length > max(xSize, ySize)
+     * @return z size (magnitude, its sign being bitwise(op, xNeg, yNeg))
+     */
+    static int bitwise(int op, long[] x, int xSize, boolean xNegative,
+            long[] y, int ySize, boolean yNegative, long[] z) {
+        final int n = MathLib.max(xSize, ySize);
+        final int xLow = xNegative ? lowestWord(x) : 0;
+        final int yLow = yNegative ? lowestWord(y) : 0;
+        final boolean zNegative = bitwise(op, xNegative, yNegative);
+        long carry = 1; // Two's-complement to magnitude (z negative).
+        for (int i = 0; i < n; i++) {
+            long w = bitwise(op, twosComplement(x, xSize, xNegative, xLow, i),
+                    twosComplement(y, ySize, yNegative, yLow, i));
+            if (zNegative) {
+                w = (~w & MASK_63) + carry;
+                carry = w >>> 63;
+                w &= MASK_63;
+            }
+            z[i] = w;
+        }
+        if (zNegative && (carry != 0)) {
+            z[n] = carry;
+            return n + 1;
+        }
+        for (int j = n; j > 0;) {
+            if (z[--j] != 0)
+                return j + 1;
+        }
+        return 0;
+    }
+
+    /**
+     * x += 2^n
+     * Preconditions: x.length > max(xSize, n / 63 + 1),
+     *                x[i] = 0 for i >= xSize
+     * @return x size
+     */
+    static int addBit(long[] x, int xSize, int n) {
+        int i = n / 63;
+        long sum = 1L << (n - i * 63);
+        while (true) {
+            sum += x[i];
+            x[i++] = sum & MASK_63;
+            sum >>>= 63;
+            if (sum == 0)
+                return MathLib.max(xSize, i);
+        }
+    }
+
+    /**
+     * x -= 2^n
+     * Preconditions: x >= 2^n
+     * @return x size
+     */
+    static int subtractBit(long[] x, int xSize, int n) {
+        int i = n / 63;
+        long diff = -(1L << (n - i * 63));
+        while (true) {
+            diff += x[i];
+            x[i++] = diff & MASK_63;
+            diff >>= 63; // Equals to -1 if borrow.
+            if (diff == 0)
+                break;
+        }
+        while ((xSize > 0) && (x[xSize - 1] == 0)) {
+            xSize--;
+        }
+        return xSize;
+    }
+
+    /**
+     * Population count of x (number of bits set).
+     * @return the number of one-bits in x[0..size[
+     */
+    static int bitCount(long[] x, int size) {
+        // Long.bitCount is intrinsified (POPCNT) by the JIT; independent
+        // accumulators let consecutive words be counted in parallel.
+        int c0 = 0, c1 = 0, c2 = 0, c3 = 0;
+        int i = 0;
+        for (final int end = size - 3; i < end; i += 4) {
+            c0 += Long.bitCount(x[i]);
+            c1 += Long.bitCount(x[i + 1]);
+            c2 += Long.bitCount(x[i + 2]);
+            c3 += Long.bitCount(x[i + 3]);
+        }
+        for (; i < size; i++) {
+            c0 += Long.bitCount(x[i]);
+        }
+        return c0 + c1 + c2 + c3;
+    }
+
     /**
      * Multiplication logic (for concurrent context)
      */
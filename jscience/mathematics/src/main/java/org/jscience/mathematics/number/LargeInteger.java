@@ -18,6 +18,7 @@ import javolution.context.ObjectFactory;
 import javolution.context.StackContext;
 import javolution.lang.Configurable;
 import javolution.lang.MathLib;
+import javolution.lang.Reusable;
 import javolution.text.Text;
 import javolution.text.TextBuilder;
 import javolution.text.TextFormat;
@@ -379,6 +380,32 @@ public final class LargeInteger extends Number<LargeInteger> {
         return LargeInteger.valueOf(bytes, 0, bytes.length);
     }
 
+    /**
+     * Returns a random large integer in range <code>[0, 2<sup>numBits</sup>[
+     * </code> (words filled directly from the specified generator).
+     *
+     * @param  random the random generator.
+     * @param  numBits the maximum bit length (positive).
+     * @return the corresponding random large integer.
+     */
+    static LargeInteger random(RandomGenerator random, int numBits) {
+        if (numBits == 0)
+            return LargeInteger.ZERO;
+        final int size = (numBits + 62) / 63;
+        LargeInteger li = ARRAY_FACTORY.array(size);
+        for (int i = 0; i < size; i++) {
+            li._words[i] = random.nextLong() & MASK_63;
+        }
+        li._words[size - 1] >>>= size * 63 - numBits; // Extra bits.
+        int n = size;
+        while ((n > 0) && (li._words[n - 1] == 0)) {
+            n--;
+        }
+        li._size = n;
+        li._isNegative = false;
+        return li;
+    }
+
     /**
      * Indicates if this large integer is equal to {@link #ZERO}.
      *
@@ -490,15 +517,166 @@ public final class LargeInteger extends Number<LargeInteger> {
     public int getLowestSetBit() {
         if (_size == 0)
             return -1;
-        for (int i = 0;; i++) {
-            long w = _words[i];
-            if (w == 0)
-                continue;
-            for (int j = 0;; j++) {
-                if (((1L << j) & w) != 0)
-                    return i * 63 + j;
-            }
+        final int i = Calculus.lowestWord(_words);
+        return i * 63 + Long.numberOfTrailingZeros(_words[i]);
+    }
+
+    /**
+     * Indicates if the specified bit is set in the two's-complement
+     * representation of this large integer (sign extended).
+     *
+     * @param n the index of the bit to test.
+     * @return <code>(this &amp; (1 &lt;&lt; n)) != 0</code>
+     * @throws ArithmeticException if <code>n &lt; 0</code>
+     */
+    public boolean testBit(int n) {
+        if (n < 0)
+            throw new ArithmeticException("Negative bit index");
+        final int i = n / 63;
+        final int low = _isNegative ? Calculus.lowestWord(_words) : 0;
+        final long w = Calculus.twosComplement(_words, _size, _isNegative,
+                low, i);
+        return ((w >>> (n - i * 63)) & 1) != 0;
+    }
+
+    /**
+     * Returns this large integer with the specified bit set.
+     *
+     * @param n the index of the bit to set.
+     * @return <code>this | (1 &lt;&lt; n)</code>
+     * @throws ArithmeticException if <code>n &lt; 0</code>
+     */
+    public LargeInteger setBit(int n) {
+        if (testBit(n))
+            return this;
+        return plusBit(n, !_isNegative); // this + 2^n
+    }
+
+    /**
+     * Returns this large integer with the specified bit cleared.
+     *
+     * @param n the index of the bit to clear.
+     * @return <code>this &amp; ~(1 &lt;&lt; n)</code>
+     * @throws ArithmeticException if <code>n &lt; 0</code>
+     */
+    public LargeInteger clearBit(int n) {
+        if (!testBit(n))
+            return this;
+        return plusBit(n, _isNegative); // this - 2^n
+    }
+
+    /**
+     * Returns this large integer with the specified bit flipped.
+     *
+     * @param n the index of the bit to flip.
+     * @return <code>this ^ (1 &lt;&lt; n)</code>
+     * @throws ArithmeticException if <code>n &lt; 0</code>
+     */
+    public LargeInteger flipBit(int n) {
+        return testBit(n) ? plusBit(n, _isNegative) : plusBit(n, !_isNegative);
+    }
+
+    // Adds (or subtracts) 2^n to the magnitude. Setting a cleared bit in
+    // two's-complement adds 2^n to the value (clearing subtracts 2^n) 
+    // without ever changing the sign.
+    private LargeInteger plusBit(int n, boolean add) {
+        final int capacity = MathLib.max(_size, n / 63 + 1) + 1;
+        LargeInteger li = ARRAY_FACTORY.array(capacity);
+        System.arraycopy(_words, 0, li._words, 0, _size);
+        for (int i = _size; i < capacity; i++) {
+            li._words[i] = 0;
+        }
+        li._size = add ? Calculus.addBit(li._words, _size, n) : Calculus
+                .subtractBit(li._words, _size, n);
+        li._isNegative = _isNegative && (li._size != 0);
+        return li;
+    }
+
+    /**
+     * Returns the number of bits in the two's-complement representation
+     * of this large integer that differ from its sign bit (population count
+     * for positive numbers).
+     *
+     * @return the number of bits different from the sign bit.
+     */
+    public int bitCount() {
+        final int count = Calculus.bitCount(_words, _size);
+        // For negative numbers, bitCount(~(|x| - 1)) = bitCount(|x| - 1)
+        return _isNegative ? count - 1 + getLowestSetBit() : count;
+    }
+
+    /**
+     * Returns the bitwise AND of this large integer with the one specified 
+     * (two's-complement semantic).
+     *
+     * @param that the large integer to combine with.
+     * @return <code>this &amp; that</code>
+     */
+    public LargeInteger and(LargeInteger that) {
+        return bitwise(Calculus.AND, that);
+    }
+
+    /**
+     * Returns the bitwise OR of this large integer with the one specified 
+     * (two's-complement semantic).
+     *
+     * @param that the large integer to combine with.
+     * @return <code>this | that</code>
+     */
+    public LargeInteger or(LargeInteger that) {
+        return bitwise(Calculus.OR, that);
+    }
+
+    /**
+     * Returns the bitwise XOR of this large integer with the one specified 
+     * (two's-complement semantic).
+     *
+     * @param that the large integer to combine with.
+     * @return <code>this ^ that</code>
+     */
+    public LargeInteger xor(LargeInteger that) {
+        return bitwise(Calculus.XOR, that);
+    }
+
+    /**
+     * Returns the bitwise AND of this large integer with the complement of
+     * the one specified (two's-complement semantic).
+     *
+     * @param that the large integer to complement and combine with.
+     * @return <code>this &amp; ~that</code>
+     */
+    public LargeInteger andNot(LargeInteger that) {
+        return bitwise(Calculus.AND_NOT, that);
+    }
+
+    /**
+     * Returns the bitwise complement of this large integer
+     * (two's-complement semantic).
+     *
+     * @return <code>~this</code> (equivalent to <code>-this - 1</code>)
+     */
+    public LargeInteger not() {
+        LargeInteger li = ARRAY_FACTORY.array(_size + 1);
+        if (_isNegative) { // ~x = |x| - 1
+            li._size = Calculus.subtract(_words, _size, ONE._words, 1,
+                    li._words);
+            li._isNegative = false;
+        } else { // ~x = -(x + 1)
+            System.arraycopy(_words, 0, li._words, 0, _size);
+            li._words[_size] = 0;
+            li._size = Calculus.add(li._words, MathLib.max(_size, 1), 1L);
+            li._isNegative = true;
         }
+        return li;
+    }
+
+    private LargeInteger bitwise(int op, LargeInteger that) {
+        LargeInteger li = ARRAY_FACTORY.array(MathLib.max(_size, that._size) + 1);
+        li._size = Calculus.bitwise(op, _words, _size, _isNegative,
+                that._words, that._size, that._isNegative, li._words);
+        li._isNegative = Calculus.bitwise(op, _isNegative, that._isNegative)
+                && (li._size != 0);
+        return li;
     }
 
     /**
@@ -1410,6 +1588,288 @@ public final class LargeInteger extends Number<LargeInteger> {
             return out;
         }
     }
+
+    /**
+     * <p> This class represents a mutable large integer for in-place bitwise
+     *     operations. Values are held in two's-complement form, bit 
+     *     operations do not allocate (besides capacity increase) and the 
+     *     resulting {@link LargeInteger} is created only when 
+     *     {@link #toLargeInteger} is called. For example:[code]
+     *         LargeInteger.Builder bits = new LargeInteger.Builder();
+     *         for (int i : indices) {
+     *             bits.setBit(i);
+     *         }
+     *         LargeInteger set = bits.and(mask).toLargeInteger();
+     *     [/code]</p>
+     *
+     * <p> Instances of this class are not thread-safe.</p>
+     */
+    public static final class Builder implements Reusable {
+
+        /**
+         * Holds the two's-complement words (63 bits, least significant
+         * first); words at index greater or equal to <code>_size</code>
+         * are the sign extension.
+         */
+        private long[] _words;
+
+        /**
+         * Holds the number of significant words.
+         */
+        private int _size;
+
+        /**
+         * Indicates if the value is negative (sign extension).
+         */
+        private boolean _isNegative;
+
+        /**
+         * Creates a builder holding the value zero.
+         */
+        public Builder() {
+            _words = new long[4];
+        }
+
+        /**
+         * Creates a builder holding the specified value.
+         *
+         * @param value the initial value.
+         */
+        public Builder(LargeInteger value) {
+            _words = new long[MathLib.max(value._size, 4)];
+            set(value);
+        }
+
+        /**
+         * Sets the value of this builder.
+         *
+         * @param value the new value.
+         * @return <code>this</code>
+         */
+        public Builder set(LargeInteger value) {
+            ensureCapacity(value._size);
+            final int low = value._isNegative ? Calculus
+                    .lowestWord(value._words) : 0;
+            for (int i = 0; i < value._size; i++) {
+                _words[i] = Calculus.twosComplement(value._words,
+                        value._size, value._isNegative, low, i);
+            }
+            _size = value._size;
+            _isNegative = value._isNegative;
+            return this;
+        }
+
+        /**
+         * Performs <code>this &amp;= that</code>.
+         *
+         * @param that the large integer to combine with.
+         * @return <code>this</code>
+         */
+        public Builder and(LargeInteger that) {
+            return bitwise(Calculus.AND, that);
+        }
+
+        /**
+         * Performs <code>this |= that</code>.
+         *
+         * @param that the large integer to combine with.
+         * @return <code>this</code>
+         */
+        public Builder or(LargeInteger that) {
+            return bitwise(Calculus.OR, that);
+        }
+
+        /**
+         * Performs <code>this ^= that</code>.
+         *
+         * @param that the large integer to combine with.
+         * @return <code>this</code>
+         */
+        public Builder xor(LargeInteger that) {
+            return bitwise(Calculus.XOR, that);
+        }
+
+        /**
+         * Performs <code>this &amp;= ~that</code>.
+         *
+         * @param that the large integer to complement and combine with.
+         * @return <code>this</code>
+         */
+        public Builder andNot(LargeInteger that) {
+            return bitwise(Calculus.AND_NOT, that);
+        }
+
+        /**
+         * Performs <code>this = ~this</code>.
+         *
+         * @return <code>this</code>
+         */
+        public Builder not() {
+            for (int i = 0; i < _size; i++) {
+                _words[i] = ~_words[i] & MASK_63;
+            }
+            _isNegative = !_isNegative;
+            return this;
+        }
+
+        /**
+         * Indicates if the specified bit is set (sign extended).
+         *
+         * @param n the index of the bit to test.
+         * @return <code>(this &amp; (1 &lt;&lt; n)) != 0</code>
+         * @throws ArithmeticException if <code>n &lt; 0</code>
+         */
+        public boolean testBit(int n) {
+            if (n < 0)
+                throw new ArithmeticException("Negative bit index");
+            final int i = n / 63;
+            final long w = (i < _size) ? _words[i] : _isNegative ? MASK_63
+                    : 0L;
+            return ((w >>> (n - i * 63)) & 1) != 0;
+        }
+
+        /**
+         * Sets the specified bit.
+         *
+         * @param n the index of the bit to set.
+         * @return <code>this</code>
+         * @throws ArithmeticException if <code>n &lt; 0</code>
+         */
+        public Builder setBit(int n) {
+            if (testBit(n))
+                return this;
+            final int i = extend(n);
+            _words[i] |= 1L << (n - i * 63);
+            return this;
+        }
+
+        /**
+         * Clears the specified bit.
+         *
+         * @param n the index of the bit to clear.
+         * @return <code>this</code>
+         * @throws ArithmeticException if <code>n &lt; 0</code>
+         */
+        public Builder clearBit(int n) {
+            if (!testBit(n))
+                return this;
+            final int i = extend(n);
+            _words[i] &= ~(1L << (n - i * 63));
+            return this;
+        }
+
+        /**
+         * Flips the specified bit.
+         *
+         * @param n the index of the bit to flip.
+         * @return <code>this</code>
+         * @throws ArithmeticException if <code>n &lt; 0</code>
+         */
+        public Builder flipBit(int n) {
+            return testBit(n) ? clearBit(n) : setBit(n);
+        }
+
+        /**
+         * Returns the number of bits different from the sign bit.
+         *
+         * @return the population count of this value (or of its complement
+         *         if negative).
+         */
+        public int bitCount() {
+            final int count = Calculus.bitCount(_words, _size);
+            return _isNegative ? _size * 63 - count : count;
+        }
+
+        /**
+         * Indicates if the value of this builder is negative.
+         *
+         * @return <code>true</code> if negative; <code>false</code> 
+         *         otherwise.
+         */
+        public boolean isNegative() {
+            return _isNegative;
+        }
+
+        /**
+         * Returns the large integer value of this builder.
+         *
+         * @return the current value as a large integer.
+         */
+        public LargeInteger toLargeInteger() {
+            LargeInteger li = ARRAY_FACTORY.array(_size + 1);
+            long carry = 1; // Magnitude of negative: ~w + 1
+            for (int i = 0; i < _size; i++) {
+                long w = _words[i];
+                if (_isNegative) {
+                    w = (~w & MASK_63) + carry;
+                    carry = w >>> 63;
+                    w &= MASK_63;
+                }
+                li._words[i] = w;
+            }
+            int size = _size;
+            if (_isNegative && (carry != 0)) {
+                li._words[size++] = carry;
+            }
+            while ((size > 0) && (li._words[size - 1] == 0)) {
+                size--;
+            }
+            li._size = size;
+            li._isNegative = _isNegative;
+            return li;
+        }
+
+        // Implements Reusable.
+        public void reset() {
+            _size = 0;
+            _isNegative = false;
+        }
+
+        // Ensures that the word holding bit n is significant.
+        private int extend(int n) {
+            final int i = n / 63;
+            if (i >= _size) {
+                ensureCapacity(i + 1);
+                final long ext = _isNegative ? MASK_63 : 0L;
+                for (int j = _size; j <= i; j++) {
+                    _words[j] = ext;
+                }
+                _size = i + 1;
+            }
+            return i;
+        }
+
+        private Builder bitwise(int op, LargeInteger that) {
+            final int n = MathLib.max(_size, that._size);
+            ensureCapacity(n);
+            final long ext = _isNegative ? MASK_63 : 0L;
+            final int low = that._isNegative ? Calculus
+                    .lowestWord(that._words) : 0;
+            for (int i = 0; i < n; i++) {
+                final long w = (i < _size) ? _words[i] : ext;
+                _words[i] = Calculus.bitwise(op, w, Calculus.twosComplement(
+                        that._words, that._size, that._isNegative, low, i));
+            }
+            _isNegative = Calculus.bitwise(op, _isNegative, that._isNegative);
+            // Trims words equal to the sign extension.
+            final long newExt = _isNegative ? MASK_63 : 0L;
+            int size = n;
+            while ((size > 0) && (_words[size - 1] == newExt)) {
+                size--;
+            }
+            _size = size;
+            return this;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= _words.length)
+                return;
+            long[] tmp = new long[MathLib.max(capacity, _words.length * 2)];
+            System.arraycopy(_words, 0, tmp, 0, _size);
+            _words = tmp;
+        }
+    }
+
     private static final long serialVersionUID = 1L;
 
 }
@@ -0,0 +1,340 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.number;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import javolution.lang.MathLib;
+
+/**
+ * <p> This class represents a splittable pseudo-random generator
+ *     (SplitMix64 algorithm) for numbers of arbitrary size.</p>
+ *
+ * <p> Unlike <code>java.util.Random</code>, instances of this class are
+ *     not synchronized; concurrent tasks should each use their own
+ *     generator obtained through {@link #split}. Splitting is
+ *     deterministic: generators split in the same order from generators
+ *     having the same seed produce the same sequences, which makes parallel
+ *     computations reproducible independently of the number of threads.
+ *     [code]
+ *         RandomGenerator random = new RandomGenerator(12345L);
+ *         RandomGenerator forTask1 = random.split();
+ *         RandomGenerator forTask2 = random.split();
+ *     [/code]</p>
+ *
+ * <p> Large integers are generated by filling their words directly
+ *     (no intermediate <code>byte[]</code> or <code>BigInteger</code>).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/Pseudorandom_number_generator">
+ *      Wikipedia: Pseudorandom Number Generator</a>
+ */
+public final class RandomGenerator {
+
+    /**
+     * Holds the default gamma (odd, golden ratio based).
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Holds the seed generator for default instances.
+     */
+    private static final AtomicLong DEFAULT_SEED = new AtomicLong(mix64(System
+            .currentTimeMillis())
+            ^ mix64(System.nanoTime()));
+
+    /**
+     * Holds the double unit (2<sup>-53</sup>).
+     */
+    private static final double DOUBLE_UNIT = 1.0 / (1L << 53);
+
+    /**
+     * Holds the current seed.
+     */
+    private long _seed;
+
+    /**
+     * Holds the seed increment (odd).
+     */
+    private final long _gamma;
+
+    /**
+     * Holds the next gaussian value (polar method generates two values).
+     */
+    private double _nextGaussian;
+
+    /**
+     * Indicates if the next gaussian value is available.
+     */
+    private boolean _hasNextGaussian;
+
+    /**
+     * Creates a generator with the specified seed (generators created with
+     * the same seed produce the same sequences).
+     *
+     * @param seed the initial seed.
+     */
+    public RandomGenerator(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    /**
+     * Creates a generator whose seed is likely to be different from
+     * any other generator created in the current virtual machine.
+     */
+    public RandomGenerator() {
+        this(DEFAULT_SEED.getAndAdd(2 * GOLDEN_GAMMA), GOLDEN_GAMMA);
+    }
+
+    private RandomGenerator(long seed, long gamma) {
+        _seed = seed;
+        _gamma = gamma;
+    }
+
+    /**
+     * Returns a new generator independent from this one (sharing no
+     * state); this generator is advanced.
+     *
+     * @return a new generator for use by a concurrent task.
+     */
+    public RandomGenerator split() {
+        return new RandomGenerator(nextLong(), mixGamma(nextSeed()));
+    }
+
+    /**
+     * Returns a uniformly distributed <code>long</code> value.
+     *
+     * @return the next pseudo-random <code>long</code>.
+     */
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    /**
+     * Returns a uniformly distributed <code>long</code> value in range
+     * <code>[0, bound[</code>.
+     *
+     * @param bound the exclusive upper bound (positive).
+     * @return the next pseudo-random <code>long</code> less than
+     *         <code>bound</code>.
+     * @throws IllegalArgumentException if <code>bound &lt;= 0</code>
+     */
+    public long nextLong(long bound) {
+        if (bound <= 0)
+            throw new IllegalArgumentException("bound: " + bound
+                    + " must be positive");
+        final long m = bound - 1;
+        long r = nextLong();
+        if ((bound & m) == 0L) // Power of two.
+            return r & m;
+        // Rejection sampling (unbiased).
+        for (long u = r >>> 1; u + m - (r = u % bound) < 0L; u = nextLong() >>> 1) {
+        }
+        return r;
+    }
+
+    /**
+     * Returns a uniformly distributed <code>int</code> value.
+     *
+     * @return the next pseudo-random <code>int</code>.
+     */
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * Returns a uniformly distributed <code>int</code> value in range
+     * <code>[0, bound[</code>.
+     *
+     * @param bound the exclusive upper bound (positive).
+     * @return the next pseudo-random <code>int</code> less than
+     *         <code>bound</code>.
+     * @throws IllegalArgumentException if <code>bound &lt;= 0</code>
+     */
+    public int nextInt(int bound) {
+        return (int) nextLong(bound);
+    }
+
+    /**
+     * Returns a uniformly distributed <code>double</code> value in range
+     * <code>[0, 1[</code>.
+     *
+     * @return the next pseudo-random <code>double</code>.
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * Returns a uniformly distributed <code>double</code> value in range
+     * <code>[min, max[</code>.
+     *
+     * @param min the inclusive lower bound.
+     * @param max the exclusive upper bound.
+     * @return the next pseudo-random <code>double</code> in the specified
+     *         range.
+     */
+    public double nextDouble(double min, double max) {
+        double r = min + nextDouble() * (max - min);
+        return (r < max) ? r : min; // Rounding.
+    }
+
+    /**
+     * Returns a normally distributed <code>double</code> value (mean
+     * <code>0.0</code>, standard deviation <code>1.0</code>).
+     *
+     * @return the next pseudo-random gaussian value.
+     */
+    public double nextGaussian() {
+        if (_hasNextGaussian) {
+            _hasNextGaussian = false;
+            return _nextGaussian;
+        }
+        double v1, v2, s;
+        do { // Marsaglia polar method.
+            v1 = 2 * nextDouble() - 1;
+            v2 = 2 * nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while ((s >= 1) || (s == 0));
+        double multiplier = MathLib.sqrt(-2 * MathLib.log(s) / s);
+        _nextGaussian = v2 * multiplier;
+        _hasNextGaussian = true;
+        return v1 * multiplier;
+    }
+
+    /**
+     * Fills the specified array with values uniformly distributed in range
+     * <code>[min, max[</code>.
+     *
+     * @param values the array to fill.
+     * @param offset the index of the first element to set.
+     * @param length the number of elements to set.
+     * @param min the inclusive lower bound.
+     * @param max the exclusive upper bound.
+     */
+    public void nextDoubles(double[] values, int offset, int length,
+            double min, double max) {
+        final double range = max - min;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            double r = min + ((mix64(nextSeed()) >>> 11) * DOUBLE_UNIT)
+                    * range;
+            values[i] = (r < max) ? r : min;
+        }
+    }
+
+    /**
+     * Fills the specified array with normally distributed values.
+     *
+     * @param values the array to fill.
+     * @param offset the index of the first element to set.
+     * @param length the number of elements to set.
+     * @param mean the mean of the distribution.
+     * @param standardDeviation the standard deviation of the distribution.
+     */
+    public void nextGaussians(double[] values, int offset, int length,
+            double mean, double standardDeviation) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            values[i] = mean + nextGaussian() * standardDeviation;
+        }
+    }
+
+    /**
+     * Returns a large integer uniformly distributed in range
+     * <code>[0, 2<sup>numBits</sup>[</code>.
+     *
+     * @param numBits the maximum bit length of the large integer.
+     * @return the next pseudo-random large integer.
+     * @throws IllegalArgumentException if <code>numBits &lt; 0</code>
+     */
+    public LargeInteger nextLargeInteger(int numBits) {
+        if (numBits < 0)
+            throw new IllegalArgumentException("numBits: " + numBits
+                    + " must be positive");
+        return LargeInteger.random(this, numBits);
+    }
+
+    /**
+     * Returns a large integer uniformly distributed in range
+     * <code>[0, bound[</code>.
+     *
+     * @param bound the exclusive upper bound (positive).
+     * @return the next pseudo-random large integer less than
+     *         <code>bound</code>.
+     * @throws IllegalArgumentException if <code>bound &lt;= 0</code>
+     */
+    public LargeInteger nextLargeInteger(LargeInteger bound) {
+        if (!bound.isPositive())
+            throw new IllegalArgumentException("bound: " + bound
+                    + " must be positive");
+        final int numBits = bound.bitLength();
+        while (true) { // Rejection sampling, less than two tries on average.
+            LargeInteger li = LargeInteger.random(this, numBits);
+            if (li.isLessThan(bound))
+                return li;
+        }
+    }
+
+    /**
+     * Returns a rational number uniformly distributed in range
+     * <code>[0, 1[</code> having a divisor power of two.
+     *
+     * @param numBits the number of random bits (divisor less or equal to
+     *        <code>2<sup>numBits</sup></code>).
+     * @return the next pseudo-random rational number.
+     * @throws IllegalArgumentException if <code>numBits &lt; 0</code>
+     */
+    public Rational nextRational(int numBits) {
+        return Rational.valueOf(nextLargeInteger(numBits), LargeInteger.ONE
+                .shiftLeft(numBits));
+    }
+
+    /**
+     * Returns a rational number whose dividend is uniformly distributed
+     * in range <code>]-dividendBound, dividendBound[</code> and whose
+     * divisor is uniformly distributed in range
+     * <code>[1, divisorBound]</code> (before normalization).
+     *
+     * @param dividendBound the exclusive bound of the dividend magnitude.
+     * @param divisorBound the inclusive upper bound of the divisor.
+     * @return the next pseudo-random rational number.
+     * @throws IllegalArgumentException if any bound is not positive.
+     */
+    public Rational nextRational(LargeInteger dividendBound,
+            LargeInteger divisorBound) {
+        LargeInteger dividend = nextLargeInteger(dividendBound);
+        if ((nextLong() & 1) != 0) {
+            dividend = dividend.opposite();
+        }
+        LargeInteger divisor = nextLargeInteger(divisorBound).plus(
+                LargeInteger.ONE);
+        return Rational.valueOf(dividend, divisor);
+    }
+
+    private long nextSeed() {
+        return _seed += _gamma;
+    }
+
+    // Stafford variant 13 of the 64 bits MurmurHash3 finalizer.
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    // Returns an odd gamma with enough bit transitions.
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+
+}
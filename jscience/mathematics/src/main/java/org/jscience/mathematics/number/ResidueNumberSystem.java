@@ -0,0 +1,552 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.number;
+
+import javolution.context.ConcurrentContext;
+import javolution.context.LocalContext;
+import javolution.context.StackContext;
+import javolution.lang.Immutable;
+import javolution.lang.MathLib;
+
+/**
+ * <p> This class represents a residue number system, a set of pairwise
+ *     coprime word-sized moduli <code>m<sub>i</sub></code> in which an integer
+ *     is represented by its residues <code>x mod m<sub>i</sub></code>.</p>
+ *
+ * <p> Exact computations over {@link LargeInteger} (determinants, resultants,
+ *     ...) can be performed independently modulo each prime (concurrently)
+ *     and the exact result recovered using the Chinese Remainder Theorem.
+ *     For example:[code]
+ *         // Enough primes to hold any integer of 4096 bits (sign included).
+ *         ResidueNumberSystem rns = ResidueNumberSystem.valueOfBitLength(4096);
+ *         long[] residues = rns.evaluate(new ResidueNumberSystem.Computation() {
+ *             public long evaluate(long modulus) {
+ *                 // ModuloInteger.getModulus() is set to modulus here.
+ *                 return DenseMatrix.valueOf(elements).determinant().longValue();
+ *             }
+ *         });
+ *         LargeInteger det = rns.toLargeInteger(residues);
+ *     [/code]</p>
+ *
+ * <p> Conversions in both directions are performed using product and
+ *     remainder trees; their cost is <code>O(M(n)·log(n))</code> with
+ *     <code>M(n)</code> the cost of multiplying two {@link LargeInteger}
+ *     of <code>n</code> words (instead of <code>O(n²)</code> for the
+ *     classic incremental algorithm).</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see <a href="http://en.wikipedia.org/wiki/Residue_number_system">
+ *      Wikipedia: Residue Number System</a>
+ * @see <a href="http://en.wikipedia.org/wiki/Chinese_remainder_theorem">
+ *      Wikipedia: Chinese Remainder Theorem</a>
+ */
+public final class ResidueNumberSystem implements Immutable {
+
+    /**
+     * Holds the maximum bit length of the moduli (the product of two
+     * residues fits in a <code>long</code>).
+     */
+    public static final int MODULUS_BIT_LENGTH = 31;
+
+    /**
+     * Holds the exclusive upper bound of the moduli.
+     */
+    private static final long MODULUS_LIMIT = 1L << MODULUS_BIT_LENGTH;
+
+    /**
+     * Holds the moduli.
+     */
+    private final long[] _moduli;
+
+    /**
+     * Holds the product tree (leaves at level 0, product of all moduli
+     * at the last level).
+     */
+    private final LargeInteger[][] _productTree;
+
+    /**
+     * Holds the CRT weights <code>(M / m<sub>i</sub>)<sup>-1</sup> mod
+     * m<sub>i</sub></code>.
+     */
+    private final long[] _weights;
+
+    /**
+     * Holds half the product of the moduli (for signed reconstruction).
+     */
+    private final LargeInteger _halfProduct;
+
+    /**
+     * Creates a residue number system for the specified moduli.
+     *
+     * @param moduli the pairwise coprime moduli.
+     */
+    private ResidueNumberSystem(long[] moduli) {
+        _moduli = moduli;
+        _productTree = productTree(moduli);
+        _weights = weights(moduli, _productTree);
+        _halfProduct = getProduct().shiftRight(1);
+    }
+
+    /**
+     * Returns the residue number system having the specified moduli.
+     *
+     * @param  moduli the pairwise coprime moduli.
+     * @return the corresponding residue number system.
+     * @throws IllegalArgumentException if a modulus is not in range
+     *         <code>]1, 2<sup>31</sup>[</code> or if the moduli are not
+     *         pairwise coprime.
+     */
+    public static ResidueNumberSystem valueOf(long... moduli) {
+        if (moduli.length == 0)
+            throw new IllegalArgumentException("At least one modulus required");
+        for (int i = 0; i < moduli.length; i++) {
+            if ((moduli[i] <= 1) || (moduli[i] >= MODULUS_LIMIT))
+                throw new IllegalArgumentException("modulus: " + moduli[i]
+                        + " has to be in range ]1, 2^31[");
+        }
+        return new ResidueNumberSystem(moduli.clone());
+    }
+
+    /**
+     * Returns a residue number system made of the largest primes
+     * less than <code>2<sup>31</sup></code> and able to represent any
+     * signed integer of the specified bit length (sign excluded).
+     *
+     * @param  bitLength the maximum bit length of the integers to represent.
+     * @return the corresponding residue number system.
+     */
+    public static ResidueNumberSystem valueOfBitLength(int bitLength) {
+        // Each prime is greater than 2^30, one extra bit for the sign.
+        int count = (bitLength + 1) / 30 + 1;
+        return new ResidueNumberSystem(primesBelow(MODULUS_LIMIT, count));
+    }
+
+    /**
+     * Returns the specified number of largest primes strictly less than
+     * the specified bound (in decreasing order).
+     *
+     * @param  bound the exclusive upper bound (maximum
+     *         <code>2<sup>31</sup></code>).
+     * @param  count the number of primes to return.
+     * @return the primes table.
+     * @throws IllegalArgumentException if <code>bound &gt; 2<sup>31</sup>
+     *         </code> or if there is less than <code>count</code> primes
+     *         below the specified bound.
+     */
+    public static long[] primesBelow(long bound, int count) {
+        if (bound > MODULUS_LIMIT)
+            throw new IllegalArgumentException("bound: " + bound
+                    + " is greater than 2^31");
+        long[] primes = new long[count];
+        int i = 0;
+        long n = ((bound & 1) == 0) ? bound - 1 : bound - 2; // Odd only.
+        for (; (i < count) && (n >= 3); n -= 2) {
+            if (isPrime(n)) {
+                primes[i++] = n;
+            }
+        }
+        if ((i < count) && (bound > 2)) {
+            primes[i++] = 2;
+        }
+        if (i < count)
+            throw new IllegalArgumentException("Only " + i
+                    + " primes found below " + bound);
+        return primes;
+    }
+
+    /**
+     * Deterministic Miller-Rabin test (exact for <code>n &lt; 2<sup>32</sup>
+     * </code> using the bases 2, 7 and 61).
+     */
+    static boolean isPrime(long n) {
+        if (n < 2)
+            return false;
+        if ((n & 1) == 0)
+            return n == 2;
+        if (n % 3 == 0)
+            return n == 3;
+        long d = n - 1;
+        int s = 0;
+        while ((d & 1) == 0) {
+            d >>= 1;
+            s++;
+        }
+        return isStrongProbablePrime(n, d, s, 2)
+                && isStrongProbablePrime(n, d, s, 7)
+                && isStrongProbablePrime(n, d, s, 61);
+    }
+
+    private static boolean isStrongProbablePrime(long n, long d, int s, long a) {
+        a %= n;
+        if (a == 0)
+            return true;
+        long x = modPow(a, d, n);
+        if ((x == 1) || (x == n - 1))
+            return true;
+        for (int r = 1; r < s; r++) {
+            x = (x * x) % n;
+            if (x == n - 1)
+                return true;
+        }
+        return false;
+    }
+
+    private static long modPow(long a, long exp, long m) {
+        long result = 1;
+        for (long pow2 = a; exp != 0; exp >>>= 1) {
+            if ((exp & 1) != 0) {
+                result = (result * pow2) % m;
+            }
+            pow2 = (pow2 * pow2) % m;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of moduli of this residue number system.
+     *
+     * @return the number of residues per integer.
+     */
+    public int getNumberOfModuli() {
+        return _moduli.length;
+    }
+
+    /**
+     * Returns the modulus at the specified index.
+     *
+     * @param  i the modulus index.
+     * @return <code>m<sub>i</sub></code>
+     */
+    public long getModulus(int i) {
+        return _moduli[i];
+    }
+
+    /**
+     * Returns the product of all the moduli (dynamic range of this
+     * residue number system).
+     *
+     * @return <code>M = m<sub>0</sub>·m<sub>1</sub>···m<sub>n-1</sub></code>
+     */
+    public LargeInteger getProduct() {
+        return _productTree[_productTree.length - 1][0];
+    }
+
+    /**
+     * Returns the residues of the specified large integer (remainder tree).
+     *
+     * @param  value the large integer to convert.
+     * @return <code>value mod m<sub>i</sub></code> (positive residues).
+     */
+    public long[] residuesOf(LargeInteger value) {
+        final int levels = _productTree.length;
+        LargeInteger[] remainders = new LargeInteger[] { reduce(value,
+                _productTree[levels - 1][0]) };
+        for (int l = levels - 2; l >= 0; l--) {
+            LargeInteger[] nodes = _productTree[l];
+            LargeInteger[] tmp = new LargeInteger[nodes.length];
+            for (int k = 0; k < nodes.length; k++) {
+                LargeInteger parent = remainders[k >> 1];
+                tmp[k] = parent.isLessThan(nodes[k]) ? parent : reduce(
+                        parent, nodes[k]);
+            }
+            remainders = tmp;
+        }
+        long[] residues = new long[_moduli.length];
+        for (int i = 0; i < residues.length; i++) {
+            residues[i] = remainders[i].longValue();
+        }
+        return residues;
+    }
+
+    /**
+     * Evaluates the specified computation modulo each modulus of this
+     * residue number system. The evaluations are performed concurrently
+     * (see {@link ConcurrentContext}), each one within its own
+     * {@link LocalContext} with the {@link ModuloInteger#setModulus
+     * local modulus} set to the current modulus.
+     *
+     * @param  computation the computation to perform.
+     * @return the residues of the computation result (positive).
+     */
+    public long[] evaluate(Computation computation) {
+        final int n = _moduli.length;
+        final long[] residues = new long[n];
+        final int concurrency = ConcurrentContext.getConcurrency() + 1;
+        final int blockSize = (n + concurrency - 1) / concurrency;
+        ConcurrentContext.enter();
+        try {
+            for (int start = 0; start < n; start += blockSize) {
+                ConcurrentContext.execute(new EvaluateLogic(computation,
+                        _moduli, residues, start, MathLib.min(start
+                                + blockSize, n)));
+            }
+        } finally {
+            ConcurrentContext.exit(); // Waits for completion.
+        }
+        return residues;
+    }
+
+    /**
+     * Returns the integer in range <code>[0, M[</code> having the specified
+     * residues (Chinese Remainder Theorem).
+     *
+     * @param  residues the residues modulo each modulus.
+     * @return the positive integer having the specified residues.
+     * @throws IllegalArgumentException if the number of residues is not
+     *         equal to the number of moduli.
+     */
+    public LargeInteger combine(long[] residues) {
+        final int n = _moduli.length;
+        if (residues.length != n)
+            throw new IllegalArgumentException("Found " + residues.length
+                    + " residues, but " + n + " required");
+        // x = sum(c_i · M / m_i) with c_i = r_i · (M / m_i)^-1 mod m_i
+        LargeInteger[] values = new LargeInteger[n];
+        for (int i = 0; i < n; i++) {
+            long m = _moduli[i];
+            long r = residues[i] % m;
+            if (r < 0) {
+                r += m;
+            }
+            values[i] = LargeInteger.valueOf((r * _weights[i]) % m);
+        }
+        // Linear combination tree: v = v_left · P_right + v_right · P_left
+        for (int l = 0; l < _productTree.length - 1; l++) {
+            LargeInteger[] nodes = _productTree[l];
+            LargeInteger[] tmp = new LargeInteger[(values.length + 1) >> 1];
+            for (int k = 0; k < tmp.length; k++) {
+                int left = k << 1;
+                int right = left + 1;
+                tmp[k] = (right < values.length) ? values[left].times(
+                        nodes[right]).plus(values[right].times(nodes[left]))
+                        : values[left];
+            }
+            values = tmp;
+        }
+        return reduce(values[0], getProduct());
+    }
+
+    /**
+     * Returns the integer in range <code>[-M/2, M/2[</code> having the
+     * specified residues (symmetric Chinese Remainder Theorem).
+     *
+     * @param  residues the residues modulo each modulus.
+     * @return the signed integer having the specified residues.
+     * @throws IllegalArgumentException if the number of residues is not
+     *         equal to the number of moduli.
+     */
+    public LargeInteger toLargeInteger(long[] residues) {
+        LargeInteger x = combine(residues);
+        return x.compareTo(_halfProduct) > 0 ? x.minus(getProduct()) : x;
+    }
+
+    /**
+     * Returns the signed integer result of the specified computation
+     * (convenience method).
+     *
+     * @param  computation the computation to perform.
+     * @return <code>toLargeInteger(evaluate(computation))</code>
+     */
+    public LargeInteger toLargeInteger(Computation computation) {
+        return toLargeInteger(evaluate(computation));
+    }
+
+    /**
+     * Returns the rational number <code>n/d</code> having the specified
+     * residues with <code>|n|, d &lt;= sqrt(M/2)</code> (rational
+     * reconstruction). Such a rational number is unique if it exists.
+     *
+     * @param  residues the residues modulo each modulus.
+     * @return the rational number having the specified residues.
+     * @throws ArithmeticException if there is no such rational number
+     *         (more moduli are required).
+     * @throws IllegalArgumentException if the number of residues is not
+     *         equal to the number of moduli.
+     */
+    public Rational toRational(long[] residues) {
+        LargeInteger x = combine(residues);
+        LargeInteger bound = _halfProduct.sqrt();
+        StackContext.enter();
+        try {
+            // Extended Euclidian Algorithm, stops at half the way.
+            LargeInteger r0 = getProduct();
+            LargeInteger r1 = x;
+            LargeInteger t0 = LargeInteger.ZERO;
+            LargeInteger t1 = LargeInteger.ONE;
+            while (r1.compareTo(bound) > 0) {
+                LargeInteger quot = r0.divide(r1);
+                LargeInteger r2 = quot.getRemainder();
+                LargeInteger t2 = t0.minus(quot.times(t1));
+                r0 = r1;
+                r1 = r2;
+                t0 = t1;
+                t1 = t2;
+            }
+            if (t1.abs().compareTo(bound) > 0)
+                throw new ArithmeticException(
+                        "No rational reconstruction, more moduli required");
+            if (!r1.gcd(t1.abs()).equals(LargeInteger.ONE))
+                throw new ArithmeticException(
+                        "No rational reconstruction, more moduli required");
+            Rational r = Rational.valueOf(t1.isNegative() ? r1.opposite()
+                    : r1, t1.abs());
+            return StackContext.outerCopy(r);
+        } finally {
+            StackContext.exit();
+        }
+    }
+
+    /**
+     * Returns the rational result of the specified computation
+     * (convenience method).
+     *
+     * @param  computation the computation to perform.
+     * @return <code>toRational(evaluate(computation))</code>
+     */
+    public Rational toRational(Computation computation) {
+        return toRational(evaluate(computation));
+    }
+
+    // Returns x mod m in range [0, m[ (remainder sign independent).
+    private static LargeInteger reduce(LargeInteger x, LargeInteger m) {
+        if (!x.isNegative())
+            return x.isLessThan(m) ? x : x.remainder(m);
+        LargeInteger r = x.abs().remainder(m);
+        return r.isZero() ? r : m.minus(r);
+    }
+
+    // Builds the product tree (level 0 holds the moduli).
+    private static LargeInteger[][] productTree(long[] moduli) {
+        int levels = 1;
+        for (int n = moduli.length; n > 1; n = (n + 1) >> 1) {
+            levels++;
+        }
+        LargeInteger[][] tree = new LargeInteger[levels][];
+        LargeInteger[] leaves = new LargeInteger[moduli.length];
+        for (int i = 0; i < moduli.length; i++) {
+            leaves[i] = LargeInteger.valueOf(moduli[i]);
+        }
+        tree[0] = leaves;
+        for (int l = 1; l < levels; l++) {
+            LargeInteger[] children = tree[l - 1];
+            LargeInteger[] nodes = new LargeInteger[(children.length + 1) >> 1];
+            for (int k = 0; k < nodes.length; k++) {
+                int left = k << 1;
+                nodes[k] = (left + 1 < children.length) ? children[left]
+                        .times(children[left + 1]) : children[left];
+            }
+            tree[l] = nodes;
+        }
+        return tree;
+    }
+
+    // Calculates (M / m_i)^-1 mod m_i from M mod m_i² (remainder tree).
+    private static long[] weights(long[] moduli, LargeInteger[][] tree) {
+        final int levels = tree.length;
+        final LargeInteger product = tree[levels - 1][0];
+        LargeInteger[] remainders = new LargeInteger[] { product };
+        for (int l = levels - 2; l >= 0; l--) {
+            LargeInteger[] nodes = tree[l];
+            LargeInteger[] tmp = new LargeInteger[nodes.length];
+            for (int k = 0; k < nodes.length; k++) {
+                LargeInteger square = nodes[k].times(nodes[k]);
+                LargeInteger parent = remainders[k >> 1];
+                tmp[k] = parent.isLessThan(square) ? parent : reduce(parent,
+                        square);
+            }
+            remainders = tmp;
+        }
+        long[] weights = new long[moduli.length];
+        for (int i = 0; i < moduli.length; i++) {
+            long m = moduli[i];
+            // (M mod m²) / m = (M / m) mod m
+            long cofactor = remainders[i].divide((int) m).longValue();
+            weights[i] = modInverse(cofactor, m);
+        }
+        return weights;
+    }
+
+    // Inverse of a modulo m (extended Euclidian algorithm).
+    private static long modInverse(long a, long m) {
+        long r0 = m, r1 = a;
+        long t0 = 0, t1 = 1;
+        while (r1 != 0) {
+            long q = r0 / r1;
+            long r2 = r0 - q * r1;
+            r0 = r1;
+            r1 = r2;
+            long t2 = t0 - q * t1;
+            t0 = t1;
+            t1 = t2;
+        }
+        if (r0 != 1)
+            throw new IllegalArgumentException("Modulus " + m
+                    + " is not coprime with the other moduli");
+        return (t0 < 0) ? t0 + m : t0;
+    }
+
+    /**
+     * This interface represents a computation performed modulo
+     * the moduli of a residue number system.
+     */
+    public interface Computation {
+
+        /**
+         * Evaluates this computation modulo the specified modulus.
+         * This method may be called concurrently for different moduli;
+         * the {@link ModuloInteger#getModulus() local modulus} is set to
+         * the specified modulus during its execution.
+         *
+         * @param  modulus the current modulus (less than
+         *         <code>2<sup>31</sup></code>).
+         * @return the computation result modulo <code>modulus</code>
+         *         (the value returned does not need to be reduced).
+         */
+        long evaluate(long modulus);
+
+    }
+
+    /**
+     * Evaluation logic for a block of moduli (for concurrent context).
+     */
+    private static final class EvaluateLogic implements Runnable {
+
+        private final Computation _computation;
+
+        private final long[] _moduli;
+
+        private final long[] _residues;
+
+        private final int _start, _end;
+
+        EvaluateLogic(Computation computation, long[] moduli,
+                long[] residues, int start, int end) {
+            _computation = computation;
+            _moduli = moduli;
+            _residues = residues;
+            _start = start;
+            _end = end;
+        }
+
+        public void run() {
+            for (int i = _start; i < _end; i++) {
+                long m = _moduli[i];
+                LocalContext.enter();
+                try {
+                    ModuloInteger.setModulus(LargeInteger.valueOf(m));
+                    long r = _computation.evaluate(m) % m;
+                    _residues[i] = (r < 0) ? r + m : r;
+                } finally {
+                    LocalContext.exit();
+                }
+            }
+        }
+    }
+}
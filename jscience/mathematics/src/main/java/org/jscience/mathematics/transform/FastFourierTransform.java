@@ -0,0 +1,633 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.transform;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import javolution.context.ConcurrentContext;
+import javolution.lang.Immutable;
+import javolution.lang.MathLib;
+
+import org.jscience.mathematics.internal.vector.DenseVector;
+import org.jscience.mathematics.internal.vector.Vector;
+import org.jscience.mathematics.number.Complex;
+
+/**
+ * <p> This class represents a discrete Fourier transform plan for complex
+ *     sequences of a given length.</p>
+ *
+ * <p> Plans hold the precomputed twiddle factors and are cached per length
+ *     (see {@link #valueOf(int)}); they are immutable and can be used
+ *     concurrently. Data is held in primitive <code>double</code> arrays,
+ *     either interleaved (<code>re<sub>0</sub>, im<sub>0</sub>,
+ *     re<sub>1</sub>, im<sub>1</sub>, ...</code>) or split (separate
+ *     real and imaginary arrays). For example:[code]
+ *         FastFourierTransform fft = FastFourierTransform.valueOf(1 << 20);
+ *         double[] signal = ...; // Interleaved, length 2^21
+ *         fft.transform(signal, 0); // In place.
+ *         fft.inverse(signal, 0); // Back to the original signal.
+ *     [/code]</p>
+ *
+ * <p> Lengths whose prime factors are small are transformed using a mixed
+ *     radix algorithm (radix 4 and 2 butterflies, generic butterflies for
+ *     other small primes); other lengths use Bluestein's algorithm
+ *     (convolution of power of two length). Large transforms are executed
+ *     concurrently (see {@link ConcurrentContext}).</p>
+ *
+ * <p> The forward transform is not scaled:
+ *     <code>X<sub>k</sub> = &#8721; x<sub>j</sub>·e<sup>-2&#960;ijk/n</sup>
+ *     </code>; the inverse transform is scaled by <code>1/n</code>.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see RealFastFourierTransform
+ * @see <a href="http://en.wikipedia.org/wiki/Fast_Fourier_transform">
+ *      Wikipedia: Fast Fourier Transform</a>
+ */
+public final class FastFourierTransform implements Immutable {
+
+    /**
+     * Holds the largest prime factor handled by the mixed radix algorithm
+     * (lengths with larger prime factors use Bluestein's algorithm).
+     */
+    private static final int MAX_RADIX = 31;
+
+    /**
+     * Holds the minimum sub-transform length (complex) for concurrent
+     * execution.
+     */
+    private static final int CONCURRENCY_THRESHOLD = 1 << 14;
+
+    /**
+     * Holds the cached plans.
+     */
+    private static final ConcurrentHashMap<Integer, FastFourierTransform> PLANS = new ConcurrentHashMap<Integer, FastFourierTransform>();
+
+    /**
+     * Holds the transform length.
+     */
+    private final int _n;
+
+    /**
+     * Holds the (radix, remaining length) pairs of the mixed radix
+     * decomposition (or <code>null</code> for Bluestein's algorithm).
+     */
+    private final int[] _factors;
+
+    /**
+     * Holds the interleaved twiddle factors <code>e<sup>-2&#960;ik/n</sup>
+     * </code> (mixed radix only).
+     */
+    private final double[] _twiddles;
+
+    /**
+     * Holds the interleaved chirp <code>e<sup>i&#960;k²/n</sup></code>
+     * (Bluestein only).
+     */
+    private final double[] _chirp;
+
+    /**
+     * Holds the transform of the chirp filter scaled by <code>1/m</code>
+     * (Bluestein only).
+     */
+    private final double[] _filter;
+
+    /**
+     * Holds the power of two plan used for convolutions (Bluestein only).
+     */
+    private final FastFourierTransform _convolution;
+
+    /**
+     * Creates the plan for the specified length.
+     */
+    private FastFourierTransform(int n) {
+        _n = n;
+        int[] factors = factorize(n);
+        if (factors != null) {
+            _factors = factors;
+            _twiddles = new double[2 * n];
+            for (int k = 0; k < n; k++) {
+                double angle = -2 * MathLib.PI * k / n;
+                _twiddles[2 * k] = MathLib.cos(angle);
+                _twiddles[2 * k + 1] = MathLib.sin(angle);
+            }
+            _chirp = null;
+            _filter = null;
+            _convolution = null;
+        } else { // Bluestein.
+            _factors = null;
+            _twiddles = null;
+            int m = Integer.highestOneBit(2 * n - 1);
+            if (m < 2 * n - 1) {
+                m <<= 1;
+            }
+            _convolution = FastFourierTransform.valueOf(m);
+            _chirp = new double[2 * n];
+            final long twoN = 2L * n;
+            for (int k = 0; k < n; k++) { // k² mod 2n for accuracy.
+                double angle = MathLib.PI * (((long) k * k) % twoN) / n;
+                _chirp[2 * k] = MathLib.cos(angle);
+                _chirp[2 * k + 1] = MathLib.sin(angle);
+            }
+            _filter = new double[2 * m];
+            _filter[0] = _chirp[0] / m;
+            _filter[1] = _chirp[1] / m;
+            for (int k = 1; k < n; k++) {
+                _filter[2 * k] = _filter[2 * (m - k)] = _chirp[2 * k] / m;
+                _filter[2 * k + 1] = _filter[2 * (m - k) + 1] = _chirp[2 * k + 1]
+                        / m;
+            }
+            _convolution.transform(_filter, 0);
+        }
+    }
+
+    /**
+     * Returns the transform plan for sequences of the specified length
+     * (plans are cached).
+     *
+     * @param  n the number of complex elements.
+     * @return the corresponding plan.
+     * @throws IllegalArgumentException if <code>n &lt;= 0</code>
+     */
+    public static FastFourierTransform valueOf(int n) {
+        if (n <= 0)
+            throw new IllegalArgumentException("Length: " + n
+                    + " must be positive");
+        Integer key = Integer.valueOf(n);
+        FastFourierTransform plan = PLANS.get(key);
+        if (plan != null)
+            return plan;
+        plan = new FastFourierTransform(n);
+        FastFourierTransform previous = PLANS.putIfAbsent(key, plan);
+        return (previous != null) ? previous : plan;
+    }
+
+    /**
+     * Returns the number of complex elements transformed by this plan.
+     *
+     * @return the transform length.
+     */
+    public int getLength() {
+        return _n;
+    }
+
+    /**
+     * Performs the forward transform in place of the specified interleaved
+     * data.
+     *
+     * @param data the interleaved real and imaginary parts.
+     * @param offset the index of the real part of the first element.
+     * @throws IndexOutOfBoundsException if
+     *         <code>data.length &lt; offset + 2·n</code>
+     */
+    public void transform(double[] data, int offset) {
+        if (data.length < offset + 2 * _n)
+            throw new IndexOutOfBoundsException("Data length: "
+                    + data.length + " (requires " + (offset + 2 * _n) + ")");
+        if (_n == 1)
+            return;
+        if (_factors != null) {
+            double[] input = new double[2 * _n];
+            System.arraycopy(data, offset, input, 0, 2 * _n);
+            work(data, offset, input, 0, 1, 0, _n >= CONCURRENCY_THRESHOLD);
+        } else {
+            bluestein(data, offset);
+        }
+    }
+
+    /**
+     * Performs the inverse transform (scaled by <code>1/n</code>) in place
+     * of the specified interleaved data.
+     *
+     * @param data the interleaved real and imaginary parts.
+     * @param offset the index of the real part of the first element.
+     * @throws IndexOutOfBoundsException if
+     *         <code>data.length &lt; offset + 2·n</code>
+     */
+    public void inverse(double[] data, int offset) {
+        // ifft(x) = conj(fft(conj(x))) / n
+        conjugate(data, offset, _n);
+        transform(data, offset);
+        final double scale = 1.0 / _n;
+        for (int i = offset, end = offset + 2 * _n; i < end; i += 2) {
+            data[i] *= scale;
+            data[i + 1] *= -scale;
+        }
+    }
+
+    /**
+     * Performs the forward transform in place of the specified split data.
+     *
+     * @param real the real parts.
+     * @param imaginary the imaginary parts.
+     * @throws IndexOutOfBoundsException if the arrays length is less than
+     *         <code>n</code>
+     */
+    public void transform(double[] real, double[] imaginary) {
+        double[] data = interleave(real, imaginary);
+        transform(data, 0);
+        split(data, real, imaginary);
+    }
+
+    /**
+     * Performs the inverse transform (scaled by <code>1/n</code>) in place
+     * of the specified split data.
+     *
+     * @param real the real parts.
+     * @param imaginary the imaginary parts.
+     * @throws IndexOutOfBoundsException if the arrays length is less than
+     *         <code>n</code>
+     */
+    public void inverse(double[] real, double[] imaginary) {
+        double[] data = interleave(real, imaginary);
+        inverse(data, 0);
+        split(data, real, imaginary);
+    }
+
+    /**
+     * Returns the forward transform of the specified complex numbers.
+     *
+     * @param values the complex numbers (length <code>n</code>).
+     * @return the transformed complex numbers.
+     * @throws IllegalArgumentException if <code>values.length != n</code>
+     */
+    public Complex[] transform(Complex... values) {
+        return toComplex(transform(toInterleaved(values), false));
+    }
+
+    /**
+     * Returns the inverse transform of the specified complex numbers.
+     *
+     * @param values the complex numbers (length <code>n</code>).
+     * @return the inverse transformed complex numbers.
+     * @throws IllegalArgumentException if <code>values.length != n</code>
+     */
+    public Complex[] inverse(Complex... values) {
+        return toComplex(transform(toInterleaved(values), true));
+    }
+
+    /**
+     * Returns the forward transform of the specified complex vector.
+     *
+     * @param v the complex vector (dimension <code>n</code>).
+     * @return the transformed vector.
+     * @throws IllegalArgumentException if <code>v.getDimension() != n</code>
+     */
+    public DenseVector<Complex> transform(Vector<Complex> v) {
+        return DenseVector.valueOf(toComplex(transform(toInterleaved(v),
+                false)));
+    }
+
+    /**
+     * Returns the inverse transform of the specified complex vector.
+     *
+     * @param v the complex vector (dimension <code>n</code>).
+     * @return the inverse transformed vector.
+     * @throws IllegalArgumentException if <code>v.getDimension() != n</code>
+     */
+    public DenseVector<Complex> inverse(Vector<Complex> v) {
+        return DenseVector.valueOf(toComplex(transform(toInterleaved(v),
+                true)));
+    }
+
+    /**
+     * Returns the interleaved representation of the specified complex
+     * numbers.
+     *
+     * @param values the complex numbers.
+     * @return <code>re<sub>0</sub>, im<sub>0</sub>, re<sub>1</sub>,
+     *         im<sub>1</sub>, ...</code>
+     */
+    public static double[] toInterleaved(Complex... values) {
+        double[] data = new double[2 * values.length];
+        for (int i = 0; i < values.length; i++) {
+            data[2 * i] = values[i].getReal();
+            data[2 * i + 1] = values[i].getImaginary();
+        }
+        return data;
+    }
+
+    /**
+     * Returns the interleaved representation of the specified complex
+     * vector.
+     *
+     * @param v the complex vector.
+     * @return <code>re<sub>0</sub>, im<sub>0</sub>, re<sub>1</sub>,
+     *         im<sub>1</sub>, ...</code>
+     */
+    public static double[] toInterleaved(Vector<Complex> v) {
+        final int n = v.getDimension();
+        double[] data = new double[2 * n];
+        for (int i = 0; i < n; i++) {
+            Complex c = v.get(i);
+            data[2 * i] = c.getReal();
+            data[2 * i + 1] = c.getImaginary();
+        }
+        return data;
+    }
+
+    /**
+     * Returns the complex numbers for the specified interleaved data.
+     *
+     * @param data the interleaved real and imaginary parts.
+     * @return the corresponding complex numbers.
+     */
+    public static Complex[] toComplex(double[] data) {
+        Complex[] values = new Complex[data.length / 2];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Complex.valueOf(data[2 * i], data[2 * i + 1]);
+        }
+        return values;
+    }
+
+    private double[] transform(double[] data, boolean inverse) {
+        if (data.length != 2 * _n)
+            throw new IllegalArgumentException("Found " + data.length / 2
+                    + " elements, but " + _n + " required");
+        if (inverse) {
+            inverse(data, 0);
+        } else {
+            transform(data, 0);
+        }
+        return data;
+    }
+
+    private double[] interleave(double[] real, double[] imaginary) {
+        if ((real.length < _n) || (imaginary.length < _n))
+            throw new IndexOutOfBoundsException("Length " + _n + " required");
+        double[] data = new double[2 * _n];
+        for (int i = 0; i < _n; i++) {
+            data[2 * i] = real[i];
+            data[2 * i + 1] = imaginary[i];
+        }
+        return data;
+    }
+
+    private void split(double[] data, double[] real, double[] imaginary) {
+        for (int i = 0; i < _n; i++) {
+            real[i] = data[2 * i];
+            imaginary[i] = data[2 * i + 1];
+        }
+    }
+
+    static void conjugate(double[] data, int offset, int n) {
+        for (int i = offset + 1, end = offset + 2 * n; i < end; i += 2) {
+            data[i] = -data[i];
+        }
+    }
+
+    /**
+     * Returns the (radix, remaining length) pairs or <code>null</code> if
+     * a prime factor is greater than MAX_RADIX.
+     */
+    private static int[] factorize(int n) {
+        int[] factors = new int[64];
+        int count = 0;
+        int p = 4;
+        while (n > 1) {
+            while (n % p != 0) {
+                p = (p == 4) ? 2 : (p == 2) ? 3 : p + 2;
+                if (p > MAX_RADIX)
+                    return null;
+            }
+            n /= p;
+            factors[count++] = p;
+            factors[count++] = n;
+        }
+        int[] tmp = new int[count];
+        System.arraycopy(factors, 0, tmp, 0, count);
+        return tmp;
+    }
+
+    /**
+     * Mixed radix recursive decimation in time (out of place, indices in
+     * doubles).
+     *
+     * @param out the output array.
+     * @param o the index of the first output element.
+     * @param in the input array.
+     * @param i the index of the first input element.
+     * @param fstride the input stride (in complex elements).
+     * @param stage the decomposition stage.
+     * @param concurrent indicates if concurrent execution is allowed.
+     */
+    void work(double[] out, int o, double[] in, int i, int fstride,
+            int stage, boolean concurrent) {
+        final int p = _factors[2 * stage];
+        final int m = _factors[2 * stage + 1];
+        final int stride = 2 * fstride;
+        if (m == 1) {
+            for (int q = o, end = o + 2 * p; q < end; q += 2) {
+                out[q] = in[i];
+                out[q + 1] = in[i + 1];
+                i += stride;
+            }
+        } else if (concurrent && (m >= CONCURRENCY_THRESHOLD)) {
+            ConcurrentContext.enter();
+            try {
+                for (int q = 0; q < p; q++) {
+                    ConcurrentContext.execute(new WorkLogic(this, out, o + 2
+                            * q * m, in, i + q * stride, fstride * p,
+                            stage + 1, -1, -1));
+                }
+            } finally {
+                ConcurrentContext.exit();
+            }
+        } else {
+            for (int q = 0; q < p; q++) {
+                work(out, o + 2 * q * m, in, i + q * stride, fstride * p,
+                        stage + 1, concurrent);
+            }
+        }
+        final int concurrency = ConcurrentContext.getConcurrency() + 1;
+        if (concurrent && (m >= CONCURRENCY_THRESHOLD) && (concurrency > 1)) {
+            final int block = (m + concurrency - 1) / concurrency;
+            ConcurrentContext.enter();
+            try {
+                for (int u = 0; u < m; u += block) {
+                    ConcurrentContext.execute(new WorkLogic(this, out, o,
+                            null, 0, fstride, stage, u, MathLib.min(u
+                                    + block, m)));
+                }
+            } finally {
+                ConcurrentContext.exit();
+            }
+        } else {
+            butterfly(out, o, fstride, p, m, 0, m);
+        }
+    }
+
+    /**
+     * Radix p butterflies for the elements [u0, u1[ of each of the p
+     * sub-transforms of length m.
+     */
+    void butterfly(double[] out, int o, int fstride, int p, int m, int u0,
+            int u1) {
+        switch (p) {
+        case 2:
+            butterfly2(out, o, fstride, m, u0, u1);
+            break;
+        case 4:
+            butterfly4(out, o, fstride, m, u0, u1);
+            break;
+        default:
+            butterflyGeneric(out, o, fstride, p, m, u0, u1);
+        }
+    }
+
+    private void butterfly2(double[] out, int o, int fstride, int m, int u0,
+            int u1) {
+        final double[] tw = _twiddles;
+        for (int k = u0; k < u1; k++) {
+            final int a = o + 2 * k;
+            final int b = a + 2 * m;
+            final int t = 2 * k * fstride;
+            final double twr = tw[t], twi = tw[t + 1];
+            final double br = out[b], bi = out[b + 1];
+            final double tr = br * twr - bi * twi;
+            final double ti = br * twi + bi * twr;
+            final double ar = out[a], ai = out[a + 1];
+            out[b] = ar - tr;
+            out[b + 1] = ai - ti;
+            out[a] = ar + tr;
+            out[a + 1] = ai + ti;
+        }
+    }
+
+    private void butterfly4(double[] out, int o, int fstride, int m, int u0,
+            int u1) {
+        final double[] tw = _twiddles;
+        final int m2 = 2 * m;
+        for (int k = u0; k < u1; k++) {
+            final int a0 = o + 2 * k;
+            final int a1 = a0 + m2;
+            final int a2 = a1 + m2;
+            final int a3 = a2 + m2;
+            final int t1 = 2 * k * fstride;
+            final int t2 = 2 * t1;
+            final int t3 = t1 + t2;
+            // s0 = x1·w, s1 = x2·w², s2 = x3·w³
+            final double s0r = out[a1] * tw[t1] - out[a1 + 1] * tw[t1 + 1];
+            final double s0i = out[a1] * tw[t1 + 1] + out[a1 + 1] * tw[t1];
+            final double s1r = out[a2] * tw[t2] - out[a2 + 1] * tw[t2 + 1];
+            final double s1i = out[a2] * tw[t2 + 1] + out[a2 + 1] * tw[t2];
+            final double s2r = out[a3] * tw[t3] - out[a3 + 1] * tw[t3 + 1];
+            final double s2i = out[a3] * tw[t3 + 1] + out[a3 + 1] * tw[t3];
+            final double x0r = out[a0], x0i = out[a0 + 1];
+            final double s5r = x0r - s1r, s5i = x0i - s1i;
+            final double y0r = x0r + s1r, y0i = x0i + s1i;
+            final double s3r = s0r + s2r, s3i = s0i + s2i;
+            final double s4r = s0r - s2r, s4i = s0i - s2i;
+            out[a0] = y0r + s3r;
+            out[a0 + 1] = y0i + s3i;
+            out[a2] = y0r - s3r;
+            out[a2 + 1] = y0i - s3i;
+            out[a1] = s5r + s4i;
+            out[a1 + 1] = s5i - s4r;
+            out[a3] = s5r - s4i;
+            out[a3 + 1] = s5i + s4r;
+        }
+    }
+
+    private void butterflyGeneric(double[] out, int o, int fstride, int p,
+            int m, int u0, int u1) {
+        final double[] tw = _twiddles;
+        final int n = _n;
+        final double[] scratch = new double[2 * p];
+        for (int u = u0; u < u1; u++) {
+            for (int q = 0, k = o + 2 * u; q < p; q++, k += 2 * m) {
+                scratch[2 * q] = out[k];
+                scratch[2 * q + 1] = out[k + 1];
+            }
+            for (int q1 = 0, k = u; q1 < p; q1++, k += m) {
+                double sumr = scratch[0], sumi = scratch[1];
+                int t = 0;
+                for (int q = 1; q < p; q++) {
+                    t += fstride * k;
+                    if (t >= n) {
+                        t -= n;
+                    }
+                    final double twr = tw[2 * t], twi = tw[2 * t + 1];
+                    final double xr = scratch[2 * q], xi = scratch[2 * q + 1];
+                    sumr += xr * twr - xi * twi;
+                    sumi += xr * twi + xi * twr;
+                }
+                out[o + 2 * k] = sumr;
+                out[o + 2 * k + 1] = sumi;
+            }
+        }
+    }
+
+    // Bluestein's algorithm (chirp z-transform).
+    private void bluestein(double[] data, int offset) {
+        final int m = _convolution._n;
+        final double[] chirp = _chirp;
+        final double[] filter = _filter;
+        double[] a = new double[2 * m];
+        for (int j = 0; j < _n; j++) { // a = x·conj(chirp)
+            final double xr = data[offset + 2 * j];
+            final double xi = data[offset + 2 * j + 1];
+            final double cr = chirp[2 * j], ci = chirp[2 * j + 1];
+            a[2 * j] = xr * cr + xi * ci;
+            a[2 * j + 1] = xi * cr - xr * ci;
+        }
+        for (int j = 2 * _n; j < 2 * m; j++) {
+            a[j] = 0.0;
+        }
+        _convolution.transform(a, 0);
+        for (int j = 0; j < 2 * m; j += 2) { // conj(A·B) (inverse by conj)
+            final double ar = a[j], ai = a[j + 1];
+            final double br = filter[j], bi = filter[j + 1];
+            a[j] = ar * br - ai * bi;
+            a[j + 1] = -(ar * bi + ai * br);
+        }
+        _convolution.transform(a, 0);
+        for (int k = 0; k < _n; k++) { // X = conj(chirp)·conj(a)
+            final double cr = chirp[2 * k], ci = chirp[2 * k + 1];
+            final double yr = a[2 * k], yi = -a[2 * k + 1];
+            data[offset + 2 * k] = yr * cr + yi * ci;
+            data[offset + 2 * k + 1] = yi * cr - yr * ci;
+        }
+    }
+
+    /**
+     * Sub-transforms or butterflies logic (for concurrent context).
+     */
+    private static final class WorkLogic implements Runnable {
+
+        private final FastFourierTransform _plan;
+
+        private final double[] _out, _in;
+
+        private final int _o, _i, _fstride, _stage, _u0, _u1;
+
+        WorkLogic(FastFourierTransform plan, double[] out, int o,
+                double[] in, int i, int fstride, int stage, int u0, int u1) {
+            _plan = plan;
+            _out = out;
+            _o = o;
+            _in = in;
+            _i = i;
+            _fstride = fstride;
+            _stage = stage;
+            _u0 = u0;
+            _u1 = u1;
+        }
+
+        public void run() {
+            if (_in != null) { // Sub-transform.
+                _plan.work(_out, _o, _in, _i, _fstride, _stage, true);
+            } else { // Butterflies.
+                int[] factors = _plan._factors;
+                _plan.butterfly(_out, _o, _fstride, factors[2 * _stage],
+                        factors[2 * _stage + 1], _u0, _u1);
+            }
+        }
+    }
+}
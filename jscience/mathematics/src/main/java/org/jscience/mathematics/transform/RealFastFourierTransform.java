@@ -0,0 +1,215 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.transform;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import javolution.lang.Immutable;
+import javolution.lang.MathLib;
+
+/**
+ * <p> This class represents a discrete Fourier transform plan for real
+ *     sequences of a given length.</p>
+ *
+ * <p> The spectrum of a real sequence is conjugate symmetric
+ *     (<code>X<sub>n-k</sub> = conj(X<sub>k</sub>)</code>), only its
+ *     first <code>n/2 + 1</code> elements are returned (interleaved).
+ *     For even lengths the sequence is packed into a complex sequence of
+ *     half length, which halves the cost of the transform.[code]
+ *         RealFastFourierTransform rfft = RealFastFourierTransform.valueOf(1024);
+ *         double[] spectrum = new double[2 * (1024 / 2 + 1)];
+ *         rfft.transform(samples, spectrum);
+ *         rfft.inverse(spectrum, samples);
+ *     [/code]</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ * @see FastFourierTransform
+ */
+public final class RealFastFourierTransform implements Immutable {
+
+    /**
+     * Holds the cached plans.
+     */
+    private static final ConcurrentHashMap<Integer, RealFastFourierTransform> PLANS = new ConcurrentHashMap<Integer, RealFastFourierTransform>();
+
+    /**
+     * Holds the number of real elements.
+     */
+    private final int _n;
+
+    /**
+     * Holds the complex plan (half length if n is even).
+     */
+    private final FastFourierTransform _complex;
+
+    /**
+     * Holds the interleaved twiddle factors <code>e<sup>-2&#960;ik/n</sup>
+     * </code> for <code>k &lt; n/2</code> (even length only).
+     */
+    private final double[] _twiddles;
+
+    /**
+     * Creates the plan for the specified length.
+     */
+    private RealFastFourierTransform(int n) {
+        _n = n;
+        if ((n & 1) == 0) {
+            final int h = n / 2;
+            _complex = FastFourierTransform.valueOf(h);
+            _twiddles = new double[2 * h];
+            for (int k = 0; k < h; k++) {
+                double angle = -2 * MathLib.PI * k / n;
+                _twiddles[2 * k] = MathLib.cos(angle);
+                _twiddles[2 * k + 1] = MathLib.sin(angle);
+            }
+        } else {
+            _complex = FastFourierTransform.valueOf(n);
+            _twiddles = null;
+        }
+    }
+
+    /**
+     * Returns the real transform plan for sequences of the specified
+     * length (plans are cached).
+     *
+     * @param  n the number of real elements.
+     * @return the corresponding plan.
+     * @throws IllegalArgumentException if <code>n &lt;= 0</code>
+     */
+    public static RealFastFourierTransform valueOf(int n) {
+        if (n <= 0)
+            throw new IllegalArgumentException("Length: " + n
+                    + " must be positive");
+        Integer key = Integer.valueOf(n);
+        RealFastFourierTransform plan = PLANS.get(key);
+        if (plan != null)
+            return plan;
+        plan = new RealFastFourierTransform(n);
+        RealFastFourierTransform previous = PLANS.putIfAbsent(key, plan);
+        return (previous != null) ? previous : plan;
+    }
+
+    /**
+     * Returns the number of real elements transformed by this plan.
+     *
+     * @return the transform length.
+     */
+    public int getLength() {
+        return _n;
+    }
+
+    /**
+     * Returns the number of complex elements of the half spectrum.
+     *
+     * @return <code>n/2 + 1</code>
+     */
+    public int getSpectrumLength() {
+        return _n / 2 + 1;
+    }
+
+    /**
+     * Calculates the half spectrum of the specified real sequence.
+     *
+     * @param  values the real sequence (length <code>n</code>).
+     * @param  spectrum the interleaved spectrum elements <code>X<sub>0</sub>
+     *         </code> to <code>X<sub>n/2</sub></code> (length
+     *         <code>2·(n/2 + 1)</code>).
+     * @throws IndexOutOfBoundsException if the arrays are too small.
+     */
+    public void transform(double[] values, double[] spectrum) {
+        final int n = _n;
+        if ((values.length < n) || (spectrum.length < 2 * (n / 2 + 1)))
+            throw new IndexOutOfBoundsException("Arrays too small");
+        if (_twiddles == null) { // Odd length.
+            double[] data = new double[2 * n];
+            for (int i = 0; i < n; i++) {
+                data[2 * i] = values[i];
+                data[2 * i + 1] = 0.0;
+            }
+            _complex.transform(data, 0);
+            System.arraycopy(data, 0, spectrum, 0, 2 * (n / 2 + 1));
+            return;
+        }
+        final int h = n / 2;
+        // z[j] = x[2j] + i·x[2j+1]
+        double[] z = new double[2 * h];
+        System.arraycopy(values, 0, z, 0, n);
+        _complex.transform(z, 0);
+        // X[k] = E[k] + w^k·O[k] with E[k] = (Z[k] + conj(Z[h-k]))/2 and
+        //                             O[k] = (Z[k] - conj(Z[h-k]))/(2i)
+        final double[] tw = _twiddles;
+        for (int k = 0; k <= h; k++) {
+            final int a = (k == h) ? 0 : 2 * k;
+            final int b = (k == 0) ? 0 : 2 * (h - k);
+            final double zr = z[a], zi = z[a + 1];
+            final double cr = z[b], ci = -z[b + 1]; // conj(Z[h-k])
+            final double er = 0.5 * (zr + cr), ei = 0.5 * (zi + ci);
+            final double or = 0.5 * (zi - ci), oi = -0.5 * (zr - cr);
+            final double wr, wi;
+            if (k == h) { // w^(n/2) = -1
+                wr = -1.0;
+                wi = 0.0;
+            } else {
+                wr = tw[2 * k];
+                wi = tw[2 * k + 1];
+            }
+            spectrum[2 * k] = er + or * wr - oi * wi;
+            spectrum[2 * k + 1] = ei + or * wi + oi * wr;
+        }
+    }
+
+    /**
+     * Calculates the real sequence having the specified half spectrum
+     * (inverse transform scaled by <code>1/n</code>).
+     *
+     * @param  spectrum the interleaved spectrum elements <code>X<sub>0</sub>
+     *         </code> to <code>X<sub>n/2</sub></code> (length
+     *         <code>2·(n/2 + 1)</code>).
+     * @param  values the real sequence (length <code>n</code>).
+     * @throws IndexOutOfBoundsException if the arrays are too small.
+     */
+    public void inverse(double[] spectrum, double[] values) {
+        final int n = _n;
+        if ((values.length < n) || (spectrum.length < 2 * (n / 2 + 1)))
+            throw new IndexOutOfBoundsException("Arrays too small");
+        if (_twiddles == null) { // Odd length, rebuilds full spectrum.
+            double[] data = new double[2 * n];
+            System.arraycopy(spectrum, 0, data, 0, 2 * (n / 2 + 1));
+            for (int k = n / 2 + 1; k < n; k++) {
+                data[2 * k] = spectrum[2 * (n - k)];
+                data[2 * k + 1] = -spectrum[2 * (n - k) + 1];
+            }
+            _complex.inverse(data, 0);
+            for (int i = 0; i < n; i++) {
+                values[i] = data[2 * i];
+            }
+            return;
+        }
+        final int h = n / 2;
+        // Z[k] = E[k] + i·O[k] with E[k] = (X[k] + conj(X[h-k]))/2 and
+        //                           O[k] = (X[k] - conj(X[h-k]))/(2·w^k)
+        final double[] tw = _twiddles;
+        double[] z = new double[2 * h];
+        for (int k = 0; k < h; k++) {
+            final double xr = spectrum[2 * k], xi = spectrum[2 * k + 1];
+            final double cr = spectrum[2 * (h - k)];
+            final double ci = -spectrum[2 * (h - k) + 1];
+            final double er = 0.5 * (xr + cr), ei = 0.5 * (xi + ci);
+            final double dr = 0.5 * (xr - cr), di = 0.5 * (xi - ci);
+            final double wr = tw[2 * k], wi = -tw[2 * k + 1]; // 1/w^k
+            final double or = dr * wr - di * wi, oi = dr * wi + di * wr;
+            z[2 * k] = er - oi;
+            z[2 * k + 1] = ei + or;
+        }
+        _complex.inverse(z, 0);
+        System.arraycopy(z, 0, values, 0, n);
+    }
+
+}
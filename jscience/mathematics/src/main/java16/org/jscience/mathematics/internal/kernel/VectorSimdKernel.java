@@ -0,0 +1,111 @@
+/*
+ * JScience - Java(TM) Tools and Libraries for the Advancement of Sciences.
+ * Copyright (C) 2006 - JScience (http://jscience.org/)
+ * All rights reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software is
+ * freely granted, provided that this notice is preserved.
+ */
+package org.jscience.mathematics.internal.kernel;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * <p> This class holds the {@link SimdKernel} primitives implemented with
+ *     the <code>jdk.incubator.vector</code> API (preferred species of the
+ *     platform, scalar loop for the remaining elements).</p>
+ *
+ * <p> This class is compiled for Java 16 and later only; it is loaded by
+ *     reflection from {@link SimdKernel#INSTANCE}.</p>
+ *
+ * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
+ * @version 5.0, October 18, 2026
+ */
+final class VectorSimdKernel extends SimdKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private static final int LENGTH = SPECIES.length();
+
+    // Two independent accumulators (latency of the addition).
+    @Override
+    double sum(int n, double[] x, int xOffset) {
+        DoubleVector s0 = DoubleVector.zero(SPECIES);
+        DoubleVector s1 = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (final int end = n - 2 * LENGTH; i <= end; i += 2 * LENGTH) {
+            s0 = s0.add(DoubleVector.fromArray(SPECIES, x, xOffset + i));
+            s1 = s1.add(DoubleVector.fromArray(SPECIES, x, xOffset + i
+                    + LENGTH));
+        }
+        for (final int end = n - LENGTH; i <= end; i += LENGTH) {
+            s0 = s0.add(DoubleVector.fromArray(SPECIES, x, xOffset + i));
+        }
+        double sum = s0.add(s1).reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            sum += x[xOffset + i];
+        }
+        return sum;
+    }
+
+    // Two independent accumulators (latency of the fused multiply-add).
+    @Override
+    double dot(int n, double[] x, int xOffset, double[] y, int yOffset) {
+        DoubleVector s0 = DoubleVector.zero(SPECIES);
+        DoubleVector s1 = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (final int end = n - 2 * LENGTH; i <= end; i += 2 * LENGTH) {
+            s0 = DoubleVector.fromArray(SPECIES, x, xOffset + i).fma(
+                    DoubleVector.fromArray(SPECIES, y, yOffset + i), s0);
+            s1 = DoubleVector.fromArray(SPECIES, x, xOffset + i + LENGTH)
+                    .fma(DoubleVector.fromArray(SPECIES, y, yOffset + i
+                            + LENGTH), s1);
+        }
+        for (final int end = n - LENGTH; i <= end; i += LENGTH) {
+            s0 = DoubleVector.fromArray(SPECIES, x, xOffset + i).fma(
+                    DoubleVector.fromArray(SPECIES, y, yOffset + i), s0);
+        }
+        double sum = s0.add(s1).reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            sum += x[xOffset + i] * y[yOffset + i];
+        }
+        return sum;
+    }
+
+    // Multiply then add (not fused) to round as the scalar loop.
+    @Override
+    void axpy(int n, double a, double[] x, int xOffset, double[] y,
+            int yOffset) {
+        final DoubleVector av = DoubleVector.broadcast(SPECIES, a);
+        int i = 0;
+        for (final int end = n - LENGTH; i <= end; i += LENGTH) {
+            DoubleVector.fromArray(SPECIES, x, xOffset + i).mul(av).add(
+                    DoubleVector.fromArray(SPECIES, y, yOffset + i))
+                    .intoArray(y, yOffset + i);
+        }
+        for (; i < n; i++) {
+            y[yOffset + i] += a * x[xOffset + i];
+        }
+    }
+
+    // The maximum is exact (same result as the scalar loop).
+    @Override
+    double maxAbs(int n, double[] x, int xOffset) {
+        DoubleVector m = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (final int end = n - LENGTH; i <= end; i += LENGTH) {
+            m = m.max(DoubleVector.fromArray(SPECIES, x, xOffset + i).abs());
+        }
+        double max = m.reduceLanes(VectorOperators.MAX);
+        for (; i < n; i++) {
+            final double v = Math.abs(x[xOffset + i]);
+            if (v > max) {
+                max = v;
+            }
+        }
+        return max;
+    }
+
+}
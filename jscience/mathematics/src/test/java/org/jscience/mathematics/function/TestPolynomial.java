@@ -0,0 +1,116 @@
+package org.jscience.mathematics.function;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertException;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.util.Random;
+
+import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.Rational;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link Polynomial} bulk evaluation
+ * ({@link Polynomial#evaluate(Variable, double[], double[])}) against the
+ * evaluation of the polynomial terms at each point.
+ */
+public class TestPolynomial extends AbstractTestSuite {
+
+    public void testFloat64() {
+        info(" evaluate(Variable, double[], double[]) vs evaluate() (Float64 coefficients)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Variable.Local<Float64> x = new Variable.Local<Float64>("x");
+                final Polynomial<Float64> X = Polynomial.valueOf(Float64.ONE, x);
+                // 3·x⁴ - 2·x² + 0.5·x - 7
+                final Polynomial<Float64> p = X.pow(4).times(Float64.valueOf(3)).plus(
+                        X.pow(2).times(Float64.valueOf(-2))).plus(X.times(Float64.valueOf(0.5))).plus(
+                        Float64.valueOf(-7));
+                assertEquals(4, p.getOrder(x));
+                final Random random = new Random(1);
+                for (final int n : new int[] { 0, 1, 5, 1001, 70001 }) { // Large arrays concurrently if enabled.
+                    final double[] points = new double[n];
+                    for (int i = 0; i < n; i++) {
+                        points[i] = 6.0 * random.nextDouble() - 3.0;
+                    }
+                    final double[] values = new double[n + 1];
+                    values[n] = 42.0;
+                    p.evaluate(x, points, values);
+                    for (int i = 0; i < n; i++) {
+                        x.set(Float64.valueOf(points[i]));
+                        final double t = points[i];
+                        final double magnitude = 3 * t * t * t * t + 2 * t * t + 0.5 * Math.abs(t) + 7;
+                        assertNear(p.evaluate().doubleValue(), values[i], 1e-15 * 8 * magnitude);
+                    }
+                    assertEquals(42.0, values[n]); // Untouched.
+                }
+                // Constant polynomial and polynomial without constant term.
+                final double[] points = { -2.0, 0.0, 0.5 };
+                final double[] values = new double[3];
+                Constant.valueOf(Float64.valueOf(2.5)).evaluate(x, points, values);
+                for (int i = 0; i < 3; i++) {
+                    assertEquals(2.5, values[i]);
+                }
+                X.pow(3).evaluate(x, points, values);
+                for (int i = 0; i < 3; i++) {
+                    assertEquals(points[i] * points[i] * points[i], values[i]);
+                }
+            }
+        });
+    }
+
+    public void testRational() {
+        info(" evaluate(Variable, double[], double[]) vs evaluate() (Rational coefficients)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Variable.Local<Rational> x = new Variable.Local<Rational>("x");
+                final Polynomial<Rational> X = Polynomial.valueOf(Rational.ONE, x);
+                // x³/3 - 5/2 (exact evaluation at rational points).
+                final Polynomial<Rational> p = X.pow(3).times(Rational.valueOf(1, 3)).plus(Rational.valueOf(-5, 2));
+                final double[] points = new double[41];
+                for (int i = 0; i < points.length; i++) {
+                    points[i] = (i - 20) / 8.0;
+                }
+                final double[] values = new double[points.length];
+                p.evaluate(x, points, values);
+                for (int i = 0; i < points.length; i++) {
+                    x.set(Rational.valueOf(i - 20, 8));
+                    final double expected = p.evaluate().doubleValue();
+                    assertNear(expected, values[i], 1e-15 * (Math.abs(expected) + 3));
+                }
+            }
+        });
+    }
+
+    public void testMultivariate() {
+        info(" evaluate(Variable, double[], double[]) of a multivariate polynomial (FunctionException)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Variable.Local<Float64> x = new Variable.Local<Float64>("x");
+                final Variable.Local<Float64> y = new Variable.Local<Float64>("y");
+                final Polynomial<Float64> xy = Polynomial.valueOf(Float64.ONE, x).times(
+                        Polynomial.valueOf(Float64.ONE, y));
+                assertException(FunctionException.class, new Runnable() {
+                    public void run() {
+                        xy.evaluate(x, new double[] { 1.0 }, new double[1]);
+                    }
+                });
+                assertException(FunctionException.class, new Runnable() {
+                    public void run() {
+                        Polynomial.valueOf(Float64.ONE, y).evaluate(x, new double[] { 1.0 }, new double[1]);
+                    }
+                });
+            }
+        });
+    }
+
+    private static void assertNear(double expected, double actual, double bound) {
+        assertTrue(Math.abs(expected - actual) <= bound, expected + " expected but found " + actual);
+    }
+}
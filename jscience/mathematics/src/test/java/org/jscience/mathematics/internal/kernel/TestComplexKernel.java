@@ -0,0 +1,289 @@
+package org.jscience.mathematics.internal.kernel;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import javolution.context.ConcurrentContext;
+import javolution.context.LocalContext;
+import javolution.lang.Configurable;
+
+import org.jscience.mathematics.internal.vector.TestFloat64SparseMatrix;
+import org.jscience.mathematics.number.Complex;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link ComplexKernel} operations on interleaved complex
+ * arrays (real part followed by the imaginary part) against the
+ * {@link Complex} arithmetic; the matrix product
+ * ({@link ComplexGemmLogic}) is checked on transposed, strided and
+ * conjugated operands and the concurrent executions must give the same
+ * results as the sequential ones.
+ */
+public class TestComplexKernel extends AbstractTestSuite {
+
+    public void testElementWise() {
+        info(" axpy / scale / multiply / divide / conjugate");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(1);
+                for (final int n : new int[] { 0, 1, 2, 3, 17, 70001 }) { // Large arrays concurrently if enabled.
+                    final double[] x = random(2 * n + 3, random);
+                    final double[] y = random(2 * n + 1, random);
+                    final double[] z = new double[2 * n + 2];
+                    ComplexKernel.scale(n, 0.3, -1.1, x, 3, z, 2);
+                    for (int i = 0; i < n; i++) {
+                        final Complex expected = Complex.valueOf(0.3, -1.1).times(complex(x, 3, i));
+                        assertEquals(expected, complex(z, 2, i));
+                    }
+                    ComplexKernel.multiply(n, x, 3, y, 1, z, 2);
+                    for (int i = 0; i < n; i++) {
+                        assertEquals(complex(x, 3, i).times(complex(y, 1, i)), complex(z, 2, i));
+                    }
+                    ComplexKernel.divide(n, x, 3, y, 1, z, 2);
+                    for (int i = 0; i < n; i++) {
+                        final Complex expected = complex(x, 3, i).divide(complex(y, 1, i));
+                        assertNear(expected, complex(z, 2, i), 1e-15 * expected.magnitude());
+                    }
+                    ComplexKernel.conjugate(n, x, 3, z, 2);
+                    for (int i = 0; i < n; i++) {
+                        assertEquals(complex(x, 3, i).conjugate(), complex(z, 2, i));
+                    }
+                    final double[] expected = y.clone();
+                    for (int i = 0; i < n; i++) {
+                        final Complex e = complex(y, 1, i).plus(Complex.valueOf(-0.7, 0.2).times(complex(x, 3, i)));
+                        expected[1 + 2 * i] = e.getReal();
+                        expected[2 + 2 * i] = e.getImaginary();
+                    }
+                    ComplexKernel.axpy(n, -0.7, 0.2, x, 3, y, 1);
+                    for (int i = 0; i < y.length; i++) {
+                        assertEquals(expected[i], y[i]); // Untouched outside of range.
+                    }
+                }
+                // Division without intermediate overflow.
+                final double[] x = { 1e300, 1e300, 1e300, 1e300 };
+                final double[] y = { 1e300, 2e300, 2e300, 1e300 };
+                final double[] z = new double[4];
+                ComplexKernel.divide(2, x, 0, y, 0, z, 0);
+                assertNear(Complex.valueOf(0.6, -0.2), complex(z, 0, 0), 1e-15);
+                assertNear(Complex.valueOf(0.6, 0.2), complex(z, 0, 1), 1e-15);
+            }
+        });
+    }
+
+    public void testFunctions() {
+        info(" exp / log / sqrt (principal values)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(2);
+                final int n = 1000;
+                final double[] x = random(2 * n, random);
+                for (int i = 0; i < 2 * n; i++) {
+                    x[i] *= 20.0;
+                }
+                x[0] = -4.0; // Negative real.
+                x[1] = 0.0;
+                x[2] = 0.0; // Zero.
+                x[3] = 0.0;
+                final double[] z = new double[2 * n];
+                ComplexKernel.exp(n, x, 0, z, 0);
+                for (int i = 0; i < n; i++) {
+                    final Complex expected = complex(x, 0, i).exp();
+                    assertNear(expected, complex(z, 0, i), 1e-14 * expected.magnitude());
+                }
+                ComplexKernel.log(n, x, 0, z, 0);
+                assertEquals(Complex.valueOf(Math.log(4.0), Math.PI), complex(z, 0, 0));
+                assertEquals(Double.NEGATIVE_INFINITY, z[2]); // log(0)
+                for (int i = 2; i < n; i++) { // Complex.log argument in [0, 2π)
+                    final Complex log = complex(z, 0, i);
+                    assertTrue((log.getImaginary() > -Math.PI) && (log.getImaginary() <= Math.PI), "principal value");
+                    assertNear(complex(x, 0, i).log().getReal(), log.getReal(), 1e-14 * Math.abs(log.getReal()));
+                    assertNear(complex(x, 0, i), log.exp(), 1e-14 * complex(x, 0, i).magnitude());
+                }
+                ComplexKernel.sqrt(n, x, 0, z, 0);
+                assertEquals(Complex.valueOf(0.0, 2.0), complex(z, 0, 0));
+                assertEquals(Complex.ZERO, complex(z, 0, 1));
+                for (int i = 0; i < n; i++) { // Complex.sqrt argument in [0, π)
+                    final Complex root = complex(z, 0, i);
+                    assertTrue(root.getReal() >= 0, "principal value");
+                    assertNear(Math.sqrt(complex(x, 0, i).magnitude()), root.magnitude(), 1e-14 * root.magnitude());
+                    assertNear(complex(x, 0, i), root.times(root), 1e-14 * complex(x, 0, i).magnitude());
+                }
+            }
+        });
+    }
+
+    public void testReductions() {
+        info(" sum / dot / dotConjugate / norm");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(3);
+                for (final int n : new int[] { 0, 1, 2, 3, 37, 300001 }) {
+                    final double[] x = random(2 * n + 1, random);
+                    final double[] y = random(2 * n + 3, random);
+                    Complex sum = Complex.ZERO, dot = Complex.ZERO, dotc = Complex.ZERO;
+                    double squares = 0.0, magnitude = 0.0;
+                    for (int i = 0; i < n; i++) {
+                        sum = sum.plus(complex(x, 1, i));
+                        dot = dot.plus(complex(x, 1, i).times(complex(y, 3, i)));
+                        dotc = dotc.plus(complex(x, 1, i).conjugate().times(complex(y, 3, i)));
+                        squares += complex(x, 1, i).magnitude() * complex(x, 1, i).magnitude();
+                        magnitude += 2 * complex(x, 1, i).magnitude();
+                    }
+                    final double bound = 1e-15 * (n + 1) * (magnitude + 1);
+                    final double[] result = new double[2];
+                    ComplexKernel.sum(n, x, 1, result);
+                    assertNear(sum, complex(result, 0, 0), bound);
+                    ComplexKernel.dot(n, x, 1, y, 3, result);
+                    assertNear(dot, complex(result, 0, 0), bound);
+                    ComplexKernel.dotConjugate(n, x, 1, y, 3, result);
+                    assertNear(dotc, complex(result, 0, 0), bound);
+                    assertNear(Math.sqrt(squares), ComplexKernel.norm(n, x, 1), bound);
+                }
+            }
+        });
+    }
+
+    public void testGemm() {
+        info(" gemm (transposed / strided / conjugated operands, partial tiles and blocks)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(4);
+                // m, n, p: small (i-k-j), partial tiles, more than one MC and KC block.
+                final int[][] sizes = { { 1, 1, 1 }, { 5, 7, 3 }, { 33, 31, 35 }, { 70, 150, 21 } };
+                for (final int[] size : sizes) {
+                    final int m = size[0], n = size[1], p = size[2];
+                    for (int flags = 0; flags < 8; flags++) {
+                        final boolean transposed = (flags & 1) != 0;
+                        final boolean conjugateA = (flags & 2) != 0, conjugateB = (flags & 4) != 0;
+                        // A (m-by-n) column-major if transposed, B (n-by-p) with a column stride of 2.
+                        final double[] a = random(2 * m * n + 2, random);
+                        final double[] b = random(4 * n * p + 4, random);
+                        final double[] c = random(2 * m * (p + 3), random);
+                        final int ars = transposed ? 2 : 2 * n, acs = transposed ? 2 * m : 2;
+                        final int brs = 4 * p, bcs = 4, crs = 2 * (p + 3);
+                        final double[] expected = c.clone();
+                        for (int i = 0; i < m; i++) {
+                            for (int j = 0; j < p; j++) {
+                                Complex sum = complex(c, i * crs, j);
+                                for (int k = 0; k < n; k++) {
+                                    Complex aik = complex(a, 2 + i * ars + k * acs, 0);
+                                    Complex bkj = complex(b, 4 + k * brs + j * bcs, 0);
+                                    aik = conjugateA ? aik.conjugate() : aik;
+                                    bkj = conjugateB ? bkj.conjugate() : bkj;
+                                    sum = sum.plus(aik.times(bkj));
+                                }
+                                expected[i * crs + 2 * j] = sum.getReal();
+                                expected[i * crs + 2 * j + 1] = sum.getImaginary();
+                            }
+                        }
+                        ComplexKernel.gemm(m, n, p, a, 2, ars, acs, conjugateA, b, 4, brs, bcs, conjugateB, c, 0, crs);
+                        final double bound = 1e-15 * (n + 1) * (n + 1); // Magnitude of C below n + 1.
+                        for (int i = 0; i < m; i++) {
+                            for (int j = 0; j < 2 * (p + 3); j++) {
+                                final int ij = i * crs + j;
+                                if (j >= 2 * p) {
+                                    assertEquals(expected[ij], c[ij]); // Outside of C.
+                                } else {
+                                    assertTrue(Math.abs(expected[ij] - c[ij]) <= bound, m + "x" + n + "x" + p
+                                            + " (" + flags + "): " + expected[ij] + " expected but found " + c[ij]);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    public void testConcurrent() {
+        info(" concurrent element-wise, reductions and gemm (same results as sequential)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(5);
+                final int n = 3 * Float64Kernel.CONCURRENCY_THRESHOLD + 17;
+                final double[] x = random(2 * n, random);
+                final double[] y = random(2 * n, random);
+                final int m = 130, k = 200, p = 170; // 4·m·k·p above CONCURRENCY_THRESHOLD·KC
+                final double[] a = random(2 * m * k, random);
+                final double[] b = random(2 * k * p, random);
+                final double[][][] results = new double[2][][];
+                for (int r = 0; r < 2; r++) {
+                    final int run = r;
+                    final Runnable logic = new Runnable() {
+                        public void run() {
+                            final double[] axpy = y.clone();
+                            ComplexKernel.axpy(n, 0.7, -0.4, x, 0, axpy, 0);
+                            final double[] divide = new double[2 * n];
+                            ComplexKernel.divide(n, x, 0, y, 0, divide, 0);
+                            final double[] sqrt = new double[2 * n];
+                            ComplexKernel.sqrt(n, x, 0, sqrt, 0);
+                            final double[] sum = new double[2], dot = new double[2];
+                            ComplexKernel.sum(n, x, 0, sum);
+                            ComplexKernel.dotConjugate(n, x, 0, y, 0, dot);
+                            final double[] c = new double[2 * m * p];
+                            ComplexKernel.gemm(m, k, p, a, 0, 2, 2 * m, true, b, 0, 2 * p, 2, false, c, 0, 2 * p);
+                            results[run] = new double[][] { axpy, divide, sqrt, sum, dot, c };
+                        }
+                    };
+                    if (r == 0) {
+                        logic.run();
+                    } else {
+                        concurrently(logic);
+                    }
+                }
+                final String[] names = { "axpy", "divide", "sqrt", "sum", "dotConjugate", "gemm" };
+                for (int i = 0; i < names.length; i++) {
+                    assertTrue(Arrays.equals(results[0][i], results[1][i]), names[i]); // Per block.
+                }
+            }
+        });
+    }
+
+    // Executes the specified logic in a local context with concurrency.
+    private static void concurrently(Runnable logic) {
+        final Integer maximum = ConcurrentContext.MAXIMUM_CONCURRENCY.get();
+        final Class<? extends ConcurrentContext> context = ConcurrentContext.DEFAULT.get();
+        Configurable.configure(ConcurrentContext.MAXIMUM_CONCURRENCY, 3);
+        Configurable.configure(ConcurrentContext.DEFAULT, TestFloat64SparseMatrix.SharedWorkers.class);
+        LocalContext.enter();
+        try {
+            ConcurrentContext.setConcurrency(3);
+            logic.run();
+        } finally {
+            LocalContext.exit();
+            Configurable.configure(ConcurrentContext.DEFAULT, context);
+            Configurable.configure(ConcurrentContext.MAXIMUM_CONCURRENCY, maximum);
+        }
+    }
+
+    private static void assertNear(Complex expected, Complex actual, double bound) {
+        assertTrue(expected.minus(actual).magnitude() <= bound, expected + " expected but found " + actual);
+    }
+
+    private static void assertNear(double expected, double actual, double bound) {
+        assertTrue(Math.abs(expected - actual) <= bound, expected + " expected but found " + actual);
+    }
+
+    // Returns the complex element i of the specified interleaved array.
+    private static Complex complex(double[] x, int offset, int i) {
+        return Complex.valueOf(x[offset + 2 * i], x[offset + 2 * i + 1]);
+    }
+
+    private static double[] random(int n, Random random) {
+        final double[] v = new double[n];
+        for (int i = 0; i < n; i++) {
+            v[i] = random.nextDouble() - 0.5;
+        }
+        return v;
+    }
+}
@@ -0,0 +1,236 @@
+package org.jscience.mathematics.internal.kernel;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import javolution.context.ConcurrentContext;
+import javolution.context.LocalContext;
+import javolution.lang.Configurable;
+
+import org.jscience.mathematics.internal.vector.TestFloat64SparseMatrix;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link Float32Kernel} element-wise operations (each
+ * element rounded once), reductions and matrix products (accumulated in
+ * double precision) against double precision references within float
+ * tolerance; the concurrent executions ({@link Float32Logic},
+ * {@link Float32GemmLogic}) must give the same results as the sequential
+ * ones.
+ */
+public class TestFloat32Kernel extends AbstractTestSuite {
+
+    public void testElementWise() {
+        info(" axpy / scale / add / subtract / widen / narrow (rounded once)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(1);
+                for (final int n : new int[] { 0, 1, 7, 100, 70001 }) { // Large arrays concurrently if enabled.
+                    final float[] x = random(n + 3, random);
+                    final float[] y = random(n + 1, random);
+                    final float[] z = new float[n + 2];
+                    Float32Kernel.scale(n, 0.1, x, 3, z, 2);
+                    for (int i = 0; i < n; i++) {
+                        assertEquals((float) (0.1 * x[3 + i]), z[2 + i]);
+                    }
+                    Float32Kernel.add(n, x, 3, y, 1, z, 2);
+                    for (int i = 0; i < n; i++) {
+                        assertEquals(x[3 + i] + y[1 + i], z[2 + i]);
+                    }
+                    Float32Kernel.subtract(n, x, 3, y, 1, z, 2);
+                    for (int i = 0; i < n; i++) {
+                        assertEquals(x[3 + i] - y[1 + i], z[2 + i]);
+                    }
+                    final float[] expected = y.clone();
+                    for (int i = 0; i < n; i++) {
+                        expected[1 + i] = (float) (y[1 + i] + 0.3 * x[3 + i]);
+                    }
+                    Float32Kernel.axpy(n, 0.3, x, 3, y, 1);
+                    for (int i = 0; i < y.length; i++) {
+                        assertEquals(expected[i], y[i]);
+                    }
+                    final double[] d = new double[n + 4];
+                    Float32Kernel.widen(n, x, 3, d, 4);
+                    for (int i = 0; i < n; i++) {
+                        assertEquals((double) x[3 + i], d[4 + i]);
+                        d[4 + i] += 1e-9;
+                    }
+                    Float32Kernel.narrow(n, d, 4, z, 0);
+                    for (int i = 0; i < n; i++) {
+                        assertEquals((float) d[4 + i], z[i]);
+                    }
+                }
+            }
+        });
+    }
+
+    public void testReductions() {
+        info(" sum / dot / norm / gemv (double precision accumulation)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(2);
+                for (final int n : new int[] { 0, 1, 3, 4, 5, 37, 1000, 300001 }) {
+                    final float[] x = random(n + 2, random);
+                    final float[] y = random(n + 5, random);
+                    double sum = 0.0, dot = 0.0, squares = 0.0, magnitude = 0.0;
+                    for (int i = 0; i < n; i++) {
+                        sum += x[2 + i];
+                        dot += (double) x[2 + i] * y[5 + i];
+                        squares += (double) x[2 + i] * x[2 + i];
+                        magnitude += Math.abs(x[2 + i]);
+                    }
+                    final double bound = 1e-15 * (n + 1) * (magnitude + 1);
+                    assertNear(sum, Float32Kernel.sum(n, x, 2), bound);
+                    assertNear(dot, Float32Kernel.dot(n, x, 2, y, 5), bound);
+                    assertNear(Math.sqrt(squares), Float32Kernel.norm(n, x, 2), bound);
+                }
+                final float[] large = { Float.MAX_VALUE, Float.MAX_VALUE };
+                assertNear(Math.sqrt(2.0) * Float.MAX_VALUE, Float32Kernel.norm(2, large, 0), 1e25); // No overflow.
+                // y = A·x for row-major, column-major and strided A.
+                final int m = 23, n = 41;
+                final float[] a = random(2 * m * n + 3, random);
+                final float[] x = random(n, random);
+                for (final int[] s : new int[][] { { n, 1 }, { 1, m }, { 2 * n, 2 } }) {
+                    final float[] y = new float[m + 1];
+                    Float32Kernel.gemv(m, n, a, 3, s[0], s[1], x, 0, y, 1);
+                    for (int i = 0; i < m; i++) {
+                        double expected = 0.0, magnitude = 0.0;
+                        for (int j = 0; j < n; j++) {
+                            expected += (double) a[3 + i * s[0] + j * s[1]] * x[j];
+                            magnitude += Math.abs((double) a[3 + i * s[0] + j * s[1]] * x[j]);
+                        }
+                        assertNear(expected, y[1 + i], 0x1.0p-24 * Math.abs(expected) + 1e-15 * magnitude);
+                    }
+                }
+            }
+        });
+    }
+
+    public void testGemm() {
+        info(" gemm against double reference (tiles, blocks, strides)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(3);
+                // m, n, p: small (i-k-j), not multiples of the register tile, more than one cache block.
+                final int[][] sizes = { { 1, 1, 1 }, { 5, 7, 3 }, { 33, 31, 35 }, { 70, 300, 45 }, { 129, 257, 6 } };
+                for (final int[] size : sizes) {
+                    final int m = size[0], n = size[1], p = size[2];
+                    for (final boolean transposed : new boolean[] { false, true }) {
+                        // A (m-by-n) column-major if transposed, B (n-by-p) with a column stride of 2.
+                        final float[] a = random(m * n + 1, random);
+                        final float[] b = random(2 * n * p + 2, random);
+                        final float[] c = random(m * (p + 3), random);
+                        final int ars = transposed ? 1 : n, acs = transposed ? m : 1;
+                        final double[] expected = new double[m * (p + 3)];
+                        final double[] magnitude = new double[m * (p + 3)];
+                        for (int i = 0; i < m; i++) {
+                            for (int j = 0; j < p; j++) {
+                                final int ij = i * (p + 3) + j;
+                                expected[ij] = c[ij];
+                                magnitude[ij] = Math.abs(c[ij]);
+                                for (int k = 0; k < n; k++) {
+                                    final double product = (double) a[1 + i * ars + k * acs]
+                                            * b[2 + k * 2 * p + j * 2];
+                                    expected[ij] += product;
+                                    magnitude[ij] += Math.abs(product);
+                                }
+                            }
+                        }
+                        final float[] untouched = c.clone();
+                        Float32Kernel.gemm(m, n, p, a, 1, ars, acs, b, 2, 2 * p, 2, c, 0, p + 3);
+                        final double roundings = (n + Float32GemmLogic.KC - 1) / Float32GemmLogic.KC + 1;
+                        for (int i = 0; i < m; i++) {
+                            for (int j = 0; j < p + 3; j++) {
+                                final int ij = i * (p + 3) + j;
+                                if (j >= p) {
+                                    assertEquals(untouched[ij], c[ij]); // Outside of C.
+                                    continue;
+                                }
+                                assertNear(expected[ij], c[ij], (roundings * 0x1.0p-24 + 1e-15) * magnitude[ij]);
+                            }
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    public void testConcurrent() {
+        info(" concurrent element-wise, reductions and gemm (same results as sequential)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(4);
+                final int n = 3 * Float64Kernel.CONCURRENCY_THRESHOLD + 17;
+                final float[] x = random(n, random);
+                final float[] y = random(n, random);
+                final int m = 200, k = 300, p = 300; // m·k·p above CONCURRENCY_THRESHOLD·KC
+                final float[] a = random(m * k, random);
+                final float[] b = random(k * p, random);
+                final Object[][] results = new Object[2][];
+                for (int r = 0; r < 2; r++) {
+                    final int run = r;
+                    final Runnable logic = new Runnable() {
+                        public void run() {
+                            final float[] z = y.clone();
+                            Float32Kernel.axpy(n, 0.7, x, 0, z, 0);
+                            final float[] c = new float[m * p];
+                            Float32Kernel.gemm(m, k, p, a, 0, k, 1, b, 0, p, 1, c, 0, p);
+                            final float[] v = new float[m];
+                            Float32Kernel.gemv(m, k, a, 0, 1, m, x, 0, v, 0);
+                            results[run] = new Object[] { z, Double.valueOf(Float32Kernel.sum(n, x, 0)),
+                                    Double.valueOf(Float32Kernel.dot(n, x, 0, y, 0)), c, v };
+                        }
+                    };
+                    if (r == 0) {
+                        logic.run();
+                    } else {
+                        concurrently(logic);
+                    }
+                }
+                assertTrue(Arrays.equals((float[]) results[0][0], (float[]) results[1][0]), "axpy");
+                assertEquals(results[0][1], results[1][1]); // Per block, whatever the number of threads.
+                assertEquals(results[0][2], results[1][2]);
+                assertTrue(Arrays.equals((float[]) results[0][3], (float[]) results[1][3]), "gemm");
+                assertTrue(Arrays.equals((float[]) results[0][4], (float[]) results[1][4]), "gemv");
+            }
+        });
+    }
+
+    // Executes the specified logic in a local context with concurrency.
+    private static void concurrently(Runnable logic) {
+        final Integer maximum = ConcurrentContext.MAXIMUM_CONCURRENCY.get();
+        final Class<? extends ConcurrentContext> context = ConcurrentContext.DEFAULT.get();
+        Configurable.configure(ConcurrentContext.MAXIMUM_CONCURRENCY, 3);
+        Configurable.configure(ConcurrentContext.DEFAULT, TestFloat64SparseMatrix.SharedWorkers.class);
+        LocalContext.enter();
+        try {
+            ConcurrentContext.setConcurrency(3);
+            logic.run();
+        } finally {
+            LocalContext.exit();
+            Configurable.configure(ConcurrentContext.DEFAULT, context);
+            Configurable.configure(ConcurrentContext.MAXIMUM_CONCURRENCY, maximum);
+        }
+    }
+
+    private static void assertNear(double expected, double actual, double bound) {
+        assertTrue(Math.abs(expected - actual) <= bound, expected + " expected but found " + actual);
+    }
+
+    private static float[] random(int n, Random random) {
+        final float[] v = new float[n];
+        for (int i = 0; i < n; i++) {
+            v[i] = random.nextFloat() - 0.5f;
+        }
+        return v;
+    }
+}
@@ -0,0 +1,273 @@
+package org.jscience.mathematics.internal.kernel;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import javolution.context.ConcurrentContext;
+import javolution.context.LocalContext;
+import javolution.lang.Configurable;
+import javolution.util.Index;
+
+import org.jscience.mathematics.internal.vector.Float64Matrix;
+import org.jscience.mathematics.internal.vector.TestFloat64SparseMatrix;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link Float64Kernel} sum, dot product, norm,
+ * <code>axpy</code> and matrix-vector product against naive loops, for all
+ * the lengths around the vector sizes (Vector API kernel if available,
+ * scalar loops otherwise); the reductions are checked within their
+ * rounding bound (not bit exact). The matrix product ({@link GemmLogic}) is
+ * checked on transposed and strided operands, for dimensions which are not
+ * multiples of the register tile or of the cache blocks.
+ */
+public class TestFloat64Kernel extends AbstractTestSuite {
+
+    public void testDot() {
+        info(" dot (" + (SimdKernel.INSTANCE != null ? "Vector API" : "scalar") + ")");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(1);
+                for (int n = 0; n <= 70; n++) {
+                    final double[] x = random(n + 3, random);
+                    final double[] y = random(n + 5, random);
+                    double expected = 0.0, magnitude = 0.0;
+                    for (int i = 0; i < n; i++) {
+                        expected += x[3 + i] * y[1 + i];
+                        magnitude += Math.abs(x[3 + i] * y[1 + i]);
+                    }
+                    final double actual = Float64Kernel.dot(n, x, 3, y, 1);
+                    assertTrue(Math.abs(expected - actual) <= 1e-15 * n * magnitude, "n = " + n + ": " + expected
+                            + " expected but found " + actual);
+                }
+                final double[] ones = new double[100003];
+                Arrays.fill(ones, 1.0);
+                assertEquals(100003.0, Float64Kernel.dot(ones.length, ones, 0, ones, 0));
+            }
+        });
+    }
+
+    public void testSumAndNorm() {
+        info(" sum / norm (not bit exact, within the rounding bound)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(4);
+                for (int n = 0; n <= 70; n++) {
+                    final double[] x = random(n + 3, random);
+                    double sum = 0.0, sumOfSquares = 0.0, magnitude = 0.0;
+                    for (int i = 0; i < n; i++) {
+                        sum += x[3 + i];
+                        sumOfSquares += x[3 + i] * x[3 + i];
+                        magnitude += Math.abs(x[3 + i]);
+                    }
+                    final double bound = 1e-15 * (n + 1) * magnitude;
+                    assertNear(sum, Float64Kernel.sum(n, x, 3), bound);
+                    assertNear(Math.sqrt(sumOfSquares), Float64Kernel.norm(n, x, 3), bound);
+                }
+                // Large arrays (per block, concurrently if enabled).
+                final double[] large = random(300001, random);
+                double sum = 0.0, magnitude = 0.0;
+                for (final double v : large) {
+                    sum += v;
+                    magnitude += Math.abs(v);
+                }
+                assertNear(sum, Float64Kernel.sum(large.length, large, 0), 1e-13 * magnitude);
+                // Scaled norms (overflow and underflow of the squares).
+                for (final double scale : new double[] { 1e200, 1e-200, Double.MAX_VALUE / 4 }) {
+                    final double[] x = random(37, random);
+                    double expected = 0.0;
+                    for (int i = 0; i < x.length; i++) {
+                        expected += x[i] * x[i];
+                        x[i] *= scale;
+                    }
+                    expected = Math.sqrt(expected) * scale;
+                    assertNear(expected, Float64Kernel.norm(x.length, x, 0), 1e-14 * expected);
+                }
+                assertEquals(0.0, Float64Kernel.norm(17, new double[17], 0));
+                final double[] infinite = random(40, random);
+                infinite[33] = Double.NEGATIVE_INFINITY;
+                assertEquals(Double.POSITIVE_INFINITY, Float64Kernel.norm(40, infinite, 0));
+                infinite[35] = Double.NaN;
+                assertTrue(Double.isNaN(Float64Kernel.norm(40, infinite, 0)));
+            }
+        });
+    }
+
+    public void testAxpy() {
+        info(" axpy (same rounding as the scalar loop)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(2);
+                for (int n = 0; n <= 70; n++) {
+                    final double[] x = random(n + 2, random);
+                    final double[] y = random(n + 7, random);
+                    final double[] expected = y.clone();
+                    for (int i = 0; i < n; i++) {
+                        expected[4 + i] += -1.7 * x[2 + i];
+                    }
+                    Float64Kernel.axpy(n, -1.7, x, 2, y, 4);
+                    for (int i = 0; i < y.length; i++) {
+                        assertEquals(expected[i], y[i]); // Untouched outside of range.
+                    }
+                }
+            }
+        });
+    }
+
+    public void testGemv() {
+        info(" gemv (contiguous rows / columns, strided)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(3);
+                final int m = 19, n = 37;
+                final double[] a = random(2 * m * n + 1, random);
+                final double[] x = random(n, random);
+                final int[][] strides = { { 2 * n, 1 }, { 1, 2 * m }, { 2 * n, 2 } }; // Row, column strides.
+                for (final int[] s : strides) {
+                    final double[] y = new double[m];
+                    Float64Kernel.gemv(m, n, a, 1, s[0], s[1], x, 0, y, 0);
+                    for (int i = 0; i < m; i++) {
+                        double expected = 0.0;
+                        for (int j = 0; j < n; j++) {
+                            expected += a[1 + i * s[0] + j * s[1]] * x[j];
+                        }
+                        assertTrue(Math.abs(expected - y[i]) <= 1e-13, expected + " expected but found " + y[i]);
+                    }
+                }
+            }
+        });
+    }
+
+    public void testGemm() {
+        info(" gemm (transposed / strided operands, partial tiles and blocks)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(5);
+                // m, n, p: small (i-k-j), partial tiles, more than one MC, KC and NC block.
+                final int[][] sizes = { { 1, 1, 1 }, { 5, 7, 3 }, { 33, 31, 35 }, { 70, 300, 45 }, { 129, 257, 6 },
+                        { 9, 5, 2100 } };
+                for (final int[] size : sizes) {
+                    final int m = size[0], n = size[1], p = size[2];
+                    for (final boolean transposed : new boolean[] { false, true }) {
+                        // A (m-by-n) column-major if transposed, B (n-by-p) with a column stride of 2.
+                        final double[] a = random(m * n + 1, random);
+                        final double[] b = random(2 * n * p + 2, random);
+                        final double[] c = random(m * (p + 3), random);
+                        final int ars = transposed ? 1 : n, acs = transposed ? m : 1;
+                        final double[] expected = c.clone();
+                        final double[] magnitude = new double[c.length];
+                        for (int i = 0; i < m; i++) {
+                            for (int j = 0; j < p; j++) {
+                                final int ij = i * (p + 3) + j;
+                                magnitude[ij] = Math.abs(c[ij]);
+                                for (int k = 0; k < n; k++) {
+                                    final double product = a[1 + i * ars + k * acs] * b[2 + k * 2 * p + j * 2];
+                                    expected[ij] += product;
+                                    magnitude[ij] += Math.abs(product);
+                                }
+                            }
+                        }
+                        Float64Kernel.gemm(m, n, p, a, 1, ars, acs, b, 2, 2 * p, 2, c, 0, p + 3);
+                        for (int i = 0; i < m; i++) {
+                            for (int j = 0; j < p + 3; j++) {
+                                final int ij = i * (p + 3) + j;
+                                if (j >= p) {
+                                    assertEquals(expected[ij], c[ij]); // Outside of C.
+                                } else {
+                                    assertNear(expected[ij], c[ij], 1e-15 * (n + 1) * magnitude[ij]);
+                                }
+                            }
+                        }
+                    }
+                }
+                // Matrix views: transposed A and even rows of B (strided sub-matrix).
+                final double[][] a = new double[45][67];
+                final double[][] b = new double[90][37];
+                for (final double[] row : a) {
+                    System.arraycopy(random(67, random), 0, row, 0, 67);
+                }
+                for (final double[] row : b) {
+                    System.arraycopy(random(37, random), 0, row, 0, 37);
+                }
+                final int[] even = new int[45];
+                for (int k = 0; k < 45; k++) {
+                    even[k] = 2 * k;
+                }
+                final Float64Matrix B = Float64Matrix.valueOf(b).getSubMatrix(Index.valuesOf(even),
+                        Index.rangeOf(3, 37));
+                final Float64Matrix C = Float64Matrix.valueOf(a).transpose().times(B);
+                for (int i = 0; i < 67; i++) {
+                    for (int j = 0; j < 34; j++) {
+                        double expected = 0.0, magnitude = 0.0;
+                        for (int k = 0; k < 45; k++) {
+                            expected += a[k][i] * b[2 * k][3 + j];
+                            magnitude += Math.abs(a[k][i] * b[2 * k][3 + j]);
+                        }
+                        assertNear(expected, C.getValue(i, j), 1e-15 * 46 * magnitude);
+                    }
+                }
+            }
+        });
+    }
+
+    public void testGemmConcurrent() {
+        info(" gemm row blocks calculated concurrently (same results as sequential)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(6);
+                final int m = 200, n = 300, p = 300; // m·n·p above CONCURRENCY_THRESHOLD·KC
+                final double[] a = random(m * n, random);
+                final double[] b = random(n * p, random);
+                final double[] sequential = new double[m * p];
+                Float64Kernel.gemm(m, n, p, a, 0, 1, m, b, 0, p, 1, sequential, 0, p);
+                final double[] concurrent = new double[m * p];
+                concurrently(new Runnable() {
+                    public void run() {
+                        Float64Kernel.gemm(m, n, p, a, 0, 1, m, b, 0, p, 1, concurrent, 0, p);
+                    }
+                });
+                assertTrue(Arrays.equals(sequential, concurrent), "gemm");
+            }
+        });
+    }
+
+    // Executes the specified logic in a local context with concurrency.
+    private static void concurrently(Runnable logic) {
+        final Integer maximum = ConcurrentContext.MAXIMUM_CONCURRENCY.get();
+        final Class<? extends ConcurrentContext> context = ConcurrentContext.DEFAULT.get();
+        Configurable.configure(ConcurrentContext.MAXIMUM_CONCURRENCY, 3);
+        Configurable.configure(ConcurrentContext.DEFAULT, TestFloat64SparseMatrix.SharedWorkers.class);
+        LocalContext.enter();
+        try {
+            ConcurrentContext.setConcurrency(3);
+            logic.run();
+        } finally {
+            LocalContext.exit();
+            Configurable.configure(ConcurrentContext.DEFAULT, context);
+            Configurable.configure(ConcurrentContext.MAXIMUM_CONCURRENCY, maximum);
+        }
+    }
+
+    private static void assertNear(double expected, double actual, double bound) {
+        assertTrue(Math.abs(expected - actual) <= bound, expected + " expected but found " + actual);
+    }
+
+    private static double[] random(int n, Random random) {
+        final double[] v = new double[n];
+        for (int i = 0; i < n; i++) {
+            v[i] = random.nextDouble() - 0.5;
+        }
+        return v;
+    }
+}
@@ -0,0 +1,400 @@
+package org.jscience.mathematics.internal.vector;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertException;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.util.Random;
+
+import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.Rational;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link Float64CholeskyDecomposition} (blocked
+ * <code>L·Lᵀ</code>), the {@link Float64LDLDecomposition} (Bunch-Kaufman
+ * <code>L·D·Lᵀ</code> and inertia), the {@link Float64SymmetricMatrix}
+ * (packed storage) and the square-root free {@link CholeskyDecomposition}
+ * (exact elements).
+ */
+public class TestCholeskyDecomposition extends AbstractTestSuite {
+
+    public void testFloat64Cholesky() {
+        info(" Float64 L·Lᵀ = A / solve / inverse / determinant (more than one block)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(1);
+                for (final int n : new int[] { 1, 17, 150 }) {
+                    final String name = "n = " + n;
+                    final double[][] a = positiveDefinite(n, random);
+                    final Float64Matrix A = Float64Matrix.valueOf(a);
+                    final Float64CholeskyDecomposition cholesky = Float64CholeskyDecomposition.valueOf(A);
+                    final double[][] l = toArray(cholesky.getL());
+                    for (int i = 0; i < n; i++) {
+                        assertTrue(l[i][i] > 0, name);
+                        for (int j = i + 1; j < n; j++) {
+                            assertEquals(0.0, l[i][j]); // Lower triangular.
+                        }
+                    }
+                    assertNear(a, product(l, transpose(l)), name);
+                    // Only the lower triangle is read (same factor from the packed storage).
+                    final double[][] lower = new double[n][n];
+                    for (int i = 0; i < n; i++) {
+                        for (int j = 0; j <= i; j++) {
+                            lower[i][j] = a[i][j];
+                        }
+                        for (int j = i + 1; j < n; j++) {
+                            lower[i][j] = Double.NaN;
+                        }
+                    }
+                    assertNear(l, toArray(Float64CholeskyDecomposition.valueOf(Float64Matrix.valueOf(lower)).getL()),
+                            name);
+                    assertNear(l, toArray(Float64CholeskyDecomposition.valueOf(Float64SymmetricMatrix.valueOf(a))
+                            .getL()), name);
+                    final double det = A.determinant().doubleValue();
+                    assertTrue(Math.abs(cholesky.determinant().doubleValue() - det) <= 1e-10 * Math.abs(det), name);
+                    final double[][] b = random(n, 3, random);
+                    assertNear(b, product(a, toArray(cholesky.solve(Float64Matrix.valueOf(b)))), name);
+                    final double[] column = new double[n];
+                    for (int i = 0; i < n; i++) {
+                        column[i] = b[i][2];
+                    }
+                    final double[] x = cholesky.solve(column);
+                    for (int i = 0; i < n; i++) {
+                        double sum = 0.0;
+                        for (int j = 0; j < n; j++) {
+                            sum += a[i][j] * x[j];
+                        }
+                        assertNear(b[i][2], sum);
+                    }
+                    assertNear(identity(n), product(toArray(cholesky.inverse()), a), name);
+                }
+            }
+        });
+    }
+
+    public void testNotPositiveDefinite() {
+        info(" Float64 Cholesky of not positive definite matrices (ArithmeticException)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(2);
+                final double[][] indefinite = { { 1, 2 }, { 2, 1 } };
+                final double[][] negative = positiveDefinite(150, random);
+                negative[140][140] = -1.0; // In the last block.
+                final double[][] q = toArray(Float64QRDecomposition.valueOf(Float64Matrix.valueOf(random(90, 90,
+                        random))).getQ());
+                final double[][] hidden = new double[90][90]; // One negative eigenvalue, positive diagonal.
+                for (int k = 0; k < 90; k++) {
+                    final double lambda = (k == 0) ? -0.1 : 1.0 + k;
+                    for (int i = 0; i < 90; i++) {
+                        for (int j = 0; j < 90; j++) {
+                            hidden[i][j] += q[i][k] * lambda * q[j][k];
+                        }
+                    }
+                }
+                for (int i = 0; i < 90; i++) {
+                    assertTrue(hidden[i][i] > 0);
+                }
+                for (final double[][] a : new double[][][] { indefinite, negative, hidden, new double[3][3] }) {
+                    assertException(ArithmeticException.class, new Runnable() {
+                        public void run() {
+                            Float64CholeskyDecomposition.valueOf(Float64Matrix.valueOf(a));
+                        }
+                    });
+                }
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        Float64CholeskyDecomposition.valueOf(Float64Matrix.valueOf(new double[3][4]));
+                    }
+                });
+            }
+        });
+    }
+
+    public void testLDL() {
+        info(" Float64 P·A·Pᵀ = L·D·Lᵀ / inertia / solve / determinant (indefinite)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(3);
+                for (final int n : new int[] { 2, 7, 60 }) {
+                    for (int positives = 0; positives <= n; positives += (n + 1) / 2) {
+                        final String name = "n = " + n + ", " + positives + " positive";
+                        // A = Q·Λ·Qᵀ with known signs of the eigenvalues.
+                        final double[][] q = toArray(Float64QRDecomposition.valueOf(
+                                Float64Matrix.valueOf(random(n, n, random))).getQ());
+                        final double[][] a = new double[n][n];
+                        for (int k = 0; k < n; k++) {
+                            final double lambda = (0.5 + random.nextDouble()) * ((k < positives) ? 1 : -1);
+                            for (int i = 0; i < n; i++) {
+                                for (int j = 0; j < n; j++) {
+                                    a[i][j] += q[i][k] * lambda * q[j][k];
+                                }
+                            }
+                        }
+                        final Float64LDLDecomposition ldl = Float64LDLDecomposition.valueOf(Float64Matrix.valueOf(a));
+                        final int[] inertia = ldl.getInertia();
+                        assertEquals(positives, inertia[0], name);
+                        assertEquals(n - positives, inertia[1], name);
+                        assertEquals(0, inertia[2], name);
+                        assertReconstruction(a, ldl, name);
+                        final double det = Float64Matrix.valueOf(a).determinant().doubleValue();
+                        assertTrue(Math.abs(ldl.determinant().doubleValue() - det) <= 1e-10 * Math.abs(det), name);
+                        final double[][] b = random(n, 2, random);
+                        assertNear(b, product(a, toArray(ldl.solve(Float64Matrix.valueOf(b)))), name);
+                        assertNear(identity(n), product(a, toArray(ldl.inverse())), name);
+                    }
+                }
+                // Zero diagonal (2x2 pivots) and exact zero eigenvalues.
+                final double[][] swap = { { 0, 1, 0 }, { 1, 0, 0 }, { 0, 0, 2 } };
+                final Float64LDLDecomposition ldl = Float64LDLDecomposition.valueOf(Float64Matrix.valueOf(swap));
+                assertInertia(new int[] { 2, 1, 0 }, ldl.getInertia());
+                assertNear(-2.0, ldl.determinant().doubleValue());
+                assertReconstruction(swap, ldl, "swap");
+                final double[][] diagonal = { { 2, 0, 0, 0 }, { 0, 0, 0, 0 }, { 0, 0, -3, 0 }, { 0, 0, 0, 0 } };
+                assertInertia(new int[] { 1, 1, 2 }, Float64LDLDecomposition.valueOf(Float64Matrix.valueOf(diagonal))
+                        .getInertia());
+            }
+        });
+    }
+
+    public void testSymmetricMatrix() {
+        info(" Float64SymmetricMatrix (packed) operations against dense");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(4);
+                final int n = 23;
+                final double[][] a = random(n, n, random);
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < i; j++) {
+                        a[j][i] = a[i][j];
+                    }
+                }
+                final double[][] upper = new double[n][n];
+                for (int i = 0; i < n; i++) {
+                    System.arraycopy(a[i], 0, upper[i], 0, i + 1); // Upper triangle ignored.
+                }
+                final Float64SymmetricMatrix S = Float64SymmetricMatrix.valueOf(upper);
+                final Float64Matrix A = Float64Matrix.valueOf(a);
+                assertTrue(Float64SymmetricMatrix.valueOf(S) == S);
+                assertEquals(n, S.getNumberOfRows());
+                assertEquals(n, S.getNumberOfColumns());
+                assertNear(a, toArray(S), "elements");
+                assertNear(a, toArray(Float64SymmetricMatrix.valueOf(A)), "valueOf(Matrix)");
+                assertNear(a, toArray(S.toDense()), "toDense");
+                assertNear(a, toArray(S.copy()), "copy");
+                assertNear(a, toArray(S.transpose()), "transpose");
+                for (int k = 0; k < n; k++) {
+                    assertNear(a[5][k], S.getRow(5).getValue(k));
+                    assertNear(a[k][9], S.getColumn(9).getValue(k));
+                    assertNear(a[7][k], S.get(7, k).doubleValue());
+                }
+                assertNear(scale(a, -1.0), toArray(S.opposite()), "opposite");
+                assertNear(scale(a, 2.5), toArray(S.times(2.5)), "times(double)");
+                assertNear(scale(a, 2.5), toArray(S.times(Float64.valueOf(2.5))), "times(Float64)");
+                assertNear(scale(a, 2.0), toArray(S.plus(S)), "plus(symmetric)");
+                assertTrue(S.plus(S) instanceof Float64SymmetricMatrix);
+                final double[][] b = random(n, n, random);
+                final double[][] sum = new double[n][n];
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        sum[i][j] = a[i][j] + b[i][j];
+                    }
+                }
+                assertNear(sum, toArray(S.plus(Float64Matrix.valueOf(b))), "plus(dense)");
+                assertNear(product(a, b), toArray(S.times(Float64Matrix.valueOf(b))), "times(Matrix)");
+                final Float64Vector v = Float64Vector.valueOf(b[0]);
+                final double[][] column = transpose(new double[][] { b[0] });
+                final double[][] av = product(a, column);
+                final Float64Vector sv = S.times(v);
+                for (int i = 0; i < n; i++) {
+                    assertNear(av[i][0], sv.getValue(i));
+                }
+                final double det = A.determinant().doubleValue();
+                assertTrue(Math.abs(S.determinant().doubleValue() - det) <= 1e-10 * Math.abs(det));
+                assertNear(identity(n), product(a, toArray(S.inverse())), "inverse");
+                assertNear(b, product(a, toArray(S.solve(Float64Matrix.valueOf(b)))), "solve");
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        Float64SymmetricMatrix.valueOf(Float64Matrix.valueOf(new double[2][3]));
+                    }
+                });
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        S.times(Float64Vector.valueOf(new double[n + 1]));
+                    }
+                });
+            }
+        });
+    }
+
+    public void testRational() {
+        info(" Rational L·D·Lᵀ = A (exact) / solve / determinant");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(5);
+                for (int n = 1; n <= 6; n++) {
+                    final String name = "n = " + n;
+                    final Rational[][] b = new Rational[n][n];
+                    for (int i = 0; i < n; i++) {
+                        for (int j = 0; j < n; j++) {
+                            b[i][j] = Rational.valueOf(random.nextInt(21) - 10, random.nextInt(5) + 1);
+                        }
+                        b[i][i] = b[i][i].plus(Rational.valueOf(20, 1)); // Non singular.
+                    }
+                    final DenseMatrix<Rational> B = DenseMatrix.valueOf(b);
+                    final DenseMatrix<Rational> A = B.times(B.transpose());
+                    final CholeskyDecomposition<Rational> cholesky = CholeskyDecomposition.valueOf(A);
+                    final DenseMatrix<Rational> L = cholesky.getLower(Rational.ZERO, Rational.ONE);
+                    final DiagonalMatrix<Rational> D = cholesky.getDiagonal();
+                    for (int i = 0; i < n; i++) {
+                        assertEquals(Rational.ONE, L.get(i, i), name);
+                        assertTrue(D.get(i, i).isPositive(), name);
+                        for (int j = i + 1; j < n; j++) {
+                            assertEquals(Rational.ZERO, L.get(i, j), name);
+                        }
+                    }
+                    assertEquals(A, L.times(D).times(L.transpose()), name);
+                    assertEquals(A.determinant(), cholesky.determinant(), name);
+                    final DenseMatrix<Rational> Y = B.transpose();
+                    assertEquals(Y, A.times(cholesky.solve(Y)), name);
+                }
+                // Indefinite with non zero leading minors.
+                final DenseMatrix<Rational> A = DenseMatrix.valueOf(new Rational[][] {
+                        { Rational.valueOf(1, 1), Rational.valueOf(2, 1) },
+                        { Rational.valueOf(2, 1), Rational.valueOf(1, 1) } });
+                final CholeskyDecomposition<Rational> cholesky = CholeskyDecomposition.valueOf(A);
+                assertEquals(Rational.valueOf(-3, 1), cholesky.getDiagonal().get(1, 1));
+                assertEquals(A, cholesky.getLower(Rational.ZERO, Rational.ONE).times(cholesky.getDiagonal()).times(
+                        cholesky.getLower(Rational.ZERO, Rational.ONE).transpose()));
+                assertException(ArithmeticException.class, new Runnable() {
+                    public void run() {
+                        CholeskyDecomposition.valueOf(DenseMatrix.valueOf(new Rational[][] {
+                                { Rational.ZERO, Rational.ONE }, { Rational.ONE, Rational.ZERO } }));
+                    }
+                });
+            }
+        });
+    }
+
+    // Checks P·A·Pᵀ = L·D·Lᵀ with L unit lower triangular.
+    private static void assertReconstruction(double[][] a, Float64LDLDecomposition ldl, String name) {
+        final int n = a.length;
+        final double[][] l = toArray(ldl.getL());
+        final double[][] d = toArray(ldl.getD());
+        final int[] pivots = ldl.getPivots();
+        final double[][] pap = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            assertEquals(1.0, l[i][i]);
+            for (int j = 0; j < n; j++) {
+                if (j > i) {
+                    assertEquals(0.0, l[i][j]);
+                }
+                if (Math.abs(i - j) > 1) {
+                    assertEquals(0.0, d[i][j]); // Blocks of size 1 or 2.
+                }
+                pap[i][j] = a[pivots[i]][pivots[j]];
+            }
+        }
+        assertNear(pap, product(product(l, d), transpose(l)), name);
+    }
+
+    private static void assertInertia(int[] expected, int[] actual) {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected[i], actual[i], "inertia");
+        }
+    }
+
+    // B·Bᵀ + I (determinant in range)
+    private static double[][] positiveDefinite(int n, Random random) {
+        final double[][] b = random(n, n, random);
+        final double[][] a = product(b, transpose(b));
+        for (int i = 0; i < n; i++) {
+            a[i][i] += 1.0;
+        }
+        return a;
+    }
+
+    private static double[][] random(int m, int n, Random random) {
+        final double[][] a = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i][j] = random.nextDouble() - 0.5;
+            }
+        }
+        return a;
+    }
+
+    private static double[][] identity(int n) {
+        final double[][] a = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            a[i][i] = 1.0;
+        }
+        return a;
+    }
+
+    private static double[][] scale(double[][] a, double k) {
+        final double[][] s = new double[a.length][a[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                s[i][j] = a[i][j] * k;
+            }
+        }
+        return s;
+    }
+
+    private static double[][] product(double[][] a, double[][] b) {
+        final double[][] c = new double[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b[0].length; j++) {
+                for (int k = 0; k < b.length; k++) {
+                    c[i][j] += a[i][k] * b[k][j];
+                }
+            }
+        }
+        return c;
+    }
+
+    private static double[][] transpose(double[][] a) {
+        final double[][] t = new double[a[0].length][a.length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                t[j][i] = a[i][j];
+            }
+        }
+        return t;
+    }
+
+    private static double[][] toArray(Matrix<Float64> M) {
+        final double[][] values = new double[M.getNumberOfRows()][M.getNumberOfColumns()];
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < values[0].length; j++) {
+                values[i][j] = M.get(i, j).doubleValue();
+            }
+        }
+        return values;
+    }
+
+    private static void assertNear(double[][] expected, double[][] actual, String name) {
+        assertEquals(expected.length, actual.length, name);
+        assertEquals(expected[0].length, actual[0].length, name);
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected[0].length; j++) {
+                assertTrue(Math.abs(expected[i][j] - actual[i][j]) <= 1e-9 * (1 + Math.abs(expected[i][j])), name
+                        + ": " + expected[i][j] + " expected but found " + actual[i][j] + " at (" + i + ", " + j
+                        + ")");
+            }
+        }
+    }
+
+    private static void assertNear(double expected, double actual) {
+        assertTrue(Math.abs(expected - actual) <= 1e-10 * (1 + Math.abs(expected)), expected
+                + " expected but found " + actual);
+    }
+}
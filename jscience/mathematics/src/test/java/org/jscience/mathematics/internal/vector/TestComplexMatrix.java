@@ -0,0 +1,320 @@
+package org.jscience.mathematics.internal.vector;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertException;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.util.Random;
+
+import javolution.context.ConcurrentContext;
+import javolution.context.LocalContext;
+import javolution.util.Index;
+
+import org.jscience.mathematics.number.Complex;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the interleaved {@link ComplexMatrix} (products, conjugate
+ * views) and its LU, Cholesky and eigen decompositions; the products are
+ * checked against naive loops on {@link Complex} elements and the
+ * decompositions through their defining identities.
+ */
+public class TestComplexMatrix extends AbstractTestSuite {
+
+    public void testProduct() {
+        info(" times(Matrix) / times(Vector) (sequential and concurrent)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(1);
+                final int[][] dimensions = { { 1, 1, 1 }, { 3, 5, 7 }, { 67, 130, 59 } };
+                for (int c = 1; c <= 4; c *= 4) {
+                    LocalContext.enter();
+                    try {
+                        ConcurrentContext.setConcurrency(c - 1);
+                        for (final int[] d : dimensions) {
+                            final ComplexMatrix A = random(d[0], d[1], random);
+                            final ComplexMatrix B = random(d[1], d[2], random);
+                            assertNear(product(A, B), A.times(B));
+                            final ComplexVector x = B.getColumn(0);
+                            final ComplexVector y = A.times(x);
+                            final Complex[][] expected = product(A, ComplexMatrix.valueOfVector(
+                                    new ComplexVector[] { x }).transpose());
+                            assertEquals(d[0], y.getDimension());
+                            for (int i = 0; i < d[0]; i++) {
+                                assertNear(expected[i][0], y.get(i));
+                            }
+                        }
+                    } finally {
+                        LocalContext.exit();
+                    }
+                }
+                final ComplexMatrix A = random(3, 4, random);
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        A.times(A);
+                    }
+                });
+            }
+        });
+    }
+
+    public void testViews() {
+        info(" transpose / conjugate / conjugateTranspose / getSubMatrix");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(2);
+                final ComplexMatrix A = random(23, 31, random);
+                final ComplexMatrix B = random(31, 17, random);
+                final ComplexMatrix C = random(17, 31, random);
+                for (int i = 0; i < 23; i++) {
+                    for (int j = 0; j < 31; j++) {
+                        final Complex a = A.get(i, j);
+                        assertEquals(a, A.transpose().get(j, i));
+                        assertEquals(a.conjugate(), A.conjugate().get(i, j));
+                        assertEquals(a.conjugate(), A.conjugateTranspose().get(j, i));
+                        assertEquals(a.getReal(), A.conjugateTranspose().getReal(j, i));
+                        assertEquals(-a.getImaginary(), A.conjugateTranspose().getImaginary(j, i));
+                    }
+                }
+                assertEquals(A, A.conjugateTranspose().conjugateTranspose());
+                assertEquals(A, A.conjugate().conjugate());
+                // Products of views (conjugation handled by the kernel).
+                assertNear(product(A.conjugate(), B), A.conjugate().times(B));
+                assertNear(product(A, B.conjugate()), A.times(B.conjugate()));
+                assertNear(product(A.conjugateTranspose(), A), A.conjugateTranspose().times(A));
+                assertNear(product(A, C.transpose()), A.times(C.transpose()));
+                assertNear(product(A.conjugate(), C.conjugateTranspose()), A.conjugate().times(C.conjugateTranspose()));
+                assertNear(product(B.transpose(), A.conjugateTranspose()), B.transpose().times(A.conjugateTranspose()));
+                final ComplexMatrix S = A.getSubMatrix(Index.rangeOf(2, 9), Index.rangeOf(5, 20)).conjugateTranspose();
+                assertNear(product(S, A.getSubMatrix(Index.rangeOf(2, 9), Index.rangeOf(0, 31))),
+                        S.times(A.getSubMatrix(Index.rangeOf(2, 9), Index.rangeOf(0, 31))));
+                final ComplexVector x = B.getColumn(3);
+                final ComplexVector y = A.conjugate().times(x);
+                final Complex[][] expected = product(A.conjugate(), ComplexMatrix.valueOfVector(
+                        new ComplexVector[] { x }).transpose());
+                for (int i = 0; i < 23; i++) {
+                    assertNear(expected[i][0], y.get(i));
+                }
+                // Linear operations on views.
+                final ComplexMatrix T = A.conjugateTranspose();
+                final ComplexMatrix U = T.plus(random(31, 23, random)).minus(T.times(Complex.valueOf(0.5, -2.0)));
+                final ComplexMatrix V = A.transpose().conjugate().copy();
+                assertNear(toArray(V.plus(U).minus(V).minus(U)), T.times(0.0));
+                assertTrue(A.times(A.conjugateTranspose()).isHermitian());
+                assertTrue(!A.getSubMatrix(Index.rangeOf(0, 5), Index.rangeOf(0, 5)).isHermitian());
+            }
+        });
+    }
+
+    public void testLUDecomposition() {
+        info(" ComplexLUDecomposition solve / inverse / determinant");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(3);
+                for (final int n : new int[] { 1, 2, 5, 33 }) {
+                    final ComplexMatrix A = random(n, n, random);
+                    final ComplexMatrix B = random(n, 3, random);
+                    final ComplexLUDecomposition lu = ComplexLUDecomposition.valueOf(A);
+                    assertNear(toArray(B), A.times(lu.solve(B)));
+                    assertNear(toArray(B), A.times(A.solve(B)));
+                    assertNear(toArray(identity(n)), A.times(lu.inverse()));
+                    assertNear(toArray(identity(n)), A.inverse().times(A));
+                    // P·A = L·U
+                    final int[] pivots = lu.getPivots();
+                    final ComplexMatrix LU = lu.getLU();
+                    final Complex[][] pa = new Complex[n][];
+                    for (int i = 0; i < n; i++) {
+                        pa[i] = toArray(A)[pivots[i]];
+                    }
+                    final Complex[][] l = new Complex[n][n];
+                    final Complex[][] u = new Complex[n][n];
+                    for (int i = 0; i < n; i++) {
+                        for (int j = 0; j < n; j++) {
+                            l[i][j] = (i > j) ? LU.get(i, j) : (i == j) ? Complex.ONE : Complex.ZERO;
+                            u[i][j] = (i <= j) ? LU.get(i, j) : Complex.ZERO;
+                        }
+                    }
+                    assertNear(pa, ComplexMatrix.valueOf(l).times(ComplexMatrix.valueOf(u)));
+                    // Determinant against the Laplace expansion (small sizes).
+                    if (n <= 5) {
+                        assertNear(A.laplaceExpansion(), lu.determinant());
+                        assertNear(A.laplaceExpansion(), A.determinant());
+                    }
+                }
+                // Singular matrix.
+                final ComplexMatrix S = ComplexMatrix.valueOf(new double[][] { { 1, 2 }, { 2, 4 } },
+                        new double[][] { { 1, -1 }, { 2, -2 } });
+                assertNear(Complex.ZERO, S.determinant());
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        ComplexLUDecomposition.valueOf(random(2, 3, new Random(4)));
+                    }
+                });
+            }
+        });
+    }
+
+    public void testCholeskyDecomposition() {
+        info(" ComplexCholeskyDecomposition (A·Aᴴ + n·I)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(5);
+                for (final int n : new int[] { 1, 4, 33 }) {
+                    final ComplexMatrix A = random(n, n, random);
+                    final ComplexMatrix M = A.times(A.conjugateTranspose()).plus(identity(n).times((double) n));
+                    final ComplexMatrix B = random(n, 3, random);
+                    final ComplexCholeskyDecomposition cholesky = ComplexCholeskyDecomposition.valueOf(M);
+                    final ComplexMatrix L = cholesky.getL();
+                    for (int i = 0; i < n; i++) {
+                        assertTrue(L.getReal(i, i) > 0);
+                        assertEquals(0.0, L.getImaginary(i, i));
+                        for (int j = i + 1; j < n; j++) {
+                            assertEquals(Complex.ZERO, L.get(i, j));
+                        }
+                    }
+                    assertNear(toArray(M), L.times(L.conjugateTranspose()));
+                    assertNear(toArray(B), M.times(cholesky.solve(B)));
+                    assertNear(toArray(identity(n)), M.times(cholesky.inverse()));
+                    final Complex det = ComplexLUDecomposition.valueOf(M).determinant();
+                    assertTrue(Math.abs(cholesky.determinant().getReal() - det.getReal()) <= 1e-10
+                            * det.magnitude());
+                    assertTrue(Math.abs(cholesky.determinant().getImaginary()) <= 1e-10 * det.magnitude());
+                }
+                assertException(ArithmeticException.class, new Runnable() {
+                    public void run() { // Not positive definite.
+                        ComplexCholeskyDecomposition.valueOf(identity(3).times(-1.0));
+                    }
+                });
+            }
+        });
+    }
+
+    public void testEigenDecomposition() {
+        info(" ComplexEigenDecomposition (Hermitian and general)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(6);
+                for (final int n : new int[] { 1, 2, 7, 40 }) {
+                    // Hermitian: real ascending eigenvalues, unitary V.
+                    final ComplexMatrix A = random(n, n, random);
+                    final ComplexMatrix H = A.plus(A.conjugateTranspose());
+                    final ComplexEigenDecomposition hermitian = ComplexEigenDecomposition.valueOf(H);
+                    final ComplexMatrix V = hermitian.getV();
+                    final double[] real = hermitian.getRealEigenvalues();
+                    final double[] imaginary = hermitian.getImaginaryEigenvalues();
+                    for (int i = 0; i < n; i++) {
+                        assertEquals(0.0, imaginary[i]);
+                        assertTrue((i == 0) || (real[i - 1] <= real[i]));
+                        assertEquals(Complex.valueOf(real[i], 0.0), hermitian.getD().get(i, i));
+                    }
+                    assertNear(toArray(V.times(hermitian.getD())), H.times(V));
+                    assertNear(toArray(identity(n)), V.conjugateTranspose().times(V));
+                    double trace = 0.0, sum = 0.0;
+                    for (int i = 0; i < n; i++) {
+                        trace += H.getReal(i, i);
+                        sum += real[i];
+                    }
+                    assertTrue(Math.abs(trace - sum) <= 1e-10 * (1 + Math.abs(trace)));
+                    // General: A·V = V·D, product of eigenvalues = det.
+                    final ComplexEigenDecomposition general = ComplexEigenDecomposition.valueOf(A);
+                    final ComplexMatrix W = general.getV();
+                    assertNear(toArray(W.times(general.getD())), A.times(W));
+                    Complex product = Complex.ONE;
+                    final Complex[] eigenvalues = general.getEigenvalues();
+                    for (int i = 0; i < n; i++) {
+                        assertEquals(eigenvalues[i], general.getD().get(i, i));
+                        assertEquals(eigenvalues[i].getReal(), general.getRealEigenvalues()[i]);
+                        assertEquals(eigenvalues[i].getImaginary(), general.getImaginaryEigenvalues()[i]);
+                        product = product.times(eigenvalues[i]);
+                    }
+                    final Complex det = A.determinant();
+                    assertTrue(det.minus(product).magnitude() <= 1e-8 * det.magnitude(), det + " expected but found "
+                            + product);
+                }
+                // Real rotation, eigenvalues ±i.
+                final ComplexMatrix R = ComplexMatrix.valueOf(new double[][] { { 0, -1 }, { 1, 0 } }, new double[2][2]);
+                final ComplexEigenDecomposition rotation = ComplexEigenDecomposition.valueOf(R);
+                assertNear(toArray(rotation.getV().times(rotation.getD())), R.times(rotation.getV()));
+                final Complex[] eigenvalues = rotation.getEigenvalues();
+                assertNear(Complex.ZERO, eigenvalues[0].plus(eigenvalues[1]));
+                assertNear(Complex.ONE, eigenvalues[0].times(eigenvalues[1]));
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        ComplexEigenDecomposition.valueOf(random(2, 3, new Random(7)));
+                    }
+                });
+            }
+        });
+    }
+
+    private static ComplexMatrix random(int m, int n, Random random) {
+        final double[][] real = new double[m][n];
+        final double[][] imaginary = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                real[i][j] = random.nextGaussian();
+                imaginary[i][j] = random.nextGaussian();
+            }
+        }
+        return ComplexMatrix.valueOf(real, imaginary);
+    }
+
+    private static ComplexMatrix identity(int n) {
+        final Complex[][] elements = new Complex[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                elements[i][j] = (i == j) ? Complex.ONE : Complex.ZERO;
+            }
+        }
+        return ComplexMatrix.valueOf(elements);
+    }
+
+    private static Complex[][] toArray(Matrix<Complex> M) {
+        final Complex[][] elements = new Complex[M.getNumberOfRows()][M.getNumberOfColumns()];
+        for (int i = 0; i < elements.length; i++) {
+            for (int j = 0; j < elements[0].length; j++) {
+                elements[i][j] = M.get(i, j);
+            }
+        }
+        return elements;
+    }
+
+    // Naive product on Complex elements.
+    private static Complex[][] product(Matrix<Complex> A, Matrix<Complex> B) {
+        final Complex[][] a = toArray(A);
+        final Complex[][] b = toArray(B);
+        final Complex[][] c = new Complex[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b[0].length; j++) {
+                Complex sum = Complex.ZERO;
+                for (int k = 0; k < b.length; k++) {
+                    sum = sum.plus(a[i][k].times(b[k][j]));
+                }
+                c[i][j] = sum;
+            }
+        }
+        return c;
+    }
+
+    private static void assertNear(Complex[][] expected, Matrix<Complex> actual) {
+        assertEquals(expected.length, actual.getNumberOfRows());
+        assertEquals(expected[0].length, actual.getNumberOfColumns());
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected[0].length; j++) {
+                assertNear(expected[i][j], actual.get(i, j));
+            }
+        }
+    }
+
+    private static void assertNear(Complex expected, Complex actual) {
+        assertTrue(expected.minus(actual).magnitude() <= 1e-9 * (1 + expected.magnitude()), expected
+                + " expected but found " + actual);
+    }
+}
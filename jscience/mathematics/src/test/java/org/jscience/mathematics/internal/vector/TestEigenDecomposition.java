@@ -0,0 +1,384 @@
+package org.jscience.mathematics.internal.vector;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertException;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import javolution.context.ConcurrentContext;
+import javolution.context.LocalContext;
+import javolution.lang.Configurable;
+
+import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.RandomGenerator;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link Float64EigenDecomposition} (symmetric and general)
+ * and the {@link Float64SingularValueDecomposition} (full and truncated):
+ * reconstruction <code>V·Λ·Vᵀ</code>, <code>A·V = V·D</code> and
+ * <code>U·Σ·Vᵀ</code>, orthogonality, ordering of the eigenvalues and
+ * singular values, numerical rank, and the same results when the
+ * reductions are performed concurrently.
+ */
+public class TestEigenDecomposition extends AbstractTestSuite {
+
+    public void testSymmetric() {
+        info(" symmetric V·Λ·Vᵀ = A, VᵀV = I, ascending eigenvalues");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(1);
+                for (final int n : new int[] { 1, 2, 9, 80 }) {
+                    final String name = "n = " + n;
+                    final double[][] a = symmetric(n, random);
+                    final Float64EigenDecomposition eigen = Float64EigenDecomposition.valueOf(Float64Matrix.valueOf(a));
+                    final double[] lambda = eigen.getRealEigenvalues();
+                    assertSymmetric(a, eigen, name);
+                    // Same decomposition from the packed storage.
+                    final double[] packed = Float64EigenDecomposition.valueOf(Float64SymmetricMatrix.valueOf(a))
+                            .getRealEigenvalues();
+                    for (int i = 0; i < n; i++) {
+                        assertNear(lambda[i], packed[i]);
+                    }
+                }
+                // Known spectrum (multiple eigenvalues): A = Q·Λ·Qᵀ
+                final int n = 30;
+                final double[][] q = toArray(Float64QRDecomposition.valueOf(Float64Matrix.valueOf(random(n, n, random)))
+                        .getQ());
+                final double[] expected = new double[n];
+                for (int k = 0; k < n; k++) {
+                    expected[k] = (k % 3 == 0) ? 2.0 : -0.5 * k;
+                }
+                final double[][] a = new double[n][n];
+                for (int k = 0; k < n; k++) {
+                    for (int i = 0; i < n; i++) {
+                        for (int j = 0; j < n; j++) {
+                            a[i][j] += q[i][k] * expected[k] * q[j][k];
+                        }
+                    }
+                }
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < i; j++) {
+                        a[j][i] = a[i][j]; // Exactly symmetric (rounding).
+                    }
+                }
+                final Float64EigenDecomposition eigen = Float64EigenDecomposition.valueOf(Float64Matrix.valueOf(a));
+                assertSymmetric(a, eigen, "known spectrum");
+                Arrays.sort(expected);
+                final double[] lambda = eigen.getRealEigenvalues();
+                for (int i = 0; i < n; i++) {
+                    assertNear(expected[i], lambda[i]);
+                }
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        Float64EigenDecomposition.valueOf(Float64Matrix.valueOf(new double[2][3]));
+                    }
+                });
+            }
+        });
+    }
+
+    public void testGeneral() {
+        info(" general A·V = V·D (complex conjugate pairs)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(2);
+                for (final int n : new int[] { 2, 7, 40 }) {
+                    final String name = "n = " + n;
+                    final double[][] a = random(n, n, random);
+                    final Float64EigenDecomposition eigen = Float64EigenDecomposition.valueOf(Float64Matrix.valueOf(a));
+                    final double[][] v = toArray(eigen.getV());
+                    final double[][] d = toArray(eigen.getD());
+                    assertNear(product(a, v), product(v, d), name);
+                    final double[] real = eigen.getRealEigenvalues();
+                    final double[] imaginary = eigen.getImaginaryEigenvalues();
+                    double trace = 0.0, sum = 0.0;
+                    for (int i = 0; i < n; i++) {
+                        trace += a[i][i];
+                        sum += real[i];
+                        if (imaginary[i] > 0) { // Conjugate pair.
+                            assertNear(real[i], real[i + 1]);
+                            assertNear(-imaginary[i], imaginary[i + 1]);
+                        }
+                    }
+                    assertNear(trace, sum);
+                }
+                // Rotation: eigenvalues ±i
+                final double[][] rotation = { { 0, -1 }, { 1, 0 } };
+                final Float64EigenDecomposition eigen = Float64EigenDecomposition.valueOf(Float64Matrix
+                        .valueOf(rotation));
+                assertNear(0.0, eigen.getRealEigenvalues()[0]);
+                assertNear(1.0, Math.abs(eigen.getImaginaryEigenvalues()[0]));
+                assertNear(-eigen.getImaginaryEigenvalues()[0], eigen.getImaginaryEigenvalues()[1]);
+                assertNear(product(rotation, toArray(eigen.getV())), product(toArray(eigen.getV()),
+                        toArray(eigen.getD())), "rotation");
+                // Triangular: eigenvalues on the diagonal.
+                final double[][] triangular = random(12, 12, random);
+                final double[] diagonal = new double[12];
+                for (int i = 0; i < 12; i++) {
+                    for (int j = 0; j < i; j++) {
+                        triangular[i][j] = 0.0;
+                    }
+                    triangular[i][i] = diagonal[i] = i - 5.5;
+                }
+                final double[] real = Float64EigenDecomposition.valueOf(Float64Matrix.valueOf(triangular))
+                        .getRealEigenvalues();
+                Arrays.sort(real);
+                for (int i = 0; i < 12; i++) {
+                    assertNear(diagonal[i], real[i]);
+                }
+            }
+        });
+    }
+
+    public void testSingularValues() {
+        info(" U·Σ·Vᵀ = A, UᵀU = VᵀV = I, descending singular values, rank");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(3);
+                final int[][] sizes = { { 70, 25 }, { 25, 70 }, { 40, 40 }, { 1, 9 } };
+                for (final int[] size : sizes) {
+                    final double[][] a = random(size[0], size[1], random);
+                    final Float64SingularValueDecomposition svd = Float64SingularValueDecomposition
+                            .valueOf(Float64Matrix.valueOf(a));
+                    assertSingular(a, svd, size[0] + "x" + size[1]);
+                    assertEquals(Math.min(size[0], size[1]), svd.rank());
+                    // Singular values: square roots of the eigenvalues of AᵀA (ascending).
+                    final double[][] ata = (size[0] >= size[1]) ? product(transpose(a), a) : product(a, transpose(a));
+                    final double[] lambda = Float64EigenDecomposition.valueOf(Float64Matrix.valueOf(ata))
+                            .getRealEigenvalues();
+                    final double[] s = svd.getSingularValues();
+                    for (int i = 0; i < s.length; i++) {
+                        assertNear(Math.sqrt(Math.max(lambda[s.length - 1 - i], 0.0)), s[i]);
+                    }
+                }
+                // Rank deficient.
+                for (final int rank : new int[] { 0, 1, 6 }) {
+                    final double[][] a = (rank == 0) ? new double[50][30] : product(random(50, rank, random), random(
+                            rank, 30, random));
+                    final Float64SingularValueDecomposition svd = Float64SingularValueDecomposition
+                            .valueOf(Float64Matrix.valueOf(a));
+                    assertEquals(rank, svd.rank(), "rank " + rank);
+                    assertSingular(a, svd, "rank " + rank);
+                }
+            }
+        });
+    }
+
+    public void testTruncated() {
+        info(" truncated (randomized) singular value decomposition");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(4);
+                final int m = 200, n = 120, r = 30;
+                // A = U0·diag(s)·V0ᵀ with fast decaying singular values.
+                final double[][] u0 = toArray(Float64QRDecomposition.valueOf(Float64Matrix.valueOf(random(m, r, random)))
+                        .getQ());
+                final double[][] v0 = toArray(Float64QRDecomposition.valueOf(Float64Matrix.valueOf(random(n, r, random)))
+                        .getQ());
+                final double[] s0 = new double[r];
+                final double[][] a = new double[m][n];
+                for (int k = 0; k < r; k++) {
+                    s0[k] = Math.pow(0.5, k);
+                    for (int i = 0; i < m; i++) {
+                        for (int j = 0; j < n; j++) {
+                            a[i][j] += u0[i][k] * s0[k] * v0[j][k];
+                        }
+                    }
+                }
+                final Float64SingularValueDecomposition svd = Float64SingularValueDecomposition.valueOf(Float64Matrix
+                        .valueOf(a), 5, new RandomGenerator(5));
+                final double[] s = svd.getSingularValues();
+                assertEquals(5, s.length);
+                assertEquals(m, svd.getU().getNumberOfRows());
+                assertEquals(n, svd.getV().getNumberOfRows());
+                for (int i = 0; i < 5; i++) {
+                    assertTrue(Math.abs(s[i] - s0[i]) <= 1e-8 * s0[i], s0[i] + " expected but found " + s[i]);
+                }
+                final double[][] u = toArray(svd.getU());
+                final double[][] v = toArray(svd.getV());
+                assertNear(identity(5), product(transpose(u), u), "UᵀU");
+                assertNear(identity(5), product(transpose(v), v), "VᵀV");
+                assertException(IllegalArgumentException.class, new Runnable() {
+                    public void run() {
+                        Float64SingularValueDecomposition.valueOf(Float64Matrix.valueOf(a), 121, new RandomGenerator(5));
+                    }
+                });
+            }
+        });
+    }
+
+    public void testConcurrent() {
+        info(" concurrent reductions (same results as sequential)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(6);
+                final double[][] a = symmetric(300, random); // More than CONCURRENCY_THRESHOLD elements.
+                final double[][] b = random(400, 250, random);
+                final Float64EigenDecomposition eigen = Float64EigenDecomposition.valueOf(Float64Matrix.valueOf(a));
+                final Float64SingularValueDecomposition svd = Float64SingularValueDecomposition.valueOf(Float64Matrix
+                        .valueOf(b));
+                final Object[] concurrent = new Object[2];
+                concurrently(new Runnable() {
+                    public void run() {
+                        concurrent[0] = Float64EigenDecomposition.valueOf(Float64Matrix.valueOf(a));
+                        concurrent[1] = Float64SingularValueDecomposition.valueOf(Float64Matrix.valueOf(b));
+                    }
+                });
+                final Float64EigenDecomposition eigenC = (Float64EigenDecomposition) concurrent[0];
+                final Float64SingularValueDecomposition svdC = (Float64SingularValueDecomposition) concurrent[1];
+                for (int i = 0; i < 300; i++) {
+                    assertNear(eigen.getRealEigenvalues()[i], eigenC.getRealEigenvalues()[i]);
+                }
+                for (int i = 0; i < 250; i++) {
+                    assertNear(svd.getSingularValues()[i], svdC.getSingularValues()[i]);
+                }
+                assertSymmetric(a, eigenC, "concurrent eigen");
+                assertSingular(b, svdC, "concurrent svd");
+            }
+        });
+    }
+
+    // Checks A = V·Λ·Vᵀ, VᵀV = I and ascending real eigenvalues.
+    private static void assertSymmetric(double[][] a, Float64EigenDecomposition eigen, String name) {
+        final int n = a.length;
+        final double[] lambda = eigen.getRealEigenvalues();
+        final double[] imaginary = eigen.getImaginaryEigenvalues();
+        final double[][] v = toArray(eigen.getV());
+        final double[][] d = toArray(eigen.getD());
+        for (int i = 0; i < n; i++) {
+            assertEquals(0.0, imaginary[i]);
+            assertEquals(lambda[i], d[i][i]);
+            if (i > 0) {
+                assertTrue(lambda[i - 1] <= lambda[i], name + ": not ascending");
+            }
+        }
+        assertNear(identity(n), product(transpose(v), v), name + " VᵀV");
+        assertNear(a, product(product(v, d), transpose(v)), name + " V·Λ·Vᵀ");
+    }
+
+    // Checks A = U·Σ·Vᵀ, UᵀU = VᵀV = I and descending singular values.
+    private static void assertSingular(double[][] a, Float64SingularValueDecomposition svd, String name) {
+        final int r = Math.min(a.length, a[0].length);
+        final double[] s = svd.getSingularValues();
+        final double[][] u = toArray(svd.getU());
+        final double[][] v = toArray(svd.getV());
+        final double[][] sigma = toArray(svd.getS());
+        assertEquals(r, s.length, name);
+        assertEquals(a.length, u.length, name);
+        assertEquals(a[0].length, v.length, name);
+        for (int i = 0; i < r; i++) {
+            assertTrue(s[i] >= 0, name + ": negative singular value");
+            assertEquals(s[i], sigma[i][i]);
+            if (i > 0) {
+                assertTrue(s[i - 1] >= s[i], name + ": not descending");
+            }
+        }
+        assertNear(a, product(product(u, sigma), transpose(v)), name + " U·Σ·Vᵀ");
+        assertNear(identity(r), product(transpose(u), u), name + " UᵀU");
+        assertNear(identity(r), product(transpose(v), v), name + " VᵀV");
+    }
+
+    // Executes the specified logic with the reductions performed concurrently.
+    private static void concurrently(Runnable logic) {
+        final Integer maximum = ConcurrentContext.MAXIMUM_CONCURRENCY.get();
+        final Class<? extends ConcurrentContext> context = ConcurrentContext.DEFAULT.get();
+        Configurable.configure(ConcurrentContext.MAXIMUM_CONCURRENCY, 3);
+        Configurable.configure(ConcurrentContext.DEFAULT, TestFloat64SparseMatrix.SharedWorkers.class);
+        LocalContext.enter();
+        try {
+            ConcurrentContext.setConcurrency(3);
+            logic.run();
+        } finally {
+            LocalContext.exit();
+            Configurable.configure(ConcurrentContext.DEFAULT, context);
+            Configurable.configure(ConcurrentContext.MAXIMUM_CONCURRENCY, maximum);
+        }
+    }
+
+    private static double[][] symmetric(int n, Random random) {
+        final double[][] a = random(n, n, random);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                a[j][i] = a[i][j];
+            }
+        }
+        return a;
+    }
+
+    private static double[][] random(int m, int n, Random random) {
+        final double[][] a = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i][j] = random.nextDouble() - 0.5;
+            }
+        }
+        return a;
+    }
+
+    private static double[][] identity(int n) {
+        final double[][] a = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            a[i][i] = 1.0;
+        }
+        return a;
+    }
+
+    private static double[][] product(double[][] a, double[][] b) {
+        final double[][] c = new double[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b[0].length; j++) {
+                for (int k = 0; k < b.length; k++) {
+                    c[i][j] += a[i][k] * b[k][j];
+                }
+            }
+        }
+        return c;
+    }
+
+    private static double[][] transpose(double[][] a) {
+        final double[][] t = new double[a[0].length][a.length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                t[j][i] = a[i][j];
+            }
+        }
+        return t;
+    }
+
+    private static double[][] toArray(Matrix<Float64> M) {
+        final double[][] values = new double[M.getNumberOfRows()][M.getNumberOfColumns()];
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < values[0].length; j++) {
+                values[i][j] = M.get(i, j).doubleValue();
+            }
+        }
+        return values;
+    }
+
+    private static void assertNear(double[][] expected, double[][] actual, String name) {
+        assertEquals(expected.length, actual.length, name);
+        assertEquals(expected[0].length, actual[0].length, name);
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected[0].length; j++) {
+                assertTrue(Math.abs(expected[i][j] - actual[i][j]) <= 1e-9 * (1 + Math.abs(expected[i][j])), name
+                        + ": " + expected[i][j] + " expected but found " + actual[i][j] + " at (" + i + ", " + j
+                        + ")");
+            }
+        }
+    }
+
+    private static void assertNear(double expected, double actual) {
+        assertTrue(Math.abs(expected - actual) <= 1e-9 * (1 + Math.abs(expected)), expected
+                + " expected but found " + actual);
+    }
+}
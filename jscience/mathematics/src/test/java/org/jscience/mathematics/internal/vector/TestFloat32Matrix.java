@@ -0,0 +1,297 @@
+package org.jscience.mathematics.internal.vector;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertException;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.util.Random;
+
+import javolution.util.Index;
+
+import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link Float32Matrix} and {@link Float32Vector} element
+ * access (views sharing the elements), element-wise operations (each element
+ * rounded once to 32 bits) and products against double precision references
+ * within float tolerance.
+ */
+public class TestFloat32Matrix extends AbstractTestSuite {
+
+    public void testElementAccess() {
+        info(" getValue / get / getRow / getColumn / getDiagonal / getSubMatrix / transpose");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(1);
+                final int m = 7, n = 5;
+                final float[][] a = random(m, n, random);
+                final Float32Matrix A = Float32Matrix.valueOf(a);
+                assertEquals(m, A.getNumberOfRows());
+                assertEquals(n, A.getNumberOfColumns());
+                for (int i = 0; i < m; i++) {
+                    for (int j = 0; j < n; j++) {
+                        assertEquals(a[i][j], A.getValue(i, j));
+                        assertEquals(Float64.valueOf(a[i][j]), A.get(i, j));
+                        assertEquals(a[i][j], A.getRow(i).getValue(j));
+                        assertEquals(a[i][j], A.getColumn(j).getValue(i));
+                        assertEquals(a[i][j], A.transpose().getValue(j, i));
+                        assertEquals((double) a[i][j], A.toFloat64().getValue(i, j)); // Exact.
+                    }
+                }
+                for (int i = 0; i < n; i++) {
+                    assertEquals(a[i][i], A.getDiagonal().getValue(i));
+                    assertEquals(a[i][i], A.transpose().getDiagonal().getValue(i));
+                }
+                assertEquals(n, A.getDiagonal().getDimension());
+                // Evenly spaced (view) and arbitrary (copy) sub-matrices.
+                final Float32Matrix S = A.getSubMatrix(Index.rangeOf(1, 4), Index.rangeOf(0, 5));
+                final Float32Matrix T = A.transpose().getSubMatrix(Index.valuesOf(4, 0, 2), Index.valuesOf(6, 1));
+                for (int j = 0; j < n; j++) {
+                    assertEquals(a[2][j], S.getValue(1, j));
+                }
+                assertEquals(a[6][4], T.getValue(0, 0));
+                assertEquals(a[1][0], T.getValue(1, 1));
+                assertEquals(a[6][2], T.getValue(2, 0));
+                assertEquals(A.transpose(), A.transpose().copy());
+                assertEquals(A, Float32Matrix.valueOfVector(new Float32Vector[] { A.getRow(0), A.getRow(1),
+                        A.getRow(2), A.getRow(3), A.getRow(4), A.getRow(5), A.getRow(6) }));
+                // valueOfMatrix rounds each element to 32 bits.
+                final double[][] d = { { 0.1, 1.0 / 3.0 }, { 1e-50, -1e300 } };
+                final Float32Matrix D = Float32Matrix.valueOfMatrix(Float64Matrix.valueOf(d));
+                final Float32Matrix DT = Float32Matrix.valueOfMatrix(Float64Matrix.valueOf(d).transpose());
+                for (int i = 0; i < 2; i++) {
+                    for (int j = 0; j < 2; j++) {
+                        assertEquals((float) d[i][j], D.getValue(i, j));
+                        assertEquals((float) d[j][i], DT.getValue(i, j));
+                    }
+                }
+                assertException(IndexOutOfBoundsException.class, new Runnable() {
+                    public void run() {
+                        A.getValue(m, 0);
+                    }
+                });
+                assertException(IndexOutOfBoundsException.class, new Runnable() {
+                    public void run() {
+                        A.getColumn(n);
+                    }
+                });
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        Float32Matrix.valueOf(new float[][] { { 1f, 2f }, { 3f } });
+                    }
+                });
+            }
+        });
+    }
+
+    public void testVector() {
+        info(" Float32Vector element-wise (rounded once), dot, norm and cross products");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(2);
+                final int n = 1001;
+                final float[] x = random(1, n, random)[0];
+                final float[] y = random(1, n, random)[0];
+                final Float32Vector X = Float32Vector.valueOf(x);
+                final Float32Vector Y = Float32Vector.valueOf(y);
+                final Float32Vector plus = X.plus(Y), minus = X.minus(Y), times = X.times(0.1), opposite = X.opposite();
+                double dot = 0.0, squares = 0.0, magnitude = 0.0;
+                for (int i = 0; i < n; i++) {
+                    assertEquals(x[i], X.getValue(i));
+                    assertEquals(Float64.valueOf(x[i]), X.get(i));
+                    assertEquals(Float64.valueOf(x[i]), X.asList().get(i));
+                    assertEquals((double) x[i], X.toFloat64().getValue(i));
+                    assertEquals(x[i] + y[i], plus.getValue(i));
+                    assertEquals(x[i] - y[i], minus.getValue(i));
+                    assertEquals((float) (0.1 * x[i]), times.getValue(i));
+                    assertEquals(-x[i], opposite.getValue(i));
+                    dot += (double) x[i] * y[i];
+                    squares += (double) x[i] * x[i];
+                    magnitude += Math.abs((double) x[i] * y[i]);
+                }
+                assertNear(dot, X.times(Y).doubleValue(), 1e-15 * n * magnitude);
+                assertNear(dot, X.times(Y.toFloat64()).doubleValue(), 1e-15 * n * magnitude);
+                assertNear(Math.sqrt(squares), X.normValue(), 1e-15 * n * squares);
+                assertEquals(X.normValue(), X.norm().doubleValue());
+                assertEquals(X, Float32Vector.valueOfVector(X.toFloat64()));
+                assertEquals(X.plus(Y), X.plus(Y.toFloat64())); // Same values, same rounding.
+                final Float32Vector sub = X.getSubVector(Index.valuesOf(7, 3, 1000));
+                assertEquals(Float32Vector.valueOf(x[7], x[3], x[1000]), sub);
+                final Float32Vector cross = Float32Vector.valueOf(1f, 2f, 3f).cross(Float32Vector.valueOf(4f, 5f, 6f));
+                assertEquals(Float32Vector.valueOf(-3f, 6f, -3f), cross);
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        X.plus(Float32Vector.valueOf(1f, 2f));
+                    }
+                });
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        X.times(Float32Vector.valueOf(1f, 2f));
+                    }
+                });
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        X.cross(Y);
+                    }
+                });
+            }
+        });
+    }
+
+    public void testElementWise() {
+        info(" opposite / plus / minus / times(k) on row-major and transposed views (rounded once)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(3);
+                final int m = 33, n = 47;
+                final float[][] a = random(m, n, random);
+                final float[][] b = random(m, n, random);
+                final float[][] bt = new float[n][m];
+                for (int i = 0; i < m; i++) {
+                    for (int j = 0; j < n; j++) {
+                        bt[j][i] = b[i][j];
+                    }
+                }
+                final Float32Matrix A = Float32Matrix.valueOf(a);
+                final Float32Matrix B = Float32Matrix.valueOf(b);
+                final Float32Matrix BT = Float32Matrix.valueOf(bt).transpose(); // Column-major view of b.
+                for (final Float32Matrix that : new Float32Matrix[] { B, BT }) {
+                    final Float32Matrix plus = A.plus(that), minus = A.minus(that);
+                    final Float32Matrix transposed = A.transpose().plus(that.transpose()); // Both views.
+                    for (int i = 0; i < m; i++) {
+                        for (int j = 0; j < n; j++) {
+                            assertEquals(a[i][j] + b[i][j], plus.getValue(i, j));
+                            assertEquals(a[i][j] - b[i][j], minus.getValue(i, j));
+                            assertEquals(a[i][j] + b[i][j], transposed.getValue(j, i));
+                        }
+                    }
+                }
+                assertEquals(A.plus(B), A.plus(B.toFloat64()));
+                final Float32Matrix opposite = A.transpose().opposite();
+                final Float32Matrix times = A.transpose().times(Float64.valueOf(1.0 / 3.0));
+                for (int i = 0; i < m; i++) {
+                    for (int j = 0; j < n; j++) {
+                        assertEquals(-a[i][j], opposite.getValue(j, i));
+                        assertEquals((float) ((1.0 / 3.0) * a[i][j]), times.getValue(j, i));
+                    }
+                }
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        A.plus(A.transpose());
+                    }
+                });
+            }
+        });
+    }
+
+    public void testProducts() {
+        info(" times(Vector) / times(Matrix) against double reference (views, non-tile sizes)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(4);
+                final int[][] sizes = { { 1, 1, 1 }, { 5, 7, 3 }, { 33, 31, 35 }, { 65, 270, 9 } };
+                for (final int[] size : sizes) {
+                    final int m = size[0], n = size[1], p = size[2];
+                    final float[][] a = random(m, n, random);
+                    final float[][] b = random(n, p, random);
+                    final Float32Matrix A = Float32Matrix.valueOf(a);
+                    final Float32Matrix B = Float32Matrix.valueOf(b);
+                    final Float32Vector x = B.getColumn(0); // Strided view.
+                    // A·B, (Bᵀ·Aᵀ)ᵀ and A·B (Float64) must all be near the double reference.
+                    final Float32Matrix[] products = { A.times(B), B.transpose().times(A.transpose()).transpose(),
+                            A.times(B.toFloat64()) };
+                    final Float32Vector Ax = A.times(x);
+                    final int roundings = n / 256 + 2; // Per block of KC = 256 products, and the last one.
+                    final double bound = roundings * 0x1.0p-24 + 1e-15;
+                    for (int i = 0; i < m; i++) {
+                        double expectedX = 0.0, magnitudeX = 0.0;
+                        for (int k = 0; k < n; k++) {
+                            expectedX += (double) a[i][k] * b[k][0];
+                            magnitudeX += Math.abs((double) a[i][k] * b[k][0]);
+                        }
+                        assertNear(expectedX, Ax.getValue(i), bound * magnitudeX);
+                        for (int j = 0; j < p; j++) {
+                            double expected = 0.0, magnitude = 0.0;
+                            for (int k = 0; k < n; k++) {
+                                expected += (double) a[i][k] * b[k][j];
+                                magnitude += Math.abs((double) a[i][k] * b[k][j]);
+                            }
+                            for (final Float32Matrix product : products) {
+                                assertNear(expected, product.getValue(i, j), bound * magnitude);
+                            }
+                        }
+                    }
+                }
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        Float32Matrix.valueOf(new float[2][3]).times(Float32Matrix.valueOf(new float[2][3]));
+                    }
+                });
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        Float32Matrix.valueOf(new float[2][3]).times(Float32Vector.valueOf(1f, 2f));
+                    }
+                });
+            }
+        });
+    }
+
+    public void testLinearSystems() {
+        info(" inverse / solve / determinant (double precision, rounded to 32 bits)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(5);
+                final int n = 40;
+                final float[][] a = random(n, n, random);
+                for (int i = 0; i < n; i++) {
+                    a[i][i] += n; // Well conditioned.
+                }
+                final Float32Matrix A = Float32Matrix.valueOf(a);
+                final Float64Matrix A64 = A.toFloat64();
+                final Float64LUDecomposition lu = Float64LUDecomposition.valueOf(A64);
+                assertEquals(lu.determinant(), A.determinant());
+                assertEquals(Float32Matrix.valueOfMatrix(lu.inverse()), A.inverse());
+                final Float32Matrix Y = Float32Matrix.valueOf(random(n, 3, random));
+                final Float32Matrix X = A.solve(Y);
+                assertEquals(Float32Matrix.valueOfMatrix(lu.solve(Y)), X);
+                final Float32Matrix AX = A.times(X);
+                final Float32Matrix I = A.times(A.inverse());
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < 3; j++) {
+                        assertNear(Y.getValue(i, j), AX.getValue(i, j), 1e-4);
+                    }
+                    for (int j = 0; j < n; j++) {
+                        assertNear((i == j) ? 1.0 : 0.0, I.getValue(i, j), 1e-4);
+                    }
+                }
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        Float32Matrix.valueOf(new float[2][3]).determinant();
+                    }
+                });
+            }
+        });
+    }
+
+    private static void assertNear(double expected, double actual, double bound) {
+        assertTrue(Math.abs(expected - actual) <= bound, expected + " expected but found " + actual);
+    }
+
+    private static float[][] random(int m, int n, Random random) {
+        final float[][] a = new float[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i][j] = random.nextFloat() - 0.5f;
+            }
+        }
+        return a;
+    }
+}
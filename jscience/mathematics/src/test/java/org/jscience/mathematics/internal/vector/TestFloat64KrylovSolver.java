@@ -0,0 +1,290 @@
+package org.jscience.mathematics.internal.vector;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertException;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.util.Random;
+
+import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link Float64KrylovSolver} iterative solvers and the
+ * {@link Float64Preconditioner} preconditioners; the solutions are checked
+ * through the residual norm <code>|b - A·x| / |b|</code> calculated
+ * independently from dense arrays.
+ */
+public class TestFloat64KrylovSolver extends AbstractTestSuite {
+
+    private static final double TOLERANCE = 1e-10;
+
+    public void testConjugateGradient() {
+        info(" conjugateGradient (Poisson, all preconditioners)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final double[][] a = poisson(12, 0.0);
+                final Float64SparseMatrix A = sparseOf(a);
+                final double[] b = randomVector(a.length, new Random(1));
+                final Float64Preconditioner[] preconditioners = { null, Float64Preconditioner.jacobi(A),
+                        Float64Preconditioner.ssor(A, 1.2), Float64Preconditioner.incompleteCholesky(A) };
+                int unpreconditioned = 0;
+                for (int i = 0; i < preconditioners.length; i++) {
+                    final Float64KrylovSolver cg = Float64KrylovSolver.conjugateGradient();
+                    cg.setTolerance(TOLERANCE);
+                    cg.setPreconditioner(preconditioners[i]);
+                    final Float64Vector x = cg.solve(A, Float64Vector.valueOf(b));
+                    assertSolved(cg, a, b, toArray(x), "CG " + i);
+                    if (i == 0) {
+                        unpreconditioned = cg.getIterations();
+                    } else if (i == 3) {
+                        assertTrue(cg.getIterations() < unpreconditioned, "IC(0) should reduce the iterations");
+                    }
+                }
+                // Compressed by columns.
+                final Float64KrylovSolver cg = Float64KrylovSolver.conjugateGradient();
+                assertSolved(cg, a, b, toArray(cg.solve(A.compressColumns(), Float64Vector.valueOf(b))), "CG (CSC)");
+            }
+        });
+    }
+
+    public void testMinres() {
+        info(" minres (symmetric indefinite)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final double[][] a = poisson(10, 1.0); // Shifted, indefinite.
+                final Float64SparseMatrix A = sparseOf(a);
+                final double[] b = randomVector(a.length, new Random(2));
+                final Float64KrylovSolver minres = Float64KrylovSolver.minres();
+                minres.setTolerance(TOLERANCE);
+                assertSolved(minres, a, b, toArray(minres.solve(A, Float64Vector.valueOf(b))), "MINRES");
+                // Symmetric positive definite preconditioner.
+                minres.setPreconditioner(new Float64Preconditioner() {
+                    @Override
+                    public void solve(double[] r, double[] z) {
+                        for (int i = 0; i < r.length; i++) {
+                            z[i] = r[i] / 4.0;
+                        }
+                    }
+                });
+                assertSolved(minres, a, b, toArray(minres.solve(A, Float64Vector.valueOf(b))), "MINRES (scaled)");
+            }
+        });
+    }
+
+    public void testNonSymmetric() {
+        info(" bicgstab / gmres (convection-diffusion)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final double[][] a = convectionDiffusion(12, 0.4);
+                final Float64SparseMatrix A = sparseOf(a);
+                final double[] b = randomVector(a.length, new Random(3));
+                final Float64KrylovSolver[] solvers = { Float64KrylovSolver.bicgstab(),
+                        Float64KrylovSolver.gmres(20), Float64KrylovSolver.gmres(a.length) };
+                final Float64Preconditioner[] preconditioners = { null, Float64Preconditioner.jacobi(A),
+                        Float64Preconditioner.ilu(A) };
+                for (int i = 0; i < solvers.length; i++) {
+                    for (int j = 0; j < preconditioners.length; j++) {
+                        final Float64KrylovSolver solver = solvers[i];
+                        solver.setTolerance(TOLERANCE);
+                        solver.setPreconditioner(preconditioners[j]);
+                        final double[] x = solver.solve(A, b.clone(), new double[b.length]);
+                        assertSolved(solver, a, b, x, "solver " + i + ", preconditioner " + j);
+                    }
+                }
+                // Against dense LU.
+                final double[] expected = toArray(Float64Matrix.valueOf(a).solve(Float64Vector.valueOf(b)));
+                final double[] x = toArray(Float64KrylovSolver.gmres(30).solve(A, Float64Vector.valueOf(b)));
+                for (int i = 0; i < x.length; i++) {
+                    assertTrue(Math.abs(expected[i] - x[i]) <= 1e-8 * (1 + Math.abs(expected[i])));
+                }
+            }
+        });
+    }
+
+    public void testMatrixFree() {
+        info(" LinearOperator (matrix-free and dense)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final int n = 50;
+                final double[][] a = new double[n][n];
+                for (int i = 0; i < n; i++) {
+                    a[i][i] = 2.5;
+                    if (i > 0) {
+                        a[i][i - 1] = a[i - 1][i] = -1.0;
+                    }
+                }
+                final LinearOperator<Float64> tridiagonal = new LinearOperator<Float64>() {
+                    public int getNumberOfRows() {
+                        return n;
+                    }
+
+                    public int getNumberOfColumns() {
+                        return n;
+                    }
+
+                    public Vector<Float64> times(Vector<Float64> v) {
+                        final double[] y = new double[n];
+                        for (int i = 0; i < n; i++) {
+                            y[i] = 2.5 * v.get(i).doubleValue();
+                            if (i > 0) {
+                                y[i] -= v.get(i - 1).doubleValue();
+                            }
+                            if (i < n - 1) {
+                                y[i] -= v.get(i + 1).doubleValue();
+                            }
+                        }
+                        return Float64Vector.valueOf(y);
+                    }
+                };
+                final double[] b = randomVector(n, new Random(4));
+                final Float64KrylovSolver[] solvers = { Float64KrylovSolver.conjugateGradient(),
+                        Float64KrylovSolver.minres(), Float64KrylovSolver.bicgstab(), Float64KrylovSolver.gmres(10) };
+                for (final Float64KrylovSolver solver : solvers) {
+                    assertSolved(solver, a, b, toArray(solver.solve(tridiagonal, Float64Vector.valueOf(b))),
+                            "matrix-free");
+                    assertSolved(solver, a, b, toArray(solver.solve(Float64Matrix.valueOf(a), Float64Vector.valueOf(b))),
+                            "dense");
+                }
+            }
+        });
+    }
+
+    public void testControl() {
+        info(" initial guess / monitor / maximum iterations");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final double[][] a = poisson(8, 0.0);
+                final Float64SparseMatrix A = sparseOf(a);
+                final double[] b = randomVector(a.length, new Random(5));
+                final Float64KrylovSolver cg = Float64KrylovSolver.conjugateGradient();
+                final Float64Vector x = cg.solve(A, Float64Vector.valueOf(b));
+                final int iterations = cg.getIterations();
+                assertTrue(iterations > 1);
+                // Exact initial guess.
+                assertSolved(cg, a, b, toArray(cg.solve(A, Float64Vector.valueOf(b), x)), "initial guess");
+                assertTrue(cg.getIterations() < iterations);
+                // Zero right-hand side.
+                final double[] zero = cg.solve(A, new double[b.length], randomVector(b.length, new Random(6)));
+                assertTrue(cg.hasConverged());
+                for (final double value : zero) {
+                    assertEquals(0.0, value);
+                }
+                // Monitor stopping after 3 iterations.
+                final int[] count = new int[1];
+                cg.setMonitor(new Float64KrylovSolver.Monitor() {
+                    public boolean iterate(int iteration, double residual) {
+                        assertTrue(residual >= 0);
+                        count[0] = iteration;
+                        return iteration < 3;
+                    }
+                });
+                cg.solve(A, Float64Vector.valueOf(b));
+                assertTrue(!cg.hasConverged());
+                assertEquals(3, count[0]);
+                assertEquals(3, cg.getIterations());
+                // Maximum iterations.
+                cg.setMonitor(null);
+                cg.setMaximumIterations(2);
+                cg.solve(A, Float64Vector.valueOf(b));
+                assertTrue(!cg.hasConverged());
+                assertEquals(2, cg.getIterations());
+                assertTrue(cg.getResidualNorm() > cg.getTolerance());
+                assertException(IllegalArgumentException.class, new Runnable() {
+                    public void run() {
+                        Float64KrylovSolver.gmres(0);
+                    }
+                });
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        cg.solve(A, new double[3], new double[3]);
+                    }
+                });
+            }
+        });
+    }
+
+    // Returns the 5-point Laplacian of a k-by-k grid minus shift·I.
+    private static double[][] poisson(int k, double shift) {
+        final int n = k * k;
+        final double[][] a = new double[n][n];
+        for (int i = 0; i < k; i++) {
+            for (int j = 0; j < k; j++) {
+                final int p = i * k + j;
+                a[p][p] = 4.0 - shift;
+                if (i > 0) {
+                    a[p][p - k] = -1.0;
+                }
+                if (i < k - 1) {
+                    a[p][p + k] = -1.0;
+                }
+                if (j > 0) {
+                    a[p][p - 1] = -1.0;
+                }
+                if (j < k - 1) {
+                    a[p][p + 1] = -1.0;
+                }
+            }
+        }
+        return a;
+    }
+
+    // Returns the Laplacian plus an upwind convection term (non-symmetric).
+    private static double[][] convectionDiffusion(int k, double velocity) {
+        final double[][] a = poisson(k, 0.0);
+        for (int p = 0; p < a.length; p++) {
+            a[p][p] += velocity;
+            if (p % k > 0) {
+                a[p][p - 1] -= velocity;
+            }
+        }
+        return a;
+    }
+
+    private static Float64SparseMatrix sparseOf(double[][] a) {
+        return Float64SparseMatrix.valueOfMatrix(Float64Matrix.valueOf(a));
+    }
+
+    private static double[] randomVector(int n, Random random) {
+        final double[] v = new double[n];
+        for (int i = 0; i < n; i++) {
+            v[i] = random.nextDouble() - 0.5;
+        }
+        return v;
+    }
+
+    private static double[] toArray(Vector<Float64> v) {
+        final double[] values = new double[v.getDimension()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = v.get(i).doubleValue();
+        }
+        return values;
+    }
+
+    // Checks convergence and the residual norm calculated independently.
+    private static void assertSolved(Float64KrylovSolver solver, double[][] a, double[] b, double[] x,
+            String message) {
+        assertTrue(solver.hasConverged(), message + ": not converged after " + solver.getIterations()
+                + " iterations");
+        double r2 = 0.0, b2 = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            double r = b[i];
+            for (int j = 0; j < a.length; j++) {
+                r -= a[i][j] * x[j];
+            }
+            r2 += r * r;
+            b2 += b[i] * b[i];
+        }
+        final double residual = Math.sqrt(r2 / b2);
+        assertTrue(residual <= 10 * solver.getTolerance(), message + ": residual " + residual);
+        assertTrue(Math.abs(residual - solver.getResidualNorm()) <= 1e-12, message + ": residual norm "
+                + solver.getResidualNorm() + " (expected " + residual + ")");
+    }
+}
@@ -0,0 +1,235 @@
+package org.jscience.mathematics.internal.vector;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertException;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.util.Random;
+
+import javolution.util.Index;
+
+import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link Float64LazyMatrix} expressions; each expression is
+ * evaluated and compared against the same expression calculated eagerly
+ * with naive loops.
+ */
+public class TestFloat64LazyMatrix extends AbstractTestSuite {
+
+    public void testLinearCombination() {
+        info(" plus / minus / times(k) / opposite (single pass)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(1);
+                final int m = 100, n = 70; // More than one block of rows.
+                final double[][] a = random(m, n, random);
+                final double[][] b = random(m, n, random);
+                final double[][] c = random(m, n, random);
+                final Float64LazyMatrix A = Float64LazyMatrix.valueOfMatrix(Float64Matrix.valueOf(a));
+                final Float64LazyMatrix B = Float64LazyMatrix.valueOfMatrix(Float64Matrix.valueOf(b));
+                final Float64Matrix C = Float64Matrix.valueOf(c);
+                assertTrue(Float64LazyMatrix.valueOfMatrix(A) == A);
+                final double[][] expected = new double[m][n];
+                for (int i = 0; i < m; i++) {
+                    for (int j = 0; j < n; j++) {
+                        expected[i][j] = -((a[i][j] * 2.0 + b[i][j] * 3.0) * 0.5 - c[i][j]);
+                    }
+                }
+                final Float64LazyMatrix E = A.times(2.0).plus(B.times(Float64.valueOf(3.0))).times(0.5).minus(C)
+                        .opposite();
+                assertEquals(m, E.getNumberOfRows());
+                assertEquals(n, E.getNumberOfColumns());
+                assertNear(expected, E.evaluate());
+                assertTrue(E.evaluate() == E.evaluate()); // Evaluated once.
+                // Shared sub-expression.
+                final Float64LazyMatrix F = E.plus(E).minus(E);
+                assertNear(expected, F.evaluate());
+                // Element access evaluates the expression.
+                final Float64LazyMatrix G = A.plus(B);
+                assertNear(a[7][9] + b[7][9], G.getValue(7, 9));
+                assertNear(a[7][9] + b[7][9], G.get(7, 9).doubleValue());
+                assertNear(a[7][9] + b[7][9], G.getRow(7).getValue(9));
+                assertNear(a[7][9] + b[7][9], G.getColumn(9).getValue(7));
+                assertNear(a[7][7] + b[7][7], G.getDiagonal().getValue(7));
+                assertNear(a[7][9] + b[7][9], G.getSubMatrix(Index.valuesOf(3, 7), Index.valuesOf(9)).getValue(1, 0));
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        A.plus(A.transpose());
+                    }
+                });
+            }
+        });
+    }
+
+    public void testProduct() {
+        info(" times(Matrix) / transpose (products accumulated)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(2);
+                final double[][] a = random(45, 31, random);
+                final double[][] b = random(31, 52, random);
+                final double[][] c = random(45, 52, random);
+                final double[][] d = random(52, 17, random);
+                final Float64LazyMatrix A = Float64LazyMatrix.valueOfMatrix(Float64Matrix.valueOf(a));
+                final Float64LazyMatrix B = Float64LazyMatrix.valueOfMatrix(Float64Matrix.valueOf(b));
+                final Float64Matrix C = Float64Matrix.valueOf(c);
+                final Float64Matrix D = Float64Matrix.valueOf(d);
+                // α·A·B + β·C
+                final double[][] ab = product(a, b);
+                final double[][] gemm = new double[45][52];
+                for (int i = 0; i < 45; i++) {
+                    for (int j = 0; j < 52; j++) {
+                        gemm[i][j] = 1.5 * ab[i][j] - 0.25 * c[i][j];
+                    }
+                }
+                final Float64LazyMatrix G = A.times(B).times(1.5).plus(Float64LazyMatrix.valueOfMatrix(C).times(-0.25));
+                assertNear(gemm, G.evaluate());
+                // Coefficients factored out: (2·A)·(3·B)
+                assertNear(scale(ab, 6.0), A.times(2.0).times(B.times(3.0)).evaluate());
+                // Nested products and products of combinations.
+                assertNear(product(gemm, d), G.times(D).evaluate());
+                assertNear(product(a, product(b, d)), A.times(B.times(D)).evaluate());
+                // Transposes: (α·A·B + β·C)ᵀ
+                final double[][] transpose = transpose(gemm);
+                final Float64LazyMatrix T = G.transpose();
+                assertEquals(52, T.getNumberOfRows());
+                assertNear(transpose, T.evaluate());
+                assertNear(transpose, G.transpose().evaluate()); // G evaluated first.
+                assertNear(product(transpose(b), transpose(a)), B.transpose().times(A.transpose()).evaluate());
+                // Operands being views.
+                final Float64Matrix V = Float64Matrix.valueOf(random(60, 60, random));
+                final Float64Matrix W = V.getSubMatrix(Index.rangeOf(5, 50), Index.rangeOf(10, 41)).transpose();
+                assertNear(product(toArray(W), a), Float64LazyMatrix.valueOfMatrix(W).times(A).evaluate());
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        A.times(A);
+                    }
+                });
+            }
+        });
+    }
+
+    public void testVectorProduct() {
+        info(" times(Vector) (not evaluated) / inverse / determinant / solve");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(3);
+                final int n = 40;
+                final double[][] a = random(n, n, random);
+                final double[][] b = random(n, n, random);
+                final double[] v = random(1, n, random)[0];
+                final Float64LazyMatrix A = Float64LazyMatrix.valueOfMatrix(Float64Matrix.valueOf(a));
+                final Float64LazyMatrix B = Float64LazyMatrix.valueOfMatrix(Float64Matrix.valueOf(b));
+                final Float64LazyMatrix E = A.times(B).times(2.0).plus(A).minus(B.transpose().times(A));
+                final double[][] expected = toArray(E.copy()); // Evaluated separately.
+                final Float64LazyMatrix F = A.times(B).times(2.0).plus(A).minus(B.transpose().times(A));
+                final double[][] e = new double[n][n];
+                final double[][] ab = product(a, b);
+                final double[][] bta = product(transpose(b), a);
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        e[i][j] = 2.0 * ab[i][j] + a[i][j] - bta[i][j];
+                    }
+                }
+                assertNear(e, E.evaluate());
+                final double[] y = new double[n];
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        y[i] += expected[i][j] * v[j];
+                    }
+                }
+                final Float64Vector x = F.times(Float64Vector.valueOf(v)); // F not evaluated.
+                final Float64Vector z = E.times(Float64Vector.valueOf(v)); // E evaluated.
+                for (int i = 0; i < n; i++) {
+                    assertNear(y[i], x.getValue(i));
+                    assertNear(y[i], z.getValue(i));
+                }
+                // Non lazy operations.
+                final Float64Matrix M = Float64Matrix.valueOf(e);
+                final double det = M.determinant().doubleValue();
+                assertTrue(Math.abs(F.determinant().doubleValue() - det) <= 1e-10 * Math.abs(det));
+                assertNear(toArray(M.inverse()), F.inverse());
+                assertNear(toArray(M.solve(B)), F.solve(B));
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        A.times(Float64Vector.valueOf(new double[3]));
+                    }
+                });
+            }
+        });
+    }
+
+    private static double[][] random(int m, int n, Random random) {
+        final double[][] a = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i][j] = random.nextDouble() - 0.5;
+            }
+        }
+        return a;
+    }
+
+    private static double[][] product(double[][] a, double[][] b) {
+        final double[][] c = new double[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b[0].length; j++) {
+                for (int k = 0; k < b.length; k++) {
+                    c[i][j] += a[i][k] * b[k][j];
+                }
+            }
+        }
+        return c;
+    }
+
+    private static double[][] transpose(double[][] a) {
+        final double[][] t = new double[a[0].length][a.length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                t[j][i] = a[i][j];
+            }
+        }
+        return t;
+    }
+
+    private static double[][] scale(double[][] a, double k) {
+        final double[][] s = new double[a.length][a[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                s[i][j] = a[i][j] * k;
+            }
+        }
+        return s;
+    }
+
+    private static double[][] toArray(Matrix<Float64> M) {
+        final double[][] values = new double[M.getNumberOfRows()][M.getNumberOfColumns()];
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < values[0].length; j++) {
+                values[i][j] = M.get(i, j).doubleValue();
+            }
+        }
+        return values;
+    }
+
+    private static void assertNear(double[][] expected, Matrix<Float64> actual) {
+        assertEquals(expected.length, actual.getNumberOfRows());
+        assertEquals(expected[0].length, actual.getNumberOfColumns());
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected[0].length; j++) {
+                assertNear(expected[i][j], actual.get(i, j).doubleValue());
+            }
+        }
+    }
+
+    private static void assertNear(double expected, double actual) {
+        assertTrue(Math.abs(expected - actual) <= 1e-10 * (1 + Math.abs(expected)), expected
+                + " expected but found " + actual);
+    }
+}
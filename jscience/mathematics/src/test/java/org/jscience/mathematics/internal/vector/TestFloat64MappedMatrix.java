@@ -0,0 +1,314 @@
+package org.jscience.mathematics.internal.vector;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertException;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import javolution.util.Index;
+
+import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link Float64MappedMatrix} tiled matrices (off-heap and
+ * memory-mapped) and the {@link Float64MappedLUDecomposition} against the
+ * same operations on heap {@link Float64Matrix} and naive loops; the
+ * dimensions are not multiples of the tile size.
+ */
+public class TestFloat64MappedMatrix extends AbstractTestSuite {
+
+    private static final int TILE_SIZE = 8;
+
+    public void testElements() {
+        info(" allocate / setValue / getValue / getRow / getColumn / getSubMatrix");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final double[][] a = random(37, 29, new Random(1));
+                final Float64MappedMatrix M = mappedOf(a);
+                assertEquals(37, M.getNumberOfRows());
+                assertEquals(29, M.getNumberOfColumns());
+                assertEquals(TILE_SIZE, M.getTileSize());
+                assertTrue(M.getFile() == null);
+                assertMatrix(a, M);
+                for (int i = 0; i < a.length; i++) {
+                    final Float64Vector row = M.getRow(i);
+                    for (int j = 0; j < a[0].length; j++) {
+                        assertEquals(a[i][j], row.getValue(j));
+                    }
+                }
+                for (int j = 0; j < a[0].length; j++) {
+                    final Float64Vector column = M.getColumn(j);
+                    for (int i = 0; i < a.length; i++) {
+                        assertEquals(a[i][j], column.getValue(i));
+                    }
+                }
+                final int[] rows = { 36, 0, 8, 9, 17, 8 };
+                final int[] columns = { 28, 7, 8, 1 };
+                final Float64Matrix S = M.getSubMatrix(Index.valuesOf(rows), Index.valuesOf(columns));
+                for (int i = 0; i < rows.length; i++) {
+                    for (int j = 0; j < columns.length; j++) {
+                        assertEquals(a[rows[i]][columns[j]], S.getValue(i, j));
+                    }
+                }
+                final Float64MappedMatrix Z = Float64MappedMatrix.allocate(5, 3, 2);
+                assertMatrix(new double[5][3], Z);
+                assertException(IllegalArgumentException.class, new Runnable() {
+                    public void run() {
+                        Float64MappedMatrix.allocate(3, 3, 0);
+                    }
+                });
+                assertException(IllegalArgumentException.class, new Runnable() {
+                    public void run() {
+                        Float64MappedMatrix.allocate(-1, 3, 4);
+                    }
+                });
+            }
+        });
+    }
+
+    public void testFile() {
+        info(" create / flush / open / valueOf (memory-mapped file)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() throws Exception {
+                final double[][] a = random(37, 29, new Random(2));
+                final File file = File.createTempFile("jscience", ".mat");
+                final File copy = File.createTempFile("jscience", ".mat");
+                try {
+                    final Float64MappedMatrix M = Float64MappedMatrix.create(file, 37, 29, TILE_SIZE);
+                    assertEquals(file, M.getFile());
+                    assertMatrix(new double[37][29], M);
+                    for (int i = 0; i < a.length; i++) {
+                        for (int j = 0; j < a[0].length; j++) {
+                            M.setValue(i, j, a[i][j]);
+                        }
+                    }
+                    M.flush();
+                    assertTrue(file.length() >= Float64MappedMatrix.HEADER_SIZE + 37 * 29 * 8);
+                    final Float64MappedMatrix R = Float64MappedMatrix.open(file, true);
+                    assertEquals(TILE_SIZE, R.getTileSize());
+                    assertMatrix(a, R);
+                    // Modifications through a writable mapping are shared.
+                    final Float64MappedMatrix W = Float64MappedMatrix.open(file, false);
+                    W.setValue(36, 28, 123.0);
+                    W.flush();
+                    assertEquals(123.0, Float64MappedMatrix.open(file, true).getValue(36, 28));
+                    // Default tile size.
+                    final Float64MappedMatrix C = Float64MappedMatrix.valueOf(copy, Float64Matrix.valueOf(a));
+                    assertEquals(Float64MappedMatrix.DEFAULT_TILE_SIZE, C.getTileSize());
+                    C.flush();
+                    assertMatrix(a, Float64MappedMatrix.open(copy, true));
+                    final FileOutputStream out = new FileOutputStream(copy);
+                    try {
+                        out.write(new byte[64]); // Not a tiled matrix file.
+                    } finally {
+                        out.close();
+                    }
+                    try {
+                        Float64MappedMatrix.open(copy, true);
+                        assertTrue(false, "IOException expected");
+                    } catch (IOException e) {
+                        // Expected.
+                    }
+                } finally {
+                    file.delete();
+                    copy.delete();
+                }
+            }
+        });
+    }
+
+    public void testArithmetic() {
+        info(" plus / minus / times / opposite / transpose / copy");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(3);
+                final double[][] a = random(37, 29, random);
+                final double[][] b = random(37, 29, random);
+                final double[][] c = random(29, 23, random);
+                final double[] v = random(1, 29, random)[0];
+                final Float64MappedMatrix A = mappedOf(a);
+                final Float64MappedMatrix B = mappedOf(b);
+                final double[][] sum = new double[37][29];
+                final double[][] difference = new double[37][29];
+                final double[][] scaled = new double[37][29];
+                final double[][] opposite = new double[37][29];
+                final double[][] transpose = new double[29][37];
+                for (int i = 0; i < 37; i++) {
+                    for (int j = 0; j < 29; j++) {
+                        sum[i][j] = a[i][j] + b[i][j];
+                        difference[i][j] = a[i][j] - b[i][j];
+                        scaled[i][j] = a[i][j] * 2.5;
+                        opposite[i][j] = -a[i][j];
+                        transpose[j][i] = a[i][j];
+                    }
+                }
+                assertNear(sum, A.plus(B));
+                assertNear(sum, A.plus(Float64Matrix.valueOf(b)));
+                assertNear(difference, A.minus(B));
+                assertNear(scaled, A.times(2.5));
+                assertNear(scaled, A.times(Float64.valueOf(2.5)));
+                assertMatrix(opposite, A.opposite());
+                final Float64MappedMatrix T = A.transpose();
+                assertMatrix(transpose, T);
+                assertMatrix(a, T.transpose());
+                final Float64MappedMatrix copy = T.copy();
+                assertMatrix(transpose, copy);
+                copy.setValue(0, 0, 1e10); // Copy is independent.
+                assertEquals(a[0][0], A.getValue(0, 0));
+                assertNear(product(a, c), A.times(mappedOf(c)));
+                assertNear(product(a, c), A.times(Float64Matrix.valueOf(c)));
+                assertNear(product(transpose, a), T.times(A)); // Transposed operand.
+                final double[] y = new double[37];
+                for (int i = 0; i < 37; i++) {
+                    for (int j = 0; j < 29; j++) {
+                        y[i] += a[i][j] * v[j];
+                    }
+                }
+                final Float64Vector x = A.times(Float64Vector.valueOf(v));
+                for (int i = 0; i < y.length; i++) {
+                    assertNear(y[i], x.getValue(i));
+                }
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        A.times(A);
+                    }
+                });
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        A.plus(A.transpose());
+                    }
+                });
+            }
+        });
+    }
+
+    public void testLUDecomposition() {
+        info(" inverse / determinant / solve / Float64MappedLUDecomposition");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(4);
+                final int n = 37;
+                final double[][] a = random(n, n, random);
+                final double[][] b = random(n, 5, random);
+                final Float64MappedMatrix A = mappedOf(a);
+                final Float64Matrix D = Float64Matrix.valueOf(a);
+                final double det = D.determinant().doubleValue();
+                assertTrue(Math.abs(A.determinant().doubleValue() - det) <= 1e-10 * Math.abs(det));
+                assertNear(toArray(D.inverse()), A.inverse());
+                assertNear(toArray(D.solve(Float64Matrix.valueOf(b))), A.solve(Float64Matrix.valueOf(b)));
+                final Float64MappedLUDecomposition lu = Float64MappedLUDecomposition.valueOf(A);
+                // P·A = L·U
+                final int[] pivots = lu.getPivots();
+                final Float64MappedMatrix LU = lu.getLU();
+                final boolean[] seen = new boolean[n];
+                for (int i = 0; i < n; i++) {
+                    assertTrue(!seen[pivots[i]]);
+                    seen[pivots[i]] = true;
+                    for (int j = 0; j < n; j++) {
+                        double sum = 0.0;
+                        for (int k = 0; k <= Math.min(i, j); k++) {
+                            final double l = (k == i) ? 1.0 : LU.getValue(i, k);
+                            sum += l * LU.getValue(k, j);
+                        }
+                        assertNear(a[pivots[i]][j], sum);
+                    }
+                    for (int k = i + 1; k < n; k++) { // Partial pivoting.
+                        assertTrue(Math.abs(LU.getValue(k, i)) <= 1.0);
+                    }
+                }
+                assertTrue(Math.abs(lu.determinant().doubleValue() - det) <= 1e-10 * Math.abs(det));
+                assertMatrix(a, A); // Source not modified.
+                final double[] y = random(1, n, random)[0];
+                final double[] x = lu.solve(y.clone());
+                final Vector<Float64> expected = D.solve(Float64Vector.valueOf(y));
+                for (int i = 0; i < n; i++) {
+                    assertNear(expected.get(i).doubleValue(), x[i]);
+                }
+                assertNear(toArray(D.inverse()), lu.inverse());
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        Float64MappedLUDecomposition.valueOf(Float64MappedMatrix.allocate(3, 4, 2));
+                    }
+                });
+            }
+        });
+    }
+
+    private static Float64MappedMatrix mappedOf(double[][] a) {
+        final Float64MappedMatrix M = Float64MappedMatrix.allocate(a.length, a[0].length, TILE_SIZE);
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                M.setValue(i, j, a[i][j]);
+            }
+        }
+        return M;
+    }
+
+    private static double[][] random(int m, int n, Random random) {
+        final double[][] a = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i][j] = random.nextDouble() - 0.5;
+            }
+        }
+        return a;
+    }
+
+    private static double[][] product(double[][] a, double[][] b) {
+        final double[][] c = new double[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b[0].length; j++) {
+                for (int k = 0; k < b.length; k++) {
+                    c[i][j] += a[i][k] * b[k][j];
+                }
+            }
+        }
+        return c;
+    }
+
+    private static double[][] toArray(Float64Matrix M) {
+        final double[][] values = new double[M.getNumberOfRows()][M.getNumberOfColumns()];
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < values[0].length; j++) {
+                values[i][j] = M.getValue(i, j);
+            }
+        }
+        return values;
+    }
+
+    private static void assertMatrix(double[][] expected, Matrix<Float64> actual) {
+        assertEquals(expected.length, actual.getNumberOfRows());
+        assertEquals(expected[0].length, actual.getNumberOfColumns());
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected[0].length; j++) {
+                assertEquals(expected[i][j], actual.get(i, j).doubleValue());
+            }
+        }
+    }
+
+    private static void assertNear(double[][] expected, Matrix<Float64> actual) {
+        assertEquals(expected.length, actual.getNumberOfRows());
+        assertEquals(expected[0].length, actual.getNumberOfColumns());
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected[0].length; j++) {
+                assertNear(expected[i][j], actual.get(i, j).doubleValue());
+            }
+        }
+    }
+
+    private static void assertNear(double expected, double actual) {
+        assertTrue(Math.abs(expected - actual) <= 1e-10 * (1 + Math.abs(expected)), expected
+                + " expected but found " + actual);
+    }
+}
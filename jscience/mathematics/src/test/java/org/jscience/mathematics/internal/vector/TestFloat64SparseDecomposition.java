@@ -0,0 +1,375 @@
+package org.jscience.mathematics.internal.vector;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertException;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.util.Random;
+
+import javolution.context.LocalContext;
+
+import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link SparseOrdering fill-reducing orderings}, the
+ * {@link Float64SparseCholeskyDecomposition supernodal Cholesky} and the
+ * {@link Float64SparseLUDecomposition Gilbert-Peierls LU} decompositions
+ * against the dense {@link Float64LUDecomposition LU decomposition}.
+ */
+public class TestFloat64SparseDecomposition extends AbstractTestSuite {
+
+    public void testOrdering() {
+        info(" amd / colamd");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final double[][] a = randomSparse(60, 0.05, false, new Random(1));
+                final Float64SparseMatrix A = sparseOf(a);
+                assertPermutation(SparseOrdering.amd(A), 60);
+                assertPermutation(SparseOrdering.amd(A.compressColumns()), 60);
+                assertPermutation(SparseOrdering.colamd(A), 60);
+                // Arrow matrix: eliminating the dense node first fills everything.
+                final int n = 40;
+                final double[][] arrow = new double[n][n];
+                for (int i = 0; i < n; i++) {
+                    arrow[i][i] = n;
+                    arrow[0][i] = arrow[i][0] = (i == 0) ? n : 1.0;
+                }
+                final Float64SparseMatrix B = sparseOf(arrow);
+                final int[] p = SparseOrdering.amd(B);
+                assertPermutation(p, n);
+                final int[] natural = new int[n];
+                for (int i = 0; i < n; i++) {
+                    natural[i] = i;
+                }
+                final int full = Float64SparseCholeskyDecomposition.analyze(B, natural).getNumberOfNonZeros();
+                final int amd = Float64SparseCholeskyDecomposition.analyze(B, p).getNumberOfNonZeros();
+                assertEquals(n * (n + 1) / 2, full);
+                assertTrue(amd < 3 * n, "AMD fill-in: " + amd);
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        SparseOrdering.amd(sparseOf(new double[2][3]));
+                    }
+                });
+            }
+        });
+    }
+
+    public void testCholesky() {
+        info(" Float64SparseCholeskyDecomposition");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(2);
+                final double[][][] matrices = { poisson(15), randomSparse(120, 0.03, true, random) };
+                for (final double[][] a : matrices) {
+                    final int n = a.length;
+                    final Float64SparseMatrix A = sparseOf(a);
+                    final Float64SparseCholeskyDecomposition cholesky = Float64SparseCholeskyDecomposition.valueOf(A);
+                    final int[] p = cholesky.getPermutation();
+                    assertPermutation(p, n);
+                    // P·A·Pᵀ = L·Lᵀ
+                    final double[][] l = dense(cholesky.getL());
+                    for (int i = 0; i < n; i++) {
+                        for (int j = i + 1; j < n; j++) {
+                            assertEquals(0.0, l[i][j]);
+                        }
+                    }
+                    assertNear(permute(a, p, p), multiply(l, transpose(l)), 1e-12);
+                    // Elimination tree: parents come after their children.
+                    final int[] parent = cholesky.getSymbolic().getEliminationTree();
+                    for (int j = 0; j < n; j++) {
+                        assertTrue((parent[j] == -1) || (parent[j] > j));
+                    }
+                    assertTrue(cholesky.getSymbolic().getNumberOfSupernodes() <= n);
+                    // Solve and determinant against dense LU.
+                    final Float64LUDecomposition lu = Float64LUDecomposition.valueOf(Float64Matrix.valueOf(a));
+                    final double[] b = randomVector(n, random);
+                    assertNear(lu.solve(b.clone()), cholesky.solve(b.clone()), 1e-10);
+                    assertNear(lu.solve(b.clone()), toArray(cholesky.solve(Float64Vector.valueOf(b))), 1e-10);
+                    final double det = lu.determinant().doubleValue();
+                    assertTrue(Math.abs(cholesky.determinant().doubleValue() - det) <= 1e-10 * Math.abs(det));
+                    // Same pattern, different values (symbolic analysis reused).
+                    final double[][] a2 = new double[n][n];
+                    for (int i = 0; i < n; i++) {
+                        for (int j = 0; j < n; j++) {
+                            a2[i][j] = (i == j) ? 2 * a[i][j] : a[i][j];
+                        }
+                    }
+                    final Float64SparseCholeskyDecomposition cholesky2 = Float64SparseCholeskyDecomposition.valueOf(
+                            cholesky.getSymbolic(), sparseOf(a2));
+                    assertNear(Float64LUDecomposition.valueOf(Float64Matrix.valueOf(a2)).solve(b.clone()),
+                            cholesky2.solve(b.clone()), 1e-10);
+                }
+                // Only the lower triangle is read.
+                final double[][] a = poisson(6);
+                final double[][] lower = new double[a.length][a.length];
+                for (int i = 0; i < a.length; i++) {
+                    for (int j = 0; j <= i; j++) {
+                        lower[i][j] = a[i][j];
+                    }
+                }
+                final double[] b = randomVector(a.length, random);
+                assertNear(Float64SparseCholeskyDecomposition.valueOf(sparseOf(a)).solve(b.clone()),
+                        Float64SparseCholeskyDecomposition.valueOf(sparseOf(lower)).solve(b.clone()), 1e-12);
+                // Not positive definite.
+                final double[][] indefinite = poisson(6);
+                indefinite[7][7] = -1.0;
+                assertException(ArithmeticException.class, new Runnable() {
+                    public void run() {
+                        Float64SparseCholeskyDecomposition.valueOf(sparseOf(indefinite));
+                    }
+                });
+                // Different pattern.
+                final Float64SparseCholeskyDecomposition.Symbolic symbolic = Float64SparseCholeskyDecomposition
+                        .analyze(sparseOf(poisson(6)));
+                assertException(IllegalArgumentException.class, new Runnable() {
+                    public void run() {
+                        Float64SparseCholeskyDecomposition.valueOf(symbolic, sparseOf(randomSparse(36, 0.1, true,
+                                new Random(3))));
+                    }
+                });
+            }
+        });
+    }
+
+    public void testLU() {
+        info(" Float64SparseLUDecomposition");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(4);
+                final int n = 100;
+                // Rows of a diagonally dominant matrix shifted (requires row pivoting).
+                final double[][] dominant = randomSparse(n, 0.04, false, random);
+                final double[][] a = new double[n][];
+                for (int i = 0; i < n; i++) {
+                    a[i] = dominant[(i + 7) % n];
+                }
+                final Float64SparseMatrix A = sparseOf(a);
+                final Float64SparseLUDecomposition lu = Float64SparseLUDecomposition.valueOf(A);
+                final int[] p = lu.getPivots();
+                final int[] q = lu.getColumnPermutation();
+                assertPermutation(p, n);
+                assertPermutation(q, n);
+                // P·A·Q = L·U
+                final double[][] l = dense(lu.getLower());
+                final double[][] u = dense(lu.getUpper());
+                for (int i = 0; i < n; i++) {
+                    assertEquals(1.0, l[i][i]);
+                    for (int j = i + 1; j < n; j++) {
+                        assertEquals(0.0, l[i][j]);
+                        assertEquals(0.0, u[j][i]);
+                    }
+                }
+                assertNear(permute(a, p, q), multiply(l, u), 1e-12);
+                // Solve and determinant against dense LU.
+                final Float64LUDecomposition dense = Float64LUDecomposition.valueOf(Float64Matrix.valueOf(a));
+                final double[] b = randomVector(n, random);
+                final double[] expected = dense.solve(b.clone());
+                assertNear(expected, lu.solve(b.clone()), 1e-10);
+                assertNear(expected, toArray(lu.solve(Float64Vector.valueOf(b))), 1e-10);
+                assertNear(expected, toArray(A.solve(Float64Vector.valueOf(b))), 1e-10);
+                final double[][] bb = new double[n][2];
+                for (int i = 0; i < n; i++) {
+                    bb[i][0] = b[i];
+                    bb[i][1] = -2 * b[i];
+                }
+                final Float64Matrix X = lu.solve(Float64Matrix.valueOf(bb));
+                for (int i = 0; i < n; i++) {
+                    assertTrue(Math.abs(X.getValue(i, 0) - expected[i]) <= 1e-10);
+                    assertTrue(Math.abs(X.getValue(i, 1) + 2 * expected[i]) <= 1e-10);
+                }
+                final double det = dense.determinant().doubleValue();
+                assertTrue(Math.abs(lu.determinant().doubleValue() - det) <= 1e-10 * Math.abs(det), "det "
+                        + lu.determinant() + " expected " + det);
+                // Threshold pivoting and reused column ordering.
+                LocalContext.enter();
+                try {
+                    Float64SparseLUDecomposition.setPivotThreshold(0.1);
+                    final Float64SparseLUDecomposition threshold = Float64SparseLUDecomposition.valueOf(lu
+                            .getSymbolic(), A);
+                    assertNear(expected, threshold.solve(b.clone()), 1e-9);
+                } finally {
+                    LocalContext.exit();
+                }
+                assertEquals(1.0, Float64SparseLUDecomposition.getPivotThreshold());
+                final double[][] a2 = new double[n][n];
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        a2[i][j] = 3 * a[i][j];
+                    }
+                }
+                assertNear(scale(expected, 1.0 / 3), Float64SparseLUDecomposition.valueOf(lu.getSymbolic(),
+                        sparseOf(a2)).solve(b.clone()), 1e-10);
+                // Natural column ordering.
+                final int[] natural = new int[n];
+                for (int i = 0; i < n; i++) {
+                    natural[i] = i;
+                }
+                assertNear(expected, Float64SparseLUDecomposition.valueOf(Float64SparseLUDecomposition.analyze(A,
+                        natural), A).solve(b.clone()), 1e-10);
+                // Singular matrix.
+                final double[][] singular = randomSparse(10, 0.3, false, random);
+                for (int j = 0; j < 10; j++) {
+                    singular[4][j] = 0.0;
+                }
+                assertException(ArithmeticException.class, new Runnable() {
+                    public void run() {
+                        Float64SparseLUDecomposition.valueOf(sparseOf(singular));
+                    }
+                });
+                assertEquals(0.0, sparseOf(singular).determinant().doubleValue());
+                assertException(IllegalArgumentException.class, new Runnable() {
+                    public void run() {
+                        Float64SparseLUDecomposition.analyze(sparseOf(singular), new int[] { 0, 1, 2, 3, 4, 5, 6, 7,
+                                8, 8 });
+                    }
+                });
+            }
+        });
+    }
+
+    // Returns the 5-point Laplacian of a k-by-k grid.
+    private static double[][] poisson(int k) {
+        final int n = k * k;
+        final double[][] a = new double[n][n];
+        for (int i = 0; i < k; i++) {
+            for (int j = 0; j < k; j++) {
+                final int p = i * k + j;
+                a[p][p] = 4.0;
+                if (i > 0) {
+                    a[p][p - k] = a[p - k][p] = -1.0;
+                }
+                if (j > 0) {
+                    a[p][p - 1] = a[p - 1][p] = -1.0;
+                }
+            }
+        }
+        return a;
+    }
+
+    // Returns a random sparse matrix, diagonally dominant (and symmetric
+    // positive definite if symmetric).
+    private static double[][] randomSparse(int n, double density, boolean symmetric, Random random) {
+        final double[][] a = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < (symmetric ? i : n); j++) {
+                if ((i != j) && (random.nextDouble() < density)) {
+                    a[i][j] = random.nextDouble() - 0.5;
+                    if (symmetric) {
+                        a[j][i] = a[i][j];
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            double sum = 0.0;
+            for (int j = 0; j < n; j++) {
+                sum += Math.abs(a[i][j]);
+            }
+            a[i][i] = 1.0 + sum;
+        }
+        return a;
+    }
+
+    private static Float64SparseMatrix sparseOf(double[][] a) {
+        return Float64SparseMatrix.valueOfMatrix(Float64Matrix.valueOf(a));
+    }
+
+    private static double[][] dense(Float64SparseMatrix A) {
+        final double[][] a = new double[A.getNumberOfRows()][A.getNumberOfColumns()];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                a[i][j] = A.getValue(i, j);
+            }
+        }
+        return a;
+    }
+
+    // Returns the matrix a(p, q).
+    private static double[][] permute(double[][] a, int[] p, int[] q) {
+        final double[][] b = new double[p.length][q.length];
+        for (int i = 0; i < p.length; i++) {
+            for (int j = 0; j < q.length; j++) {
+                b[i][j] = a[p[i]][q[j]];
+            }
+        }
+        return b;
+    }
+
+    private static double[][] transpose(double[][] a) {
+        final double[][] t = new double[a[0].length][a.length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                t[j][i] = a[i][j];
+            }
+        }
+        return t;
+    }
+
+    private static double[][] multiply(double[][] a, double[][] b) {
+        final double[][] c = new double[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int k = 0; k < b.length; k++) {
+                if (a[i][k] == 0.0)
+                    continue;
+                for (int j = 0; j < b[0].length; j++) {
+                    c[i][j] += a[i][k] * b[k][j];
+                }
+            }
+        }
+        return c;
+    }
+
+    private static double[] scale(double[] v, double k) {
+        final double[] w = new double[v.length];
+        for (int i = 0; i < v.length; i++) {
+            w[i] = k * v[i];
+        }
+        return w;
+    }
+
+    private static double[] randomVector(int n, Random random) {
+        final double[] v = new double[n];
+        for (int i = 0; i < n; i++) {
+            v[i] = random.nextDouble() - 0.5;
+        }
+        return v;
+    }
+
+    private static double[] toArray(Vector<Float64> v) {
+        final double[] values = new double[v.getDimension()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = v.get(i).doubleValue();
+        }
+        return values;
+    }
+
+    private static void assertPermutation(int[] p, int n) {
+        assertEquals(n, p.length);
+        final boolean[] found = new boolean[n];
+        for (final int i : p) {
+            assertTrue((i >= 0) && (i < n) && !found[i], "Invalid permutation");
+            found[i] = true;
+        }
+    }
+
+    private static void assertNear(double[] expected, double[] actual, double tolerance) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertTrue(Math.abs(expected[i] - actual[i]) <= tolerance, expected[i] + " expected but found "
+                    + actual[i]);
+        }
+    }
+
+    private static void assertNear(double[][] expected, double[][] actual, double tolerance) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertNear(expected[i], actual[i], tolerance);
+        }
+    }
+}
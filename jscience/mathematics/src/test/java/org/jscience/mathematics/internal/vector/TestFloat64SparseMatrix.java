@@ -0,0 +1,479 @@
+package org.jscience.mathematics.internal.vector;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertException;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import javolution.context.ConcurrentContext;
+import javolution.context.LocalContext;
+import javolution.lang.Configurable;
+import javolution.util.Index;
+
+import org.jscience.mathematics.internal.kernel.Float64Kernel;
+
+import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the compressed sparse row/column {@link Float64SparseMatrix}
+ * against dense arrays.
+ */
+public class TestFloat64SparseMatrix extends AbstractTestSuite {
+
+    private static final int M = 13;
+
+    private static final int N = 11;
+
+    public void testValueOf() {
+        info(" valueOf (triplets, dense and sparse matrices)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(1);
+                final double[][] a = new double[M][N];
+                final int nnz = 40;
+                final int[] rows = new int[nnz];
+                final int[] columns = new int[nnz];
+                final double[] values = new double[nnz];
+                for (int k = 0; k < nnz; k++) { // Unsorted with duplicates.
+                    rows[k] = random.nextInt(M);
+                    columns[k] = random.nextInt(N);
+                    values[k] = random.nextDouble() - 0.5;
+                    a[rows[k]][columns[k]] += values[k];
+                }
+                final Float64SparseMatrix A = Float64SparseMatrix.valueOf(M, N, rows, columns, values);
+                assertTrue(!A.isColumnMajor());
+                assertEquals(nonZeros(a), A.getNumberOfNonZeros());
+                assertMatrix(a, A);
+                assertMatrix(a, A.toDense());
+                assertSorted(A);
+                final Float64SparseMatrix D = Float64SparseMatrix.valueOfMatrix(Float64Matrix.valueOf(a));
+                assertEquals(nonZeros(a), D.getNumberOfNonZeros());
+                assertMatrix(a, D);
+                final Float64SparseMatrix S = Float64SparseMatrix.valueOfMatrix(SparseMatrix.valueOf(Float64Matrix
+                        .valueOf(a)));
+                assertMatrix(a, S);
+                assertSorted(S);
+                assertTrue(Float64SparseMatrix.valueOfMatrix(A) == A);
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        Float64SparseMatrix.valueOf(2, 2, new int[] { 0 }, new int[] { 0, 1 }, new double[] { 1, 2 });
+                    }
+                });
+                assertException(IndexOutOfBoundsException.class, new Runnable() {
+                    public void run() {
+                        Float64SparseMatrix.valueOf(2, 2, new int[] { 2 }, new int[] { 0 }, new double[] { 1 });
+                    }
+                });
+            }
+        });
+    }
+
+    public void testCompression() {
+        info(" compressRows / compressColumns / transpose");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final double[][] a = randomSparse(M, N, 0.25, new Random(2));
+                final Float64SparseMatrix csr = Float64SparseMatrix.valueOfMatrix(Float64Matrix.valueOf(a));
+                final Float64SparseMatrix csc = csr.compressColumns();
+                assertTrue(csc.isColumnMajor());
+                assertTrue(csc.compressColumns() == csc);
+                assertTrue(csr.compressRows() == csr);
+                assertEquals(csr.getNumberOfNonZeros(), csc.getNumberOfNonZeros());
+                assertSorted(csc);
+                assertMatrix(a, csc);
+                assertMatrix(a, csc.toDense());
+                assertMatrix(a, csc.compressRows());
+                assertMatrix(a, csc.copy());
+                final double[][] t = transpose(a);
+                assertMatrix(t, csr.transpose());
+                assertTrue(csr.transpose().isColumnMajor());
+                assertMatrix(t, csc.transpose());
+                assertMatrix(t, csc.transpose().toDense());
+                assertMatrix(a, csr.transpose().transpose());
+                for (int i = 0; i < M; i++) {
+                    assertVector(a[i], csr.getRow(i));
+                    assertVector(a[i], csc.getRow(i));
+                }
+                for (int j = 0; j < N; j++) {
+                    assertVector(t[j], csr.getColumn(j));
+                    assertVector(t[j], csc.getColumn(j));
+                }
+            }
+        });
+    }
+
+    public void testSubMatrix() {
+        info(" getSubMatrix (permuted and repeated indices)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final double[][] a = randomSparse(M, N, 0.3, new Random(3));
+                final int[] rows = { 12, 0, 5, 5, 7 };
+                final int[] columns = { 3, 10, 3, 0, 9, 4 };
+                final double[][] s = new double[rows.length][columns.length];
+                for (int i = 0; i < rows.length; i++) {
+                    for (int j = 0; j < columns.length; j++) {
+                        s[i][j] = a[rows[i]][columns[j]];
+                    }
+                }
+                final Float64SparseMatrix csr = Float64SparseMatrix.valueOfMatrix(Float64Matrix.valueOf(a));
+                final Float64SparseMatrix S = csr.getSubMatrix(Index.valuesOf(rows), Index.valuesOf(columns));
+                assertMatrix(s, S);
+                assertSorted(S);
+                assertMatrix(s, csr.compressColumns().getSubMatrix(Index.valuesOf(rows), Index.valuesOf(columns)));
+            }
+        });
+    }
+
+    public void testArithmetic() {
+        info(" plus / opposite / times");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(4);
+                final double[][] a = randomSparse(M, N, 0.25, random);
+                final double[][] b = randomSparse(M, N, 0.25, random);
+                final double[][] c = randomSparse(N, 7, 0.3, random);
+                final Float64SparseMatrix A = Float64SparseMatrix.valueOfMatrix(Float64Matrix.valueOf(a));
+                final Float64SparseMatrix B = Float64SparseMatrix.valueOfMatrix(Float64Matrix.valueOf(b));
+                final Float64SparseMatrix C = Float64SparseMatrix.valueOfMatrix(Float64Matrix.valueOf(c));
+                final double[][] sum = new double[M][N];
+                final double[][] scaled = new double[M][N];
+                for (int i = 0; i < M; i++) {
+                    for (int j = 0; j < N; j++) {
+                        sum[i][j] = a[i][j] + b[i][j];
+                        scaled[i][j] = -2.5 * a[i][j];
+                    }
+                }
+                assertMatrix(sum, A.plus(B));
+                assertMatrix(sum, A.compressColumns().plus(B));
+                assertMatrix(sum, A.plus(Float64Matrix.valueOf(b)));
+                assertMatrix(scaled, A.times(-2.5));
+                assertMatrix(scaled, A.compressColumns().times(Float64.valueOf(-2.5)));
+                assertMatrix(scaled, A.opposite().times(2.5));
+                final double[][] product = multiply(a, c);
+                assertNear(product, A.times(C));
+                assertNear(product, A.compressColumns().times(C.compressColumns()));
+                assertNear(product, A.times(Float64Matrix.valueOf(c)));
+                assertNear(product, A.compressColumns().times(Float64Matrix.valueOf(c)));
+                assertNear(product, A.times(SparseMatrix.valueOf(Float64Matrix.valueOf(c))));
+                assertNear(transpose(product), C.transpose().times(A.transpose()));
+                final double[] x = new double[N];
+                for (int j = 0; j < N; j++) {
+                    x[j] = random.nextDouble() - 0.5;
+                }
+                final double[] y = multiply(a, x);
+                assertNear(y, A.times(x));
+                assertNear(y, A.compressColumns().times(x));
+                assertNear(y, A.times(Float64Vector.valueOf(x)));
+                assertNear(y, A.compressColumns().times(Float64Vector.valueOf(x)));
+                // Strided vector argument.
+                final Float64Vector column = Float64Matrix.valueOf(transpose(new double[][] { x })).getColumn(0);
+                assertNear(y, A.times(column));
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        A.times(new double[M]);
+                    }
+                });
+            }
+        });
+    }
+
+    public void testSolve() {
+        info(" solve / determinant");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(5);
+                final int n = 30;
+                final double[][] a = randomSparse(n, n, 0.1, random);
+                for (int i = 0; i < n; i++) {
+                    a[i][i] += 4.0; // Well conditioned.
+                }
+                final Float64SparseMatrix A = Float64SparseMatrix.valueOfMatrix(Float64Matrix.valueOf(a));
+                final Float64Matrix D = Float64Matrix.valueOf(a);
+                final double det = D.determinant().doubleValue();
+                assertTrue(Math.abs(A.determinant().doubleValue() - det) <= 1e-12 * Math.abs(det));
+                final double[] b = new double[n];
+                for (int i = 0; i < n; i++) {
+                    b[i] = random.nextDouble();
+                }
+                final Float64Vector x = A.solve(Float64Vector.valueOf(b));
+                assertNear(toArray(D.solve(Float64Vector.valueOf(b))), x);
+                assertNear(b, A.times(toArray(x)));
+                final double[][] singular = new double[2][2];
+                singular[0][0] = 1.0;
+                assertEquals(0.0, Float64SparseMatrix.valueOfMatrix(Float64Matrix.valueOf(singular)).determinant()
+                        .doubleValue());
+            }
+        });
+    }
+
+    public void testConcurrentCallers() {
+        info(" times / transpose().times (several callers, concurrent products)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() throws Exception {
+                final Random random = new Random(6);
+                final int n = 3000;
+                final int nnz = 2 * Float64Kernel.CONCURRENCY_THRESHOLD;
+                final int[] rows = new int[nnz];
+                final int[] columns = new int[nnz];
+                final double[] values = new double[nnz];
+                for (int k = 0; k < nnz; k++) {
+                    rows[k] = random.nextInt(n);
+                    columns[k] = random.nextInt(n);
+                    values[k] = random.nextDouble() - 0.5;
+                }
+                final Float64SparseMatrix A = Float64SparseMatrix.valueOf(n, n, rows, columns, values);
+                final Float64SparseMatrix[] operators = { A, A.transpose(), A.compressColumns(),
+                        A.compressColumns().transpose() };
+                final double[][] x = new double[4][n];
+                final double[][][] expected = new double[4][operators.length][];
+                for (int t = 0; t < x.length; t++) {
+                    for (int i = 0; i < n; i++) {
+                        x[t][i] = random.nextDouble() - 0.5;
+                    }
+                    for (int k = 0; k < operators.length; k++) {
+                        expected[t][k] = operators[k].times(x[t]); // Sequential.
+                    }
+                }
+                // Concurrent actions executed by worker threads shared by all the callers.
+                final Integer maximum = ConcurrentContext.MAXIMUM_CONCURRENCY.get();
+                final Class<? extends ConcurrentContext> context = ConcurrentContext.DEFAULT.get();
+                Configurable.configure(ConcurrentContext.MAXIMUM_CONCURRENCY, 3);
+                Configurable.configure(ConcurrentContext.DEFAULT, SharedWorkers.class);
+                try {
+                    final int[] errors = new int[x.length];
+                    final Throwable[] failures = new Throwable[x.length];
+                    final Thread[] callers = new Thread[x.length];
+                    for (int t = 0; t < callers.length; t++) {
+                        final int caller = t;
+                        callers[t] = new Thread() {
+                            @Override
+                            public void run() {
+                                LocalContext.enter();
+                                try {
+                                    ConcurrentContext.setConcurrency(3);
+                                    for (int iteration = 0; iteration < 25; iteration++) {
+                                        for (int k = 0; k < operators.length; k++) {
+                                            final double[] y = operators[k].times(x[caller]);
+                                            if (!isNear(expected[caller][k], y)) {
+                                                errors[caller]++;
+                                            }
+                                        }
+                                    }
+                                } catch (Throwable error) {
+                                    failures[caller] = error;
+                                } finally {
+                                    LocalContext.exit();
+                                }
+                            }
+                        };
+                        callers[t].start();
+                    }
+                    for (int t = 0; t < callers.length; t++) {
+                        callers[t].join();
+                        assertTrue(failures[t] == null, "caller " + t + ": " + failures[t]);
+                        assertEquals(0, errors[t], "caller " + t + ": wrong products");
+                    }
+                } finally {
+                    Configurable.configure(ConcurrentContext.DEFAULT, context);
+                    Configurable.configure(ConcurrentContext.MAXIMUM_CONCURRENCY, maximum);
+                }
+            }
+        });
+    }
+
+    /**
+     * Concurrent context executing the concurrent actions on a pool of
+     * worker threads shared by all the callers (whatever the number of
+     * processors); nested concurrent actions are executed by the worker
+     * itself (the pool cannot deadlock).
+     */
+    public static final class SharedWorkers extends ConcurrentContext {
+
+        private static final ThreadGroup GROUP = new ThreadGroup("SharedWorkers");
+
+        private static final ExecutorService WORKERS = Executors.newFixedThreadPool(3, new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                final Thread thread = new Thread(GROUP, runnable, "SharedWorkers");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        private final List<Future<?>> _futures = new ArrayList<Future<?>>();
+
+        @Override
+        protected void enterAction() {
+            _futures.clear();
+        }
+
+        @Override
+        protected void executeAction(Runnable logic) {
+            if (Thread.currentThread().getThreadGroup() == GROUP) {
+                logic.run(); // Nested.
+                return;
+            }
+            _futures.add(WORKERS.submit(logic));
+        }
+
+        @Override
+        protected void exitAction() {
+            try {
+                for (final Future<?> future : _futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            } finally {
+                _futures.clear();
+            }
+        }
+    }
+
+    private static double[][] randomSparse(int m, int n, double density, Random random) {
+        final double[][] a = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                if (random.nextDouble() < density) {
+                    a[i][j] = random.nextDouble() - 0.5;
+                }
+            }
+        }
+        return a;
+    }
+
+    private static int nonZeros(double[][] a) {
+        int count = 0;
+        for (double[] row : a) {
+            for (double value : row) {
+                if (value != 0.0) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static double[][] transpose(double[][] a) {
+        final double[][] t = new double[a[0].length][a.length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                t[j][i] = a[i][j];
+            }
+        }
+        return t;
+    }
+
+    private static double[][] multiply(double[][] a, double[][] b) {
+        final double[][] c = new double[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b[0].length; j++) {
+                double sum = 0.0;
+                for (int k = 0; k < b.length; k++) {
+                    sum += a[i][k] * b[k][j];
+                }
+                c[i][j] = sum;
+            }
+        }
+        return c;
+    }
+
+    private static double[] multiply(double[][] a, double[] x) {
+        final double[] y = new double[a.length];
+        for (int i = 0; i < a.length; i++) {
+            double sum = 0.0;
+            for (int j = 0; j < x.length; j++) {
+                sum += a[i][j] * x[j];
+            }
+            y[i] = sum;
+        }
+        return y;
+    }
+
+    private static double[] toArray(Vector<Float64> v) {
+        final double[] values = new double[v.getDimension()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = v.get(i).doubleValue();
+        }
+        return values;
+    }
+
+    // Checks that the indices are strictly increasing in each row/column.
+    private static void assertSorted(Float64SparseMatrix A) {
+        final int outer = A.isColumnMajor() ? A.getNumberOfColumns() : A.getNumberOfRows();
+        for (int i = 0; i < outer; i++) {
+            for (int k = A._pointers[i] + 1; k < A._pointers[i + 1]; k++) {
+                assertTrue(A._indices[k - 1] < A._indices[k], "Indices not sorted");
+            }
+        }
+        assertEquals(A.getNumberOfNonZeros(), A._pointers[outer]);
+    }
+
+    private static void assertVector(double[] expected, Vector<Float64> actual) {
+        assertEquals(expected.length, actual.getDimension());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual.get(i).doubleValue());
+        }
+    }
+
+    private static void assertMatrix(double[][] expected, Matrix<Float64> actual) {
+        assertEquals(expected.length, actual.getNumberOfRows());
+        assertEquals(expected[0].length, actual.getNumberOfColumns());
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected[0].length; j++) {
+                assertEquals(expected[i][j], actual.get(i, j).doubleValue());
+            }
+        }
+    }
+
+    private static boolean isNear(double[] expected, double[] actual) {
+        for (int i = 0; i < expected.length; i++) {
+            if (Math.abs(expected[i] - actual[i]) > 1e-12)
+                return false;
+        }
+        return true;
+    }
+
+    private static void assertNear(double expected, double actual) {
+        assertTrue(Math.abs(expected - actual) <= 1e-12, expected + " expected but found " + actual);
+    }
+
+    private static void assertNear(double[] expected, double[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertNear(expected[i], actual[i]);
+        }
+    }
+
+    private static void assertNear(double[] expected, Vector<Float64> actual) {
+        assertNear(expected, toArray(actual));
+    }
+
+    private static void assertNear(double[][] expected, Matrix<Float64> actual) {
+        assertEquals(expected.length, actual.getNumberOfRows());
+        assertEquals(expected[0].length, actual.getNumberOfColumns());
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected[0].length; j++) {
+                assertNear(expected[i][j], actual.get(i, j).doubleValue());
+            }
+        }
+    }
+}
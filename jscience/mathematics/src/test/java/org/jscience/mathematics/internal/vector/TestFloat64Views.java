@@ -0,0 +1,394 @@
+package org.jscience.mathematics.internal.vector;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Random;
+
+import javolution.util.Index;
+import javolution.xml.XMLObjectReader;
+import javolution.xml.XMLObjectWriter;
+
+import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link Float64Matrix} and {@link Float64Vector} views
+ * (offset and strides shared with the original elements).
+ */
+public class TestFloat64Views extends AbstractTestSuite {
+
+    private static final int M = 7;
+
+    private static final int N = 9;
+
+    public void testElementAccess() {
+        info(" transpose / getRow / getColumn / getDiagonal");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final double[][] a = randomArray(M, N, new Random(1));
+                final Float64Matrix A = Float64Matrix.valueOf(a);
+                final Float64Matrix T = A.transpose();
+                assertEquals(N, T.getNumberOfRows());
+                assertEquals(M, T.getNumberOfColumns());
+                for (int i = 0; i < M; i++) {
+                    for (int j = 0; j < N; j++) {
+                        assertEquals(a[i][j], T.getValue(j, i));
+                        assertEquals(a[i][j], T.get(j, i).doubleValue());
+                    }
+                }
+                for (int i = 0; i < M; i++) {
+                    assertVector(a[i], A.getRow(i));
+                    assertVector(a[i], T.getColumn(i));
+                }
+                for (int j = 0; j < N; j++) {
+                    final double[] column = new double[M];
+                    for (int i = 0; i < M; i++) {
+                        column[i] = a[i][j];
+                    }
+                    assertVector(column, A.getColumn(j));
+                    assertVector(column, T.getRow(j));
+                }
+                final double[] diagonal = new double[M];
+                for (int i = 0; i < M; i++) {
+                    diagonal[i] = a[i][i];
+                }
+                assertVector(diagonal, A.getDiagonal());
+                assertVector(diagonal, T.getDiagonal());
+                assertEquals(A.getRow(2).getDimension(), N);
+                assertEquals(T.getRow(2).getDimension(), M);
+            }
+        });
+    }
+
+    public void testSubMatrix() {
+        info(" getSubMatrix (strided views and copies)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final double[][] a = randomArray(M, N, new Random(2));
+                final Float64Matrix A = Float64Matrix.valueOf(a);
+                final int[] rows = { 1, 3, 5 };
+                final int[] columns = { 2, 4, 6, 8 };
+                final Float64Matrix S = A.getSubMatrix(indices(rows), indices(columns));
+                assertTrue(S._data == A._data, "Evenly spaced indices should give a view");
+                assertEquals(A._columnStride * 2, S._columnStride);
+                assertEquals(A._rowStride * 2, S._rowStride);
+                assertMatrix(select(a, rows, columns), S);
+                // Views of views.
+                final Float64Matrix ST = S.transpose();
+                assertMatrix(transpose(select(a, rows, columns)), ST);
+                final int[] sr = { 1, 2 };
+                final int[] sc = { 0, 3 };
+                final Float64Matrix SS = S.getSubMatrix(indices(sr), indices(sc));
+                assertMatrix(select(select(a, rows, columns), sr, sc), SS);
+                assertVector(select(a, rows, columns)[1], S.getRow(1));
+                assertVector(transpose(select(a, rows, columns))[2], S.getColumn(2));
+                assertVector(new double[] { a[1][2], a[3][4], a[5][6] }, S.getDiagonal());
+                final Float64Matrix TS = A.transpose().getSubMatrix(indices(columns), indices(rows));
+                assertMatrix(transpose(select(a, rows, columns)), TS);
+                // Not evenly spaced, copy.
+                final int[] irregular = { 0, 1, 4 };
+                final Float64Matrix C = A.getSubMatrix(indices(irregular), indices(columns));
+                assertTrue(C._data != A._data, "Irregular indices should give a copy");
+                assertMatrix(select(a, irregular, columns), C);
+                assertMatrix(select(a, rows, columns), S.copy());
+                assertMatrix(transpose(a), A.transpose().copy());
+            }
+        });
+    }
+
+    public void testContiguous() {
+        info(" Float64Vector.contiguous");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final double[][] a = randomArray(M, N, new Random(3));
+                final Float64Matrix A = Float64Matrix.valueOf(a);
+                final Float64Vector row = A.getRow(3);
+                assertEquals(3 * N, row._offset);
+                assertEquals(1, row._stride);
+                assertTrue(row.contiguous() == row, "Unit stride views are already contiguous");
+                final Float64Vector column = A.getColumn(4);
+                assertEquals(4, column._offset);
+                assertEquals(N, column._stride);
+                final Float64Vector copy = column.contiguous();
+                assertTrue(copy != column, "Strided views should be copied");
+                assertEquals(0, copy._offset);
+                assertEquals(1, copy._stride);
+                assertVector(transpose(a)[4], copy);
+                // The copy does not share the elements of the matrix.
+                copy._values[0] = 123.0;
+                assertEquals(a[0][4], A.getValue(0, 4));
+            }
+        });
+    }
+
+    public void testMatrixArithmetic() {
+        info(" Float64Matrix arithmetic on views");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final double[][] a = randomArray(M, N, new Random(4));
+                final double[][] b = randomArray(M, N, new Random(5));
+                final Float64Matrix A = Float64Matrix.valueOf(a);
+                final Float64Matrix B = Float64Matrix.valueOf(b);
+                final int[] rows = { 2, 3, 4, 5 };
+                final int[] columns = { 1, 3, 5, 7 };
+                final int[] other = { 4, 5, 6, 7 };
+                final Float64Matrix SA = A.getSubMatrix(indices(rows), indices(columns));
+                final Float64Matrix SB = B.getSubMatrix(indices(rows), indices(other));
+                final double[][] sa = select(a, rows, columns);
+                final double[][] sb = select(b, rows, other);
+                assertMatrix(add(sa, sb, 1), SA.plus(SB));
+                assertMatrix(add(sa, sb, -1), SA.minus(SB));
+                assertMatrix(add(sa, sb, -1), SA.minus(SB.transpose().transpose()));
+                assertMatrix(scale(sa, -1), SA.opposite());
+                assertMatrix(scale(sa, 2.5), SA.times(2.5));
+                assertMatrix(scale(sa, 2.5), SA.times(Float64.valueOf(2.5)));
+                assertMatrix(add(transpose(sa), sb, 1), SA.transpose().plus(SB));
+                assertNear(multiply(sa, sb), SA.times(SB));
+                assertNear(multiply(transpose(sa), sb), SA.transpose().times(SB));
+                assertNear(multiply(sa, transpose(sb)), SA.times(SB.transpose()));
+                final Float64Vector x = A.getRow(6).getSubVector(indices(rows));
+                final double[] xs = { a[6][2], a[6][3], a[6][4], a[6][5] };
+                assertNear(multiply(sa, xs), SA.times(x));
+                final Float64Vector y = A.getColumn(8).getSubVector(indices(rows));
+                assertNear(multiply(sa, y), SA.times(y));
+                assertNear(multiply(transpose(sa), y), SA.transpose().times(y));
+                // Square view: inverse and determinant.
+                final Float64Matrix I = SA.inverse().times(SA);
+                for (int i = 0; i < 4; i++) {
+                    for (int j = 0; j < 4; j++) {
+                        assertNear(i == j ? 1.0 : 0.0, I.getValue(i, j));
+                    }
+                }
+                assertNear(SA.copy().determinant().doubleValue(), SA.determinant().doubleValue());
+                assertNear(SA.determinant().doubleValue(), SA.transpose().determinant().doubleValue());
+            }
+        });
+    }
+
+    public void testVectorArithmetic() {
+        info(" Float64Vector arithmetic on views");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final double[][] a = randomArray(M, N, new Random(6));
+                final Float64Matrix A = Float64Matrix.valueOf(a);
+                final double[][] t = transpose(a);
+                final Float64Vector r = A.getRow(5); // Offset 5·N.
+                final Float64Vector s = A.getRow(2); // Offset 2·N.
+                final Float64Vector c = A.getColumn(3); // Offset 3, stride N.
+                final Float64Vector d = A.getColumn(6); // Offset 6, stride N.
+                assertVector(add(a[5], a[2], 1), r.plus(s));
+                assertVector(add(a[5], a[2], -1), r.minus(s));
+                assertVector(add(t[3], t[6], 1), c.plus(d));
+                assertVector(add(t[3], t[6], -1), c.minus(d));
+                assertVector(add(t[3], a[1], 1), c.plus(A.getRow(1).getSubVector(indices(new int[] { 0, 1, 2, 3, 4, 5, 6 }))));
+                assertVector(scale(t[3], -1), c.opposite());
+                assertVector(scale(a[5], 3.0), r.times(3.0));
+                assertVector(scale(t[3], 3.0), c.times(Float64.valueOf(3.0)));
+                assertNear(dot(a[5], a[2]), r.times(s).doubleValue());
+                assertNear(dot(t[3], t[6]), c.times(d).doubleValue());
+                assertNear(Math.sqrt(dot(t[3], t[3])), c.normValue());
+                assertNear(Math.sqrt(dot(a[5], a[5])), r.norm().doubleValue());
+                assertVector(t[3], c.copy());
+                final Float64Vector u = A.getRow(0).getSubVector(indices(new int[] { 0, 1, 2 }));
+                final Float64Vector v = A.getColumn(1).getSubVector(indices(new int[] { 4, 5, 6 }));
+                final double[] us = { a[0][0], a[0][1], a[0][2] };
+                final double[] vs = { a[4][1], a[5][1], a[6][1] };
+                final double[] cross = { us[1] * vs[2] - us[2] * vs[1], us[2] * vs[0] - us[0] * vs[2],
+                        us[0] * vs[1] - us[1] * vs[0] };
+                assertNear(cross, u.cross(v));
+            }
+        });
+    }
+
+    public void testFormat() {
+        info(" text and XML representation of views");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() throws Exception {
+                final double[][] a = randomArray(M, N, new Random(7));
+                final Float64Matrix A = Float64Matrix.valueOf(a);
+                final int[] rows = { 0, 2, 4, 6 };
+                final int[] columns = { 7, 5, 3, 1 };
+                final Float64Matrix S = A.getSubMatrix(indices(rows), indices(columns)).transpose();
+                final Float64Matrix copy = S.copy();
+                assertEquals(copy.toText().toString(), S.toText().toString());
+                assertEquals(A.getColumn(2).copy().toText().toString(), A.getColumn(2).toText().toString());
+                final StringWriter xml = new StringWriter();
+                final XMLObjectWriter writer = XMLObjectWriter.newInstance(xml);
+                try {
+                    writer.write(S, "Matrix");
+                    writer.write(A.getColumn(5), "Vector");
+                } finally {
+                    writer.close();
+                }
+                final XMLObjectReader reader = XMLObjectReader.newInstance(new StringReader(xml.toString()));
+                try {
+                    final DenseMatrix<Float64> matrix = reader.read("Matrix");
+                    assertEquals(copy.getNumberOfRows(), matrix.getNumberOfRows());
+                    assertEquals(copy.getNumberOfColumns(), matrix.getNumberOfColumns());
+                    for (int i = 0; i < copy.getNumberOfRows(); i++) {
+                        for (int j = 0; j < copy.getNumberOfColumns(); j++) {
+                            assertEquals(copy.getValue(i, j), matrix.get(i, j).doubleValue());
+                        }
+                    }
+                    final DenseVector<Float64> vector = reader.read("Vector");
+                    final double[] column = transpose(a)[5];
+                    assertEquals(column.length, vector.getDimension());
+                    for (int i = 0; i < column.length; i++) {
+                        assertEquals(column[i], vector.get(i).doubleValue());
+                    }
+                } finally {
+                    reader.close();
+                }
+            }
+        });
+    }
+
+    private static double[][] randomArray(int m, int n, Random random) {
+        final double[][] a = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i][j] = random.nextDouble() - 0.5;
+            }
+        }
+        return a;
+    }
+
+    private static List<Index> indices(int[] values) {
+        return Index.valuesOf(values);
+    }
+
+    private static double[][] select(double[][] a, int[] rows, int[] columns) {
+        final double[][] s = new double[rows.length][columns.length];
+        for (int i = 0; i < rows.length; i++) {
+            for (int j = 0; j < columns.length; j++) {
+                s[i][j] = a[rows[i]][columns[j]];
+            }
+        }
+        return s;
+    }
+
+    private static double[][] transpose(double[][] a) {
+        final double[][] t = new double[a[0].length][a.length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                t[j][i] = a[i][j];
+            }
+        }
+        return t;
+    }
+
+    private static double[][] add(double[][] a, double[][] b, double k) {
+        final double[][] c = new double[a.length][];
+        for (int i = 0; i < a.length; i++) {
+            c[i] = add(a[i], b[i], k);
+        }
+        return c;
+    }
+
+    private static double[] add(double[] a, double[] b, double k) {
+        final double[] c = new double[a.length];
+        for (int i = 0; i < a.length; i++) {
+            c[i] = a[i] + k * b[i];
+        }
+        return c;
+    }
+
+    private static double[][] scale(double[][] a, double k) {
+        final double[][] c = new double[a.length][];
+        for (int i = 0; i < a.length; i++) {
+            c[i] = scale(a[i], k);
+        }
+        return c;
+    }
+
+    private static double[] scale(double[] a, double k) {
+        final double[] c = new double[a.length];
+        for (int i = 0; i < a.length; i++) {
+            c[i] = k * a[i];
+        }
+        return c;
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static double[][] multiply(double[][] a, double[][] b) {
+        final double[][] c = new double[a.length][];
+        final double[][] bt = transpose(b);
+        for (int i = 0; i < a.length; i++) {
+            c[i] = multiply(bt, a[i]);
+        }
+        return c;
+    }
+
+    private static double[] multiply(double[][] a, double[] x) {
+        final double[] y = new double[a.length];
+        for (int i = 0; i < a.length; i++) {
+            y[i] = dot(a[i], x);
+        }
+        return y;
+    }
+
+    private static double[] multiply(double[][] a, Float64Vector x) {
+        final double[] xs = new double[x.getDimension()];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = x.getValue(i);
+        }
+        return multiply(a, xs);
+    }
+
+    private static void assertVector(double[] expected, Float64Vector actual) {
+        assertEquals(expected.length, actual.getDimension());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual.getValue(i));
+        }
+    }
+
+    private static void assertMatrix(double[][] expected, Float64Matrix actual) {
+        assertEquals(expected.length, actual.getNumberOfRows());
+        assertEquals(expected[0].length, actual.getNumberOfColumns());
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected[0].length; j++) {
+                assertEquals(expected[i][j], actual.getValue(i, j));
+            }
+        }
+    }
+
+    private static void assertNear(double expected, double actual) {
+        assertTrue(Math.abs(expected - actual) <= 1e-12, expected + " expected but found " + actual);
+    }
+
+    private static void assertNear(double[] expected, Float64Vector actual) {
+        assertEquals(expected.length, actual.getDimension());
+        for (int i = 0; i < expected.length; i++) {
+            assertNear(expected[i], actual.getValue(i));
+        }
+    }
+
+    private static void assertNear(double[][] expected, Float64Matrix actual) {
+        assertEquals(expected.length, actual.getNumberOfRows());
+        assertEquals(expected[0].length, actual.getNumberOfColumns());
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected[0].length; j++) {
+                assertNear(expected[i][j], actual.getValue(i, j));
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package org.jscience.mathematics.internal.vector;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
+
+import javolution.context.LocalContext;
+import javolution.util.FastTable;
+import javolution.util.Index;
+
+import org.jscience.mathematics.number.LargeInteger;
+import org.jscience.mathematics.number.ModuloInteger;
+import org.jscience.mathematics.number.Rational;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.mathematics.structure.Field;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link LUDecomposition} based {@link Matrix#determinant},
+ * {@link Matrix#inverse}, {@link Matrix#solve} and {@link Matrix#adjoint}
+ * against the cofactor (Laplace) definitions.
+ */
+public class TestLUDecomposition extends AbstractTestSuite {
+
+    public void testRational() {
+        info(" Rational determinant / inverse / solve / adjoint");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(1);
+                for (int n = 1; n <= 6; n++) {
+                    final DenseMatrix<Rational> A = DenseMatrix.valueOf(randomRationals(n, random));
+                    final Rational det = A.determinant();
+                    assertEquals(A.laplaceExpansion(), det, "det, n = " + n);
+                    if (isZero(det))
+                        continue;
+                    assertEquals(identity(n, Rational.ZERO, Rational.ONE), A.inverse().times(A), "inverse, n = " + n);
+                    assertEquals(identity(n, Rational.ZERO, Rational.ONE), A.times(A.inverse()));
+                    final DenseVector<Rational> y = DenseVector.valueOf(randomRationals(1, n, random)[0]);
+                    assertEquals(y, A.times(A.solve(y)), "solve, n = " + n);
+                    if (n > 1) {
+                        assertEquals(adjointOf(A), A.adjoint(), "adjoint, n = " + n);
+                    }
+                }
+            }
+        });
+    }
+
+    public void testLargeInteger() {
+        info(" LargeInteger determinant (LU vs Laplace and Bareiss)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(2);
+                for (int n = 2; n <= 6; n++) {
+                    final LargeInteger[][] a = new LargeInteger[n][n];
+                    final Rational[][] r = new Rational[n][n];
+                    for (int i = 0; i < n; i++) {
+                        for (int j = 0; j < n; j++) {
+                            a[i][j] = LargeInteger.valueOf(new BigInteger(100, random))
+                                    .minus(LargeInteger.ONE.shiftLeft(99));
+                            r[i][j] = Rational.valueOf(a[i][j], LargeInteger.ONE);
+                        }
+                    }
+                    final DenseMatrix<Rational> A = DenseMatrix.valueOf(r);
+                    final Rational det = A.determinant();
+                    assertEquals(A.laplaceExpansion(), det, "det, n = " + n);
+                    assertEquals(BareissDecomposition.valueOf(a).determinant(), det);
+                    assertEquals(LargeInteger.ONE, det.getDivisor());
+                    assertEquals(identity(n, Rational.ZERO, Rational.ONE), A.inverse().times(A));
+                }
+            }
+        });
+    }
+
+    public void testSingular() {
+        info(" singular determinant / adjoint");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(3);
+                for (int n = 2; n <= 5; n++) {
+                    final Rational[][] r = randomRationals(n, random);
+                    // Last row is a linear combination of the first two.
+                    for (int j = 0; j < n; j++) {
+                        r[n - 1][j] = (n == 2) ? r[0][j].times(Rational.valueOf(3, 7))
+                                : r[0][j].times(Rational.valueOf(3, 7)).minus(r[1][j]);
+                    }
+                    final DenseMatrix<Rational> A = DenseMatrix.valueOf(r);
+                    assertEquals(Rational.ZERO, A.determinant(), "det, n = " + n);
+                    assertEquals(Rational.ZERO, A.laplaceExpansion());
+                    assertEquals(adjointOf(A), A.adjoint(), "adjoint, n = " + n);
+                }
+                // Rank deficient by more than one, the adjoint is zero.
+                final Rational[][] z = new Rational[3][3];
+                for (int i = 0; i < 3; i++) {
+                    for (int j = 0; j < 3; j++) {
+                        z[i][j] = Rational.valueOf(i + 1, j + 1);
+                    }
+                }
+                final DenseMatrix<Rational> Z = DenseMatrix.valueOf(z);
+                assertEquals(Rational.ZERO, Z.determinant());
+                assertEquals(identity(3, Rational.ZERO, Rational.ZERO), Z.adjoint());
+            }
+        });
+    }
+
+    public void testModuloInteger() {
+        info(" ModuloInteger determinant / inverse / solve / adjoint");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final long p = 1000003;
+                LocalContext.enter();
+                try {
+                    ModuloInteger.setModulus(LargeInteger.valueOf(p));
+                    final ModuloInteger zero = ModuloInteger.valueOf(0);
+                    final ModuloInteger one = ModuloInteger.valueOf(1);
+                    final Random random = new Random(4);
+                    for (int n = 1; n <= 6; n++) {
+                        final ModuloInteger[][] a = new ModuloInteger[n][n];
+                        for (int i = 0; i < n; i++) {
+                            for (int j = 0; j < n; j++) {
+                                // Many zero elements (exercises pivoting).
+                                a[i][j] = ModuloInteger.valueOf(random.nextInt(3) == 0 ? 0 : random.nextInt((int) p));
+                            }
+                        }
+                        final DenseMatrix<ModuloInteger> A = DenseMatrix.valueOf(a);
+                        final ModuloInteger det = A.determinant();
+                        assertEquals(A.laplaceExpansion(), det, "det, n = " + n);
+                        if (isZero(det))
+                            continue;
+                        assertEquals(identity(n, zero, one), A.inverse().times(A), "inverse, n = " + n);
+                        final DenseVector<ModuloInteger> y = A.getRow(0);
+                        assertEquals(y, A.times(A.solve(y)), "solve, n = " + n);
+                        if (n > 1) {
+                            assertEquals(adjointOf(A), A.adjoint(), "adjoint, n = " + n);
+                        }
+                    }
+                } finally {
+                    LocalContext.exit();
+                }
+            }
+        });
+    }
+
+    public void testLarge() {
+        info(" 12x12 Rational determinant / inverse");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                // Hilbert matrix, det = c(n)⁴ / c(2n) with c(n) = 1!·2!·...·(n-1)!
+                final int n = 12;
+                final Rational[][] h = new Rational[n][n];
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        h[i][j] = Rational.valueOf(1, i + j + 1);
+                    }
+                }
+                final DenseMatrix<Rational> H = DenseMatrix.valueOf(h);
+                final Rational det = H.determinant();
+                final LargeInteger cn = superFactorial(n);
+                assertEquals(Rational.valueOf(cn.pow(4), superFactorial(2 * n)), det);
+                final DenseMatrix<Rational> I = H.inverse().times(H);
+                assertEquals(identity(n, Rational.ZERO, Rational.ONE), I);
+                // The inverse of a Hilbert matrix has integer elements.
+                final Matrix<Rational> inverse = H.inverse();
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        assertEquals(LargeInteger.ONE, inverse.get(i, j).getDivisor());
+                    }
+                }
+            }
+        });
+    }
+
+    private static Rational[][] randomRationals(int n, Random random) {
+        return randomRationals(n, n, random);
+    }
+
+    private static Rational[][] randomRationals(int m, int n, Random random) {
+        final Rational[][] r = new Rational[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                r[i][j] = Rational.valueOf(random.nextInt(21) - 10, 1 + random.nextInt(9));
+            }
+        }
+        return r;
+    }
+
+    // Returns the product of the factorials 1!, 2!, ... (n-1)!
+    private static LargeInteger superFactorial(int n) {
+        LargeInteger product = LargeInteger.ONE;
+        LargeInteger factorial = LargeInteger.ONE;
+        for (int i = 1; i < n; i++) {
+            factorial = factorial.times(i);
+            product = product.times(factorial);
+        }
+        return product;
+    }
+
+    private static <F extends Field<F>> boolean isZero(F e) {
+        return e.equals(e.plus(e));
+    }
+
+    private static <F extends Field<F>> DenseMatrix<F> identity(int n, F zero, F one) {
+        final FastTable<DenseVector<F>> rows = new FastTable<DenseVector<F>>();
+        for (int i = 0; i < n; i++) {
+            final FastTable<F> row = new FastTable<F>();
+            for (int j = 0; j < n; j++) {
+                row.add(i == j ? one : zero);
+            }
+            rows.add(DenseVector.valueOf(row));
+        }
+        return DenseMatrix.valueOf(rows);
+    }
+
+    /**
+     * Returns the adjoint from its definition: transpose of the matrix of
+     * cofactors, each minor determinant calculated by Laplace expansion.
+     */
+    private static <F extends Field<F>> DenseMatrix<F> adjointOf(Matrix<F> A) {
+        final int n = A.getNumberOfRows();
+        final FastTable<DenseVector<F>> rows = new FastTable<DenseVector<F>>();
+        for (int j = 0; j < n; j++) {
+            final FastTable<F> row = new FastTable<F>();
+            for (int i = 0; i < n; i++) {
+                final F minor = A.getSubMatrix(allBut(i, n), allBut(j, n)).laplaceExpansion();
+                row.add(((i + j) % 2 == 0) ? minor : minor.opposite());
+            }
+            rows.add(DenseVector.valueOf(row));
+        }
+        return DenseMatrix.valueOf(rows);
+    }
+
+    private static List<Index> allBut(int k, int n) {
+        final FastTable<Index> indices = new FastTable<Index>();
+        for (int i = 0; i < n; i++) {
+            if (i != k) {
+                indices.add(Index.valueOf(i));
+            }
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,244 @@
+package org.jscience.mathematics.internal.vector;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Random;
+
+import javolution.context.ConcurrentContext;
+import javolution.context.LocalContext;
+import javolution.util.Index;
+
+import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link MatrixMarketFormat} reader/writer (write then read
+ * round trips and hand written files).
+ */
+public class TestMatrixMarketFormat extends AbstractTestSuite {
+
+    public void testSparseRoundTrip() {
+        info(" write / readSparse (coordinate)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() throws Exception {
+                final Random random = new Random(1);
+                final double[][] a = randomSparse(40, 30, 0.1, random);
+                a[3][4] = 1e-300; // Extreme values are written exactly.
+                a[5][6] = -1.2345678901234567e300;
+                a[7][8] = Math.PI;
+                a[9][10] = Double.MIN_VALUE;
+                final Float64SparseMatrix csr = Float64SparseMatrix.valueOfMatrix(Float64Matrix.valueOf(a));
+                final MatrixMarketFormat format = new MatrixMarketFormat();
+                final Float64SparseMatrix[] matrices = { csr, csr.compressColumns(), csr.transpose() };
+                for (final Float64SparseMatrix A : matrices) {
+                    final byte[] bytes = write(format, A);
+                    final Float64SparseMatrix B = format.readSparse(channelOf(bytes));
+                    assertEquals(A.getNumberOfNonZeros(), B.getNumberOfNonZeros());
+                    assertMatrix(A, B);
+                    assertMatrix(A, format.readDense(channelOf(bytes)));
+                }
+            }
+        });
+    }
+
+    public void testDenseRoundTrip() {
+        info(" write / readDense (array)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() throws Exception {
+                final Random random = new Random(2);
+                final double[][] a = randomSparse(17, 23, 0.7, random);
+                final Float64Matrix A = Float64Matrix.valueOf(a);
+                final MatrixMarketFormat format = new MatrixMarketFormat();
+                final Float64Matrix[] matrices = { A, A.transpose(),
+                        A.getSubMatrix(Index.rangeOf(2, 15), Index.valuesOf(1, 4, 7, 10, 13)) };
+                for (final Float64Matrix M : matrices) {
+                    final byte[] bytes = write(format, M);
+                    assertMatrix(M, format.readDense(channelOf(bytes)));
+                    final Float64SparseMatrix S = format.readSparse(channelOf(bytes));
+                    assertMatrix(M, S);
+                    int nonZeros = 0;
+                    for (int i = 0; i < M.getNumberOfRows(); i++) {
+                        for (int j = 0; j < M.getNumberOfColumns(); j++) {
+                            if (M.getValue(i, j) != 0.0) {
+                                nonZeros++;
+                            }
+                        }
+                    }
+                    assertEquals(nonZeros, S.getNumberOfNonZeros());
+                }
+            }
+        });
+    }
+
+    public void testParse() {
+        info(" symmetric / skew-symmetric / integer / pattern");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() throws Exception {
+                final MatrixMarketFormat format = new MatrixMarketFormat();
+                final Float64SparseMatrix S = format.readSparse(channelOf(("%%MatrixMarket matrix coordinate real symmetric\n"
+                        + "% Comment line\n" + "%\n" + "3 3 4\n" + "1 1 2.5\n" + "2 1 -1e-3\n" + "3 2 4\n"
+                        + "3 3 1\n").getBytes("US-ASCII")));
+                assertMatrix(new double[][] { { 2.5, -1e-3, 0 }, { -1e-3, 0, 4 }, { 0, 4, 1 } }, S);
+                assertEquals(6, S.getNumberOfNonZeros());
+                final Float64Matrix K = format.readDense(channelOf(("%%MatrixMarket matrix array integer skew-symmetric\n"
+                        + "3 3\n" + "1\n" + "2\n" + "3\n").getBytes("US-ASCII")));
+                assertMatrix(new double[][] { { 0, -1, -2 }, { 1, 0, -3 }, { 2, 3, 0 } }, K);
+                final Float64SparseMatrix P = format.readSparse(channelOf(("%%MatrixMarket matrix coordinate pattern general\n"
+                        + "2 4 3\n" + "1 4\n" + "2 1\n" + "1 4\n").getBytes("US-ASCII")));
+                assertMatrix(new double[][] { { 0, 0, 0, 2 }, { 1, 0, 0, 0 } }, P); // Duplicates summed.
+                final Float64Matrix D = format.readDense(channelOf(("%%MatrixMarket matrix array real general\n"
+                        + "2 2\n" + "1\n" + "2\n" + "3\n" + "4\n").getBytes("US-ASCII")));
+                assertMatrix(new double[][] { { 1, 3 }, { 2, 4 } }, D); // Column by column.
+                assertIOException(format, "%%MatrixMarket matrix coordinate complex general\n1 1 1\n1 1 1 0\n");
+                assertIOException(format, "%%MatrixMarket vector coordinate real general\n1 1 1\n1 1 1\n");
+                assertIOException(format, "%%MatrixMarket matrix coordinate real general\n2 2 3\n1 1 1\n2 2 2\n");
+                assertIOException(format, "%%MatrixMarket matrix coordinate real symmetric\n2 3 1\n1 1 1\n");
+                assertIOException(format, "");
+            }
+        });
+    }
+
+    public void testFile() {
+        info(" FileChannel (concurrent ranges) / monitor");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() throws Exception {
+                final Random random = new Random(3);
+                final int n = 2000;
+                final int nnz = 400000; // About 11 MB, split into ranges.
+                final int[] rows = new int[nnz];
+                final int[] columns = new int[nnz];
+                final double[] values = new double[nnz];
+                for (int k = 0; k < nnz; k++) {
+                    rows[k] = random.nextInt(n);
+                    columns[k] = random.nextInt(n);
+                    values[k] = random.nextDouble() - 0.5;
+                }
+                final Float64SparseMatrix A = Float64SparseMatrix.valueOf(n, n, rows, columns, values);
+                final MatrixMarketFormat format = new MatrixMarketFormat();
+                final File file = File.createTempFile("jscience", ".mtx");
+                try {
+                    final FileOutputStream out = new FileOutputStream(file);
+                    try {
+                        format.write(A, out.getChannel());
+                    } finally {
+                        out.close();
+                    }
+                    assertTrue(file.length() > 2 * (1 << 22), "File too small: " + file.length());
+                    LocalContext.enter();
+                    try {
+                        ConcurrentContext.setConcurrency(3);
+                        final Float64SparseMatrix B = read(format, file);
+                        assertEquals(A.getNumberOfNonZeros(), B.getNumberOfNonZeros());
+                        assertTrue(Arrays.equals(A._pointers, B._pointers));
+                        assertTrue(Arrays.equals(A._indices, B._indices));
+                        assertTrue(Arrays.equals(A._values, B._values));
+                    } finally {
+                        LocalContext.exit();
+                    }
+                    // Monitor stopping the read half way.
+                    final long[] last = new long[1];
+                    format.setMonitor(new MatrixMarketFormat.Monitor() {
+                        public boolean progress(long position, long size) {
+                            assertEquals(file.length(), size);
+                            assertTrue(position >= last[0]);
+                            last[0] = position;
+                            return position < size / 2;
+                        }
+                    });
+                    try {
+                        read(format, file);
+                        assertTrue(false, "InterruptedIOException expected");
+                    } catch (InterruptedIOException e) {
+                        assertTrue(last[0] < file.length());
+                    }
+                } finally {
+                    file.delete();
+                }
+            }
+        });
+    }
+
+    private static Float64SparseMatrix read(MatrixMarketFormat format, File file) throws IOException {
+        final FileChannel in = new FileInputStream(file).getChannel();
+        try {
+            return format.readSparse(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static byte[] write(MatrixMarketFormat format, Float64SparseMatrix A) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        format.write(A, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private static byte[] write(MatrixMarketFormat format, Float64Matrix A) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        format.write(A, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private static ReadableByteChannel channelOf(byte[] bytes) {
+        return Channels.newChannel(new ByteArrayInputStream(bytes));
+    }
+
+    private static double[][] randomSparse(int m, int n, double density, Random random) {
+        final double[][] a = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                if (random.nextDouble() < density) {
+                    a[i][j] = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20) - 10);
+                }
+            }
+        }
+        return a;
+    }
+
+    private static void assertIOException(MatrixMarketFormat format, String content) throws Exception {
+        try {
+            format.readSparse(channelOf(content.getBytes("US-ASCII")));
+            assertTrue(false, "IOException expected for: " + content);
+        } catch (IOException e) {
+            // Expected.
+        }
+    }
+
+    private static void assertMatrix(double[][] expected, Matrix<Float64> actual) {
+        assertEquals(expected.length, actual.getNumberOfRows());
+        assertEquals(expected[0].length, actual.getNumberOfColumns());
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected[0].length; j++) {
+                assertEquals(expected[i][j], actual.get(i, j).doubleValue());
+            }
+        }
+    }
+
+    private static void assertMatrix(Matrix<Float64> expected, Matrix<Float64> actual) {
+        final double[][] values = new double[expected.getNumberOfRows()][expected.getNumberOfColumns()];
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < values[0].length; j++) {
+                values[i][j] = expected.get(i, j).doubleValue();
+            }
+        }
+        assertMatrix(values, actual);
+    }
+}
@@ -0,0 +1,318 @@
+package org.jscience.mathematics.internal.vector;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertException;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.jscience.mathematics.number.LargeInteger;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link NormalForm} Hermite normal form (echelon structure,
+ * same row lattice, uniqueness under unimodular row operations) on square,
+ * wide, tall and rank-deficient integer matrices, and for the Smith
+ * invariant factors of matrices with known Smith forms.
+ */
+public class TestNormalForm extends AbstractTestSuite {
+
+    public void testHermiteKnown() {
+        info(" Hermite normal form of known matrices");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                assertSame(valueOf(new long[][] { { 3, 0, 1, 1 }, { 0, 1, 0, 0 }, { 0, 0, 19, 1 }, { 0, 0, 0, 3 } }),
+                        NormalForm.hermite(valueOf(new long[][] { { 3, 3, 1, 4 }, { 0, 1, 0, 0 }, { 0, 0, 19, 16 },
+                                { 0, 0, 0, 3 } })));
+                // Wide (plain), tall (modular) and rank-deficient.
+                assertSame(valueOf(new long[][] { { 1, 0, 50, -11 }, { 0, 3, 28, -2 }, { 0, 0, 61, -13 } }),
+                        NormalForm.hermite(valueOf(new long[][] { { 2, 3, 6, 2 }, { 5, 6, 1, 6 }, { 8, 3, 1, 1 } })));
+                assertSame(valueOf(new long[][] { { 1, 0 }, { 0, 2 }, { 0, 0 } }),
+                        NormalForm.hermite(valueOf(new long[][] { { 3, 4 }, { 1, 2 }, { 5, 8 } })));
+                assertSame(valueOf(new long[][] { { 2, 4, 6 }, { 0, 0, 0 }, { 0, 0, 0 } }),
+                        NormalForm.hermite(valueOf(new long[][] { { -2, -4, -6 }, { 4, 8, 12 }, { 0, 0, 0 } })));
+                assertSame(valueOf(new long[][] { { 0, 0 }, { 0, 0 } }),
+                        NormalForm.hermite(valueOf(new long[][] { { 0, 0 }, { 0, 0 } })));
+                assertEquals(0, NormalForm.hermite(new LargeInteger[0][]).length);
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        NormalForm.hermite(valueOf(new long[][] { { 1, 2 }, { 3 } }));
+                    }
+                });
+            }
+        });
+    }
+
+    public void testHermite() {
+        info(" Hermite normal form of square, wide, tall and rank-deficient matrices");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(1);
+                // m, n, rank
+                final int[][] shapes = { { 5, 5, 5 }, { 6, 6, 4 }, { 3, 7, 3 }, { 4, 7, 2 }, { 9, 4, 4 }, { 9, 4, 2 },
+                        { 12, 5, 5 }, { 1, 6, 1 }, { 6, 1, 1 }, { 5, 3, 0 } };
+                for (final int[] shape : shapes) {
+                    final int m = shape[0], n = shape[1], rank = shape[2];
+                    final String name = m + "x" + n + ", rank " + rank;
+                    final LargeInteger[][] a = randomOfRank(m, n, rank, random);
+                    final LargeInteger[][] original = copy(a);
+                    final LargeInteger[][] h = NormalForm.hermite(a);
+                    assertSame(original, a); // Not modified.
+                    assertEquals(rank, assertHermite(h), name);
+                    assertEquals(rank, BareissDecomposition.valueOf(a).rank(), name);
+                    assertInLattice(a, h, name);
+                    // Unique: same form for any unimodular transformation of the rows.
+                    assertSame(h, NormalForm.hermite(times(randomUnimodular(m, random), a)));
+                    assertSame(h, NormalForm.hermite(h));
+                    if (m == n && rank == n) { // |det A| = product of the pivots.
+                        LargeInteger product = LargeInteger.ONE;
+                        for (int i = 0; i < n; i++) {
+                            product = product.times(h[i][i]);
+                        }
+                        assertEquals(BareissDecomposition.valueOf(a).determinant().abs().getDividend(), product, name);
+                    }
+                    if (m >= n && rank == n) { // Modular vs plain elimination ([A|0] is rank deficient).
+                        final LargeInteger[][] widened = new LargeInteger[m][n + 1];
+                        final LargeInteger[][] expected = new LargeInteger[m][n + 1];
+                        for (int i = 0; i < m; i++) {
+                            System.arraycopy(a[i], 0, widened[i], 0, n);
+                            System.arraycopy(h[i], 0, expected[i], 0, n);
+                            widened[i][n] = expected[i][n] = LargeInteger.ZERO;
+                        }
+                        assertSame(expected, NormalForm.hermite(widened));
+                    }
+                }
+            }
+        });
+    }
+
+    public void testSmithKnown() {
+        info(" Smith invariant factors of known matrices (divisibility chain)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                assertSame(valueOf(2, 6, 12),
+                        NormalForm.smith(valueOf(new long[][] { { 2, 4, 4 }, { -6, 6, 12 }, { 10, -4, -16 } })));
+                assertSame(valueOf(1, 6), NormalForm.smith(valueOf(new long[][] { { 2, 0 }, { 0, 3 } })));
+                assertSame(valueOf(2, 12), NormalForm.smith(valueOf(new long[][] { { 4, 0 }, { 0, 6 } })));
+                assertSame(valueOf(5, 0, 0), NormalForm.smith(valueOf(new long[][] { { 0, 0, 0 }, { 0, 5, 0 },
+                        { 0, 0, 0 } })));
+                assertSame(valueOf(1, 3, 0), NormalForm.smith(valueOf(new long[][] { { 1, 2, 3 }, { 4, 5, 6 },
+                        { 7, 8, 9 } })));
+                assertSame(valueOf(2), NormalForm.smith(valueOf(new long[][] { { 4, -6, 10 } })));
+                assertSame(valueOf(2), NormalForm.smith(valueOf(new long[][] { { 4 }, { -6 }, { 10 } })));
+                // Known Smith forms D (divisibility chain) disguised as U·D·V, U and V unimodular.
+                final Random random = new Random(2);
+                final long[][] chains = { { 1, 2, 6, 0 }, { 3, 3, 3, 3 }, { 1, 1, 12, 24 }, { 2, 10, 0, 0 },
+                        { 0, 0, 0, 0 }, { 1, 4, 8, 8000 } };
+                final int[][] shapes = { { 4, 4 }, { 6, 4 }, { 4, 7 } };
+                for (final long[] chain : chains) {
+                    for (final int[] shape : shapes) {
+                        final int m = shape[0], n = shape[1];
+                        final LargeInteger[][] d = new LargeInteger[m][n];
+                        for (int i = 0; i < m; i++) {
+                            for (int j = 0; j < n; j++) {
+                                d[i][j] = (i == j) ? LargeInteger.valueOf(chain[i]) : LargeInteger.ZERO;
+                            }
+                        }
+                        final LargeInteger[][] a = times(times(randomUnimodular(m, random), d), randomUnimodular(n,
+                                random));
+                        assertSame(valueOf(chain), NormalForm.smith(a));
+                    }
+                }
+            }
+        });
+    }
+
+    public void testSmith() {
+        info(" Smith invariant factors of random matrices (divisibility, rank, determinant)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(3);
+                final int[][] shapes = { { 5, 5, 5 }, { 6, 6, 3 }, { 3, 8, 3 }, { 8, 3, 2 }, { 7, 7, 7 } };
+                for (final int[] shape : shapes) {
+                    final int m = shape[0], n = shape[1], rank = shape[2];
+                    final String name = m + "x" + n + ", rank " + rank;
+                    final LargeInteger[][] a = randomOfRank(m, n, rank, random);
+                    final LargeInteger[] factors = NormalForm.smith(a);
+                    assertEquals(Math.min(m, n), factors.length, name);
+                    LargeInteger product = LargeInteger.ONE;
+                    for (int i = 0; i < factors.length; i++) {
+                        assertTrue(!factors[i].isNegative(), name);
+                        assertEquals(i >= rank, factors[i].isZero(), name); // Zeros last.
+                        if ((i > 0) && !factors[i].isZero()) {
+                            assertTrue(factors[i].divide(factors[i - 1]).getRemainder().isZero(),
+                                    factors[i - 1] + " divides " + factors[i]);
+                        }
+                        product = product.times(factors[i]);
+                    }
+                    if (m == n) {
+                        assertEquals(BareissDecomposition.valueOf(a).determinant().abs().getDividend(), product, name);
+                    }
+                    // Invariant under unimodular transformations of rows and columns.
+                    assertSame(factors, NormalForm.smith(times(times(randomUnimodular(m, random), a),
+                            randomUnimodular(n, random))));
+                }
+            }
+        });
+    }
+
+    // Checks the Hermite form structure and returns the number of non-zero rows.
+    private static int assertHermite(LargeInteger[][] h) {
+        final int m = h.length;
+        final int n = (m == 0) ? 0 : h[0].length;
+        int previous = -1, rank = 0;
+        for (int i = 0; i < m; i++) {
+            int pivot = 0;
+            while ((pivot < n) && h[i][pivot].isZero()) {
+                pivot++;
+            }
+            if (pivot == n) {
+                previous = n; // Zero rows last.
+                continue;
+            }
+            assertTrue(pivot > previous, "pivot of row " + i + " on the right of the previous one");
+            assertTrue(h[i][pivot].isPositive(), "positive pivot");
+            for (int k = 0; k < i; k++) {
+                assertTrue(!h[k][pivot].isNegative() && (h[k][pivot].compareTo(h[i][pivot]) < 0),
+                        "reduced above the pivot");
+            }
+            previous = pivot;
+            rank++;
+        }
+        return rank;
+    }
+
+    // Checks that each row of a is an integer combination of the rows of h.
+    private static void assertInLattice(LargeInteger[][] a, LargeInteger[][] h, String name) {
+        final int n = (a.length == 0) ? 0 : a[0].length;
+        for (final LargeInteger[] row : a) {
+            final LargeInteger[] v = row.clone();
+            int pivot = 0;
+            for (final LargeInteger[] pivotRow : h) {
+                while ((pivot < n) && pivotRow[pivot].isZero()) {
+                    pivot++;
+                }
+                if (pivot == n)
+                    break;
+                final LargeInteger c = v[pivot].divide(pivotRow[pivot]);
+                assertTrue(c.getRemainder().isZero(), name + ": row in the lattice of the form");
+                for (int j = 0; j < n; j++) {
+                    v[j] = v[j].minus(c.times(pivotRow[j]));
+                }
+            }
+            for (int j = 0; j < n; j++) {
+                assertTrue(v[j].isZero(), name + ": row in the lattice of the form");
+            }
+        }
+    }
+
+    private static void assertSame(LargeInteger[][] expected, LargeInteger[][] actual) {
+        assertTrue(Arrays.deepEquals(expected, actual), Arrays.deepToString(expected) + " expected but found "
+                + Arrays.deepToString(actual));
+    }
+
+    private static void assertSame(LargeInteger[] expected, LargeInteger[] actual) {
+        assertTrue(Arrays.equals(expected, actual), Arrays.toString(expected) + " expected but found "
+                + Arrays.toString(actual));
+    }
+
+    // Random m-by-n matrix of the specified rank (product of m-by-rank and rank-by-n matrices).
+    private static LargeInteger[][] randomOfRank(int m, int n, int rank, Random random) {
+        LargeInteger[][] b = new LargeInteger[m][rank];
+        LargeInteger[][] c = new LargeInteger[rank][n];
+        for (int i = 0; i < m; i++) {
+            for (int k = 0; k < rank; k++) {
+                b[i][k] = LargeInteger.valueOf(random.nextInt(11) - 5);
+            }
+        }
+        for (int k = 0; k < rank; k++) {
+            for (int j = 0; j < n; j++) {
+                c[k][j] = LargeInteger.valueOf(random.nextInt(11) - 5);
+            }
+        }
+        final LargeInteger[][] a = (rank == 0) ? zero(m, n) : times(b, c);
+        if (BareissDecomposition.valueOf(a).rank() != rank)
+            return randomOfRank(m, n, rank, random); // Unlucky draw.
+        return a;
+    }
+
+    // Identity transformed by random elementary operations (swap, negation, row addition).
+    private static LargeInteger[][] randomUnimodular(int n, Random random) {
+        final LargeInteger[][] u = zero(n, n);
+        for (int i = 0; i < n; i++) {
+            u[i][i] = LargeInteger.ONE;
+        }
+        for (int k = 0; k < 4 * n; k++) {
+            final int i = random.nextInt(n), j = random.nextInt(n);
+            if (i == j) {
+                for (int l = 0; l < n; l++) {
+                    u[i][l] = u[i][l].opposite();
+                }
+            } else if (random.nextInt(4) == 0) {
+                final LargeInteger[] tmp = u[i];
+                u[i] = u[j];
+                u[j] = tmp;
+            } else {
+                final LargeInteger c = LargeInteger.valueOf(random.nextInt(5) - 2);
+                for (int l = 0; l < n; l++) {
+                    u[i][l] = u[i][l].plus(c.times(u[j][l]));
+                }
+            }
+        }
+        return u;
+    }
+
+    private static LargeInteger[][] times(LargeInteger[][] a, LargeInteger[][] b) {
+        final int m = a.length, n = b.length, p = b[0].length;
+        final LargeInteger[][] c = zero(m, p);
+        for (int i = 0; i < m; i++) {
+            for (int k = 0; k < n; k++) {
+                if (a[i][k].isZero())
+                    continue;
+                for (int j = 0; j < p; j++) {
+                    c[i][j] = c[i][j].plus(a[i][k].times(b[k][j]));
+                }
+            }
+        }
+        return c;
+    }
+
+    private static LargeInteger[][] zero(int m, int n) {
+        final LargeInteger[][] z = new LargeInteger[m][n];
+        for (int i = 0; i < m; i++) {
+            Arrays.fill(z[i], LargeInteger.ZERO);
+        }
+        return z;
+    }
+
+    private static LargeInteger[][] copy(LargeInteger[][] a) {
+        final LargeInteger[][] c = new LargeInteger[a.length][];
+        for (int i = 0; i < a.length; i++) {
+            c[i] = a[i].clone();
+        }
+        return c;
+    }
+
+    private static LargeInteger[][] valueOf(long[][] elements) {
+        final LargeInteger[][] a = new LargeInteger[elements.length][];
+        for (int i = 0; i < elements.length; i++) {
+            a[i] = valueOf(elements[i]);
+        }
+        return a;
+    }
+
+    private static LargeInteger[] valueOf(long... values) {
+        final LargeInteger[] v = new LargeInteger[values.length];
+        for (int i = 0; i < values.length; i++) {
+            v[i] = LargeInteger.valueOf(values[i]);
+        }
+        return v;
+    }
+}
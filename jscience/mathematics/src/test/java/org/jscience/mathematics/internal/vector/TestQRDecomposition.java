@@ -0,0 +1,303 @@
+package org.jscience.mathematics.internal.vector;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertException;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import javolution.util.FastTable;
+import javolution.util.Index;
+
+import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.Rational;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link Float64QRDecomposition} (blocked Householder and
+ * column pivoting) and the {@link QRDecomposition} (exact elements):
+ * reconstruction <code>A·P = Q·R</code>, orthogonality of <code>Q</code>,
+ * revealed rank of rank deficient matrices and least-squares solutions.
+ */
+public class TestQRDecomposition extends AbstractTestSuite {
+
+    public void testFloat64() {
+        info(" Float64 Q·R = A·P, QᵀQ = I (tall, square, wide; blocked and pivoting)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(1);
+                final int[][] sizes = { { 150, 45 }, { 40, 40 }, { 20, 35 }, { 7, 1 } }; // More than one panel.
+                for (final int[] size : sizes) {
+                    final int m = size[0], n = size[1], k = Math.min(m, n);
+                    final double[][] a = random(m, n, random);
+                    final Float64Matrix A = Float64Matrix.valueOf(a);
+                    for (final boolean pivoting : new boolean[] { false, true }) {
+                        final String name = m + "x" + n + (pivoting ? " (pivoting)" : "");
+                        final Float64QRDecomposition qr = Float64QRDecomposition.valueOf(A, pivoting);
+                        final double[][] q = toArray(qr.getQ());
+                        final double[][] r = toArray(qr.getR());
+                        final int[] pivots = qr.getPivots();
+                        assertEquals(m, q.length);
+                        assertEquals(k, q[0].length);
+                        assertEquals(k, r.length);
+                        assertEquals(n, r[0].length);
+                        assertEquals(k, qr.rank(), name);
+                        assertNear(identity(k), product(transpose(q), q), name);
+                        for (int i = 0; i < k; i++) {
+                            for (int j = 0; j < i; j++) {
+                                assertEquals(0.0, r[i][j]); // Upper triangular.
+                            }
+                            if (pivoting && (i > 0)) { // Decreasing diagonal.
+                                assertTrue(Math.abs(r[i][i]) <= Math.abs(r[i - 1][i - 1]) * (1 + 1e-12), name);
+                            }
+                        }
+                        final double[][] ap = new double[m][n];
+                        for (int i = 0; i < m; i++) {
+                            for (int j = 0; j < n; j++) {
+                                ap[i][j] = a[i][pivots[j]];
+                            }
+                        }
+                        assertNear(ap, product(q, r), name);
+                        if (!pivoting) {
+                            for (int j = 0; j < n; j++) {
+                                assertEquals(j, pivots[j]);
+                            }
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    public void testLeastSquares() {
+        info(" Float64 least squares (Aᵀ·(A·x - b) = 0) / pseudo-inverse");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(2);
+                final int m = 120, n = 37;
+                final double[][] a = random(m, n, random);
+                final double[][] b = random(m, 3, random);
+                final Float64Matrix A = Float64Matrix.valueOf(a);
+                for (final boolean pivoting : new boolean[] { false, true }) {
+                    final Float64QRDecomposition qr = Float64QRDecomposition.valueOf(A, pivoting);
+                    final double[][] x = toArray(qr.solve(Float64Matrix.valueOf(b)));
+                    assertEquals(n, x.length);
+                    final double[][] residual = product(a, x);
+                    for (int i = 0; i < m; i++) {
+                        for (int j = 0; j < 3; j++) {
+                            residual[i][j] -= b[i][j];
+                        }
+                    }
+                    assertNear(new double[n][3], product(transpose(a), residual), "normal equations");
+                    final double[] column = new double[m];
+                    for (int i = 0; i < m; i++) {
+                        column[i] = b[i][1];
+                    }
+                    final double[] x1 = qr.solve(column);
+                    for (int i = 0; i < n; i++) {
+                        assertNear(x[i][1], x1[i]);
+                    }
+                    assertNear(identity(n), product(toArray(qr.pseudoInverse()), a), "pseudo-inverse");
+                }
+                final Float64QRDecomposition qr = Float64QRDecomposition.valueOf(A);
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        qr.solve(new double[m + 1]);
+                    }
+                });
+            }
+        });
+    }
+
+    public void testRankDeficient() {
+        info(" Float64 rank revealing (pivoting) of rank deficient matrices");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(3);
+                final int m = 60, n = 40;
+                for (final int rank : new int[] { 0, 1, 7, 39 }) {
+                    final double[][] a = (rank == 0) ? new double[m][n] : product(random(m, rank, random),
+                            random(rank, n, random));
+                    final Float64QRDecomposition qr = Float64QRDecomposition.valueOf(Float64Matrix.valueOf(a), true);
+                    assertEquals(rank, qr.rank(), "rank " + rank);
+                    final int[] pivots = qr.getPivots();
+                    final double[][] ap = new double[m][n];
+                    for (int i = 0; i < m; i++) {
+                        for (int j = 0; j < n; j++) {
+                            ap[i][j] = a[i][pivots[j]];
+                        }
+                    }
+                    assertNear(ap, product(toArray(qr.getQ()), toArray(qr.getR())), "rank " + rank);
+                    if (rank == 0)
+                        continue;
+                    // Basic solution of a consistent system (exact fit).
+                    final double[] x = random(1, n, random)[0];
+                    final double[] b = new double[m];
+                    for (int i = 0; i < m; i++) {
+                        for (int j = 0; j < n; j++) {
+                            b[i] += a[i][j] * x[j];
+                        }
+                    }
+                    final double[] y = qr.solve(b);
+                    for (int j = rank; j < n; j++) {
+                        assertEquals(0.0, y[pivots[j]]); // Dependent columns.
+                    }
+                    for (int i = 0; i < m; i++) {
+                        double sum = 0.0;
+                        for (int j = 0; j < n; j++) {
+                            sum += a[i][j] * y[j];
+                        }
+                        assertNear(b[i], sum);
+                    }
+                }
+            }
+        });
+    }
+
+    public void testRational() {
+        info(" Rational Q·R = A·P (exact), QᵀQ diagonal, rank");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(4);
+                final int[][] sizes = { { 7, 4, 1 }, { 5, 5, 1 }, { 3, 6, 0 }, { 6, 3, 0 } }; // m, n, deficient.
+                for (final int[] size : sizes) {
+                    final int m = size[0], n = size[1];
+                    final Rational[][] r = randomRationals(m, n, random);
+                    final boolean deficient = size[2] != 0;
+                    if (deficient) { // Rank deficient: third column = first - 2/3 second.
+                        for (int i = 0; i < m; i++) {
+                            r[i][2] = r[i][0].minus(r[i][1].times(Rational.valueOf(2, 3)));
+                        }
+                    }
+                    final DenseMatrix<Rational> A = DenseMatrix.valueOf(r);
+                    final QRDecomposition<Rational> qr = QRDecomposition.valueOf(A);
+                    final int rank = Math.min(m, n) - (deficient ? 1 : 0);
+                    final String name = m + "x" + n;
+                    assertEquals(rank, qr.rank(), name);
+                    final DenseMatrix<Rational> Q = qr.getQ();
+                    final DenseMatrix<Rational> R = qr.getR();
+                    assertEquals(m, Q.getNumberOfRows());
+                    assertEquals(rank, Q.getNumberOfColumns());
+                    assertEquals(rank, R.getNumberOfRows());
+                    assertEquals(n, R.getNumberOfColumns());
+                    final DenseMatrix<Rational> QtQ = Q.transpose().times(Q);
+                    for (int i = 0; i < rank; i++) {
+                        assertEquals(Rational.ONE, R.get(i, i), name);
+                        for (int j = 0; j < rank; j++) {
+                            if (j < i) {
+                                assertEquals(Rational.ZERO, R.get(i, j), name);
+                            }
+                            if (j != i) {
+                                assertEquals(Rational.ZERO, QtQ.get(i, j), name);
+                            }
+                        }
+                    }
+                    final List<Index> rows = FastTable.newInstance();
+                    for (int i = 0; i < m; i++) {
+                        rows.add(Index.valueOf(i));
+                    }
+                    assertEquals(A.getSubMatrix(rows, qr.getPivots()), Q.times(R), name);
+                    if (rank == n) { // Least squares (exact normal equations).
+                        final DenseMatrix<Rational> B = DenseMatrix.valueOf(randomRationals(m, 2, random));
+                        final DenseMatrix<Rational> X = qr.solve(B);
+                        assertEquals(A.transpose().times(B), A.transpose().times(A).times(X), name);
+                        assertEquals(identity(n, Rational.ZERO, Rational.ONE), qr.pseudoInverse().times(A), name);
+                    }
+                }
+            }
+        });
+    }
+
+    private static double[][] random(int m, int n, Random random) {
+        final double[][] a = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i][j] = random.nextDouble() - 0.5;
+            }
+        }
+        return a;
+    }
+
+    private static Rational[][] randomRationals(int m, int n, Random random) {
+        final Rational[][] r = new Rational[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                r[i][j] = Rational.valueOf(random.nextInt(21) - 10, random.nextInt(5) + 1);
+            }
+        }
+        return r;
+    }
+
+    private static DenseMatrix<Rational> identity(int n, Rational zero, Rational one) {
+        final Rational[][] r = new Rational[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                r[i][j] = (i == j) ? one : zero;
+            }
+        }
+        return DenseMatrix.valueOf(r);
+    }
+
+    private static double[][] identity(int n) {
+        final double[][] a = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            a[i][i] = 1.0;
+        }
+        return a;
+    }
+
+    private static double[][] product(double[][] a, double[][] b) {
+        final double[][] c = new double[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b[0].length; j++) {
+                for (int k = 0; k < b.length; k++) {
+                    c[i][j] += a[i][k] * b[k][j];
+                }
+            }
+        }
+        return c;
+    }
+
+    private static double[][] transpose(double[][] a) {
+        final double[][] t = new double[a[0].length][a.length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                t[j][i] = a[i][j];
+            }
+        }
+        return t;
+    }
+
+    private static double[][] toArray(Matrix<Float64> M) {
+        final double[][] values = new double[M.getNumberOfRows()][M.getNumberOfColumns()];
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < values[0].length; j++) {
+                values[i][j] = M.get(i, j).doubleValue();
+            }
+        }
+        return values;
+    }
+
+    private static void assertNear(double[][] expected, double[][] actual, String name) {
+        assertEquals(expected.length, actual.length, name);
+        assertEquals(expected[0].length, actual[0].length, name);
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected[0].length; j++) {
+                assertTrue(Math.abs(expected[i][j] - actual[i][j]) <= 1e-10, name + ": " + expected[i][j]
+                        + " expected but found " + actual[i][j] + " at (" + i + ", " + j + ")");
+            }
+        }
+    }
+
+    private static void assertNear(double expected, double actual) {
+        assertTrue(Math.abs(expected - actual) <= 1e-10 * (1 + Math.abs(expected)), expected
+                + " expected but found " + actual);
+    }
+}
@@ -0,0 +1,213 @@
+package org.jscience.mathematics.internal.vector;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.util.Random;
+
+import javolution.context.ConcurrentContext;
+import javolution.context.LocalContext;
+import javolution.lang.Configurable;
+import javolution.util.FastTable;
+import javolution.util.Index;
+
+import org.jscience.mathematics.number.Complex;
+import org.jscience.mathematics.number.Float64;
+import org.jscience.mathematics.number.Integer64;
+import org.jscience.mathematics.number.Rational;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link RowLogic} split of the rows among concurrent
+ * threads (above the {@link RowLogic#CONCURRENCY_THRESHOLD threshold}
+ * only) and for the generic dense matrix operations using it
+ * (<code>opposite</code>, <code>plus</code>, <code>times(k)</code>,
+ * LU elimination and tensor product); the results calculated
+ * concurrently are compared against the sequential ones.
+ */
+public class TestRowLogic extends AbstractTestSuite {
+
+    public void testSplit() {
+        info(" rows split among the concurrent threads above the threshold only");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                assertEquals(1L, RowLogic.weightOf(null));
+                assertEquals(4L, RowLogic.weightOf(Float64.ONE));
+                assertEquals(4L, RowLogic.weightOf(Integer64.ONE));
+                assertEquals(16L, RowLogic.weightOf(Complex.ONE));
+                assertEquals(64L, RowLogic.weightOf(Rational.ONE));
+                final int rows = 100;
+                final long above = RowLogic.CONCURRENCY_THRESHOLD; // Per row.
+                final long below = RowLogic.CONCURRENCY_THRESHOLD / (2 * rows);
+                // No concurrency (default).
+                split(true, rows, 3, rows - 1, above);
+                final Object[] ranges = new Object[3];
+                concurrently(new Runnable() {
+                    public void run() {
+                        ranges[0] = Integer.valueOf(split(true, rows, 3, rows - 1, below));
+                        ranges[1] = Integer.valueOf(split(false, rows, 3, rows - 1, above));
+                        ranges[2] = Integer.valueOf(split(true, rows, 5, 6, above)); // Single row.
+                    }
+                });
+                assertEquals(1, ranges[0]);
+                assertEquals(4, ranges[1]); // Concurrency + 1
+                assertEquals(1, ranges[2]);
+            }
+        });
+    }
+
+    public void testElementWise() {
+        info(" opposite / plus / times(k) concurrent vs sequential");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(1);
+                final int n = 80; // Above the threshold for rationals.
+                assertTrue(n * n * RowLogic.weightOf(Rational.ONE) > RowLogic.CONCURRENCY_THRESHOLD);
+                final DenseMatrix<Rational> A = DenseMatrix.valueOf(randomRationals(n, n, random));
+                final DenseMatrix<Rational> B = DenseMatrix.valueOf(randomRationals(n, n, random));
+                final Rational k = Rational.valueOf(-7, 3);
+                final Object[] sequential = { A.opposite(), A.plus(B), A.plus(B.transpose()), A.times(k) };
+                final Object[] concurrent = new Object[sequential.length];
+                concurrently(new Runnable() {
+                    public void run() {
+                        concurrent[0] = A.opposite();
+                        concurrent[1] = A.plus(B);
+                        concurrent[2] = A.plus(B.transpose());
+                        concurrent[3] = A.times(k);
+                    }
+                });
+                for (int i = 0; i < sequential.length; i++) {
+                    assertEquals(sequential[i], concurrent[i]);
+                }
+                assertEquals(Rational.valueOf(7, 3).times(A.get(5, 9)), ((DenseMatrix<?>) concurrent[3]).get(5, 9)
+                        .opposite());
+                assertEquals(A.get(79, 0).plus(B.get(0, 79)), ((DenseMatrix<?>) concurrent[2]).get(79, 0));
+            }
+        });
+    }
+
+    public void testLU() {
+        info(" LU elimination concurrent vs sequential");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(2);
+                final int n = 270; // (n - k)² · weight above the threshold for the first columns.
+                final Float64[][] a = new Float64[n][n];
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        a[i][j] = Float64.valueOf(random.nextDouble() - 0.5);
+                    }
+                }
+                final DenseMatrix<Float64> A = DenseMatrix.valueOf(a);
+                final LUDecomposition<Float64> sequential = LUDecomposition.valueOf(A);
+                final Object[] concurrent = new Object[1];
+                concurrently(new Runnable() {
+                    public void run() {
+                        concurrent[0] = LUDecomposition.valueOf(A);
+                    }
+                });
+                @SuppressWarnings("unchecked")
+                final LUDecomposition<Float64> lu = (LUDecomposition<Float64>) concurrent[0];
+                assertEquals(sequential.getPivots(), lu.getPivots());
+                assertEquals(sequential.getLU(), lu.getLU()); // Same operations, same rounding.
+                assertEquals(sequential.determinant(), lu.determinant());
+                // P·A = L·U
+                final FastTable<Index> rows = lu.getPivots();
+                final DenseMatrix<Float64> PA = A.getSubMatrix(rows, Index.rangeOf(0, n));
+                final Matrix<Float64> LU = lu.getLower(Float64.ZERO, Float64.ONE).times(lu.getUpper(Float64.ZERO));
+                for (int i = 0; i < n; i += 7) {
+                    for (int j = 0; j < n; j += 3) {
+                        assertTrue(Math.abs(PA.get(i, j).doubleValue() - LU.get(i, j).doubleValue()) <= 1e-10,
+                                "P·A = L·U");
+                    }
+                }
+            }
+        });
+    }
+
+    public void testTensor() {
+        info(" tensor product concurrent vs sequential");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(3);
+                final DenseMatrix<Rational> A = DenseMatrix.valueOf(randomRationals(9, 7, random));
+                final DenseMatrix<Rational> B = DenseMatrix.valueOf(randomRationals(11, 13, random));
+                final Matrix<Rational> sequential = A.tensor(B);
+                final Object[] concurrent = new Object[1];
+                concurrently(new Runnable() {
+                    public void run() {
+                        concurrent[0] = A.tensor(B);
+                    }
+                });
+                assertEquals(sequential, concurrent[0]);
+                assertEquals(99, sequential.getNumberOfRows());
+                assertEquals(91, sequential.getNumberOfColumns());
+                for (int i = 0; i < 99; i++) {
+                    for (int j = 0; j < 91; j++) {
+                        assertEquals(A.get(i / 11, j / 13).times(B.get(i % 11, j % 13)), sequential.get(i, j));
+                    }
+                }
+            }
+        });
+    }
+
+    // Executes rows [from, to) with the specified row cost and checks that
+    // each row is calculated once (by the caller or not); returns the number
+    // of ranges of rows.
+    private static int split(boolean byCaller, int length, int from, int to, long rowCost) {
+        final Thread[] threads = new Thread[length];
+        final int[] counts = new int[length];
+        final int[] ranges = new int[1];
+        new RowLogic() {
+            void rows(int first, int last) {
+                synchronized (ranges) {
+                    ranges[0]++;
+                }
+                for (int i = first; i < last; i++) {
+                    threads[i] = Thread.currentThread();
+                    counts[i]++;
+                }
+            }
+        }.execute(from, to, rowCost);
+        for (int i = 0; i < length; i++) {
+            assertEquals(((i >= from) && (i < to)) ? 1 : 0, counts[i], "row " + i);
+            if (counts[i] != 0) {
+                assertEquals(byCaller, threads[i] == Thread.currentThread(), "row " + i + " calculated by the caller");
+            }
+        }
+        return ranges[0];
+    }
+
+    // Executes the specified logic in a local context with concurrency.
+    private static void concurrently(Runnable logic) {
+        final Integer maximum = ConcurrentContext.MAXIMUM_CONCURRENCY.get();
+        final Class<? extends ConcurrentContext> context = ConcurrentContext.DEFAULT.get();
+        Configurable.configure(ConcurrentContext.MAXIMUM_CONCURRENCY, 3);
+        Configurable.configure(ConcurrentContext.DEFAULT, TestFloat64SparseMatrix.SharedWorkers.class);
+        LocalContext.enter();
+        try {
+            ConcurrentContext.setConcurrency(3);
+            logic.run();
+        } finally {
+            LocalContext.exit();
+            Configurable.configure(ConcurrentContext.DEFAULT, context);
+            Configurable.configure(ConcurrentContext.MAXIMUM_CONCURRENCY, maximum);
+        }
+    }
+
+    private static Rational[][] randomRationals(int m, int n, Random random) {
+        final Rational[][] r = new Rational[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                r[i][j] = Rational.valueOf(random.nextInt(21) - 10, random.nextInt(5) + 1);
+            }
+        }
+        return r;
+    }
+}
@@ -0,0 +1,156 @@
+package org.jscience.mathematics.internal.vector;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertException;
+
+import java.util.Random;
+
+import javolution.context.ConcurrentContext;
+import javolution.context.LocalContext;
+import javolution.lang.Configurable;
+
+import org.jscience.mathematics.number.Rational;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for the {@link StrassenLogic} products of generic
+ * {@link DenseMatrix dense matrices}; the Strassen-Winograd products (odd
+ * and non-square dimensions peeled at each level) are compared exactly
+ * against the classic product for thresholds below and above the
+ * dimensions.
+ */
+public class TestStrassenLogic extends AbstractTestSuite {
+
+    // m, n, p (odd, even and non-square dimensions).
+    private static final int[][] SIZES = { { 7, 9, 5 }, { 16, 16, 16 }, { 33, 17, 41 }, { 35, 35, 35 },
+            { 37, 35, 39 }, { 1, 40, 1 }, { 40, 1, 40 }, { 31, 50, 2 } };
+
+    public void testThreshold() {
+        info(" setStrassenThreshold / getStrassenThreshold (local)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                assertEquals(32, DenseMatrix.getStrassenThreshold());
+                LocalContext.enter();
+                try {
+                    DenseMatrix.setStrassenThreshold(5);
+                    assertEquals(5, DenseMatrix.getStrassenThreshold());
+                } finally {
+                    LocalContext.exit();
+                }
+                assertEquals(32, DenseMatrix.getStrassenThreshold());
+                assertException(IllegalArgumentException.class, new Runnable() {
+                    public void run() {
+                        DenseMatrix.setStrassenThreshold(1);
+                    }
+                });
+            }
+        });
+    }
+
+    public void testProduct() {
+        info(" Strassen-Winograd vs classic product (thresholds below and above the dimensions)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(1);
+                for (final int[] size : SIZES) {
+                    final Rational[][] a = randomRationals(size[0], size[1], random);
+                    final Rational[][] b = randomRationals(size[1], size[2], random);
+                    final DenseMatrix<Rational> expected = DenseMatrix.valueOf(product(a, b));
+                    final DenseMatrix<Rational> A = DenseMatrix.valueOf(a);
+                    final DenseMatrix<Rational> B = DenseMatrix.valueOf(b);
+                    for (final int threshold : new int[] { 2, 3, 8, 1000 }) {
+                        LocalContext.enter();
+                        try {
+                            DenseMatrix.setStrassenThreshold(threshold);
+                            final String name = size[0] + "x" + size[1] + "x" + size[2] + ", threshold " + threshold;
+                            assertEquals(expected, A.times(B), name);
+                            // Transposed views as operands: (Bᵀ·Aᵀ)ᵀ
+                            assertEquals(expected, B.transpose().times(A.transpose()).transpose(), name);
+                        } finally {
+                            LocalContext.exit();
+                        }
+                    }
+                }
+                assertException(DimensionException.class, new Runnable() {
+                    public void run() {
+                        DenseMatrix.valueOf(new Rational[][] { { Rational.ONE, Rational.ONE } }).times(
+                                DenseMatrix.valueOf(new Rational[][] { { Rational.ONE, Rational.ONE } }));
+                    }
+                });
+            }
+        });
+    }
+
+    public void testConcurrent() {
+        info(" Strassen-Winograd sub-products calculated concurrently");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(2);
+                for (final int[] size : new int[][] { { 65, 63, 67 }, { 48, 48, 48 } }) {
+                    final Rational[][] a = randomRationals(size[0], size[1], random);
+                    final Rational[][] b = randomRationals(size[1], size[2], random);
+                    final DenseMatrix<Rational> expected = DenseMatrix.valueOf(product(a, b));
+                    final DenseMatrix<Rational> A = DenseMatrix.valueOf(a);
+                    final DenseMatrix<Rational> B = DenseMatrix.valueOf(b);
+                    final Object[] products = new Object[2];
+                    concurrently(new Runnable() {
+                        public void run() {
+                            DenseMatrix.setStrassenThreshold(8);
+                            products[0] = A.times(B);
+                            DenseMatrix.setStrassenThreshold(1000);
+                            products[1] = A.times(B); // Classic (rows calculated concurrently).
+                        }
+                    });
+                    assertEquals(expected, products[0], "Strassen-Winograd");
+                    assertEquals(expected, products[1], "classic");
+                }
+            }
+        });
+    }
+
+    // Executes the specified logic in a local context with concurrency.
+    private static void concurrently(Runnable logic) {
+        final Integer maximum = ConcurrentContext.MAXIMUM_CONCURRENCY.get();
+        final Class<? extends ConcurrentContext> context = ConcurrentContext.DEFAULT.get();
+        Configurable.configure(ConcurrentContext.MAXIMUM_CONCURRENCY, 3);
+        Configurable.configure(ConcurrentContext.DEFAULT, TestFloat64SparseMatrix.SharedWorkers.class);
+        LocalContext.enter();
+        try {
+            ConcurrentContext.setConcurrency(3);
+            logic.run();
+        } finally {
+            LocalContext.exit();
+            Configurable.configure(ConcurrentContext.DEFAULT, context);
+            Configurable.configure(ConcurrentContext.MAXIMUM_CONCURRENCY, maximum);
+        }
+    }
+
+    private static Rational[][] product(Rational[][] a, Rational[][] b) {
+        final Rational[][] c = new Rational[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b[0].length; j++) {
+                Rational sum = Rational.ZERO;
+                for (int k = 0; k < b.length; k++) {
+                    sum = sum.plus(a[i][k].times(b[k][j]));
+                }
+                c[i][j] = sum;
+            }
+        }
+        return c;
+    }
+
+    private static Rational[][] randomRationals(int m, int n, Random random) {
+        final Rational[][] r = new Rational[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                r[i][j] = Rational.valueOf(random.nextInt(21) - 10, random.nextInt(3) + 1);
+            }
+        }
+        return r;
+    }
+}
@@ -316,6 +316,64 @@ public class TestLargeInteger extends AbstractIntegerTestSuite<LargeInteger> {
             }
     }
 
+    /** Tests the two's-complement bitwise operations against BigInteger. */
+    public void testBitwise() {
+        info(" and / or / xor / andNot / not");
+        for (final Pair<Double, LargeInteger> p : getTestValues())
+            for (final Pair<Double, LargeInteger> q : getTestValues())
+                doTest(new SimpleTestCase() {
+                    @Override
+                    public void execute() {
+                        final BigInteger x = p._y.asBigInteger();
+                        final BigInteger y = q._y.asBigInteger();
+                        final String msg = p + " " + q;
+                        TestContext.assertEquals(x.and(y), p._y.and(q._y).asBigInteger(), msg);
+                        TestContext.assertEquals(x.or(y), p._y.or(q._y).asBigInteger(), msg);
+                        TestContext.assertEquals(x.xor(y), p._y.xor(q._y).asBigInteger(), msg);
+                        TestContext.assertEquals(x.andNot(y), p._y.andNot(q._y).asBigInteger(), msg);
+                        TestContext.assertEquals(x.not(), p._y.not().asBigInteger(), msg);
+                        final LargeInteger.Builder builder = new LargeInteger.Builder(p._y);
+                        builder.xor(q._y).or(q._y).not().andNot(p._y);
+                        TestContext.assertEquals(x.xor(y).or(y).not().andNot(x), builder.toLargeInteger()
+                                .asBigInteger(), msg);
+                    }
+                });
+    }
+
+    /** Tests the single bit operations against BigInteger. */
+    public void testBits() {
+        info(" testBit / setBit / clearBit / flipBit / bitCount");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(1234);
+                for (int k = 0; k < 200; ++k) {
+                    final BigInteger b = new BigInteger(1 + random.nextInt(300), random);
+                    final BigInteger x = random.nextBoolean() ? b.negate() : b;
+                    final LargeInteger li = LargeInteger.valueOf(x);
+                    final LargeInteger.Builder builder = new LargeInteger.Builder(li);
+                    final int n = random.nextInt(400);
+                    TestContext.assertEquals(x.bitCount(), li.bitCount(), x.toString());
+                    TestContext.assertEquals(x.bitCount(), builder.bitCount(), x.toString());
+                    for (int i = 0; i < 400; i += 7) {
+                        TestContext.assertEquals(x.testBit(i), li.testBit(i), x + " " + i);
+                        TestContext.assertEquals(x.testBit(i), builder.testBit(i), x + " " + i);
+                    }
+                    TestContext.assertEquals(x.setBit(n), li.setBit(n).asBigInteger(), x + " " + n);
+                    TestContext.assertEquals(x.clearBit(n), li.clearBit(n).asBigInteger(), x + " " + n);
+                    TestContext.assertEquals(x.flipBit(n), li.flipBit(n).asBigInteger(), x + " " + n);
+                    TestContext.assertEquals(x.setBit(n).clearBit(n / 2).flipBit(n / 3), builder.setBit(n)
+                            .clearBit(n / 2).flipBit(n / 3).toLargeInteger().asBigInteger(), x + " " + n);
+                }
+                assertEquals(LargeInteger.valueOf(-1), LargeInteger.ZERO.not());
+                assertEquals(0, LargeInteger.valueOf(-1).bitCount());
+                assertEquals(LargeInteger.valueOf(Long.MIN_VALUE), new LargeInteger.Builder().not().setBit(63)
+                        .clearBit(0).setBit(0).flipBit(5).flipBit(5).andNot(LargeInteger.valueOf(Long.MAX_VALUE))
+                        .toLargeInteger());
+            }
+        });
+    }
+
     /** Tests for bug https://jscience.dev.java.net/issues/show_bug.cgi?id=102 */
     public void testBug102() {
         info("  bug102");
@@ -0,0 +1,86 @@
+package org.jscience.mathematics.number;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertTrue;
+
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for {@link RandomGenerator}.
+ */
+public class TestRandomGenerator extends AbstractTestSuite {
+
+    public void testReproducible() {
+        info(" seed / split");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final RandomGenerator r1 = new RandomGenerator(42);
+                final RandomGenerator r2 = new RandomGenerator(42);
+                for (int i = 0; i < 100; ++i)
+                    assertEquals(r1.nextLong(), r2.nextLong());
+                final RandomGenerator s1 = r1.split();
+                final RandomGenerator s2 = r2.split();
+                for (int i = 0; i < 100; ++i)
+                    assertEquals(s1.nextLong(), s2.nextLong());
+                assertTrue(r1.nextLong() != s1.nextLong());
+                r2.nextLong();
+                assertEquals(r1.nextLargeInteger(1000), r2.nextLargeInteger(1000));
+            }
+        });
+    }
+
+    public void testBounded() {
+        info(" bounded");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final RandomGenerator random = new RandomGenerator(7);
+                final int[] counts = new int[10];
+                for (int i = 0; i < 10000; ++i) {
+                    final int r = random.nextInt(10);
+                    assertTrue(r >= 0 && r < 10);
+                    counts[r]++;
+                }
+                for (final int c : counts)
+                    assertTrue(c > 850 && c < 1150);
+                for (int i = 0; i < 1000; ++i) {
+                    final double d = random.nextDouble(-2.0, 3.0);
+                    assertTrue(d >= -2.0 && d < 3.0);
+                }
+                final LargeInteger bound = LargeInteger.valueOf("123456789012345678901234567890");
+                for (int i = 0; i < 100; ++i) {
+                    final LargeInteger li = random.nextLargeInteger(bound);
+                    assertTrue(!li.isNegative() && li.isLessThan(bound));
+                    assertTrue(random.nextLargeInteger(200).bitLength() <= 200);
+                    final Rational q = random.nextRational(64);
+                    assertTrue(!q.isNegative() && q.isLessThan(Rational.ONE));
+                }
+                assertEquals(LargeInteger.ZERO, random.nextLargeInteger(0));
+            }
+        });
+    }
+
+    public void testGaussian() {
+        info(" gaussian");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final RandomGenerator random = new RandomGenerator(1);
+                final double[] values = new double[100000];
+                random.nextGaussians(values, 0, values.length, 5.0, 2.0);
+                double sum = 0, sum2 = 0;
+                for (final double v : values) {
+                    sum += v;
+                    sum2 += v * v;
+                }
+                final double mean = sum / values.length;
+                final double variance = sum2 / values.length - mean * mean;
+                assertTrue(Math.abs(mean - 5.0) < 0.05);
+                assertTrue(Math.abs(variance - 4.0) < 0.1);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,119 @@
+package org.jscience.mathematics.number;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for {@link ResidueNumberSystem}.
+ */
+public class TestResidueNumberSystem extends AbstractTestSuite {
+
+    public void testPrimesBelow() {
+        info(" primesBelow");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final long[] primes = ResidueNumberSystem.primesBelow(30, 10);
+                final long[] expected = { 29, 23, 19, 17, 13, 11, 7, 5, 3, 2 };
+                for (int i = 0; i < expected.length; i++)
+                    assertEquals(expected[i], primes[i]);
+                final long[] large = ResidueNumberSystem.primesBelow(1L << 31, 20);
+                assertEquals(2147483647L, large[0]);
+                for (final long p : large)
+                    assertTrue(BigInteger.valueOf(p).isProbablePrime(50));
+                for (long n = 0; n < 2000; n++)
+                    assertEquals(BigInteger.valueOf(n).isProbablePrime(50), ResidueNumberSystem.isPrime(n));
+            }
+        });
+    }
+
+    public void testRoundTrip() {
+        info(" residuesOf / toLargeInteger");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final ResidueNumberSystem rns = ResidueNumberSystem.valueOfBitLength(1000);
+                final Random random = new Random(42);
+                for (int i = 0; i < 50; i++) {
+                    final BigInteger b = new BigInteger(1 + random.nextInt(1000), random);
+                    final LargeInteger x = LargeInteger.valueOf(random.nextBoolean() ? b : b.negate());
+                    assertEquals(x, rns.toLargeInteger(rns.residuesOf(x)));
+                }
+                assertEquals(LargeInteger.ZERO, rns.toLargeInteger(rns.residuesOf(LargeInteger.ZERO)));
+                final ResidueNumberSystem small = ResidueNumberSystem.valueOf(3, 5, 7);
+                assertEquals(LargeInteger.valueOf(105), small.getProduct());
+                assertEquals(LargeInteger.valueOf(23), small.combine(new long[] { 2, 3, 2 }));
+                assertEquals(LargeInteger.valueOf(-1), small.toLargeInteger(new long[] { 2, 4, 6 }));
+            }
+        });
+    }
+
+    public void testNotCoprime() {
+        info(" valueOf (not coprime)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                boolean thrown = false;
+                try {
+                    ResidueNumberSystem.valueOf(6, 35, 10);
+                } catch (final IllegalArgumentException e) {
+                    thrown = true;
+                }
+                assertTrue(thrown);
+            }
+        });
+    }
+
+    public void testEvaluate() {
+        info(" evaluate");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                // 100! computed modulo each prime.
+                final ResidueNumberSystem rns = ResidueNumberSystem.valueOfBitLength(600);
+                final LargeInteger result = rns.toLargeInteger(new ResidueNumberSystem.Computation() {
+                    public long evaluate(long modulus) {
+                        assertEquals(LargeInteger.valueOf(modulus), ModuloInteger.getModulus());
+                        ModuloInteger f = ModuloInteger.ONE;
+                        for (int i = 2; i <= 100; i++)
+                            f = f.times(ModuloInteger.valueOf(LargeInteger.valueOf(i)));
+                        return f.longValue();
+                    }
+                });
+                BigInteger expected = BigInteger.ONE;
+                for (int i = 2; i <= 100; i++)
+                    expected = expected.multiply(BigInteger.valueOf(i));
+                assertEquals(LargeInteger.valueOf(expected), result);
+            }
+        });
+    }
+
+    public void testToRational() {
+        info(" toRational");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final ResidueNumberSystem rns = ResidueNumberSystem.valueOfBitLength(200);
+                final Rational[] values = { Rational.valueOf(-355, 113), Rational.valueOf(1, 3),
+                        Rational.valueOf("123456789123456789/987654321987"), Rational.ZERO };
+                for (final Rational r : values) {
+                    final long[] residues = new long[rns.getNumberOfModuli()];
+                    for (int i = 0; i < residues.length; i++) {
+                        final LargeInteger m = LargeInteger.valueOf(rns.getModulus(i));
+                        final LargeInteger n = r.getDividend().mod(m);
+                        final LargeInteger d = r.getDivisor().modInverse(m);
+                        residues[i] = n.times(d).mod(m).longValue();
+                    }
+                    assertEquals(r, rns.toRational(residues));
+                }
+            }
+        });
+    }
+
+}
@@ -0,0 +1,185 @@
+package org.jscience.mathematics.transform;
+
+import static javolution.context.LogContext.info;
+import static javolution.testing.TestContext.assertEquals;
+import static javolution.testing.TestContext.assertTrue;
+
+import java.util.Random;
+
+import org.jscience.mathematics.number.Complex;
+import org.jscience.mathematics.number.SimpleTestCase;
+import org.jscience.util.AbstractTestSuite;
+
+/**
+ * Tests for {@link FastFourierTransform} and {@link RealFastFourierTransform}
+ * against the direct discrete Fourier transform.
+ */
+public class TestFastFourierTransform extends AbstractTestSuite {
+
+    /** Power of two, mixed radix and Bluestein (large prime factor) lengths. */
+    private static final int[] LENGTHS = { 1, 2, 8, 12, 60, 64, 97, 210, 1000, 1009 };
+
+    public void testTransform() {
+        info(" transform (interleaved)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(42);
+                for (final int n : LENGTHS) {
+                    final double[] data = randomData(2 * n + 3, random);
+                    final double[] expected = dft(data, 3, n);
+                    FastFourierTransform.valueOf(n).transform(data, 3);
+                    assertClose(expected, 0, data, 3, 2 * n, n);
+                }
+            }
+        });
+    }
+
+    public void testInverse() {
+        info(" inverse (round trip)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(43);
+                for (final int n : LENGTHS) {
+                    final FastFourierTransform fft = FastFourierTransform.valueOf(n);
+                    final double[] original = randomData(2 * n, random);
+                    final double[] data = original.clone();
+                    fft.transform(data, 0);
+                    fft.inverse(data, 0);
+                    assertClose(original, 0, data, 0, 2 * n, n);
+                }
+            }
+        });
+    }
+
+    public void testSplit() {
+        info(" transform (split)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(44);
+                for (final int n : LENGTHS) {
+                    final double[] data = randomData(2 * n, random);
+                    final double[] expected = dft(data, 0, n);
+                    final double[] re = new double[n];
+                    final double[] im = new double[n];
+                    for (int i = 0; i < n; i++) {
+                        re[i] = data[2 * i];
+                        im[i] = data[2 * i + 1];
+                    }
+                    FastFourierTransform.valueOf(n).transform(re, im);
+                    for (int k = 0; k < n; k++) {
+                        assertNear(expected[2 * k], re[k], tolerance(n), "Re X[" + k + "], n = " + n);
+                        assertNear(expected[2 * k + 1], im[k], tolerance(n), "Im X[" + k + "], n = " + n);
+                    }
+                }
+            }
+        });
+    }
+
+    public void testComplex() {
+        info(" transform (Complex)");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(45);
+                final int n = 97;
+                final double[] data = randomData(2 * n, random);
+                final double[] expected = dft(data, 0, n);
+                final Complex[] values = new Complex[n];
+                for (int i = 0; i < n; i++) {
+                    values[i] = Complex.valueOf(data[2 * i], data[2 * i + 1]);
+                }
+                final FastFourierTransform fft = FastFourierTransform.valueOf(n);
+                final Complex[] spectrum = fft.transform(values);
+                for (int k = 0; k < n; k++) {
+                    assertNear(expected[2 * k], spectrum[k].getReal(), tolerance(n));
+                    assertNear(expected[2 * k + 1], spectrum[k].getImaginary(), tolerance(n));
+                }
+                final Complex[] back = fft.inverse(spectrum);
+                for (int i = 0; i < n; i++) {
+                    assertNear(values[i].getReal(), back[i].getReal(), tolerance(n));
+                    assertNear(values[i].getImaginary(), back[i].getImaginary(), tolerance(n));
+                }
+            }
+        });
+    }
+
+    public void testRealTransform() {
+        info(" RealFastFourierTransform");
+        doTest(new SimpleTestCase() {
+            @Override
+            public void execute() {
+                final Random random = new Random(46);
+                final int[] lengths = { 2, 8, 9, 12, 97, 100, 1000, 1009 };
+                for (final int n : lengths) {
+                    final RealFastFourierTransform rfft = RealFastFourierTransform.valueOf(n);
+                    assertEquals(n / 2 + 1, rfft.getSpectrumLength());
+                    final double[] values = new double[n];
+                    final double[] data = new double[2 * n];
+                    for (int i = 0; i < n; i++) {
+                        values[i] = random.nextDouble() - 0.5;
+                        data[2 * i] = values[i];
+                    }
+                    final double[] expected = dft(data, 0, n);
+                    final double[] spectrum = new double[2 * rfft.getSpectrumLength()];
+                    rfft.transform(values, spectrum);
+                    assertClose(expected, 0, spectrum, 0, spectrum.length, n);
+                    final double[] back = new double[n];
+                    rfft.inverse(spectrum, back);
+                    for (int i = 0; i < n; i++) {
+                        assertNear(values[i], back[i], tolerance(n), "x[" + i + "], n = " + n);
+                    }
+                }
+            }
+        });
+    }
+
+    /** Returns interleaved random data in <code>[-0.5, 0.5)</code>. */
+    private static double[] randomData(int length, Random random) {
+        final double[] data = new double[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = random.nextDouble() - 0.5;
+        }
+        return data;
+    }
+
+    /** Direct O(n²) DFT: <code>X[k] = Σ x[j]·e<sup>-2πijk/n</sup></code>. */
+    private static double[] dft(double[] data, int offset, int n) {
+        final double[] result = new double[2 * n];
+        for (int k = 0; k < n; k++) {
+            double re = 0.0, im = 0.0;
+            for (int j = 0; j < n; j++) {
+                // Reduces jk modulo n for accurate angles.
+                final double angle = -2 * Math.PI * ((long) j * k % n) / n;
+                final double c = Math.cos(angle), s = Math.sin(angle);
+                final double xr = data[offset + 2 * j], xi = data[offset + 2 * j + 1];
+                re += xr * c - xi * s;
+                im += xr * s + xi * c;
+            }
+            result[2 * k] = re;
+            result[2 * k + 1] = im;
+        }
+        return result;
+    }
+
+    private static double tolerance(int n) {
+        return 1e-12 * n;
+    }
+
+    private static void assertNear(double expected, double actual, double tolerance) {
+        assertNear(expected, actual, tolerance, null);
+    }
+
+    private static void assertNear(double expected, double actual, double tolerance, String message) {
+        assertTrue(Math.abs(expected - actual) <= tolerance,
+                (message == null ? "" : message + ": ") + expected + " expected but found " + actual);
+    }
+
+    private static void assertClose(double[] expected, int eo, double[] actual, int ao, int length, int n) {
+        for (int i = 0; i < length; i++) {
+            assertNear(expected[eo + i], actual[ao + i], tolerance(n), "element " + i + ", n = " + n);
+        }
+    }
+}